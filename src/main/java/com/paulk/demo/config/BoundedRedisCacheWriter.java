@@ -0,0 +1,183 @@
+package com.paulk.demo.config;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link RedisCacheWriter} bounding the number of values of the caches with a maximum size, by indexing their keys in
+ * a sorted set scored by the time they were put and evicting the oldest beyond the maximum size. A put to a bounded cache
+ * is a single script, so costs the same single round trip as an unbounded put. The caches without a maximum size, and
+ * the put-if-absent of every cache, are written by the wrapped {@link RedisCacheWriter}.
+ */
+public class BoundedRedisCacheWriter implements RedisCacheWriter {
+
+    private static final RedisScript<Long> PUT_SCRIPT = RedisScript.of(new ClassPathResource("scripts/cache-put-bounded.lua"), Long.class);
+    private static final RedisScript<Long> EVICT_SCRIPT = RedisScript.of(new ClassPathResource("scripts/cache-evict-bounded.lua"), Long.class);
+
+    protected static final String INDEX_SUFFIX = "~keys";
+
+    private final RedisCacheWriter cacheWriter;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Map<String, Long> maxSizes;
+    private final CacheStatisticsCollector statisticsCollector;
+    private final ConcurrentMap<String, LongAdder> evictions;
+
+    /**
+     * Constructor for {@link BoundedRedisCacheWriter}.
+     *
+     * @param cacheWriter   - The {@link RedisCacheWriter} of the unbounded writes.
+     * @param redisTemplate - The {@link RedisTemplate} the bounded writes are executed with.
+     * @param maxSizes      - The {@link Map} of the {@link String} cache names to their maximum size.
+     */
+    public BoundedRedisCacheWriter(RedisCacheWriter cacheWriter, RedisTemplate<String, Object> redisTemplate, Map<String, Long> maxSizes) {
+        this(cacheWriter, redisTemplate, maxSizes, CacheStatisticsCollector.none(), new ConcurrentHashMap<>());
+    }
+
+    private BoundedRedisCacheWriter(RedisCacheWriter cacheWriter, RedisTemplate<String, Object> redisTemplate, Map<String, Long> maxSizes,
+                                    CacheStatisticsCollector statisticsCollector, ConcurrentMap<String, LongAdder> evictions) {
+        this.cacheWriter = cacheWriter;
+        this.redisTemplate = redisTemplate;
+        this.maxSizes = maxSizes;
+        this.statisticsCollector = statisticsCollector;
+        this.evictions = evictions;
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        Optional<Long> maxSize = getMaxSize(name);
+        if (!maxSize.isPresent()) {
+            cacheWriter.put(name, key, value, ttl);
+            return;
+        }
+
+        long ttlMillis = ttl == null || ttl.isNegative() ? 0 : ttl.toMillis();
+        Long evicted = redisTemplate.execute(PUT_SCRIPT, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                Arrays.asList(getIndexKey(name), new String(key, StandardCharsets.UTF_8)), value, toBytes(ttlMillis),
+                toBytes(maxSize.get()), toBytes(System.currentTimeMillis()));
+        statisticsCollector.incPuts(name);
+        if (evicted != null && evicted > 0) {
+            evictions.computeIfAbsent(name, cacheName -> new LongAdder()).add(evicted);
+        }
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return cacheWriter.get(name, key);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        return cacheWriter.putIfAbsent(name, key, value, ttl);
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        if (!getMaxSize(name).isPresent()) {
+            cacheWriter.remove(name, key);
+            return;
+        }
+
+        removeAll(name, Collections.singletonList(new String(key, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Removes a {@link Collection} of keys from a cache in a single round trip. The keys of a bounded cache are removed from
+     * its index by the same script, so the index doesn't keep counting them towards the maximum size.
+     *
+     * @param name - The {@link String} name of the cache.
+     * @param keys - The {@link Collection} of {@link String} cache keys, including the prefix of the cache.
+     */
+    public void removeAll(String name, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (!getMaxSize(name).isPresent()) {
+            redisTemplate.delete(keys);
+        } else {
+            List<String> scriptKeys = new ArrayList<>(keys.size() + 1);
+            scriptKeys.add(getIndexKey(name));
+            scriptKeys.addAll(keys);
+            redisTemplate.execute(EVICT_SCRIPT, scriptKeys);
+        }
+        statisticsCollector.incDeletesBy(name, keys.size());
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        cacheWriter.clean(name, pattern);
+        if (getMaxSize(name).isPresent()) {
+            redisTemplate.delete(getIndexKey(name));
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        cacheWriter.clearStatistics(name);
+        evictions.remove(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new BoundedRedisCacheWriter(cacheWriter.withStatisticsCollector(cacheStatisticsCollector), redisTemplate, maxSizes,
+                cacheStatisticsCollector, evictions);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return cacheWriter.getCacheStatistics(cacheName);
+    }
+
+    /**
+     * Gets the maximum size of a cache.
+     *
+     * @param name - The {@link String} name of the cache.
+     * @return An {@link Optional} of the maximum size, empty if the cache is unbounded.
+     */
+    public Optional<Long> getMaxSize(String name) {
+        return Optional.ofNullable(maxSizes.get(name));
+    }
+
+    /**
+     * Gets the number of values evicted from a cache by its maximum size.
+     *
+     * @param name - The {@link String} name of the cache.
+     * @return The number of evictions.
+     */
+    public long getEvictions(String name) {
+        LongAdder cacheEvictions = evictions.get(name);
+        return cacheEvictions == null ? 0 : cacheEvictions.sum();
+    }
+
+    /**
+     * Gets the key of the sorted set indexing the keys of a bounded cache.
+     *
+     * @param name - The {@link String} name of the cache.
+     * @return The {@link String} key of the index.
+     */
+    protected static String getIndexKey(String name) {
+        return name + INDEX_SUFFIX;
+    }
+
+    private static byte[] toBytes(long number) {
+        return String.valueOf(number).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+package com.paulk.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link CacheSpec} of each Redis cache, bound from the {@code api.cache.specs.<name>} properties. A cache without
+ * a spec takes the {@code spring.cache.redis} time to live, is unbounded, doesn't cache negative results and is JDK
+ * serialized.
+ */
+@ConfigurationProperties(prefix = "api.cache")
+public class CacheSpecProperties {
+
+    public static final String JDK_SERIALIZER = "jdk";
+    public static final String BINARY_SERIALIZER = "binary";
+
+    private Map<String, CacheSpec> specs = new HashMap<>();
+
+    /**
+     * Gets the {@link Map} of the {@link String} cache names to their {@link CacheSpec}.
+     *
+     * @return The {@link Map} of the {@link CacheSpec}.
+     */
+    public Map<String, CacheSpec> getSpecs() {
+        return specs;
+    }
+
+    /**
+     * Sets the {@link Map} of the {@link String} cache names to their {@link CacheSpec}.
+     *
+     * @param specs - The {@link Map} of the {@link CacheSpec}.
+     */
+    public void setSpecs(Map<String, CacheSpec> specs) {
+        this.specs = specs;
+    }
+
+    /**
+     * Gets the {@link CacheSpec} of a cache.
+     *
+     * @param name - The {@link String} name of the cache.
+     * @return The {@link CacheSpec} of the cache, or the default {@link CacheSpec} if it has none.
+     */
+    public CacheSpec getSpec(String name) {
+        return specs.getOrDefault(name, new CacheSpec());
+    }
+
+    /**
+     * The time to live, maximum size, negative result time to live and value serializer of a cache.
+     */
+    public static class CacheSpec {
+        private Duration ttl;
+        private Long maxSize;
+        private Duration negativeTtl = Duration.ZERO;
+        private String serializer = JDK_SERIALIZER;
+
+        /**
+         * Gets the {@link Duration} a value is cached for.
+         *
+         * @return The {@link Duration}, or null for the {@code spring.cache.redis.time-to-live}.
+         */
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        /**
+         * Sets the {@link Duration} a value is cached for.
+         *
+         * @param ttl - The {@link Duration}, or 0 for no expiry.
+         */
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        /**
+         * Gets the maximum number of values cached, the oldest being evicted beyond it.
+         *
+         * @return The {@link Long} maximum size, or null if unbounded.
+         */
+        public Long getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * Sets the maximum number of values cached, the oldest being evicted beyond it.
+         *
+         * @param maxSize - The {@link Long} maximum size, or null if unbounded.
+         */
+        public void setMaxSize(Long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Gets the {@link Duration} a negative result is cached for.
+         *
+         * @return The {@link Duration}, or 0 if negative results aren't cached.
+         */
+        public Duration getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        /**
+         * Sets the {@link Duration} a negative result is cached for.
+         *
+         * @param negativeTtl - The {@link Duration}, or 0 if negative results aren't cached.
+         */
+        public void setNegativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+        }
+
+        /**
+         * Gets the name of the value serializer, {@link #JDK_SERIALIZER} or {@link #BINARY_SERIALIZER}.
+         *
+         * @return The {@link String} name of the serializer.
+         */
+        public String getSerializer() {
+            return serializer;
+        }
+
+        /**
+         * Sets the name of the value serializer, {@link #JDK_SERIALIZER} or {@link #BINARY_SERIALIZER}.
+         *
+         * @param serializer - The {@link String} name of the serializer.
+         */
+        public void setSerializer(String serializer) {
+            this.serializer = serializer;
+        }
+    }
+}
@@ -25,9 +25,120 @@ public class DemoApplicationConfig {
     @Value("${api.response.default.pageNumber:0}")
     private Integer defaultPageNumber;
 
+    @Value("${api.response.sort.parallel.threshold:8192}")
+    private Integer sortParallelThreshold;
+
     @Value("${api.authentication.token.timelimit.minutes:30}")
     private Integer defaultTokenTimeLimitInMinutes;
 
+    @Value("${api.datastore.bulk.read.batch.size:500}")
+    private Integer bulkReadBatchSize;
+
+    @Value("${api.datastore.bulk.write.batch.size:500}")
+    private Integer bulkWriteBatchSize;
+
+    @Value("${api.datastore.memory.lock.stripes:1024}")
+    private Integer memoryLockStripes;
+
+    @Value("${api.datastore.memory.wal.path:}")
+    private String memoryWalPath;
+
+    @Value("${api.datastore.memory.wal.compact.min.bytes:67108864}")
+    private Long memoryWalCompactMinBytes;
+
+    @Value("${api.datastore.memory.wal.compact.ratio:4}")
+    private Integer memoryWalCompactRatio;
+
+    @Value("${api.datastore.codec:hash}")
+    private String entryCodec;
+
+    @Value("${api.datastore.mapped.path:entries.dat}")
+    private String mappedPath;
+
+    @Value("${api.datastore.mapped.initial.slots:65536}")
+    private Integer mappedInitialSlots;
+
+    @Value("${api.datastore.mapped.initial.size.mb:64}")
+    private Integer mappedInitialSizeMb;
+
+    @Value("${api.datastore.write.behind.buffer.size:10000}")
+    private Integer writeBehindBufferSize;
+
+    @Value("${api.datastore.write.behind.flush.size:500}")
+    private Integer writeBehindFlushSize;
+
+    @Value("${api.datastore.write.behind.flush.interval.ms:100}")
+    private Long writeBehindFlushIntervalMillis;
+
+    @Value("${api.datastore.audit.log.max.length:0}")
+    private Integer auditLogMaxLength;
+
+    @Value("${api.datastore.audit.log.deleted.ttl.seconds:0}")
+    private Long auditLogDeletedTtlSeconds;
+
+    @Value("${api.datastore.audit.archive.enabled:false}")
+    private Boolean auditArchiveEnabled;
+
+    @Value("${api.datastore.audit.archive.path:audit-archive}")
+    private String auditArchivePath;
+
+    @Value("${api.datastore.audit.archive.age.seconds:2592000}")
+    private Long auditArchiveAgeSeconds;
+
+    @Value("${api.datastore.audit.archive.interval.ms:60000}")
+    private Long auditArchiveIntervalMillis;
+
+    @Value("${api.datastore.audit.archive.segment.size.mb:64}")
+    private Integer auditArchiveSegmentSizeMb;
+
+    @Value("${api.datastore.audit.archive.shared:false}")
+    private Boolean auditArchiveShared;
+
+    @Value("${api.datastore.stats.reconcile.interval.ms:300000}")
+    private Long statsReconcileIntervalMillis;
+
+    @Value("${api.datastore.expiry.interval.ms:1000}")
+    private Long expiryIntervalMillis;
+
+    @Value("${api.datastore.expiry.batch.size:500}")
+    private Integer expiryBatchSize;
+
+    @Value("${api.cache.near.enabled:false}")
+    private Boolean nearCacheEnabled;
+
+    @Value("${api.cache.near.max.size:10000}")
+    private Integer nearCacheMaxSize;
+
+    @Value("${api.cache.near.ttl.ms:30000}")
+    private Long nearCacheTtlMillis;
+
+    @Value("${api.cache.coalescing.wait.ms:1000}")
+    private Long coalescingWaitMillis;
+
+    @Value("${api.cache.coalescing.early.refresh.beta:0}")
+    private Double earlyRefreshBeta;
+
+    @Value("${api.cache.pages.max.size:1000}")
+    private Integer pageCacheMaxSize;
+
+    @Value("${api.datastore.filter.expected.entries:100000}")
+    private Long filterExpectedEntries;
+
+    @Value("${api.datastore.filter.false.positive.rate:0.01}")
+    private Double filterFalsePositiveRate;
+
+    @Value("${api.datastore.filter.rebuild.interval.ms:3600000}")
+    private Long filterRebuildIntervalMillis;
+
+    @Value("${api.datastore.filter.publish.interval.ms:20}")
+    private Long filterPublishIntervalMillis;
+
+    @Value("${api.datastore.filter.removal.delay.ms:1000}")
+    private Long filterRemovalDelayMillis;
+
+    @Value("${api.datastore.filter.heartbeat.interval.ms:1000}")
+    private Long filterHeartbeatIntervalMillis;
+
     /**
      * Gets the Hostname for the {@link DemoApplicationConfig}.
      *
@@ -73,6 +184,15 @@ public class DemoApplicationConfig {
         return defaultPageSize;
     }
 
+    /**
+     * Gets the number of {@link com.paulk.demo.model.Entry} from which a response is sorted in parallel.
+     *
+     * @return An {@link Integer} representing the sortParallelThreshold.
+     */
+    public Integer getSortParallelThreshold() {
+        return sortParallelThreshold;
+    }
+
     /**
      * Gets the defaultTokenTimeLimitInMinutes for the {@link DemoApplicationConfig}.
      *
@@ -90,4 +210,344 @@ public class DemoApplicationConfig {
     public Integer getDefaultTokenTimeLimitInMilliseconds() {
         return getDefaultTokenTimeLimitInMinutes() * 60 * 1000;
     }
+
+    /**
+     * Gets the number of {@link com.paulk.demo.model.Entry} read per pipelined batch for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the bulkReadBatchSize.
+     */
+    public Integer getBulkReadBatchSize() {
+        return bulkReadBatchSize;
+    }
+
+    /**
+     * Gets the number of {@link com.paulk.demo.model.Entry} written per pipelined batch for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the bulkWriteBatchSize.
+     */
+    public Integer getBulkWriteBatchSize() {
+        return bulkWriteBatchSize;
+    }
+
+    /**
+     * Gets the number of lock stripes of the in-memory data store for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the memoryLockStripes.
+     */
+    public Integer getMemoryLockStripes() {
+        return memoryLockStripes;
+    }
+
+    /**
+     * Gets the path of the write-ahead log of the in-memory data store for the {@link DemoApplicationConfig}.
+     *
+     * @return The {@link String} path, or empty if the write-ahead log is disabled.
+     */
+    public String getMemoryWalPath() {
+        return memoryWalPath;
+    }
+
+    /**
+     * Gets the size in bytes the write-ahead log of the in-memory data store must reach before it is compacted while
+     * running, for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the memoryWalCompactMinBytes.
+     */
+    public Long getMemoryWalCompactMinBytes() {
+        return memoryWalCompactMinBytes;
+    }
+
+    /**
+     * Gets the multiple of its size after the last compaction the write-ahead log of the in-memory data store must reach
+     * before it is compacted while running, 0 to only compact it on startup, for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the memoryWalCompactRatio.
+     */
+    public Integer getMemoryWalCompactRatio() {
+        return memoryWalCompactRatio;
+    }
+
+    /**
+     * Gets the name of the codec of the {@link com.paulk.demo.model.Entry} records stored in Redis for the {@link DemoApplicationConfig}.
+     *
+     * @return The {@link String} name, hash or binary.
+     */
+    public String getEntryCodec() {
+        return entryCodec;
+    }
+
+    /**
+     * Gets the path of the file of the memory-mapped data store for the {@link DemoApplicationConfig}.
+     *
+     * @return The {@link String} path.
+     */
+    public String getMappedPath() {
+        return mappedPath;
+    }
+
+    /**
+     * Gets the initial number of hash slots of the memory-mapped data store for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the mappedInitialSlots.
+     */
+    public Integer getMappedInitialSlots() {
+        return mappedInitialSlots;
+    }
+
+    /**
+     * Gets the initial size in megabytes of the file of the memory-mapped data store for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the mappedInitialSizeMb.
+     */
+    public Integer getMappedInitialSizeMb() {
+        return mappedInitialSizeMb;
+    }
+
+    /**
+     * Gets the maximum number of buffered actions of the write-behind mode for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the writeBehindBufferSize.
+     */
+    public Integer getWriteBehindBufferSize() {
+        return writeBehindBufferSize;
+    }
+
+    /**
+     * Gets the number of buffered actions which triggers a write-behind flush for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the writeBehindFlushSize.
+     */
+    public Integer getWriteBehindFlushSize() {
+        return writeBehindFlushSize;
+    }
+
+    /**
+     * Gets the interval in milliseconds between write-behind flushes for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the writeBehindFlushIntervalMillis.
+     */
+    public Long getWriteBehindFlushIntervalMillis() {
+        return writeBehindFlushIntervalMillis;
+    }
+
+    /**
+     * Gets the maximum number of {@link com.paulk.demo.model.Audit} kept in the audit log of an {@link com.paulk.demo.model.Entry}
+     * for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the auditLogMaxLength, or 0 to keep every {@link com.paulk.demo.model.Audit}.
+     */
+    public Integer getAuditLogMaxLength() {
+        return auditLogMaxLength;
+    }
+
+    /**
+     * Gets the seconds the audit log of a deleted {@link com.paulk.demo.model.Entry} is kept for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the auditLogDeletedTtlSeconds, or 0 to keep the audit log.
+     */
+    public Long getAuditLogDeletedTtlSeconds() {
+        return auditLogDeletedTtlSeconds;
+    }
+
+    /**
+     * Gets whether the audit history is archived to local segment files for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Boolean} representing the auditArchiveEnabled.
+     */
+    public Boolean getAuditArchiveEnabled() {
+        return auditArchiveEnabled;
+    }
+
+    /**
+     * Gets the directory of the audit archive segment files for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link String} representing the auditArchivePath.
+     */
+    public String getAuditArchivePath() {
+        return auditArchivePath;
+    }
+
+    /**
+     * Gets the age in seconds after which a {@link com.paulk.demo.model.Audit} is moved to the audit archive for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the auditArchiveAgeSeconds.
+     */
+    public Long getAuditArchiveAgeSeconds() {
+        return auditArchiveAgeSeconds;
+    }
+
+    /**
+     * Gets the interval in milliseconds between runs of the audit archiver for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the auditArchiveIntervalMillis.
+     */
+    public Long getAuditArchiveIntervalMillis() {
+        return auditArchiveIntervalMillis;
+    }
+
+    /**
+     * Gets the size in megabytes after which a new audit archive segment file is started for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the auditArchiveSegmentSizeMb.
+     */
+    public Integer getAuditArchiveSegmentSizeMb() {
+        return auditArchiveSegmentSizeMb;
+    }
+
+    /**
+     * Gets whether the audit archive is on storage shared by every node, which the nodes not writing it read, for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Boolean} representing the auditArchiveShared.
+     */
+    public Boolean getAuditArchiveShared() {
+        return auditArchiveShared;
+    }
+
+    /**
+     * Gets the interval in milliseconds between reconciliations of the {@link com.paulk.demo.model.Entry} counters for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the statsReconcileIntervalMillis.
+     */
+    public Long getStatsReconcileIntervalMillis() {
+        return statsReconcileIntervalMillis;
+    }
+
+    /**
+     * Gets the interval in milliseconds between removals of the expired {@link com.paulk.demo.model.Entry} for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the expiryIntervalMillis.
+     */
+    public Long getExpiryIntervalMillis() {
+        return expiryIntervalMillis;
+    }
+
+    /**
+     * Gets the maximum number of expired {@link com.paulk.demo.model.Entry} removed in a single batch for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the expiryBatchSize.
+     */
+    public Integer getExpiryBatchSize() {
+        return expiryBatchSize;
+    }
+
+    /**
+     * Gets if the in-process near cache is layered over the shared entries cache for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Boolean} representing the nearCacheEnabled.
+     */
+    public Boolean getNearCacheEnabled() {
+        return nearCacheEnabled;
+    }
+
+    /**
+     * Gets the maximum number of values held by the in-process near cache for the {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the nearCacheMaxSize.
+     */
+    public Integer getNearCacheMaxSize() {
+        return nearCacheMaxSize;
+    }
+
+    /**
+     * Gets the time in milliseconds a value is held by the in-process near cache for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the nearCacheTtlMillis.
+     */
+    public Long getNearCacheTtlMillis() {
+        return nearCacheTtlMillis;
+    }
+
+    /**
+     * Gets the time in milliseconds a request waits on the load of a value already in flight, before loading it itself,
+     * for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the coalescingWaitMillis.
+     */
+    public Long getCoalescingWaitMillis() {
+        return coalescingWaitMillis;
+    }
+
+    /**
+     * Gets how early a cached value is reloaded before its time to live passes, 0 to never reload it early, for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Double} representing the earlyRefreshBeta.
+     */
+    public Double getEarlyRefreshBeta() {
+        return earlyRefreshBeta;
+    }
+
+    /**
+     * Gets the maximum number of pages of {@link com.paulk.demo.model.Entry} held by the page cache for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The an {@link Integer} representing the pageCacheMaxSize.
+     */
+    public Integer getPageCacheMaxSize() {
+        return pageCacheMaxSize;
+    }
+
+    /**
+     * Gets the number of {@link com.paulk.demo.model.Entry} values the negative lookup filter is first sized for, for
+     * the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the filterExpectedEntries.
+     */
+    public Long getFilterExpectedEntries() {
+        return filterExpectedEntries;
+    }
+
+    /**
+     * Gets the false positive rate the negative lookup filter is sized for, for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Double} representing the filterFalsePositiveRate.
+     */
+    public Double getFilterFalsePositiveRate() {
+        return filterFalsePositiveRate;
+    }
+
+    /**
+     * Gets the interval in milliseconds between rebuilds of the negative lookup filter from the value index, for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the filterRebuildIntervalMillis.
+     */
+    public Long getFilterRebuildIntervalMillis() {
+        return filterRebuildIntervalMillis;
+    }
+
+    /**
+     * Gets the interval in milliseconds between publishing the queued changes of the negative lookup filter to the other
+     * nodes, for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the filterPublishIntervalMillis.
+     */
+    public Long getFilterPublishIntervalMillis() {
+        return filterPublishIntervalMillis;
+    }
+
+    /**
+     * Gets the delay in milliseconds before a removed value is removed from the negative lookup filter, for the
+     * {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the filterRemovalDelayMillis.
+     */
+    public Long getFilterRemovalDelayMillis() {
+        return filterRemovalDelayMillis;
+    }
+
+    /**
+     * Gets the interval in milliseconds between the heartbeats of the negative lookup filter, which carry the sequence of
+     * the changes published by a node, so the other nodes detect a lost change, for the {@link DemoApplicationConfig}.
+     *
+     * @return The a {@link Long} representing the filterHeartbeatIntervalMillis.
+     */
+    public Long getFilterHeartbeatIntervalMillis() {
+        return filterHeartbeatIntervalMillis;
+    }
 }
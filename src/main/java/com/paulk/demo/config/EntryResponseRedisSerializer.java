@@ -0,0 +1,108 @@
+package com.paulk.demo.config;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.Error;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * A {@link RedisSerializer} writing an {@link EntryOperationResponse} as a compact binary record, in place of JDK
+ * serialization, which writes the class descriptors of every object with each value.
+ * <p>
+ * The record is a format version, a flags byte, then the {@link Entry} value, id, version and {@link Audit} list if it
+ * has an {@link Entry}, and the {@link Error} code and description if it has an {@link Error}. Strings, numbers and the
+ * {@link Audit} list use the compact encoding of {@link EntryBinaryUtils}, so the timestamps are kept to the millisecond.
+ */
+public class EntryResponseRedisSerializer implements RedisSerializer<Object> {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int SUCCESSFUL_FLAG = 1;
+    private static final int PRECONDITION_FAILED_FLAG = 1 << 1;
+    private static final int ENTRY_FLAG = 1 << 2;
+    private static final int ERROR_FLAG = 1 << 3;
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!(value instanceof EntryOperationResponse)) {
+            throw new SerializationException("Only an EntryOperationResponse can be serialized, not a " + value.getClass().getName() + ".");
+        }
+
+        EntryOperationResponse response = (EntryOperationResponse) value;
+        Entry entry = response.getEntry();
+        Error error = response.getError();
+        int flags = (response.isSuccessfulOperation() ? SUCCESSFUL_FLAG : 0)
+                | (response.isPreconditionFailed() ? PRECONDITION_FAILED_FLAG : 0)
+                | (entry != null ? ENTRY_FLAG : 0)
+                | (error != null ? ERROR_FLAG : 0);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(FORMAT_VERSION);
+        output.write(flags);
+        if (entry != null) {
+            EntryBinaryUtils.writeCompactString(output, entry.getValue());
+            EntryBinaryUtils.writeCompactString(output, entry.getId());
+            // The version plus one, or 0 if the Entry has no version.
+            EntryBinaryUtils.writeVarint(output, entry.getVersion() == null ? 0 : entry.getVersion() + 1);
+            List<Audit> audits = entry.getAudits() == null ? null : entry.getAudits().getAuditList();
+            EntryBinaryUtils.writeVarint(output, audits == null ? 0 : audits.size());
+            if (audits != null) {
+                audits.forEach(audit -> EntryBinaryUtils.writeCompactAudit(output, audit));
+            }
+        }
+        if (error != null) {
+            EntryBinaryUtils.writeCompactString(output, error.getCode());
+            EntryBinaryUtils.writeCompactString(output, error.getDescription());
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int formatVersion = buffer.get() & 0xFF;
+            if (formatVersion != FORMAT_VERSION) {
+                throw new SerializationException("Unknown EntryOperationResponse format version " + formatVersion + ".");
+            }
+            int flags = buffer.get() & 0xFF;
+
+            EntryOperationResponse response = new EntryOperationResponse();
+            response.setSuccessfulOperation((flags & SUCCESSFUL_FLAG) != 0);
+            response.setPreconditionFailed((flags & PRECONDITION_FAILED_FLAG) != 0);
+            if ((flags & ENTRY_FLAG) != 0) {
+                Entry entry = new Entry(EntryBinaryUtils.readCompactString(buffer), EntryBinaryUtils.readCompactString(buffer));
+                long version = EntryBinaryUtils.readVarint(buffer);
+                entry.setVersion(version == 0 ? null : version - 1);
+                long auditCount = EntryBinaryUtils.readVarint(buffer);
+                for (long index = 0; index < auditCount; index++) {
+                    entry.getAudits().getAuditList().add(EntryBinaryUtils.readCompactAudit(buffer));
+                }
+                response.setEntry(entry);
+            }
+            if ((flags & ERROR_FLAG) != 0) {
+                Error error = new Error();
+                error.setCode(EntryBinaryUtils.readCompactString(buffer));
+                error.setDescription(EntryBinaryUtils.readCompactString(buffer));
+                response.setError(error);
+            }
+            return response;
+        } catch (RuntimeException exception) {
+            throw exception instanceof SerializationException ? (SerializationException) exception
+                    : new SerializationException("EntryOperationResponse record is not complete.", exception);
+        }
+    }
+}
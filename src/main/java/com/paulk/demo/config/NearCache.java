@@ -0,0 +1,308 @@
+package com.paulk.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * A two level {@link Cache}: a bounded in-process near cache in front of a shared {@link Cache}, so a hot key is served
+ * without network I/O or deserialization. This class is thread safe.
+ * <p>
+ * The near cache holds at most a maximum number of values, evicting the least recently used, and each value for at most
+ * a time to live. An evicted key is removed from the shared {@link Cache} before the near cache, then published so every
+ * other node removes it from its own near cache. A value read from the shared {@link Cache} is only kept in the near
+ * cache if no key was invalidated since the read began, so a value loaded across an invalidation isn't held until its
+ * time to live passes. A value isn't held longer than a shared {@link SpecRedisCache} caches it, nor at all if it
+ * doesn't cache it. The cached values are shared by every caller, so they must not be changed.
+ */
+public class NearCache implements Cache {
+
+    protected static final String HITS_METRIC = "entries.cache.near.hits";
+    protected static final String MISSES_METRIC = "entries.cache.near.misses";
+    protected static final String HIT_RATIO_METRIC = "entries.cache.near.hit.ratio";
+    protected static final String SIZE_METRIC = "entries.cache.near.size";
+    protected static final String CACHE_TAG = "cache";
+
+    private final Cache sharedCache;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Consumer<Collection<?>> invalidationPublisher;
+    private final Counter hits;
+    private final Counter misses;
+    // Guarded by itself, in access order so the least recently used value is evicted first.
+    private final Map<Object, NearValue> nearValues;
+    // The number of invalidations, changed while the near values are locked.
+    private volatile long invalidations;
+    // The key this thread last missed with the invalidations at the time, so a value loaded for it is kept only if current.
+    private final ThreadLocal<Map.Entry<Object, Long>> pendingLoad = new ThreadLocal<>();
+
+    /**
+     * Constructor for {@link NearCache}.
+     *
+     * @param sharedCache           - The shared {@link Cache} behind the near cache.
+     * @param maxSize               - The maximum number of values held by the near cache.
+     * @param ttlMillis             - The time in milliseconds a value is held by the near cache.
+     * @param invalidationPublisher - Publishes the evicted keys to the other nodes, or null when the {@link Cache} is cleared.
+     * @param meterRegistry         - The {@link MeterRegistry} of the hit and size metrics.
+     */
+    public NearCache(Cache sharedCache, int maxSize, long ttlMillis, Consumer<Collection<?>> invalidationPublisher, MeterRegistry meterRegistry) {
+        this.sharedCache = sharedCache;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = Math.max(1, ttlMillis);
+        this.invalidationPublisher = invalidationPublisher;
+        this.nearValues = new LinkedHashMap<Object, NearValue>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, NearValue> eldest) {
+                return size() > NearCache.this.maxSize;
+            }
+        };
+        Tags tags = Tags.of(CACHE_TAG, sharedCache.getName());
+        this.hits = meterRegistry.counter(HITS_METRIC, tags);
+        this.misses = meterRegistry.counter(MISSES_METRIC, tags);
+        meterRegistry.gauge(HIT_RATIO_METRIC, tags, this, NearCache::getHitRatio);
+        meterRegistry.gauge(SIZE_METRIC, tags, this, NearCache::size);
+    }
+
+    @Override
+    public String getName() {
+        return sharedCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return sharedCache.getNativeCache();
+    }
+
+    /**
+     * Gets the shared {@link Cache} behind the near cache.
+     *
+     * @return The shared {@link Cache}.
+     */
+    public Cache getSharedCache() {
+        return sharedCache;
+    }
+
+    /**
+     * Gets the value of a key from the near cache, or from the shared {@link Cache} if the near cache doesn't hold it.
+     *
+     * @param key - The key.
+     * @return The {@link ValueWrapper} of the value, or null if neither cache holds the key.
+     */
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper nearValue = getNear(key);
+        if (nearValue != null) {
+            hits.increment();
+            return nearValue;
+        }
+
+        misses.increment();
+        long invalidationsBefore = invalidations;
+        ValueWrapper sharedValue = sharedCache.get(key);
+        if (sharedValue != null) {
+            putNear(key, sharedValue, invalidationsBefore);
+        } else {
+            // The caller loads the value and puts it, so the value is only kept if still current.
+            pendingLoad.set(new AbstractMap.SimpleImmutableEntry<>(key, invalidationsBefore));
+        }
+        return sharedValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = valueWrapper == null ? null : valueWrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper nearValue = getNear(key);
+        if (nearValue != null) {
+            hits.increment();
+            return (T) nearValue.get();
+        }
+
+        misses.increment();
+        long invalidationsBefore = invalidations;
+        T value = sharedCache.get(key, valueLoader);
+        putNear(key, new SimpleValueWrapper(value), invalidationsBefore);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Map.Entry<Object, Long> load = pendingLoad.get();
+        pendingLoad.remove();
+        long invalidationsBefore = load != null && load.getKey().equals(key) ? load.getValue() : invalidations;
+        sharedCache.put(key, value);
+        putNear(key, new SimpleValueWrapper(value), invalidationsBefore);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existingValue = sharedCache.putIfAbsent(key, value);
+        // The value held by the shared Cache is read again on the next get.
+        evictNear(Collections.singletonList(key));
+        return existingValue;
+    }
+
+    @Override
+    public void evict(Object key) {
+        sharedCache.evict(key);
+        invalidateAll(Collections.singletonList(key));
+    }
+
+    @Override
+    public void clear() {
+        sharedCache.clear();
+        clearNear();
+        invalidationPublisher.accept(null);
+    }
+
+    /**
+     * Removes keys, already evicted from the shared {@link Cache}, from the near cache and publishes them to the other
+     * nodes.
+     *
+     * @param keys - The {@link Collection} of keys.
+     */
+    public void invalidateAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        evictNear(keys);
+        invalidationPublisher.accept(keys);
+    }
+
+    /**
+     * Removes keys from the near cache only, as published by another node.
+     *
+     * @param keys - The {@link Collection} of keys.
+     */
+    public void evictNear(Collection<?> keys) {
+        synchronized (nearValues) {
+            invalidations++;
+            keys.forEach(nearValues::remove);
+        }
+    }
+
+    /**
+     * Removes every key from the near cache only, as published by another node.
+     */
+    public void clearNear() {
+        synchronized (nearValues) {
+            invalidations++;
+            nearValues.clear();
+        }
+    }
+
+    /**
+     * Gets the number of values held by the near cache, including any whose time to live has passed but which haven't
+     * been read since.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        synchronized (nearValues) {
+            return nearValues.size();
+        }
+    }
+
+    /**
+     * Gets the ratio of the reads served by the near cache to every read.
+     *
+     * @return The hit ratio, 0 if nothing was read.
+     */
+    public double getHitRatio() {
+        double reads = hits.count() + misses.count();
+        return reads == 0 ? 0 : hits.count() / reads;
+    }
+
+    /**
+     * Gets the value of a key from the near cache, removing it if its time to live has passed.
+     *
+     * @param key - The key.
+     * @return The {@link ValueWrapper} of the value, or null if the near cache doesn't hold the key.
+     */
+    private ValueWrapper getNear(Object key) {
+        long now = System.currentTimeMillis();
+        synchronized (nearValues) {
+            NearValue nearValue = nearValues.get(key);
+            if (nearValue == null) {
+                return null;
+            }
+            if (nearValue.expiresAt <= now) {
+                nearValues.remove(key);
+                return null;
+            }
+            return nearValue.valueWrapper;
+        }
+    }
+
+    /**
+     * Puts the value of a key in the near cache, unless a key was invalidated since the value was read.
+     *
+     * @param key                 - The key.
+     * @param valueWrapper        - The {@link ValueWrapper} of the value.
+     * @param invalidationsBefore - The number of invalidations before the value was read.
+     */
+    private void putNear(Object key, ValueWrapper valueWrapper, long invalidationsBefore) {
+        long valueTtlMillis = getTtlMillis(valueWrapper.get());
+        if (valueTtlMillis <= 0) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + valueTtlMillis;
+        synchronized (nearValues) {
+            if (invalidations == invalidationsBefore) {
+                nearValues.put(key, new NearValue(valueWrapper, expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Gets the time a value is held by the near cache, no longer than a shared {@link SpecRedisCache} caches it.
+     *
+     * @param value - The value.
+     * @return The time to live in milliseconds, or 0 if the value isn't held.
+     */
+    private long getTtlMillis(Object value) {
+        if (!(sharedCache instanceof SpecRedisCache)) {
+            return ttlMillis;
+        }
+        SpecRedisCache specRedisCache = (SpecRedisCache) sharedCache;
+        if (!specRedisCache.isCacheable(value)) {
+            return 0;
+        }
+        Duration sharedTtl = specRedisCache.getTtl(value);
+        return sharedTtl.isZero() || sharedTtl.isNegative() ? ttlMillis : Math.min(ttlMillis, sharedTtl.toMillis());
+    }
+
+    /**
+     * A value held by the near cache with its expiry time.
+     */
+    private static class NearValue {
+        private final ValueWrapper valueWrapper;
+        private final long expiresAt;
+
+        private NearValue(ValueWrapper valueWrapper, long expiresAt) {
+            this.valueWrapper = valueWrapper;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
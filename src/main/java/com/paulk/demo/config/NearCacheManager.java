@@ -0,0 +1,158 @@
+package com.paulk.demo.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paulk.demo.utils.ObjectMapperInstance;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link CacheManager} which layers a {@link NearCache} over each {@link Cache} of a shared {@link CacheManager}, and
+ * keeps the near caches of every node consistent through a Redis pub/sub channel.
+ * <p>
+ * Each invalidation is published as a JSON message with the node, the cache name, the publish time and the keys, or no
+ * keys when the cache is cleared. A node ignores its own messages, as it evicts its near cache before publishing, and
+ * records the time from publishing to evicting a message of another node as the invalidation lag.
+ */
+public class NearCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCacheManager.class);
+
+    public static final String INVALIDATION_CHANNEL = "EntryCache:invalidate";
+
+    protected static final String INVALIDATION_LAG_METRIC = "entries.cache.near.invalidation.lag";
+    protected static final String INVALIDATION_FAILURES_METRIC = "entries.cache.near.invalidation.failures";
+
+    private static final String NODE_FIELD = "node";
+    private static final String CACHE_FIELD = "cache";
+    private static final String PUBLISHED_AT_FIELD = "publishedAt";
+    private static final String KEYS_FIELD = "keys";
+
+    private final CacheManager sharedCacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, NearCache> nearCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for {@link NearCacheManager}.
+     *
+     * @param sharedCacheManager - The {@link CacheManager} of the shared caches.
+     * @param redisTemplate      - The {@link RedisTemplate} the invalidations are published with.
+     * @param maxSize            - The maximum number of values held by each near cache.
+     * @param ttlMillis          - The time in milliseconds a value is held by a near cache.
+     * @param meterRegistry      - The {@link MeterRegistry} of the near cache metrics.
+     */
+    public NearCacheManager(CacheManager sharedCacheManager, RedisTemplate<String, Object> redisTemplate, int maxSize, long ttlMillis,
+                            MeterRegistry meterRegistry) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Gets the {@link NearCache} of a shared {@link Cache}.
+     *
+     * @param name - The {@link String} name of the {@link Cache}.
+     * @return The {@link NearCache}, or null if the shared {@link CacheManager} has no {@link Cache} of the name.
+     */
+    @Override
+    public Cache getCache(String name) {
+        NearCache nearCache = nearCaches.get(name);
+        if (nearCache != null) {
+            return nearCache;
+        }
+
+        Cache sharedCache = sharedCacheManager.getCache(name);
+        if (sharedCache == null) {
+            return null;
+        }
+        return nearCaches.computeIfAbsent(name, cacheName ->
+                new NearCache(sharedCache, maxSize, ttlMillis, keys -> publish(cacheName, keys), meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return sharedCacheManager.getCacheNames();
+    }
+
+    /**
+     * Evicts the keys of an invalidation published by another node from its {@link NearCache}.
+     *
+     * @param message - The {@link Message} of the invalidation.
+     * @param pattern - The pattern matching the channel, unused.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode invalidation = ObjectMapperInstance.INSTANCE.getObjectMapper()
+                    .readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (nodeId.equals(invalidation.path(NODE_FIELD).asText())) {
+                return;
+            }
+
+            NearCache nearCache = nearCaches.get(invalidation.path(CACHE_FIELD).asText());
+            if (nearCache != null) {
+                JsonNode keys = invalidation.path(KEYS_FIELD);
+                if (keys.isArray()) {
+                    List<String> evictedKeys = new ArrayList<>(keys.size());
+                    keys.forEach(key -> evictedKeys.add(key.asText()));
+                    nearCache.evictNear(evictedKeys);
+                } else {
+                    nearCache.clearNear();
+                }
+            }
+            // Measured across the clocks of two nodes, so a negative lag is recorded as 0.
+            long lag = System.currentTimeMillis() - invalidation.path(PUBLISHED_AT_FIELD).asLong();
+            Timer.builder(INVALIDATION_LAG_METRIC).register(meterRegistry).record(Math.max(0, lag), TimeUnit.MILLISECONDS);
+        } catch (IOException exception) {
+            LOGGER.error("Error reading the near cache invalidation during the Invalidate Operation.", exception);
+        }
+    }
+
+    /**
+     * Publishes an invalidation to the other nodes. A failure is recorded rather than thrown, as the near caches of the
+     * other nodes hold the keys until their time to live passes at the latest.
+     *
+     * @param cacheName - The {@link String} name of the {@link Cache}.
+     * @param keys      - The {@link Collection} of evicted keys, or null if the {@link Cache} was cleared.
+     */
+    protected void publish(String cacheName, Collection<?> keys) {
+        ObjectNode invalidation = ObjectMapperInstance.INSTANCE.getObjectMapper().createObjectNode();
+        invalidation.put(NODE_FIELD, nodeId);
+        invalidation.put(CACHE_FIELD, cacheName);
+        invalidation.put(PUBLISHED_AT_FIELD, System.currentTimeMillis());
+        if (keys != null) {
+            ArrayNode evictedKeys = invalidation.putArray(KEYS_FIELD);
+            keys.forEach(key -> evictedKeys.add(String.valueOf(key)));
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, invalidation.toString());
+        } catch (RuntimeException exception) {
+            LOGGER.error("Error publishing the near cache invalidation during the Invalidate Operation.", exception);
+            meterRegistry.counter(INVALIDATION_FAILURES_METRIC).increment();
+        }
+    }
+}
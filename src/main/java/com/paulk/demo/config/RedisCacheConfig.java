@@ -7,6 +7,7 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * Configures the {@link RedisCacheConfig} from properties pulled from {@link DemoApplicationConfig}.
@@ -62,4 +63,18 @@ public class RedisCacheConfig implements CacheConfig {
 
         return factory;
     }
+
+    /**
+     * Builds the {@link RedisMessageListenerContainer} shared by the pub/sub listeners of the {@link DemoApplication}, so
+     * they share a single subscription connection. The container only subscribes once a listener is added.
+     *
+     * @param connectionFactory - The {@link RedisConnectionFactory} the listeners subscribe with.
+     * @return The {@link RedisMessageListenerContainer}.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        return listenerContainer;
+    }
 }
@@ -0,0 +1,163 @@
+package com.paulk.demo.config;
+
+import com.paulk.demo.model.EntryOperationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Configures the {@link SpecRedisCacheManager} of the Redis caches from the {@code spring.cache} properties and the
+ * {@link CacheSpecProperties}, in place of the default {@link org.springframework.data.redis.cache.RedisCacheManager},
+ * and fronts it with a {@link NearCacheManager} when {@code api.cache.near.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+@EnableConfigurationProperties({CacheProperties.class, CacheSpecProperties.class})
+public class RedisCacheManagerConfig {
+
+    // An EntryOperationResponse which wasn't successful, such as an Entry which wasn't found, is a negative result.
+    protected static final Predicate<Object> NEGATIVE_VALUE = value -> value == null
+            || (value instanceof EntryOperationResponse && !((EntryOperationResponse) value).isSuccessfulOperation());
+
+    /**
+     * Builds the {@link SpecRedisCacheManager}, fronted by a {@link NearCacheManager} when {@code api.cache.near.enabled}
+     * is set.
+     *
+     * @param connectionFactory     - The {@link RedisConnectionFactory} of the shared caches.
+     * @param redisTemplate         - The {@link RedisTemplate} the bounded writes and invalidations are executed with.
+     * @param cacheProperties       - The {@link CacheProperties} of the shared caches.
+     * @param cacheSpecProperties   - The {@link CacheSpecProperties} of each shared cache.
+     * @param demoApplicationConfig - The {@link DemoApplicationConfig} of the near cache size and time to live.
+     * @param meterRegistry         - The {@link MeterRegistry} of the near cache metrics.
+     * @param listenerContainer     - The {@link RedisMessageListenerContainer} the invalidations are received with.
+     * @return The {@link CacheManager}.
+     */
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, RedisTemplate<String, Object> redisTemplate,
+                                     CacheProperties cacheProperties, CacheSpecProperties cacheSpecProperties,
+                                     DemoApplicationConfig demoApplicationConfig, MeterRegistry meterRegistry,
+                                     RedisMessageListenerContainer listenerContainer) {
+        SpecRedisCacheManager redisCacheManager = buildRedisCacheManager(connectionFactory, redisTemplate, cacheProperties, cacheSpecProperties);
+        if (!Boolean.TRUE.equals(demoApplicationConfig.getNearCacheEnabled())) {
+            return redisCacheManager;
+        }
+        // Not a bean itself, so it is initialised here.
+        redisCacheManager.afterPropertiesSet();
+
+        NearCacheManager nearCacheManager = new NearCacheManager(redisCacheManager, redisTemplate,
+                demoApplicationConfig.getNearCacheMaxSize(), demoApplicationConfig.getNearCacheTtlMillis(), meterRegistry);
+        listenerContainer.addMessageListener(nearCacheManager, new ChannelTopic(NearCacheManager.INVALIDATION_CHANNEL));
+        return nearCacheManager;
+    }
+
+    /**
+     * Builds the {@link CacheMeterBinderProvider} publishing the statistics of each {@link SpecRedisCache}, including
+     * one fronted by a {@link NearCache}, to the actuator metrics. It takes precedence over the
+     * {@link org.springframework.boot.actuate.metrics.cache.RedisCacheMeterBinderProvider}.
+     *
+     * @return The {@link CacheMeterBinderProvider}.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CacheMeterBinderProvider<Cache> specRedisCacheMeterBinderProvider() {
+        return (cache, tags) -> {
+            Cache sharedCache = cache instanceof NearCache ? ((NearCache) cache).getSharedCache() : cache;
+            return sharedCache instanceof SpecRedisCache ? new SpecRedisCacheMetrics((SpecRedisCache) sharedCache, tags) : null;
+        };
+    }
+
+    /**
+     * Builds the {@link SpecRedisCacheManager} of the caches named by the {@link CacheProperties} or given a spec by the
+     * {@link CacheSpecProperties}.
+     *
+     * @param connectionFactory   - The {@link RedisConnectionFactory} of the caches.
+     * @param redisTemplate       - The {@link RedisTemplate} the bounded writes are executed with.
+     * @param cacheProperties     - The {@link CacheProperties} of the caches.
+     * @param cacheSpecProperties - The {@link CacheSpecProperties} of each cache.
+     * @return The {@link SpecRedisCacheManager}, not yet initialised.
+     */
+    protected SpecRedisCacheManager buildRedisCacheManager(RedisConnectionFactory connectionFactory, RedisTemplate<String, Object> redisTemplate,
+                                                           CacheProperties cacheProperties, CacheSpecProperties cacheSpecProperties) {
+        CacheProperties.Redis redisProperties = cacheProperties.getRedis();
+        RedisCacheConfiguration defaultCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig(getClass().getClassLoader());
+        if (redisProperties.getTimeToLive() != null) {
+            defaultCacheConfiguration = defaultCacheConfiguration.entryTtl(redisProperties.getTimeToLive());
+        }
+        if (redisProperties.getKeyPrefix() != null) {
+            defaultCacheConfiguration = defaultCacheConfiguration.prefixCacheNameWith(redisProperties.getKeyPrefix());
+        }
+        if (!redisProperties.isCacheNullValues()) {
+            defaultCacheConfiguration = defaultCacheConfiguration.disableCachingNullValues();
+        }
+        if (!redisProperties.isUseKeyPrefix()) {
+            defaultCacheConfiguration = defaultCacheConfiguration.disableKeyPrefix();
+        }
+
+        Set<String> cacheNames = new LinkedHashSet<>(cacheProperties.getCacheNames());
+        cacheNames.addAll(cacheSpecProperties.getSpecs().keySet());
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        Map<String, Duration> negativeTtls = new HashMap<>();
+        Map<String, Long> maxSizes = new HashMap<>();
+        for (String cacheName : cacheNames) {
+            CacheSpecProperties.CacheSpec cacheSpec = cacheSpecProperties.getSpec(cacheName);
+            RedisCacheConfiguration cacheConfiguration = defaultCacheConfiguration
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(toSerializer(cacheSpec.getSerializer())));
+            if (cacheSpec.getTtl() != null) {
+                cacheConfiguration = cacheConfiguration.entryTtl(cacheSpec.getTtl());
+            }
+            cacheConfigurations.put(cacheName, cacheConfiguration);
+            negativeTtls.put(cacheName, cacheSpec.getNegativeTtl());
+            if (cacheSpec.getMaxSize() != null) {
+                maxSizes.put(cacheName, cacheSpec.getMaxSize());
+            }
+        }
+
+        RedisCacheWriter cacheWriter = new BoundedRedisCacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), redisTemplate, maxSizes);
+        if (redisProperties.isEnableStatistics()) {
+            cacheWriter = cacheWriter.withStatisticsCollector(CacheStatisticsCollector.create());
+        }
+        return new SpecRedisCacheManager(cacheWriter, defaultCacheConfiguration, cacheConfigurations, negativeTtls, NEGATIVE_VALUE);
+    }
+
+    /**
+     * Gets the value serializer of a name.
+     *
+     * @param serializer - The {@link String} name of the serializer.
+     * @return The {@link RedisSerializer}.
+     * @throws IllegalArgumentException Thrown if the serializer is unknown.
+     */
+    private RedisSerializer<Object> toSerializer(String serializer) {
+        switch (serializer) {
+            case CacheSpecProperties.JDK_SERIALIZER:
+                return RedisSerializer.java(getClass().getClassLoader());
+            case CacheSpecProperties.BINARY_SERIALIZER:
+                return new EntryResponseRedisSerializer();
+            default:
+                throw new IllegalArgumentException("Unknown cache serializer " + serializer + ".");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.paulk.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A {@link RedisCache} of a {@link CacheSpecProperties.CacheSpec}, which caches negative results for their own time to
+ * live, or not at all, and times the loads of the values it misses.
+ * <p>
+ * A load is timed from the lookup which missed a key to the put of its value on the same thread, as a value missing from
+ * a {@link org.springframework.cache.annotation.Cacheable} cache is loaded and put by the caller. A value which can't be
+ * deserialized, such as one written before the serializer of the cache changed, is treated as missing.
+ */
+public class SpecRedisCache extends RedisCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecRedisCache.class);
+
+    private final Duration negativeTtl;
+    private final Predicate<Object> negativeValue;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final ThreadLocal<Map.Entry<Object, Long>> pendingLoad = new ThreadLocal<>();
+
+    /**
+     * Constructor for {@link SpecRedisCache}.
+     *
+     * @param name          - The {@link String} name of the cache.
+     * @param cacheWriter   - The {@link RedisCacheWriter} of the cache.
+     * @param cacheConfig   - The {@link RedisCacheConfiguration} of the cache.
+     * @param negativeTtl   - The {@link Duration} a negative result is cached for, or 0 if negative results aren't cached.
+     * @param negativeValue - The {@link Predicate} determining if a value is a negative result.
+     */
+    protected SpecRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfig, Duration negativeTtl,
+                             Predicate<Object> negativeValue) {
+        super(name, cacheWriter, cacheConfig);
+        this.negativeTtl = negativeTtl;
+        this.negativeValue = negativeValue;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value;
+        try {
+            value = super.lookup(key);
+        } catch (SerializationException exception) {
+            LOGGER.warn("Error deserializing the value of {} from the {} cache, treated as missing.", key, getName(), exception);
+            value = null;
+        }
+        if (value == null) {
+            pendingLoad.set(new AbstractMap.SimpleImmutableEntry<>(key, System.nanoTime()));
+        }
+        return value;
+    }
+
+    /**
+     * Puts the value of a key, for the negative result time to live if it is a negative result, and not at all if
+     * negative results aren't cached.
+     *
+     * @param key   - The key.
+     * @param value - The value.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        recordLoad(key);
+        if (!negativeValue.test(value)) {
+            super.put(key, value);
+        } else if (isCacheable(value)) {
+            getNativeCache().put(getName(), serializeCacheKey(createCacheKey(key)), serializeCacheValue(preProcessCacheValue(value)), negativeTtl);
+        }
+    }
+
+    /**
+     * Determines if a value is cached when put, as a negative result is only cached if it has a time to live.
+     *
+     * @param value - The value.
+     * @return If true, the value is cached when put.
+     */
+    public boolean isCacheable(Object value) {
+        return !negativeValue.test(value) || (!negativeTtl.isZero() && (value != null || isAllowNullValues()));
+    }
+
+    /**
+     * Gets the time to live of a value.
+     *
+     * @param value - The value.
+     * @return The {@link Duration} the value is cached for, or 0 for no expiry.
+     */
+    public Duration getTtl(Object value) {
+        return negativeValue.test(value) ? negativeTtl : getCacheConfiguration().getTtl();
+    }
+
+    /**
+     * Gets the number of values loaded after a miss.
+     *
+     * @return The number of loads.
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Gets the total time taken loading values after a miss.
+     *
+     * @return The total load time in nanoseconds.
+     */
+    public double getLoadTotalNanos() {
+        return loadNanos.sum();
+    }
+
+    /**
+     * Records the load of a key if the last lookup on this thread missed it.
+     *
+     * @param key - The key being put.
+     */
+    private void recordLoad(Object key) {
+        Map.Entry<Object, Long> load = pendingLoad.get();
+        pendingLoad.remove();
+        if (load != null && load.getKey().equals(key)) {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - load.getValue());
+        }
+    }
+}
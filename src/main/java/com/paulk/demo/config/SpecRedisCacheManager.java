@@ -0,0 +1,48 @@
+package com.paulk.demo.config;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A {@link RedisCacheManager} of {@link SpecRedisCache} caches, each configured from its
+ * {@link CacheSpecProperties.CacheSpec}.
+ */
+public class SpecRedisCacheManager extends RedisCacheManager {
+
+    private final RedisCacheWriter cacheWriter;
+    private final RedisCacheConfiguration defaultCacheConfiguration;
+    private final Map<String, Duration> negativeTtls;
+    private final Predicate<Object> negativeValue;
+
+    /**
+     * Constructor for {@link SpecRedisCacheManager}.
+     *
+     * @param cacheWriter                - The {@link RedisCacheWriter} shared by the caches.
+     * @param defaultCacheConfiguration  - The {@link RedisCacheConfiguration} of a cache without its own.
+     * @param initialCacheConfigurations - The {@link Map} of the {@link String} cache names to their {@link RedisCacheConfiguration}.
+     * @param negativeTtls               - The {@link Map} of the {@link String} cache names to the {@link Duration} a negative
+     *                                   result is cached for. A cache without one doesn't cache negative results.
+     * @param negativeValue              - The {@link Predicate} determining if a value is a negative result.
+     */
+    public SpecRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                 Map<String, RedisCacheConfiguration> initialCacheConfigurations, Map<String, Duration> negativeTtls,
+                                 Predicate<Object> negativeValue) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations, true);
+        this.cacheWriter = cacheWriter;
+        this.defaultCacheConfiguration = defaultCacheConfiguration;
+        this.negativeTtls = negativeTtls;
+        this.negativeValue = negativeValue;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfig) {
+        return new SpecRedisCache(name, cacheWriter, cacheConfig != null ? cacheConfig : defaultCacheConfiguration,
+                negativeTtls.getOrDefault(name, Duration.ZERO), negativeValue);
+    }
+}
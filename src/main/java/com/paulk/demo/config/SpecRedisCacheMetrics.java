@@ -0,0 +1,46 @@
+package com.paulk.demo.config;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link RedisCacheMetrics} of a {@link SpecRedisCache}, adding the evictions by its maximum size as
+ * {@code cache.evictions} and the time taken loading the values it missed as {@code cache.load.duration}.
+ */
+public class SpecRedisCacheMetrics extends RedisCacheMetrics {
+
+    protected static final String LOAD_DURATION_METRIC = "cache.load.duration";
+
+    private final SpecRedisCache cache;
+
+    /**
+     * Constructor for {@link SpecRedisCacheMetrics}.
+     *
+     * @param cache - The {@link SpecRedisCache} being measured.
+     * @param tags  - The {@link Iterable} of {@link Tag} of the metrics.
+     */
+    public SpecRedisCacheMetrics(SpecRedisCache cache, Iterable<Tag> tags) {
+        super(cache, tags);
+        this.cache = cache;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return cache.getNativeCache() instanceof BoundedRedisCacheWriter
+                ? ((BoundedRedisCacheWriter) cache.getNativeCache()).getEvictions(cache.getName())
+                : null;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        super.bindImplementationSpecificMetrics(registry);
+        FunctionTimer.builder(LOAD_DURATION_METRIC, cache, SpecRedisCache::getLoadCount, SpecRedisCache::getLoadTotalNanos, TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName())
+                .description("The time taken loading the values missing from the cache")
+                .register(registry);
+    }
+}
@@ -1,22 +1,28 @@
 package com.paulk.demo.constants;
 
+import java.util.Optional;
+
 /**
  * An constants enum for the {@link AuditActionCodes}.
  */
 public enum AuditActionCodes {
-    ADD("Add"),
-    UPDATE("Update"),
-    DELETE("Delete");
+    ADD("Add", 1),
+    UPDATE("Update", 2),
+    DELETE("Delete", 3),
+    EXPIRE("Expire", 4);
 
     private final String code;
+    private final int binaryCode;
 
     /**
      * Constructor for the {@link AuditActionCodes}.
      *
-     * @param code - The {@link String} for the {@link AuditActionCodes}
+     * @param code       - The {@link String} for the {@link AuditActionCodes}
+     * @param binaryCode - The stored number for the {@link AuditActionCodes}, which must never change.
      */
-    AuditActionCodes(String code) {
+    AuditActionCodes(String code, int binaryCode) {
         this.code = code;
+        this.binaryCode = binaryCode;
     }
 
     /**
@@ -28,4 +34,53 @@ public enum AuditActionCodes {
         return code;
     }
 
+    /**
+     * Returns the number for the {@link AuditActionCodes} in binary records.
+     *
+     * @return binary code for the {@link AuditActionCodes}.
+     */
+    public int getBinaryCode() {
+        return binaryCode;
+    }
+
+    /**
+     * Determines if the {@link AuditActionCodes} is an action a caller can request, rather than one applied by the data
+     * store itself, such as the removal of an expired {@link com.paulk.demo.model.Entry}.
+     *
+     * @return If true, the action can be requested.
+     */
+    public boolean isRequestable() {
+        return this != EXPIRE;
+    }
+
+    /**
+     * Gets the {@link AuditActionCodes} for a code.
+     *
+     * @param code - The {@link String} code to be matched.
+     * @return An {@link Optional} of the {@link AuditActionCodes}, empty if no {@link AuditActionCodes} matches the code.
+     */
+    public static Optional<AuditActionCodes> fromCode(String code) {
+        for (AuditActionCodes auditActionCode : values()) {
+            if (auditActionCode.code.equals(code)) {
+                return Optional.of(auditActionCode);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the {@link AuditActionCodes} for a binary code.
+     *
+     * @param binaryCode - The number to be matched.
+     * @return An {@link Optional} of the {@link AuditActionCodes}, empty if no {@link AuditActionCodes} matches the number.
+     */
+    public static Optional<AuditActionCodes> fromBinaryCode(int binaryCode) {
+        for (AuditActionCodes auditActionCode : values()) {
+            if (auditActionCode.binaryCode == binaryCode) {
+                return Optional.of(auditActionCode);
+            }
+        }
+        return Optional.empty();
+    }
+
 }
@@ -16,6 +16,9 @@ public class ErrorCodes {
     public static final String NOT_VALID_FORMAT = "3";
     public static final String NOT_VALID_FORMAT_DESCRIPTION = "The request body is missing or not well formed.";
 
+    public static final String PRECONDITION_FAILED = "4";
+    public static final String PRECONDITION_FAILED_DESCRIPTION = "Entry version does not match the expected version.";
+
     /**
      * Private constructor for the {@link ErrorCodes} class.
      */
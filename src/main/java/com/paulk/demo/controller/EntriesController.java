@@ -1,16 +1,22 @@
 package com.paulk.demo.controller;
 
-import com.paulk.demo.utils.EntryComparator;
+import com.paulk.demo.utils.EntryRangeUtils;
+import com.paulk.demo.utils.EntrySearchUtils;
+import com.paulk.demo.utils.EntrySortUtils;
 import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.constants.AuditActionCodes;
 import com.paulk.demo.constants.ErrorCodes;
 import com.paulk.demo.model.EntryActionInput;
 import com.paulk.demo.model.EntriesResponse;
+import com.paulk.demo.model.EntryBatchResponse;
 import com.paulk.demo.model.Entry;
 import com.paulk.demo.model.EntryOperationResponse;
 import com.paulk.demo.model.EntryResponse;
+import com.paulk.demo.model.EntryStatsResponse;
 import com.paulk.demo.model.Error;
 import com.paulk.demo.service.EntryActionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -24,8 +30,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -55,7 +68,8 @@ public class EntriesController {
     }
 
     /**
-     * Add an {@link Entry}.
+     * Add an {@link Entry}. An {@link Entry} added with a ttlSeconds must have an id, and expires once the ttlSeconds
+     * have passed.
      *
      * @param actionInput - The {@link EntryActionInput} defining the {@link RequestBody}.
      * @param model       - The {@link Model} to be processed.
@@ -69,7 +83,7 @@ public class EntriesController {
 
         Optional<Entry> entryOptional = Optional.ofNullable(actionInput)
                 .map(EntryActionInput::getEntry);
-        if (entryOptional.isPresent()) {
+        if (entryOptional.isPresent() && isValidTtl(actionInput)) {
             EntryOperationResponse operationResponse = entryActionService.addEntry(actionInput);
 
             if (operationResponse.isSuccessfulOperation()) {
@@ -87,27 +101,35 @@ public class EntriesController {
     }
 
     /**
-     * Delete an {@link Entry}.
+     * Delete an {@link Entry}. Given an If-Match header or an expectedVersion, the {@link Entry} is only deleted if its
+     * version matches.
      *
      * @param actionInput - The {@link EntryActionInput} defining the {@link RequestBody}.
+     * @param ifMatch     - The optional If-Match {@link RequestHeader} holding the expected version.
      * @param model       - The {@link Model} to be processed.
      * @return A {@link ResponseEntity} containing an {@link EntryResponse}. If successful an {@link Entry} returned, otherwise an {@link Error}.
      */
     @PreAuthorize("isAuthenticated()")
     @DeleteMapping("/entries/entry")
-    public ResponseEntity<EntryResponse> deleteEntry(@RequestBody EntryActionInput actionInput, Model model) {
+    public ResponseEntity<EntryResponse> deleteEntry(@RequestBody EntryActionInput actionInput,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     Model model) {
         EntryResponse entryResponse = new EntryResponse();
         model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entryResponse);
 
-        Optional<Entry> entryOptional = Optional.ofNullable(actionInput)
-                .map(EntryActionInput::getEntry);
-        if (entryOptional.isPresent()) {
-            EntryOperationResponse operationResponse = entryActionService.deleteEntry(actionInput);
+        Optional<EntryActionInput> actionInputOptional = Optional.ofNullable(actionInput)
+                .filter(input -> input.getEntry() != null)
+                .flatMap(input -> withIfMatch(input, ifMatch));
+        if (actionInputOptional.isPresent()) {
+            EntryOperationResponse operationResponse = entryActionService.deleteEntry(actionInputOptional.get());
 
             if (operationResponse.isSuccessfulOperation()) {
                 // Delete the Entry
                 entryResponse.setEntry(operationResponse.getEntry());
                 return new ResponseEntity<>(entryResponse, HttpStatus.OK);
+            } else if (operationResponse.isPreconditionFailed()) {
+                // The Entry was changed since the expected version was read.
+                return EntryResponse.generateEntryResponseError(ErrorCodes.PRECONDITION_FAILED, ErrorCodes.PRECONDITION_FAILED_DESCRIPTION, HttpStatus.PRECONDITION_FAILED);
             } else {
                 // Add in error to indicate Entry could not be added successfully.
                 return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
@@ -119,30 +141,36 @@ public class EntriesController {
     }
 
     /**
-     * Update an {@link Entry}.
+     * Update an {@link Entry}. Given an If-Match header or an expectedVersion, the {@link Entry} is only updated if its
+     * version matches.
      *
      * @param actionInput - The {@link EntryActionInput} defining the {@link RequestBody}.
+     * @param ifMatch     - The optional If-Match {@link RequestHeader} holding the expected version.
      * @param model       - The {@link Model} to be processed.
      * @return A {@link ResponseEntity} containing an {@link EntryResponse}. If successful an {@link Entry} returned, otherwise an {@link Error}.
      */
     @PreAuthorize("isAuthenticated()")
     @PutMapping("/entries/entry")
-    public ResponseEntity<EntryResponse> updateEntry(@RequestBody EntryActionInput actionInput, Model model) {
-        // Check Conditions.
-        Optional<Entry> entryOptional = Optional.ofNullable(actionInput)
-                .map(EntryActionInput::getEntry);
-        Optional<String> keyOptional = Optional.ofNullable(actionInput)
-                .map(EntryActionInput::getKey);
+    public ResponseEntity<EntryResponse> updateEntry(@RequestBody EntryActionInput actionInput,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     Model model) {
+        // Check Conditions. The ttlSeconds is only set when an Entry is added.
+        Optional<EntryActionInput> actionInputOptional = Optional.ofNullable(actionInput)
+                .filter(input -> input.getEntry() != null && input.getKey() != null && input.getTtlSeconds() == null)
+                .flatMap(input -> withIfMatch(input, ifMatch));
 
-        if (entryOptional.isPresent() && keyOptional.isPresent()) {
+        if (actionInputOptional.isPresent()) {
             EntryResponse entryResponse = new EntryResponse();
             model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entryResponse);
-            EntryOperationResponse operationResponse = entryActionService.updateEntry(actionInput);
+            EntryOperationResponse operationResponse = entryActionService.updateEntry(actionInputOptional.get());
 
             if (operationResponse.isSuccessfulOperation()) {
                 // Add the added Entry
                 entryResponse.setEntry(operationResponse.getEntry());
-                return new ResponseEntity<>(entryResponse, HttpStatus.OK);
+                return new ResponseEntity<>(entryResponse, getVersionHeaders(operationResponse.getEntry()), HttpStatus.OK);
+            } else if (operationResponse.isPreconditionFailed()) {
+                // The Entry was changed since the expected version was read.
+                return EntryResponse.generateEntryResponseError(ErrorCodes.PRECONDITION_FAILED, ErrorCodes.PRECONDITION_FAILED_DESCRIPTION, HttpStatus.PRECONDITION_FAILED);
             } else {
                 // Add in error to indicate Entry could not be added successfully.
                 return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
@@ -154,17 +182,190 @@ public class EntriesController {
     }
 
     /**
-     * Get a specific {@link Entry} given the Value and id.
+     * Apply a mixed batch of add, update and delete actions. Each action is an {@link EntryActionInput} with an action of
+     * Add, Update or Delete, and the result of each action is returned in the same order.
      *
-     * @param value - The {@link String} value to be processed.
-     * @param id    - The {@link String} id to be processed.
-     * @param model - The {@link Model} for processing.
+     * @param actionInputs - The {@link List} of {@link EntryActionInput} defining the {@link RequestBody}.
+     * @param model        - The {@link Model} to be processed.
+     * @return A {@link ResponseEntity} containing an {@link EntryBatchResponse}. If the batch is valid an {@link EntryOperationResponse} is returned per action, otherwise an {@link Error}.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/entries/batch")
+    public ResponseEntity<EntryBatchResponse> batchEntries(@RequestBody List<EntryActionInput> actionInputs, Model model) {
+        EntryBatchResponse entryBatchResponse = new EntryBatchResponse();
+        model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entryBatchResponse);
+
+        if (actionInputs == null || actionInputs.isEmpty() || !actionInputs.stream().allMatch(this::isValidBatchAction)) {
+            // Batch not submitted in a valid format.
+            return EntryBatchResponse.generateEntryBatchResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+        }
+
+        List<EntryOperationResponse> operationResponses = entryActionService.batchEntries(actionInputs);
+        for (int index = 0; index < operationResponses.size(); index++) {
+            EntryOperationResponse operationResponse = operationResponses.get(index);
+            if (!operationResponse.isSuccessfulOperation()) {
+                // Add in error to indicate the action could not be applied successfully.
+                Error error = new Error();
+                if (operationResponse.isPreconditionFailed()) {
+                    error.setCode(ErrorCodes.PRECONDITION_FAILED);
+                    error.setDescription(ErrorCodes.PRECONDITION_FAILED_DESCRIPTION);
+                } else if (AuditActionCodes.ADD.getCode().equals(actionInputs.get(index).getAction())) {
+                    error.setCode(ErrorCodes.ALREADY_EXISTS);
+                    error.setDescription(ErrorCodes.ALREADY_EXISTS_DESCRIPTION);
+                } else {
+                    error.setCode(ErrorCodes.NOT_FOUND);
+                    error.setDescription(ErrorCodes.NOT_FOUND_DESCRIPTION);
+                }
+                operationResponse.setError(error);
+            }
+            entryBatchResponse.getResults().add(operationResponse);
+        }
+        return new ResponseEntity<>(entryBatchResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Applies the expected version of an If-Match header to an {@link EntryActionInput}. The header holds a single entity
+     * tag of the version, which is either quoted or weak, or * to match any version.
+     *
+     * @param actionInput - The {@link EntryActionInput} to be processed.
+     * @param ifMatch     - The If-Match {@link String} header, or null if it wasn't sent.
+     * @return An {@link Optional} of the {@link EntryActionInput} with the expected version, empty if the header isn't a
+     * version or doesn't match the expectedVersion of the {@link EntryActionInput}.
+     */
+    private Optional<EntryActionInput> withIfMatch(EntryActionInput actionInput, String ifMatch) {
+        String entityTag = Optional.ofNullable(ifMatch)
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .map(tag -> tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"") ? tag.substring(1, tag.length() - 1) : tag)
+                .orElse("*");
+        if ("*".equals(entityTag)) {
+            return Optional.of(actionInput);
+        }
+
+        Long expectedVersion;
+        try {
+            expectedVersion = Long.valueOf(entityTag);
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+        if (actionInput.getExpectedVersion() != null && !actionInput.getExpectedVersion().equals(expectedVersion)) {
+            return Optional.empty();
+        }
+        return Optional.of(new EntryActionInput.EntryActionInputBuilder()
+                .withKey(actionInput.getKey())
+                .withEntry(actionInput.getEntry())
+                .withAction(actionInput.getAction())
+                .withTtlSeconds(actionInput.getTtlSeconds())
+                .withExpectedVersion(expectedVersion)
+                .build());
+    }
+
+    /**
+     * Gets the headers of a response of an {@link Entry}, with an ETag of its version if it has one.
+     *
+     * @param entry - The {@link Entry} of the response.
+     * @return The {@link HttpHeaders}.
+     */
+    private HttpHeaders getVersionHeaders(Entry entry) {
+        HttpHeaders headers = new HttpHeaders();
+        Optional.ofNullable(entry)
+                .map(Entry::getVersion)
+                .map(EntriesController::toEntityTag)
+                .ifPresent(headers::setETag);
+        return headers;
+    }
+
+    /**
+     * Gets a 304 Not Modified response if an If-None-Match header matches the current version of an {@link Entry}. The
+     * version is read without the {@link Entry}, so nothing is read in full or serialized for an unchanged {@link Entry}.
+     *
+     * @param id          - The {@link String} id of the {@link Entry}.
+     * @param value       - The {@link String} value the {@link Entry} must have, or null for any value.
+     * @param ifNoneMatch - The If-None-Match {@link String} header, or null if it wasn't sent.
+     * @return An {@link Optional} of the 304 Not Modified {@link ResponseEntity}, empty if the {@link Entry} is read.
+     */
+    private Optional<ResponseEntity<EntryResponse>> getEntryNotModified(String id, String value, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return Optional.empty();
+        }
+        return entryActionService.getEntryVersionById(id, value)
+                .map(EntriesController::toEntityTag)
+                .filter(entityTag -> isNotModified(ifNoneMatch, entityTag))
+                .map(entityTag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entityTag).<EntryResponse>build());
+    }
+
+    /**
+     * Gets the strong entity tag of a version or change tag, which is quoted.
+     *
+     * @param tag - The version or change tag.
+     * @return The quoted {@link String} entity tag.
+     */
+    private static String toEntityTag(Object tag) {
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * Determines if an If-None-Match header matches an entity tag, so the representation held by the client is current.
+     * The header is either * or a list of entity tags, compared ignoring whether they are weak.
+     *
+     * @param ifNoneMatch - The If-None-Match {@link String} header, or null if it wasn't sent.
+     * @param entityTag   - The quoted {@link String} entity tag of the current representation.
+     * @return If true, a 304 Not Modified is returned.
+     */
+    private static boolean isNotModified(String ifNoneMatch, String entityTag) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> "*".equals(tag) || tag.equals(entityTag));
+    }
+
+    /**
+     * Determines if an {@link EntryActionInput} of a batch has an {@link Entry} and a known action, and only has a valid
+     * ttlSeconds with an add.
+     *
+     * @param actionInput - The {@link EntryActionInput} to be validated.
+     * @return If true, the {@link EntryActionInput} is valid.
+     */
+    private boolean isValidBatchAction(EntryActionInput actionInput) {
+        return actionInput != null && actionInput.getEntry() != null
+                && AuditActionCodes.fromCode(actionInput.getAction()).filter(AuditActionCodes::isRequestable).isPresent()
+                && (actionInput.getTtlSeconds() == null || AuditActionCodes.ADD.getCode().equals(actionInput.getAction()))
+                && isValidTtl(actionInput);
+    }
+
+    /**
+     * Determines if the ttlSeconds of an {@link EntryActionInput} is valid, which is either not set, or positive with an
+     * {@link Entry} which has an id.
+     *
+     * @param actionInput - The {@link EntryActionInput} to be validated.
+     * @return If true, the ttlSeconds is valid.
+     */
+    private boolean isValidTtl(EntryActionInput actionInput) {
+        return actionInput.getTtlSeconds() == null
+                || (actionInput.getTtlSeconds() > 0 && actionInput.getEntry().getId() != null);
+    }
+
+    /**
+     * Get a specific {@link Entry} given the Value and id. If the If-None-Match header holds the ETag of the current
+     * version of the {@link Entry}, a 304 Not Modified is returned without reading the {@link Entry}.
+     *
+     * @param value       - The {@link String} value to be processed.
+     * @param id          - The {@link String} id to be processed.
+     * @param ifNoneMatch - The If-None-Match {@link String} header, or null if it wasn't sent.
+     * @param model       - The {@link Model} for processing.
      * @return A {@link ResponseEntity} containing an {@link EntryResponse}. If successful an {@link Entry} returned, otherwise an {@link Error}.
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/entries/entry/{value}/id/{id}")
-    public ResponseEntity<EntryResponse> getEntry(@PathVariable String value, @PathVariable String id, Model model) {
+    public ResponseEntity<EntryResponse> getEntry(@PathVariable String value, @PathVariable String id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                  Model model) {
         if (value != null && !value.equals(STRING_EMPTY) && id != null && !id.equals(STRING_EMPTY)) {
+            Optional<ResponseEntity<EntryResponse>> notModified = getEntryNotModified(id, value, ifNoneMatch);
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+
             // Setup
             EntryResponse entryResponse = new EntryResponse();
             model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entryResponse);
@@ -177,7 +378,7 @@ public class EntriesController {
             EntryOperationResponse operationResponse = entryActionService.getEntry(actionInput);
             if (operationResponse.isSuccessfulOperation()) {
                 entryResponse.setEntry(operationResponse.getEntry());
-                return new ResponseEntity<>(entryResponse, HttpStatus.OK);
+                return new ResponseEntity<>(entryResponse, getVersionHeaders(operationResponse.getEntry()), HttpStatus.OK);
             } else {
                 return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
             }
@@ -188,20 +389,227 @@ public class EntriesController {
     }
 
     /**
-     * Gets all {@link Entry}.
+     * Get a specific {@link Entry} given the id. If the If-None-Match header holds the ETag of the current version of the
+     * {@link Entry}, a 304 Not Modified is returned without reading the {@link Entry}.
      *
-     * @param model - The {@link Model} for processing.
+     * @param id          - The {@link String} id to be processed.
+     * @param ifNoneMatch - The If-None-Match {@link String} header, or null if it wasn't sent.
+     * @param model       - The {@link Model} for processing.
+     * @return A {@link ResponseEntity} containing an {@link EntryResponse}. If successful an {@link Entry} returned, otherwise an {@link Error}.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/entries/id/{id}")
+    public ResponseEntity<EntryResponse> getEntryById(@PathVariable String id,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      Model model) {
+        if (id != null && !id.equals(STRING_EMPTY)) {
+            Optional<ResponseEntity<EntryResponse>> notModified = getEntryNotModified(id, null, ifNoneMatch);
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+
+            // Setup
+            EntryResponse entryResponse = new EntryResponse();
+            model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entryResponse);
+
+            // Perform Action
+            EntryOperationResponse operationResponse = entryActionService.getEntryById(id);
+            if (operationResponse.isSuccessfulOperation()) {
+                entryResponse.setEntry(operationResponse.getEntry());
+                return new ResponseEntity<>(entryResponse, getVersionHeaders(operationResponse.getEntry()), HttpStatus.OK);
+            } else {
+                return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
+            }
+
+        } else {
+            return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Get a page of the audit history of an {@link Entry} given the Value, oldest first, including the archived audits.
+     * If archived audits of the page can't be read on this node, the response is marked with auditsIncomplete.
+     *
+     * @param value      - The {@link String} value to be processed.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @param model      - The {@link Model} for processing.
+     * @return A {@link ResponseEntity} containing an {@link EntryResponse}. If successful an {@link Entry} with the page of its audits returned, otherwise an {@link Error}.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/entries/entry/{value}/audits")
+    public ResponseEntity<EntryResponse> getEntryAudits(@PathVariable String value,
+                                                        @RequestParam(required = false) Integer pageNumber,
+                                                        @RequestParam(required = false) Integer pageSize, Model model) {
+        // Default Page Number
+        if (pageNumber == null) {
+            pageNumber = demoApplicationConfig.getDefaultPageNumber();
+        }
+
+        // Default pageSize.
+        if (pageSize == null) {
+            pageSize = demoApplicationConfig.getDefaultPageSize();
+        }
+
+        if (value == null || value.equals(STRING_EMPTY) || pageNumber < 0 || pageSize < 1) {
+            return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+        }
+
+        // Setup
+        EntryResponse entryResponse = new EntryResponse();
+        model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entryResponse);
+
+        // Perform Action
+        EntryOperationResponse operationResponse = entryActionService.getEntryAudits(value, pageNumber, pageSize);
+        if (operationResponse.isSuccessfulOperation()) {
+            entryResponse.setEntry(operationResponse.getEntry());
+            entryResponse.setAuditsIncomplete(operationResponse.getAuditsIncomplete());
+            return new ResponseEntity<>(entryResponse, HttpStatus.OK);
+        } else {
+            return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Get a page of the audit history of an {@link Entry} given the id, oldest first. The history of a deleted
+     * {@link Entry} is returned while it is kept, including the archived audits. If archived audits of the page can't be
+     * read on this node, the response is marked with auditsIncomplete.
+     *
+     * @param id         - The {@link String} id to be processed.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @param model      - The {@link Model} for processing.
+     * @return A {@link ResponseEntity} containing an {@link EntryResponse}. If successful an {@link Entry} with the page of its audits returned, otherwise an {@link Error}.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/entries/id/{id}/audits")
+    public ResponseEntity<EntryResponse> getEntryAuditsById(@PathVariable String id,
+                                                            @RequestParam(required = false) Integer pageNumber,
+                                                            @RequestParam(required = false) Integer pageSize, Model model) {
+        // Default Page Number
+        if (pageNumber == null) {
+            pageNumber = demoApplicationConfig.getDefaultPageNumber();
+        }
+
+        // Default pageSize.
+        if (pageSize == null) {
+            pageSize = demoApplicationConfig.getDefaultPageSize();
+        }
+
+        if (id == null || id.equals(STRING_EMPTY) || pageNumber < 0 || pageSize < 1) {
+            return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+        }
+
+        // Setup
+        EntryResponse entryResponse = new EntryResponse();
+        model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entryResponse);
+
+        // Perform Action
+        EntryOperationResponse operationResponse = entryActionService.getEntryAuditsById(id, pageNumber, pageSize);
+        if (operationResponse.isSuccessfulOperation()) {
+            entryResponse.setEntry(operationResponse.getEntry());
+            entryResponse.setAuditsIncomplete(operationResponse.getAuditsIncomplete());
+            return new ResponseEntity<>(entryResponse, HttpStatus.OK);
+        } else {
+            return EntryResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Gets all {@link Entry}. If a cursor is provided, a page of {@link Entry} is returned after the cursor along with the
+     * cursor of the next page. An empty cursor starts from the first {@link Entry}. If a prefix, or a from and to range, is
+     * provided only the {@link Entry} with a value in the range are returned, with the same paging. The returned
+     * {@link Entry} are sorted by value, the timestamp of the latest audit or the timestamp of the first audit, in
+     * ascending or descending order. Sorting by the last modified time, or a modifiedSince time, pages through every
+     * {@link Entry} by the last modified time instead, so it cannot be combined with a cursor or a range. A page in
+     * descending order of value is read from the last value, so the order holds across pages. No order of the created
+     * time is held, so sorting by it cannot be combined with a page number, page size or cursor.
+     * <p>
+     * The ETag of the response is the change tag of the data store, which changes with every mutation. If the
+     * If-None-Match header holds it, a 304 Not Modified is returned without reading any {@link Entry}.
+     *
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @param cursor     - The opaque {@link String} cursor returned with the previous page.
+     * @param prefix     - The {@link String} prefix of the values to be returned.
+     * @param from       - The inclusive {@link String} lower bound of the values to be returned.
+     * @param to         - The exclusive {@link String} upper bound of the values to be returned.
+     * @param sort       - The {@link String} sort field, one of value, lastModified or created. Defaults to value.
+     * @param direction  - The {@link String} sort direction, one of asc or desc. Defaults to asc.
+     * @param modifiedSince - The inclusive ISO-8601 UTC {@link String} date time from which modified {@link Entry} are returned.
+     * @param ifNoneMatch - The If-None-Match {@link String} header, or null if it wasn't sent.
+     * @param model      - The {@link Model} for processing.
      * @return A {@link ResponseEntity} containing an {@link EntriesResponse}. If successful an {@link Entry} returned, otherwise an {@link Error}.
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/entries")
     public ResponseEntity<EntriesResponse> getEntriesPaging(@RequestParam(required = false) Integer pageNumber,
-                                                            @RequestParam(required = false) Integer pageSize, Model model) {
+                                                            @RequestParam(required = false) Integer pageSize,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) String prefix,
+                                                            @RequestParam(required = false) String from,
+                                                            @RequestParam(required = false) String to,
+                                                            @RequestParam(required = false) String sort,
+                                                            @RequestParam(required = false) String direction,
+                                                            @RequestParam(required = false) String modifiedSince,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                            Model model) {
         // Setup
         EntriesResponse entriesResponse = new EntriesResponse();
         model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entriesResponse);
-        if (pageNumber == null && pageSize == null) {
-            entriesResponse = entryActionService.getAllEntries();
+
+        if (!EntrySortUtils.isSortable(sort, direction)) {
+            return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+        }
+
+        // The change tag is read before the Entry, so a response is never tagged with a newer state than it holds.
+        String changeTag = entryActionService.getChangeTag();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(toEntityTag(changeTag));
+        if (isNotModified(ifNoneMatch, headers.getETag())) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        // A prefix is the range of the values starting with the prefix.
+        boolean isRangeQuery = prefix != null || from != null || to != null;
+        if (modifiedSince != null || EntrySortUtils.SORT_LAST_MODIFIED.equals(sort)) {
+            if (isRangeQuery || cursor != null || (sort != null && !EntrySortUtils.SORT_LAST_MODIFIED.equals(sort))) {
+                return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+            }
+            return getEntriesModified(modifiedSince, EntrySortUtils.DIRECTION_DESC.equals(direction), pageNumber, pageSize, headers);
+        }
+        boolean isPaged = pageNumber != null || pageSize != null || cursor != null;
+        if ((prefix != null && (from != null || to != null)) || (isPaged && EntrySortUtils.SORT_CREATED.equals(sort))) {
+            return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+        }
+        String rangeFrom = prefix != null ? prefix : from;
+        String rangeTo = prefix != null ? EntryRangeUtils.prefixUpperBound(prefix) : to;
+        // A descending page is read from the last value of the range, which without bounds is every Entry.
+        boolean descending = EntrySortUtils.DIRECTION_DESC.equals(direction);
+        boolean readsRange = isRangeQuery || descending;
+
+        if (cursor != null) {
+            // Default pageSize.
+            if (pageSize == null) {
+                pageSize = demoApplicationConfig.getDefaultPageSize();
+            }
+
+            if (pageNumber != null || pageSize < 1) {
+                return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+            }
+
+            try {
+                entriesResponse = readsRange
+                        ? entryActionService.getEntriesInRangeFromCursor(rangeFrom, rangeTo, descending, cursor, pageSize)
+                        : entryActionService.getAllEntriesFromCursor(cursor, pageSize);
+            } catch (IllegalArgumentException exception) {
+                // Cursor not submitted in a valid format.
+                return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+            }
+        } else if (pageNumber == null && pageSize == null) {
+            entriesResponse = isRangeQuery
+                    ? entryActionService.getEntriesInRange(rangeFrom, rangeTo, false, 0, Integer.MAX_VALUE)
+                    : entryActionService.getAllEntries(changeTag);
         } else {
             // Default Page Number
             if (pageNumber == null) {
@@ -213,15 +621,138 @@ public class EntriesController {
                 pageSize = demoApplicationConfig.getDefaultPageSize();
             }
 
-            entriesResponse = entryActionService.getAllEntries(pageNumber, pageSize);
+            if (pageNumber < 0 || pageSize < 1) {
+                return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+            }
+
+            entriesResponse = readsRange
+                    ? entryActionService.getEntriesInRange(rangeFrom, rangeTo, descending, pageNumber, pageSize)
+                    : entryActionService.getAllEntries(changeTag, pageNumber, pageSize);
         }
 
         if (!entriesResponse.getEntries().isEmpty()) {
-            // Sort with Comparator.
-            entriesResponse.getEntries().sort(new EntryComparator());
+            // Sort with precomputed sort keys, with the created times of the Entry which don't hold their audits.
+            Map<String, LocalDateTime> created = EntrySortUtils.SORT_CREATED.equals(sort)
+                    ? entryActionService.getCreated(entriesResponse.getEntries())
+                    : Collections.emptyMap();
+            EntrySortUtils.sort(entriesResponse.getEntries(), sort, direction, demoApplicationConfig.getSortParallelThreshold(), created);
+            return new ResponseEntity<>(entriesResponse, headers, HttpStatus.OK);
+        } else {
+            return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Gets a page of {@link Entry} by the last modified time, read in order from the data store rather than sorted after
+     * the page is read. Without a page number or page size every {@link Entry} modified since the time is returned.
+     *
+     * @param modifiedSince - The inclusive ISO-8601 UTC {@link String} date time from which modified {@link Entry} are returned, or null.
+     * @param descending    - If true, the most recently modified {@link Entry} are returned first.
+     * @param pageNumber    - The {@link Integer} page number for the response.
+     * @param pageSize      - The {@link Integer} page size for the response.
+     * @param headers       - The {@link HttpHeaders} of a successful response.
+     * @return A {@link ResponseEntity} containing an {@link EntriesResponse}. If successful an {@link Entry} returned, otherwise an {@link Error}.
+     */
+    private ResponseEntity<EntriesResponse> getEntriesModified(String modifiedSince, boolean descending, Integer pageNumber, Integer pageSize,
+                                                               HttpHeaders headers) {
+        LocalDateTime since = null;
+        if (modifiedSince != null) {
+            try {
+                since = LocalDateTime.parse(modifiedSince);
+            } catch (DateTimeParseException exception) {
+                return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        EntriesResponse entriesResponse;
+        if (pageNumber == null && pageSize == null) {
+            entriesResponse = entryActionService.getEntriesModified(since, descending, 0, Integer.MAX_VALUE);
+        } else {
+            // Default Page Number and pageSize.
+            pageNumber = Optional.ofNullable(pageNumber).orElseGet(demoApplicationConfig::getDefaultPageNumber);
+            pageSize = Optional.ofNullable(pageSize).orElseGet(demoApplicationConfig::getDefaultPageSize);
+            if (pageNumber < 0 || pageSize < 1) {
+                return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+            }
+            entriesResponse = entryActionService.getEntriesModified(since, descending, pageNumber, pageSize);
+        }
+
+        if (!entriesResponse.getEntries().isEmpty()) {
+            return new ResponseEntity<>(entriesResponse, headers, HttpStatus.OK);
+        } else {
+            return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Searches for the {@link Entry} whose value contains a query, ignoring case. A page of matching {@link Entry} is
+     * returned, ordered by value, along with the cursor of the next page if one exists.
+     *
+     * @param q        - The {@link String} query, with at least three characters.
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} maximum number of {@link Entry} in the response.
+     * @param model    - The {@link Model} for processing.
+     * @return A {@link ResponseEntity} containing an {@link EntriesResponse}. If successful an {@link Entry} returned, otherwise an {@link Error}.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/entries/search")
+    public ResponseEntity<EntriesResponse> searchEntries(@RequestParam(required = false) String q,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer pageSize, Model model) {
+        // Default pageSize.
+        if (pageSize == null) {
+            pageSize = demoApplicationConfig.getDefaultPageSize();
+        }
+
+        if (!EntrySearchUtils.isSearchable(q) || pageSize < 1) {
+            return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+        }
+
+        EntriesResponse entriesResponse;
+        try {
+            entriesResponse = entryActionService.searchEntries(q, cursor, pageSize);
+        } catch (IllegalArgumentException exception) {
+            // Cursor not submitted in a valid format.
+            return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_VALID_FORMAT, ErrorCodes.NOT_VALID_FORMAT_DESCRIPTION, HttpStatus.BAD_REQUEST);
+        }
+        model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entriesResponse);
+        if (!entriesResponse.getEntries().isEmpty()) {
+            // Sort with precomputed sort keys.
+            EntrySortUtils.sort(entriesResponse.getEntries(), demoApplicationConfig.getSortParallelThreshold());
             return new ResponseEntity<>(entriesResponse, HttpStatus.OK);
         } else {
             return EntriesResponse.generateEntryResponseError(ErrorCodes.NOT_FOUND, ErrorCodes.NOT_FOUND_DESCRIPTION, HttpStatus.NOT_FOUND);
         }
     }
+
+    /**
+     * Gets the counters of the data store: the number of {@link Entry} and the number of adds, updates and deletes. The
+     * counters are kept up to date by each mutation, so no {@link Entry} is counted.
+     *
+     * @param model - The {@link Model} for processing.
+     * @return A {@link ResponseEntity} containing an {@link EntryStatsResponse}.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/entries/stats")
+    public ResponseEntity<EntryStatsResponse> getStats(Model model) {
+        EntryStatsResponse entryStatsResponse = entryActionService.getStats();
+        model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entryStatsResponse);
+        return new ResponseEntity<>(entryStatsResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Rebuilds the search index from the stored {@link Entry}, for data written before the index existed or to remove
+     * stale postings. The total entries of the response is the number of {@link Entry} indexed.
+     *
+     * @param model - The {@link Model} for processing.
+     * @return A {@link ResponseEntity} containing an {@link EntriesResponse} with the number of {@link Entry} indexed.
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/entries/search/index")
+    public ResponseEntity<EntriesResponse> rebuildSearchIndex(Model model) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        model.addAttribute(ENTRY_RESPONSE_ATTRIBUTE, entriesResponse);
+        entriesResponse.setTotalEntries(entryActionService.rebuildSearchIndex());
+        return new ResponseEntity<>(entriesResponse, HttpStatus.OK);
+    }
 }
@@ -0,0 +1,125 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An {@link EntryCodec} storing each {@link Entry} as a single versioned binary string, with a varint length id and
+ * any {@link Audit} in the compact encoding of {@link EntryBinaryUtils}. The value is not stored, as it is part of the
+ * key. The layout is described in scripts/entry-layout-binary.lua.
+ */
+@Component
+public class BinaryEntryCodec implements EntryCodec {
+
+    public static final String NAME = "binary";
+    public static final int VERSION = 1;
+    private static final String LAYOUT_SCRIPT = "scripts/entry-layout-binary.lua";
+
+    private static final RedisScript<Long> ADD_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-add.lua", Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UPDATE_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-update.lua", List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DELETE_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-delete.lua", List.class);
+    private static final RedisScript<Long> MIGRATE_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-migrate.lua", Long.class);
+    private static final RedisScript<Long> INDEX_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-index.lua", Long.class);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getRedisType() {
+        return "string";
+    }
+
+    @Override
+    public RedisScript<Long> getAddScript() {
+        return ADD_SCRIPT;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> getUpdateScript() {
+        return UPDATE_SCRIPT;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> getDeleteScript() {
+        return DELETE_SCRIPT;
+    }
+
+    @Override
+    public RedisScript<Long> getMigrateScript() {
+        return MIGRATE_SCRIPT;
+    }
+
+    @Override
+    public RedisScript<Long> getIndexScript() {
+        return INDEX_SCRIPT;
+    }
+
+    /**
+     * Encodes the {@link Entry} as a single binary record.
+     *
+     * @param entry - The {@link Entry} to be encoded.
+     * @return A {@link List} of the record.
+     */
+    @Override
+    public List<byte[]> encode(Entry entry) {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        record.write(VERSION);
+        EntryBinaryUtils.writeCompactString(record, entry.getId());
+        for (Audit audit : entry.getAudits().getAuditList()) {
+            EntryBinaryUtils.writeCompactAudit(record, audit);
+        }
+        return Collections.singletonList(record.toByteArray());
+    }
+
+    @Override
+    public Object read(RedisConnection connection, byte[] key) {
+        return connection.stringCommands().get(key);
+    }
+
+    /**
+     * Decodes an {@link Entry} from a record read with GET, or from the single element {@link List} returned by the
+     * scripts.
+     *
+     * @param value  - The {@link String} value of the {@link Entry}.
+     * @param record - The raw {@link Object} record.
+     * @return An {@link Optional} of the {@link Entry}, empty if the record is empty or not in this layout.
+     */
+    @Override
+    public Optional<Entry> decode(String value, Object record) {
+        if (record instanceof List && ((List<?>) record).size() == 1) {
+            record = ((List<?>) record).get(0);
+        }
+        if (!(record instanceof byte[]) || ((byte[]) record).length == 0 || ((byte[]) record)[0] != VERSION) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap((byte[]) record);
+        buffer.get();
+        Entry entry = new Entry(value, EntryBinaryUtils.readCompactString(buffer));
+        while (buffer.hasRemaining()) {
+            entry.getAudits().getAuditList().add(EntryBinaryUtils.readCompactAudit(buffer));
+        }
+        return Optional.of(entry);
+    }
+
+    @Override
+    public long getRecordLength(Object record) {
+        return record instanceof byte[] ? ((byte[]) record).length : 0;
+    }
+}
@@ -1,11 +1,16 @@
 package com.paulk.demo.dao;
 
+import com.paulk.demo.model.Audit;
 import com.paulk.demo.model.EntriesResponse;
 import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
 import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.EntryStatsResponse;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -25,6 +30,15 @@ public interface DataStoreOperations<K, V> {
      */
     public EntryOperationResponse add(Entry entry);
 
+    /**
+     * Add an {@link V} to the data store which expires after a time to live. An {@link V} which expires must have an id.
+     *
+     * @param entry      - The {@link V} to be added.
+     * @param ttlSeconds - The {@link Long} number of seconds after which the {@link V} expires, or null if it never expires.
+     * @return If true, {@link V} added successfully, else {@link V} already exists.
+     */
+    public EntryOperationResponse add(Entry entry, Long ttlSeconds);
+
     /**
      * Remove an {@link V} to the data store.
      *
@@ -33,6 +47,17 @@ public interface DataStoreOperations<K, V> {
      */
     public EntryOperationResponse delete(V entry);
 
+    /**
+     * Remove an {@link V} from the data store if its version matches the expected version. The version is checked
+     * atomically with the delete.
+     *
+     * @param entry           - The {@link V} to be deleted.
+     * @param expectedVersion - The {@link Long} version the stored {@link V} must have, or null to skip the check.
+     * @return If true, {@link V} removed successfully, else {@link V} doesn't exists, or the version didn't match and
+     * {@link EntryOperationResponse#isPreconditionFailed()} is true.
+     */
+    public EntryOperationResponse delete(V entry, Long expectedVersion);
+
     /**
      * Update an existing {@link V} in the data store.
      *
@@ -42,6 +67,18 @@ public interface DataStoreOperations<K, V> {
      */
     public EntryOperationResponse update(K key, V entry);
 
+    /**
+     * Update an existing {@link V} in the data store if its version matches the expected version. The version is checked
+     * atomically with the update.
+     *
+     * @param key             - The {@link V} to be updated based the {@link K}.
+     * @param entry           - The {@link V} to be updated.
+     * @param expectedVersion - The {@link Long} version the stored {@link V} must have, or null to skip the check.
+     * @return If true, {@link V} updated successfully, else {@link V} doesn't exists, or the version didn't match and
+     * {@link EntryOperationResponse#isPreconditionFailed()} is true.
+     */
+    public EntryOperationResponse update(K key, V entry, Long expectedVersion);
+
     /**
      * Remove an {@link V} to the data store.
      *
@@ -50,6 +87,45 @@ public interface DataStoreOperations<K, V> {
      */
     public EntryOperationResponse get(V entry);
 
+    /**
+     * Get an {@link V} from the data store by its id.
+     *
+     * @param id - The {@link String} id of the {@link V} to be retrieved.
+     * @return An {@link EntryOperationResponse} containing the {@link V} if it exists.
+     */
+    public EntryOperationResponse getById(String id);
+
+    /**
+     * Get the version of an {@link V} in the data store by its id, without returning the {@link V}, so a conditional read
+     * of an unchanged {@link V} is answered from its version alone.
+     *
+     * @param id  - The {@link String} id of the {@link V}.
+     * @param key - The {@link K} the {@link V} must have, or null for any {@link K}.
+     * @return An {@link Optional} of the {@link Long} version, empty if no {@link V} exists for the id and {@link K}, or
+     * its version isn't known without reading the {@link V}.
+     */
+    public Optional<Long> getVersionById(String id, K key);
+
+    /**
+     * Get a page of the {@link com.paulk.demo.model.Audit} history of an {@link V} in the data store, oldest first.
+     *
+     * @param key        - The {@link K} of the {@link V}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntryOperationResponse} containing the {@link V} with the page of its audits, if it exists.
+     */
+    public EntryOperationResponse getAudits(K key, Integer pageNumber, Integer pageSize);
+
+    /**
+     * Get a page of the {@link com.paulk.demo.model.Audit} history of an {@link V} id in the data store, oldest first.
+     *
+     * @param id         - The {@link String} id of the {@link V}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntryOperationResponse} containing the {@link V} with the page of its audits, if it exists.
+     */
+    public EntryOperationResponse getAuditsById(String id, Integer pageNumber, Integer pageSize);
+
     /**
      * Get a {@link Set} of all {@link V} in the data store.
      *
@@ -65,4 +141,116 @@ public interface DataStoreOperations<K, V> {
      * @return A {@link List} of all {@link V} in the data store.
      */
     public EntriesResponse getAll(Integer pageNumber, Integer pageSize);
+
+    /**
+     * Get a page of {@link V} in the data store, ordered by {@link K}, starting after an opaque cursor.
+     *
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} page size for the response.
+     * @return A page of {@link V} in the data store, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    public EntriesResponse getAllFromCursor(String cursor, Integer pageSize);
+
+    /**
+     * Get a page of {@link V} in the data store whose {@link K} is in a lexicographic range, ordered by {@link K}.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link V} are returned from the last {@link K} of the range.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A page of {@link V} in the range.
+     */
+    public EntriesResponse getRange(String from, String to, boolean descending, Integer pageNumber, Integer pageSize);
+
+    /**
+     * Get a page of {@link V} in the data store whose {@link K} is in a lexicographic range, ordered by {@link K},
+     * starting after an opaque cursor.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link V} are returned from the last {@link K} of the range, and a page starts
+     *                   before the cursor.
+     * @param cursor     - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A page of {@link V} in the range, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    public EntriesResponse getRangeFromCursor(String from, String to, boolean descending, String cursor, Integer pageSize);
+
+    /**
+     * Get a page of {@link V} in the data store ordered by the time they were last modified, the timestamp of their
+     * latest audit, across every {@link V}. {@link V} modified at the same time are ordered by {@link K} in the same
+     * direction, so the descending order is the exact reverse of the ascending order.
+     *
+     * @param modifiedSince - The inclusive UTC {@link LocalDateTime} lower bound of the last modified time, or null for no lower bound.
+     * @param descending    - If true, the most recently modified {@link V} are returned first.
+     * @param pageNumber    - The {@link Integer} page number for the response.
+     * @param pageSize      - The {@link Integer} page size for the response.
+     * @return A page of {@link V} modified since the time.
+     */
+    public EntriesResponse getModified(LocalDateTime modifiedSince, boolean descending, Integer pageNumber, Integer pageSize);
+
+    /**
+     * Get the time each listed {@link V} was created, for the {@link V} which don't hold the {@link Audit} it is read
+     * from, so a listing can be sorted by the created time.
+     *
+     * @param entries - The {@link Collection} of listed {@link V}.
+     * @return A {@link Map} of the {@link K} of each {@link V} to its UTC created time, empty if every {@link V} holds its {@link Audit} objects.
+     */
+    public Map<K, LocalDateTime> getCreated(Collection<V> entries);
+
+    /**
+     * Get the counters of the data store, the number of {@link V} and of each kind of mutation, without counting the {@link V}.
+     *
+     * @return The {@link EntryStatsResponse}.
+     */
+    public EntryStatsResponse getStats();
+
+    /**
+     * Get an opaque tag of the state of the data store, which changes with every mutation, so a listing of unchanged
+     * {@link V} is recognised without reading them. The tag is read before the {@link V} it describes.
+     *
+     * @return The {@link String} change tag.
+     */
+    public String getChangeTag();
+
+    /**
+     * Remove the {@link V} whose time to live has passed, with their indexes and counters, up to a maximum number. The
+     * expired {@link V} are found from an index of the expiry times, so the cost depends on the number expired rather
+     * than the number of {@link V}.
+     *
+     * @param now        - The current time in epoch milliseconds.
+     * @param maxEntries - The maximum number of {@link V} to be removed.
+     * @return A {@link List} of the {@link V} removed, each with its Expire Audit.
+     */
+    public List<V> expire(long now, int maxEntries);
+
+    /**
+     * Search for the {@link V} in the data store whose {@link K} contains a query, ignoring case, ordered by {@link K},
+     * starting after an opaque cursor.
+     *
+     * @param query    - The {@link String} query, with at least three characters.
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} maximum number of {@link V} in the response.
+     * @return A page of {@link V} containing the query, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the query is too short to be searched or the cursor is not valid.
+     */
+    public EntriesResponse search(String query, String cursor, Integer pageSize);
+
+    /**
+     * Rebuild the search index of the data store from the stored {@link V}.
+     *
+     * @return The number of {@link V} added to the search index.
+     */
+    public long rebuildSearchIndex();
+
+    /**
+     * Apply a mixed batch of add, update and delete actions to the data store.
+     *
+     * @param actionInputs - The {@link List} of {@link EntryActionInput} to be applied.
+     * @return A {@link List} of {@link EntryOperationResponse} in the order of the actions.
+     */
+    public List<EntryOperationResponse> batch(List<EntryActionInput> actionInputs);
 }
@@ -0,0 +1,355 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link Component} which moves old {@link Audit} objects from the audit logs in Redis to a {@link MappedAuditArchive},
+ * and reads the history of an {@link Entry} id across both. Selected with the properties api.datastore.type=redis and
+ * api.datastore.audit.archive.enabled=true.
+ * <p>
+ * Every api.datastore.audit.archive.interval.ms the audit logs are scanned, and the {@link Audit} objects at the head
+ * of each audit log which are older than api.datastore.audit.archive.age.seconds, or beyond the newest
+ * api.datastore.audit.log.max.length, are appended to the archive before they are removed from Redis. A crash between
+ * the two leaves the {@link Audit} objects in both, so {@link Audit} objects with an audit id already archived are not
+ * archived again. Removing them from Redis adds them to the archived count of the id in the same atomic step, and a
+ * read splits the history at the archived count read atomically with the audit log, so a read never sees an
+ * {@link Audit} twice or misses one in flight.
+ * <p>
+ * A single node writes the archive. The node claims the archive in Redis on startup, and renews the claim every archive
+ * run. The claim is held by the host name and the archive path, so a restarted node takes its own archive back straight
+ * away, while another node may only take over once the claim has expired. With api.datastore.audit.archive.shared=true
+ * the archive path is on storage shared by every node: the nodes without the claim open the archive read-only and read
+ * the full history from it, and take over writing it once the claim has expired. Otherwise the archive is local to the
+ * node holding it, and another node enabling it fails to start. A node which can't read the archived part of a page,
+ * such as a node without the archive, returns the page marked incomplete rather than a shorter history.
+ */
+@Component
+@ConditionalOnExpression("'${api.datastore.type:redis}' == 'redis' and ${api.datastore.audit.archive.enabled:false}")
+public class EntryAuditArchiver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryAuditArchiver.class);
+
+    protected static final String ARCHIVED_METRIC = "entries.audit.archive.archived";
+    protected static final String ARCHIVE_TIMER_METRIC = "entries.audit.archive";
+    protected static final String ARCHIVE_FAILURES_METRIC = "entries.audit.archive.failures";
+
+    // The claim on the archive outlives several missed archive runs before another node may take it over.
+    private static final int CLAIM_INTERVALS = 10;
+    private static final long MIN_CLAIM_MILLIS = 60_000;
+
+    @Autowired
+    protected EntryRedisOperations entryRedisOperations;
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile MappedAuditArchive archive;
+    private ScheduledExecutorService archiver;
+    private String owner;
+
+    /**
+     * Claims the archive for this node, opens the {@link MappedAuditArchive} and schedules the archiver. A shared archive
+     * held by another node is opened read-only.
+     *
+     * @throws IOException           Thrown if the archive cannot be opened.
+     * @throws IllegalStateException Thrown if another node holds an archive which isn't shared.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        owner = InetAddress.getLocalHost().getHostName() + ":" + Paths.get(demoApplicationConfig.getAuditArchivePath()).toAbsolutePath();
+        boolean claimed = entryRedisOperations.claimAuditArchive(owner, getClaimMillis());
+        if (!claimed && !isShared()) {
+            throw new IllegalStateException("The audit archive is held by another node, so can't be enabled on " + owner + ".");
+        }
+        archive = open(!claimed);
+        if (claimed) {
+            countArchived();
+        }
+        archiver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entry-audit-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = demoApplicationConfig.getAuditArchiveIntervalMillis();
+        archiver.scheduleWithFixedDelay(this::archive, interval, interval, TimeUnit.MILLISECONDS);
+        LOGGER.info("Opened the audit archive at {}{}.", demoApplicationConfig.getAuditArchivePath(), claimed ? "" : " read-only");
+    }
+
+    /**
+     * Stops the archiver and closes the {@link MappedAuditArchive}.
+     *
+     * @throws InterruptedException Thrown if interrupted while waiting for a running archive.
+     * @throws IOException          Thrown if the archive cannot be closed.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        archiver.shutdown();
+        archiver.awaitTermination(30, TimeUnit.SECONDS);
+        lock.writeLock().lock();
+        boolean claimed;
+        try {
+            claimed = !archive.isReadOnly();
+            archive.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!claimed) {
+            return;
+        }
+        try {
+            entryRedisOperations.releaseAuditArchive(owner);
+        } catch (DataAccessException exception) {
+            LOGGER.error("Error releasing the audit archive during the Archive Operation.", exception);
+        }
+    }
+
+    /**
+     * Moves the {@link Audit} objects due to be archived from every audit log to the {@link MappedAuditArchive}, renewing
+     * the claim of this node on the archive first. Nothing is moved if another node has taken the archive over, or until
+     * {@link EntryRedisOperations#migrateLayout()} has moved the {@link Audit} objects held in records to the audit logs,
+     * as those are inserted at the head of the audit logs. A shared archive is reopened read-only once another node has
+     * taken it over, and reopened for writing once this node takes it over.
+     *
+     * @return The number of {@link Audit} objects moved.
+     */
+    public long archive() {
+        long start = System.nanoTime();
+        AtomicLong archived = new AtomicLong();
+        try {
+            if (!entryRedisOperations.claimAuditArchive(owner, getClaimMillis())) {
+                if (archive.isReadOnly()) {
+                    return 0;
+                }
+                LOGGER.error("Error claiming the audit archive during the Archive Operation, as another node holds it.");
+                meterRegistry.counter(ARCHIVE_FAILURES_METRIC).increment();
+                if (isShared()) {
+                    reopen(true);
+                }
+                return 0;
+            }
+            if (archive.isReadOnly()) {
+                reopen(false);
+                countArchived();
+            }
+            if (!entryRedisOperations.isLayoutCurrent()) {
+                return 0;
+            }
+            LocalDateTime cutoff = LocalDateTime.now(ZoneId.of(ZoneOffset.UTC.toString()))
+                    .minusSeconds(demoApplicationConfig.getAuditArchiveAgeSeconds());
+            entryRedisOperations.scanAuditLogIds(ids -> ids.forEach(id -> archived.addAndGet(archive(id, cutoff))));
+        } catch (DataAccessException | UncheckedIOException exception) {
+            LOGGER.error("Error moving Audits during the Archive Operation.", exception);
+            meterRegistry.counter(ARCHIVE_FAILURES_METRIC).increment();
+        }
+        meterRegistry.counter(ARCHIVED_METRIC).increment(archived.get());
+        meterRegistry.timer(ARCHIVE_TIMER_METRIC).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return archived.get();
+    }
+
+    /**
+     * Moves the {@link Audit} objects due to be archived from the head of the audit log of an {@link Entry} id, in
+     * batches of api.datastore.bulk.write.batch.size.
+     *
+     * @param id     - The {@link String} id of the {@link Entry}.
+     * @param cutoff - The {@link LocalDateTime} before which an {@link Audit} is archived.
+     * @return The number of {@link Audit} objects moved.
+     */
+    protected long archive(String id, LocalDateTime cutoff) {
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkWriteBatchSize());
+        long maxLength = Optional.ofNullable(demoApplicationConfig.getAuditLogMaxLength()).orElse(0);
+        long moved = 0;
+        while (true) {
+            lock.writeLock().lock();
+            try {
+                long length = entryRedisOperations.getAuditLogLength(id);
+                List<Audit> head = entryRedisOperations.getAudits(id, 0, batchSize);
+                int count = 0;
+                while (count < head.size() && ((maxLength > 0 && length - count > maxLength) || isBefore(head.get(count), cutoff))) {
+                    count++;
+                }
+                if (count == 0) {
+                    return moved;
+                }
+
+                int lastAuditId = archive.getLastAuditId(id);
+                List<Audit> unarchived = new ArrayList<>(count);
+                for (Audit audit : head.subList(0, count)) {
+                    if (Optional.ofNullable(audit.getAuditId()).orElse(0) > lastAuditId) {
+                        unarchived.add(audit);
+                    }
+                }
+                archive.append(id, unarchived);
+                if (!entryRedisOperations.trimAuditLog(id, count, head.get(count - 1))) {
+                    return moved;
+                }
+                moved += count;
+                if (count < batchSize) {
+                    return moved;
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Error writing the audit archive for the Entry id " + id + ".", exception);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Gets a page of the history of an {@link Entry} id, oldest first, with the archived {@link Audit} objects followed
+     * by the {@link Audit} objects of the audit log. The page is split at the archived count of the id, read atomically
+     * with the audit log, and the archived part is read from the archive. The page is incomplete if the archive can't be
+     * read, or a read-only archive doesn't yet hold the blocks written by another node.
+     *
+     * @param id     - The {@link String} id of the {@link Entry}.
+     * @param offset - The number of {@link Audit} objects to be skipped.
+     * @param count  - The maximum number of {@link Audit} objects to be returned.
+     * @return An {@link EntryAuditPage} of the {@link Audit} objects.
+     */
+    public EntryAuditPage getAudits(String id, long offset, int count) {
+        EntryAuditPage loggedPage = entryRedisOperations.getAuditPage(id, offset, count);
+        if (loggedPage.isComplete()) {
+            return loggedPage;
+        }
+
+        List<Audit> audits = getArchivedAudits(id, offset, loggedPage.getMissingCount());
+        int missing = loggedPage.getMissingCount() - audits.size();
+        audits.addAll(loggedPage.getAudits());
+        return new EntryAuditPage(audits, loggedPage.getArchivedCount(), missing);
+    }
+
+    /**
+     * Reads archived {@link Audit} objects of an {@link Entry} id. If the archive holds fewer than requested its index is
+     * refreshed first, as another node may have archived them since the index was read.
+     *
+     * @param id     - The {@link String} id of the {@link Entry}.
+     * @param offset - The number of archived {@link Audit} objects to be skipped.
+     * @param count  - The number of archived {@link Audit} objects to be read.
+     * @return A {@link List} of the {@link Audit} objects, empty if the archive can't be read.
+     */
+    private List<Audit> getArchivedAudits(String id, long offset, int count) {
+        try {
+            lock.readLock().lock();
+            try {
+                if (archive.count(id) >= offset + count) {
+                    return archive.read(id, offset, count);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            lock.writeLock().lock();
+            try {
+                archive.refresh();
+                return archive.read(id, offset, count);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error reading the audit archive for the Entry id {} during the Get Audits Operation.", id, exception);
+            meterRegistry.counter(ARCHIVE_FAILURES_METRIC).increment();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Counts the archived {@link Audit} objects of every {@link Entry} id in the archive which has no archived count, as
+     * it was archived before the archived counts were kept. The {@link Audit} objects left in the audit log after being
+     * archived, by a crash before they were removed, are not counted, as they are still read from the audit log.
+     */
+    protected void countArchived() {
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkWriteBatchSize());
+        lock.readLock().lock();
+        try {
+            List<String> ids = new ArrayList<>(archive.getIds());
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<String> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+                Map<String, Long> counts = entryRedisOperations.getArchivedAuditCounts(batch);
+                for (String id : batch) {
+                    if (!counts.containsKey(id)) {
+                        int lastAuditId = archive.getLastAuditId(id);
+                        long logged = entryRedisOperations.getAudits(id, 0, batchSize).stream()
+                                .filter(audit -> Optional.ofNullable(audit.getAuditId()).orElse(0) <= lastAuditId)
+                                .count();
+                        entryRedisOperations.setArchivedAuditCountIfAbsent(id, archive.count(id) - logged);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Closes the {@link MappedAuditArchive} and opens it again, read-only or for writing.
+     *
+     * @param readOnly - If true, the archive is opened read-only.
+     * @throws UncheckedIOException Thrown if the archive cannot be closed or opened.
+     */
+    private void reopen(boolean readOnly) {
+        lock.writeLock().lock();
+        try {
+            archive.close();
+            archive = open(readOnly);
+            LOGGER.info("Reopened the audit archive at {}{}.", demoApplicationConfig.getAuditArchivePath(), readOnly ? " read-only" : "");
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Error reopening the audit archive.", exception);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private MappedAuditArchive open(boolean readOnly) throws IOException {
+        return new MappedAuditArchive(Paths.get(demoApplicationConfig.getAuditArchivePath()),
+                (long) demoApplicationConfig.getAuditArchiveSegmentSizeMb() << 20, readOnly);
+    }
+
+    private boolean isShared() {
+        return Boolean.TRUE.equals(demoApplicationConfig.getAuditArchiveShared());
+    }
+
+    /**
+     * Gets the time the claim on the archive is held for, several archive runs so a slow run doesn't lose it.
+     *
+     * @return The time in milliseconds.
+     */
+    private long getClaimMillis() {
+        return Math.max(MIN_CLAIM_MILLIS, CLAIM_INTERVALS * demoApplicationConfig.getAuditArchiveIntervalMillis());
+    }
+
+    private static boolean isBefore(Audit audit, LocalDateTime cutoff) {
+        return audit.getTimestamp() != null && audit.getTimestamp().isBefore(cutoff);
+    }
+}
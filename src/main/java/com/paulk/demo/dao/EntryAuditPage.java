@@ -0,0 +1,68 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Entry;
+
+import java.util.List;
+
+/**
+ * A page of the {@link Audit} history of an {@link Entry} id, oldest first, along with the number of {@link Audit}
+ * objects of the id moved to the audit archive. The archived {@link Audit} objects precede the audit log, so a page
+ * starting within them holds archived {@link Audit} objects, which are missing from the page unless they were read from
+ * the archive.
+ */
+public class EntryAuditPage {
+
+    private final List<Audit> audits;
+    private final long archivedCount;
+    private final int missingCount;
+
+    /**
+     * Constructor for {@link EntryAuditPage}.
+     *
+     * @param audits        - The {@link List} of the {@link Audit} objects of the page, oldest first.
+     * @param archivedCount - The number of {@link Audit} objects of the id moved to the audit archive.
+     * @param missingCount  - The number of archived {@link Audit} objects of the page which weren't read.
+     */
+    public EntryAuditPage(List<Audit> audits, long archivedCount, int missingCount) {
+        this.audits = audits;
+        this.archivedCount = archivedCount;
+        this.missingCount = missingCount;
+    }
+
+    /**
+     * Gets the {@link Audit} objects of the page, oldest first.
+     *
+     * @return A {@link List} of the {@link Audit} objects.
+     */
+    public List<Audit> getAudits() {
+        return audits;
+    }
+
+    /**
+     * Gets the number of {@link Audit} objects of the id moved to the audit archive, which precede the audit log.
+     *
+     * @return The number of archived {@link Audit} objects.
+     */
+    public long getArchivedCount() {
+        return archivedCount;
+    }
+
+    /**
+     * Gets the number of archived {@link Audit} objects of the page which weren't read, as the archive couldn't be read.
+     *
+     * @return The number of missing {@link Audit} objects.
+     */
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    /**
+     * Determines if the page holds every {@link Audit} of its range of the history.
+     *
+     * @return If true, no archived {@link Audit} is missing from the page.
+     */
+    public boolean isComplete() {
+        return missingCount == 0;
+    }
+}
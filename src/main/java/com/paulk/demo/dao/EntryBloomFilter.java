@@ -0,0 +1,199 @@
+package com.paulk.demo.dao;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counting Bloom filter over {@link String} values, answering if a value is definitely absent or might be present.
+ * This class is thread safe.
+ * <p>
+ * Each value sets k of m 4-bit counters, packed sixteen to a long and updated with compare-and-set, so a value is removed
+ * by decrementing its counters. The counters are sized for a number of values at a false positive rate; beyond that
+ * number the false positive rate rises, so the filter is rebuilt larger. A counter which reaches 15 is never decremented
+ * again, a decrement of a counter at 0 is ignored, and a value which isn't held is not removed, so the removal of an
+ * added value can only leave a false positive. Removing a value which was never added may still decrement the counters
+ * of other values when every counter of the value is set, so the caller only removes values it added.
+ */
+public class EntryBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final int MAX_COUNTERS = Integer.MAX_VALUE - COUNTERS_PER_WORD;
+
+    private final long capacity;
+    private final double falsePositiveRate;
+    private final int counterCount;
+    private final int hashCount;
+    private final AtomicLongArray counters;
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Constructor for {@link EntryBloomFilter}.
+     *
+     * @param capacity          - The number of values the filter is sized for.
+     * @param falsePositiveRate - The false positive rate at the capacity, between 0 and 1.
+     */
+    public EntryBloomFilter(long capacity, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1.");
+        }
+        this.capacity = Math.max(1, capacity);
+        this.falsePositiveRate = falsePositiveRate;
+        double bits = Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.counterCount = (int) Math.max(COUNTERS_PER_WORD, Math.min(MAX_COUNTERS, bits));
+        this.hashCount = (int) Math.max(1, Math.round((double) counterCount / this.capacity * Math.log(2)));
+        this.counters = new AtomicLongArray((counterCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    /**
+     * Adds a value, incrementing its counters.
+     *
+     * @param value - The {@link String} value.
+     */
+    public void add(String value) {
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32) | 1;
+        for (int index = 0; index < hashCount; index++) {
+            increment(toCounter(hash1, hash2, index));
+        }
+        size.incrementAndGet();
+    }
+
+    /**
+     * Removes a value which was added, decrementing its counters. A value with a counter at 0 was never added, so it is
+     * ignored.
+     *
+     * @param value - The {@link String} value.
+     */
+    public void remove(String value) {
+        if (!mightContain(value)) {
+            return;
+        }
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32) | 1;
+        for (int index = 0; index < hashCount; index++) {
+            decrement(toCounter(hash1, hash2, index));
+        }
+        size.updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    /**
+     * Checks if a value might have been added.
+     *
+     * @param value - The {@link String} value.
+     * @return If false, the value is definitely absent, otherwise it might be present.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32) | 1;
+        for (int index = 0; index < hashCount; index++) {
+            if (getCounter(toCounter(hash1, hash2, index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of values added and not removed.
+     *
+     * @return The number of values.
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the number of values the filter is sized for.
+     *
+     * @return The capacity.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the false positive rate the filter is sized for at its capacity.
+     *
+     * @return The false positive rate.
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Gets the false positive rate expected for the number of values currently held, (1 - e^(-kn/m))^k.
+     *
+     * @return The expected false positive rate.
+     */
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * size() / counterCount), hashCount);
+    }
+
+    /**
+     * Gets the counter of the index-th hash of a value, by double hashing.
+     *
+     * @param hash1 - The first hash of the value.
+     * @param hash2 - The second hash of the value.
+     * @param index - The index of the hash.
+     * @return The counter.
+     */
+    private int toCounter(int hash1, int hash2, int index) {
+        return Math.floorMod(hash1 + index * hash2, counterCount);
+    }
+
+    private int getCounter(int counter) {
+        long word = counters.get(counter / COUNTERS_PER_WORD);
+        return (int) ((word >>> shift(counter)) & COUNTER_MASK);
+    }
+
+    private void increment(int counter) {
+        int wordIndex = counter / COUNTERS_PER_WORD;
+        int shift = shift(counter);
+        long word;
+        do {
+            word = counters.get(wordIndex);
+            if (((word >>> shift) & COUNTER_MASK) == COUNTER_MASK) {
+                return;
+            }
+        } while (!counters.compareAndSet(wordIndex, word, word + (1L << shift)));
+    }
+
+    private void decrement(int counter) {
+        int wordIndex = counter / COUNTERS_PER_WORD;
+        int shift = shift(counter);
+        long word;
+        do {
+            word = counters.get(wordIndex);
+            long value = (word >>> shift) & COUNTER_MASK;
+            if (value == 0 || value == COUNTER_MASK) {
+                return;
+            }
+        } while (!counters.compareAndSet(wordIndex, word, word - (1L << shift)));
+    }
+
+    private static int shift(int counter) {
+        return (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    /**
+     * Hashes a value to 64 bits, FNV-1a over its characters finished with the SplitMix64 mix, so no bytes are encoded.
+     *
+     * @param value - The {@link String} value.
+     * @return The 64 bit hash, split into the two hashes of the value.
+     */
+    protected static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int index = 0; index < value.length(); index++) {
+            hash ^= value.charAt(index);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
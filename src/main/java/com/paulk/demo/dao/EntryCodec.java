@@ -0,0 +1,133 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Entry;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An interface of {@link EntryCodec} for the layout of the {@link Entry} records stored in Redis. Selected with the
+ * property api.datastore.codec.
+ * <p>
+ * Each layout has a Lua library of the same record functions, which is prepended to the {@link Entry} scripts, so the
+ * scripts maintaining the indexes are shared by every layout.
+ */
+public interface EntryCodec {
+
+    // The Lua library appending the Audit of each mutation to the audit log, prepended to every Entry script.
+    String AUDIT_LOG_SCRIPT = "scripts/entry-audit-log.lua";
+
+    /**
+     * Gets the name of the {@link EntryCodec}, matched against the property api.datastore.codec.
+     *
+     * @return The {@link String} name.
+     */
+    public String getName();
+
+    /**
+     * Gets the Redis type of the records, as returned by the TYPE command.
+     *
+     * @return The {@link String} Redis type.
+     */
+    public String getRedisType();
+
+    /**
+     * Gets the script which inserts an {@link Entry} record if no {@link Entry} exists for its value or id.
+     *
+     * @return The {@link RedisScript}, returning the audit id of the Add {@link Audit} if the {@link Entry} was inserted.
+     */
+    public RedisScript<Long> getAddScript();
+
+    /**
+     * Gets the script which updates the value of an {@link Entry} record and assigns the audit id of an {@link Audit}.
+     *
+     * @return The {@link RedisScript}, returning the audit id followed by the updated record.
+     */
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> getUpdateScript();
+
+    /**
+     * Gets the script which deletes an {@link Entry} record and assigns the audit id of an {@link Audit}.
+     *
+     * @return The {@link RedisScript}, returning the audit id followed by the deleted record.
+     */
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> getDeleteScript();
+
+    /**
+     * Gets the script which converts an {@link Entry} record from another layout to this layout, and moves the
+     * {@link Audit} objects it holds to the audit log.
+     *
+     * @return The {@link RedisScript}, returning 1 if the record was converted.
+     */
+    public RedisScript<Long> getMigrateScript();
+
+    /**
+     * Gets the script which adds a batch of {@link Entry} values to an index being rebuilt, if they still exist.
+     *
+     * @return The {@link RedisScript}, returning the number of values indexed.
+     */
+    public RedisScript<Long> getIndexScript();
+
+    /**
+     * Encodes an {@link Entry} as the arguments written by the record functions of the layout.
+     *
+     * @param entry - The {@link Entry} to be encoded.
+     * @return A {@link List} of byte arrays.
+     */
+    public List<byte[]> encode(Entry entry);
+
+    /**
+     * Reads an {@link Entry} record. If the connection is pipelined, the record is returned when the pipeline is closed.
+     *
+     * @param connection - The {@link RedisConnection} to be read from.
+     * @param key        - The key of the record.
+     * @return The raw record, or null if the connection is pipelined.
+     */
+    public Object read(RedisConnection connection, byte[] key);
+
+    /**
+     * Decodes an {@link Entry} from a raw record, as returned by {@link #read(RedisConnection, byte[])} or by the scripts.
+     *
+     * @param value  - The {@link String} value of the {@link Entry}.
+     * @param record - The raw {@link Object} record.
+     * @return An {@link Optional} of the {@link Entry}, empty if the record is empty or not in this layout.
+     */
+    public Optional<Entry> decode(String value, Object record);
+
+    /**
+     * Gets the length of a raw record, as counted by the migration script.
+     *
+     * @param record - The raw {@link Object} record, as returned by {@link #read(RedisConnection, byte[])}.
+     * @return The number of fields of a hash, or the number of bytes of a string.
+     */
+    public long getRecordLength(Object record);
+
+    /**
+     * Loads an {@link Entry} script with the audit log functions and the record functions of a layout prepended.
+     *
+     * @param layout     - The class path of the Lua library of the layout.
+     * @param operation  - The class path of the Lua script of the operation.
+     * @param resultType - The {@link Class} of the result of the script.
+     * @param <T>        - The result type of the script.
+     * @return The {@link RedisScript}.
+     * @throws UncheckedIOException Thrown if a script cannot be read.
+     */
+    public static <T> RedisScript<T> loadScript(String layout, String operation, Class<T> resultType) {
+        try {
+            return RedisScript.of(StreamUtils.copyToString(new ClassPathResource(AUDIT_LOG_SCRIPT).getInputStream(), StandardCharsets.UTF_8)
+                    + StreamUtils.copyToString(new ClassPathResource(layout).getInputStream(), StandardCharsets.UTF_8)
+                    + StreamUtils.copyToString(new ClassPathResource(operation).getInputStream(), StandardCharsets.UTF_8), resultType);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Error reading the Entry script " + operation + ".", exception);
+        }
+    }
+}
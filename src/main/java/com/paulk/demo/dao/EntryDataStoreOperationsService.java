@@ -5,36 +5,58 @@ import com.paulk.demo.model.Audit;
 import com.paulk.demo.model.Audits;
 import com.paulk.demo.model.EntriesResponse;
 import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
 import com.paulk.demo.model.EntryOperationResponse;
-import com.paulk.demo.repository.EntryPagingRepository;
-import com.paulk.demo.repository.EntryRepository;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryCursorUtils;
+import com.paulk.demo.utils.EntryRangeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
- * A {@link Component} for performing {@link CrudRepository} operations via {@link EntryRepository} using an {@link Entry} object.
+ * A {@link Component} for performing data store operations on {@link Entry} objects stored in Redis via {@link EntryRedisOperations}.
+ * <p>
+ * The {@link Audit} of each mutation is assigned its audit id and appended to the audit log of the {@link Entry} id by
+ * the mutation script, then returned with the {@link Entry}. A read of an {@link Entry} doesn't include its history,
+ * which is read a page at a time with {@link #getAudits(String, Integer, Integer)}.
+ * <p>
+ * When the {@link EntryValueFilter} is enabled, a read of a value which it answers as absent returns without a round
+ * trip, and the values added and removed by each mutation are recorded with it.
  */
 @Component
+@ConditionalOnProperty(name = "api.datastore.type", havingValue = "redis", matchIfMissing = true)
 public class EntryDataStoreOperationsService implements DataStoreOperations<String, Entry> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EntryDataStoreOperationsService.class);
 
     @Autowired
-    protected EntryRepository entryRepository;
+    protected EntryRedisOperations entryRedisOperations;
 
-    @Autowired
-    protected EntryPagingRepository entryPagingRepository;
+    @Autowired(required = false)
+    protected EntryAuditArchiver entryAuditArchiver;
+
+    @Autowired(required = false)
+    protected EntryValueFilter entryValueFilter;
 
     /**
      * Add an {@link Entry} to the data store.
@@ -44,22 +66,37 @@ public class EntryDataStoreOperationsService implements DataStoreOperations<Stri
      */
     @Override
     public EntryOperationResponse add(Entry entry) {
+        return add(entry, null);
+    }
+
+    /**
+     * Add an {@link Entry} to the data store which expires after a time to live. The expiry time is added to the expiry
+     * index in the same round trip as the {@link Entry}, and {@link #expire(long, int)} removes the {@link Entry} once it
+     * has passed.
+     *
+     * @param entry      - The {@link Entry} to be added.
+     * @param ttlSeconds - The {@link Long} number of seconds after which the {@link Entry} expires, or null if it never expires.
+     * @return If true, {@link Entry} added successfully, else {@link Entry} already exists.
+     */
+    @Override
+    public EntryOperationResponse add(Entry entry, Long ttlSeconds) {
         EntryOperationResponse entryActionResponse = new EntryOperationResponse();
-        EntryOperationResponse getOperationResponse = get(entry);
-        if (!getOperationResponse.isSuccessfulOperation()) {
-            try {
-                Audits audits = Optional.ofNullable(entry.getAudits())
-                        .orElseGet(Audits::new);
-                Audit audit = audits.createAudit(audits, AuditActionCodes.ADD.getCode());
-                audits.getAuditList().add(audit);
-                entry.setAudits(audits);
+        Audit audit = appendAudit(entry, AuditActionCodes.ADD);
 
-                entryRepository.save(entry);
+        try {
+            // Existence check, hash, index and audit id are written in a single atomic round trip.
+            if (entryRedisOperations.insertIfAbsent(entry, audit, toExpireAt(ttlSeconds))) {
+                entry.setVersion(audit.getAuditId().longValue());
+                recordChanges(Collections.singletonList(entry.getValue()), Collections.emptyList());
                 entryActionResponse.setSuccessfulOperation(true);
-            } catch (IllegalArgumentException exception) {
-                LOGGER.error("Error saving Entry during the Add Operation.");
+                return entryActionResponse;
             }
+        } catch (IllegalArgumentException exception) {
+            LOGGER.error("Error saving Entry during the Add Operation.");
         }
+
+        // Entry was not added, so remove the Audit generated for the Add Operation.
+        entry.getAudits().getAuditList().remove(audit);
         return entryActionResponse;
     }
 
@@ -71,23 +108,32 @@ public class EntryDataStoreOperationsService implements DataStoreOperations<Stri
      */
     @Override
     public EntryOperationResponse delete(Entry entry) {
+        return delete(entry, null);
+    }
+
+    /**
+     * Remove an {@link Entry} from the data store if its version matches the expected version.
+     *
+     * @param entry           - The {@link Entry} to be deleted.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return If true, {@link Entry} removed successfully, else {@link Entry} doesn't exists or the version didn't match.
+     */
+    @Override
+    public EntryOperationResponse delete(Entry entry, Long expectedVersion) {
         EntryOperationResponse entryActionResponse = new EntryOperationResponse();
-        EntryOperationResponse getOperationResponse = get(entry);
-        if (getOperationResponse.isSuccessfulOperation() && getOperationResponse.getEntry().getId().equals(entry.getId())) {
-            Entry retrievedEntry = getOperationResponse.getEntry();
-            // Generate Audit
-            Audits audits = Optional.ofNullable(retrievedEntry.getAudits())
-                    .orElseGet(Audits::new);
-            Audit audit = audits.createAudit(audits, AuditActionCodes.DELETE.getCode());
-            audits.getAuditList().add(audit);
-            retrievedEntry.setAudits(audits);
-            entryActionResponse.setEntry(retrievedEntry);
-            try {
-                entryRepository.delete(retrievedEntry);
+        try {
+            // Id check, version check, hash and index removal and audit id are applied in a single atomic round trip.
+            Audit audit = createAudit(AuditActionCodes.DELETE);
+            Optional<Entry> deletedEntry = entryRedisOperations.delete(entry, audit, expectedVersion);
+            if (deletedEntry.isPresent()) {
+                recordChanges(Collections.emptyList(), Collections.singletonList(deletedEntry.get().getValue()));
+                entryActionResponse.setEntry(deletedEntry.get());
                 entryActionResponse.setSuccessfulOperation(true);
-            } catch (IllegalArgumentException exception) {
-                LOGGER.error("Error deleting Entry during the Delete Operation.");
             }
+        } catch (IllegalArgumentException exception) {
+            LOGGER.error("Error deleting Entry during the Delete Operation.");
+        } catch (OptimisticLockingFailureException exception) {
+            entryActionResponse.setPreconditionFailed(true);
         }
         return entryActionResponse;
     }
@@ -100,35 +146,34 @@ public class EntryDataStoreOperationsService implements DataStoreOperations<Stri
      */
     @Override
     public EntryOperationResponse update(String key, Entry entry) {
-        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
-        Entry searchEntry = new Entry(key, entry.getId());
-        EntryOperationResponse getOperationResponse = get(searchEntry);
-        if (getOperationResponse.isSuccessfulOperation() && getOperationResponse.getEntry().getId().equals(entry.getId())) {
-            Entry retrievedEntry = getOperationResponse.getEntry();
-            try {
-                entryRepository.delete(retrievedEntry);
-            } catch (IllegalArgumentException exception) {
-                LOGGER.error("Error deleting Entry during the Update Operation.");
-                return entryActionResponse;
-            }
-
-            // Update the Value
-            retrievedEntry.setValue(entry.getValue());
+        return update(key, entry, null);
+    }
 
-            // Add Audit for Update Operation
-            Audits audits = Optional.ofNullable(retrievedEntry.getAudits())
-                    .orElseGet(Audits::new);
-            Audit audit = audits.createAudit(audits, AuditActionCodes.UPDATE.getCode());
-            audits.getAuditList().add(audit);
-            retrievedEntry.setAudits(audits);
+    /**
+     * Update an existing {@link Entry} in the data store if its version matches the expected version.
+     *
+     * @param key             - The current {@link String} value of the {@link Entry}.
+     * @param entry           - The {@link Entry} containing the id and the updated value.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return If true, {@link Entry} updated successfully, else {@link Entry} doesn't exists or the version didn't match.
+     */
+    @Override
+    public EntryOperationResponse update(String key, Entry entry, Long expectedVersion) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
 
-            try {
-                entryRepository.save(retrievedEntry);
-                entryActionResponse.setEntry(retrievedEntry);
+        try {
+            // Id check, version check, rename, index and audit id are applied in a single atomic round trip.
+            Audit audit = createAudit(AuditActionCodes.UPDATE);
+            Optional<Entry> updatedEntry = entryRedisOperations.update(key, entry, audit, expectedVersion);
+            if (updatedEntry.isPresent()) {
+                recordChanges(Collections.singletonList(updatedEntry.get().getValue()), Collections.singletonList(key));
+                entryActionResponse.setEntry(updatedEntry.get());
                 entryActionResponse.setSuccessfulOperation(true);
-            } catch (IllegalArgumentException exception) {
-                LOGGER.error("Error saving Entry during the Update Operation.");
             }
+        } catch (IllegalArgumentException exception) {
+            LOGGER.error("Error saving Entry during the Update Operation.");
+        } catch (OptimisticLockingFailureException exception) {
+            entryActionResponse.setPreconditionFailed(true);
         }
         return entryActionResponse;
     }
@@ -145,7 +190,7 @@ public class EntryDataStoreOperationsService implements DataStoreOperations<Stri
         Optional<String> valueOptional = Optional.ofNullable(entry)
                 .map(Entry::getValue);
         if (valueOptional.isPresent()) {
-            Optional<Entry> entryOpt = entryRepository.findById(valueOptional.get());
+            Optional<Entry> entryOpt = readEntry(valueOptional.get());
             if (entryOpt.isPresent()) {
                 entryActionResponse.setEntry(entryOpt.get());
                 entryActionResponse.setSuccessfulOperation(true);
@@ -154,6 +199,149 @@ public class EntryDataStoreOperationsService implements DataStoreOperations<Stri
         return entryActionResponse;
     }
 
+    /**
+     * Get an {@link Entry} from the data store by its id. The value is resolved from the id index, so no scan is required.
+     *
+     * @param id - The {@link String} id of the {@link Entry} to be retrieved.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} if it exists.
+     */
+    @Override
+    public EntryOperationResponse getById(String id) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        try {
+            Optional<Entry> entryOpt = entryRedisOperations.getById(id);
+            if (entryOpt.isPresent()) {
+                entryActionResponse.setEntry(entryOpt.get());
+                entryActionResponse.setSuccessfulOperation(true);
+            }
+        } catch (IllegalArgumentException exception) {
+            LOGGER.error("Error retrieving Entry during the Get By Id Operation.");
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Get the version of an {@link Entry} by its id from the id index and the audit sequence of the id, without reading
+     * its record.
+     *
+     * @param id  - The {@link String} id of the {@link Entry}.
+     * @param key - The {@link String} value the {@link Entry} must have, or null for any value.
+     * @return An {@link Optional} of the {@link Long} version, empty if no {@link Entry} exists for the id and value, or
+     * its record was written before the audit log.
+     */
+    @Override
+    public Optional<Long> getVersionById(String id, String key) {
+        try {
+            return entryRedisOperations.getVersionById(id, key);
+        } catch (IllegalArgumentException exception) {
+            LOGGER.error("Error retrieving Entry version during the Get By Id Operation.");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get a page of the {@link Audit} history of an {@link Entry}, oldest first. The page is read from the audit log of
+     * the {@link Entry} id with a single LRANGE, so the cost depends on the page size rather than the length of the
+     * history. Once {@link Audit} objects have been archived they precede the audit log, and are read from the audit
+     * archive. A node which can't read the archived {@link Audit} objects of the page marks the response incomplete.
+     *
+     * @param key        - The {@link String} value of the {@link Entry}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} with the page of its audits, if it exists.
+     */
+    @Override
+    public EntryOperationResponse getAudits(String key, Integer pageNumber, Integer pageSize) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        Optional<Entry> entryOpt = Optional.ofNullable(key)
+                .flatMap(this::readEntry);
+        if (!entryOpt.isPresent()) {
+            return entryActionResponse;
+        }
+
+        Entry entry = entryOpt.get();
+        List<Audit> auditList = entry.getAudits().getAuditList();
+        List<Audit> page;
+        if (entry.getId() != null) {
+            EntryAuditPage auditPage = getAuditHistory(entry.getId(), (long) pageNumber * pageSize, pageSize);
+            page = auditPage.getAudits();
+            setAuditsIncomplete(entryActionResponse, auditPage);
+        } else {
+            // An Entry without an id has no audit log, so its Audits are held in its record.
+            int from = (int) Math.min((long) pageNumber * pageSize, auditList.size());
+            page = new ArrayList<>(auditList.subList(from, (int) Math.min((long) from + pageSize, auditList.size())));
+        }
+        auditList.clear();
+        auditList.addAll(page);
+        entryActionResponse.setEntry(entry);
+        entryActionResponse.setSuccessfulOperation(true);
+        return entryActionResponse;
+    }
+
+    /**
+     * Get a page of the {@link Audit} history of an {@link Entry} id, oldest first, including the history of a deleted
+     * {@link Entry} which is still held in the audit log or the audit archive.
+     *
+     * @param id         - The {@link String} id of the {@link Entry}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry}, or an {@link Entry} with only the id if it
+     * was deleted, with the page of its audits. Unsuccessful if no {@link Entry} exists and the page holds no audits.
+     */
+    @Override
+    public EntryOperationResponse getAuditsById(String id, Integer pageNumber, Integer pageSize) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        try {
+            Entry entry = entryRedisOperations.getById(id)
+                    .orElseGet(() -> new Entry(null, id));
+            EntryAuditPage auditPage = getAuditHistory(id, (long) pageNumber * pageSize, pageSize);
+            List<Audit> page = auditPage.getAudits();
+            if (entry.getValue() == null && page.isEmpty() && auditPage.isComplete()) {
+                return entryActionResponse;
+            }
+            setAuditsIncomplete(entryActionResponse, auditPage);
+            entry.getAudits().getAuditList().clear();
+            entry.getAudits().getAuditList().addAll(page);
+            entryActionResponse.setEntry(entry);
+            entryActionResponse.setSuccessfulOperation(true);
+        } catch (IllegalArgumentException exception) {
+            LOGGER.error("Error retrieving Audits during the Get Audits By Id Operation.");
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Gets a page of the history of an {@link Entry} id, from the {@link EntryAuditArchiver} if the audit archive is
+     * enabled on this node, otherwise from the audit log alone. The archived {@link Audit} objects are counted in Redis,
+     * so a node without the archive knows which of them are missing from the page.
+     *
+     * @param id     - The {@link String} id of the {@link Entry}.
+     * @param offset - The number of {@link Audit} objects to be skipped.
+     * @param count  - The maximum number of {@link Audit} objects to be returned.
+     * @return An {@link EntryAuditPage} of the {@link Audit} objects.
+     */
+    protected EntryAuditPage getAuditHistory(String id, long offset, int count) {
+        if (entryAuditArchiver != null) {
+            return entryAuditArchiver.getAudits(id, offset, count);
+        }
+        return entryRedisOperations.getAuditPage(id, offset, count);
+    }
+
+    /**
+     * Marks a response incomplete if archived {@link Audit} objects are missing from its page of the history, so a
+     * shorter history is never returned as if it were the full history.
+     *
+     * @param entryActionResponse - The {@link EntryOperationResponse} of the page.
+     * @param auditPage           - The {@link EntryAuditPage} read.
+     */
+    private static void setAuditsIncomplete(EntryOperationResponse entryActionResponse, EntryAuditPage auditPage) {
+        if (!auditPage.isComplete()) {
+            LOGGER.warn("Returning a page of Audits missing {} archived Audits, as the audit archive can't be read on this node.",
+                    auditPage.getMissingCount());
+            entryActionResponse.setAuditsIncomplete(true);
+        }
+    }
+
     /**
      * Get a {@link Set} of all {@link Entry} in the data store.
      *
@@ -162,34 +350,476 @@ public class EntryDataStoreOperationsService implements DataStoreOperations<Stri
     @Override
     public EntriesResponse getAll() {
         EntriesResponse entriesResponse = new EntriesResponse();
-        List<Entry> entries = new ArrayList<>();
-        Iterable<Entry> entryIterable = entryRepository.findAll();
-        for (Entry entry : entryIterable) {
-            entries.add(entry);
-        }
-        entriesResponse.setTotalEntries(entries.size());
-        entriesResponse.getEntries().addAll(entries);
+        // Pipelined bulk read decoded directly into the response.
+        entryRedisOperations.getAll(entriesResponse.getEntries());
+        entriesResponse.setTotalEntries(entriesResponse.getEntries().size());
         return entriesResponse;
     }
 
     /**
-     * Get a {@link Set} of all {@link Entry} in the data store.
+     * Get a page of {@link Entry} ordered by value. The page is read from the sorted value index, so the records are read
+     * in the layout of the selected {@link EntryCodec}.
      *
      * @param pageNumber - The {@link Integer} page number for the response.
      * @param pageSize   - The {@link Integer} page size for the response.
-     * @return A {@link Set} of all {@link Entry}.
+     * @return A page of {@link Entry}.
      */
     @Override
     public EntriesResponse getAll(Integer pageNumber, Integer pageSize) {
+        return getRange(null, null, false, pageNumber, pageSize);
+    }
+
+    /**
+     * Get a page of {@link Entry} ordered by value, starting after an opaque cursor. Each page is read from the sorted value
+     * index, so the cost depends on the page size rather than the position of the page.
+     *
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry}, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse getAllFromCursor(String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        String lastValue = EntryCursorUtils.decode(cursor);
+
+        // Read one extra value to determine if there is a next page.
+        List<String> values = entryRedisOperations.getValuesAfter(lastValue, pageSize + 1);
+        boolean hasNextPage = values.size() > pageSize;
+        List<String> pageValues = hasNextPage ? values.subList(0, pageSize) : values;
+
+        entryRedisOperations.getAll(pageValues, entriesResponse.getEntries());
+        if (hasNextPage) {
+            entriesResponse.setNextCursor(EntryCursorUtils.encode(pageValues.get(pageValues.size() - 1)));
+        }
+        if (!pageValues.isEmpty()) {
+            long totalEntries = entryRedisOperations.countEntries();
+            entriesResponse.setTotalEntries(totalEntries);
+            entriesResponse.setTotalPages((int) ((totalEntries + pageSize - 1) / pageSize));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} whose value is in a lexicographic range, ordered by value. The page is read from the
+     * sorted value index, so the cost depends on the page size and page number rather than the number of {@link Entry}.
+     * A descending page is read from the upper bound with ZREVRANGEBYLEX, so the order holds across every page.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are returned from the last value of the range.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} in the range.
+     */
+    @Override
+    public EntriesResponse getRange(String from, String to, boolean descending, Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        List<String> values = entryRedisOperations.getValuesInRange(from, true, to, descending, (long) pageNumber * pageSize, pageSize);
+
+        entryRedisOperations.getAll(values, entriesResponse.getEntries());
+        if (!values.isEmpty()) {
+            // Without bounds the range is every Entry, which is counted by the mutation scripts.
+            long totalEntries = from == null && to == null ? entryRedisOperations.countEntries() : entryRedisOperations.countValuesInRange(from, to);
+            entriesResponse.setTotalEntries(totalEntries);
+            entriesResponse.setTotalPages((int) ((totalEntries + pageSize - 1) / pageSize));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} whose value is in a lexicographic range, ordered by value, starting after an opaque
+     * cursor. The cursor moves the lower bound of the range, or the upper bound of a descending range, so the cost
+     * depends only on the page size.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are returned from the last value of the range, and a page starts
+     *                   before the cursor.
+     * @param cursor     - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} in the range, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse getRangeFromCursor(String from, String to, boolean descending, String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        String lastValue = EntryCursorUtils.decode(cursor);
+
+        // Read one extra value to determine if there is a next page.
+        List<String> values;
+        if (descending) {
+            boolean beforeCursor = lastValue != null && (to == null || EntryRangeUtils.compare(lastValue, to) < 0);
+            values = entryRedisOperations.getValuesInRange(from, true, beforeCursor ? lastValue : to, true, 0, pageSize + 1);
+        } else {
+            boolean afterCursor = lastValue != null && (from == null || EntryRangeUtils.compare(lastValue, from) >= 0);
+            values = entryRedisOperations.getValuesInRange(afterCursor ? lastValue : from, !afterCursor, to, 0, pageSize + 1);
+        }
+        boolean hasNextPage = values.size() > pageSize;
+        List<String> pageValues = hasNextPage ? values.subList(0, pageSize) : values;
+
+        entryRedisOperations.getAll(pageValues, entriesResponse.getEntries());
+        if (hasNextPage) {
+            entriesResponse.setNextCursor(EntryCursorUtils.encode(pageValues.get(pageValues.size() - 1)));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} ordered by the time they were last modified. The page is read from the last modified
+     * index, so the order holds across every {@link Entry} and the cost depends on the page size and page number rather
+     * than the number of {@link Entry}.
+     *
+     * @param modifiedSince - The inclusive UTC {@link LocalDateTime} lower bound of the last modified time, or null for no lower bound.
+     * @param descending    - If true, the most recently modified {@link Entry} are returned first.
+     * @param pageNumber    - The {@link Integer} page number for the response.
+     * @param pageSize      - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} modified since the time.
+     */
+    @Override
+    public EntriesResponse getModified(LocalDateTime modifiedSince, boolean descending, Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        Long since = modifiedSince == null ? null : EntryRedisOperations.toEpochMillis(modifiedSince);
+        List<String> values = entryRedisOperations.getValuesModifiedSince(since, descending, (long) pageNumber * pageSize, pageSize);
+
+        entryRedisOperations.getAll(values, entriesResponse.getEntries());
+        if (!values.isEmpty()) {
+            long totalEntries = since == null ? entryRedisOperations.countEntries() : entryRedisOperations.countValuesModifiedSince(since);
+            entriesResponse.setTotalEntries(totalEntries);
+            entriesResponse.setTotalPages((int) ((totalEntries + pageSize - 1) / pageSize));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get the counters of the data store, read from the counters hash kept by the mutation scripts.
+     *
+     * @return The {@link EntryStatsResponse}.
+     */
+    @Override
+    public EntryStatsResponse getStats() {
+        return entryRedisOperations.getStats();
+    }
+
+    /**
+     * Get the time each listed {@link Entry} was created, the timestamp of the oldest {@link Audit} of its id, as the
+     * records no longer hold their {@link Audit} objects. The oldest {@link Audit} is read from the
+     * {@link EntryAuditArchiver} if the audit archive is enabled on this node, otherwise from the audit logs in a single
+     * pipelined round trip, where a trimmed or archived audit log gives the oldest {@link Audit} it kept.
+     *
+     * @param entries - The {@link Collection} of listed {@link Entry}.
+     * @return A {@link Map} of the {@link String} value of each {@link Entry} to its UTC created time.
+     */
+    @Override
+    public Map<String, LocalDateTime> getCreated(Collection<Entry> entries) {
+        Map<String, LocalDateTime> created = new HashMap<>();
+        if (entries.isEmpty()) {
+            return created;
+        }
+
+        Map<String, Audit> firstAudits;
+        if (entryAuditArchiver != null) {
+            firstAudits = new HashMap<>();
+            entries.stream().map(Entry::getId).filter(Objects::nonNull).distinct().forEach(id ->
+                    entryAuditArchiver.getAudits(id, 0, 1).getAudits().stream().findFirst().ifPresent(audit -> firstAudits.put(id, audit)));
+        } else {
+            firstAudits = entryRedisOperations.getFirstAudits(entries.stream().map(Entry::getId).collect(Collectors.toList()));
+        }
+        for (Entry entry : entries) {
+            Optional.ofNullable(entry.getId())
+                    .map(firstAudits::get)
+                    .map(Audit::getTimestamp)
+                    .ifPresent(timestamp -> created.put(entry.getValue(), timestamp));
+        }
+        return created;
+    }
+
+    /**
+     * Get the change tag of the data store, the epoch of the mutation counters kept by the mutation scripts followed by
+     * their total. The counters are only incremented, in the same atomic step as each mutation, so the total changes with
+     * every mutation, and the epoch is regenerated whenever the counters are lost, so a reset total can't repeat a
+     * previous change tag.
+     *
+     * @return The {@link String} change tag.
+     */
+    @Override
+    public String getChangeTag() {
+        return entryRedisOperations.getChangeTag();
+    }
+
+    /**
+     * Remove the {@link Entry} whose time to live has passed, up to a maximum number. The expired values are read from the
+     * expiry index, their records are read in pipelined batches for their ids, and each {@link Entry} is removed by the
+     * delete script, which checks the expiry time again and appends the Expire {@link Audit} of the {@link Entry} to its
+     * audit log, in pipelined batches.
+     *
+     * @param now        - The current time in epoch milliseconds.
+     * @param maxEntries - The maximum number of {@link Entry} to be removed.
+     * @return A {@link List} of the {@link Entry} removed, each with its Expire {@link Audit}.
+     */
+    @Override
+    public List<Entry> expire(long now, int maxEntries) {
+        List<String> values = entryRedisOperations.getExpiredValues(now, maxEntries);
+        List<Entry> expiredEntries = new ArrayList<>();
+        if (values.isEmpty()) {
+            return expiredEntries;
+        }
+
+        List<Entry> storedEntries = new ArrayList<>(values.size());
+        entryRedisOperations.getAll(values, storedEntries);
+        Map<String, Entry> storedEntriesByValue = new HashMap<>();
+        storedEntries.forEach(storedEntry -> storedEntriesByValue.put(storedEntry.getValue(), storedEntry));
+
+        List<EntryScriptCall> calls = new ArrayList<>(values.size());
+        List<Audit> audits = new ArrayList<>(values.size());
+        for (String value : values) {
+            // A value without a record is only removed from the expiry index.
+            Audit audit = createAudit(AuditActionCodes.EXPIRE);
+            calls.add(entryRedisOperations.expireCall(storedEntriesByValue.getOrDefault(value, new Entry(value, null)), audit, now));
+            audits.add(audit);
+        }
+
+        List<Object> results = entryRedisOperations.executeBatch(calls);
+        List<String> removedValues = new ArrayList<>(values.size());
+        for (int index = 0; index < values.size(); index++) {
+            Audit audit = audits.get(index);
+            Optional<Entry> expiredEntry = entryRedisOperations.decodeResult(values.get(index), results.get(index), audit);
+            if (expiredEntry.isPresent()) {
+                expiredEntries.add(expiredEntry.get());
+                removedValues.add(expiredEntry.get().getValue());
+            }
+        }
+        recordChanges(Collections.emptyList(), removedValues);
+        return expiredEntries;
+    }
+
+    /**
+     * Search for the {@link Entry} whose value contains a query, ignoring case, ordered by value, starting after an opaque
+     * cursor. The values are read from the trigram index or the sorted value index, whichever is expected to find the
+     * page in fewer reads, so the cost doesn't depend on the number of {@link Entry}.
+     *
+     * @param query    - The {@link String} query, with at least three characters.
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} maximum number of {@link Entry} in the response.
+     * @return A page of {@link Entry} containing the query, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the query is too short to be searched or the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse search(String query, String cursor, Integer pageSize) {
         EntriesResponse entriesResponse = new EntriesResponse();
-        Pageable paging = PageRequest.of(pageNumber, pageSize);
+        String lastValue = EntryCursorUtils.decode(cursor);
+
+        // Read one extra value to determine if there is a next page.
+        List<String> values = entryRedisOperations.searchValues(query, lastValue, pageSize + 1);
+        boolean hasNextPage = values.size() > pageSize;
+        List<String> pageValues = hasNextPage ? values.subList(0, pageSize) : values;
 
-        Page<Entry> pagedResult = entryPagingRepository.findAll(paging);
-        if (pagedResult.hasContent()) {
-            entriesResponse.getEntries().addAll(pagedResult.getContent());
-            entriesResponse.setTotalEntries(pagedResult.getTotalElements());
-            entriesResponse.setTotalPages(pagedResult.getTotalPages());
+        entryRedisOperations.getAll(pageValues, entriesResponse.getEntries());
+        if (hasNextPage) {
+            entriesResponse.setNextCursor(EntryCursorUtils.encode(pageValues.get(pageValues.size() - 1)));
         }
         return entriesResponse;
     }
+
+    /**
+     * Rebuild the trigram search index from the keyspace index, removing any stale postings.
+     *
+     * @return The number of {@link Entry} added to the search index.
+     */
+    @Override
+    public long rebuildSearchIndex() {
+        return entryRedisOperations.rebuildSearchIndex(true);
+    }
+
+    /**
+     * Apply a mixed batch of add, update and delete actions. The actions are executed in order with pipelined batches of
+     * the same atomic scripts as the single operations, so a batch costs a round trip per pipelined batch rather than per action.
+     *
+     * @param actionInputs - The {@link List} of {@link EntryActionInput} to be applied. Each {@link EntryActionInput#getAction()}
+     *                     is an {@link AuditActionCodes} code.
+     * @return A {@link List} of {@link EntryOperationResponse} in the order of the actions.
+     */
+    @Override
+    public List<EntryOperationResponse> batch(List<EntryActionInput> actionInputs) {
+        List<EntryOperationResponse> entryActionResponses = new ArrayList<>(actionInputs.size());
+        List<Integer> callIndexes = new ArrayList<>(actionInputs.size());
+        List<AuditActionCodes> callActions = new ArrayList<>(actionInputs.size());
+        List<Audit> callAudits = new ArrayList<>(actionInputs.size());
+        List<EntryScriptCall> calls = new ArrayList<>(actionInputs.size());
+
+        for (int index = 0; index < actionInputs.size(); index++) {
+            EntryActionInput actionInput = actionInputs.get(index);
+            entryActionResponses.add(new EntryOperationResponse());
+            Optional<AuditActionCodes> action = Optional.ofNullable(actionInput)
+                    .map(EntryActionInput::getAction)
+                    .flatMap(AuditActionCodes::fromCode)
+                    .filter(AuditActionCodes::isRequestable);
+            if (!action.isPresent() || actionInput.getEntry() == null) {
+                continue;
+            }
+
+            Entry entry = actionInput.getEntry();
+            Audit addAudit = null;
+            Audit callAudit = null;
+            try {
+                switch (action.get()) {
+                    case ADD:
+                        addAudit = appendAudit(entry, AuditActionCodes.ADD);
+                        calls.add(entryRedisOperations.insertIfAbsentCall(entry, addAudit, toExpireAt(actionInput.getTtlSeconds())));
+                        break;
+                    case UPDATE:
+                        callAudit = createAudit(action.get());
+                        calls.add(entryRedisOperations.updateCall(actionInput.getKey(), entry, callAudit, actionInput.getExpectedVersion()));
+                        break;
+                    default:
+                        callAudit = createAudit(action.get());
+                        calls.add(entryRedisOperations.deleteCall(entry, callAudit, actionInput.getExpectedVersion()));
+                        break;
+                }
+                callIndexes.add(index);
+                callActions.add(action.get());
+                callAudits.add(addAudit != null ? addAudit : callAudit);
+            } catch (IllegalArgumentException exception) {
+                LOGGER.error("Error preparing Entry during the Batch Operation.");
+                if (addAudit != null) {
+                    entry.getAudits().getAuditList().remove(addAudit);
+                }
+            }
+        }
+
+        List<Object> results = entryRedisOperations.executeBatch(calls);
+        List<String> addedValues = new ArrayList<>();
+        List<String> removedValues = new ArrayList<>();
+        for (int callIndex = 0; callIndex < callIndexes.size(); callIndex++) {
+            int index = callIndexes.get(callIndex);
+            Entry entry = actionInputs.get(index).getEntry();
+            EntryOperationResponse entryActionResponse = entryActionResponses.get(index);
+            Object result = results.get(callIndex);
+            Audit audit = callAudits.get(callIndex);
+
+            if (callActions.get(callIndex) == AuditActionCodes.ADD) {
+                if (entryRedisOperations.isInserted(result)) {
+                    audit.setAuditId(entryRedisOperations.getAuditId(result));
+                    entry.setVersion(audit.getAuditId().longValue());
+                    addedValues.add(entry.getValue());
+                    entryActionResponse.setEntry(entry);
+                    entryActionResponse.setSuccessfulOperation(true);
+                } else {
+                    // Entry was not added, so remove the Audit generated for the Add Operation.
+                    entry.getAudits().getAuditList().remove(audit);
+                }
+                continue;
+            }
+
+            entryActionResponse.setPreconditionFailed(entryRedisOperations.isVersionConflict(result));
+            Optional<Entry> resultEntry = entryRedisOperations.decodeResult(entry.getValue(), result, audit);
+            if (resultEntry.isPresent()) {
+                if (callActions.get(callIndex) == AuditActionCodes.UPDATE) {
+                    addedValues.add(resultEntry.get().getValue());
+                    removedValues.add(actionInputs.get(index).getKey());
+                } else {
+                    removedValues.add(resultEntry.get().getValue());
+                }
+                entryActionResponse.setEntry(resultEntry.get());
+                entryActionResponse.setSuccessfulOperation(true);
+            }
+        }
+        recordChanges(addedValues, removedValues);
+        return entryActionResponses;
+    }
+
+    /**
+     * Reads the {@link Entry} of a value, unless the {@link EntryValueFilter} answers that no {@link Entry} exists for it.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @return An {@link Optional} of the {@link Entry}, empty if none exists.
+     */
+    protected Optional<Entry> readEntry(String value) {
+        if (entryValueFilter == null) {
+            return entryRedisOperations.get(value);
+        }
+        if (entryValueFilter.isAbsent(value)) {
+            return Optional.empty();
+        }
+        Optional<Entry> entry = entryRedisOperations.get(value);
+        if (!entry.isPresent()) {
+            entryValueFilter.recordFalsePositive();
+        }
+        return entry;
+    }
+
+    /**
+     * Records the values added and removed by a mutation with the {@link EntryValueFilter}, if it is enabled.
+     *
+     * @param addedValues   - The {@link List} of {@link String} values added.
+     * @param removedValues - The {@link List} of {@link String} values removed.
+     */
+    protected void recordChanges(List<String> addedValues, List<String> removedValues) {
+        if (entryValueFilter != null) {
+            entryValueFilter.recordChanges(addedValues, removedValues);
+        }
+    }
+
+    /**
+     * Appends a new {@link Audit} for an action to the {@link Audits} of an {@link Entry}.
+     *
+     * @param entry  - The {@link Entry} to be audited.
+     * @param action - The {@link AuditActionCodes} of the action.
+     * @return The {@link Audit} appended.
+     */
+    protected Audit appendAudit(Entry entry, AuditActionCodes action) {
+        Audits audits = Optional.ofNullable(entry.getAudits())
+                .orElseGet(Audits::new);
+        Audit audit = audits.createAudit(audits, action.getCode());
+        audits.getAuditList().add(audit);
+        entry.setAudits(audits);
+        return audit;
+    }
+
+    /**
+     * Gets the expiry time of an {@link Entry} added now with a time to live.
+     *
+     * @param ttlSeconds - The {@link Long} time to live in seconds, or null if the {@link Entry} never expires.
+     * @return The expiry time in epoch milliseconds, or null if the {@link Entry} never expires.
+     * @throws IllegalArgumentException Thrown if the time to live is not positive.
+     */
+    protected Long toExpireAt(Long ttlSeconds) {
+        return ttlSeconds == null ? null : EntryExpiryWheel.toExpireAt(System.currentTimeMillis(), ttlSeconds);
+    }
+
+    /**
+     * Creates the {@link Audit} for an action. The audit id is assigned by the data store.
+     *
+     * @param action - The {@link AuditActionCodes} of the action.
+     * @return The {@link Audit}.
+     */
+    protected Audit createAudit(AuditActionCodes action) {
+        Audit audit = new Audit();
+        audit.setAction(action.getCode());
+        audit.setTimestamp(LocalDateTime.now(ZoneId.of(ZoneOffset.UTC.toString())));
+        return audit;
+    }
+
+    /**
+     * Converts the {@link Entry} records to the layout of the selected {@link EntryCodec}, moving the {@link Audit} objects
+     * held in older records to the audit logs, then rebuilds the indexes
+     * maintained by the {@link EntryRedisOperations} for data written before the indexes existed, reconciles the
+     * {@link Entry} count with the value index, and builds the {@link EntryValueFilter} from the value index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes() {
+        try {
+            entryRedisOperations.migrateLayout();
+            entryRedisOperations.rebuildValueIndex();
+            entryRedisOperations.rebuildIdIndex();
+            entryRedisOperations.rebuildModifiedIndex();
+            entryRedisOperations.rebuildSearchIndex(false);
+            entryRedisOperations.reconcileStats();
+        } catch (DataAccessException exception) {
+            LOGGER.error("Error rebuilding the Entry indexes.", exception);
+        }
+        if (entryValueFilter != null) {
+            entryValueFilter.rebuild();
+        }
+    }
 }
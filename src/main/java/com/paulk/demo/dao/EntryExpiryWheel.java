@@ -0,0 +1,256 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Entry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The expiry times of the {@link Entry} values of an in-process data store, held in a hierarchical timing wheel so the
+ * expired values are found without scanning every value. This class is thread safe.
+ * <p>
+ * Each level of the wheel has {@link #WHEEL_SIZE} buckets, and each bucket of a level spans as many ticks as the whole
+ * of the level below it. A value is held in the bucket of the lowest level whose span reaches its expiry tick, and is
+ * moved down a level each time the wheel turns into its bucket, so scheduling a value and advancing a tick cost O(1) and
+ * each value is moved at most once per level. A value is only found once the tick of its expiry time has passed, so it
+ * is never found before it expires.
+ * <p>
+ * Cancelling is lazy: a value which is removed, or scheduled again, keeps its place in the wheel, and is checked against
+ * its current expiry time when it is found.
+ */
+public class EntryExpiryWheel {
+
+    public static final long DEFAULT_TICK_MILLIS = 100;
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // The span of the highest level exceeds any tick of an epoch millisecond time, so a value always has a level.
+    private static final int MAX_LEVELS = 63 / WHEEL_BITS;
+
+    private final long tickMillis;
+    private final Map<String, Long> expiries = new HashMap<>();
+    private final List<List<Timer>[]> levels = new ArrayList<>();
+    private final Deque<String> dueValues = new ArrayDeque<>();
+    private long currentTick;
+    private long timers;
+
+    /**
+     * Constructor for {@link EntryExpiryWheel}.
+     *
+     * @param tickMillis - The duration of a tick in milliseconds, the precision to which expiry times are held.
+     * @param now        - The current time in epoch milliseconds.
+     */
+    public EntryExpiryWheel(long tickMillis, long now) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.currentTick = Math.floorDiv(now, this.tickMillis);
+    }
+
+    /**
+     * Gets the expiry time of an {@link Entry} added with a time to live, saturating rather than overflowing.
+     *
+     * @param now        - The current time in epoch milliseconds.
+     * @param ttlSeconds - The time to live in seconds.
+     * @return The expiry time in epoch milliseconds.
+     * @throws IllegalArgumentException Thrown if the time to live is not positive.
+     */
+    public static long toExpireAt(long now, long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Entry ttlSeconds must be positive.");
+        }
+        long ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        return ttlMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttlMillis;
+    }
+
+    /**
+     * Schedules the expiry of a value, replacing any expiry time it already has.
+     *
+     * @param value    - The {@link String} value of the {@link Entry}.
+     * @param expireAt - The expiry time in epoch milliseconds.
+     */
+    public synchronized void schedule(String value, long expireAt) {
+        expiries.put(value, expireAt);
+        // Round up, so the value is found only once the whole tick of its expiry time has passed.
+        long expiryTick = Math.floorDiv(expireAt, tickMillis) + (Math.floorMod(expireAt, tickMillis) == 0 ? 0 : 1);
+        addTimer(new Timer(value, expiryTick));
+    }
+
+    /**
+     * Gets the expiry time of a value.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @return The expiry time in epoch milliseconds, or null if the value never expires.
+     */
+    public synchronized Long getExpireAt(String value) {
+        return expiries.get(value);
+    }
+
+    /**
+     * Determines if a value has expired.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @param now   - The current time in epoch milliseconds.
+     * @return If true, the value has an expiry time at or before now.
+     */
+    public synchronized boolean isExpired(String value, long now) {
+        Long expireAt = expiries.get(value);
+        return expireAt != null && expireAt <= now;
+    }
+
+    /**
+     * Removes the expiry time of a value, so it never expires.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @return The removed expiry time in epoch milliseconds, or null if the value never expired.
+     */
+    public synchronized Long remove(String value) {
+        return expiries.remove(value);
+    }
+
+    /**
+     * Moves the expiry time of a value to the updated value of its {@link Entry}.
+     *
+     * @param key   - The current {@link String} value of the {@link Entry}.
+     * @param value - The updated {@link String} value of the {@link Entry}.
+     */
+    public synchronized void move(String key, String value) {
+        if (key.equals(value)) {
+            return;
+        }
+        Long expireAt = expiries.remove(key);
+        if (expireAt != null) {
+            schedule(value, expireAt);
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time and gets the values which have expired. The values are not removed, so the
+     * data store removes each value with its {@link Entry}, checking {@link #isExpired(String, long)} once it holds the
+     * lock of the value. The values found beyond the maximum are kept for the next call.
+     *
+     * @param now       - The current time in epoch milliseconds.
+     * @param maxValues - The maximum number of values to be returned.
+     * @return A {@link List} of the expired {@link String} values, in the order of their expiry ticks.
+     */
+    public synchronized List<String> pollExpired(long now, int maxValues) {
+        advance(Math.floorDiv(now, tickMillis));
+        Set<String> expiredValues = new LinkedHashSet<>();
+        while (expiredValues.size() < maxValues && !dueValues.isEmpty()) {
+            String value = dueValues.poll();
+            Long expireAt = expiries.get(value);
+            // A value removed or scheduled again since it was placed is skipped, as is a second timer of a value.
+            if (expireAt != null && expireAt <= now) {
+                expiredValues.add(value);
+            }
+        }
+        return new ArrayList<>(expiredValues);
+    }
+
+    /**
+     * Gets the number of values with an expiry time.
+     *
+     * @return The number of values.
+     */
+    public synchronized int size() {
+        return expiries.size();
+    }
+
+    /**
+     * Turns the wheel a tick at a time up to a tick, moving the values of each bucket the wheel turns into down a level,
+     * and collecting the values of the lowest level bucket of each tick.
+     *
+     * @param tick - The tick to be advanced to.
+     */
+    private void advance(long tick) {
+        while (currentTick < tick) {
+            if (timers == 0) {
+                // Nothing is held in the wheel, so the empty ticks are skipped.
+                currentTick = tick;
+                return;
+            }
+            currentTick++;
+            // Cascade each level whose lower level has completed a turn, lowest first.
+            for (int level = 1; level < levels.size(); level++) {
+                if (((currentTick >>> (WHEEL_BITS * (level - 1))) & WHEEL_MASK) != 0) {
+                    break;
+                }
+                for (Timer timer : takeBucket(level, currentTick)) {
+                    timers--;
+                    addTimer(timer);
+                }
+            }
+            for (Timer timer : takeBucket(0, currentTick)) {
+                timers--;
+                dueValues.add(timer.value);
+            }
+        }
+    }
+
+    /**
+     * Places a timer in the bucket of the lowest level whose span reaches its tick, or with the due values if its tick
+     * has passed.
+     *
+     * @param timer - The {@link Timer} to be placed.
+     */
+    @SuppressWarnings("unchecked")
+    private void addTimer(Timer timer) {
+        long delta = timer.tick - currentTick;
+        if (delta <= 0) {
+            dueValues.add(timer.value);
+            return;
+        }
+
+        int level = 0;
+        while (level < MAX_LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        while (levels.size() <= level) {
+            levels.add(new List[WHEEL_SIZE]);
+        }
+        List<Timer>[] buckets = levels.get(level);
+        int index = (int) ((timer.tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        if (buckets[index] == null) {
+            buckets[index] = new ArrayList<>();
+        }
+        buckets[index].add(timer);
+        timers++;
+    }
+
+    /**
+     * Takes the timers of the bucket of a level which a tick falls in, emptying the bucket.
+     *
+     * @param level - The level of the wheel.
+     * @param tick  - The tick.
+     * @return The {@link List} of {@link Timer} of the bucket.
+     */
+    private List<Timer> takeBucket(int level, long tick) {
+        List<Timer>[] buckets = levels.isEmpty() ? null : levels.get(level);
+        int index = (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        if (buckets == null || buckets[index] == null) {
+            return new ArrayList<>();
+        }
+        List<Timer> bucket = buckets[index];
+        buckets[index] = null;
+        return bucket;
+    }
+
+    /**
+     * A value placed in the wheel with the tick of its expiry time.
+     */
+    private static class Timer {
+        private final String value;
+        private final long tick;
+
+        private Timer(String value, long tick) {
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,1729 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import com.paulk.demo.utils.EntryRangeUtils;
+import com.paulk.demo.utils.EntrySearchUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Component} for performing atomic server side operations on {@link Entry} objects stored in Redis.
+ * <p>
+ * The {@link Entry} records are written in the layout of the {@link EntryCodec} selected by the property
+ * api.datastore.codec. Records written in another layout are converted by {@link #migrateLayout()}.
+ * <p>
+ * The {@link Audit} objects of an {@link Entry} with an id are not held in its record, but in an append-only audit log
+ * per id, a list of {@link Audit} objects in the compact encoding of {@link EntryBinaryUtils}. The scripts assign each
+ * audit id from a counter per id and append the {@link Audit} to the audit log in the same atomic step as the mutation,
+ * so reading or writing an {@link Entry} doesn't depend on the length of its history, and an applied mutation is never
+ * missing its {@link Audit}.
+ * <p>
+ * Alongside the sorted value index, the scripts keep a last modified index, a sorted set of the values scored by the
+ * timestamp of the latest {@link Audit} in epoch milliseconds, so paging by the last modified time is ordered across
+ * every {@link Entry} rather than within a page.
+ * <p>
+ * The scripts also count the {@link Entry} objects and each kind of mutation in a counters hash, in the same atomic step
+ * as the mutation, so totals are read without counting an index. {@link #reconcileStats()} corrects any drift of the
+ * count from the sorted value index, and {@link #getChangeTag()} prefixes the total of the mutations with an epoch
+ * regenerated whenever the counters hash is lost.
+ */
+@Component
+public class EntryRedisOperations {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryRedisOperations.class);
+
+    protected static final String ENTRY_KEYSPACE = "Entry";
+    protected static final String VALUE_INDEX_KEY = "EntryIndex:value";
+    protected static final String ID_INDEX_KEY = "EntryIndex:id";
+    protected static final String DOCUMENT_INDEX_KEY = "EntryIndex:document";
+    protected static final String DOCUMENT_VALUE_INDEX_KEY = "EntryIndex:documentValue";
+    protected static final String DOCUMENT_SEQUENCE_KEY = "EntryIndex:documentSequence";
+    protected static final String TRIGRAM_INDEX_KEY_PREFIX = "EntryIndex:trigram:";
+    protected static final String MODIFIED_INDEX_KEY = "EntryIndex:modified";
+    protected static final String EXPIRY_INDEX_KEY = "EntryIndex:expiry";
+    protected static final String LAYOUT_KEY = "EntryIndex:layout";
+    protected static final String AUDIT_ARCHIVE_OWNER_KEY = "EntryIndex:auditArchiveOwner";
+    protected static final String AUDIT_ARCHIVED_KEY = "EntryIndex:auditArchived";
+    protected static final String STATS_KEY = "EntryStats";
+    protected static final String STATS_EPOCH_KEY = "EntryStatsEpoch";
+    protected static final String STATS_ENTRIES_FIELD = "entries";
+    protected static final String STATS_ADDS_FIELD = "adds";
+    protected static final String STATS_UPDATES_FIELD = "updates";
+    protected static final String STATS_DELETES_FIELD = "deletes";
+    protected static final String STATS_EXPIRATIONS_FIELD = "expirations";
+    protected static final String AUDIT_LOG_KEY_PREFIX = "EntryAudit:";
+    protected static final String AUDIT_SEQUENCE_KEY_PREFIX = "EntryAuditSequence:";
+    private static final String KEY_SEPARATOR = ":";
+
+    protected static final String BULK_READ_BATCHES_METRIC = "entries.store.bulk.read.batches";
+    protected static final String BULK_READ_ROUND_TRIPS_METRIC = "entries.store.bulk.read.round.trips";
+    protected static final String BULK_READ_TIMER_METRIC = "entries.store.bulk.read";
+
+    protected static final int MAX_MIGRATION_PASSES = 10;
+    // Recorded with the layout name once the Audits held in records are moved to the audit logs.
+    protected static final String AUDIT_LOG_LAYOUT_VERSION = "2";
+
+    private static final RedisScript<Long> AUDIT_TRIM_SCRIPT = RedisScript.of(new ClassPathResource("scripts/entry-audit-trim.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> AUDIT_PAGE_SCRIPT = RedisScript.of(new ClassPathResource("scripts/entry-audit-page.lua"), List.class);
+    private static final RedisScript<Long> AUDIT_ARCHIVE_CLAIM_SCRIPT = RedisScript.of(new ClassPathResource("scripts/entry-audit-archive-claim.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> STATS_EPOCH_SCRIPT = RedisScript.of(new ClassPathResource("scripts/entry-stats-epoch.lua"), List.class);
+    private static final RedisScript<Long> STATS_RECONCILE_SCRIPT = RedisScript.of(new ClassPathResource("scripts/entry-stats-reconcile.lua"), Long.class);
+
+    @Autowired
+    protected RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    protected List<EntryCodec> entryCodecs;
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    /**
+     * Inserts the {@link Entry} if no {@link Entry} exists for its value or id, and assigns the audit id of the Add
+     * {@link Audit}. An {@link Entry} with an expiry time is added to the expiry index in the same round trip.
+     *
+     * @param entry    - The {@link Entry} to be inserted. The {@link com.paulk.demo.model.Audits} are only held in the
+     *                 record of an {@link Entry} without an id.
+     * @param audit    - The Add {@link Audit}, which is assigned its audit id if the {@link Entry} is inserted.
+     * @param expireAt - The expiry time in epoch milliseconds, or null if the {@link Entry} never expires.
+     * @return If true, the {@link Entry} was inserted, otherwise an {@link Entry} already exists for the value or id.
+     * @throws IllegalArgumentException Thrown if the {@link Entry} or its value is null, or it expires without an id.
+     */
+    public boolean insertIfAbsent(Entry entry, Audit audit, Long expireAt) {
+        EntryScriptCall call = insertIfAbsentCall(entry, audit, expireAt);
+        Long result = redisTemplate.execute(getEntryCodec().getAddScript(), RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                call.getKeys(), call.getArguments().toArray());
+        if (!isInserted(result)) {
+            return false;
+        }
+        audit.setAuditId(getAuditId(result));
+        return true;
+    }
+
+    /**
+     * Builds the {@link EntryScriptCall} which inserts the {@link Entry} if no {@link Entry} exists for its value or id,
+     * adding it to the expiry index if it has an expiry time.
+     *
+     * @param entry    - The {@link Entry} to be inserted. The {@link com.paulk.demo.model.Audits} are only held in the
+     *                 record of an {@link Entry} without an id.
+     * @param audit    - The Add {@link Audit}, whose timestamp is the last modified time of the {@link Entry}.
+     * @param expireAt - The expiry time in epoch milliseconds, or null if the {@link Entry} never expires.
+     * @return The {@link EntryScriptCall}, with a result accepted by {@link #isInserted(Object)} and {@link #getAuditId(Object)}.
+     * @throws IllegalArgumentException Thrown if the {@link Entry} or its value is null, or it expires without an id.
+     */
+    public EntryScriptCall insertIfAbsentCall(Entry entry, Audit audit, Long expireAt) {
+        if (entry == null || entry.getValue() == null) {
+            throw new IllegalArgumentException("Entry value must not be null.");
+        }
+        if (expireAt != null && entry.getId() == null) {
+            // An expired Entry is removed as a delete would be, which matches its id.
+            throw new IllegalArgumentException("Entry id must not be null when it expires.");
+        }
+
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(toBytes(entry.getValue()));
+        // An Entry without an id is not added to the id index.
+        arguments.add(toBytes(Optional.ofNullable(entry.getId()).orElse("")));
+        arguments.add(toBytes(String.valueOf(getModifiedScore(audit))));
+        arguments.add(toBytes(expireAt == null ? "" : String.valueOf(expireAt)));
+        arguments.add(toAuditArgument(audit));
+        arguments.add(toBytes(String.valueOf(getAuditLogMaxLength())));
+        // An Entry with an id has an audit log, so its record is written without the Audits.
+        arguments.addAll(getEntryCodec().encode(entry.getId() == null ? entry : new Entry(entry.getValue(), entry.getId())));
+        List<String> keys = new ArrayList<>(Arrays.asList(getEntryKey(entry.getValue()), ENTRY_KEYSPACE, VALUE_INDEX_KEY, ID_INDEX_KEY,
+                DOCUMENT_INDEX_KEY, DOCUMENT_VALUE_INDEX_KEY, DOCUMENT_SEQUENCE_KEY, getAuditSequenceKey(Optional.ofNullable(entry.getId()).orElse("")),
+                MODIFIED_INDEX_KEY, STATS_KEY, EXPIRY_INDEX_KEY, getAuditLogKey(Optional.ofNullable(entry.getId()).orElse(""))));
+        keys.addAll(getTrigramKeys(EntrySearchUtils.trigrams(entry.getValue())));
+        return new EntryScriptCall(getEntryCodec().getAddScript(), keys, arguments);
+    }
+
+    /**
+     * Updates the value of an existing {@link Entry} if its version matches the expected version, and assigns the audit
+     * id of the {@link Audit}. The version is checked by the same script which applies the update, so no other update
+     * can be applied between the check and the update.
+     *
+     * @param key             - The current {@link String} value of the {@link Entry}.
+     * @param entry           - The {@link Entry} containing the id and the updated value.
+     * @param audit           - The Update {@link Audit}. The audit id is assigned by the store.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return An {@link Optional} of the updated {@link Entry} with the {@link Audit}, empty if the {@link Entry} doesn't
+     * exist, the id doesn't match or the updated value is already in use.
+     * @throws IllegalArgumentException         Thrown if the key, id or value is null.
+     * @throws OptimisticLockingFailureException Thrown if the version of the stored {@link Entry} doesn't match.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Optional<Entry> update(String key, Entry entry, Audit audit, Long expectedVersion) {
+        EntryScriptCall call = updateCall(key, entry, audit, expectedVersion);
+        List<Object> result = redisTemplate.execute(getEntryCodec().getUpdateScript(), RedisSerializer.byteArray(), (RedisSerializer) RedisSerializer.byteArray(),
+                call.getKeys(), call.getArguments().toArray());
+        if (isVersionConflict(result)) {
+            throw new OptimisticLockingFailureException("Entry version does not match the expected version " + expectedVersion + ".");
+        }
+        return decodeResult(entry.getValue(), result, audit);
+    }
+
+    /**
+     * Builds the {@link EntryScriptCall} which updates the value of an existing {@link Entry} if its version matches the
+     * expected version.
+     *
+     * @param key             - The current {@link String} value of the {@link Entry}.
+     * @param entry           - The {@link Entry} containing the id and the updated value.
+     * @param audit           - The Update {@link Audit}, whose timestamp is the last modified time of the {@link Entry}.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return The {@link EntryScriptCall}, with a result accepted by {@link #isVersionConflict(Object)} and
+     * {@link #decodeResult(String, Object, Audit)}.
+     * @throws IllegalArgumentException Thrown if the key, id or value is null.
+     */
+    public EntryScriptCall updateCall(String key, Entry entry, Audit audit, Long expectedVersion) {
+        if (key == null || entry == null || entry.getId() == null || entry.getValue() == null) {
+            throw new IllegalArgumentException("Entry key, id and value must not be null.");
+        }
+
+        // Only the trigrams which differ between the values are changed, unless the current value is not indexed.
+        Set<String> removedTrigrams = EntrySearchUtils.trigrams(key);
+        Set<String> addedTrigrams = EntrySearchUtils.trigrams(entry.getValue());
+        Set<String> keptTrigrams = new LinkedHashSet<>(removedTrigrams);
+        keptTrigrams.retainAll(addedTrigrams);
+        removedTrigrams.removeAll(keptTrigrams);
+        addedTrigrams.removeAll(keptTrigrams);
+
+        List<String> keys = new ArrayList<>(Arrays.asList(getEntryKey(key), getEntryKey(entry.getValue()), ENTRY_KEYSPACE, VALUE_INDEX_KEY,
+                ID_INDEX_KEY, DOCUMENT_INDEX_KEY, DOCUMENT_VALUE_INDEX_KEY, DOCUMENT_SEQUENCE_KEY, getAuditSequenceKey(entry.getId()),
+                MODIFIED_INDEX_KEY, STATS_KEY, EXPIRY_INDEX_KEY, getAuditLogKey(entry.getId())));
+        keys.addAll(getTrigramKeys(removedTrigrams));
+        keys.addAll(getTrigramKeys(addedTrigrams));
+        keys.addAll(getTrigramKeys(keptTrigrams));
+        return new EntryScriptCall(getEntryCodec().getUpdateScript(), keys,
+                Arrays.asList(toBytes(entry.getId()), toBytes(key), toBytes(entry.getValue()),
+                        toBytes(String.valueOf(removedTrigrams.size())), toBytes(String.valueOf(addedTrigrams.size())),
+                        toBytes(String.valueOf(getModifiedScore(audit))), toBytes(toVersionArgument(expectedVersion)),
+                        toAuditArgument(audit), toBytes(String.valueOf(getAuditLogMaxLength()))));
+    }
+
+    /**
+     * Deletes the {@link Entry} if the stored {@link Entry} has a matching id and its version matches the expected version,
+     * and assigns the audit id of the {@link Audit}. The version is checked by the same script which removes the
+     * {@link Entry}.
+     *
+     * @param entry           - The {@link Entry} containing the value and id to be deleted.
+     * @param audit           - The Delete {@link Audit}. The audit id is assigned by the store.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return An {@link Optional} of the deleted {@link Entry} with the {@link Audit}, empty if the {@link Entry} doesn't
+     * exist or the id doesn't match.
+     * @throws IllegalArgumentException         Thrown if the id or value is null.
+     * @throws OptimisticLockingFailureException Thrown if the version of the stored {@link Entry} doesn't match.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Optional<Entry> delete(Entry entry, Audit audit, Long expectedVersion) {
+        EntryScriptCall call = deleteCall(entry, audit, expectedVersion);
+        List<Object> result = redisTemplate.execute(getEntryCodec().getDeleteScript(), RedisSerializer.byteArray(), (RedisSerializer) RedisSerializer.byteArray(),
+                call.getKeys(), call.getArguments().toArray());
+        if (isVersionConflict(result)) {
+            throw new OptimisticLockingFailureException("Entry version does not match the expected version " + expectedVersion + ".");
+        }
+        return decodeResult(entry.getValue(), result, audit);
+    }
+
+    /**
+     * Builds the {@link EntryScriptCall} which deletes the {@link Entry} if the stored {@link Entry} has a matching id and
+     * its version matches the expected version.
+     *
+     * @param entry           - The {@link Entry} containing the value and id to be deleted.
+     * @param audit           - The Delete {@link Audit} appended to the audit log.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return The {@link EntryScriptCall}, with a result accepted by {@link #isVersionConflict(Object)} and
+     * {@link #decodeResult(String, Object, Audit)}.
+     * @throws IllegalArgumentException Thrown if the id or value is null.
+     */
+    public EntryScriptCall deleteCall(Entry entry, Audit audit, Long expectedVersion) {
+        if (entry == null || entry.getId() == null || entry.getValue() == null) {
+            throw new IllegalArgumentException("Entry id and value must not be null.");
+        }
+        return deleteCall(entry.getId(), entry.getValue(), audit, "", toVersionArgument(expectedVersion));
+    }
+
+    /**
+     * Builds the {@link EntryScriptCall} which removes an expired {@link Entry}, if its expiry time is at or before a time
+     * and the stored {@link Entry} has a matching id. The expiry time is checked again by the script, so an {@link Entry}
+     * updated or added again since it was read is left in place. A value in the expiry index without a record is removed
+     * from the expiry index.
+     *
+     * @param entry - The {@link Entry} containing the value and the id read from the store, or only the value if no record
+     *              was read.
+     * @param audit - The Expire {@link Audit} appended to the audit log.
+     * @param now   - The current time in epoch milliseconds.
+     * @return The {@link EntryScriptCall}, with a result accepted by {@link #decodeResult(String, Object, Audit)}.
+     * @throws IllegalArgumentException Thrown if the value is null.
+     */
+    public EntryScriptCall expireCall(Entry entry, Audit audit, long now) {
+        if (entry == null || entry.getValue() == null) {
+            throw new IllegalArgumentException("Entry value must not be null.");
+        }
+        return deleteCall(Optional.ofNullable(entry.getId()).orElse(""), entry.getValue(), audit, String.valueOf(now), "");
+    }
+
+    /**
+     * Builds the {@link EntryScriptCall} of the delete script.
+     *
+     * @param id        - The {@link String} id which must match the stored {@link Entry}.
+     * @param value     - The {@link String} value of the {@link Entry}.
+     * @param audit     - The Delete or Expire {@link Audit} appended to the audit log.
+     * @param expiredBy - The {@link String} time in epoch milliseconds by which the {@link Entry} must have expired, or an
+     *                  empty {@link String} for a delete.
+     * @param version   - The {@link String} version the stored {@link Entry} must have, or an empty {@link String} to
+     *                  skip the check.
+     * @return The {@link EntryScriptCall}.
+     */
+    private EntryScriptCall deleteCall(String id, String value, Audit audit, String expiredBy, String version) {
+        List<String> keys = new ArrayList<>(Arrays.asList(getEntryKey(value), ENTRY_KEYSPACE, VALUE_INDEX_KEY, ID_INDEX_KEY,
+                DOCUMENT_INDEX_KEY, DOCUMENT_VALUE_INDEX_KEY, getAuditSequenceKey(id), MODIFIED_INDEX_KEY, STATS_KEY, EXPIRY_INDEX_KEY,
+                getAuditLogKey(id)));
+        keys.addAll(getTrigramKeys(EntrySearchUtils.trigrams(value)));
+        return new EntryScriptCall(getEntryCodec().getDeleteScript(), keys,
+                Arrays.asList(toBytes(id), toBytes(value), toBytes(expiredBy), toBytes(version), toAuditArgument(audit),
+                        toBytes(String.valueOf(getAuditLogMaxLength())), toBytes(String.valueOf(getDeletedAuditLogTtlSeconds()))));
+    }
+
+    /**
+     * Encodes the {@link Audit} of a mutation for the audit log without its audit id, which is assigned and written by the
+     * mutation script.
+     *
+     * @param audit - The {@link Audit} of the mutation, or null for an {@link Audit} without an action or timestamp.
+     * @return The byte array of the encoded {@link Audit}.
+     */
+    protected static byte[] toAuditArgument(Audit audit) {
+        Audit unnumberedAudit = new Audit();
+        if (audit != null) {
+            unnumberedAudit.setAction(audit.getAction());
+            unnumberedAudit.setTimestamp(audit.getTimestamp());
+        }
+        return EntryBinaryUtils.toCompactBytes(unnumberedAudit);
+    }
+
+    /**
+     * Gets the number of newest {@link Audit} objects kept in each audit log. When the audit archive is enabled every
+     * {@link Audit} is kept, as the archiver moves the {@link Audit} objects to the archive instead.
+     *
+     * @return The maximum length of an audit log, or 0 to keep every {@link Audit}.
+     */
+    private long getAuditLogMaxLength() {
+        if (Boolean.TRUE.equals(demoApplicationConfig.getAuditArchiveEnabled())) {
+            return 0;
+        }
+        return Optional.ofNullable(demoApplicationConfig.getAuditLogMaxLength()).orElse(0);
+    }
+
+    /**
+     * Gets the seconds the audit log and the audit sequence of a deleted or expired {@link Entry} are kept, unless the id
+     * is added again. When the audit archive is enabled they are kept, as the archiver takes over their retention.
+     *
+     * @return The seconds, or 0 to keep them.
+     */
+    private long getDeletedAuditLogTtlSeconds() {
+        if (Boolean.TRUE.equals(demoApplicationConfig.getAuditArchiveEnabled())) {
+            return 0;
+        }
+        return Optional.ofNullable(demoApplicationConfig.getAuditLogDeletedTtlSeconds()).orElse(0L);
+    }
+
+    /**
+     * Executes the {@link EntryScriptCall} objects in order using pipelined batches, so each batch costs a single round
+     * trip. Each script is loaded at the start of the batch, so the calls can be sent by their SHA1 digest.
+     *
+     * @param calls - The {@link List} of {@link EntryScriptCall} to be executed.
+     * @return A {@link List} of the raw results in the order of the calls. A call which failed has a null result.
+     */
+    public List<Object> executeBatch(List<EntryScriptCall> calls) {
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkWriteBatchSize());
+        List<Object> results = new ArrayList<>(calls.size());
+        for (int from = 0; from < calls.size(); from += batchSize) {
+            List<EntryScriptCall> batch = calls.subList(from, Math.min(from + batchSize, calls.size()));
+            Set<RedisScript<?>> scripts = new LinkedHashSet<>();
+            batch.forEach(call -> scripts.add(call.getScript()));
+
+            List<Object> batchResults = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+                connection.openPipeline();
+                for (RedisScript<?> script : scripts) {
+                    connection.scriptingCommands().scriptLoad(toBytes(script.getScriptAsString()));
+                }
+                for (EntryScriptCall call : batch) {
+                    List<byte[]> keysAndArguments = new ArrayList<>();
+                    call.getKeys().forEach(key -> keysAndArguments.add(toBytes(key)));
+                    call.getArguments().forEach(argument -> keysAndArguments.add((byte[]) argument));
+                    connection.scriptingCommands().evalSha(call.getScript().getSha1(), ReturnType.fromJavaType(call.getScript().getResultType()),
+                            call.getKeys().size(), keysAndArguments.toArray(new byte[0][]));
+                }
+                try {
+                    return connection.closePipeline();
+                } catch (RedisPipelineException exception) {
+                    LOGGER.error("Error executing a pipelined batch of Entry scripts.", exception);
+                    return exception.getPipelineResult();
+                }
+            });
+
+            // Skip the results of the script loads.
+            for (int index = 0; index < batch.size(); index++) {
+                int resultIndex = scripts.size() + index;
+                Object result = batchResults != null && resultIndex < batchResults.size() ? batchResults.get(resultIndex) : null;
+                results.add(result instanceof Exception ? null : result);
+            }
+        }
+        LOGGER.debug("Executed {} Entry scripts in {} pipelined batches of {}.", calls.size(), (calls.size() + batchSize - 1) / batchSize, batchSize);
+        return results;
+    }
+
+    /**
+     * Determines if the result of an {@link #insertIfAbsentCall(Entry, Audit, Long)} inserted the {@link Entry}.
+     *
+     * @param result - The raw {@link Object} result of the script.
+     * @return If true, the {@link Entry} was inserted.
+     */
+    public boolean isInserted(Object result) {
+        return result instanceof Long && (Long) result > 0L;
+    }
+
+    /**
+     * Determines if the result of an {@link #updateCall(String, Entry, Audit, Long)} or {@link #deleteCall(Entry, Audit, Long)}
+     * was rejected as the version of the stored {@link Entry} didn't match the expected version.
+     *
+     * @param result - The raw {@link Object} result of the script.
+     * @return If true, the version didn't match and the call wasn't applied.
+     */
+    public boolean isVersionConflict(Object result) {
+        return result instanceof List && ((List<?>) result).size() == 1 && Long.valueOf(0L).equals(((List<?>) result).get(0));
+    }
+
+    /**
+     * Gets the audit id assigned by a script which applied its call.
+     *
+     * @param result - The raw {@link Object} result of the script, the audit id or a {@link List} starting with it.
+     * @return The {@link Integer} audit id, or null if the script didn't apply the call.
+     */
+    public Integer getAuditId(Object result) {
+        if (result instanceof List && !((List<?>) result).isEmpty()) {
+            result = ((List<?>) result).get(0);
+        }
+        return isInserted(result) ? Math.toIntExact((Long) result) : null;
+    }
+
+    /**
+     * Decodes the result of an {@link #updateCall(String, Entry, Audit, Long)}, {@link #deleteCall(Entry, Audit, Long)} or
+     * {@link #expireCall(Entry, Audit, long)}, assigning the audit id to the {@link Audit} and appending it to the {@link Entry}.
+     *
+     * @param value  - The {@link String} value of the {@link Entry} after the call.
+     * @param result - The raw {@link Object} result of the script, the audit id followed by the record in the layout of
+     *               the {@link EntryCodec}.
+     * @param audit  - The {@link Audit} of the call.
+     * @return An {@link Optional} of the {@link Entry}, empty if the script didn't apply the call.
+     */
+    public Optional<Entry> decodeResult(String value, Object result, Audit audit) {
+        Integer auditId = getAuditId(result);
+        if (auditId == null) {
+            return Optional.empty();
+        }
+
+        List<?> record = ((List<?>) result).subList(1, ((List<?>) result).size());
+        Optional<Entry> entry = getEntryCodec().decode(value, record);
+        entry.ifPresent(decodedEntry -> {
+            audit.setAuditId(auditId);
+            decodedEntry.getAudits().getAuditList().add(audit);
+            decodedEntry.setVersion(auditId.longValue());
+        });
+        return entry;
+    }
+
+    /**
+     * Gets a page of the audit log of an {@link Entry} id with LRANGE, oldest first. The cost depends on the offset and
+     * count rather than the length of the audit log.
+     *
+     * @param id     - The {@link String} id of the {@link Entry}.
+     * @param offset - The number of {@link Audit} objects to be skipped.
+     * @param count  - The maximum number of {@link Audit} objects to be returned.
+     * @return A {@link List} of the {@link Audit} objects.
+     * @throws IllegalArgumentException Thrown if the id is null.
+     */
+    public List<Audit> getAudits(String id, long offset, int count) {
+        if (id == null) {
+            throw new IllegalArgumentException("Entry id must not be null.");
+        }
+
+        List<Audit> audits = new ArrayList<>();
+        if (count < 1) {
+            return audits;
+        }
+        List<byte[]> encodedAudits = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.listCommands().lRange(toBytes(getAuditLogKey(id)), offset, offset + count - 1));
+        if (encodedAudits != null) {
+            for (byte[] encodedAudit : encodedAudits) {
+                audits.add(EntryBinaryUtils.fromCompactBytes(encodedAudit));
+            }
+        }
+        return audits;
+    }
+
+    /**
+     * Gets a page of the history of an {@link Entry} id, oldest first, with a script reading the archived count of the id
+     * and the part of the page held in the audit log in a single atomic step. The archived {@link Audit} objects precede
+     * the audit log, so those within the page are counted as missing, to be read from the audit archive.
+     *
+     * @param id     - The {@link String} id of the {@link Entry}.
+     * @param offset - The number of {@link Audit} objects of the history to be skipped.
+     * @param count  - The maximum number of {@link Audit} objects to be returned.
+     * @return An {@link EntryAuditPage} of the {@link Audit} objects held in the audit log.
+     * @throws IllegalArgumentException Thrown if the id is null.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public EntryAuditPage getAuditPage(String id, long offset, int count) {
+        if (id == null) {
+            throw new IllegalArgumentException("Entry id must not be null.");
+        }
+
+        List<Object> results = redisTemplate.execute(AUDIT_PAGE_SCRIPT, RedisSerializer.byteArray(), (RedisSerializer) RedisSerializer.byteArray(),
+                Arrays.asList(getAuditLogKey(id), AUDIT_ARCHIVED_KEY), toBytes(id), toBytes(String.valueOf(offset)),
+                toBytes(String.valueOf(Math.max(0, count))));
+        long archived = 0;
+        List<Audit> audits = new ArrayList<>();
+        if (results != null && !results.isEmpty()) {
+            archived = Long.parseLong(new String((byte[]) results.get(0), StandardCharsets.UTF_8));
+            for (Object encodedAudit : results.subList(1, results.size())) {
+                audits.add(EntryBinaryUtils.fromCompactBytes((byte[]) encodedAudit));
+            }
+        }
+        int missing = (int) Math.max(0, Math.min(count, archived - offset));
+        return new EntryAuditPage(audits, archived, missing);
+    }
+
+    /**
+     * Gets the archived count of each {@link Entry} id with HMGET, the number of {@link Audit} objects moved from its
+     * audit log to the audit archive.
+     *
+     * @param ids - The {@link List} of {@link String} ids of the {@link Entry}.
+     * @return A {@link Map} of the {@link String} ids to their archived count, without the ids with no archived count.
+     */
+    public Map<String, Long> getArchivedAuditCounts(List<String> ids) {
+        Map<String, Long> counts = new HashMap<>();
+        if (ids.isEmpty()) {
+            return counts;
+        }
+
+        byte[][] fields = ids.stream().map(EntryRedisOperations::toBytes).toArray(byte[][]::new);
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hMGet(toBytes(AUDIT_ARCHIVED_KEY), fields));
+        if (values != null) {
+            for (int index = 0; index < Math.min(ids.size(), values.size()); index++) {
+                if (values.get(index) != null) {
+                    counts.put(ids.get(index), toCounter(values.get(index)));
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Sets the archived count of an {@link Entry} id with HSETNX, unless it is already counted. An archive written before
+     * the archived counts were kept is counted once when it is next opened for writing.
+     *
+     * @param id    - The {@link String} id of the {@link Entry}.
+     * @param count - The number of {@link Audit} objects moved from its audit log to the audit archive.
+     * @return If true, the archived count was set, otherwise the id is already counted.
+     */
+    public boolean setArchivedAuditCountIfAbsent(String id, long count) {
+        return Boolean.TRUE.equals(redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.hashCommands().hSetNX(toBytes(AUDIT_ARCHIVED_KEY), toBytes(id), toBytes(String.valueOf(count)))));
+    }
+
+    /**
+     * Gets the oldest {@link Audit} held in the audit log of each {@link Entry} id with LINDEX, in a single pipelined
+     * round trip. Once an audit log is trimmed, its oldest {@link Audit} is the oldest one kept.
+     *
+     * @param ids - The {@link Collection} of {@link String} ids of the {@link Entry}.
+     * @return A {@link Map} of the {@link String} ids to their oldest {@link Audit}, without the ids with no audit log.
+     */
+    public Map<String, Audit> getFirstAudits(Collection<String> ids) {
+        Map<String, Audit> firstAudits = new HashMap<>();
+        List<String> orderedIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        orderedIds.remove(null);
+        if (orderedIds.isEmpty()) {
+            return firstAudits;
+        }
+
+        List<Object> results = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (String id : orderedIds) {
+                connection.listCommands().lIndex(toBytes(getAuditLogKey(id)), 0);
+            }
+            return connection.closePipeline();
+        });
+        if (results != null) {
+            for (int index = 0; index < Math.min(orderedIds.size(), results.size()); index++) {
+                if (results.get(index) instanceof byte[]) {
+                    firstAudits.put(orderedIds.get(index), EntryBinaryUtils.fromCompactBytes((byte[]) results.get(index)));
+                }
+            }
+        }
+        return firstAudits;
+    }
+
+    /**
+     * Gets the number of {@link Audit} objects in the audit log of an {@link Entry} id.
+     *
+     * @param id - The {@link String} id of the {@link Entry}.
+     * @return The length of the audit log, 0 if it doesn't exist.
+     */
+    public long getAuditLogLength(String id) {
+        Long length = redisTemplate.execute((RedisCallback<Long>) connection -> connection.listCommands().lLen(toBytes(getAuditLogKey(id))));
+        return Optional.ofNullable(length).orElse(0L);
+    }
+
+    /**
+     * Removes {@link Audit} objects moved to the audit archive from the head of the audit log of an {@link Entry} id, and
+     * adds them to the archived count of the id. A script checks the last moved {@link Audit} is still in place, so
+     * {@link Audit} objects which weren't moved are never removed.
+     *
+     * @param id        - The {@link String} id of the {@link Entry}.
+     * @param count     - The number of {@link Audit} objects moved from the head of the audit log.
+     * @param lastAudit - The last {@link Audit} moved.
+     * @return If true, the {@link Audit} objects were removed, otherwise the head of the audit log changed.
+     */
+    public boolean trimAuditLog(String id, int count, Audit lastAudit) {
+        Long result = redisTemplate.execute(AUDIT_TRIM_SCRIPT, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                Arrays.asList(getAuditLogKey(id), AUDIT_ARCHIVED_KEY), toBytes(String.valueOf(count)), EntryBinaryUtils.toCompactBytes(lastAudit),
+                toBytes(id));
+        return isInserted(result);
+    }
+
+    /**
+     * Claims or renews the audit archive for a node, unless another node holds it. A single node may move the audits of
+     * the audit logs into the audit archive, whether it is on the local disk of the node or on shared storage.
+     *
+     * @param owner     - The {@link String} owner id of the node.
+     * @param ttlMillis - The time the claim is held for in milliseconds, unless it is renewed.
+     * @return If true, the node holds the audit archive, otherwise another node holds it.
+     */
+    public boolean claimAuditArchive(String owner, long ttlMillis) {
+        return isInserted(redisTemplate.execute(AUDIT_ARCHIVE_CLAIM_SCRIPT, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                Collections.singletonList(AUDIT_ARCHIVE_OWNER_KEY), toBytes(owner), toBytes(String.valueOf(Math.max(1, ttlMillis)))));
+    }
+
+    /**
+     * Releases the audit archive claimed by a node, so another node may claim it without waiting for the claim to expire.
+     *
+     * @param owner - The {@link String} owner id of the node.
+     */
+    public void releaseAuditArchive(String owner) {
+        redisTemplate.execute(AUDIT_ARCHIVE_CLAIM_SCRIPT, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                Collections.singletonList(AUDIT_ARCHIVE_OWNER_KEY), toBytes(owner), toBytes("0"));
+    }
+
+    /**
+     * Scans the audit logs with SCAN in batches, so every audit log can be visited without blocking Redis. The audit log
+     * of a deleted {@link Entry} is included.
+     *
+     * @param batchConsumer - The {@link Consumer} of each {@link List} of {@link String} ids.
+     * @return The number of audit logs scanned.
+     */
+    public long scanAuditLogIds(Consumer<List<String>> batchConsumer) {
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkReadBatchSize());
+        Long scanned = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            long count = 0;
+            List<String> batch = new ArrayList<>(batchSize);
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(ScanOptions.scanOptions()
+                    .match(AUDIT_LOG_KEY_PREFIX + "*").count(batchSize).build())) {
+                while (cursor.hasNext()) {
+                    batch.add(new String(cursor.next(), StandardCharsets.UTF_8).substring(AUDIT_LOG_KEY_PREFIX.length()));
+                    if (batch.size() == batchSize || !cursor.hasNext()) {
+                        batchConsumer.accept(batch);
+                        count += batch.size();
+                        batch.clear();
+                    }
+                }
+            } catch (IOException exception) {
+                LOGGER.error("Error closing the cursor during the scan of the audit logs.");
+            }
+            return count;
+        });
+        return Optional.ofNullable(scanned).orElse(0L);
+    }
+
+    /**
+     * Gets the {@link Entry} for an id using the id index, without scanning the keyspace.
+     *
+     * @param id - The {@link String} id of the {@link Entry}.
+     * @return An {@link Optional} of the {@link Entry} with its version, empty if no {@link Entry} exists for the id.
+     * @throws IllegalArgumentException Thrown if the id is null.
+     */
+    public Optional<Entry> getById(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Entry id must not be null.");
+        }
+
+        // The audit sequence of the id is read in the same round trip as the value, as the version of the Entry.
+        List<Object> results = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            connection.hashCommands().hGet(toBytes(ID_INDEX_KEY), toBytes(id));
+            connection.stringCommands().get(toBytes(getAuditSequenceKey(id)));
+            return connection.closePipeline();
+        });
+        if (results == null || results.size() < 2 || !(results.get(0) instanceof byte[])) {
+            return Optional.empty();
+        }
+
+        // The Entry may have been replaced between the two reads, so the id is checked against the stored Entry.
+        Object sequence = results.get(1);
+        Optional<Entry> entry = read(new String((byte[]) results.get(0), StandardCharsets.UTF_8))
+                .filter(storedEntry -> id.equals(storedEntry.getId()));
+        entry.ifPresent(storedEntry -> storedEntry.setVersion(toVersion(storedEntry, sequence instanceof byte[] ? (byte[]) sequence : null)));
+        return entry;
+    }
+
+    /**
+     * Gets the version of the {@link Entry} for an id from the id index and the audit sequence of the id, in a single
+     * pipelined round trip, without reading its record.
+     *
+     * @param id    - The {@link String} id of the {@link Entry}.
+     * @param value - The {@link String} value the {@link Entry} must have, or null for any value.
+     * @return An {@link Optional} of the {@link Long} version, empty if no {@link Entry} exists for the id and value, or
+     * the {@link Entry} has no audit sequence as its record was written before the audit log.
+     * @throws IllegalArgumentException Thrown if the id is null.
+     */
+    public Optional<Long> getVersionById(String id, String value) {
+        if (id == null) {
+            throw new IllegalArgumentException("Entry id must not be null.");
+        }
+
+        // The value is read before the sequence, so a version read across a mutation is never older than the value.
+        List<Object> results = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            connection.hashCommands().hGet(toBytes(ID_INDEX_KEY), toBytes(id));
+            connection.stringCommands().get(toBytes(getAuditSequenceKey(id)));
+            return connection.closePipeline();
+        });
+        if (results == null || results.size() < 2 || !(results.get(0) instanceof byte[]) || !(results.get(1) instanceof byte[])) {
+            return Optional.empty();
+        }
+        if (value != null && !value.equals(new String((byte[]) results.get(0), StandardCharsets.UTF_8))) {
+            return Optional.empty();
+        }
+        return Optional.of(toCounter((byte[]) results.get(1)));
+    }
+
+    /**
+     * Gets the {@link Entry} for a value with a read of its record, followed by a read of its version.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @return An {@link Optional} of the {@link Entry} with its version, empty if no {@link Entry} exists for the value.
+     * @throws IllegalArgumentException Thrown if the value is null.
+     */
+    public Optional<Entry> get(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Entry value must not be null.");
+        }
+
+        Optional<Entry> entry = read(value);
+        entry.ifPresent(storedEntry -> {
+            // The id is only known once the record is read, so the version costs a second read.
+            byte[] sequence = storedEntry.getId() == null ? null : redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(toBytes(getAuditSequenceKey(storedEntry.getId()))));
+            storedEntry.setVersion(toVersion(storedEntry, sequence));
+        });
+        return entry;
+    }
+
+    /**
+     * Reads and decodes the record of a value, without its version.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @return An {@link Optional} of the {@link Entry}, empty if no {@link Entry} exists for the value.
+     */
+    protected Optional<Entry> read(String value) {
+        EntryCodec entryCodec = getEntryCodec();
+        Object record = redisTemplate.execute((RedisCallback<Object>) connection ->
+                entryCodec.read(connection, toBytes(getEntryKey(value))));
+        return entryCodec.decode(value, record);
+    }
+
+    /**
+     * Gets the version of a stored {@link Entry}, the value of the audit sequence of its id. A record written before the
+     * audit log holds its {@link Audit} objects, so its version is the latest of their audit ids.
+     *
+     * @param entry    - The stored {@link Entry}.
+     * @param sequence - The audit sequence of the id, or null if it doesn't exist.
+     * @return The {@link Long} version, or null if the {@link Entry} has no {@link Audit}.
+     */
+    protected static Long toVersion(Entry entry, byte[] sequence) {
+        if (sequence != null) {
+            return toCounter(sequence);
+        }
+        return Optional.ofNullable(entry.getAudits())
+                .map(Audits::getLastAuditId)
+                .map(Integer::longValue)
+                .orElse(null);
+    }
+
+    /**
+     * Gets the script argument of an expected version.
+     *
+     * @param expectedVersion - The {@link Long} expected version, or null to skip the check.
+     * @return The {@link String} argument, empty if the check is skipped.
+     */
+    private static String toVersionArgument(Long expectedVersion) {
+        return expectedVersion == null ? "" : String.valueOf(expectedVersion);
+    }
+
+    /**
+     * Gets the values which sort lexicographically after a given value from the sorted value index.
+     *
+     * @param lastValue - The exclusive {@link String} value to start after, or null to start from the first value.
+     * @param count     - The maximum number of values to be returned.
+     * @return A {@link List} of {@link String} values in lexicographical order.
+     */
+    public List<String> getValuesAfter(String lastValue, int count) {
+        return getValuesInRange(lastValue, false, null, 0, count);
+    }
+
+    /**
+     * Gets the values in a lexicographic range from the sorted value index, with ZRANGEBYLEX. The cost depends on the
+     * offset and count rather than the number of values in the index.
+     *
+     * @param from          - The {@link String} lower bound, or null for no lower bound.
+     * @param fromInclusive - If true, the lower bound is inclusive, else exclusive.
+     * @param to            - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param offset        - The number of values in the range to be skipped.
+     * @param count         - The maximum number of values to be returned.
+     * @return A {@link List} of {@link String} values in lexicographical order.
+     */
+    public List<String> getValuesInRange(String from, boolean fromInclusive, String to, long offset, int count) {
+        return getValuesInRange(from, fromInclusive, to, false, offset, count);
+    }
+
+    /**
+     * Gets the values in a lexicographic range from the sorted value index, with ZRANGEBYLEX, or ZREVRANGEBYLEX from the
+     * upper bound. The cost depends on the offset and count rather than the number of values in the index.
+     *
+     * @param from          - The {@link String} lower bound, or null for no lower bound.
+     * @param fromInclusive - If true, the lower bound is inclusive, else exclusive.
+     * @param to            - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending    - If true, the values are returned in reverse lexicographical order.
+     * @param offset        - The number of values in the range to be skipped.
+     * @param count         - The maximum number of values to be returned.
+     * @return A {@link List} of {@link String} values in lexicographical order, or in reverse if descending.
+     */
+    public List<String> getValuesInRange(String from, boolean fromInclusive, String to, boolean descending, long offset, int count) {
+        RedisZSetCommands.Limit limit = RedisZSetCommands.Limit.limit().offset((int) Math.min(offset, Integer.MAX_VALUE)).count(count);
+        RedisZSetCommands.Range range = toRange(from, fromInclusive, to);
+        Set<Object> members = descending
+                ? redisTemplate.opsForZSet().reverseRangeByLex(VALUE_INDEX_KEY, range, limit)
+                : redisTemplate.opsForZSet().rangeByLex(VALUE_INDEX_KEY, range, limit);
+
+        List<String> values = new ArrayList<>();
+        if (members != null) {
+            for (Object member : members) {
+                values.add((String) member);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Counts the values in a lexicographic range of the sorted value index, with ZLEXCOUNT.
+     *
+     * @param from - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to   - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @return The number of values in the range.
+     */
+    public long countValuesInRange(String from, String to) {
+        return Optional.ofNullable(redisTemplate.opsForZSet().lexCount(VALUE_INDEX_KEY, toRange(from, true, to)))
+                .orElse(0L);
+    }
+
+    /**
+     * Gets the values ordered by the time their {@link Entry} was last modified from the last modified index, with
+     * ZRANGEBYSCORE or ZREVRANGEBYSCORE. Values modified at the same time are ordered by value in the same direction, so
+     * ZREVRANGEBYSCORE returns them in reverse lexicographic order and a descending listing is the exact reverse of an
+     * ascending one. The cost depends on the offset and count rather than the number of values in the index.
+     *
+     * @param modifiedSince - The inclusive lower bound of the last modified time in epoch milliseconds, or null for no lower bound.
+     * @param descending    - If true, the most recently modified values are returned first.
+     * @param offset        - The number of values to be skipped.
+     * @param count         - The maximum number of values to be returned.
+     * @return A {@link List} of {@link String} values in the order of their last modified time.
+     */
+    public List<String> getValuesModifiedSince(Long modifiedSince, boolean descending, long offset, int count) {
+        double min = modifiedSince == null ? Double.NEGATIVE_INFINITY : modifiedSince;
+        Set<Object> members = descending
+                ? redisTemplate.opsForZSet().reverseRangeByScore(MODIFIED_INDEX_KEY, min, Double.POSITIVE_INFINITY, offset, count)
+                : redisTemplate.opsForZSet().rangeByScore(MODIFIED_INDEX_KEY, min, Double.POSITIVE_INFINITY, offset, count);
+
+        List<String> values = new ArrayList<>();
+        if (members != null) {
+            for (Object member : members) {
+                values.add((String) member);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Counts the values of the last modified index modified since a time, with ZCOUNT.
+     *
+     * @param modifiedSince - The inclusive lower bound of the last modified time in epoch milliseconds, or null for no lower bound.
+     * @return The number of values modified since the time.
+     */
+    public long countValuesModifiedSince(Long modifiedSince) {
+        double min = modifiedSince == null ? Double.NEGATIVE_INFINITY : modifiedSince;
+        return Optional.ofNullable(redisTemplate.opsForZSet().count(MODIFIED_INDEX_KEY, min, Double.POSITIVE_INFINITY))
+                .orElse(0L);
+    }
+
+    /**
+     * Gets the values of the expiry index whose expiry time is at or before a time, earliest first, with ZRANGEBYSCORE.
+     * Only the expired values are read, so the cost depends on the count rather than the number of {@link Entry}.
+     *
+     * @param now   - The current time in epoch milliseconds.
+     * @param count - The maximum number of values to be returned.
+     * @return A {@link List} of the expired {@link String} values.
+     */
+    public List<String> getExpiredValues(long now, int count) {
+        Set<Object> members = redisTemplate.opsForZSet().rangeByScore(EXPIRY_INDEX_KEY, Double.NEGATIVE_INFINITY, now, 0, count);
+
+        List<String> values = new ArrayList<>();
+        if (members != null) {
+            for (Object member : members) {
+                values.add((String) member);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Gets the counters of the {@link Entry} objects and of each kind of mutation, with a single HMGET.
+     *
+     * @return The {@link EntryStatsResponse}, with 0 for a counter which doesn't exist.
+     */
+    public EntryStatsResponse getStats() {
+        List<byte[]> counters = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.hashCommands().hMGet(toBytes(STATS_KEY),
+                toBytes(STATS_ENTRIES_FIELD), toBytes(STATS_ADDS_FIELD), toBytes(STATS_UPDATES_FIELD), toBytes(STATS_DELETES_FIELD),
+                toBytes(STATS_EXPIRATIONS_FIELD)));
+        if (counters == null) {
+            return new EntryStatsResponse();
+        }
+        return new EntryStatsResponse(toCounter(counters.get(0)), toCounter(counters.get(1)), toCounter(counters.get(2)), toCounter(counters.get(3)),
+                toCounter(counters.get(4)));
+    }
+
+    /**
+     * Gets the change tag of the {@link Entry} objects, the epoch of the counters hash followed by the total of the
+     * mutation counters, with a script reading both in a single atomic step. The counters are only incremented, but are
+     * reset if the counters hash is lost, e.g. flushed, restored without it, or read from a replica which lost it, so the
+     * epoch is regenerated by the script whenever the counters hash was lost, and a previous change tag can't recur.
+     *
+     * @return The {@link String} change tag.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public String getChangeTag() {
+        List<Object> results = redisTemplate.execute(STATS_EPOCH_SCRIPT, RedisSerializer.byteArray(), (RedisSerializer) RedisSerializer.byteArray(),
+                Arrays.asList(STATS_KEY, STATS_EPOCH_KEY), toBytes(UUID.randomUUID().toString()));
+        if (results == null || results.isEmpty()) {
+            throw new IllegalStateException("The change tag of the Entry counters couldn't be read.");
+        }
+        long total = 0;
+        for (Object counter : results.subList(1, results.size())) {
+            total += toCounter((byte[]) counter);
+        }
+        return new String((byte[]) results.get(0), StandardCharsets.UTF_8) + "-" + total;
+    }
+
+    /**
+     * Gets the number of {@link Entry} objects from the counters hash, with a single HGET.
+     *
+     * @return The number of {@link Entry} objects, 0 if the counter doesn't exist.
+     */
+    public long countEntries() {
+        return toCounter(redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hashCommands().hGet(toBytes(STATS_KEY),
+                toBytes(STATS_ENTRIES_FIELD))));
+    }
+
+    /**
+     * Corrects the number of {@link Entry} objects in the counters hash to the size of the sorted value index. The two
+     * are compared and corrected by a script, so a mutation applied meanwhile isn't lost. The mutation counters have
+     * nothing to be reconciled against, so they are left unchanged.
+     *
+     * @return The drift corrected, the number of indexed values less the counted {@link Entry} objects.
+     */
+    public long reconcileStats() {
+        Long drift = redisTemplate.execute(STATS_RECONCILE_SCRIPT, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                Arrays.asList(VALUE_INDEX_KEY, STATS_KEY));
+        return Optional.ofNullable(drift).orElse(0L);
+    }
+
+    /**
+     * Searches for the values containing a query, ignoring case, using the trigram index, and returns the first values
+     * after a value in order. The number of candidate documents, those holding every trigram of the query, is estimated
+     * from the smallest posting set. A page of matches is expected within about count * values / candidates values of
+     * the sorted value index, so when that is fewer reads than the candidates, the value index is walked in order after
+     * the last value until the page is found. Otherwise the posting sets are intersected with SINTER, and the values of
+     * the candidates are read in pipelined batches and checked, keeping only the first values of the page. No
+     * {@link Entry} record is read.
+     *
+     * @param query     - The {@link String} query, with at least {@link EntrySearchUtils#TRIGRAM_LENGTH} code points.
+     * @param lastValue - The exclusive {@link String} value to start after, or null to start from the first value.
+     * @param count     - The maximum number of values to be returned.
+     * @return A {@link List} of the {@link String} values containing the query, in code point order.
+     * @throws IllegalArgumentException Thrown if the query is too short to be searched.
+     */
+    public List<String> searchValues(String query, String lastValue, int count) {
+        if (!EntrySearchUtils.isSearchable(query)) {
+            throw new IllegalArgumentException("Search query must have at least " + EntrySearchUtils.TRIGRAM_LENGTH + " characters.");
+        }
+
+        byte[][] trigramKeys = getTrigramKeys(EntrySearchUtils.trigrams(query)).stream()
+                .map(EntryRedisOperations::toBytes)
+                .toArray(byte[][]::new);
+        List<Object> postingSizes = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (byte[] trigramKey : trigramKeys) {
+                connection.setCommands().sCard(trigramKey);
+            }
+            return connection.closePipeline();
+        });
+        long candidates = postingSizes == null ? 0 : postingSizes.stream()
+                .mapToLong(postingSize -> postingSize instanceof Long ? (Long) postingSize : 0L)
+                .min()
+                .orElse(0L);
+        if (candidates == 0 || count < 1) {
+            return new ArrayList<>();
+        }
+
+        if ((double) count * countEntries() <= (double) candidates * candidates) {
+            return scanValues(query, lastValue, count);
+        }
+        return checkCandidates(trigramKeys, query, lastValue, count);
+    }
+
+    /**
+     * Walks the sorted value index after a value in batches, until enough values containing a query are found.
+     *
+     * @param query     - The {@link String} query.
+     * @param lastValue - The exclusive {@link String} value to start after, or null to start from the first value.
+     * @param count     - The maximum number of values to be returned.
+     * @return A {@link List} of the {@link String} values containing the query, in code point order.
+     */
+    private List<String> scanValues(String query, String lastValue, int count) {
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkReadBatchSize());
+        List<String> values = new ArrayList<>();
+        String afterValue = lastValue;
+        int scanned = 0;
+        while (values.size() < count) {
+            List<String> batch = getValuesAfter(afterValue, batchSize);
+            scanned += batch.size();
+            for (String value : batch) {
+                if (EntrySearchUtils.matches(value, query) && values.size() < count) {
+                    values.add(value);
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            afterValue = batch.get(batch.size() - 1);
+        }
+        LOGGER.debug("Scanned {} values for {} values.", scanned, values.size());
+        return values;
+    }
+
+    /**
+     * Checks the candidate documents of the intersected posting sets of a query in pipelined batches, keeping only the
+     * first values after a value, so no more than the requested values are held.
+     *
+     * @param trigramKeys - The byte array keys of the posting sets of the trigrams of the query.
+     * @param query       - The {@link String} query.
+     * @param lastValue   - The exclusive {@link String} value to start after, or null to start from the first value.
+     * @param count       - The maximum number of values to be returned.
+     * @return A {@link List} of the {@link String} values containing the query, in code point order.
+     */
+    private List<String> checkCandidates(byte[][] trigramKeys, String query, String lastValue, int count) {
+        Set<byte[]> documents = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection ->
+                connection.setCommands().sInter(trigramKeys));
+        TreeSet<String> values = new TreeSet<>(EntryRangeUtils.VALUE_ORDER);
+        if (documents == null || documents.isEmpty()) {
+            return new ArrayList<>(values);
+        }
+
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkReadBatchSize());
+        List<byte[]> candidates = new ArrayList<>(documents);
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            byte[][] batch = candidates.subList(from, Math.min(from + batchSize, candidates.size())).toArray(new byte[0][]);
+            List<byte[]> candidateValues = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.hashCommands().hMGet(toBytes(DOCUMENT_VALUE_INDEX_KEY), batch));
+            if (candidateValues == null) {
+                continue;
+            }
+
+            for (byte[] candidateValue : candidateValues) {
+                // A candidate has every trigram of the query, but not necessarily in order.
+                if (candidateValue != null) {
+                    String value = new String(candidateValue, StandardCharsets.UTF_8);
+                    boolean isAfter = lastValue == null || EntryRangeUtils.compare(value, lastValue) > 0;
+                    boolean isInPage = values.size() < count || EntryRangeUtils.compare(value, values.last()) < 0;
+                    if (isAfter && isInPage && EntrySearchUtils.matches(value, query) && values.add(value) && values.size() > count) {
+                        values.pollLast();
+                    }
+                }
+            }
+        }
+        LOGGER.debug("Searched {} candidate documents for {} values.", candidates.size(), values.size());
+        return new ArrayList<>(values);
+    }
+
+    /**
+     * Rebuilds the trigram search index from the keyspace index if the search index doesn't exist, or if forced. A
+     * forced rebuild first removes the search index, including any stale postings. Values are indexed in pipelined
+     * batches, so the rebuild doesn't block Redis for large data sets.
+     *
+     * @param force - If true, the search index is removed and rebuilt even if it exists.
+     * @return The number of values added to the search index.
+     */
+    public long rebuildSearchIndex(boolean force) {
+        if (force) {
+            deleteSearchIndex();
+        } else if (Boolean.TRUE.equals(redisTemplate.hasKey(DOCUMENT_SEQUENCE_KEY))) {
+            return 0;
+        }
+
+        long indexed = scanKeyspace(this::addToSearchIndex);
+        LOGGER.info("Rebuilt the search index with {} Entry values.", indexed);
+        return indexed;
+    }
+
+    /**
+     * Rebuilds the sorted value index from the keyspace index if the sorted value index doesn't exist. Values are added in
+     * batches, so the rebuild doesn't block Redis for large data sets, and a value deleted during the rebuild isn't added.
+     *
+     * @return The number of values added to the sorted value index.
+     */
+    public long rebuildValueIndex() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(VALUE_INDEX_KEY))) {
+            return 0;
+        }
+
+        long indexed = scanKeyspace(this::addToValueIndex);
+        LOGGER.info("Rebuilt the sorted value index with {} Entry values.", indexed);
+        return indexed;
+    }
+
+    /**
+     * Rebuilds the id index from the keyspace index if the id index doesn't exist. The ids are read and indexed in
+     * batches by a script, so the rebuild doesn't block Redis for large data sets, and a value deleted during the rebuild
+     * never leaves its id indexed.
+     *
+     * @return The number of values added to the id index.
+     */
+    public long rebuildIdIndex() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(ID_INDEX_KEY))) {
+            return 0;
+        }
+
+        long indexed = scanKeyspace(this::addToIdIndex);
+        LOGGER.info("Rebuilt the id index with {} Entry values.", indexed);
+        return indexed;
+    }
+
+    /**
+     * Rebuilds the last modified index from the keyspace index if the last modified index doesn't exist. The time of each
+     * {@link Entry} is the timestamp of the latest {@link Audit} of its audit log, or of its record for an {@link Entry}
+     * without an id, so it must run after {@link #migrateLayout()}.
+     *
+     * @return The number of values added to the last modified index.
+     */
+    public long rebuildModifiedIndex() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(MODIFIED_INDEX_KEY))) {
+            return 0;
+        }
+
+        long indexed = scanKeyspace(this::addToModifiedIndex);
+        LOGGER.info("Rebuilt the last modified index with {} Entry values.", indexed);
+        return indexed;
+    }
+
+    /**
+     * Scans the keyspace index in batches, so large data sets can be processed without blocking Redis.
+     *
+     * @param batchConsumer - The {@link Consumer} of each {@link List} of {@link String} values.
+     * @return The number of values scanned.
+     */
+    protected long scanKeyspace(Consumer<List<String>> batchConsumer) {
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkReadBatchSize());
+        long scanned = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Cursor<Object> cursor = redisTemplate.opsForSet().scan(ENTRY_KEYSPACE, ScanOptions.scanOptions().count(batchSize).build())) {
+            while (cursor.hasNext()) {
+                batch.add((String) cursor.next());
+                if (batch.size() == batchSize || !cursor.hasNext()) {
+                    batchConsumer.accept(batch);
+                    scanned += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error closing the cursor during the scan of the keyspace index.");
+        }
+        return scanned;
+    }
+
+    /**
+     * Adds a batch of values to the sorted value index in a single script call, which skips the values deleted since they
+     * were scanned.
+     *
+     * @param values - The {@link List} of {@link String} values to be added.
+     */
+    protected void addToValueIndex(List<String> values) {
+        addToIndex(VALUE_INDEX_KEY, "value", values, null);
+    }
+
+    /**
+     * Adds a batch of values to the id index in a single script call, which reads each id from the record, so a value
+     * deleted or an id changed since the values were scanned is never indexed.
+     *
+     * @param values - The {@link List} of {@link String} values to be added.
+     */
+    protected void addToIdIndex(List<String> values) {
+        addToIndex(ID_INDEX_KEY, "id", values, null);
+    }
+
+    /**
+     * Adds a batch of values to the last modified index, reading the records, then the latest {@link Audit} of each
+     * audit log, in one pipelined round trip each, then writing the index in a single script call, which skips the values
+     * deleted since they were read and keeps the time of a value indexed since. An {@link Entry} whose {@link Audit}
+     * objects have all been archived or expired is indexed as modified at the epoch.
+     *
+     * @param values - The {@link List} of {@link String} values to be added.
+     */
+    protected void addToModifiedIndex(List<String> values) {
+        EntryCodec entryCodec = getEntryCodec();
+        List<Object> records = readRecords(entryCodec, values);
+        if (records == null) {
+            return;
+        }
+
+        List<Optional<Entry>> entries = new ArrayList<>(records.size());
+        for (int index = 0; index < records.size(); index++) {
+            entries.add(entryCodec.decode(values.get(index), records.get(index)));
+        }
+        List<Object> lastAudits = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (Optional<Entry> entry : entries) {
+                connection.listCommands().lIndex(toBytes(getAuditLogKey(entry.map(Entry::getId).orElse(""))), -1);
+            }
+            return connection.closePipeline();
+        });
+
+        List<String> indexedValues = new ArrayList<>(entries.size());
+        List<Long> scores = new ArrayList<>(entries.size());
+        for (int index = 0; index < entries.size(); index++) {
+            if (!entries.get(index).isPresent()) {
+                continue;
+            }
+            Entry entry = entries.get(index).get();
+            Object lastAudit = lastAudits != null && index < lastAudits.size() ? lastAudits.get(index) : null;
+            Optional<Audit> audit = lastAudit instanceof byte[]
+                    ? Optional.of(EntryBinaryUtils.fromCompactBytes((byte[]) lastAudit))
+                    : entry.getAudits().getAuditList().stream()
+                    .filter(recordAudit -> recordAudit.getAuditId() != null)
+                    .max(Comparator.comparing(Audit::getAuditId));
+            indexedValues.add(values.get(index));
+            scores.add(audit.map(Audit::getTimestamp).map(EntryRedisOperations::toEpochMillis).orElse(0L));
+        }
+        addToIndex(MODIFIED_INDEX_KEY, "modified", indexedValues, scores);
+    }
+
+    /**
+     * Adds a batch of values to an index being rebuilt with the index script of the {@link EntryCodec}. The script only
+     * indexes the values still in the keyspace index and never changes an existing member, so a rebuild racing the
+     * {@link Entry} scripts, on this or another node, never leaves a deleted value or a stale id in the index.
+     *
+     * @param indexKey - The {@link String} key of the index.
+     * @param type     - The {@link String} index type understood by the script.
+     * @param values   - The {@link List} of {@link String} values to be added.
+     * @param scores   - The {@link List} of {@link Long} last modified scores of the values, or null for other indexes.
+     */
+    protected void addToIndex(String indexKey, String type, List<String> values, List<Long> scores) {
+        if (values.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(values.size() + 2);
+        keys.add(ENTRY_KEYSPACE);
+        keys.add(indexKey);
+        List<Object> arguments = new ArrayList<>(values.size() * 2 + 1);
+        arguments.add(toBytes(type));
+        for (int index = 0; index < values.size(); index++) {
+            keys.add(getEntryKey(values.get(index)));
+            arguments.add(toBytes(values.get(index)));
+            if (scores != null) {
+                arguments.add(toBytes(String.valueOf(scores.get(index))));
+            }
+        }
+        redisTemplate.execute(getEntryCodec().getIndexScript(), RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                keys, arguments.toArray());
+    }
+
+    /**
+     * Adds a batch of values without a document number to the search index. The document numbers are read in one
+     * pipelined round trip, a range of document numbers is reserved for the values without one, and the values are
+     * indexed in a final pipelined round trip.
+     *
+     * @param values - The {@link List} of {@link String} values to be added.
+     */
+    protected void addToSearchIndex(List<String> values) {
+        List<Object> documents = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (String value : values) {
+                connection.hashCommands().hGet(toBytes(DOCUMENT_INDEX_KEY), toBytes(value));
+            }
+            return connection.closePipeline();
+        });
+        if (documents == null) {
+            return;
+        }
+
+        List<String> unindexedValues = new ArrayList<>();
+        for (int index = 0; index < documents.size(); index++) {
+            if (documents.get(index) == null) {
+                unindexedValues.add(values.get(index));
+            }
+        }
+        if (unindexedValues.isEmpty()) {
+            return;
+        }
+
+        long lastDocument = Optional.ofNullable(redisTemplate.opsForValue().increment(DOCUMENT_SEQUENCE_KEY, unindexedValues.size()))
+                .orElseThrow(() -> new IllegalStateException("Search document sequence could not be incremented."));
+        redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            long document = lastDocument - unindexedValues.size();
+            for (String value : unindexedValues) {
+                byte[] documentBytes = toBytes(String.valueOf(++document));
+                connection.hashCommands().hSet(toBytes(DOCUMENT_INDEX_KEY), toBytes(value), documentBytes);
+                connection.hashCommands().hSet(toBytes(DOCUMENT_VALUE_INDEX_KEY), documentBytes, toBytes(value));
+                for (String trigramKey : getTrigramKeys(EntrySearchUtils.trigrams(value))) {
+                    connection.setCommands().sAdd(toBytes(trigramKey), documentBytes);
+                }
+            }
+            return connection.closePipeline();
+        });
+    }
+
+    /**
+     * Removes the trigram posting sets and the document indexes of the search index. The document sequence is kept, so
+     * document numbers are never reused.
+     */
+    protected void deleteSearchIndex() {
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkReadBatchSize());
+        List<String> batch = new ArrayList<>(batchSize);
+        ScanOptions scanOptions = ScanOptions.scanOptions().match(TRIGRAM_INDEX_KEY_PREFIX + "*").count(batchSize).build();
+        try (Cursor<byte[]> cursor = redisTemplate.executeWithStickyConnection(connection -> connection.scan(scanOptions))) {
+            while (cursor != null && cursor.hasNext()) {
+                batch.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                if (batch.size() == batchSize || !cursor.hasNext()) {
+                    redisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error closing the cursor during the scan of the search index.");
+        }
+        redisTemplate.unlink(Arrays.asList(DOCUMENT_INDEX_KEY, DOCUMENT_VALUE_INDEX_KEY));
+    }
+
+    /**
+     * Converts the {@link Entry} records written in the layout of another {@link EntryCodec} to the layout of the selected
+     * {@link EntryCodec}, and moves the {@link Audit} objects held in records written before the audit log to the audit
+     * log. The Redis types of the records are read in pipelined batches, and each record to be converted is converted by a
+     * script which checks the record is unchanged since it was read. Records changed during a batch are retried in
+     * another pass. Once every record is converted the layout is recorded, so later calls return without scanning the
+     * keyspace.
+     *
+     * @return The number of {@link Entry} records converted.
+     */
+    public long migrateLayout() {
+        if (isLayoutCurrent()) {
+            return 0;
+        }
+        EntryCodec entryCodec = getEntryCodec();
+        String layout = getLayout(entryCodec);
+
+        AtomicLong migrated = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        int passes = 0;
+        do {
+            skipped.set(0);
+            scanKeyspace(values -> migrateLayout(entryCodec, values, migrated, skipped));
+            passes++;
+        } while (skipped.get() > 0 && passes < MAX_MIGRATION_PASSES);
+
+        if (skipped.get() > 0) {
+            LOGGER.error("Error converting {} Entry records to the {} layout during the Migrate Operation.", skipped.get(), entryCodec.getName());
+        } else {
+            redisTemplate.opsForValue().set(LAYOUT_KEY, layout);
+            LOGGER.info("Converted {} Entry records to the {} layout in {} passes.", migrated.get(), entryCodec.getName(), passes);
+        }
+        return migrated.get();
+    }
+
+    /**
+     * Checks every {@link Entry} record is in the layout of the selected {@link EntryCodec}, and no record holds
+     * {@link Audit} objects which belong in the audit log.
+     *
+     * @return If true, the layout recorded by {@link #migrateLayout()} is current.
+     */
+    public boolean isLayoutCurrent() {
+        return getLayout(getEntryCodec()).equals(redisTemplate.opsForValue().get(LAYOUT_KEY));
+    }
+
+    private static String getLayout(EntryCodec entryCodec) {
+        return entryCodec.getName() + KEY_SEPARATOR + AUDIT_LOG_LAYOUT_VERSION;
+    }
+
+    /**
+     * Converts a batch of {@link Entry} records in another layout, or holding {@link Audit} objects, to the layout of the
+     * {@link EntryCodec}, reading the types, reading the records and converting them in one pipelined round trip each.
+     *
+     * @param entryCodec - The {@link EntryCodec} of the layout to convert to.
+     * @param values     - The {@link List} of {@link String} values to be converted.
+     * @param migrated   - The {@link AtomicLong} count of converted records.
+     * @param skipped    - The {@link AtomicLong} count of records which changed and need another pass.
+     */
+    protected void migrateLayout(EntryCodec entryCodec, List<String> values, AtomicLong migrated, AtomicLong skipped) {
+        List<Object> types = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (String value : values) {
+                connection.keyCommands().type(toBytes(getEntryKey(value)));
+            }
+            return connection.closePipeline();
+        });
+        if (types == null) {
+            return;
+        }
+
+        for (EntryCodec sourceCodec : entryCodecs) {
+            List<String> sourceValues = new ArrayList<>();
+            for (int index = 0; index < types.size(); index++) {
+                if (types.get(index) instanceof DataType && sourceCodec.getRedisType().equals(((DataType) types.get(index)).code())) {
+                    sourceValues.add(values.get(index));
+                }
+            }
+            if (sourceValues.isEmpty()) {
+                continue;
+            }
+
+            List<Object> records = readRecords(sourceCodec, sourceValues);
+            List<EntryScriptCall> calls = new ArrayList<>(sourceValues.size());
+            for (int index = 0; index < sourceValues.size(); index++) {
+                Object record = records == null || index >= records.size() ? null : records.get(index);
+                Optional<Entry> entry = sourceCodec.decode(sourceValues.get(index), record);
+                if (!entry.isPresent()) {
+                    skipped.incrementAndGet();
+                    continue;
+                }
+                // An Entry without an id has no audit log, so its record keeps the Audits.
+                List<Audit> audits = entry.get().getId() == null ? Collections.emptyList() : entry.get().getAudits().getAuditList();
+                if (sourceCodec == entryCodec && audits.isEmpty()) {
+                    continue;
+                }
+
+                String id = Optional.ofNullable(entry.get().getId()).orElse("");
+                List<Object> arguments = new ArrayList<>();
+                arguments.add(toBytes(sourceCodec.getRedisType()));
+                arguments.add(toBytes(String.valueOf(sourceCodec.getRecordLength(record))));
+                arguments.add(toBytes(String.valueOf(audits.size())));
+                int lastAuditId = 0;
+                for (Audit audit : audits) {
+                    arguments.add(EntryBinaryUtils.toCompactBytes(audit));
+                    lastAuditId = Math.max(lastAuditId, Optional.ofNullable(audit.getAuditId()).orElse(0));
+                }
+                arguments.add(toBytes(String.valueOf(lastAuditId)));
+                arguments.addAll(entryCodec.encode(audits.isEmpty() ? entry.get() : new Entry(entry.get().getValue(), entry.get().getId())));
+                calls.add(new EntryScriptCall(entryCodec.getMigrateScript(),
+                        Arrays.asList(getEntryKey(sourceValues.get(index)), getAuditLogKey(id), getAuditSequenceKey(id)), arguments));
+            }
+            for (Object result : executeBatch(calls)) {
+                if (isInserted(result)) {
+                    migrated.incrementAndGet();
+                } else {
+                    skipped.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads every {@link Entry} in the keyspace index using pipelined batches of record reads.
+     *
+     * @param entries - The {@link List} the {@link Entry} objects are decoded into.
+     */
+    public void getAll(List<Entry> entries) {
+        Set<byte[]> members = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection ->
+                connection.setCommands().sMembers(toBytes(ENTRY_KEYSPACE)));
+
+        List<String> values = new ArrayList<>();
+        if (members != null) {
+            for (byte[] member : members) {
+                values.add(new String(member, StandardCharsets.UTF_8));
+            }
+        }
+        // Include the read of the keyspace index.
+        getAll(values, entries, 1);
+    }
+
+    /**
+     * Reads the {@link Entry} for each value using pipelined batches of record reads. Values without an {@link Entry} are skipped.
+     *
+     * @param values  - The {@link Collection} of {@link String} values to be read.
+     * @param entries - The {@link List} the {@link Entry} objects are decoded into, in the order of the values.
+     */
+    public void getAll(Collection<String> values, List<Entry> entries) {
+        getAll(values, entries, 0);
+    }
+
+    /**
+     * Reads the {@link Entry} for each value using pipelined batches of record reads and records the round trips.
+     *
+     * @param values     - The {@link Collection} of {@link String} values to be read.
+     * @param entries    - The {@link List} the {@link Entry} objects are decoded into, in the order of the values.
+     * @param roundTrips - The number of round trips already made by the caller.
+     */
+    protected void getAll(Collection<String> values, List<Entry> entries, int roundTrips) {
+        long start = System.nanoTime();
+        EntryCodec entryCodec = getEntryCodec();
+        int batchSize = Math.max(1, demoApplicationConfig.getBulkReadBatchSize());
+        int batches = 0;
+
+        Iterator<String> iterator = values.iterator();
+        List<String> batch = new ArrayList<>(Math.min(batchSize, values.size()));
+        while (iterator.hasNext()) {
+            batch.clear();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+            }
+
+            List<Object> results = readRecords(entryCodec, batch);
+            batches++;
+            if (results == null) {
+                continue;
+            }
+
+            for (int index = 0; index < results.size(); index++) {
+                entryCodec.decode(batch.get(index), results.get(index)).ifPresent(entries::add);
+            }
+        }
+
+        roundTrips += batches;
+        meterRegistry.summary(BULK_READ_BATCHES_METRIC).record(batches);
+        meterRegistry.summary(BULK_READ_ROUND_TRIPS_METRIC).record(roundTrips);
+        meterRegistry.timer(BULK_READ_TIMER_METRIC).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        LOGGER.debug("Bulk read {} of {} Entry values in {} batches of {} with {} round trips.",
+                entries.size(), values.size(), batches, batchSize, roundTrips);
+    }
+
+    /**
+     * Gets the Redis key of the record for a given {@link Entry} value.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @return The {@link String} key of the record.
+     */
+    public static String getEntryKey(String value) {
+        return ENTRY_KEYSPACE + KEY_SEPARATOR + value;
+    }
+
+    /**
+     * Gets the Redis key of the audit log for a given {@link Entry} id.
+     *
+     * @param id - The {@link String} id of the {@link Entry}.
+     * @return The {@link String} key of the audit log.
+     */
+    public static String getAuditLogKey(String id) {
+        return AUDIT_LOG_KEY_PREFIX + id;
+    }
+
+    /**
+     * Gets the Redis key of the audit sequence for a given {@link Entry} id.
+     *
+     * @param id - The {@link String} id of the {@link Entry}.
+     * @return The {@link String} key of the audit sequence.
+     */
+    public static String getAuditSequenceKey(String id) {
+        return AUDIT_SEQUENCE_KEY_PREFIX + id;
+    }
+
+    /**
+     * Gets the score of an {@link Entry} in the last modified index, the timestamp of the {@link Audit} of its latest
+     * change in epoch milliseconds.
+     *
+     * @param audit - The {@link Audit} of the change.
+     * @return The score in epoch milliseconds, the current time if the {@link Audit} has no timestamp.
+     */
+    protected static long getModifiedScore(Audit audit) {
+        return Optional.ofNullable(audit)
+                .map(Audit::getTimestamp)
+                .map(EntryRedisOperations::toEpochMillis)
+                .orElseGet(System::currentTimeMillis);
+    }
+
+    /**
+     * Converts a counter of the counters hash to a long.
+     *
+     * @param counter - The counter as a decimal string in bytes, or null if it doesn't exist.
+     * @return The counter, 0 if it doesn't exist.
+     */
+    protected static long toCounter(byte[] counter) {
+        return counter == null ? 0 : Long.parseLong(new String(counter, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts a UTC {@link LocalDateTime} to epoch milliseconds.
+     *
+     * @param timestamp - The UTC {@link LocalDateTime}.
+     * @return The epoch milliseconds.
+     */
+    public static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Gets the Redis keys of the posting sets for trigrams of the search index.
+     *
+     * @param trigrams - The {@link Collection} of {@link String} trigrams.
+     * @return A {@link List} of the {@link String} keys of the posting sets.
+     */
+    protected static List<String> getTrigramKeys(Collection<String> trigrams) {
+        List<String> keys = new ArrayList<>(trigrams.size());
+        for (String trigram : trigrams) {
+            keys.add(TRIGRAM_INDEX_KEY_PREFIX + trigram);
+        }
+        return keys;
+    }
+
+    /**
+     * Reads the records for a batch of values in a single pipelined round trip.
+     *
+     * @param entryCodec - The {@link EntryCodec} of the layout of the records.
+     * @param values     - The {@link List} of {@link String} values to be read.
+     * @return A {@link List} of the raw records in the order of the values. A read which failed, such as a read of a
+     * record in another layout, has an {@link Exception} result which no {@link EntryCodec} decodes.
+     */
+    protected List<Object> readRecords(EntryCodec entryCodec, List<String> values) {
+        // The pipeline is managed on the connection so the raw records are returned without deserialization.
+        return redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            for (String value : values) {
+                entryCodec.read(connection, toBytes(getEntryKey(value)));
+            }
+            try {
+                return connection.closePipeline();
+            } catch (RedisPipelineException exception) {
+                // A record in another layout fails the whole pipeline, so the batch is read again one record at a time.
+                LOGGER.error("Error reading a pipelined batch of Entry records during the Get All Operation.");
+                List<Object> records = new ArrayList<>(values.size());
+                for (String value : values) {
+                    try {
+                        records.add(entryCodec.read(connection, toBytes(getEntryKey(value))));
+                    } catch (DataAccessException readException) {
+                        records.add(readException);
+                    }
+                }
+                return records;
+            }
+        });
+    }
+
+    /**
+     * Gets the {@link EntryCodec} selected by the property api.datastore.codec, the hash layout by default.
+     *
+     * @return The selected {@link EntryCodec}.
+     * @throws IllegalStateException Thrown if no {@link EntryCodec} has the selected name.
+     */
+    protected EntryCodec getEntryCodec() {
+        String name = Optional.ofNullable(demoApplicationConfig.getEntryCodec()).orElse(HashEntryCodec.NAME);
+        return entryCodecs.stream()
+                .filter(entryCodec -> entryCodec.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No Entry codec is named " + name + "."));
+    }
+
+    /**
+     * Converts a {@link String} to its UTF-8 bytes.
+     *
+     * @param value - The {@link String} to be converted.
+     * @return The byte array.
+     */
+    protected static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates the lexicographic {@link RedisZSetCommands.Range} of the sorted value index for the bounds of a range.
+     *
+     * @param from          - The {@link String} lower bound, or null for no lower bound.
+     * @param fromInclusive - If true, the lower bound is inclusive, else exclusive.
+     * @param to            - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @return The {@link RedisZSetCommands.Range}.
+     */
+    private RedisZSetCommands.Range toRange(String from, boolean fromInclusive, String to) {
+        RedisZSetCommands.Range range = RedisZSetCommands.Range.range();
+        if (from != null) {
+            range = fromInclusive ? range.gte(from) : range.gt(from);
+        }
+        if (to != null) {
+            range = range.lt(to);
+        }
+        return range;
+    }
+}
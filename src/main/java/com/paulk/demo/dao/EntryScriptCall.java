@@ -0,0 +1,55 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Entry;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * A single call of an {@link Entry} script, with the keys and encoded arguments it is executed with.
+ */
+public class EntryScriptCall {
+    private final RedisScript<?> script;
+    private final List<String> keys;
+    private final List<Object> arguments;
+
+    /**
+     * Constructor for {@link EntryScriptCall}.
+     *
+     * @param script    - The {@link RedisScript} to be executed.
+     * @param keys      - The {@link List} of {@link String} keys of the script.
+     * @param arguments - The {@link List} of encoded arguments of the script.
+     */
+    public EntryScriptCall(RedisScript<?> script, List<String> keys, List<Object> arguments) {
+        this.script = script;
+        this.keys = keys;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Get the {@link RedisScript} for the {@link EntryScriptCall}.
+     *
+     * @return The {@link RedisScript}.
+     */
+    public RedisScript<?> getScript() {
+        return script;
+    }
+
+    /**
+     * Get the keys for the {@link EntryScriptCall}.
+     *
+     * @return The {@link List} of {@link String} keys.
+     */
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Get the encoded arguments for the {@link EntryScriptCall}.
+     *
+     * @return The {@link List} of encoded arguments.
+     */
+    public List<Object> getArguments() {
+        return arguments;
+    }
+}
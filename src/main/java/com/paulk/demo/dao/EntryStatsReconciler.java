@@ -0,0 +1,97 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Component} which periodically corrects the number of {@link Entry} objects counted by the mutation scripts
+ * to the size of the sorted value index, with {@link EntryRedisOperations#reconcileStats()}. Selected with the property
+ * api.datastore.type=redis.
+ * <p>
+ * The count only drifts when the data is changed without the scripts, e.g. written by a version without the counters or
+ * edited by hand, so every api.datastore.stats.reconcile.interval.ms is frequent enough. An interval of 0 disables it,
+ * leaving only the reconciliation on startup.
+ */
+@Component
+@ConditionalOnProperty(name = "api.datastore.type", havingValue = "redis", matchIfMissing = true)
+public class EntryStatsReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryStatsReconciler.class);
+
+    protected static final String DRIFT_METRIC = "entries.stats.reconcile.drift";
+    protected static final String RECONCILE_FAILURES_METRIC = "entries.stats.reconcile.failures";
+
+    @Autowired
+    protected EntryRedisOperations entryRedisOperations;
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService reconciler;
+
+    /**
+     * Schedules the reconciler, unless the interval is 0.
+     */
+    @PostConstruct
+    public void start() {
+        long interval = demoApplicationConfig.getStatsReconcileIntervalMillis();
+        if (interval <= 0) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entry-stats-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the reconciler.
+     *
+     * @throws InterruptedException Thrown if interrupted while waiting for a running reconciliation.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (reconciler != null) {
+            reconciler.shutdown();
+            reconciler.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Corrects the number of {@link Entry} objects counted to the size of the sorted value index.
+     *
+     * @return The drift corrected, 0 if the count was correct or couldn't be reconciled.
+     */
+    public long reconcile() {
+        try {
+            long drift = entryRedisOperations.reconcileStats();
+            if (drift != 0) {
+                LOGGER.warn("Corrected a drift of {} in the Entry count.", drift);
+                meterRegistry.counter(DRIFT_METRIC).increment(Math.abs(drift));
+            }
+            return drift;
+        } catch (DataAccessException exception) {
+            LOGGER.error("Error correcting the Entry count during the Reconcile Operation.", exception);
+            meterRegistry.counter(RECONCILE_FAILURES_METRIC).increment();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,652 @@
+package com.paulk.demo.dao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.utils.ObjectMapperInstance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link Component} which keeps an {@link EntryBloomFilter} of the values of every {@link Entry}, so a read of a value
+ * which was never added is answered as absent without a round trip to Redis. Selected with the properties
+ * api.datastore.type=redis and api.datastore.filter.enabled=true.
+ * <p>
+ * The filter is built from the sorted value index on startup, and answers nothing until it is built. A value added by a
+ * mutation is added to the filter once the data store has added it, and a removed value is removed
+ * api.datastore.filter.removal.delay.ms later, so a removal can't overtake the addition of the same value by another
+ * thread or node and decrement a counter shared with another value.
+ * <p>
+ * The filter is only exact for the mutations made on this node. The changes are published to the other nodes every
+ * api.datastore.filter.publish.interval.ms, so an {@link Entry} added on another node is answered as absent, a false
+ * negative, until its change is received: for the publish interval plus the pub/sub delivery time. The filter is
+ * therefore disabled by default, and should only be enabled on a single node or where that window is acceptable.
+ * <p>
+ * Pub/sub doesn't redeliver a lost message, so each node numbers the changes it publishes, and every
+ * api.datastore.filter.heartbeat.interval.ms publishes a heartbeat with the number of its last change. A change which
+ * hasn't arrived a heartbeat interval after a later change or heartbeat of its node is lost, and a node which doesn't
+ * receive its own heartbeats for three intervals has lost its subscription. Either way the filter answers nothing as
+ * absent until it is rebuilt from a value index read after the loss was detected, and while the subscription is lost.
+ * <p>
+ * When the filter holds more values than it is sized for, or every api.datastore.filter.rebuild.interval.ms, it is
+ * rebuilt from the value index sized for twice the {@link Entry} count, which also drops the removed values whose
+ * counters were left set and the values of any change which was lost. While a rebuild reads the value index the added
+ * values are applied to both filters. A value removed meanwhile is added to the rebuilt filter too, and its pending
+ * removal is tied to both filters, so it is taken back from whichever of them is current once it is due without
+ * decrementing a value the rebuilt filter never read. A removal published by another node is not applied to a filter
+ * rebuilt within the removal delay before it was received, as the value may have been removed before the value index
+ * was read.
+ */
+@Component
+@ConditionalOnExpression("'${api.datastore.type:redis}' == 'redis' and ${api.datastore.filter.enabled:false}")
+public class EntryValueFilter implements MessageListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryValueFilter.class);
+
+    public static final String CHANGES_CHANNEL = "EntryIndex:filterChanges";
+
+    protected static final String NEGATIVES_METRIC = "entries.filter.negatives";
+    protected static final String FALSE_POSITIVES_METRIC = "entries.filter.false.positives";
+    protected static final String FALSE_POSITIVE_RATE_METRIC = "entries.filter.false.positive.rate";
+    protected static final String EXPECTED_FALSE_POSITIVE_RATE_METRIC = "entries.filter.expected.false.positive.rate";
+    protected static final String SIZE_METRIC = "entries.filter.size";
+    protected static final String CAPACITY_METRIC = "entries.filter.capacity";
+    protected static final String REBUILD_TIMER_METRIC = "entries.filter.rebuild";
+    protected static final String REBUILD_FAILURES_METRIC = "entries.filter.rebuild.failures";
+    protected static final String PUBLISH_FAILURES_METRIC = "entries.filter.publish.failures";
+    protected static final String LOST_CHANGES_METRIC = "entries.filter.lost.changes";
+
+    private static final String NODE_FIELD = "node";
+    private static final String ADDED_FIELD = "added";
+    private static final String REMOVED_FIELD = "removed";
+    private static final String SEQUENCE_FIELD = "sequence";
+    private static final String HEARTBEAT_FIELD = "heartbeat";
+    // The heartbeat intervals without an own heartbeat after which the subscription is lost.
+    private static final int LOST_SUBSCRIPTION_HEARTBEATS = 3;
+
+    @Autowired
+    protected EntryRedisOperations entryRedisOperations;
+
+    @Autowired
+    protected RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    protected RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // Changes take the read lock and the filters are replaced under the write lock.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final Queue<String> pendingAdded = new ConcurrentLinkedQueue<>();
+    private final Queue<String> pendingRemoved = new ConcurrentLinkedQueue<>();
+    // In the order they are due, as each is delayed by the same time.
+    private final Queue<PendingRemoval> pendingRemovals = new ConcurrentLinkedQueue<>();
+    private final Object publishLock = new Object();
+    // Guarded by the publish lock, the number of the last change published.
+    private long publishedSequence;
+    private final Map<String, NodeSequence> nodeSequences = new ConcurrentHashMap<>();
+    // Incremented under the write lock whenever a change is lost, so only a rebuild which read the value index after
+    // the loss trusts the filter again.
+    private final AtomicLong losses = new AtomicLong();
+
+    // Null until the first rebuild completes.
+    private volatile EntryBloomFilter filter;
+    // Guarded by the lock, set while a rebuild reads the value index.
+    private EntryBloomFilter rebuildingFilter;
+    // The time the current filter replaced the previous one, in epoch milliseconds.
+    private volatile long filterReplacedAt;
+    // Set under the write lock, false from a lost change until a rebuild read the value index after it.
+    private volatile boolean trusted = true;
+    private volatile boolean subscriptionLost;
+    private volatile long ownHeartbeatReceivedAt = System.currentTimeMillis();
+    private Counter negatives;
+    private Counter falsePositives;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Registers the metrics, subscribes to the changes of the other nodes, and schedules the publisher, the removals, the
+     * heartbeats and the rebuilds, unless the rebuild interval is 0.
+     */
+    @PostConstruct
+    public void start() {
+        negatives = meterRegistry.counter(NEGATIVES_METRIC);
+        falsePositives = meterRegistry.counter(FALSE_POSITIVES_METRIC);
+        meterRegistry.gauge(FALSE_POSITIVE_RATE_METRIC, this, EntryValueFilter::getFalsePositiveRate);
+        meterRegistry.gauge(EXPECTED_FALSE_POSITIVE_RATE_METRIC, this,
+                entryValueFilter -> entryValueFilter.filter == null ? 0 : entryValueFilter.filter.getExpectedFalsePositiveRate());
+        meterRegistry.gauge(SIZE_METRIC, this, entryValueFilter -> entryValueFilter.filter == null ? 0 : entryValueFilter.filter.size());
+        meterRegistry.gauge(CAPACITY_METRIC, this, entryValueFilter -> entryValueFilter.filter == null ? 0 : entryValueFilter.filter.getCapacity());
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANGES_CHANNEL));
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entry-value-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long publishInterval = Math.max(1, demoApplicationConfig.getFilterPublishIntervalMillis());
+        executor.scheduleWithFixedDelay(() -> {
+            publish();
+            removeDue(System.currentTimeMillis());
+        }, publishInterval, publishInterval, TimeUnit.MILLISECONDS);
+        long heartbeatInterval = Math.max(1, demoApplicationConfig.getFilterHeartbeatIntervalMillis());
+        executor.scheduleWithFixedDelay(() -> {
+            publishHeartbeat();
+            checkDelivery(System.currentTimeMillis());
+        }, heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+        long rebuildInterval = demoApplicationConfig.getFilterRebuildIntervalMillis();
+        if (rebuildInterval > 0) {
+            executor.scheduleWithFixedDelay(this::rebuild, rebuildInterval, rebuildInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the publisher, the removals and the rebuilds, and publishes the queued changes.
+     *
+     * @throws InterruptedException Thrown if interrupted while waiting for a running rebuild.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        publish();
+    }
+
+    /**
+     * Checks if no {@link Entry} definitely exists for a value. Until the filter is built, and from a lost change until it
+     * is rebuilt, every value might exist.
+     *
+     * @param value - The {@link String} value.
+     * @return If true, no {@link Entry} exists for the value, otherwise one might exist.
+     */
+    public boolean isAbsent(String value) {
+        EntryBloomFilter currentFilter = filter;
+        if (value == null || currentFilter == null || !trusted || currentFilter.mightContain(value)) {
+            return false;
+        }
+        negatives.increment();
+        return true;
+    }
+
+    /**
+     * Records a value which wasn't found in the data store although the filter answered it might exist.
+     */
+    public void recordFalsePositive() {
+        if (filter != null) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Gets the measured false positive rate, the share of the reads of absent values which the filter didn't answer.
+     *
+     * @return The false positive rate, 0 if no absent value was read.
+     */
+    public double getFalsePositiveRate() {
+        double absentReads = negatives.count() + falsePositives.count();
+        return absentReads == 0 ? 0 : falsePositives.count() / absentReads;
+    }
+
+    /**
+     * Records the values added and removed by a mutation, once the data store has applied it, and queues them to be
+     * published to the other nodes.
+     *
+     * @param addedValues   - The {@link Collection} of {@link String} values added.
+     * @param removedValues - The {@link Collection} of {@link String} values removed.
+     */
+    public void recordChanges(Collection<String> addedValues, Collection<String> removedValues) {
+        if (addedValues.isEmpty() && removedValues.isEmpty()) {
+            return;
+        }
+        add(addedValues);
+        scheduleRemoval(removedValues, System.currentTimeMillis());
+        pendingAdded.addAll(addedValues);
+        pendingRemoved.addAll(removedValues);
+    }
+
+    /**
+     * Applies the changes published by another node, and records the number of each change and heartbeat to detect a lost
+     * change. An own heartbeat shows the subscription is alive, and the first after it was lost that it reconnected.
+     *
+     * @param message - The {@link Message} of the changes.
+     * @param pattern - The pattern matching the channel, unused.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode changes = ObjectMapperInstance.INSTANCE.getObjectMapper()
+                    .readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+            long now = System.currentTimeMillis();
+            String node = changes.path(NODE_FIELD).asText();
+            if (nodeId.equals(node)) {
+                if (changes.path(HEARTBEAT_FIELD).asBoolean()) {
+                    ownHeartbeatReceivedAt = now;
+                    if (subscriptionLost) {
+                        LOGGER.warn("Resubscribed to the Entry value changes, rebuilding the Entry value filter.");
+                        nodeSequences.clear();
+                        lose(0, false);
+                    }
+                }
+                return;
+            }
+            if (changes.has(SEQUENCE_FIELD)) {
+                nodeSequences.computeIfAbsent(node, key -> new NodeSequence())
+                        .receive(changes.path(SEQUENCE_FIELD).asLong(), changes.path(HEARTBEAT_FIELD).asBoolean(), now);
+            }
+            add(toValues(changes.path(ADDED_FIELD)));
+            if (now - filterReplacedAt >= demoApplicationConfig.getFilterRemovalDelayMillis()) {
+                scheduleRemoval(toValues(changes.path(REMOVED_FIELD)), now);
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error reading the Entry value changes during the Filter Operation.", exception);
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the sorted value index, sized for twice the {@link Entry} count or the expected number of
+     * {@link Entry} if greater. A rebuild which fails leaves the current filter in place. The filter is trusted again once
+     * a rebuild which started after the last lost change completes, while the subscription is alive.
+     *
+     * @return The number of values in the rebuilt filter, 0 if a rebuild was already running or failed.
+     */
+    public long rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        long lossesAtStart = losses.get();
+        EntryBloomFilter currentFilter = filter;
+        try {
+            long capacity = Math.max(demoApplicationConfig.getFilterExpectedEntries(), 2 * entryRedisOperations.countEntries());
+            EntryBloomFilter rebuiltFilter = new EntryBloomFilter(capacity, demoApplicationConfig.getFilterFalsePositiveRate());
+            setFilters(currentFilter, rebuiltFilter);
+
+            int batchSize = Math.max(1, demoApplicationConfig.getBulkReadBatchSize());
+            List<String> values;
+            String lastValue = null;
+            do {
+                values = entryRedisOperations.getValuesAfter(lastValue, batchSize);
+                values.forEach(rebuiltFilter::add);
+                lastValue = values.isEmpty() ? lastValue : values.get(values.size() - 1);
+            } while (values.size() == batchSize);
+
+            setFilters(rebuiltFilter, null);
+            trust(lossesAtStart);
+            meterRegistry.timer(REBUILD_TIMER_METRIC).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            LOGGER.info("Rebuilt the Entry value filter with {} values for a capacity of {}.", rebuiltFilter.size(), capacity);
+            return rebuiltFilter.size();
+        } catch (DataAccessException exception) {
+            LOGGER.error("Error reading the Entry values during the Filter Rebuild Operation.", exception);
+            meterRegistry.counter(REBUILD_FAILURES_METRIC).increment();
+            setFilters(currentFilter, null);
+            return 0;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Publishes the queued changes to the other nodes in a single message numbered after the last. A message which can't
+     * be published is logged and counted, and the other nodes detect its number is missing and rebuild their filters.
+     */
+    public void publish() {
+        synchronized (publishLock) {
+            List<String> addedValues = drain(pendingAdded);
+            List<String> removedValues = drain(pendingRemoved);
+            if (addedValues.isEmpty() && removedValues.isEmpty()) {
+                return;
+            }
+
+            ObjectNode changes = ObjectMapperInstance.INSTANCE.getObjectMapper().createObjectNode();
+            changes.put(NODE_FIELD, nodeId);
+            changes.put(SEQUENCE_FIELD, ++publishedSequence);
+            ArrayNode added = changes.putArray(ADDED_FIELD);
+            addedValues.forEach(added::add);
+            ArrayNode removed = changes.putArray(REMOVED_FIELD);
+            removedValues.forEach(removed::add);
+            try {
+                redisTemplate.convertAndSend(CHANGES_CHANNEL, changes.toString());
+            } catch (RuntimeException exception) {
+                LOGGER.error("Error publishing {} Entry value changes during the Filter Operation.",
+                        addedValues.size() + removedValues.size(), exception);
+                meterRegistry.counter(PUBLISH_FAILURES_METRIC).increment();
+            }
+        }
+    }
+
+    /**
+     * Publishes a heartbeat with the number of the last change published, so the other nodes detect a lost last change,
+     * and this node detects a lost subscription when it doesn't receive its own heartbeats.
+     */
+    public void publishHeartbeat() {
+        synchronized (publishLock) {
+            ObjectNode heartbeat = ObjectMapperInstance.INSTANCE.getObjectMapper().createObjectNode();
+            heartbeat.put(NODE_FIELD, nodeId);
+            heartbeat.put(SEQUENCE_FIELD, publishedSequence);
+            heartbeat.put(HEARTBEAT_FIELD, true);
+            try {
+                redisTemplate.convertAndSend(CHANGES_CHANNEL, heartbeat.toString());
+            } catch (RuntimeException exception) {
+                LOGGER.error("Error publishing the Entry value filter heartbeat during the Filter Operation.", exception);
+                meterRegistry.counter(PUBLISH_FAILURES_METRIC).increment();
+            }
+        }
+    }
+
+    /**
+     * Checks the changes of every other node were received, and the own heartbeats of this node. A change still missing a
+     * heartbeat interval after a later change or heartbeat of its node arrived is lost, as is the subscription if no own
+     * heartbeat arrived for three heartbeat intervals, and the filter answers nothing as absent until it is rebuilt. A
+     * rebuild which failed is retried here while the filter isn't trusted.
+     *
+     * @param now - The current time in epoch milliseconds.
+     */
+    public void checkDelivery(long now) {
+        long heartbeatInterval = Math.max(1, demoApplicationConfig.getFilterHeartbeatIntervalMillis());
+        if (!subscriptionLost && now - ownHeartbeatReceivedAt > LOST_SUBSCRIPTION_HEARTBEATS * heartbeatInterval) {
+            LOGGER.warn("Lost the subscription to the Entry value changes, the Entry value filter isn't trusted until resubscribed.");
+            lose(0, true);
+        }
+
+        long lostChanges = 0;
+        Iterator<NodeSequence> iterator = nodeSequences.values().iterator();
+        while (iterator.hasNext()) {
+            NodeSequence nodeSequence = iterator.next();
+            lostChanges += nodeSequence.takeLost(now, heartbeatInterval);
+            if (now - nodeSequence.getReceivedAt() > LOST_SUBSCRIPTION_HEARTBEATS * heartbeatInterval) {
+                iterator.remove();
+            }
+        }
+        if (lostChanges > 0) {
+            LOGGER.warn("Lost {} Entry value changes of other nodes, rebuilding the Entry value filter.", lostChanges);
+            lose(lostChanges, subscriptionLost);
+        } else if (!trusted && !subscriptionLost) {
+            queueRebuild();
+        }
+    }
+
+    /**
+     * Removes the values whose removal delay has passed from the filters they were removed from which are still current
+     * or being rebuilt. A value removed from a filter which was replaced since is left in the filter replacing it, unless
+     * it was also removed from that filter while it was rebuilt.
+     *
+     * @param now - The current time in epoch milliseconds.
+     */
+    public void removeDue(long now) {
+        PendingRemoval pendingRemoval;
+        while ((pendingRemoval = pendingRemovals.peek()) != null && pendingRemoval.dueAt <= now) {
+            pendingRemovals.poll();
+            lock.readLock().lock();
+            try {
+                for (EntryBloomFilter removalFilter : pendingRemoval.filters) {
+                    if (removalFilter == filter || removalFilter == rebuildingFilter) {
+                        removalFilter.remove(pendingRemoval.value);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds values to the current filter and to a filter being rebuilt, and queues a rebuild once the current filter holds
+     * more values than it is sized for.
+     *
+     * @param values - The {@link Collection} of {@link String} values added.
+     */
+    protected void add(Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        EntryBloomFilter currentFilter;
+        lock.readLock().lock();
+        try {
+            currentFilter = filter;
+            if (currentFilter != null) {
+                values.forEach(currentFilter::add);
+            }
+            if (rebuildingFilter != null) {
+                values.forEach(rebuildingFilter::add);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (currentFilter != null && currentFilter.size() > currentFilter.getCapacity()) {
+            queueRebuild();
+        }
+    }
+
+    /**
+     * Queues a rebuild on the executor, unless one is already queued.
+     */
+    protected void queueRebuild() {
+        if (executor != null && rebuildQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Stops trusting the filter after changes were lost, or the subscription was lost or reconnected, and queues a
+     * rebuild, unless the subscription is lost.
+     *
+     * @param lostChanges      - The number of changes known to be lost, counted in the lost changes metric.
+     * @param subscriptionLost - If true, the subscription is lost, otherwise it is alive.
+     */
+    private void lose(long lostChanges, boolean subscriptionLost) {
+        lock.writeLock().lock();
+        try {
+            losses.incrementAndGet();
+            trusted = false;
+            this.subscriptionLost = subscriptionLost;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        meterRegistry.counter(LOST_CHANGES_METRIC).increment(lostChanges);
+        if (!subscriptionLost) {
+            queueRebuild();
+        }
+    }
+
+    /**
+     * Trusts the filter again after a rebuild, unless a change was lost since the rebuild started or the subscription is
+     * lost.
+     *
+     * @param lossesAtStart - The number of losses when the rebuild started.
+     */
+    private void trust(long lossesAtStart) {
+        lock.writeLock().lock();
+        try {
+            trusted = losses.get() == lossesAtStart && !subscriptionLost;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Queues the removal of values from the current filter and a filter being rebuilt once the removal delay has passed.
+     * A filter being rebuilt may not have read a removed value, so the value is added to it first and the removal only
+     * takes it back.
+     *
+     * @param values - The {@link Collection} of {@link String} values removed.
+     * @param now    - The current time in epoch milliseconds.
+     */
+    protected void scheduleRemoval(Collection<String> values, long now) {
+        if (values.isEmpty()) {
+            return;
+        }
+        long dueAt = now + demoApplicationConfig.getFilterRemovalDelayMillis();
+        lock.readLock().lock();
+        try {
+            List<EntryBloomFilter> removalFilters = new ArrayList<>(2);
+            if (filter != null) {
+                removalFilters.add(filter);
+            }
+            if (rebuildingFilter != null) {
+                values.forEach(rebuildingFilter::add);
+                removalFilters.add(rebuildingFilter);
+            }
+            if (!removalFilters.isEmpty()) {
+                values.forEach(value -> pendingRemovals.add(new PendingRemoval(value, removalFilters, dueAt)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the current filter and the filter being rebuilt, once no change is being applied.
+     *
+     * @param currentFilter    - The current {@link EntryBloomFilter}.
+     * @param rebuildingFilter - The {@link EntryBloomFilter} being rebuilt, or null.
+     */
+    private void setFilters(EntryBloomFilter currentFilter, EntryBloomFilter rebuildingFilter) {
+        lock.writeLock().lock();
+        try {
+            if (this.filter != currentFilter) {
+                filterReplacedAt = System.currentTimeMillis();
+            }
+            this.filter = currentFilter;
+            this.rebuildingFilter = rebuildingFilter;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<String> toValues(JsonNode values) {
+        if (!values.isArray()) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(values.size());
+        values.forEach(value -> result.add(value.asText()));
+        return result;
+    }
+
+    private static List<String> drain(Queue<String> queue) {
+        List<String> values = new ArrayList<>();
+        String value;
+        while ((value = queue.poll()) != null) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * The numbers of the changes received from another node. Messages may be dispatched out of order, so a missing number
+     * is only lost once it is still missing a heartbeat interval after a later number arrived.
+     */
+    private static class NodeSequence {
+        // The number up to which every change was received.
+        private long received;
+        // The numbers received after a missing number.
+        private final SortedSet<Long> ahead = new TreeSet<>();
+        // The highest number of a change known to be published.
+        private long published;
+        // The time a number was first missing, 0 if none is.
+        private long missingSince;
+        private volatile long receivedAt;
+        private boolean started;
+
+        private synchronized void receive(long sequence, boolean heartbeat, long now) {
+            receivedAt = now;
+            if (!started) {
+                started = true;
+                received = heartbeat ? sequence : sequence - 1;
+            }
+            published = Math.max(published, sequence);
+            if (!heartbeat && sequence > received) {
+                ahead.add(sequence);
+            }
+            while (!ahead.isEmpty() && ahead.first() == received + 1) {
+                received = ahead.first();
+                ahead.remove(received);
+            }
+            if (published <= received) {
+                missingSince = 0;
+            } else if (missingSince == 0) {
+                missingSince = now;
+            }
+        }
+
+        /**
+         * Takes the number of changes lost, those still missing a heartbeat interval after a later number arrived, and
+         * skips them.
+         */
+        private synchronized long takeLost(long now, long heartbeatInterval) {
+            if (missingSince == 0 || now - missingSince < heartbeatInterval) {
+                return 0;
+            }
+            long lost = published - received - ahead.size();
+            received = published;
+            ahead.clear();
+            missingSince = 0;
+            return lost;
+        }
+
+        private long getReceivedAt() {
+            return receivedAt;
+        }
+    }
+
+    /**
+     * A value to be removed from the filters it was removed from once it is due.
+     */
+    private static class PendingRemoval {
+        private final String value;
+        private final List<EntryBloomFilter> filters;
+        private final long dueAt;
+
+        private PendingRemoval(String value, List<EntryBloomFilter> filters, long dueAt) {
+            this.value = value;
+            this.filters = filters;
+            this.dueAt = dueAt;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Entry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An {@link EntryCodec} storing each {@link Entry} as a hash in the layout used by the {@link RedisConverter}, with one
+ * field per property and any {@link com.paulk.demo.model.Audits} flattened into indexed fields. The
+ * {@link org.springframework.data.redis.core.RedisHash} repositories can read the records written in this layout.
+ */
+@Component
+public class HashEntryCodec implements EntryCodec {
+
+    public static final String NAME = "hash";
+    private static final String LAYOUT_SCRIPT = "scripts/entry-layout-hash.lua";
+
+    private static final RedisScript<Long> ADD_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-add.lua", Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UPDATE_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-update.lua", List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DELETE_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-delete.lua", List.class);
+    private static final RedisScript<Long> MIGRATE_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-migrate.lua", Long.class);
+    private static final RedisScript<Long> INDEX_SCRIPT = EntryCodec.loadScript(LAYOUT_SCRIPT, "scripts/entry-index.lua", Long.class);
+
+    @Autowired
+    protected RedisConverter redisConverter;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getRedisType() {
+        return "hash";
+    }
+
+    @Override
+    public RedisScript<Long> getAddScript() {
+        return ADD_SCRIPT;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> getUpdateScript() {
+        return UPDATE_SCRIPT;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> getDeleteScript() {
+        return DELETE_SCRIPT;
+    }
+
+    @Override
+    public RedisScript<Long> getMigrateScript() {
+        return MIGRATE_SCRIPT;
+    }
+
+    @Override
+    public RedisScript<Long> getIndexScript() {
+        return INDEX_SCRIPT;
+    }
+
+    /**
+     * Encodes the {@link Entry} as a flat list of field/value pairs using the {@link RedisConverter}.
+     *
+     * @param entry - The {@link Entry} to be encoded.
+     * @return A {@link List} of alternating field and value byte arrays.
+     */
+    @Override
+    public List<byte[]> encode(Entry entry) {
+        RedisData redisData = new RedisData();
+        redisConverter.write(entry, redisData);
+
+        List<byte[]> fields = new ArrayList<>();
+        for (Map.Entry<byte[], byte[]> field : redisData.getBucket().rawMap().entrySet()) {
+            fields.add(field.getKey());
+            fields.add(field.getValue());
+        }
+        return fields;
+    }
+
+    @Override
+    public Object read(RedisConnection connection, byte[] key) {
+        return connection.hashCommands().hGetAll(key);
+    }
+
+    /**
+     * Decodes an {@link Entry} from a {@link Map} of fields read with HGETALL, or from a flat {@link List} of
+     * field/value pairs returned by the scripts.
+     *
+     * @param value  - The {@link String} value of the {@link Entry}.
+     * @param record - The raw {@link Object} record.
+     * @return An {@link Optional} of the {@link Entry}, empty if the record is empty or not in this layout.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Entry> decode(String value, Object record) {
+        Map<byte[], byte[]> fields;
+        if (record instanceof Map) {
+            fields = (Map<byte[], byte[]>) record;
+        } else if (record instanceof List && ((List<Object>) record).size() % 2 == 0) {
+            List<Object> pairs = (List<Object>) record;
+            fields = new LinkedHashMap<>();
+            for (int index = 0; index + 1 < pairs.size(); index += 2) {
+                fields.put((byte[]) pairs.get(index), (byte[]) pairs.get(index + 1));
+            }
+        } else {
+            return Optional.empty();
+        }
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RedisData redisData = new RedisData(Bucket.newBucketFromRawMap(fields));
+        redisData.setId(value);
+        return Optional.of(redisConverter.read(Entry.class, redisData));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long getRecordLength(Object record) {
+        return record instanceof Map ? ((Map<byte[], byte[]>) record).size() : 0;
+    }
+}
@@ -0,0 +1,1520 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.constants.AuditActionCodes;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.EntriesResponse;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import com.paulk.demo.utils.EntryCursorUtils;
+import com.paulk.demo.utils.EntryRangeUtils;
+import com.paulk.demo.utils.EntrySearchUtils;
+import com.paulk.demo.utils.EntrySortUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Component} for performing {@link DataStoreOperations} on {@link Entry} objects held in process memory.
+ * Selected with the property api.datastore.type=memory.
+ * <p>
+ * Each {@link Entry} is held in a {@link ConcurrentHashMap} keyed by value. Add, update and delete hold the lock of the
+ * stripe of each value they change, so the check-then-act of each operation is atomic without a global lock. Reads
+ * don't lock. A sorted view of the values backs paging, a view sorted by the last modified time backs
+ * {@link #getModified(LocalDateTime, boolean, Integer, Integer)}, and an id index backs {@link #getById(String)}.
+ * <p>
+ * The expiry times of the {@link Entry} added with a time to live are held in an {@link EntryExpiryWheel}, so
+ * {@link #expire(long, int)} finds the expired values without scanning every {@link Entry}.
+ * <p>
+ * If api.datastore.memory.wal.path is set, each change is queued for a write-ahead log while the lock of its value is
+ * held, so the log holds the changes of a value in the order they were applied, and the log is replayed and compacted on
+ * startup. While running, the log is compacted in the background once it is past api.datastore.memory.wal.compact.min.bytes
+ * and api.datastore.memory.wal.compact.ratio times its size after the last compaction. The writer takes a snapshot with
+ * every lock held, once the changes queued before it are flushed, a compactor thread writes the snapshot, and the writer
+ * appends the changes flushed meanwhile before the compacted log replaces the log. A single writer thread writes the queued changes and flushes each group once, and a change is acknowledged
+ * once its group is flushed, waiting after the lock is released so no flush is made under a lock. A change is visible to
+ * reads before it is flushed. If the log cannot be written, it is truncated to its last flush and later changes are
+ * refused, and the changes not flushed are rolled back in reverse order under their locks before they fail, so the
+ * memory never holds a change a restart would lose.
+ * The expiry time of an {@link Entry} is logged in the record of its add.
+ */
+@Component
+@ConditionalOnProperty(name = "api.datastore.type", havingValue = "memory")
+public class InMemoryEntryDataStoreOperationsService implements DataStoreOperations<String, Entry> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryEntryDataStoreOperationsService.class);
+
+    private static final byte WAL_PUT = 'P';
+    private static final byte WAL_UPDATE = 'U';
+    private static final byte WAL_DELETE = 'D';
+    private static final byte WAL_PUT_EXPIRING = 'E';
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    protected final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    protected final Map<String, String> idIndex = new ConcurrentHashMap<>();
+    protected final ConcurrentSkipListSet<String> sortedValues = new ConcurrentSkipListSet<>(EntryRangeUtils.VALUE_ORDER);
+    protected final ConcurrentSkipListSet<ModifiedValue> modifiedValues = new ConcurrentSkipListSet<>();
+    protected final LongAdder adds = new LongAdder();
+    protected final LongAdder updates = new LongAdder();
+    protected final LongAdder deletes = new LongAdder();
+    protected final LongAdder expirations = new LongAdder();
+    // Counts the changes rolled back after a failed flush, so the change tag never repeats.
+    protected final LongAdder rollbacks = new LongAdder();
+    // Prefixes the change tag, as the mutations are counted from 0 on each startup.
+    protected final long startedAt = System.currentTimeMillis();
+    protected final EntryExpiryWheel expiryWheel = new EntryExpiryWheel(EntryExpiryWheel.DEFAULT_TICK_MILLIS, System.currentTimeMillis());
+
+    private Object[] locks;
+    private Path walPath;
+    // Written only by the writer thread, and closed once it has stopped.
+    private DataOutputStream walOutput;
+    private FileChannel walChannel;
+    private long walFlushedSize;
+    // The size of the log after its last compaction, written only by the writer thread.
+    private long walCompactedSize;
+    // The snapshot being written by the compactor, and the changes flushed since it was taken, written only by the writer thread.
+    private CompletableFuture<Void> walCompaction;
+    private final List<byte[]> walCompactionTail = new ArrayList<>();
+    private ExecutorService walCompactor;
+    private final ConcurrentLinkedQueue<WalRecord> walQueue = new ConcurrentLinkedQueue<>();
+    private Thread walWriter;
+    private volatile boolean walClosed;
+    private volatile boolean walWriterWaiting;
+
+    /**
+     * Creates the lock stripes and replays the write-ahead log if one is configured.
+     *
+     * @throws IOException Thrown if the write-ahead log cannot be replayed or opened.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        int stripes = Integer.highestOneBit(Math.max(1, demoApplicationConfig.getMemoryLockStripes()) * 2 - 1);
+        locks = new Object[stripes];
+        for (int index = 0; index < stripes; index++) {
+            locks[index] = new Object();
+        }
+
+        String configuredWalPath = demoApplicationConfig.getMemoryWalPath();
+        if (configuredWalPath != null && !configuredWalPath.isEmpty()) {
+            walPath = Paths.get(configuredWalPath);
+            replayWal();
+            compactWal();
+            openWalOutput();
+            walCompactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "entry-wal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            walWriter = new Thread(this::writeWal, "entry-wal-writer");
+            walWriter.setDaemon(true);
+            walWriter.start();
+        }
+    }
+
+    /**
+     * Closes the write-ahead log if one is configured, once the changes already queued are written.
+     */
+    @PreDestroy
+    public void close() {
+        if (walWriter == null) {
+            return;
+        }
+
+        walClosed = true;
+        LockSupport.unpark(walWriter);
+        boolean interrupted = false;
+        while (walWriter.isAlive()) {
+            try {
+                walWriter.join();
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        closeWalOutput();
+        walCompactor.shutdown();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Add an {@link Entry} to the data store.
+     *
+     * @param entry - The {@link Entry} to be added.
+     * @return If true, {@link Entry} added successfully, else {@link Entry} already exists.
+     */
+    @Override
+    public EntryOperationResponse add(Entry entry) {
+        return add(entry, null);
+    }
+
+    /**
+     * Add an {@link Entry} to the data store which expires after a time to live. The expiry time is scheduled in the
+     * {@link EntryExpiryWheel} and logged in the same record as the {@link Entry}.
+     *
+     * @param entry      - The {@link Entry} to be added.
+     * @param ttlSeconds - The {@link Long} number of seconds after which the {@link Entry} expires, or null if it never expires.
+     * @return If true, {@link Entry} added successfully, else {@link Entry} already exists.
+     */
+    @Override
+    public EntryOperationResponse add(Entry entry, Long ttlSeconds) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (entry == null || entry.getValue() == null || (ttlSeconds != null && (ttlSeconds <= 0 || entry.getId() == null))) {
+            LOGGER.error("Error saving Entry during the Add Operation.");
+            return entryActionResponse;
+        }
+
+        Long expireAt = ttlSeconds == null ? null : EntryExpiryWheel.toExpireAt(System.currentTimeMillis(), ttlSeconds);
+        Audit audit = appendAudit(entry, AuditActionCodes.ADD);
+        WalRecord walRecord = null;
+        synchronized (lockFor(entry.getValue())) {
+            if (!entries.containsKey(entry.getValue())
+                    && (entry.getId() == null || idIndex.putIfAbsent(entry.getId(), entry.getValue()) == null)) {
+                Entry storedEntry = copyEntry(entry);
+                walRecord = appendToWal(expireAt == null ? WAL_PUT : WAL_PUT_EXPIRING, null, expireAt, storedEntry, () -> {
+                    remove(storedEntry);
+                    adds.decrement();
+                }, storedEntry.getValue());
+                if (walRecord != null) {
+                    put(storedEntry);
+                    if (expireAt != null) {
+                        expiryWheel.schedule(storedEntry.getValue(), expireAt);
+                    }
+                    adds.increment();
+                    entry.setVersion(storedEntry.getVersion());
+                } else if (entry.getId() != null) {
+                    idIndex.remove(entry.getId(), entry.getValue());
+                }
+            }
+        }
+        if (walRecord != null && awaitWal(walRecord)) {
+            entryActionResponse.setSuccessfulOperation(true);
+            return entryActionResponse;
+        }
+
+        // Entry was not added or was rolled back, so remove the Audit generated for the Add Operation.
+        entry.getAudits().getAuditList().remove(audit);
+        return entryActionResponse;
+    }
+
+    /**
+     * Remove an {@link Entry} to the data store.
+     *
+     * @param entry - The {@link Entry} to be deleted.
+     * @return If true, {@link Entry} removed successfully, else {@link Entry} doesn't exists.
+     */
+    @Override
+    public EntryOperationResponse delete(Entry entry) {
+        return delete(entry, null);
+    }
+
+    /**
+     * Remove an {@link Entry} from the data store if its version matches the expected version. The version is checked
+     * while the lock of the value is held.
+     *
+     * @param entry           - The {@link Entry} to be deleted.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return If true, {@link Entry} removed successfully, else {@link Entry} doesn't exists or the version didn't match.
+     */
+    @Override
+    public EntryOperationResponse delete(Entry entry, Long expectedVersion) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (entry == null || entry.getId() == null || entry.getValue() == null) {
+            LOGGER.error("Error deleting Entry during the Delete Operation.");
+            return entryActionResponse;
+        }
+
+        WalRecord walRecord;
+        synchronized (lockFor(entry.getValue())) {
+            Entry storedEntry = entries.get(entry.getValue());
+            if (storedEntry == null || !entry.getId().equals(storedEntry.getId())) {
+                return entryActionResponse;
+            }
+            if (!isExpectedVersion(storedEntry, expectedVersion)) {
+                entryActionResponse.setPreconditionFailed(true);
+                return entryActionResponse;
+            }
+            Long expireAt = expiryWheel.getExpireAt(storedEntry.getValue());
+            walRecord = appendToWal(WAL_DELETE, storedEntry.getValue(), null, null, () -> {
+                restore(storedEntry, expireAt);
+                deletes.decrement();
+            }, storedEntry.getValue());
+            if (walRecord == null) {
+                return entryActionResponse;
+            }
+
+            remove(storedEntry);
+            deletes.increment();
+            // Generate Audit
+            Entry deletedEntry = copyEntry(storedEntry);
+            appendAudit(deletedEntry, AuditActionCodes.DELETE);
+            deletedEntry.setVersion(getVersion(deletedEntry));
+            entryActionResponse.setEntry(deletedEntry);
+        }
+        if (!awaitWal(walRecord)) {
+            entryActionResponse.setEntry(null);
+            return entryActionResponse;
+        }
+        entryActionResponse.setSuccessfulOperation(true);
+        return entryActionResponse;
+    }
+
+    /**
+     * Update an existing {@link Entry} in the data store. The locks of both the current and the updated value are held,
+     * acquired in stripe order so concurrent updates cannot deadlock.
+     *
+     * @param key   - The current {@link String} value of the {@link Entry}.
+     * @param entry - The {@link Entry} containing the id and the updated value.
+     * @return If true, {@link Entry} updated successfully, else {@link Entry} doesn't exists.
+     */
+    @Override
+    public EntryOperationResponse update(String key, Entry entry) {
+        return update(key, entry, null);
+    }
+
+    /**
+     * Update an existing {@link Entry} in the data store if its version matches the expected version. The version is
+     * checked while the locks of both values are held.
+     *
+     * @param key             - The current {@link String} value of the {@link Entry}.
+     * @param entry           - The {@link Entry} containing the id and the updated value.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return If true, {@link Entry} updated successfully, else {@link Entry} doesn't exists or the version didn't match.
+     */
+    @Override
+    public EntryOperationResponse update(String key, Entry entry, Long expectedVersion) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (key == null || entry == null || entry.getId() == null || entry.getValue() == null) {
+            LOGGER.error("Error saving Entry during the Update Operation.");
+            return entryActionResponse;
+        }
+
+        int currentStripe = stripeFor(key);
+        int updatedStripe = stripeFor(entry.getValue());
+        WalRecord walRecord;
+        synchronized (locks[Math.min(currentStripe, updatedStripe)]) {
+            synchronized (locks[Math.max(currentStripe, updatedStripe)]) {
+                Entry storedEntry = entries.get(key);
+                if (storedEntry == null || !entry.getId().equals(storedEntry.getId())) {
+                    return entryActionResponse;
+                }
+                if (!isExpectedVersion(storedEntry, expectedVersion)) {
+                    entryActionResponse.setPreconditionFailed(true);
+                    return entryActionResponse;
+                }
+                if (!key.equals(entry.getValue()) && entries.containsKey(entry.getValue())) {
+                    return entryActionResponse;
+                }
+
+                Entry updatedEntry = copyEntry(storedEntry);
+                updatedEntry.setValue(entry.getValue());
+                appendAudit(updatedEntry, AuditActionCodes.UPDATE);
+                walRecord = appendToWal(WAL_UPDATE, key, null, updatedEntry, () -> {
+                    replace(updatedEntry.getValue(), storedEntry);
+                    updates.decrement();
+                }, key, updatedEntry.getValue());
+                if (walRecord == null) {
+                    return entryActionResponse;
+                }
+
+                replace(key, updatedEntry);
+                updates.increment();
+                entryActionResponse.setEntry(copyEntry(updatedEntry));
+            }
+        }
+        if (!awaitWal(walRecord)) {
+            entryActionResponse.setEntry(null);
+            return entryActionResponse;
+        }
+        entryActionResponse.setSuccessfulOperation(true);
+        return entryActionResponse;
+    }
+
+    /**
+     * Get an {@link Entry} from the data store.
+     *
+     * @param entry - The {@link Entry} to be retrieved.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} if it exists.
+     */
+    @Override
+    public EntryOperationResponse get(Entry entry) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        Entry storedEntry = entry == null || entry.getValue() == null ? null : entries.get(entry.getValue());
+        if (storedEntry != null) {
+            entryActionResponse.setEntry(copyEntry(storedEntry));
+            entryActionResponse.setSuccessfulOperation(true);
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Get an {@link Entry} from the data store by its id.
+     *
+     * @param id - The {@link String} id of the {@link Entry} to be retrieved.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} if it exists.
+     */
+    @Override
+    public EntryOperationResponse getById(String id) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        String value = id == null ? null : idIndex.get(id);
+        Entry storedEntry = value == null ? null : entries.get(value);
+        // The Entry may have been replaced between the two reads, so the id is checked against the stored Entry.
+        if (storedEntry != null && id.equals(storedEntry.getId())) {
+            entryActionResponse.setEntry(copyEntry(storedEntry));
+            entryActionResponse.setSuccessfulOperation(true);
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Get the version of an {@link Entry} by its id, without copying the {@link Entry}.
+     *
+     * @param id  - The {@link String} id of the {@link Entry}.
+     * @param key - The {@link String} value the {@link Entry} must have, or null for any value.
+     * @return An {@link Optional} of the {@link Long} version, empty if no {@link Entry} exists for the id and value.
+     */
+    @Override
+    public Optional<Long> getVersionById(String id, String key) {
+        String value = id == null ? null : idIndex.get(id);
+        Entry storedEntry = value == null || (key != null && !key.equals(value)) ? null : entries.get(value);
+        // The Entry may have been replaced between the two reads, so the id is checked against the stored Entry.
+        if (storedEntry == null || !id.equals(storedEntry.getId())) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getVersion(storedEntry));
+    }
+
+    /**
+     * Get a page of the {@link Audit} history of an {@link Entry}, oldest first. The {@link Audit} objects are held in
+     * the {@link Entry}, so the page is taken from its {@link com.paulk.demo.model.Audits}.
+     *
+     * @param key        - The {@link String} value of the {@link Entry}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} with the page of its audits, if it exists.
+     */
+    @Override
+    public EntryOperationResponse getAudits(String key, Integer pageNumber, Integer pageSize) {
+        return getAuditPage(get(new Entry(key, null)), pageNumber, pageSize);
+    }
+
+    /**
+     * Get a page of the {@link Audit} history of an {@link Entry} id, oldest first. A deleted {@link Entry} is not held,
+     * so its history is not returned.
+     *
+     * @param id         - The {@link String} id of the {@link Entry}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} with the page of its audits, if it exists.
+     */
+    @Override
+    public EntryOperationResponse getAuditsById(String id, Integer pageNumber, Integer pageSize) {
+        return getAuditPage(getById(id), pageNumber, pageSize);
+    }
+
+    /**
+     * Replaces the {@link Audit} objects of the {@link Entry} of a successful response with a page of them.
+     *
+     * @param entryActionResponse - The {@link EntryOperationResponse} of the {@link Entry}.
+     * @param pageNumber          - The {@link Integer} page number for the response.
+     * @param pageSize            - The {@link Integer} page size for the response.
+     * @return The {@link EntryOperationResponse}.
+     */
+    private EntryOperationResponse getAuditPage(EntryOperationResponse entryActionResponse, Integer pageNumber, Integer pageSize) {
+        if (entryActionResponse.isSuccessfulOperation()) {
+            List<Audit> auditList = entryActionResponse.getEntry().getAudits().getAuditList();
+            int from = (int) Math.min((long) pageNumber * pageSize, auditList.size());
+            List<Audit> page = new ArrayList<>(auditList.subList(from, (int) Math.min((long) from + pageSize, auditList.size())));
+            auditList.clear();
+            auditList.addAll(page);
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Get all {@link Entry} in the data store, ordered by value.
+     *
+     * @return An {@link EntriesResponse} of all {@link Entry}.
+     */
+    @Override
+    public EntriesResponse getAll() {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        for (String value : sortedValues) {
+            Optional.ofNullable(entries.get(value))
+                    .ifPresent(storedEntry -> entriesResponse.getEntries().add(copyEntry(storedEntry)));
+        }
+        entriesResponse.setTotalEntries(entriesResponse.getEntries().size());
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} in the data store, ordered by value. The page is found by skipping the values of the
+     * previous pages, so {@link #getAllFromCursor(String, Integer)} should be preferred for deep pages.
+     *
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntriesResponse} of the page of {@link Entry}.
+     */
+    @Override
+    public EntriesResponse getAll(Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        long skip = (long) pageNumber * pageSize;
+        Iterator<String> iterator = sortedValues.iterator();
+        for (long index = 0; index < skip && iterator.hasNext(); index++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && entriesResponse.getEntries().size() < pageSize) {
+            Optional.ofNullable(entries.get(iterator.next()))
+                    .ifPresent(storedEntry -> entriesResponse.getEntries().add(copyEntry(storedEntry)));
+        }
+
+        if (!entriesResponse.getEntries().isEmpty()) {
+            int totalEntries = entries.size();
+            entriesResponse.setTotalEntries(totalEntries);
+            entriesResponse.setTotalPages((totalEntries + pageSize - 1) / pageSize);
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} ordered by value, starting after an opaque cursor.
+     *
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry}, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse getAllFromCursor(String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        String lastValue = EntryCursorUtils.decode(cursor);
+
+        Iterator<String> iterator = (lastValue == null ? sortedValues : sortedValues.tailSet(lastValue, false)).iterator();
+        String lastPageValue = null;
+        while (iterator.hasNext() && entriesResponse.getEntries().size() < pageSize) {
+            String value = iterator.next();
+            Entry storedEntry = entries.get(value);
+            if (storedEntry != null) {
+                entriesResponse.getEntries().add(copyEntry(storedEntry));
+                lastPageValue = value;
+            }
+        }
+
+        if (lastPageValue != null && iterator.hasNext()) {
+            entriesResponse.setNextCursor(EntryCursorUtils.encode(lastPageValue));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} whose value is in a lexicographic range, ordered by value. The page is found by
+     * skipping the values of the previous pages in the range of the sorted view, or of its descending view.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are returned from the last value of the range.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} in the range.
+     */
+    @Override
+    public EntriesResponse getRange(String from, String to, boolean descending, Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        NavigableSet<String> rangeValues = range(from, to, descending, null);
+        long skip = (long) pageNumber * pageSize;
+        Iterator<String> iterator = rangeValues.iterator();
+        for (long index = 0; index < skip && iterator.hasNext(); index++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && entriesResponse.getEntries().size() < pageSize) {
+            Entry storedEntry = entries.get(iterator.next());
+            if (storedEntry != null) {
+                entriesResponse.getEntries().add(copyEntry(storedEntry));
+            }
+        }
+
+        if (!entriesResponse.getEntries().isEmpty()) {
+            long totalEntries = rangeValues.size();
+            entriesResponse.setTotalEntries(totalEntries);
+            entriesResponse.setTotalPages((int) ((totalEntries + pageSize - 1) / pageSize));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} ordered by the time they were last modified, from the view sorted by the last modified
+     * time. The page is found by skipping the values of the previous pages modified since the time.
+     *
+     * @param modifiedSince - The inclusive UTC {@link LocalDateTime} lower bound of the last modified time, or null for no lower bound.
+     * @param descending    - If true, the most recently modified {@link Entry} are returned first.
+     * @param pageNumber    - The {@link Integer} page number for the response.
+     * @param pageSize      - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} modified since the time.
+     */
+    @Override
+    public EntriesResponse getModified(LocalDateTime modifiedSince, boolean descending, Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        NavigableSet<ModifiedValue> sinceValues = modifiedSince == null ? modifiedValues
+                : modifiedValues.tailSet(new ModifiedValue(EntryRedisOperations.toEpochMillis(modifiedSince), ""), true);
+        if (descending) {
+            sinceValues = sinceValues.descendingSet();
+        }
+        long skip = (long) pageNumber * pageSize;
+        Iterator<ModifiedValue> iterator = sinceValues.iterator();
+        for (long index = 0; index < skip && iterator.hasNext(); index++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && entriesResponse.getEntries().size() < pageSize) {
+            Entry storedEntry = entries.get(iterator.next().value);
+            if (storedEntry != null) {
+                entriesResponse.getEntries().add(copyEntry(storedEntry));
+            }
+        }
+
+        if (!entriesResponse.getEntries().isEmpty()) {
+            long totalEntries = sinceValues.size();
+            entriesResponse.setTotalEntries(totalEntries);
+            entriesResponse.setTotalPages((int) ((totalEntries + pageSize - 1) / pageSize));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} whose value is in a lexicographic range, ordered by value, starting after an opaque
+     * cursor.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are returned from the last value of the range, and a page starts
+     *                   before the cursor.
+     * @param cursor     - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} in the range, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse getRangeFromCursor(String from, String to, boolean descending, String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        NavigableSet<String> rangeValues = range(from, to, descending, EntryCursorUtils.decode(cursor));
+
+        Iterator<String> iterator = rangeValues.iterator();
+        String lastPageValue = null;
+        while (iterator.hasNext() && entriesResponse.getEntries().size() < pageSize) {
+            String value = iterator.next();
+            Entry storedEntry = entries.get(value);
+            if (storedEntry != null) {
+                entriesResponse.getEntries().add(copyEntry(storedEntry));
+                lastPageValue = value;
+            }
+        }
+
+        if (lastPageValue != null && iterator.hasNext()) {
+            entriesResponse.setNextCursor(EntryCursorUtils.encode(lastPageValue));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get the counters of the data store. The number of {@link Entry} is the size of the map, and the mutations are
+     * counted since startup, excluding the replay of the write-ahead log.
+     *
+     * @return The {@link EntryStatsResponse}.
+     */
+    @Override
+    public EntryStatsResponse getStats() {
+        return new EntryStatsResponse(entries.size(), adds.sum(), updates.sum(), deletes.sum(), expirations.sum());
+    }
+
+    /**
+     * Get the time each listed {@link Entry} was created. The {@link Entry} held in memory keep their {@link Audit} objects, so
+     * the created time is read from those instead.
+     *
+     * @param entries - The {@link Collection} of listed {@link Entry}.
+     * @return An empty {@link Map}.
+     */
+    @Override
+    public Map<String, LocalDateTime> getCreated(Collection<Entry> entries) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Get the change tag of the data store, the startup time, the number of mutations since startup and the number of
+     * mutations rolled back. Each counter is incremented once its mutation is visible, so a tag read before a listing
+     * never describes a newer state, and a rollback moves the tag on, so a tag is never reused for another state.
+     *
+     * @return The {@link String} change tag.
+     */
+    @Override
+    public String getChangeTag() {
+        return startedAt + "-" + (adds.sum() + updates.sum() + deletes.sum() + expirations.sum()) + "-" + rollbacks.sum();
+    }
+
+    /**
+     * Remove the {@link Entry} whose time to live has passed, up to a maximum number. The expired values are found by the
+     * {@link EntryExpiryWheel}, and each is checked again once the lock of its value is held, so an {@link Entry}
+     * deleted or added again since it was found is left in place. The removals are flushed to the write-ahead log
+     * together before they are returned, and a removal rolled back after a failed flush is not returned.
+     *
+     * @param now        - The current time in epoch milliseconds.
+     * @param maxEntries - The maximum number of {@link Entry} to be removed.
+     * @return A {@link List} of the {@link Entry} removed, each with its Expire {@link Audit}.
+     */
+    @Override
+    public List<Entry> expire(long now, int maxEntries) {
+        List<Entry> expiredEntries = new ArrayList<>();
+        List<WalRecord> walRecords = new ArrayList<>();
+        for (String value : expiryWheel.pollExpired(now, maxEntries)) {
+            synchronized (lockFor(value)) {
+                Entry storedEntry = entries.get(value);
+                if (storedEntry == null || !expiryWheel.isExpired(value, now)) {
+                    continue;
+                }
+                Long expireAt = expiryWheel.getExpireAt(value);
+                WalRecord walRecord = appendToWal(WAL_DELETE, value, null, null, () -> {
+                    restore(storedEntry, expireAt);
+                    expirations.decrement();
+                }, value);
+                if (walRecord == null) {
+                    // Scheduled again, so the expiry is retried by the next call.
+                    expiryWheel.schedule(value, expireAt);
+                    continue;
+                }
+
+                walRecords.add(walRecord);
+                remove(storedEntry);
+                expirations.increment();
+                Entry expiredEntry = copyEntry(storedEntry);
+                appendAudit(expiredEntry, AuditActionCodes.EXPIRE);
+                expiredEntry.setVersion(getVersion(expiredEntry));
+                expiredEntries.add(expiredEntry);
+            }
+        }
+        List<Entry> flushedEntries = new ArrayList<>(expiredEntries.size());
+        for (int index = 0; index < walRecords.size(); index++) {
+            if (awaitWal(walRecords.get(index))) {
+                flushedEntries.add(expiredEntries.get(index));
+            }
+        }
+        return flushedEntries;
+    }
+
+    /**
+     * Search for the {@link Entry} whose value contains a query, ignoring case, ordered by value, starting after an opaque
+     * cursor. The sorted values are scanned from the cursor until the page is read, which is cheaper in process memory
+     * than maintaining a trigram index on every change.
+     *
+     * @param query    - The {@link String} query, with at least three characters.
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} maximum number of {@link Entry} in the response.
+     * @return A page of {@link Entry} containing the query, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the query is too short to be searched or the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse search(String query, String cursor, Integer pageSize) {
+        if (!EntrySearchUtils.isSearchable(query)) {
+            throw new IllegalArgumentException("Search query must have at least " + EntrySearchUtils.TRIGRAM_LENGTH + " characters.");
+        }
+
+        EntriesResponse entriesResponse = new EntriesResponse();
+        String lastValue = EntryCursorUtils.decode(cursor);
+        NavigableSet<String> values = lastValue == null ? sortedValues : sortedValues.tailSet(lastValue, false);
+        for (String value : values) {
+            if (EntrySearchUtils.matches(value, query)) {
+                Entry storedEntry = entries.get(value);
+                if (storedEntry == null) {
+                    continue;
+                }
+                if (entriesResponse.getEntries().size() == pageSize) {
+                    // A match after a full page starts the next page.
+                    List<Entry> pageEntries = entriesResponse.getEntries();
+                    entriesResponse.setNextCursor(EntryCursorUtils.encode(pageEntries.get(pageEntries.size() - 1).getValue()));
+                    break;
+                }
+                entriesResponse.getEntries().add(copyEntry(storedEntry));
+            }
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * No search index is held in process memory, so there is nothing to rebuild.
+     *
+     * @return Always 0.
+     */
+    @Override
+    public long rebuildSearchIndex() {
+        return 0;
+    }
+
+    /**
+     * Apply a mixed batch of add, update and delete actions in order. Each action takes only the locks of its own values.
+     *
+     * @param actionInputs - The {@link List} of {@link EntryActionInput} to be applied.
+     * @return A {@link List} of {@link EntryOperationResponse} in the order of the actions.
+     */
+    @Override
+    public List<EntryOperationResponse> batch(List<EntryActionInput> actionInputs) {
+        List<EntryOperationResponse> entryActionResponses = new ArrayList<>(actionInputs.size());
+        for (EntryActionInput actionInput : actionInputs) {
+            Optional<AuditActionCodes> action = Optional.ofNullable(actionInput)
+                    .map(EntryActionInput::getAction)
+                    .flatMap(AuditActionCodes::fromCode)
+                    .filter(AuditActionCodes::isRequestable);
+            if (!action.isPresent()) {
+                entryActionResponses.add(new EntryOperationResponse());
+                continue;
+            }
+
+            switch (action.get()) {
+                case ADD:
+                    EntryOperationResponse entryActionResponse = add(actionInput.getEntry(), actionInput.getTtlSeconds());
+                    if (entryActionResponse.isSuccessfulOperation()) {
+                        entryActionResponse.setEntry(actionInput.getEntry());
+                    }
+                    entryActionResponses.add(entryActionResponse);
+                    break;
+                case UPDATE:
+                    entryActionResponses.add(update(actionInput.getKey(), actionInput.getEntry(), actionInput.getExpectedVersion()));
+                    break;
+                default:
+                    entryActionResponses.add(delete(actionInput.getEntry(), actionInput.getExpectedVersion()));
+                    break;
+            }
+        }
+        return entryActionResponses;
+    }
+
+    /**
+     * Gets the view of the sorted values in a lexicographic range.
+     *
+     * @param from - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to   - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @return The {@link NavigableSet} of values in the range.
+     */
+    private NavigableSet<String> range(String from, String to) {
+        if (from != null && to != null && EntryRangeUtils.compare(from, to) >= 0) {
+            return Collections.emptyNavigableSet();
+        }
+        NavigableSet<String> rangeValues = sortedValues;
+        if (from != null) {
+            rangeValues = rangeValues.tailSet(from, true);
+        }
+        if (to != null) {
+            rangeValues = rangeValues.headSet(to, false);
+        }
+        return rangeValues;
+    }
+
+    /**
+     * Gets the view of the sorted values in a lexicographic range, in the order of a listing, after the last value of
+     * the previous page.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the view is descending, and starts before the last value.
+     * @param lastValue  - The exclusive {@link String} value of the previous page, or null to start from the bound.
+     * @return The {@link NavigableSet} of values in the range, in the order of the listing.
+     */
+    private NavigableSet<String> range(String from, String to, boolean descending, String lastValue) {
+        NavigableSet<String> rangeValues = range(from, to);
+        if (lastValue != null) {
+            boolean belowRange = from != null && EntryRangeUtils.compare(lastValue, from) < 0;
+            boolean aboveRange = to != null && EntryRangeUtils.compare(lastValue, to) >= 0;
+            if (descending ? belowRange : aboveRange) {
+                return Collections.emptyNavigableSet();
+            }
+            // A last value before the start of the listing leaves the whole range.
+            if (!(descending ? aboveRange : belowRange)) {
+                rangeValues = descending ? rangeValues.headSet(lastValue, false) : rangeValues.tailSet(lastValue, false);
+            }
+        }
+        return descending ? rangeValues.descendingSet() : rangeValues;
+    }
+
+    /**
+     * Adds a stored {@link Entry} to the map and indexes. The lock of its value must be held.
+     *
+     * @param storedEntry - The {@link Entry} to be stored.
+     */
+    private void put(Entry storedEntry) {
+        entries.put(storedEntry.getValue(), storedEntry);
+        sortedValues.add(storedEntry.getValue());
+        modifiedValues.add(ModifiedValue.of(storedEntry));
+        if (storedEntry.getId() != null) {
+            idIndex.put(storedEntry.getId(), storedEntry.getValue());
+        }
+    }
+
+    /**
+     * Replaces a stored {@link Entry} with its updated {@link Entry}, moving its expiry time to the updated value. The id
+     * stays mapped throughout, so a concurrent add cannot claim it. The locks of both values must be held.
+     *
+     * @param key          - The current {@link String} value of the {@link Entry}.
+     * @param updatedEntry - The updated {@link Entry} to be stored.
+     */
+    private void replace(String key, Entry updatedEntry) {
+        Optional.ofNullable(entries.get(key)).ifPresent(storedEntry -> modifiedValues.remove(ModifiedValue.of(storedEntry)));
+        if (!key.equals(updatedEntry.getValue())) {
+            entries.remove(key);
+            sortedValues.remove(key);
+        }
+        entries.put(updatedEntry.getValue(), updatedEntry);
+        sortedValues.add(updatedEntry.getValue());
+        modifiedValues.add(ModifiedValue.of(updatedEntry));
+        expiryWheel.move(key, updatedEntry.getValue());
+        if (updatedEntry.getId() != null) {
+            idIndex.put(updatedEntry.getId(), updatedEntry.getValue());
+        }
+    }
+
+    /**
+     * Removes a stored {@link Entry} from the map and indexes, and its expiry time. The lock of its value must be held.
+     *
+     * @param storedEntry - The {@link Entry} to be removed.
+     */
+    private void remove(Entry storedEntry) {
+        expiryWheel.remove(storedEntry.getValue());
+        entries.remove(storedEntry.getValue());
+        sortedValues.remove(storedEntry.getValue());
+        modifiedValues.remove(ModifiedValue.of(storedEntry));
+        if (storedEntry.getId() != null) {
+            idIndex.remove(storedEntry.getId(), storedEntry.getValue());
+        }
+    }
+
+    /**
+     * Puts a removed {@link Entry} back with its expiry time, when its removal is rolled back. The lock of its value must
+     * be held.
+     *
+     * @param storedEntry - The {@link Entry} removed.
+     * @param expireAt    - The expiry time in epoch milliseconds of the {@link Entry}, or null if it never expires.
+     */
+    private void restore(Entry storedEntry, Long expireAt) {
+        put(storedEntry);
+        if (expireAt != null) {
+            expiryWheel.schedule(storedEntry.getValue(), expireAt);
+        }
+    }
+
+    /**
+     * Gets the lock of the stripe for a value.
+     *
+     * @param value - The {@link String} value to be locked.
+     * @return The {@link Object} lock.
+     */
+    private Object lockFor(String value) {
+        return locks[stripeFor(value)];
+    }
+
+    /**
+     * Gets the stripe for a value, spreading the hash code as {@link ConcurrentHashMap} does.
+     *
+     * @param value - The {@link String} value.
+     * @return The index of the stripe.
+     */
+    private int stripeFor(String value) {
+        int hash = value.hashCode();
+        return (hash ^ (hash >>> 16)) & (locks.length - 1);
+    }
+
+    /**
+     * Queues a change for the write-ahead log, if one is configured. Called while the lock of each value changed is held,
+     * so the changes of a value are queued in the order they are applied. Each change is a single record, so a replay
+     * never applies part of a change.
+     *
+     * @param type         - The type of the change.
+     * @param value        - The {@link String} value replaced or deleted, or null for a put.
+     * @param expireAt     - The expiry time in epoch milliseconds of an {@link Entry} put with a time to live, otherwise null.
+     * @param entry        - The {@link Entry} stored, or null for a delete.
+     * @param rollback     - The {@link Runnable} undoing the change and its counter if the change isn't flushed.
+     * @param lockedValues - The {@link String} values whose locks are held by the change, taken again by the rollback.
+     * @return The {@link WalRecord} to be awaited once the lock is released, or null if the log is closed.
+     */
+    private WalRecord appendToWal(byte type, String value, Long expireAt, Entry entry, Runnable rollback, String... lockedValues) {
+        if (walPath == null) {
+            return WalRecord.UNLOGGED;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(type);
+            if (value != null) {
+                EntryBinaryUtils.writeString(output, value);
+            }
+            if (expireAt != null) {
+                output.writeLong(expireAt);
+            }
+            if (entry != null) {
+                EntryBinaryUtils.writeEntry(output, entry);
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error appending to the Entry write-ahead log.", exception);
+            return null;
+        }
+
+        WalRecord walRecord = new WalRecord(bytes.toByteArray(), rollback, lockedValues);
+        walQueue.add(walRecord);
+        // A record the writer hasn't taken once the log is closed is never written, so it is taken back.
+        if (walClosed && walQueue.remove(walRecord)) {
+            LOGGER.error("Error appending to the Entry write-ahead log, the log is closed.");
+            return null;
+        }
+        if (walWriterWaiting) {
+            LockSupport.unpark(walWriter);
+        }
+        return walRecord;
+    }
+
+    /**
+     * Waits for a change to be flushed to the write-ahead log. Called once the locks are released, so the changes queued
+     * while a group is written share the next flush.
+     *
+     * @param walRecord - The {@link WalRecord} of the change.
+     * @return If true, the change was flushed or no write-ahead log is configured.
+     */
+    private boolean awaitWal(WalRecord walRecord) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return walRecord.flushed.get();
+                } catch (InterruptedException exception) {
+                    // The change is already applied, so its flush is still awaited.
+                    interrupted = true;
+                } catch (ExecutionException exception) {
+                    return false;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Runs the writer thread of the write-ahead log, which writes the changes queued since its last flush and flushes
+     * them once, until the log is closed and the queue is empty. Once the log is due to be compacted, the changes queued
+     * are taken along with a snapshot of every {@link Entry}, and the compaction is finished once the compactor has
+     * written the snapshot, also when the log is closed.
+     */
+    private void writeWal() {
+        List<WalRecord> walRecords = new ArrayList<>();
+        while (true) {
+            // Read before the queue is drained, so a change queued before the log was closed is always written.
+            boolean closing = walClosed;
+            List<WalSnapshotEntry> snapshot = null;
+            if (walCompaction == null && !closing && isWalCompactionDue()) {
+                snapshot = snapshotWal(walRecords);
+            } else {
+                for (WalRecord walRecord = walQueue.poll(); walRecord != null; walRecord = walQueue.poll()) {
+                    walRecords.add(walRecord);
+                }
+            }
+            if (walRecords.isEmpty() && snapshot == null) {
+                if (walCompaction != null && (closing || walCompaction.isDone())) {
+                    finishWalCompaction();
+                    continue;
+                }
+                if (closing) {
+                    return;
+                }
+                walWriterWaiting = true;
+                if (walQueue.isEmpty() && !walClosed && (walCompaction == null || !walCompaction.isDone())) {
+                    LockSupport.park(this);
+                }
+                walWriterWaiting = false;
+                continue;
+            }
+
+            boolean flushed = flushWal(walRecords);
+            if (!flushed) {
+                // The log is closed, so each change still queued fails with the group and is rolled back after it.
+                for (WalRecord walRecord = walQueue.poll(); walRecord != null; walRecord = walQueue.poll()) {
+                    walRecords.add(walRecord);
+                }
+                rollback(walRecords);
+            } else if (snapshot != null) {
+                startWalCompaction(snapshot);
+            } else if (walCompaction != null) {
+                walRecords.forEach(walRecord -> walCompactionTail.add(walRecord.bytes));
+            }
+            walRecords.forEach(walRecord -> walRecord.flushed.complete(flushed));
+            walRecords.clear();
+        }
+    }
+
+    /**
+     * Rolls back changes which weren't flushed, newest first, each under the locks of its values, so every later change
+     * of a value is undone before an earlier one. A lock is held by a change until it is applied, so a change queued but
+     * not yet applied is waited for.
+     *
+     * @param walRecords - The {@link List} of {@link WalRecord} in the order they were queued.
+     */
+    private void rollback(List<WalRecord> walRecords) {
+        for (int index = walRecords.size() - 1; index >= 0; index--) {
+            WalRecord walRecord = walRecords.get(index);
+            int firstStripe = stripeFor(walRecord.lockedValues[0]);
+            int lastStripe = stripeFor(walRecord.lockedValues[walRecord.lockedValues.length - 1]);
+            synchronized (locks[Math.min(firstStripe, lastStripe)]) {
+                synchronized (locks[Math.max(firstStripe, lastStripe)]) {
+                    walRecord.rollback.run();
+                    rollbacks.increment();
+                }
+            }
+        }
+        LOGGER.error("Rolled back {} Entry changes which weren't written to the write-ahead log.", walRecords.size());
+    }
+
+    /**
+     * Writes a group of changes to the write-ahead log and flushes it. If the log cannot be written it is truncated to
+     * its last flush and closed, so the changes of the group are never replayed, and the later changes are refused rather
+     * than logged after a gap.
+     *
+     * @param walRecords - The {@link List} of {@link WalRecord} to be written.
+     * @return If true, the changes were flushed.
+     */
+    private boolean flushWal(List<WalRecord> walRecords) {
+        if (walOutput == null) {
+            return false;
+        }
+        try {
+            for (WalRecord walRecord : walRecords) {
+                walOutput.write(walRecord.bytes);
+            }
+            walOutput.flush();
+            walFlushedSize += walRecords.stream().mapToLong(walRecord -> walRecord.bytes.length).sum();
+            return true;
+        } catch (IOException exception) {
+            LOGGER.error("Error appending to the Entry write-ahead log, later changes are refused.", exception);
+            walClosed = true;
+            // The channel is closed under the buffer, so the bytes left in the buffer are never written.
+            try {
+                walChannel.truncate(walFlushedSize);
+                walChannel.close();
+            } catch (IOException truncateException) {
+                LOGGER.error("Error truncating the Entry write-ahead log, changes rolled back may be replayed.", truncateException);
+            }
+            walOutput = null;
+            return false;
+        }
+    }
+
+    /**
+     * Determines if the write-ahead log is due to be compacted, once it is past the minimum size and the ratio times its
+     * size after the last compaction.
+     *
+     * @return If true, the log is due to be compacted.
+     */
+    private boolean isWalCompactionDue() {
+        int ratio = demoApplicationConfig.getMemoryWalCompactRatio();
+        return ratio > 0 && walOutput != null
+                && walFlushedSize > Math.max(demoApplicationConfig.getMemoryWalCompactMinBytes(), ratio * walCompactedSize);
+    }
+
+    /**
+     * Takes the changes queued and a snapshot of every {@link Entry} with every lock held, so no change is applied or
+     * queued meanwhile, and the snapshot holds exactly the changes logged once the changes taken are flushed.
+     *
+     * @param walRecords - The {@link List} the {@link WalRecord} queued are added to.
+     * @return The {@link List} of {@link WalSnapshotEntry} of every {@link Entry}.
+     */
+    private List<WalSnapshotEntry> snapshotWal(List<WalRecord> walRecords) {
+        List<WalSnapshotEntry> snapshot = new ArrayList<>(entries.size());
+        withLocks(0, () -> {
+            for (WalRecord walRecord = walQueue.poll(); walRecord != null; walRecord = walQueue.poll()) {
+                walRecords.add(walRecord);
+            }
+            // A stored Entry is replaced rather than changed, so the snapshot holds the Entry themselves.
+            for (Entry storedEntry : entries.values()) {
+                snapshot.add(new WalSnapshotEntry(storedEntry, expiryWheel.getExpireAt(storedEntry.getValue())));
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Runs an action holding the lock of every stripe from an index, acquired in stripe order as a change acquires its
+     * locks, so it cannot deadlock with a change.
+     *
+     * @param index  - The index of the first stripe to be locked.
+     * @param action - The {@link Runnable} action.
+     */
+    private void withLocks(int index, Runnable action) {
+        if (index == locks.length) {
+            action.run();
+            return;
+        }
+        synchronized (locks[index]) {
+            withLocks(index + 1, action);
+        }
+    }
+
+    /**
+     * Starts writing a snapshot of the write-ahead log on the compactor thread, which wakes the writer once it is written.
+     *
+     * @param snapshot - The {@link List} of {@link WalSnapshotEntry} of every {@link Entry}.
+     */
+    private void startWalCompaction(List<WalSnapshotEntry> snapshot) {
+        LOGGER.info("Compacting the Entry write-ahead log of {} bytes into {} Entry.", walFlushedSize, snapshot.size());
+        Thread writer = Thread.currentThread();
+        walCompaction = CompletableFuture.runAsync(() -> {
+            try {
+                writeWalSnapshot(getCompactedWalPath(), snapshot);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }, walCompactor).whenComplete((result, exception) -> LockSupport.unpark(writer));
+        walCompactionTail.clear();
+    }
+
+    /**
+     * Finishes a compaction once its snapshot is written, appending the changes flushed since the snapshot was taken,
+     * forcing the compacted log to disk, and replacing the log with it atomically. If the compaction fails the log is
+     * kept, and compacted again once it grows by the ratio again. If the compacted log replaced the log but can't be
+     * opened, later changes are refused.
+     */
+    private void finishWalCompaction() {
+        CompletableFuture<Void> compaction = walCompaction;
+        List<byte[]> tail = new ArrayList<>(walCompactionTail);
+        walCompaction = null;
+        walCompactionTail.clear();
+        walCompactedSize = walFlushedSize;
+        Path compactedPath = getCompactedWalPath();
+        try {
+            compaction.join();
+            if (walOutput == null) {
+                Files.deleteIfExists(compactedPath);
+                return;
+            }
+            try (FileChannel compactedChannel = FileChannel.open(compactedPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                OutputStream output = new BufferedOutputStream(Channels.newOutputStream(compactedChannel));
+                for (byte[] bytes : tail) {
+                    output.write(bytes);
+                }
+                output.flush();
+                compactedChannel.force(true);
+            }
+        } catch (CompletionException | IOException exception) {
+            LOGGER.error("Error compacting the Entry write-ahead log, the log is kept.", exception);
+            try {
+                Files.deleteIfExists(compactedPath);
+            } catch (IOException deleteException) {
+                LOGGER.error("Error deleting the compacted Entry write-ahead log.", deleteException);
+            }
+            return;
+        }
+
+        // Closed first, as a file which is open may not be replaced on every platform.
+        closeWalOutput();
+        try {
+            Files.move(compactedPath, walPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            LOGGER.error("Error replacing the Entry write-ahead log with the compacted log, the log is kept.", exception);
+        }
+        try {
+            openWalOutput();
+            LOGGER.info("Compacted the Entry write-ahead log into {} bytes.", walFlushedSize);
+        } catch (IOException exception) {
+            LOGGER.error("Error opening the compacted Entry write-ahead log, later changes are refused.", exception);
+            walClosed = true;
+        }
+    }
+
+    /**
+     * Opens the output of the write-ahead log for appending, at the end of the log.
+     *
+     * @throws IOException Thrown if the write-ahead log cannot be opened.
+     */
+    private void openWalOutput() throws IOException {
+        walChannel = FileChannel.open(walPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        walFlushedSize = walChannel.size();
+        walCompactedSize = walFlushedSize;
+        walOutput = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(walChannel)));
+    }
+
+    /**
+     * Gets the path the compacted write-ahead log is written to before it replaces the log.
+     *
+     * @return The {@link Path} of the compacted log.
+     */
+    private Path getCompactedWalPath() {
+        return walPath.resolveSibling(walPath.getFileName() + ".compact");
+    }
+
+    /**
+     * Closes the output of the write-ahead log, if it is open.
+     */
+    private void closeWalOutput() {
+        if (walOutput == null) {
+            return;
+        }
+        try {
+            walOutput.close();
+        } catch (IOException exception) {
+            LOGGER.error("Error closing the Entry write-ahead log.", exception);
+        }
+        walOutput = null;
+    }
+
+    /**
+     * Replays the write-ahead log into memory. A record truncated by a crash ends the replay.
+     *
+     * @throws IOException Thrown if the write-ahead log cannot be read.
+     */
+    private void replayWal() throws IOException {
+        if (!Files.exists(walPath)) {
+            return;
+        }
+
+        long records = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(walPath)))) {
+            while (true) {
+                int type = input.read();
+                if (type == -1) {
+                    break;
+                }
+                if (type == WAL_PUT || type == WAL_PUT_EXPIRING) {
+                    Long expireAt = type == WAL_PUT_EXPIRING ? input.readLong() : null;
+                    Entry storedEntry = EntryBinaryUtils.readEntry(input);
+                    Optional.ofNullable(entries.get(storedEntry.getValue())).ifPresent(this::remove);
+                    put(storedEntry);
+                    if (expireAt != null) {
+                        // An Entry which expired while the store was down is removed by the first expiry.
+                        expiryWheel.schedule(storedEntry.getValue(), expireAt);
+                    }
+                } else if (type == WAL_UPDATE) {
+                    String key = EntryBinaryUtils.readString(input);
+                    replace(key, EntryBinaryUtils.readEntry(input));
+                } else if (type == WAL_DELETE) {
+                    Optional.ofNullable(entries.get(EntryBinaryUtils.readString(input))).ifPresent(this::remove);
+                } else {
+                    LOGGER.error("Unknown record in the Entry write-ahead log, the remainder is ignored.");
+                    break;
+                }
+                records++;
+            }
+        } catch (EOFException exception) {
+            LOGGER.error("Truncated record at the end of the Entry write-ahead log is ignored.");
+        }
+        LOGGER.info("Replayed {} records of the Entry write-ahead log into {} Entry.", records, entries.size());
+    }
+
+    /**
+     * Rewrites the write-ahead log with a single put per {@link Entry}, with its expiry time if it has one, replacing it
+     * atomically once the rewritten log is forced to disk.
+     *
+     * @throws IOException Thrown if the write-ahead log cannot be written.
+     */
+    private void compactWal() throws IOException {
+        List<WalSnapshotEntry> snapshot = new ArrayList<>(entries.size());
+        for (Entry storedEntry : entries.values()) {
+            snapshot.add(new WalSnapshotEntry(storedEntry, expiryWheel.getExpireAt(storedEntry.getValue())));
+        }
+        Path compactedPath = getCompactedWalPath();
+        writeWalSnapshot(compactedPath, snapshot);
+        Files.move(compactedPath, walPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a snapshot as a write-ahead log of a single put per {@link Entry}, with its expiry time if it has one, and
+     * forces it to disk, so it is never replaced by a log whose records may be lost.
+     *
+     * @param compactedPath - The {@link Path} the snapshot is written to.
+     * @param snapshot      - The {@link List} of {@link WalSnapshotEntry} of every {@link Entry}.
+     * @throws IOException Thrown if the snapshot cannot be written.
+     */
+    private static void writeWalSnapshot(Path compactedPath, List<WalSnapshotEntry> snapshot) throws IOException {
+        try (FileChannel compactedChannel = FileChannel.open(compactedPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(compactedChannel)));
+            for (WalSnapshotEntry snapshotEntry : snapshot) {
+                output.writeByte(snapshotEntry.expireAt == null ? WAL_PUT : WAL_PUT_EXPIRING);
+                if (snapshotEntry.expireAt != null) {
+                    output.writeLong(snapshotEntry.expireAt);
+                }
+                EntryBinaryUtils.writeEntry(output, snapshotEntry.entry);
+            }
+            output.flush();
+            compactedChannel.force(true);
+        }
+    }
+
+    /**
+     * Appends a new {@link Audit} for an action to the {@link Audits} of an {@link Entry}.
+     *
+     * @param entry  - The {@link Entry} to be audited.
+     * @param action - The {@link AuditActionCodes} of the action.
+     * @return The {@link Audit} appended.
+     */
+    private Audit appendAudit(Entry entry, AuditActionCodes action) {
+        Audits audits = Optional.ofNullable(entry.getAudits())
+                .orElseGet(Audits::new);
+        Audit audit = audits.createAudit(audits, action.getCode());
+        audits.getAuditList().add(audit);
+        entry.setAudits(audits);
+        return audit;
+    }
+
+    /**
+     * Copies an {@link Entry} and its {@link Audits}, so the stored {@link Entry} is never shared with callers.
+     *
+     * @param entry - The {@link Entry} to be copied.
+     * @return The copied {@link Entry}.
+     */
+    private Entry copyEntry(Entry entry) {
+        Entry copiedEntry = new Entry(entry.getValue(), entry.getId());
+        if (entry.getAudits() != null) {
+            for (Audit audit : entry.getAudits().getAuditList()) {
+                Audit copiedAudit = new Audit();
+                copiedAudit.setAuditId(audit.getAuditId());
+                copiedAudit.setAction(audit.getAction());
+                copiedAudit.setTimestamp(audit.getTimestamp());
+                copiedEntry.getAudits().getAuditList().add(copiedAudit);
+            }
+        }
+        copiedEntry.setVersion(getVersion(copiedEntry));
+        return copiedEntry;
+    }
+
+    /**
+     * Gets the version of an {@link Entry}, the latest audit id of its {@link Audits}.
+     *
+     * @param entry - The {@link Entry}.
+     * @return The {@link Long} version, or null if the {@link Entry} has no {@link Audit}.
+     */
+    private static Long getVersion(Entry entry) {
+        return Optional.ofNullable(entry.getAudits())
+                .map(Audits::getLastAuditId)
+                .map(Integer::longValue)
+                .orElse(null);
+    }
+
+    /**
+     * Determines if a stored {@link Entry} has the expected version.
+     *
+     * @param storedEntry     - The stored {@link Entry}.
+     * @param expectedVersion - The {@link Long} expected version, or null to skip the check.
+     * @return If true, the version matches or isn't checked.
+     */
+    private static boolean isExpectedVersion(Entry storedEntry, Long expectedVersion) {
+        return expectedVersion == null || expectedVersion.equals(getVersion(storedEntry));
+    }
+
+    /**
+     * A change serialized for the write-ahead log with its rollback, completed by the writer thread once its group is
+     * flushed or rolled back.
+     */
+    private static class WalRecord {
+        // Returned when no write-ahead log is configured, so the change is never waited on.
+        private static final WalRecord UNLOGGED = new WalRecord(new byte[0], null);
+
+        static {
+            UNLOGGED.flushed.complete(true);
+        }
+
+        private final byte[] bytes;
+        private final Runnable rollback;
+        private final String[] lockedValues;
+        private final CompletableFuture<Boolean> flushed = new CompletableFuture<>();
+
+        private WalRecord(byte[] bytes, Runnable rollback, String... lockedValues) {
+            this.bytes = bytes;
+            this.rollback = rollback;
+            this.lockedValues = lockedValues;
+        }
+    }
+
+    /**
+     * An {@link Entry} of a snapshot of the write-ahead log, with its expiry time.
+     */
+    private static class WalSnapshotEntry {
+        private final Entry entry;
+        private final Long expireAt;
+
+        private WalSnapshotEntry(Entry entry, Long expireAt) {
+            this.entry = entry;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * A value in the view sorted by the last modified time, ordered by the time in epoch milliseconds then by value. An
+     * {@link Entry} without a dated {@link Audit} is ordered as modified at the epoch.
+     */
+    protected static class ModifiedValue implements Comparable<ModifiedValue> {
+        private final long modified;
+        private final String value;
+
+        private ModifiedValue(long modified, String value) {
+            this.modified = modified;
+            this.value = value;
+        }
+
+        private static ModifiedValue of(Entry entry) {
+            return new ModifiedValue(EntrySortUtils.getLastModified(entry).map(EntryRedisOperations::toEpochMillis).orElse(0L), entry.getValue());
+        }
+
+        @Override
+        public int compareTo(ModifiedValue other) {
+            int compare = Long.compare(modified, other.modified);
+            return compare != 0 ? compare : EntryRangeUtils.compare(value, other.value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ModifiedValue && compareTo((ModifiedValue) obj) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(modified) * 31 + value.hashCode();
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * An append-only archive of {@link Audit} objects held in compressed segment files on local disk, with a sparse index
+ * of the blocks of each {@link Entry} id. Reads may run alongside each other, but not alongside an append.
+ * <p>
+ * Each append writes a block to the current segment file: the length of the compressed data, the number of
+ * {@link Audit} objects, and the {@link EntryBinaryUtils} compact encodings of the {@link Audit} objects compressed
+ * with DEFLATE. The block is forced to the storage device before its index record is appended to the index file, so
+ * the index only refers to complete blocks, and a block left without an index record by a crash is never read. A new
+ * segment file is started once the current one would exceed the segment size.
+ * <p>
+ * The index holds a record per block rather than per {@link Audit}, and is read into memory when the archive is
+ * opened. Blocks are read through read-only memory mappings of the segment files.
+ * <p>
+ * An archive on shared storage may be opened read-only by the nodes which don't write it. Index records are only ever
+ * appended after their blocks are forced, so {@link #refresh()} reads the records the writer has appended since the
+ * index was last read, and never finds a record of a block which isn't complete.
+ */
+public class MappedAuditArchive implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_FILE = "audit.idx";
+    private static final int BLOCK_HEADER_SIZE = 2 * Integer.BYTES;
+    // The segment, offset, length, count, first audit id and last audit id following the id of an index record.
+    private static final int INDEX_RECORD_SIZE = 5 * Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Map<String, List<Block>> blocks = new HashMap<>();
+    private final Map<Integer, MappedByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+    private final boolean readOnly;
+    private FileChannel indexChannel;
+    private FileChannel segmentChannel;
+    private long indexPosition;
+    private int segment;
+
+    /**
+     * Constructor for {@link MappedAuditArchive}. Reads the index of an existing archive, or creates the archive if it
+     * doesn't exist. An index record left incomplete by a crash is removed.
+     *
+     * @param directory    - The {@link Path} of the directory of the archive.
+     * @param segmentBytes - The size in bytes after which a new segment file is started.
+     * @throws IOException Thrown if the archive cannot be read or created.
+     */
+    public MappedAuditArchive(Path directory, long segmentBytes) throws IOException {
+        this(directory, segmentBytes, false);
+    }
+
+    /**
+     * Constructor for {@link MappedAuditArchive}. Reads the index of an existing archive. A writable archive is created if
+     * it doesn't exist, and an index record left incomplete by a crash is removed. A read-only archive is left as it is,
+     * as the index record may still be being written by the node writing the archive.
+     *
+     * @param directory    - The {@link Path} of the directory of the archive.
+     * @param segmentBytes - The size in bytes after which a new segment file is started.
+     * @param readOnly     - If true, the archive is only read, and {@link #append(String, List)} is rejected.
+     * @throws IOException Thrown if the archive cannot be read or created.
+     */
+    public MappedAuditArchive(Path directory, long segmentBytes, boolean readOnly) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.readOnly = readOnly;
+        if (readOnly) {
+            refresh();
+            return;
+        }
+
+        Files.createDirectories(directory);
+        indexChannel = FileChannel.open(directory.resolve(INDEX_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        refresh();
+        indexChannel.truncate(indexPosition);
+
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : segments) {
+                String name = path.getFileName().toString();
+                segment = Math.max(segment, Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        segmentChannel = openSegment(segment);
+    }
+
+    /**
+     * Reads the index records appended since the index was last read, up to the last complete record. A read-only archive
+     * opens the index once it has been created by the node writing the archive.
+     *
+     * @throws IOException Thrown if the index cannot be read.
+     */
+    public void refresh() throws IOException {
+        if (indexChannel == null) {
+            Path indexPath = directory.resolve(INDEX_FILE);
+            if (!Files.exists(indexPath)) {
+                return;
+            }
+            indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ);
+        }
+
+        ByteBuffer index = ByteBuffer.allocate((int) (indexChannel.size() - indexPosition));
+        while (index.hasRemaining() && indexChannel.read(index, indexPosition + index.position()) >= 0) {
+            // Read the rest of the index.
+        }
+        index.flip();
+        int complete = 0;
+        while (index.remaining() >= Integer.BYTES) {
+            int idLength = index.getInt();
+            if (index.remaining() < idLength + INDEX_RECORD_SIZE) {
+                break;
+            }
+            byte[] id = new byte[idLength];
+            index.get(id);
+            Block block = new Block(index.getInt(), index.getLong(), index.getInt(), index.getInt(), index.getInt(), index.getInt());
+            blocks.computeIfAbsent(new String(id, StandardCharsets.UTF_8), key -> new ArrayList<>()).add(block);
+            segment = Math.max(segment, block.segment);
+            complete = index.position();
+        }
+        indexPosition += complete;
+    }
+
+    /**
+     * Appends {@link Audit} objects of an {@link Entry} id to the archive as a single block.
+     *
+     * @param id     - The {@link String} id of the {@link Entry}.
+     * @param audits - The {@link List} of {@link Audit} objects, oldest first.
+     * @throws IOException           Thrown if the block or its index record cannot be written.
+     * @throws IllegalStateException Thrown if the archive is read-only.
+     */
+    public void append(String id, List<Audit> audits) throws IOException {
+        if (readOnly) {
+            throw new IllegalStateException("The audit archive at " + directory + " is read-only.");
+        }
+        if (audits.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream output = new DeflaterOutputStream(compressed)) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            for (Audit audit : audits) {
+                EntryBinaryUtils.writeCompactAudit(encoded, audit);
+            }
+            encoded.writeTo(output);
+        }
+
+        int length = BLOCK_HEADER_SIZE + compressed.size();
+        if (segmentChannel.size() > 0 && segmentChannel.size() + length > segmentBytes) {
+            segmentChannel.close();
+            segmentChannel = openSegment(++segment);
+        }
+        long offset = segmentChannel.size();
+        ByteBuffer block = ByteBuffer.allocate(length);
+        block.putInt(compressed.size()).putInt(audits.size()).put(compressed.toByteArray()).flip();
+        write(segmentChannel, block, offset);
+        segmentChannel.force(false);
+
+        Block indexedBlock = new Block(segment, offset, length, audits.size(), getAuditId(audits.get(0)), getAuditId(audits.get(audits.size() - 1)));
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer indexRecord = ByteBuffer.allocate(Integer.BYTES + idBytes.length + INDEX_RECORD_SIZE);
+        indexRecord.putInt(idBytes.length).put(idBytes)
+                .putInt(indexedBlock.segment).putLong(indexedBlock.offset).putInt(indexedBlock.length)
+                .putInt(indexedBlock.count).putInt(indexedBlock.firstAuditId).putInt(indexedBlock.lastAuditId).flip();
+        write(indexChannel, indexRecord, indexPosition);
+        indexChannel.force(false);
+        indexPosition += indexRecord.capacity();
+        blocks.computeIfAbsent(id, key -> new ArrayList<>()).add(indexedBlock);
+    }
+
+    /**
+     * Gets the number of archived {@link Audit} objects of an {@link Entry} id.
+     *
+     * @param id - The {@link String} id of the {@link Entry}.
+     * @return The number of archived {@link Audit} objects.
+     */
+    public long count(String id) {
+        long count = 0;
+        for (Block block : blocks.getOrDefault(id, Collections.emptyList())) {
+            count += block.count;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the {@link Entry} ids with archived {@link Audit} objects.
+     *
+     * @return A {@link Set} of the {@link String} ids.
+     */
+    public Set<String> getIds() {
+        return Collections.unmodifiableSet(blocks.keySet());
+    }
+
+    /**
+     * Gets the audit id of the latest archived {@link Audit} of an {@link Entry} id.
+     *
+     * @param id - The {@link String} id of the {@link Entry}.
+     * @return The audit id, or 0 if no {@link Audit} is archived for the id.
+     */
+    public int getLastAuditId(String id) {
+        List<Block> idBlocks = blocks.getOrDefault(id, Collections.emptyList());
+        return idBlocks.isEmpty() ? 0 : idBlocks.get(idBlocks.size() - 1).lastAuditId;
+    }
+
+    /**
+     * Reads archived {@link Audit} objects of an {@link Entry} id, oldest first. Only the blocks holding the requested
+     * {@link Audit} objects are mapped and decompressed.
+     *
+     * @param id     - The {@link String} id of the {@link Entry}.
+     * @param offset - The number of archived {@link Audit} objects to be skipped.
+     * @param count  - The maximum number of {@link Audit} objects to be returned.
+     * @return A {@link List} of the {@link Audit} objects.
+     * @throws IOException Thrown if a segment file cannot be mapped or a block cannot be decompressed.
+     */
+    public List<Audit> read(String id, long offset, int count) throws IOException {
+        List<Audit> audits = new ArrayList<>();
+        long skipped = 0;
+        for (Block block : blocks.getOrDefault(id, Collections.emptyList())) {
+            if (audits.size() >= count) {
+                break;
+            }
+            if (skipped + block.count <= offset) {
+                skipped += block.count;
+                continue;
+            }
+
+            List<Audit> blockAudits = readBlock(block);
+            int from = (int) Math.max(0, offset - skipped);
+            audits.addAll(blockAudits.subList(from, Math.min(blockAudits.size(), from + count - audits.size())));
+            skipped += block.count;
+        }
+        return audits;
+    }
+
+    /**
+     * Determines if the archive is read-only.
+     *
+     * @return If true, the archive is only read.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Forces and closes the segment and index files. The files of a read-only archive are only closed.
+     *
+     * @throws IOException Thrown if a file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        mappedSegments.clear();
+        if (readOnly) {
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+            return;
+        }
+        try {
+            segmentChannel.force(true);
+            indexChannel.force(true);
+        } finally {
+            segmentChannel.close();
+            indexChannel.close();
+        }
+    }
+
+    /**
+     * Decompresses the {@link Audit} objects of a block through a read-only mapping of its segment file. A segment file
+     * is re-mapped when it has grown past its mapping.
+     *
+     * @param block - The {@link Block} to be read.
+     * @return A {@link List} of the {@link Audit} objects of the block.
+     * @throws IOException Thrown if the segment file cannot be mapped or the block cannot be decompressed.
+     */
+    private List<Audit> readBlock(Block block) throws IOException {
+        MappedByteBuffer mappedSegment = mappedSegments.get(block.segment);
+        if (mappedSegment == null || mappedSegment.capacity() < block.offset + block.length) {
+            try (FileChannel channel = FileChannel.open(getSegmentPath(block.segment), StandardOpenOption.READ)) {
+                mappedSegment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            mappedSegments.put(block.segment, mappedSegment);
+        }
+
+        ByteBuffer buffer = mappedSegment.duplicate();
+        buffer.position((int) block.offset);
+        byte[] compressed = new byte[buffer.getInt()];
+        int count = buffer.getInt();
+        buffer.get(compressed);
+
+        ByteBuffer encoded;
+        try (InflaterInputStream input = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            encoded = ByteBuffer.wrap(StreamUtils.copyToByteArray(input));
+        }
+        List<Audit> audits = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            audits.add(EntryBinaryUtils.readCompactAudit(encoded));
+        }
+        return audits;
+    }
+
+    private FileChannel openSegment(int number) throws IOException {
+        return FileChannel.open(getSegmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private Path getSegmentPath(int number) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static int getAuditId(Audit audit) {
+        return Optional.ofNullable(audit.getAuditId()).orElse(0);
+    }
+
+    /**
+     * The index record of a block of a segment file.
+     */
+    private static class Block {
+        private final int segment;
+        private final long offset;
+        private final int length;
+        private final int count;
+        private final int firstAuditId;
+        private final int lastAuditId;
+
+        private Block(int segment, long offset, int length, int count, int firstAuditId, int lastAuditId) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+            this.firstAuditId = firstAuditId;
+            this.lastAuditId = lastAuditId;
+        }
+    }
+}
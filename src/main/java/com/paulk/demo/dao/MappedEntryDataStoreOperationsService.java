@@ -0,0 +1,909 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.constants.AuditActionCodes;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.EntriesResponse;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import com.paulk.demo.utils.EntryCursorUtils;
+import com.paulk.demo.utils.EntryRangeUtils;
+import com.paulk.demo.utils.EntrySearchUtils;
+import com.paulk.demo.utils.EntrySortUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link Component} for performing {@link DataStoreOperations} on {@link Entry} objects held off the Java heap in a
+ * {@link MappedEntryTable}. Selected with the property api.datastore.type=mapped.
+ * <p>
+ * Only the {@link Entry} objects being read or written are on the heap, so the heap stays flat as the number of
+ * {@link Entry} grows, and the file at api.datastore.mapped.path is re-mapped on startup. Reads share a read lock and
+ * writes hold the write lock. Pages are returned in table order rather than by value, as no sorted index is held, and
+ * range queries compare every value with the range. Likewise, as no index of the last modified time is held, pages by
+ * the last modified time sort every {@link Entry} modified since the time.
+ * <p>
+ * The expiry times of the {@link Entry} added with a time to live are held on the heap in an {@link EntryExpiryWheel},
+ * so {@link #expire(long, int)} finds the expired values without scanning the table. Each change of an expiry time is
+ * appended to an expiry log beside the file, which is replayed and compacted on startup.
+ */
+@Component
+@ConditionalOnProperty(name = "api.datastore.type", havingValue = "mapped")
+public class MappedEntryDataStoreOperationsService implements DataStoreOperations<String, Entry> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedEntryDataStoreOperationsService.class);
+
+    private static final String EXPIRY_LOG_SUFFIX = ".expiry";
+    // Marks an expiry time removed from the expiry log, as no Entry expires at the epoch.
+    private static final long NO_EXPIRY = 0L;
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedEntryTable table;
+    // Guarded by the write lock.
+    private long adds;
+    private long updates;
+    private long deletes;
+    private long expirations;
+    // Prefixes the change tag, as the mutations are counted from 0 on each startup.
+    private final long startedAt = System.currentTimeMillis();
+    private EntryExpiryWheel expiryWheel;
+    private Path expiryLogPath;
+    private DataOutputStream expiryLogOutput;
+
+    /**
+     * Maps the file of the {@link MappedEntryTable}, creating it if it doesn't exist, and replays the expiry log.
+     *
+     * @throws IOException Thrown if the file cannot be mapped, or the expiry log cannot be replayed or opened.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        table = new MappedEntryTable(Paths.get(demoApplicationConfig.getMappedPath()),
+                demoApplicationConfig.getMappedInitialSlots(), demoApplicationConfig.getMappedInitialSizeMb() << 20);
+        LOGGER.info("Mapped {} Entry from {}.", table.size(), demoApplicationConfig.getMappedPath());
+
+        expiryWheel = new EntryExpiryWheel(EntryExpiryWheel.DEFAULT_TICK_MILLIS, System.currentTimeMillis());
+        expiryLogPath = Paths.get(demoApplicationConfig.getMappedPath() + EXPIRY_LOG_SUFFIX);
+        replayExpiryLog();
+        expiryLogOutput = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(expiryLogPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    /**
+     * Forces the changes of the {@link MappedEntryTable} to the storage device, and closes the expiry log.
+     */
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            table.force();
+            if (expiryLogOutput != null) {
+                expiryLogOutput.close();
+                expiryLogOutput = null;
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error closing the Entry expiry log.", exception);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add an {@link Entry} to the data store.
+     *
+     * @param entry - The {@link Entry} to be added.
+     * @return If true, {@link Entry} added successfully, else {@link Entry} already exists.
+     */
+    @Override
+    public EntryOperationResponse add(Entry entry) {
+        return add(entry, null);
+    }
+
+    /**
+     * Add an {@link Entry} to the data store which expires after a time to live. The expiry time is logged before the
+     * {@link Entry} is inserted, so an inserted {@link Entry} never loses it.
+     *
+     * @param entry      - The {@link Entry} to be added.
+     * @param ttlSeconds - The {@link Long} number of seconds after which the {@link Entry} expires, or null if it never expires.
+     * @return If true, {@link Entry} added successfully, else {@link Entry} already exists.
+     */
+    @Override
+    public EntryOperationResponse add(Entry entry, Long ttlSeconds) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (entry == null || entry.getValue() == null || (ttlSeconds != null && (ttlSeconds <= 0 || entry.getId() == null))) {
+            LOGGER.error("Error saving Entry during the Add Operation.");
+            return entryActionResponse;
+        }
+
+        Long expireAt = ttlSeconds == null ? null : EntryExpiryWheel.toExpireAt(System.currentTimeMillis(), ttlSeconds);
+        Audit audit = appendAudit(entry, AuditActionCodes.ADD);
+        lock.writeLock().lock();
+        try {
+            if (!table.containsValue(entry.getValue()) && (entry.getId() == null || !table.containsId(entry.getId()))
+                    && (expireAt == null || appendToExpiryLog(entry.getValue(), expireAt))) {
+                try {
+                    table.insert(entry);
+                } catch (IOException exception) {
+                    if (expireAt != null) {
+                        appendToExpiryLog(entry.getValue(), NO_EXPIRY);
+                    }
+                    throw exception;
+                }
+                if (expireAt != null) {
+                    expiryWheel.schedule(entry.getValue(), expireAt);
+                }
+                adds++;
+                entry.setVersion(audit.getAuditId().longValue());
+                entryActionResponse.setSuccessfulOperation(true);
+                return entryActionResponse;
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error saving Entry during the Add Operation.", exception);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Entry was not added, so remove the Audit generated for the Add Operation.
+        entry.getAudits().getAuditList().remove(audit);
+        return entryActionResponse;
+    }
+
+    /**
+     * Remove an {@link Entry} to the data store.
+     *
+     * @param entry - The {@link Entry} to be deleted.
+     * @return If true, {@link Entry} removed successfully, else {@link Entry} doesn't exists.
+     */
+    @Override
+    public EntryOperationResponse delete(Entry entry) {
+        return delete(entry, null);
+    }
+
+    /**
+     * Remove an {@link Entry} from the data store if its version matches the expected version. The version is checked
+     * while the write lock is held.
+     *
+     * @param entry           - The {@link Entry} to be deleted.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return If true, {@link Entry} removed successfully, else {@link Entry} doesn't exists or the version didn't match.
+     */
+    @Override
+    public EntryOperationResponse delete(Entry entry, Long expectedVersion) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (entry == null || entry.getId() == null || entry.getValue() == null) {
+            LOGGER.error("Error deleting Entry during the Delete Operation.");
+            return entryActionResponse;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Entry storedEntry = table.get(entry.getValue());
+            if (storedEntry != null && entry.getId().equals(storedEntry.getId())) {
+                if (!isExpectedVersion(storedEntry, expectedVersion)) {
+                    entryActionResponse.setPreconditionFailed(true);
+                    return entryActionResponse;
+                }
+                table.remove(storedEntry);
+                removeExpiry(storedEntry.getValue());
+                deletes++;
+                // Generate Audit
+                Audit audit = appendAudit(storedEntry, AuditActionCodes.DELETE);
+                storedEntry.setVersion(audit.getAuditId().longValue());
+                entryActionResponse.setEntry(storedEntry);
+                entryActionResponse.setSuccessfulOperation(true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Update an existing {@link Entry} in the data store.
+     *
+     * @param key   - The current {@link String} value of the {@link Entry}.
+     * @param entry - The {@link Entry} containing the id and the updated value.
+     * @return If true, {@link Entry} updated successfully, else {@link Entry} doesn't exists.
+     */
+    @Override
+    public EntryOperationResponse update(String key, Entry entry) {
+        return update(key, entry, null);
+    }
+
+    /**
+     * Update an existing {@link Entry} in the data store if its version matches the expected version. The version is
+     * checked while the write lock is held.
+     *
+     * @param key             - The current {@link String} value of the {@link Entry}.
+     * @param entry           - The {@link Entry} containing the id and the updated value.
+     * @param expectedVersion - The {@link Long} version the stored {@link Entry} must have, or null to skip the check.
+     * @return If true, {@link Entry} updated successfully, else {@link Entry} doesn't exists or the version didn't match.
+     */
+    @Override
+    public EntryOperationResponse update(String key, Entry entry, Long expectedVersion) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (key == null || entry == null || entry.getId() == null || entry.getValue() == null) {
+            LOGGER.error("Error saving Entry during the Update Operation.");
+            return entryActionResponse;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Entry storedEntry = table.get(key);
+            if (storedEntry == null || !entry.getId().equals(storedEntry.getId())) {
+                return entryActionResponse;
+            }
+            if (!isExpectedVersion(storedEntry, expectedVersion)) {
+                entryActionResponse.setPreconditionFailed(true);
+                return entryActionResponse;
+            }
+            if (!key.equals(entry.getValue()) && table.containsValue(entry.getValue())) {
+                return entryActionResponse;
+            }
+
+            // The expiry time moves with the Entry to the updated value, and is logged for it before the Entry is moved.
+            Long expireAt = key.equals(entry.getValue()) ? null : expiryWheel.getExpireAt(key);
+            if (expireAt != null && !appendToExpiryLog(entry.getValue(), expireAt)) {
+                return entryActionResponse;
+            }
+            storedEntry.setValue(entry.getValue());
+            Audit audit = appendAudit(storedEntry, AuditActionCodes.UPDATE);
+            table.replace(key, storedEntry);
+            storedEntry.setVersion(audit.getAuditId().longValue());
+            if (expireAt != null) {
+                expiryWheel.move(key, entry.getValue());
+                appendToExpiryLog(key, NO_EXPIRY);
+            }
+            updates++;
+            entryActionResponse.setEntry(storedEntry);
+            entryActionResponse.setSuccessfulOperation(true);
+        } catch (IOException exception) {
+            LOGGER.error("Error saving Entry during the Update Operation.", exception);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Get an {@link Entry} from the data store.
+     *
+     * @param entry - The {@link Entry} to be retrieved.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} if it exists.
+     */
+    @Override
+    public EntryOperationResponse get(Entry entry) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (entry == null || entry.getValue() == null) {
+            return entryActionResponse;
+        }
+
+        Entry storedEntry;
+        lock.readLock().lock();
+        try {
+            storedEntry = table.get(entry.getValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (storedEntry != null) {
+            entryActionResponse.setEntry(storedEntry);
+            entryActionResponse.setSuccessfulOperation(true);
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Get an {@link Entry} from the data store by its id.
+     *
+     * @param id - The {@link String} id of the {@link Entry} to be retrieved.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} if it exists.
+     */
+    @Override
+    public EntryOperationResponse getById(String id) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (id == null) {
+            return entryActionResponse;
+        }
+
+        Entry storedEntry;
+        lock.readLock().lock();
+        try {
+            storedEntry = table.getById(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (storedEntry != null) {
+            entryActionResponse.setEntry(storedEntry);
+            entryActionResponse.setSuccessfulOperation(true);
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Get the version of an {@link Entry} by its id. The version is held in the encoded {@link Entry}, so the record is
+     * decoded, but nothing is returned to be serialized.
+     *
+     * @param id  - The {@link String} id of the {@link Entry}.
+     * @param key - The {@link String} value the {@link Entry} must have, or null for any value.
+     * @return An {@link Optional} of the {@link Long} version, empty if no {@link Entry} exists for the id and value.
+     */
+    @Override
+    public Optional<Long> getVersionById(String id, String key) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        Entry storedEntry;
+        lock.readLock().lock();
+        try {
+            storedEntry = table.getById(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.ofNullable(storedEntry)
+                .filter(entry -> key == null || key.equals(entry.getValue()))
+                .map(Entry::getVersion);
+    }
+
+    /**
+     * Get a page of the {@link Audit} history of an {@link Entry}, oldest first. The {@link Audit} objects are held in
+     * the {@link Entry}, so the page is taken from its {@link com.paulk.demo.model.Audits}.
+     *
+     * @param key        - The {@link String} value of the {@link Entry}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} with the page of its audits, if it exists.
+     */
+    @Override
+    public EntryOperationResponse getAudits(String key, Integer pageNumber, Integer pageSize) {
+        return getAuditPage(get(new Entry(key, null)), pageNumber, pageSize);
+    }
+
+    /**
+     * Get a page of the {@link Audit} history of an {@link Entry} id, oldest first. A deleted {@link Entry} is not held,
+     * so its history is not returned.
+     *
+     * @param id         - The {@link String} id of the {@link Entry}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntryOperationResponse} containing the {@link Entry} with the page of its audits, if it exists.
+     */
+    @Override
+    public EntryOperationResponse getAuditsById(String id, Integer pageNumber, Integer pageSize) {
+        return getAuditPage(getById(id), pageNumber, pageSize);
+    }
+
+    /**
+     * Replaces the {@link Audit} objects of the {@link Entry} of a successful response with a page of them.
+     *
+     * @param entryActionResponse - The {@link EntryOperationResponse} of the {@link Entry}.
+     * @param pageNumber          - The {@link Integer} page number for the response.
+     * @param pageSize            - The {@link Integer} page size for the response.
+     * @return The {@link EntryOperationResponse}.
+     */
+    private EntryOperationResponse getAuditPage(EntryOperationResponse entryActionResponse, Integer pageNumber, Integer pageSize) {
+        if (entryActionResponse.isSuccessfulOperation()) {
+            List<Audit> auditList = entryActionResponse.getEntry().getAudits().getAuditList();
+            int from = (int) Math.min((long) pageNumber * pageSize, auditList.size());
+            List<Audit> page = new ArrayList<>(auditList.subList(from, (int) Math.min((long) from + pageSize, auditList.size())));
+            auditList.clear();
+            auditList.addAll(page);
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Get all {@link Entry} in the data store, in table order.
+     *
+     * @return An {@link EntriesResponse} of all {@link Entry}.
+     */
+    @Override
+    public EntriesResponse getAll() {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        lock.readLock().lock();
+        try {
+            for (int slot = table.nextSlot(0); slot >= 0; slot = table.nextSlot(slot + 1)) {
+                entriesResponse.getEntries().add(table.getAtSlot(slot));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        entriesResponse.setTotalEntries(entriesResponse.getEntries().size());
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} in the data store, in table order. The page is found by skipping the {@link Entry}
+     * of the previous pages, so {@link #getAllFromCursor(String, Integer)} should be preferred for deep pages.
+     *
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return An {@link EntriesResponse} of the page of {@link Entry}.
+     */
+    @Override
+    public EntriesResponse getAll(Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        long skip = (long) pageNumber * pageSize;
+        lock.readLock().lock();
+        try {
+            int slot = table.nextSlot(0);
+            for (long index = 0; index < skip && slot >= 0; index++) {
+                slot = table.nextSlot(slot + 1);
+            }
+            for (; slot >= 0 && entriesResponse.getEntries().size() < pageSize; slot = table.nextSlot(slot + 1)) {
+                entriesResponse.getEntries().add(table.getAtSlot(slot));
+            }
+
+            if (!entriesResponse.getEntries().isEmpty()) {
+                int totalEntries = table.size();
+                entriesResponse.setTotalEntries(totalEntries);
+                entriesResponse.setTotalPages((totalEntries + pageSize - 1) / pageSize);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} in table order, starting after an opaque cursor. The cursor holds the slot of the
+     * last {@link Entry} on the previous page, so a page may repeat or skip {@link Entry} if the table is rebuilt
+     * between pages.
+     *
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry}, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse getAllFromCursor(String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        String lastSlot = EntryCursorUtils.decode(cursor);
+        int firstSlot = lastSlot == null ? 0 : Integer.parseInt(lastSlot) + 1;
+        if (firstSlot < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        lock.readLock().lock();
+        try {
+            int lastPageSlot = -1;
+            int slot = table.nextSlot(firstSlot);
+            for (; slot >= 0 && entriesResponse.getEntries().size() < pageSize; slot = table.nextSlot(slot + 1)) {
+                entriesResponse.getEntries().add(table.getAtSlot(slot));
+                lastPageSlot = slot;
+            }
+
+            if (lastPageSlot >= 0 && slot >= 0) {
+                entriesResponse.setNextCursor(EntryCursorUtils.encode(String.valueOf(lastPageSlot)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} whose value is in a lexicographic range, ordered by value. As no sorted index is held,
+     * every value is compared with the range, and only the {@link Entry} in the range are decoded.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are returned from the last value of the range.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} in the range.
+     */
+    @Override
+    public EntriesResponse getRange(String from, String to, boolean descending, Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        List<Entry> rangeEntries = getSortedRange(from, to, descending, null);
+        long skip = (long) pageNumber * pageSize;
+        if (skip < rangeEntries.size()) {
+            entriesResponse.getEntries().addAll(rangeEntries.subList((int) skip, (int) Math.min(rangeEntries.size(), skip + pageSize)));
+            entriesResponse.setTotalEntries(rangeEntries.size());
+            entriesResponse.setTotalPages((int) ((rangeEntries.size() + (long) pageSize - 1) / pageSize));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} whose value is in a lexicographic range, ordered by value, starting after an opaque
+     * cursor holding the last value of the previous page.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are returned from the last value of the range, and a page starts
+     *                   before the cursor.
+     * @param cursor     - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} in the range, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse getRangeFromCursor(String from, String to, boolean descending, String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        List<Entry> rangeEntries = getSortedRange(from, to, descending, EntryCursorUtils.decode(cursor));
+        entriesResponse.getEntries().addAll(rangeEntries.subList(0, Math.min(rangeEntries.size(), pageSize)));
+        if (rangeEntries.size() > pageSize) {
+            entriesResponse.setNextCursor(EntryCursorUtils.encode(rangeEntries.get(pageSize - 1).getValue()));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get a page of {@link Entry} ordered by the time they were last modified. Every slot is scanned and the
+     * {@link Entry} modified since the time are sorted with {@link EntrySortUtils}.
+     *
+     * @param modifiedSince - The inclusive UTC {@link LocalDateTime} lower bound of the last modified time, or null for no lower bound.
+     * @param descending    - If true, the most recently modified {@link Entry} are returned first.
+     * @param pageNumber    - The {@link Integer} page number for the response.
+     * @param pageSize      - The {@link Integer} page size for the response.
+     * @return A page of {@link Entry} modified since the time.
+     */
+    @Override
+    public EntriesResponse getModified(LocalDateTime modifiedSince, boolean descending, Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        List<Entry> modifiedEntries = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int slot = table.nextSlot(0); slot >= 0; slot = table.nextSlot(slot + 1)) {
+                Entry entry = table.getAtSlot(slot);
+                if (modifiedSince == null || EntrySortUtils.getLastModified(entry).filter(modified -> !modified.isBefore(modifiedSince)).isPresent()) {
+                    modifiedEntries.add(entry);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        EntrySortUtils.sort(modifiedEntries, EntrySortUtils.SORT_LAST_MODIFIED,
+                descending ? EntrySortUtils.DIRECTION_DESC : EntrySortUtils.DIRECTION_ASC, demoApplicationConfig.getSortParallelThreshold());
+
+        long skip = (long) pageNumber * pageSize;
+        if (skip < modifiedEntries.size()) {
+            entriesResponse.getEntries().addAll(modifiedEntries.subList((int) skip, (int) Math.min(modifiedEntries.size(), skip + pageSize)));
+            entriesResponse.setTotalEntries(modifiedEntries.size());
+            entriesResponse.setTotalPages((int) ((modifiedEntries.size() + (long) pageSize - 1) / pageSize));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Get the counters of the data store. The number of {@link Entry} is the size of the {@link MappedEntryTable}, and
+     * the mutations are counted since startup.
+     *
+     * @return The {@link EntryStatsResponse}.
+     */
+    @Override
+    public EntryStatsResponse getStats() {
+        lock.readLock().lock();
+        try {
+            return new EntryStatsResponse(table.size(), adds, updates, deletes, expirations);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the time each listed {@link Entry} was created. The {@link Entry} held in the table keep their {@link Audit} objects, so
+     * the created time is read from those instead.
+     *
+     * @param entries - The {@link Collection} of listed {@link Entry}.
+     * @return An empty {@link Map}.
+     */
+    @Override
+    public Map<String, LocalDateTime> getCreated(Collection<Entry> entries) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Get the change tag of the data store, the startup time and the number of mutations since startup, read under the
+     * read lock so it never describes a partly applied mutation.
+     *
+     * @return The {@link String} change tag.
+     */
+    @Override
+    public String getChangeTag() {
+        lock.readLock().lock();
+        try {
+            return startedAt + "-" + (adds + updates + deletes + expirations);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the {@link Entry} whose time to live has passed, up to a maximum number. The expired values are found by the
+     * {@link EntryExpiryWheel}, and each is checked again once the write lock is held, so an {@link Entry} deleted or
+     * added again since it was found is left in place.
+     *
+     * @param now        - The current time in epoch milliseconds.
+     * @param maxEntries - The maximum number of {@link Entry} to be removed.
+     * @return A {@link List} of the {@link Entry} removed, each with its Expire {@link Audit}.
+     */
+    @Override
+    public List<Entry> expire(long now, int maxEntries) {
+        List<Entry> expiredEntries = new ArrayList<>();
+        List<String> values = expiryWheel.pollExpired(now, maxEntries);
+        if (values.isEmpty()) {
+            return expiredEntries;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (String value : values) {
+                if (!expiryWheel.isExpired(value, now)) {
+                    continue;
+                }
+                Entry storedEntry = table.get(value);
+                removeExpiry(value);
+                if (storedEntry != null) {
+                    table.remove(storedEntry);
+                    expirations++;
+                    Audit audit = appendAudit(storedEntry, AuditActionCodes.EXPIRE);
+                    storedEntry.setVersion(audit.getAuditId().longValue());
+                    expiredEntries.add(storedEntry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return expiredEntries;
+    }
+
+    /**
+     * Search for the {@link Entry} whose value contains a query, ignoring case, ordered by value, starting after an opaque
+     * cursor. Every slot is scanned, but only the values are decoded, and only the first values after the cursor are
+     * held until the page is read.
+     *
+     * @param query    - The {@link String} query, with at least three characters.
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} maximum number of {@link Entry} in the response.
+     * @return A page of {@link Entry} containing the query, with the cursor of the next page if one exists.
+     * @throws IllegalArgumentException Thrown if the query is too short to be searched or the cursor is not valid.
+     */
+    @Override
+    public EntriesResponse search(String query, String cursor, Integer pageSize) {
+        if (!EntrySearchUtils.isSearchable(query)) {
+            throw new IllegalArgumentException("Search query must have at least " + EntrySearchUtils.TRIGRAM_LENGTH + " characters.");
+        }
+
+        EntriesResponse entriesResponse = new EntriesResponse();
+        String lastValue = EntryCursorUtils.decode(cursor);
+        lock.readLock().lock();
+        try {
+            // Hold one extra value to determine if there is a next page.
+            TreeSet<String> values = new TreeSet<>(EntryRangeUtils.VALUE_ORDER);
+            for (int slot = table.nextSlot(0); slot >= 0; slot = table.nextSlot(slot + 1)) {
+                String value = table.getValueAtSlot(slot);
+                boolean isAfter = lastValue == null || EntryRangeUtils.compare(value, lastValue) > 0;
+                boolean isInPage = values.size() <= pageSize || EntryRangeUtils.compare(value, values.last()) < 0;
+                if (isAfter && isInPage && EntrySearchUtils.matches(value, query) && values.add(value) && values.size() > pageSize + 1) {
+                    values.pollLast();
+                }
+            }
+            boolean hasNextPage = values.size() > pageSize;
+            if (hasNextPage) {
+                values.pollLast();
+            }
+            for (String value : values) {
+                Optional.ofNullable(table.get(value)).ifPresent(entriesResponse.getEntries()::add);
+            }
+            if (hasNextPage) {
+                entriesResponse.setNextCursor(EntryCursorUtils.encode(values.last()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * No search index is held in the mapped file, so there is nothing to rebuild.
+     *
+     * @return Always 0.
+     */
+    @Override
+    public long rebuildSearchIndex() {
+        return 0;
+    }
+
+    /**
+     * Apply a mixed batch of add, update and delete actions in order.
+     *
+     * @param actionInputs - The {@link List} of {@link EntryActionInput} to be applied.
+     * @return A {@link List} of {@link EntryOperationResponse} in the order of the actions.
+     */
+    @Override
+    public List<EntryOperationResponse> batch(List<EntryActionInput> actionInputs) {
+        List<EntryOperationResponse> entryActionResponses = new ArrayList<>(actionInputs.size());
+        for (EntryActionInput actionInput : actionInputs) {
+            Optional<AuditActionCodes> action = Optional.ofNullable(actionInput)
+                    .map(EntryActionInput::getAction)
+                    .flatMap(AuditActionCodes::fromCode)
+                    .filter(AuditActionCodes::isRequestable);
+            if (!action.isPresent()) {
+                entryActionResponses.add(new EntryOperationResponse());
+                continue;
+            }
+
+            switch (action.get()) {
+                case ADD:
+                    EntryOperationResponse entryActionResponse = add(actionInput.getEntry(), actionInput.getTtlSeconds());
+                    if (entryActionResponse.isSuccessfulOperation()) {
+                        entryActionResponse.setEntry(actionInput.getEntry());
+                    }
+                    entryActionResponses.add(entryActionResponse);
+                    break;
+                case UPDATE:
+                    entryActionResponses.add(update(actionInput.getKey(), actionInput.getEntry(), actionInput.getExpectedVersion()));
+                    break;
+                default:
+                    entryActionResponses.add(delete(actionInput.getEntry(), actionInput.getExpectedVersion()));
+                    break;
+            }
+        }
+        return entryActionResponses;
+    }
+
+    /**
+     * Removes the expiry time of a value, logging the removal if it had one. The write lock must be held.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     */
+    private void removeExpiry(String value) {
+        if (expiryWheel.remove(value) != null) {
+            appendToExpiryLog(value, NO_EXPIRY);
+        }
+    }
+
+    /**
+     * Appends the expiry time of a value to the expiry log and flushes it. The write lock must be held.
+     *
+     * @param value    - The {@link String} value of the {@link Entry}.
+     * @param expireAt - The expiry time in epoch milliseconds, or {@link #NO_EXPIRY} if the expiry time is removed.
+     * @return If true, the expiry time was logged.
+     */
+    private boolean appendToExpiryLog(String value, long expireAt) {
+        if (expiryLogOutput == null) {
+            LOGGER.error("Error appending to the Entry expiry log, the log is closed.");
+            return false;
+        }
+        try {
+            EntryBinaryUtils.writeString(expiryLogOutput, value);
+            expiryLogOutput.writeLong(expireAt);
+            expiryLogOutput.flush();
+            return true;
+        } catch (IOException exception) {
+            LOGGER.error("Error appending to the Entry expiry log.", exception);
+            return false;
+        }
+    }
+
+    /**
+     * Replays the expiry log into the {@link EntryExpiryWheel}, then rewrites it with the expiry time of each
+     * {@link Entry} in the table, replacing it atomically. A record truncated by a crash ends the replay.
+     *
+     * @throws IOException Thrown if the expiry log cannot be read or written.
+     */
+    private void replayExpiryLog() throws IOException {
+        Map<String, Long> expiries = new LinkedHashMap<>();
+        if (Files.exists(expiryLogPath)) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(expiryLogPath)))) {
+                while (input.available() > 0) {
+                    String value = EntryBinaryUtils.readString(input);
+                    long expireAt = input.readLong();
+                    if (expireAt == NO_EXPIRY) {
+                        expiries.remove(value);
+                    } else {
+                        expiries.put(value, expireAt);
+                    }
+                }
+            } catch (EOFException exception) {
+                LOGGER.error("Truncated record at the end of the Entry expiry log is ignored.");
+            }
+        }
+
+        Path compactedPath = expiryLogPath.resolveSibling(expiryLogPath.getFileName() + ".compact");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compactedPath)))) {
+            for (Map.Entry<String, Long> expiry : expiries.entrySet()) {
+                // An expiry time logged for an Entry which was never inserted is dropped.
+                if (table.containsValue(expiry.getKey())) {
+                    expiryWheel.schedule(expiry.getKey(), expiry.getValue());
+                    EntryBinaryUtils.writeString(output, expiry.getKey());
+                    output.writeLong(expiry.getValue());
+                }
+            }
+        }
+        Files.move(compactedPath, expiryLogPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.info("Replayed the expiry times of {} Entry.", expiryWheel.size());
+    }
+
+    /**
+     * Determines if a stored {@link Entry} has the expected version.
+     *
+     * @param storedEntry     - The stored {@link Entry}, decoded with its version.
+     * @param expectedVersion - The {@link Long} expected version, or null to skip the check.
+     * @return If true, the version matches or isn't checked.
+     */
+    private static boolean isExpectedVersion(Entry storedEntry, Long expectedVersion) {
+        return expectedVersion == null || expectedVersion.equals(storedEntry.getVersion());
+    }
+
+    /**
+     * Appends a new {@link Audit} for an action to the {@link Audits} of an {@link Entry}.
+     *
+     * @param entry  - The {@link Entry} to be audited.
+     * @param action - The {@link AuditActionCodes} of the action.
+     * @return The {@link Audit} appended.
+     */
+    private Audit appendAudit(Entry entry, AuditActionCodes action) {
+        Audits audits = Optional.ofNullable(entry.getAudits())
+                .orElseGet(Audits::new);
+        Audit audit = audits.createAudit(audits, action.getCode());
+        audits.getAuditList().add(audit);
+        entry.setAudits(audits);
+        return audit;
+    }
+
+    /**
+     * Gets the {@link Entry} whose value is in a lexicographic range, ordered by value.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are ordered from the last value, and start before the last value.
+     * @param lastValue  - The exclusive {@link String} value to start after, or null to start from the bound.
+     * @return A sorted {@link List} of the {@link Entry} in the range.
+     */
+    private List<Entry> getSortedRange(String from, String to, boolean descending, String lastValue) {
+        List<Entry> rangeEntries = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int slot = table.nextSlot(0); slot >= 0; slot = table.nextSlot(slot + 1)) {
+                String value = table.getValueAtSlot(slot);
+                boolean isAfter = lastValue == null || (descending ? EntryRangeUtils.compare(value, lastValue) < 0 : EntryRangeUtils.compare(value, lastValue) > 0);
+                if (EntryRangeUtils.isInRange(value, from, to) && isAfter) {
+                    rangeEntries.add(table.getAtSlot(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        rangeEntries.sort(Comparator.comparing(Entry::getValue, descending ? EntryRangeUtils.VALUE_ORDER.reversed() : EntryRangeUtils.VALUE_ORDER));
+        return rangeEntries;
+    }
+}
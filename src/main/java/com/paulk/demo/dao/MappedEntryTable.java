@@ -0,0 +1,544 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.utils.EntryBinaryUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * An open addressing hash table of {@link Entry} binary records held in a memory-mapped file, so the {@link Entry}
+ * objects are kept off the Java heap and survive a restart by re-mapping the file. This class is not thread safe.
+ * <p>
+ * The file holds a header, a table of value slots, a table of id slots and an append-only data region of records.
+ * Each slot is a long of the 32 bit hash of the key and the offset of the record, probed linearly. Each record is the
+ * length of the {@link EntryBinaryUtils} encoding of the {@link Entry} followed by the encoding, which starts with the
+ * value and the id, so keys are compared in place and an {@link Entry} is only decoded when it is read.
+ * <p>
+ * Updates and deletes leave the previous record as garbage. When the slots are too full or the data region can't fit
+ * a record, the live records are copied into a new file which replaces the current file.
+ */
+public class MappedEntryTable {
+
+    private static final int MAGIC = 0x454E5452;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = Long.BYTES;
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = -1L;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOT_COUNT_OFFSET = 8;
+    private static final int LIVE_COUNT_OFFSET = 12;
+    private static final int TOMBSTONE_COUNT_OFFSET = 16;
+    private static final int DATA_END_OFFSET = 20;
+    private static final int LIVE_BYTES_OFFSET = 28;
+
+    private final Path path;
+    private MappedByteBuffer buffer;
+    private int slotCount;
+    private int liveCount;
+    private int tombstoneCount;
+    private int dataEnd;
+    private long liveBytes;
+
+    /**
+     * Constructor for {@link MappedEntryTable}. Maps an existing file, or creates the file if it doesn't exist.
+     *
+     * @param path         - The {@link Path} of the file.
+     * @param initialSlots - The number of slots of a new file, rounded up to a power of two.
+     * @param initialBytes - The size in bytes of a new file.
+     * @throws IOException Thrown if the file cannot be mapped, or is not an {@link Entry} table.
+     */
+    public MappedEntryTable(Path path, int initialSlots, int initialBytes) throws IOException {
+        this.path = path;
+        if (Files.exists(path) && Files.size(path) > 0) {
+            map(path, Files.size(path));
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException("File is not an Entry table: " + path);
+            }
+            slotCount = buffer.getInt(SLOT_COUNT_OFFSET);
+            liveCount = buffer.getInt(LIVE_COUNT_OFFSET);
+            tombstoneCount = buffer.getInt(TOMBSTONE_COUNT_OFFSET);
+            dataEnd = (int) buffer.getLong(DATA_END_OFFSET);
+            liveBytes = buffer.getLong(LIVE_BYTES_OFFSET);
+        } else {
+            int slots = Integer.highestOneBit(Math.max(2, initialSlots) * 2 - 1);
+            create(path, slots, Math.max(initialBytes, dataStart(slots) + 1024));
+        }
+    }
+
+    /**
+     * Gets the {@link Entry} for a value.
+     *
+     * @param value - The {@link String} value.
+     * @return The decoded {@link Entry}, or null if no {@link Entry} exists for the value.
+     */
+    public Entry get(String value) {
+        int slot = findSlot(valueSlotsStart(), value, true);
+        return slot < 0 ? null : read(recordOffset(valueSlotsStart(), slot));
+    }
+
+    /**
+     * Gets the {@link Entry} for an id.
+     *
+     * @param id - The {@link String} id.
+     * @return The decoded {@link Entry}, or null if no {@link Entry} exists for the id.
+     */
+    public Entry getById(String id) {
+        int slot = findSlot(idSlotsStart(), id, false);
+        return slot < 0 ? null : read(recordOffset(idSlotsStart(), slot));
+    }
+
+    /**
+     * Determines if an {@link Entry} exists for a value.
+     *
+     * @param value - The {@link String} value.
+     * @return If true, an {@link Entry} exists for the value.
+     */
+    public boolean containsValue(String value) {
+        return findSlot(valueSlotsStart(), value, true) >= 0;
+    }
+
+    /**
+     * Determines if an {@link Entry} exists for an id.
+     *
+     * @param id - The {@link String} id.
+     * @return If true, an {@link Entry} exists for the id.
+     */
+    public boolean containsId(String id) {
+        return findSlot(idSlotsStart(), id, false) >= 0;
+    }
+
+    /**
+     * Inserts an {@link Entry}. The caller must check no {@link Entry} exists for the value or id.
+     *
+     * @param entry - The {@link Entry} to be inserted.
+     * @throws IOException Thrown if the file cannot be grown.
+     */
+    public void insert(Entry entry) throws IOException {
+        byte[] record = EntryBinaryUtils.toBytes(entry);
+        ensureCapacity(record.length);
+        int offset = append(record);
+        insertSlot(valueSlotsStart(), entry.getValue(), offset);
+        if (entry.getId() != null) {
+            insertSlot(idSlotsStart(), entry.getId(), offset);
+        }
+        liveCount++;
+        writeHeader();
+    }
+
+    /**
+     * Replaces the {@link Entry} of a value with an updated {@link Entry} with the same id. The caller must check an
+     * {@link Entry} exists for the value, and no other {@link Entry} exists for the updated value.
+     *
+     * @param key          - The current {@link String} value.
+     * @param updatedEntry - The updated {@link Entry}.
+     * @throws IOException Thrown if the file cannot be grown.
+     */
+    public void replace(String key, Entry updatedEntry) throws IOException {
+        byte[] record = EntryBinaryUtils.toBytes(updatedEntry);
+        ensureCapacity(record.length);
+
+        int valueSlot = findSlot(valueSlotsStart(), key, true);
+        liveBytes -= recordSize(recordOffset(valueSlotsStart(), valueSlot));
+        int offset = append(record);
+        if (key.equals(updatedEntry.getValue())) {
+            setSlot(valueSlotsStart(), valueSlot, hash(key), offset);
+        } else {
+            setTombstone(valueSlotsStart(), valueSlot);
+            insertSlot(valueSlotsStart(), updatedEntry.getValue(), offset);
+        }
+        if (updatedEntry.getId() != null) {
+            int idSlot = findSlot(idSlotsStart(), updatedEntry.getId(), false);
+            setSlot(idSlotsStart(), idSlot, hash(updatedEntry.getId()), offset);
+        }
+        writeHeader();
+    }
+
+    /**
+     * Removes the {@link Entry} of a value. The caller must check an {@link Entry} exists for the value.
+     *
+     * @param storedEntry - The stored {@link Entry} to be removed.
+     */
+    public void remove(Entry storedEntry) {
+        int valueSlot = findSlot(valueSlotsStart(), storedEntry.getValue(), true);
+        liveBytes -= recordSize(recordOffset(valueSlotsStart(), valueSlot));
+        setTombstone(valueSlotsStart(), valueSlot);
+        if (storedEntry.getId() != null) {
+            setTombstone(idSlotsStart(), findSlot(idSlotsStart(), storedEntry.getId(), false));
+        }
+        liveCount--;
+        writeHeader();
+    }
+
+    /**
+     * Gets the number of {@link Entry} in the table.
+     *
+     * @return The number of {@link Entry}.
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Gets the number of value slots, which bounds the slot positions used by {@link #nextSlot(int)}.
+     *
+     * @return The number of value slots.
+     */
+    public int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Finds the next value slot holding an {@link Entry}, in table order.
+     *
+     * @param fromSlot - The first slot to be checked.
+     * @return The slot, or -1 if no later slot holds an {@link Entry}.
+     */
+    public int nextSlot(int fromSlot) {
+        for (int slot = Math.max(0, fromSlot); slot < slotCount; slot++) {
+            long slotValue = buffer.getLong(valueSlotsStart() + slot * SLOT_SIZE);
+            if (slotValue != EMPTY && slotValue != TOMBSTONE) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the {@link Entry} held in a value slot returned by {@link #nextSlot(int)}.
+     *
+     * @param slot - The slot.
+     * @return The decoded {@link Entry}.
+     */
+    public Entry getAtSlot(int slot) {
+        return read(recordOffset(valueSlotsStart(), slot));
+    }
+
+    /**
+     * Gets the value of the {@link Entry} held in a value slot returned by {@link #nextSlot(int)}, without decoding the
+     * rest of the record.
+     *
+     * @param slot - The slot.
+     * @return The {@link String} value.
+     */
+    public String getValueAtSlot(int slot) {
+        int position = recordOffset(valueSlotsStart(), slot) + Integer.BYTES;
+        byte[] valueBytes = new byte[buffer.getInt(position)];
+        ByteBuffer source = buffer.duplicate();
+        source.position(position + Integer.BYTES);
+        source.get(valueBytes);
+        return new String(valueBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Forces the changes to the file to the storage device.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * Rebuilds the table into a new file with the given number of slots, copying only the live records, and replaces
+     * the current file with it.
+     *
+     * @param slots     - The number of slots of the new file.
+     * @param dataBytes - The size in bytes of the data region of the new file.
+     * @throws IOException Thrown if the new file cannot be written.
+     */
+    protected void rebuild(int slots, long dataBytes) throws IOException {
+        long size = dataStart(slots) + dataBytes;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Entry table cannot grow beyond 2GB: " + path);
+        }
+
+        Path rebuildPath = path.resolveSibling(path.getFileName() + ".rebuild");
+        MappedByteBuffer currentBuffer = buffer;
+        int currentSlotCount = slotCount;
+        int currentValueSlotsStart = valueSlotsStart();
+
+        create(rebuildPath, slots, (int) size);
+        for (int slot = 0; slot < currentSlotCount; slot++) {
+            long slotValue = currentBuffer.getLong(currentValueSlotsStart + slot * SLOT_SIZE);
+            if (slotValue == EMPTY || slotValue == TOMBSTONE) {
+                continue;
+            }
+            int offset = (int) slotValue;
+            byte[] record = new byte[currentBuffer.getInt(offset)];
+            ByteBuffer source = currentBuffer.duplicate();
+            source.position(offset + Integer.BYTES);
+            source.get(record);
+
+            Entry entry = EntryBinaryUtils.fromBytes(record);
+            int newOffset = append(record);
+            insertSlot(valueSlotsStart(), entry.getValue(), newOffset);
+            if (entry.getId() != null) {
+                insertSlot(idSlotsStart(), entry.getId(), newOffset);
+            }
+            liveCount++;
+        }
+        writeHeader();
+        buffer.force();
+
+        Files.move(rebuildPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Rebuilds the table if the slots are too full or the data region can't fit a record. The slots are doubled if the
+     * live {@link Entry} alone would fill them, and the data region is sized to twice the live records.
+     *
+     * @param recordLength - The length of the record to be appended.
+     * @throws IOException Thrown if the file cannot be grown.
+     */
+    private void ensureCapacity(int recordLength) throws IOException {
+        boolean slotsFull = liveCount + tombstoneCount + 1 > slotCount * MAX_LOAD_FACTOR;
+        boolean dataFull = (long) dataEnd + Integer.BYTES + recordLength > buffer.capacity();
+        if (!slotsFull && !dataFull) {
+            return;
+        }
+
+        int slots = liveCount + 1 > slotCount * MAX_LOAD_FACTOR / 2 ? slotCount * 2 : slotCount;
+        long dataBytes = Math.max(buffer.capacity() - dataStart(slotCount), 2 * (liveBytes + Integer.BYTES + recordLength));
+        rebuild(slots, dataBytes);
+    }
+
+    /**
+     * Creates a new empty file and maps it.
+     *
+     * @param filePath - The {@link Path} of the file.
+     * @param slots    - The number of slots.
+     * @param size     - The size in bytes of the file.
+     * @throws IOException Thrown if the file cannot be created.
+     */
+    private void create(Path filePath, int slots, int size) throws IOException {
+        Files.deleteIfExists(filePath);
+        map(filePath, size);
+        slotCount = slots;
+        liveCount = 0;
+        tombstoneCount = 0;
+        dataEnd = dataStart(slots);
+        liveBytes = 0;
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(SLOT_COUNT_OFFSET, slotCount);
+        writeHeader();
+    }
+
+    /**
+     * Maps a file of a given size, extending the file if required.
+     *
+     * @param filePath - The {@link Path} of the file.
+     * @param size     - The size in bytes to be mapped.
+     * @throws IOException Thrown if the file cannot be mapped.
+     */
+    private void map(Path filePath, long size) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(filePath.toFile(), "rw");
+             FileChannel channel = file.getChannel()) {
+            // The mapping remains valid after the channel is closed.
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Writes the counters to the header.
+     */
+    private void writeHeader() {
+        buffer.putInt(LIVE_COUNT_OFFSET, liveCount);
+        buffer.putInt(TOMBSTONE_COUNT_OFFSET, tombstoneCount);
+        buffer.putLong(DATA_END_OFFSET, dataEnd);
+        buffer.putLong(LIVE_BYTES_OFFSET, liveBytes);
+    }
+
+    /**
+     * Appends a record to the data region.
+     *
+     * @param record - The encoded {@link Entry}.
+     * @return The offset of the record.
+     */
+    private int append(byte[] record) {
+        int offset = dataEnd;
+        buffer.putInt(offset, record.length);
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset + Integer.BYTES);
+        target.put(record);
+        dataEnd = offset + Integer.BYTES + record.length;
+        liveBytes += Integer.BYTES + record.length;
+        return offset;
+    }
+
+    /**
+     * Decodes the {@link Entry} of a record, with its version.
+     *
+     * @param offset - The offset of the record.
+     * @return The decoded {@link Entry}.
+     */
+    private Entry read(int offset) {
+        byte[] record = new byte[buffer.getInt(offset)];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset + Integer.BYTES);
+        source.get(record);
+        Entry entry = EntryBinaryUtils.fromBytes(record);
+        Integer lastAuditId = entry.getAudits() == null ? null : entry.getAudits().getLastAuditId();
+        entry.setVersion(lastAuditId == null ? null : lastAuditId.longValue());
+        return entry;
+    }
+
+    /**
+     * Gets the size of a record, including its length.
+     *
+     * @param offset - The offset of the record.
+     * @return The size in bytes.
+     */
+    private int recordSize(int offset) {
+        return Integer.BYTES + buffer.getInt(offset);
+    }
+
+    /**
+     * Finds the slot of a key by linear probing.
+     *
+     * @param slotsStart - The offset of the slot table.
+     * @param key        - The {@link String} value or id.
+     * @param isValue    - If true, the key is compared with the value of the record, otherwise with the id.
+     * @return The slot, or -1 if the key is not in the table.
+     */
+    private int findSlot(int slotsStart, String key, boolean isValue) {
+        int hash = hash(key);
+        byte[] keyBytes = null;
+        int mask = slotCount - 1;
+        for (int probe = 0, slot = hash & mask; probe < slotCount; probe++, slot = (slot + 1) & mask) {
+            long slotValue = buffer.getLong(slotsStart + slot * SLOT_SIZE);
+            if (slotValue == EMPTY) {
+                return -1;
+            }
+            if (slotValue == TOMBSTONE || (int) (slotValue >>> 32) != hash) {
+                continue;
+            }
+            if (keyBytes == null) {
+                keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            }
+            if (keyEquals((int) slotValue, keyBytes, isValue)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares a key with the value or id at the start of a record, without decoding the record.
+     *
+     * @param offset   - The offset of the record.
+     * @param keyBytes - The UTF-8 bytes of the key.
+     * @param isValue  - If true, the key is compared with the value of the record, otherwise with the id.
+     * @return If true, the key matches.
+     */
+    private boolean keyEquals(int offset, byte[] keyBytes, boolean isValue) {
+        int position = offset + Integer.BYTES;
+        int length = buffer.getInt(position);
+        if (!isValue) {
+            // Skip the value to the id.
+            position += Integer.BYTES + Math.max(0, length);
+            length = buffer.getInt(position);
+        }
+        if (length != keyBytes.length) {
+            return false;
+        }
+        position += Integer.BYTES;
+        for (int index = 0; index < length; index++) {
+            if (buffer.get(position + index) != keyBytes[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Inserts a key into the first free slot of its probe sequence.
+     *
+     * @param slotsStart - The offset of the slot table.
+     * @param key        - The {@link String} value or id.
+     * @param offset     - The offset of the record.
+     */
+    private void insertSlot(int slotsStart, String key, int offset) {
+        int hash = hash(key);
+        int mask = slotCount - 1;
+        int slot = hash & mask;
+        while (true) {
+            long slotValue = buffer.getLong(slotsStart + slot * SLOT_SIZE);
+            if (slotValue == EMPTY || slotValue == TOMBSTONE) {
+                if (slotValue == TOMBSTONE) {
+                    tombstoneCount--;
+                }
+                setSlot(slotsStart, slot, hash, offset);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Sets a slot to the hash and offset of a record.
+     *
+     * @param slotsStart - The offset of the slot table.
+     * @param slot       - The slot.
+     * @param hash       - The hash of the key.
+     * @param offset     - The offset of the record.
+     */
+    private void setSlot(int slotsStart, int slot, int hash, int offset) {
+        buffer.putLong(slotsStart + slot * SLOT_SIZE, ((long) hash << 32) | (offset & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Marks a slot as deleted, so later keys in the probe sequence can still be found.
+     *
+     * @param slotsStart - The offset of the slot table.
+     * @param slot       - The slot.
+     */
+    private void setTombstone(int slotsStart, int slot) {
+        buffer.putLong(slotsStart + slot * SLOT_SIZE, TOMBSTONE);
+        tombstoneCount++;
+    }
+
+    /**
+     * Gets the offset of the record of a slot.
+     *
+     * @param slotsStart - The offset of the slot table.
+     * @param slot       - The slot.
+     * @return The offset of the record.
+     */
+    private int recordOffset(int slotsStart, int slot) {
+        return (int) buffer.getLong(slotsStart + slot * SLOT_SIZE);
+    }
+
+    private int valueSlotsStart() {
+        return HEADER_SIZE;
+    }
+
+    private int idSlotsStart() {
+        return HEADER_SIZE + slotCount * SLOT_SIZE;
+    }
+
+    private static int dataStart(int slots) {
+        return HEADER_SIZE + 2 * slots * SLOT_SIZE;
+    }
+
+    /**
+     * Gets the hash of a key, which is stable across restarts as {@link String#hashCode()} is specified.
+     *
+     * @param key - The {@link String} key.
+     * @return The spread hash.
+     */
+    private static int hash(String key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
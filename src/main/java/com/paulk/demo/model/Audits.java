@@ -20,17 +20,27 @@ public class Audits implements Serializable {
     private List<Audit> auditList;
 
 
+    /**
+     * Returns the latest {@link Integer} auditid, the version of the {@link Entry}.
+     *
+     * @return The latest audit id as an {@link Integer}, or null if there are no {@link Audit}.
+     */
+    public Integer getLastAuditId() {
+        return getAuditList().stream()
+                .map(Audit::getAuditId)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
     /**
      * Returns next {@link Integer} auditid.
      *
      * @return The next audit id as an {@link Integer}.
      */
     public Integer getNextAuditId() {
-        return auditList.stream()
-                .filter(audit -> audit.getAuditId() != null)
-                .max(Comparator.comparing(Audit::getAuditId))
-                .map(Audit::getAuditId)
-                .orElse(0) + 1;
+        Integer lastAuditId = getLastAuditId();
+        return lastAuditId == null ? 1 : lastAuditId + 1;
     }
 
     /**
@@ -19,6 +19,7 @@ public class EntriesResponse implements Serializable {
     private Error error;
     private int totalPages;
     private long totalEntries;
+    private String nextCursor;
 
     /**
      * Default Constructor for {@link EntriesResponse}.
@@ -28,6 +29,7 @@ public class EntriesResponse implements Serializable {
         this.error = null;
         this.totalPages = 0;
         this.totalEntries = 0;
+        this.nextCursor = null;
     }
 
     /**
@@ -96,6 +98,24 @@ public class EntriesResponse implements Serializable {
         this.totalEntries = totalEntries;
     }
 
+    /**
+     * Get the opaque cursor for the next page of the {@link EntriesResponse}.
+     *
+     * @return - The nextCursor, or null if there are no further pages.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Set the opaque cursor for the next page of the {@link EntriesResponse}.
+     *
+     * @param nextCursor - The nextCursor.
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     /**
      * Implements object comparison for a {@link EntriesResponse}.
      *
@@ -116,7 +136,8 @@ public class EntriesResponse implements Serializable {
         return Objects.equals(this.entries, that.entries) &&
                 Objects.equals(this.error, that.error) &&
                 Objects.equals(this.totalEntries, that.totalEntries) &&
-                Objects.equals(this.totalPages, that.totalPages);
+                Objects.equals(this.totalPages, that.totalPages) &&
+                Objects.equals(this.nextCursor, that.nextCursor);
     }
 
     /**
@@ -126,7 +147,7 @@ public class EntriesResponse implements Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(this.entries, this.error, this.totalEntries, this.totalPages);
+        return Objects.hash(this.entries, this.error, this.totalEntries, this.totalPages, this.nextCursor);
     }
 
 
@@ -142,7 +163,8 @@ public class EntriesResponse implements Serializable {
         StringBuilderUtils.addFieldToBuilder(builder, "entry", this.entries, true);
         StringBuilderUtils.addFieldToBuilder(builder, "error", this.error, true);
         StringBuilderUtils.addFieldToBuilder(builder, "totalEntries", this.totalEntries, true);
-        StringBuilderUtils.addFieldToBuilder(builder, "totalPages", this.totalPages, false);
+        StringBuilderUtils.addFieldToBuilder(builder, "totalPages", this.totalPages, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "nextCursor", this.nextCursor, false);
         builder.append("}");
         return builder.toString();
     }
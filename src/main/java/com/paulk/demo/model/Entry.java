@@ -1,8 +1,10 @@
 package com.paulk.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.paulk.demo.DemoApplication;
 import com.paulk.demo.utils.StringBuilderUtils;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.redis.core.RedisHash;
 
 import java.io.Serializable;
@@ -23,6 +25,11 @@ public class Entry implements Serializable {
 
     protected Audits audits;
 
+    // The latest audit id, read from the data store rather than stored with the Entry.
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    protected Long version;
+
     /**
      * Default constructor for {@link Entry}.
      */
@@ -100,6 +107,25 @@ public class Entry implements Serializable {
         this.audits = audits;
     }
 
+    /**
+     * Get the version of the {@link Entry}, the id of its latest {@link Audit}. The version is increased by every add,
+     * update, delete and expiry of the {@link Entry}.
+     *
+     * @return The {@link Long} version, or null if it wasn't read from the data store.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Set the version of the {@link Entry}.
+     *
+     * @param version - The {@link Long} version to be set.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Implements object comparison for a {@link Entry}.
      *
@@ -143,6 +169,7 @@ public class Entry implements Serializable {
         builder.append("{");
         StringBuilderUtils.addFieldToBuilder(builder, "id", this.id, true);
         StringBuilderUtils.addFieldToBuilder(builder, "value", this.value, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "version", this.version, true);
         StringBuilderUtils.addFieldToBuilder(builder, "audits", this.audits, false);
         builder.append("}");
         return builder.toString();
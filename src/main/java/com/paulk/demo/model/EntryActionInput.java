@@ -11,6 +11,9 @@ import java.util.Objects;
 public class EntryActionInput implements Serializable {
     private String key;
     private Entry entry;
+    private String action;
+    private Long ttlSeconds;
+    private Long expectedVersion;
 
     /**
      * Private Constructor for {@link EntryActionInput}.
@@ -25,6 +28,9 @@ public class EntryActionInput implements Serializable {
     public static class EntryActionInputBuilder {
         private String key;
         private Entry entry;
+        private String action;
+        private Long ttlSeconds;
+        private Long expectedVersion;
 
         /**
          * Adds key to the {@link EntryActionInput}.
@@ -48,6 +54,39 @@ public class EntryActionInput implements Serializable {
             return this;
         }
 
+        /**
+         * Adds an action to the {@link EntryActionInputBuilder}.
+         *
+         * @param action - The {@link com.paulk.demo.constants.AuditActionCodes} code of the action being processed.
+         * @return The {@link EntryActionInputBuilder}.
+         */
+        public EntryActionInputBuilder withAction(String action) {
+            this.action = action;
+            return this;
+        }
+
+        /**
+         * Adds a time to live to the {@link EntryActionInputBuilder}.
+         *
+         * @param ttlSeconds - The number of seconds after which the added {@link Entry} expires, or null if it never expires.
+         * @return The {@link EntryActionInputBuilder}.
+         */
+        public EntryActionInputBuilder withTtlSeconds(Long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+            return this;
+        }
+
+        /**
+         * Adds an expected version to the {@link EntryActionInputBuilder}.
+         *
+         * @param expectedVersion - The version the {@link Entry} must have to be updated or deleted, or null to skip the check.
+         * @return The {@link EntryActionInputBuilder}.
+         */
+        public EntryActionInputBuilder withExpectedVersion(Long expectedVersion) {
+            this.expectedVersion = expectedVersion;
+            return this;
+        }
+
         /**
          * Build a {@link EntryActionInput} using {@link EntryActionInputBuilder}.
          *
@@ -57,6 +96,9 @@ public class EntryActionInput implements Serializable {
             EntryActionInput entryActionInput = new EntryActionInput();
             entryActionInput.key = this.key;
             entryActionInput.entry = this.entry;
+            entryActionInput.action = this.action;
+            entryActionInput.ttlSeconds = this.ttlSeconds;
+            entryActionInput.expectedVersion = this.expectedVersion;
             return entryActionInput;
         }
     }
@@ -80,6 +122,33 @@ public class EntryActionInput implements Serializable {
         return entry;
     }
 
+    /**
+     * Get the action {@link String} for the {@link EntryActionInput}. Only used by batch operations.
+     *
+     * @return The {@link com.paulk.demo.constants.AuditActionCodes} code of the action.
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Get the time to live of the {@link EntryActionInput}. Only applied when an {@link Entry} is added.
+     *
+     * @return The {@link Long} number of seconds after which the added {@link Entry} expires, or null if it never expires.
+     */
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Get the expected version of the {@link EntryActionInput}. Only applied when an {@link Entry} is updated or deleted.
+     *
+     * @return The {@link Long} version the {@link Entry} must have, or null if the {@link Entry} is changed whatever its version.
+     */
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
     /**
      * Implements object comparison
      *
@@ -97,7 +166,10 @@ public class EntryActionInput implements Serializable {
         }
         EntryActionInput that = (EntryActionInput) obj;
         return Objects.equals(this.key, that.key) &&
-                Objects.equals(this.entry, that.entry);
+                Objects.equals(this.entry, that.entry) &&
+                Objects.equals(this.action, that.action) &&
+                Objects.equals(this.ttlSeconds, that.ttlSeconds) &&
+                Objects.equals(this.expectedVersion, that.expectedVersion);
     }
 
     /**
@@ -107,7 +179,7 @@ public class EntryActionInput implements Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(key, entry);
+        return Objects.hash(key, entry, action, ttlSeconds, expectedVersion);
     }
 
     /**
@@ -121,7 +193,10 @@ public class EntryActionInput implements Serializable {
         StringBuilder builder = new StringBuilder();
         builder.append("{");
         StringBuilderUtils.addFieldToBuilder(builder, "key", this.key, true);
-        StringBuilderUtils.addFieldToBuilder(builder, "entry", this.entry, false);
+        StringBuilderUtils.addFieldToBuilder(builder, "entry", this.entry, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "action", this.action, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "ttlSeconds", this.ttlSeconds, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "expectedVersion", this.expectedVersion, false);
         builder.append("}");
         return builder.toString();
     }
@@ -0,0 +1,121 @@
+package com.paulk.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.paulk.demo.utils.StringBuilderUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@JsonInclude(Include.NON_EMPTY)
+public class EntryBatchResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<EntryOperationResponse> results;
+    private Error error;
+
+    /**
+     * Default Constructor for {@link EntryBatchResponse}.
+     */
+    public EntryBatchResponse() {
+        this.results = new ArrayList<>();
+        this.error = null;
+    }
+
+    /**
+     * Get the {@link EntryOperationResponse} for each action of the {@link EntryBatchResponse}, in the order of the actions.
+     *
+     * @return The {@link List} of {@link EntryOperationResponse}.
+     */
+    public List<EntryOperationResponse> getResults() {
+        if (results == null) {
+            results = new ArrayList<>();
+        }
+        return results;
+    }
+
+    /**
+     * Get the {@link Error} for the {@link EntryBatchResponse}.
+     *
+     * @return The {@link Error}.
+     */
+    public Error getError() {
+        return error;
+    }
+
+    /**
+     * Set the {@link Error} for the {@link EntryBatchResponse}.
+     *
+     * @param error - The {@link Error} to be set.
+     */
+    public void setError(Error error) {
+        this.error = error;
+    }
+
+    /**
+     * Implements object comparison for a {@link EntryBatchResponse}.
+     *
+     * @param obj - The {@link Object} being parsed.
+     * @return A boolean indicating if equals to {@link EntryBatchResponse}.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        EntryBatchResponse that = (EntryBatchResponse) obj;
+        return Objects.equals(this.results, that.results) &&
+                Objects.equals(this.error, that.error);
+    }
+
+    /**
+     * Returns the hashCode for the {@link EntryBatchResponse} based on the 'results' and 'error'.
+     *
+     * @return The hashcode for the {@link EntryBatchResponse}.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.results, this.error);
+    }
+
+    /**
+     * Implementation of toString for an {@link EntryBatchResponse}.
+     *
+     * @return The {@link String} representation for an {@link EntryBatchResponse}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{");
+        StringBuilderUtils.addFieldToBuilder(builder, "results", this.results, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "error", this.error, false);
+        builder.append("}");
+        return builder.toString();
+    }
+
+    /**
+     * Generates an {@link Error} for the {@link EntryBatchResponse}.
+     *
+     * @param code        - The error code of type {@link String}.
+     * @param description - The error description of type {@link String}.
+     * @param httpStatus  - The {@link HttpStatus} to be set.
+     * @return A {@link ResponseEntity} of type {@link EntryBatchResponse}.
+     */
+    public static ResponseEntity<EntryBatchResponse> generateEntryBatchResponseError(String code, String description, HttpStatus httpStatus) {
+        EntryBatchResponse entryBatchResponse = new EntryBatchResponse();
+        Error error = new Error();
+        error.setCode(code);
+        error.setDescription(description);
+        entryBatchResponse.setError(error);
+        return new ResponseEntity<>(entryBatchResponse, httpStatus);
+    }
+}
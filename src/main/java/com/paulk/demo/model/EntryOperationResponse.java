@@ -9,6 +9,7 @@ import java.util.Objects;
  */
 public class EntryOperationResponse extends EntryResponse {
     private boolean successfulOperation;
+    private boolean preconditionFailed;
 
     public EntryOperationResponse() {
         super();
@@ -33,6 +34,24 @@ public class EntryOperationResponse extends EntryResponse {
         this.successfulOperation = successfulOperation;
     }
 
+    /**
+     * Get the preconditionFailed primitive.
+     *
+     * @return If true, the operation was rejected as the {@link Entry} version didn't match the expected version.
+     */
+    public boolean isPreconditionFailed() {
+        return preconditionFailed;
+    }
+
+    /**
+     * Set the preconditionFailed primitive.
+     *
+     * @param preconditionFailed - Indicator to determine if an operation was rejected by a version mismatch.
+     */
+    public void setPreconditionFailed(boolean preconditionFailed) {
+        this.preconditionFailed = preconditionFailed;
+    }
+
     /**
      * Implements object comparison for a {@link EntryOperationResponse}.
      *
@@ -52,7 +71,9 @@ public class EntryOperationResponse extends EntryResponse {
         EntryOperationResponse that = (EntryOperationResponse) obj;
         return Objects.equals(this.entry, that.entry) &&
                 Objects.equals(this.error, that.error) &&
-                Objects.equals(this.successfulOperation, that.successfulOperation);
+                Objects.equals(this.auditsIncomplete, that.auditsIncomplete) &&
+                Objects.equals(this.successfulOperation, that.successfulOperation) &&
+                Objects.equals(this.preconditionFailed, that.preconditionFailed);
     }
 
     /**
@@ -62,7 +83,7 @@ public class EntryOperationResponse extends EntryResponse {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(this.entry, this.error, this.successfulOperation);
+        return Objects.hash(this.entry, this.error, this.auditsIncomplete, this.successfulOperation, this.preconditionFailed);
     }
 
 
@@ -77,7 +98,9 @@ public class EntryOperationResponse extends EntryResponse {
         builder.append("{");
         StringBuilderUtils.addFieldToBuilder(builder, "entry", this.entry, true);
         StringBuilderUtils.addFieldToBuilder(builder, "error", this.error, true);
-        StringBuilderUtils.addFieldToBuilder(builder, "successfulOperation", this.successfulOperation, false);
+        StringBuilderUtils.addFieldToBuilder(builder, "auditsIncomplete", this.auditsIncomplete, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "successfulOperation", this.successfulOperation, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "preconditionFailed", this.preconditionFailed, false);
         builder.append("}");
         return builder.toString();
     }
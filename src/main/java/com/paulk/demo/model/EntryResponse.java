@@ -16,6 +16,7 @@ public class EntryResponse implements Serializable {
 
     protected Entry entry;
     protected Error error;
+    protected Boolean auditsIncomplete;
 
     /**
      * Default Constructor for {@link EntryResponse}.
@@ -61,6 +62,24 @@ public class EntryResponse implements Serializable {
         this.error = error;
     }
 
+    /**
+     * Get whether archived audits are missing from the page of audits of the {@link EntryResponse}.
+     *
+     * @return True if archived audits couldn't be read, otherwise null.
+     */
+    public Boolean getAuditsIncomplete() {
+        return auditsIncomplete;
+    }
+
+    /**
+     * Set whether archived audits are missing from the page of audits of the {@link EntryResponse}.
+     *
+     * @param auditsIncomplete - True if archived audits couldn't be read, otherwise null.
+     */
+    public void setAuditsIncomplete(Boolean auditsIncomplete) {
+        this.auditsIncomplete = auditsIncomplete;
+    }
+
     /**
      * Implements object comparison for a {@link EntryResponse}.
      *
@@ -79,17 +98,18 @@ public class EntryResponse implements Serializable {
 
         EntryResponse that = (EntryResponse) obj;
         return Objects.equals(this.entry, that.entry) &&
-                Objects.equals(this.error, that.error);
+                Objects.equals(this.error, that.error) &&
+                Objects.equals(this.auditsIncomplete, that.auditsIncomplete);
     }
 
     /**
-     * Returns the hashCode for the {@link EntryResponse} based on the 'entry' and 'error'.
+     * Returns the hashCode for the {@link EntryResponse} based on the 'entry', 'error' and 'auditsIncomplete'.
      *
      * @return The hashcode for the {@link EntryResponse}.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(this.entry, this.error);
+        return Objects.hash(this.entry, this.error, this.auditsIncomplete);
     }
 
 
@@ -103,7 +123,8 @@ public class EntryResponse implements Serializable {
         StringBuilder builder = new StringBuilder();
         builder.append("{");
         StringBuilderUtils.addFieldToBuilder(builder, "entry", this.entry, true);
-        StringBuilderUtils.addFieldToBuilder(builder, "error", this.error, false);
+        StringBuilderUtils.addFieldToBuilder(builder, "error", this.error, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "auditsIncomplete", this.auditsIncomplete, false);
         builder.append("}");
         return builder.toString();
     }
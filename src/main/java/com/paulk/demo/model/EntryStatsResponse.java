@@ -0,0 +1,185 @@
+package com.paulk.demo.model;
+
+import com.paulk.demo.utils.StringBuilderUtils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The counters of the {@link Entry} data store, kept up to date by each mutation rather than counted on request.
+ */
+public class EntryStatsResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long totalEntries;
+    private long adds;
+    private long updates;
+    private long deletes;
+    private long expirations;
+
+    /**
+     * Default Constructor for {@link EntryStatsResponse}.
+     */
+    public EntryStatsResponse() {
+        this(0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Constructor for {@link EntryStatsResponse}.
+     *
+     * @param totalEntries - The number of {@link Entry} in the data store.
+     * @param adds         - The number of {@link Entry} added.
+     * @param updates      - The number of {@link Entry} updated.
+     * @param deletes      - The number of {@link Entry} deleted.
+     * @param expirations  - The number of {@link Entry} removed once their time to live passed.
+     */
+    public EntryStatsResponse(long totalEntries, long adds, long updates, long deletes, long expirations) {
+        this.totalEntries = totalEntries;
+        this.adds = adds;
+        this.updates = updates;
+        this.deletes = deletes;
+        this.expirations = expirations;
+    }
+
+    /**
+     * Get the total entries for the {@link EntryStatsResponse}.
+     *
+     * @return - The totalEntries.
+     */
+    public long getTotalEntries() {
+        return totalEntries;
+    }
+
+    /**
+     * Set the total entries for the {@link EntryStatsResponse}.
+     *
+     * @param totalEntries - The totalEntries.
+     */
+    public void setTotalEntries(long totalEntries) {
+        this.totalEntries = totalEntries;
+    }
+
+    /**
+     * Get the number of adds for the {@link EntryStatsResponse}.
+     *
+     * @return - The adds.
+     */
+    public long getAdds() {
+        return adds;
+    }
+
+    /**
+     * Set the number of adds for the {@link EntryStatsResponse}.
+     *
+     * @param adds - The adds.
+     */
+    public void setAdds(long adds) {
+        this.adds = adds;
+    }
+
+    /**
+     * Get the number of updates for the {@link EntryStatsResponse}.
+     *
+     * @return - The updates.
+     */
+    public long getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Set the number of updates for the {@link EntryStatsResponse}.
+     *
+     * @param updates - The updates.
+     */
+    public void setUpdates(long updates) {
+        this.updates = updates;
+    }
+
+    /**
+     * Get the number of deletes for the {@link EntryStatsResponse}.
+     *
+     * @return - The deletes.
+     */
+    public long getDeletes() {
+        return deletes;
+    }
+
+    /**
+     * Set the number of deletes for the {@link EntryStatsResponse}.
+     *
+     * @param deletes - The deletes.
+     */
+    public void setDeletes(long deletes) {
+        this.deletes = deletes;
+    }
+
+    /**
+     * Get the number of expirations for the {@link EntryStatsResponse}.
+     *
+     * @return - The expirations.
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * Set the number of expirations for the {@link EntryStatsResponse}.
+     *
+     * @param expirations - The expirations.
+     */
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+
+    /**
+     * Implements object comparison for a {@link EntryStatsResponse}.
+     *
+     * @param obj - The {@link Object} being parsed.
+     * @return A boolean indicating if equals to {@link EntryStatsResponse}.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        EntryStatsResponse that = (EntryStatsResponse) obj;
+        return this.totalEntries == that.totalEntries &&
+                this.adds == that.adds &&
+                this.updates == that.updates &&
+                this.deletes == that.deletes &&
+                this.expirations == that.expirations;
+    }
+
+    /**
+     * Returns the hashCode for the {@link EntryStatsResponse} based on the counters.
+     *
+     * @return The hashcode for the {@link EntryStatsResponse}.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.totalEntries, this.adds, this.updates, this.deletes, this.expirations);
+    }
+
+    /**
+     * Implementation of toString for an {@link EntryStatsResponse}.
+     *
+     * @return The {@link String} representation for an {@link EntryStatsResponse}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{");
+        StringBuilderUtils.addFieldToBuilder(builder, "totalEntries", this.totalEntries, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "adds", this.adds, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "updates", this.updates, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "deletes", this.deletes, true);
+        StringBuilderUtils.addFieldToBuilder(builder, "expirations", this.expirations, false);
+        builder.append("}");
+        return builder.toString();
+    }
+}
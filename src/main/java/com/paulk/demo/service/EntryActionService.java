@@ -1,17 +1,46 @@
 package com.paulk.demo.service;
 
+import com.paulk.demo.config.BoundedRedisCacheWriter;
+import com.paulk.demo.config.NearCache;
+import com.paulk.demo.config.SpecRedisCache;
+import com.paulk.demo.constants.AuditActionCodes;
 import com.paulk.demo.dao.DataStoreOperations;
 import com.paulk.demo.dao.EntryDataStoreOperationsService;
 import com.paulk.demo.model.EntryActionInput;
 import com.paulk.demo.model.EntriesResponse;
 import com.paulk.demo.model.Entry;
 import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryCursorUtils;
+import com.paulk.demo.utils.EntryRangeUtils;
+import com.paulk.demo.utils.EntrySearchUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
 /**
  * A {@link Service} for interacting with the {@link EntryDataStoreOperationsService}.
  */
@@ -19,70 +48,679 @@ import org.springframework.stereotype.Service;
 @Service
 public class EntryActionService {
 
+    private static final String ENTRIES_CACHE = "entries";
+    private static final String ALL_ENTRIES_PAGE = "all";
+
     @Autowired
     protected DataStoreOperations<String, Entry> entryDataStoreOperationsService;
 
+    @Autowired
+    protected CacheManager cacheManager;
+
+    @Autowired
+    protected RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired(required = false)
+    protected EntryWriteBehindService entryWriteBehindService;
+
+    @Autowired(required = false)
+    protected EntryLoadCoalescer entryLoadCoalescer;
+
+    @Autowired(required = false)
+    protected EntryPageCache entryPageCache;
+
     /**
-     * Method for performing the {@link EntryDataStoreOperationsService#add(Entry)} operation.
+     * Method for performing the {@link EntryDataStoreOperationsService#add(Entry, Long)} operation.
      *
      * @param entryActionInput - The {@link EntryActionInput} to be processed.
      * @return An {@link EntryOperationResponse} containing a {@link EntryOperationResponse#isSuccessfulOperation()}. If true, {@link Entry} added successfully. Otherwise false if failed to save.
      */
     @CacheEvict(value = "entries", key = "#entryActionInput.entry.value")
     public EntryOperationResponse addEntry(EntryActionInput entryActionInput) {
-        return entryDataStoreOperationsService.add(entryActionInput.getEntry());
+        try {
+            if (entryWriteBehindService != null) {
+                return entryWriteBehindService.add(entryActionInput.getEntry(), entryActionInput.getTtlSeconds());
+            }
+            return entryDataStoreOperationsService.add(entryActionInput.getEntry(), entryActionInput.getTtlSeconds());
+        } finally {
+            forgetLoads(entryActionInput.getEntry().getValue());
+        }
     }
 
     /**
-     * Method for performing the {@link EntryDataStoreOperationsService#update(String, Entry)} operation.
+     * Method for performing the {@link EntryDataStoreOperationsService#update(String, Entry, Long)} operation.
+     * Both the current and the updated value are evicted, so a cached miss for the updated value isn't served. An update
+     * with an expected version is applied directly to the data store, after the write-behind buffer is flushed, as the
+     * version is checked by the data store.
      *
      * @param entryActionInput - The {@link EntryActionInput} to be processed.
      * @return A {@link EntryOperationResponse} containing an {@link Entry}.
      */
-    @CacheEvict(value = "entries", key = "#entryActionInput.key")
+    @Caching(evict = {
+            @CacheEvict(value = "entries", key = "#entryActionInput.key"),
+            @CacheEvict(value = "entries", key = "#entryActionInput.entry.value")
+    })
     public EntryOperationResponse updateEntry(EntryActionInput entryActionInput) {
-        return entryDataStoreOperationsService.update(entryActionInput.getKey(), entryActionInput.getEntry());
+        try {
+            if (entryActionInput.getExpectedVersion() != null) {
+                flushWriteBehind();
+                return entryDataStoreOperationsService.update(entryActionInput.getKey(), entryActionInput.getEntry(), entryActionInput.getExpectedVersion());
+            }
+            if (entryWriteBehindService != null) {
+                return entryWriteBehindService.update(entryActionInput.getKey(), entryActionInput.getEntry());
+            }
+            return entryDataStoreOperationsService.update(entryActionInput.getKey(), entryActionInput.getEntry());
+        } finally {
+            forgetLoads(entryActionInput.getKey(), entryActionInput.getEntry().getValue());
+        }
     }
 
     /**
-     * Method for performing the {@link EntryDataStoreOperationsService#delete(Entry)} operation.
+     * Method for performing the {@link EntryDataStoreOperationsService#delete(Entry, Long)} operation. A delete with an
+     * expected version is applied directly to the data store, after the write-behind buffer is flushed.
      *
      * @param entryActionInput - The {@link EntryActionInput} to be processed.
      * @return An {@link EntryOperationResponse} containing a {@link EntryOperationResponse#isSuccessfulOperation()}. If true, {@link Entry} deleted successfully. Otherwise false if failed to delete.
      */
     @CacheEvict(value = "entries", key = "#entryActionInput.entry.value")
     public EntryOperationResponse deleteEntry(EntryActionInput entryActionInput) {
-        return entryDataStoreOperationsService.delete(entryActionInput.getEntry());
+        try {
+            if (entryActionInput.getExpectedVersion() != null) {
+                flushWriteBehind();
+                return entryDataStoreOperationsService.delete(entryActionInput.getEntry(), entryActionInput.getExpectedVersion());
+            }
+            if (entryWriteBehindService != null) {
+                return entryWriteBehindService.delete(entryActionInput.getEntry());
+            }
+            return entryDataStoreOperationsService.delete(entryActionInput.getEntry());
+        } finally {
+            forgetLoads(entryActionInput.getEntry().getValue());
+        }
     }
 
     /**
-     * Method for performing the {@link EntryDataStoreOperationsService#get(Entry)} operation.
+     * Method for performing the {@link EntryDataStoreOperationsService#batch(List)} operation.
+     * The values affected by the batch are evicted together once the batch completes, rather than per action.
+     *
+     * @param actionInputs - The {@link List} of {@link EntryActionInput} to be processed.
+     * @return A {@link List} of {@link EntryOperationResponse} in the order of the actions.
+     */
+    public List<EntryOperationResponse> batchEntries(List<EntryActionInput> actionInputs) {
+        flushWriteBehind();
+        List<EntryOperationResponse> entryOperationResponses = entryDataStoreOperationsService.batch(actionInputs);
+
+        Set<String> evictedKeys = new LinkedHashSet<>();
+        for (EntryActionInput actionInput : actionInputs) {
+            if (actionInput == null) {
+                continue;
+            }
+            Optional.ofNullable(actionInput.getEntry())
+                    .map(Entry::getValue)
+                    .ifPresent(evictedKeys::add);
+            if (AuditActionCodes.UPDATE.getCode().equals(actionInput.getAction()) && actionInput.getKey() != null) {
+                evictedKeys.add(actionInput.getKey());
+            }
+        }
+        evictAll(evictedKeys);
+        return entryOperationResponses;
+    }
+
+    /**
+     * Evicts a {@link Collection} of keys from the entries cache. A {@link RedisCache} is evicted with a single delete,
+     * which also removes the keys from the index of a {@link BoundedRedisCacheWriter}, otherwise each key is evicted
+     * separately. The shared cache behind a {@link NearCache} is evicted first, then the keys are invalidated in the near
+     * caches of every node.
+     *
+     * @param keys - The {@link Collection} of {@link String} keys to be evicted.
+     */
+    protected void evictAll(Collection<String> keys) {
+        if (entryLoadCoalescer != null) {
+            entryLoadCoalescer.forget(keys);
+        }
+        Cache cache = cacheManager.getCache(ENTRIES_CACHE);
+        if (cache == null || keys.isEmpty()) {
+            return;
+        }
+
+        Cache sharedCache = cache instanceof NearCache ? ((NearCache) cache).getSharedCache() : cache;
+        if (sharedCache instanceof RedisCache) {
+            RedisCacheConfiguration cacheConfiguration = ((RedisCache) sharedCache).getCacheConfiguration();
+            String prefix = cacheConfiguration.usePrefix() ? cacheConfiguration.getKeyPrefixFor(sharedCache.getName()) : "";
+            List<String> cacheKeys = new ArrayList<>(keys.size());
+            keys.forEach(key -> cacheKeys.add(prefix + key));
+            if (sharedCache.getNativeCache() instanceof BoundedRedisCacheWriter) {
+                ((BoundedRedisCacheWriter) sharedCache.getNativeCache()).removeAll(sharedCache.getName(), cacheKeys);
+            } else {
+                redisTemplate.delete(cacheKeys);
+            }
+        } else {
+            keys.forEach(sharedCache::evict);
+        }
+
+        if (cache instanceof NearCache) {
+            ((NearCache) cache).invalidateAll(keys);
+        }
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#get(Entry)} operation, cached in the entries cache
+     * by the value. With an {@link EntryLoadCoalescer}, the concurrent misses of a value share a single load, and a cached
+     * value may be reloaded before it expires.
      *
      * @param entryActionInput - The {@link EntryActionInput} to be processed.
      * @return A {@link EntryOperationResponse} containing the {@link Entry}.
      */
-    @Cacheable(value = "entries", key = "#entryActionInput.entry.value")
     public EntryOperationResponse getEntry(EntryActionInput entryActionInput) {
+        String value = entryActionInput.getEntry().getValue();
+        Cache cache = cacheManager.getCache(ENTRIES_CACHE);
+        Cache.ValueWrapper cachedResponse = cache == null ? null : cache.get(value);
+        if (cachedResponse != null) {
+            EntryOperationResponse response = (EntryOperationResponse) cachedResponse.get();
+            if (entryLoadCoalescer == null || !entryLoadCoalescer.isEarlyRefresh(value, getCacheTtl(cache, response))) {
+                return response;
+            }
+            return entryLoadCoalescer.refresh(value, () -> loadEntry(entryActionInput, cache)).orElse(response);
+        }
+
+        if (entryLoadCoalescer == null) {
+            return loadEntry(entryActionInput, cache);
+        }
+        return entryLoadCoalescer.load(value, () -> loadEntry(entryActionInput, cache));
+    }
+
+    /**
+     * Loads an {@link Entry} missed by the entries cache, from the write-behind buffer or the data store, and puts it in
+     * the cache. With an {@link EntryLoadCoalescer}, an {@link Entry} changed while it was loaded isn't put in the cache,
+     * and is evicted again if it was changed between the check and the put, as the eviction of the change may have run
+     * before the put.
+     *
+     * @param entryActionInput - The {@link EntryActionInput} to be processed.
+     * @param cache            - The entries {@link Cache}, or null if there is none.
+     * @return A {@link EntryOperationResponse} containing the {@link Entry}.
+     */
+    private EntryOperationResponse loadEntry(EntryActionInput entryActionInput, Cache cache) {
+        String value = entryActionInput.getEntry().getValue();
+        long generation = entryLoadCoalescer == null ? 0 : entryLoadCoalescer.getGeneration(value);
+        EntryOperationResponse response = readEntry(entryActionInput);
+        if (cache == null || !isCurrentLoad(value, generation)) {
+            return response;
+        }
+        cache.put(value, response);
+        if (!isCurrentLoad(value, generation)) {
+            cache.evict(value);
+        }
+        return response;
+    }
+
+    /**
+     * Checks if a value wasn't changed since its load read the generation in the {@link EntryLoadCoalescer}, if requests
+     * are coalesced.
+     *
+     * @param value      - The {@link String} value of the {@link Entry}.
+     * @param generation - The generation of the value read before the load.
+     * @return True if the value wasn't changed or requests aren't coalesced, otherwise false.
+     */
+    private boolean isCurrentLoad(String value, long generation) {
+        return entryLoadCoalescer == null || entryLoadCoalescer.isCurrent(value, generation);
+    }
+
+    /**
+     * Reads an {@link Entry} from the write-behind buffer, or from the data store if it isn't buffered.
+     *
+     * @param entryActionInput - The {@link EntryActionInput} to be processed.
+     * @return A {@link EntryOperationResponse} containing the {@link Entry}.
+     */
+    private EntryOperationResponse readEntry(EntryActionInput entryActionInput) {
+        if (entryWriteBehindService != null) {
+            Optional<EntryOperationResponse> bufferedResponse = entryWriteBehindService.get(entryActionInput.getEntry().getValue());
+            if (bufferedResponse.isPresent()) {
+                return bufferedResponse.get();
+            }
+        }
         return entryDataStoreOperationsService.get(entryActionInput.getEntry());
     }
 
     /**
-     * Method for performing the {@link EntryDataStoreOperationsService#getAll()} operation.
+     * Method for performing the {@link EntryDataStoreOperationsService#getById(String)} operation.
      *
+     * @param id - The {@link String} id of the {@link Entry} to be retrieved.
+     * @return A {@link EntryOperationResponse} containing the {@link Entry}.
+     */
+    public EntryOperationResponse getEntryById(String id) {
+        if (entryWriteBehindService != null) {
+            Optional<EntryOperationResponse> bufferedResponse = entryWriteBehindService.getById(id);
+            if (bufferedResponse.isPresent()) {
+                return bufferedResponse.get();
+            }
+        }
+        return entryDataStoreOperationsService.getById(id);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getVersionById(String, String)} operation. An
+     * {@link Entry} with a buffered write-behind action has no version until it is flushed, so none is returned for it.
+     *
+     * @param id    - The {@link String} id of the {@link Entry}.
+     * @param value - The {@link String} value the {@link Entry} must have, or null for any value.
+     * @return An {@link Optional} of the {@link Long} version, empty if the version isn't known without reading the {@link Entry}.
+     */
+    public Optional<Long> getEntryVersionById(String id, String value) {
+        if (entryWriteBehindService != null
+                && (entryWriteBehindService.getById(id).isPresent() || entryWriteBehindService.get(value).isPresent())) {
+            return Optional.empty();
+        }
+        return entryDataStoreOperationsService.getVersionById(id, value);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getAudits(String, Integer, Integer)} operation.
+     * The history changes with every mutation, so it is not cached. The audits are assigned by the data store, so the
+     * write-behind buffer is flushed first if it holds the value.
+     *
+     * @param value      - The {@link String} value of the {@link Entry}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A {@link EntryOperationResponse} containing the {@link Entry} with the page of its audits.
+     */
+    public EntryOperationResponse getEntryAudits(String value, Integer pageNumber, Integer pageSize) {
+        if (entryWriteBehindService != null && entryWriteBehindService.get(value).isPresent()) {
+            flushWriteBehind();
+        }
+        return entryDataStoreOperationsService.getAudits(value, pageNumber, pageSize);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getAuditsById(String, Integer, Integer)} operation.
+     * The write-behind buffer is flushed first if it holds the id.
+     *
+     * @param id         - The {@link String} id of the {@link Entry}.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return A {@link EntryOperationResponse} containing the {@link Entry} with the page of its audits.
+     */
+    public EntryOperationResponse getEntryAuditsById(String id, Integer pageNumber, Integer pageSize) {
+        if (entryWriteBehindService != null && entryWriteBehindService.getById(id).isPresent()) {
+            flushWriteBehind();
+        }
+        return entryDataStoreOperationsService.getAuditsById(id, pageNumber, pageSize);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getAll()} operation. With an
+     * {@link EntryPageCache}, the listing is cached until the change tag changes.
+     *
+     * @param changeTag - The {@link String} change tag read before the listing with {@link #getChangeTag()}, or null if it wasn't read.
      * @return The {@link EntriesResponse} to be processed.
      */
-    public EntriesResponse getAllEntries() {
-        return entryDataStoreOperationsService.getAll();
+    public EntriesResponse getAllEntries(String changeTag) {
+        if (entryPageCache == null) {
+            return getAllEntries();
+        }
+        return entryPageCache.get(changeTag, ALL_ENTRIES_PAGE, this::getAllEntries);
     }
 
     /**
-     * Method for performing the {@link EntryDataStoreOperationsService#getAll()} operation.
+     * Method for performing the {@link EntryDataStoreOperationsService#getAll()} operation. With an
+     * {@link EntryPageCache}, the page is cached until the change tag changes.
      *
+     * @param changeTag  - The {@link String} change tag read before the page with {@link #getChangeTag()}, or null if it wasn't read.
      * @param pageNumber - The {@link Integer} page number for the response.
      * @param pageSize   - The {@link Integer} page size for the response.
      * @return The {@link EntriesResponse} to be processed.
      */
-    public EntriesResponse getAllEntries(Integer pageNumber, Integer pageSize) {
-        return entryDataStoreOperationsService.getAll(pageNumber, pageSize);
+    public EntriesResponse getAllEntries(String changeTag, Integer pageNumber, Integer pageSize) {
+        if (entryPageCache == null) {
+            return getAllEntries(pageNumber, pageSize);
+        }
+        return entryPageCache.get(changeTag, pageNumber + ":" + pageSize, () -> getAllEntries(pageNumber, pageSize));
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getAllFromCursor(String, Integer)} operation.
+     *
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} page size for the response.
+     * @return The {@link EntriesResponse} to be processed.
+     */
+    public EntriesResponse getAllEntriesFromCursor(String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = entryDataStoreOperationsService.getAllFromCursor(cursor, pageSize);
+        return mergeWriteBehindFromCursor(entriesResponse, getCursorWindow(null, null, false, cursor, entriesResponse), false, pageSize);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getRange(String, String, boolean, Integer, Integer)} operation.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are returned from the last value of the range.
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return The {@link EntriesResponse} to be processed.
+     */
+    public EntriesResponse getEntriesInRange(String from, String to, boolean descending, Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = entryDataStoreOperationsService.getRange(from, to, descending, pageNumber, pageSize);
+        return mergeWriteBehindPage(entriesResponse, getPageWindow(from, to, descending, pageNumber, pageSize, entriesResponse), descending, pageSize);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getModified(LocalDateTime, boolean, Integer, Integer)} operation.
+     *
+     * @param modifiedSince - The inclusive UTC {@link LocalDateTime} lower bound of the last modified time, or null for no lower bound.
+     * @param descending    - If true, the most recently modified {@link Entry} are returned first.
+     * @param pageNumber    - The {@link Integer} page number for the response.
+     * @param pageSize      - The {@link Integer} page size for the response.
+     * @return The {@link EntriesResponse} to be processed.
+     */
+    public EntriesResponse getEntriesModified(LocalDateTime modifiedSince, boolean descending, Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = entryDataStoreOperationsService.getModified(modifiedSince, descending, pageNumber, pageSize);
+        if (entryWriteBehindService == null) {
+            return entriesResponse;
+        }
+
+        // A buffered Entry is modified when it is flushed, so it belongs on the page of the most recently modified Entry.
+        List<Entry> entries = entriesResponse.getEntries();
+        int listedSize = entries.size();
+        boolean newestPage = descending ? pageNumber == 0 : listedSize < pageSize;
+        boolean isModifiedSince = modifiedSince == null || !modifiedSince.isAfter(LocalDateTime.now(ZoneOffset.UTC));
+        List<Entry> unlistedEntries = entryWriteBehindService.merge(entries, value -> newestPage && isModifiedSince);
+        unlistedEntries.sort(Comparator.comparing(Entry::getValue, EntryRangeUtils.VALUE_ORDER));
+        List<Entry> pageEntries = unlistedEntries.subList(0, Math.min(unlistedEntries.size(), Math.max(pageSize - entries.size(), 0)));
+        entries.addAll(descending ? 0 : entries.size(), pageEntries);
+        return setTotals(entriesResponse, entriesResponse.getTotalEntries() + entries.size() - listedSize, pageSize);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getRangeFromCursor(String, String, boolean, String, Integer)} operation.
+     *
+     * @param from       - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to         - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending - If true, the {@link Entry} are returned from the last value of the range, and a page starts
+     *                   before the cursor.
+     * @param cursor     - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return The {@link EntriesResponse} to be processed.
+     */
+    public EntriesResponse getEntriesInRangeFromCursor(String from, String to, boolean descending, String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = entryDataStoreOperationsService.getRangeFromCursor(from, to, descending, cursor, pageSize);
+        return mergeWriteBehindFromCursor(entriesResponse, getCursorWindow(from, to, descending, cursor, entriesResponse), descending, pageSize);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#search(String, String, Integer)} operation.
+     *
+     * @param query    - The {@link String} query, with at least three characters.
+     * @param cursor   - The opaque {@link String} cursor returned with the previous page, or null for the first page.
+     * @param pageSize - The {@link Integer} maximum number of {@link Entry} in the response.
+     * @return The {@link EntriesResponse} to be processed.
+     * @throws IllegalArgumentException Thrown if the query is too short to be searched or the cursor is not valid.
+     */
+    public EntriesResponse searchEntries(String query, String cursor, Integer pageSize) {
+        EntriesResponse entriesResponse = entryDataStoreOperationsService.search(query, cursor, pageSize);
+        Predicate<String> window = getCursorWindow(null, null, false, cursor, entriesResponse).and(value -> EntrySearchUtils.matches(value, query));
+        return mergeWriteBehindFromCursor(entriesResponse, window, false, pageSize);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getStats()} operation. The statistics count the
+     * data store, so the buffered write-behind actions are counted once they are flushed.
+     *
+     * @return The {@link EntryStatsResponse} to be processed.
+     */
+    public EntryStatsResponse getStats() {
+        return entryDataStoreOperationsService.getStats();
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getChangeTag()} operation. With write-behind, the
+     * change tag of the buffered state is appended while anything is buffered, so the buffer isn't flushed to tag a
+     * listing. The buffered change tag is read first, so a flush completing in between changes the data store change tag.
+     *
+     * @return The {@link String} change tag of the data store, including every buffered write-behind action.
+     */
+    public String getChangeTag() {
+        Optional<String> bufferedChangeTag = entryWriteBehindService == null ? Optional.empty() : entryWriteBehindService.getChangeTag();
+        String changeTag = entryDataStoreOperationsService.getChangeTag();
+        return bufferedChangeTag.map(bufferedTag -> changeTag + "-" + bufferedTag).orElse(changeTag);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#getCreated(Collection)} operation.
+     *
+     * @param entries - The {@link List} of listed {@link Entry}.
+     * @return A {@link Map} of the {@link String} value of each {@link Entry} to its UTC created time, for the {@link Entry} which don't hold it.
+     */
+    public Map<String, LocalDateTime> getCreated(List<Entry> entries) {
+        return entryDataStoreOperationsService.getCreated(entries);
+    }
+
+    /**
+     * Method for performing the {@link EntryDataStoreOperationsService#rebuildSearchIndex()} operation.
+     *
+     * @return The number of {@link Entry} added to the search index.
+     */
+    public long rebuildSearchIndex() {
+        flushWriteBehind();
+        return entryDataStoreOperationsService.rebuildSearchIndex();
+    }
+
+    /**
+     * Gets the time a value is held by the entries cache.
+     *
+     * @param cache - The entries {@link Cache}.
+     * @param value - The cached value.
+     * @return The time to live {@link Duration}, 0 if it isn't known or the value doesn't expire.
+     */
+    private Duration getCacheTtl(Cache cache, Object value) {
+        Cache sharedCache = cache instanceof NearCache ? ((NearCache) cache).getSharedCache() : cache;
+        if (sharedCache instanceof SpecRedisCache) {
+            return ((SpecRedisCache) sharedCache).getTtl(value);
+        }
+        return sharedCache instanceof RedisCache ? ((RedisCache) sharedCache).getCacheConfiguration().getTtl() : Duration.ZERO;
+    }
+
+    /**
+     * Forgets the loads of changed values in the {@link EntryLoadCoalescer}, if requests are coalesced, so a later read
+     * doesn't share a load which began before the change.
+     *
+     * @param values - The {@link String} values which were changed.
+     */
+    private void forgetLoads(String... values) {
+        if (entryLoadCoalescer != null) {
+            entryLoadCoalescer.forget(Arrays.stream(values).filter(Objects::nonNull).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Gets every {@link Entry}, merged with the buffered write-behind state.
+     *
+     * @return The {@link EntriesResponse} of every {@link Entry}.
+     */
+    private EntriesResponse getAllEntries() {
+        EntriesResponse entriesResponse = mergeWriteBehind(entryDataStoreOperationsService.getAll(), value -> true, false);
+        entriesResponse.setTotalEntries(entriesResponse.getEntries().size());
+        return entriesResponse;
+    }
+
+    /**
+     * Gets a page of every {@link Entry}, merged with the buffered write-behind state.
+     *
+     * @param pageNumber - The {@link Integer} page number for the response.
+     * @param pageSize   - The {@link Integer} page size for the response.
+     * @return The {@link EntriesResponse} of the page.
+     */
+    private EntriesResponse getAllEntries(Integer pageNumber, Integer pageSize) {
+        EntriesResponse entriesResponse = entryDataStoreOperationsService.getAll(pageNumber, pageSize);
+        return mergeWriteBehindPage(entriesResponse, getPageWindow(null, null, false, pageNumber, pageSize, entriesResponse), false, pageSize);
+    }
+
+    /**
+     * Merges the buffered write-behind state into a listing ordered by value, if write-behind is enabled, so the listing
+     * holds the buffered actions without flushing them. The buffered values within the window of the listing are added
+     * in order. The totals are those of the data store, so they count the buffered actions once they are flushed.
+     *
+     * @param entriesResponse - The {@link EntriesResponse} read from the data store, which is merged in place.
+     * @param window          - The {@link Predicate} accepting the {@link String} values which belong in the listing.
+     * @param descending      - If true, the listing is in descending order of value.
+     * @return The merged {@link EntriesResponse}.
+     */
+    private EntriesResponse mergeWriteBehind(EntriesResponse entriesResponse, Predicate<String> window, boolean descending) {
+        if (entryWriteBehindService == null) {
+            return entriesResponse;
+        }
+        List<Entry> unlistedEntries = entryWriteBehindService.merge(entriesResponse.getEntries(), window);
+        if (!unlistedEntries.isEmpty()) {
+            entriesResponse.getEntries().addAll(unlistedEntries);
+            entriesResponse.getEntries().sort(Comparator.comparing(Entry::getValue, getValueOrder(descending)));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Merges the buffered write-behind state into a page read by page number, if write-behind is enabled. The next page
+     * is read from the data store at the next offset, so a listed {@link Entry} is never moved off the page and the
+     * buffered values are only added while the page has room, the rest being listed once they are flushed. The totals
+     * are moved by the change in the size of the page.
+     *
+     * @param entriesResponse - The {@link EntriesResponse} of the page read from the data store, which is merged in place.
+     * @param window          - The {@link Predicate} accepting the {@link String} values of the page.
+     * @param descending      - If true, the page is in descending order of value.
+     * @param pageSize        - The {@link Integer} page size of the page.
+     * @return The merged {@link EntriesResponse}.
+     */
+    private EntriesResponse mergeWriteBehindPage(EntriesResponse entriesResponse, Predicate<String> window, boolean descending, Integer pageSize) {
+        if (entryWriteBehindService == null) {
+            return entriesResponse;
+        }
+        List<Entry> entries = entriesResponse.getEntries();
+        int listedSize = entries.size();
+        List<Entry> unlistedEntries = entryWriteBehindService.merge(entries, window);
+        unlistedEntries.sort(Comparator.comparing(Entry::getValue, getValueOrder(descending)));
+        entries.addAll(unlistedEntries.subList(0, Math.min(unlistedEntries.size(), Math.max(pageSize - entries.size(), 0))));
+        entries.sort(Comparator.comparing(Entry::getValue, getValueOrder(descending)));
+        return setTotals(entriesResponse, entriesResponse.getTotalEntries() + entries.size() - listedSize, pageSize);
+    }
+
+    /**
+     * Merges the buffered write-behind state into a page read after a cursor, if write-behind is enabled. A merged page
+     * longer than the page size is trimmed, and the cursor of the next page is moved to the last value kept, so the
+     * trimmed values are read again with the next page. The totals, if the data store counted the page, are moved by the
+     * buffered values added to or removed from the window.
+     *
+     * @param entriesResponse - The {@link EntriesResponse} of the page read from the data store, which is merged in place.
+     * @param window          - The {@link Predicate} accepting the {@link String} values of the page.
+     * @param descending      - If true, the page is in descending order of value.
+     * @param pageSize        - The {@link Integer} page size of the page.
+     * @return The merged {@link EntriesResponse}.
+     */
+    private EntriesResponse mergeWriteBehindFromCursor(EntriesResponse entriesResponse, Predicate<String> window, boolean descending, Integer pageSize) {
+        if (entryWriteBehindService == null) {
+            return entriesResponse;
+        }
+        List<Entry> entries = entriesResponse.getEntries();
+        int listedSize = entries.size();
+        mergeWriteBehind(entriesResponse, window, descending);
+        if (entriesResponse.getTotalPages() > 0) {
+            setTotals(entriesResponse, entriesResponse.getTotalEntries() + entries.size() - listedSize, pageSize);
+        }
+        if (entries.size() > pageSize) {
+            entries.subList(pageSize, entries.size()).clear();
+            entriesResponse.setNextCursor(EntryCursorUtils.encode(entries.get(pageSize - 1).getValue()));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Sets the totals of a page.
+     *
+     * @param entriesResponse - The {@link EntriesResponse} of the page.
+     * @param totalEntries    - The total number of {@link Entry}.
+     * @param pageSize        - The {@link Integer} page size of the page.
+     * @return The {@link EntriesResponse}.
+     */
+    private static EntriesResponse setTotals(EntriesResponse entriesResponse, long totalEntries, Integer pageSize) {
+        long total = Math.max(totalEntries, 0);
+        entriesResponse.setTotalEntries(total);
+        entriesResponse.setTotalPages((int) ((total + pageSize - 1) / pageSize));
+        return entriesResponse;
+    }
+
+    /**
+     * Gets the window of the values of a page of a range read by page number. The first page starts at the first bound
+     * of the range in the order of the listing and the last page ends at the other bound, otherwise a page spans its
+     * first to its last value, so a buffered value between two pages is listed once it is flushed.
+     *
+     * @param from            - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to              - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending      - If true, the page is in descending order of value.
+     * @param pageNumber      - The {@link Integer} page number of the page.
+     * @param pageSize        - The {@link Integer} page size of the page.
+     * @param entriesResponse - The {@link EntriesResponse} of the page read from the data store.
+     * @return The {@link Predicate} accepting the {@link String} values of the page.
+     */
+    private Predicate<String> getPageWindow(String from, String to, boolean descending, Integer pageNumber, Integer pageSize,
+                                            EntriesResponse entriesResponse) {
+        List<Entry> entries = entriesResponse.getEntries();
+        if (pageNumber > 0 && entries.isEmpty()) {
+            return value -> false;
+        }
+        Comparator<String> order = getValueOrder(descending);
+        Predicate<String> window = value -> EntryRangeUtils.isInRange(value, from, to);
+        if (pageNumber > 0) {
+            String first = entries.get(0).getValue();
+            window = window.and(value -> order.compare(value, first) >= 0);
+        }
+        if (entries.size() >= pageSize) {
+            String last = entries.get(entries.size() - 1).getValue();
+            window = window.and(value -> order.compare(value, last) <= 0);
+        }
+        return window;
+    }
+
+    /**
+     * Gets the window of the values of a page of a range read after a cursor, which starts after the last value of the
+     * previous page and ends at the last value of the page, or at the other bound of the range on the last page.
+     *
+     * @param from            - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to              - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @param descending      - If true, the page is in descending order of value.
+     * @param cursor          - The opaque {@link String} cursor of the page, or null for the first page.
+     * @param entriesResponse - The {@link EntriesResponse} of the page read from the data store.
+     * @return The {@link Predicate} accepting the {@link String} values of the page.
+     */
+    private Predicate<String> getCursorWindow(String from, String to, boolean descending, String cursor, EntriesResponse entriesResponse) {
+        String lastValue = EntryCursorUtils.decode(cursor);
+        Comparator<String> order = getValueOrder(descending);
+        Predicate<String> window = value -> EntryRangeUtils.isInRange(value, from, to);
+        if (lastValue != null) {
+            window = window.and(value -> order.compare(value, lastValue) > 0);
+        }
+        List<Entry> entries = entriesResponse.getEntries();
+        if (entriesResponse.getNextCursor() != null && !entries.isEmpty()) {
+            String last = entries.get(entries.size() - 1).getValue();
+            window = window.and(value -> order.compare(value, last) <= 0);
+        }
+        return window;
+    }
+
+    /**
+     * Gets the order of the values of a listing, the code point order of the data stores.
+     *
+     * @param descending - If true, the listing is in descending order of value.
+     * @return The {@link Comparator} of the {@link String} values in the order of the listing.
+     */
+    private static Comparator<String> getValueOrder(boolean descending) {
+        return descending ? EntryRangeUtils.VALUE_ORDER.reversed() : EntryRangeUtils.VALUE_ORDER;
+    }
+
+    /**
+     * Flushes the {@link EntryWriteBehindService} if write-behind is enabled, so the data store holds every buffered
+     * mutation before it is batched, changed with an expected version, or its history is read. Listings merge the
+     * buffered state instead, so they never wait on a flush. If the buffered actions can't be written, the failure is
+     * thrown, so the operation is never applied ahead of them.
+     */
+    private void flushWriteBehind() {
+        if (entryWriteBehindService != null) {
+            entryWriteBehindService.flush();
+        }
     }
 }
@@ -0,0 +1,105 @@
+package com.paulk.demo.service;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.dao.DataStoreOperations;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link Service} which periodically removes the {@link Entry} objects whose time to live has passed, with
+ * {@link DataStoreOperations#expire(long, int)}, and evicts them from the entries cache.
+ * <p>
+ * The data store is swept every api.datastore.expiry.interval.ms, removing api.datastore.expiry.batch.size
+ * {@link Entry} at a time until fewer are found, so an expired {@link Entry} can be read until the next sweep. An
+ * interval of 0 disables it.
+ */
+@Service
+public class EntryExpiryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryExpiryService.class);
+
+    protected static final String EXPIRED_METRIC = "entries.expired";
+    protected static final String EXPIRE_FAILURES_METRIC = "entries.expire.failures";
+
+    @Autowired
+    protected DataStoreOperations<String, Entry> entryDataStoreOperationsService;
+
+    @Autowired
+    protected EntryActionService entryActionService;
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * Schedules the sweeper, unless the interval is 0.
+     */
+    @PostConstruct
+    public void start() {
+        long interval = demoApplicationConfig.getExpiryIntervalMillis();
+        if (interval <= 0) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entry-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::expire, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the sweeper.
+     *
+     * @throws InterruptedException Thrown if interrupted while waiting for a running sweep.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (sweeper != null) {
+            sweeper.shutdown();
+            sweeper.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Removes each {@link Entry} whose time to live has passed, a batch at a time, and evicts it from the entries cache.
+     *
+     * @return The number of {@link Entry} removed.
+     */
+    public long expire() {
+        int batchSize = Math.max(1, demoApplicationConfig.getExpiryBatchSize());
+        long expired = 0;
+        try {
+            List<Entry> expiredEntries;
+            do {
+                expiredEntries = entryDataStoreOperationsService.expire(System.currentTimeMillis(), batchSize);
+                entryActionService.evictAll(expiredEntries.stream().map(Entry::getValue).collect(Collectors.toList()));
+                expired += expiredEntries.size();
+            } while (expiredEntries.size() >= batchSize);
+        } catch (RuntimeException exception) {
+            // Caught so a failed sweep doesn't cancel the schedule, the Entry are removed by the next sweep.
+            LOGGER.error("Error removing expired Entry during the Expire Operation.", exception);
+            meterRegistry.counter(EXPIRE_FAILURES_METRIC).increment();
+        }
+        if (expired > 0) {
+            meterRegistry.counter(EXPIRED_METRIC).increment(expired);
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,265 @@
+package com.paulk.demo.service;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryOperationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Service} which coalesces the concurrent loads of an {@link Entry} missed by the entries cache into a single
+ * load, so a popular value evicted from the cache is read from the data store once rather than by every request missing
+ * it. Selected with the property api.cache.coalescing.enabled=true.
+ * <p>
+ * The first request to miss a value loads it, and the requests missing it while it loads wait for that load for at most
+ * api.cache.coalescing.wait.ms, after which each loads the value itself. A load which fails fails the requests waiting on
+ * it. With api.cache.coalescing.early.refresh.beta above 0, a request for a cached value may reload it before its time to
+ * live passes, more likely the nearer the expiry and the longer the last load took, so the value is refreshed by a single
+ * request rather than missed by every request at once. A beta of 1 is the usual choice, a higher beta refreshes earlier.
+ * <p>
+ * Each change of a value moves its generation on, so a load which read the value before the change sees it is stale and
+ * doesn't put the value it read in the cache. The generations are striped by the hash of the value, so a change of one
+ * value may also skip the cache put of a load of another value, which is then loaded again on its next miss.
+ */
+@Service
+@ConditionalOnProperty(name = "api.cache.coalescing.enabled", havingValue = "true")
+public class EntryLoadCoalescer {
+
+    protected static final String LOADS_METRIC = "entries.cache.coalescing.loads";
+    protected static final String COALESCED_METRIC = "entries.cache.coalescing.coalesced";
+    protected static final String TIMEOUTS_METRIC = "entries.cache.coalescing.timeouts";
+    protected static final String EARLY_REFRESHES_METRIC = "entries.cache.coalescing.early.refreshes";
+    protected static final String STALE_LOADS_METRIC = "entries.cache.coalescing.stale.loads";
+
+    // The number of values whose last load is kept for the early refresh, dropping the least recently used first.
+    private static final int MAX_LOAD_RECORDS = 10_000;
+    // The number of generation stripes, a power of 2 so the stripe of a value is masked from its hash.
+    private static final int GENERATION_STRIPES = 4096;
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, CompletableFuture<EntryOperationResponse>> inFlightLoads = new ConcurrentHashMap<>();
+    // Guarded by itself, in access order so the least recently used record is dropped first.
+    private final Map<String, LoadRecord> loadRecords = new LinkedHashMap<String, LoadRecord>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LoadRecord> eldest) {
+            return size() > MAX_LOAD_RECORDS;
+        }
+    };
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private Counter loads;
+    private Counter coalesced;
+    private Counter timeouts;
+    private Counter earlyRefreshes;
+    private Counter staleLoads;
+
+    /**
+     * Registers the coalescing metrics.
+     */
+    @PostConstruct
+    public void start() {
+        loads = meterRegistry.counter(LOADS_METRIC);
+        coalesced = meterRegistry.counter(COALESCED_METRIC);
+        timeouts = meterRegistry.counter(TIMEOUTS_METRIC);
+        earlyRefreshes = meterRegistry.counter(EARLY_REFRESHES_METRIC);
+        staleLoads = meterRegistry.counter(STALE_LOADS_METRIC);
+    }
+
+    /**
+     * Loads a value missed by the cache, sharing the load already in flight for the value if there is one.
+     *
+     * @param value  - The {@link String} value of the {@link Entry}.
+     * @param loader - The {@link Supplier} loading the {@link EntryOperationResponse} and putting it in the cache.
+     * @return The loaded {@link EntryOperationResponse}.
+     */
+    public EntryOperationResponse load(String value, Supplier<EntryOperationResponse> loader) {
+        CompletableFuture<EntryOperationResponse> load = new CompletableFuture<>();
+        CompletableFuture<EntryOperationResponse> inFlightLoad = inFlightLoads.putIfAbsent(value, load);
+        if (inFlightLoad == null) {
+            return lead(value, load, loader);
+        }
+
+        try {
+            EntryOperationResponse response = inFlightLoad.get(demoApplicationConfig.getCoalescingWaitMillis(), TimeUnit.MILLISECONDS);
+            coalesced.increment();
+            return response;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        }
+        // The load in flight took too long, so it is no longer waited on.
+        return timedLoad(value, loader);
+    }
+
+    /**
+     * Reloads a cached value before its time to live passes, unless a load of the value is already in flight.
+     *
+     * @param value  - The {@link String} value of the {@link Entry}.
+     * @param loader - The {@link Supplier} loading the {@link EntryOperationResponse} and putting it in the cache.
+     * @return An {@link Optional} of the reloaded {@link EntryOperationResponse}, empty if another request is loading it.
+     */
+    public Optional<EntryOperationResponse> refresh(String value, Supplier<EntryOperationResponse> loader) {
+        CompletableFuture<EntryOperationResponse> load = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(value, load) != null) {
+            return Optional.empty();
+        }
+        earlyRefreshes.increment();
+        return Optional.of(lead(value, load, loader));
+    }
+
+    /**
+     * Decides if a cached value is reloaded before its time to live passes. The value is reloaded once the time since it
+     * was loaded on this node, plus the time its load took scaled by the beta and an exponentially distributed random
+     * factor, reaches its time to live.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @param ttl   - The {@link Duration} the value is cached for, 0 if it doesn't expire.
+     * @return True if the value is reloaded, otherwise false, including for a value not loaded on this node.
+     */
+    public boolean isEarlyRefresh(String value, Duration ttl) {
+        double beta = demoApplicationConfig.getEarlyRefreshBeta();
+        if (beta <= 0 || ttl.isZero() || ttl.isNegative()) {
+            return false;
+        }
+        LoadRecord loadRecord;
+        synchronized (loadRecords) {
+            loadRecord = loadRecords.get(value);
+        }
+        if (loadRecord == null) {
+            return false;
+        }
+
+        // -ln(u) for u in (0, 1] is exponentially distributed with a mean of 1.
+        double earlyMillis = loadRecord.loadMillis * beta * -Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + earlyMillis >= loadRecord.loadedAt + ttl.toMillis();
+    }
+
+    /**
+     * Returns the generation of a value, read by a load before it reads the value.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @return The generation of the value.
+     */
+    public long getGeneration(String value) {
+        return generations.get(getGenerationStripe(value));
+    }
+
+    /**
+     * Checks if a value wasn't changed since a load read its generation, so the loaded value may be put in the cache.
+     *
+     * @param value      - The {@link String} value of the {@link Entry}.
+     * @param generation - The generation of the value read before the load.
+     * @return True if the value wasn't changed since the load began, otherwise false.
+     */
+    public boolean isCurrent(String value, long generation) {
+        if (generations.get(getGenerationStripe(value)) == generation) {
+            return true;
+        }
+        staleLoads.increment();
+        return false;
+    }
+
+    /**
+     * Forgets the loads of values which were changed, so a later miss of a value doesn't wait on a load which began
+     * before the change, and the loads in flight don't put the values they read in the cache.
+     *
+     * @param values - The {@link Collection} of {@link String} values.
+     */
+    public void forget(Collection<String> values) {
+        values.forEach(value -> generations.incrementAndGet(getGenerationStripe(value)));
+        values.forEach(inFlightLoads::remove);
+        synchronized (loadRecords) {
+            values.forEach(loadRecords::remove);
+        }
+    }
+
+    /**
+     * Loads a value for the requests waiting on the load, then removes the load from those in flight.
+     *
+     * @param value  - The {@link String} value of the {@link Entry}.
+     * @param load   - The {@link CompletableFuture} of the load in flight.
+     * @param loader - The {@link Supplier} loading the {@link EntryOperationResponse}.
+     * @return The loaded {@link EntryOperationResponse}.
+     */
+    private EntryOperationResponse lead(String value, CompletableFuture<EntryOperationResponse> load, Supplier<EntryOperationResponse> loader) {
+        try {
+            EntryOperationResponse response = timedLoad(value, loader);
+            load.complete(response);
+            return response;
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(value, load);
+        }
+    }
+
+    /**
+     * Loads a value, recording when it was loaded and how long the load took.
+     *
+     * @param value  - The {@link String} value of the {@link Entry}.
+     * @param loader - The {@link Supplier} loading the {@link EntryOperationResponse}.
+     * @return The loaded {@link EntryOperationResponse}.
+     */
+    private EntryOperationResponse timedLoad(String value, Supplier<EntryOperationResponse> loader) {
+        loads.increment();
+        long start = System.nanoTime();
+        EntryOperationResponse response = loader.get();
+        LoadRecord loadRecord = new LoadRecord(System.currentTimeMillis(), (System.nanoTime() - start) / 1_000_000d);
+        synchronized (loadRecords) {
+            loadRecords.put(value, loadRecord);
+        }
+        return response;
+    }
+
+    /**
+     * Returns the generation stripe of a value, spreading the hash of the value as {@link java.util.HashMap} does.
+     *
+     * @param value - The {@link String} value of the {@link Entry}.
+     * @return The index of the stripe.
+     */
+    private static int getGenerationStripe(String value) {
+        int hash = value.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * The time a value was last loaded on this node and how long the load took.
+     */
+    private static class LoadRecord {
+        private final long loadedAt;
+        private final double loadMillis;
+
+        private LoadRecord(long loadedAt, double loadMillis) {
+            this.loadedAt = loadedAt;
+            this.loadMillis = loadMillis;
+        }
+    }
+}
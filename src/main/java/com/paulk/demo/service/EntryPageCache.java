@@ -0,0 +1,139 @@
+package com.paulk.demo.service;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.dao.DataStoreOperations;
+import com.paulk.demo.model.EntriesResponse;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Service} which caches the pages of every {@link Entry} in process, by the change tag of the data store they
+ * were listed at. Selected with the property api.cache.pages.enabled=true.
+ * <p>
+ * The change tag, from {@link DataStoreOperations#getChangeTag()}, changes with every mutation on any node, and is
+ * prefixed with an epoch which changes whenever the mutation counters are reset, so a change tag never recurs and the
+ * pages of a change tag are only read while it is current. The pages are held for the last change tag read, and a read of
+ * another change tag drops them all at once, so no page is evicted on its own. A listing between mutations costs the
+ * single read of the change tag. At most api.cache.pages.max.size pages are held. The cached {@link EntriesResponse}
+ * are copied in and out, as a caller may sort its {@link Entry} in place.
+ */
+@Service
+@ConditionalOnProperty(name = "api.cache.pages.enabled", havingValue = "true")
+public class EntryPageCache {
+
+    protected static final String HITS_METRIC = "entries.cache.pages.hits";
+    protected static final String MISSES_METRIC = "entries.cache.pages.misses";
+    protected static final String SIZE_METRIC = "entries.cache.pages.size";
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    private volatile PageGeneration generation = new PageGeneration(null);
+    private Counter hits;
+    private Counter misses;
+
+    /**
+     * Registers the page cache metrics.
+     */
+    @PostConstruct
+    public void start() {
+        hits = meterRegistry.counter(HITS_METRIC);
+        misses = meterRegistry.counter(MISSES_METRIC);
+        meterRegistry.gauge(SIZE_METRIC, this, EntryPageCache::size);
+    }
+
+    /**
+     * Gets a page cached at a change tag, or loads and caches it if it isn't held.
+     *
+     * @param changeTag - The {@link String} change tag read before the page, or null to load the page without caching it.
+     * @param pageKey   - The {@link String} key of the page, such as its page number and size.
+     * @param loader    - The {@link Supplier} loading the {@link EntriesResponse} of the page.
+     * @return The {@link EntriesResponse} of the page.
+     */
+    public EntriesResponse get(String changeTag, String pageKey, Supplier<EntriesResponse> loader) {
+        if (changeTag == null) {
+            return loader.get();
+        }
+
+        PageGeneration currentGeneration = getGeneration(changeTag);
+        EntriesResponse page = currentGeneration.pages.get(pageKey);
+        if (page != null) {
+            hits.increment();
+            return copy(page);
+        }
+
+        misses.increment();
+        EntriesResponse entriesResponse = loader.get();
+        if (entriesResponse.getError() == null && currentGeneration.pages.size() < demoApplicationConfig.getPageCacheMaxSize()) {
+            currentGeneration.pages.put(pageKey, copy(entriesResponse));
+        }
+        return entriesResponse;
+    }
+
+    /**
+     * Gets the number of pages held for the last change tag read.
+     *
+     * @return The number of pages.
+     */
+    public int size() {
+        return generation.pages.size();
+    }
+
+    /**
+     * Gets the pages of a change tag, dropping the pages of any other change tag.
+     *
+     * @param changeTag - The {@link String} change tag.
+     * @return The {@link PageGeneration} of the change tag.
+     */
+    private PageGeneration getGeneration(String changeTag) {
+        PageGeneration currentGeneration = generation;
+        if (changeTag.equals(currentGeneration.changeTag)) {
+            return currentGeneration;
+        }
+        synchronized (this) {
+            if (!changeTag.equals(generation.changeTag)) {
+                generation = new PageGeneration(changeTag);
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * Copies an {@link EntriesResponse}, sharing its {@link Entry} but not their {@link java.util.List}.
+     *
+     * @param entriesResponse - The {@link EntriesResponse} to be copied.
+     * @return The copied {@link EntriesResponse}.
+     */
+    private static EntriesResponse copy(EntriesResponse entriesResponse) {
+        EntriesResponse copiedResponse = new EntriesResponse();
+        copiedResponse.getEntries().addAll(entriesResponse.getEntries());
+        copiedResponse.setTotalPages(entriesResponse.getTotalPages());
+        copiedResponse.setTotalEntries(entriesResponse.getTotalEntries());
+        copiedResponse.setNextCursor(entriesResponse.getNextCursor());
+        return copiedResponse;
+    }
+
+    /**
+     * The pages listed at a change tag.
+     */
+    private static class PageGeneration {
+        private final String changeTag;
+        private final Map<String, EntriesResponse> pages = new ConcurrentHashMap<>();
+
+        private PageGeneration(String changeTag) {
+            this.changeTag = changeTag;
+        }
+    }
+}
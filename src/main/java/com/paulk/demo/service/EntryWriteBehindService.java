@@ -0,0 +1,639 @@
+package com.paulk.demo.service;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.constants.AuditActionCodes;
+import com.paulk.demo.dao.DataStoreOperations;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Service} which buffers {@link Entry} mutations in memory and writes them behind to the data store, so the
+ * mutations don't wait on the data store. Selected with the property api.datastore.write.behind.enabled=true.
+ * <p>
+ * Each mutation is checked against the buffered state and accepted optimistically. A mutation the data store later
+ * rejects, such as adding a value only the data store holds, is logged and counted when it is flushed. A batch which
+ * fails as a whole, such as while the data store is unreachable, is kept and read as the batch being flushed, and is
+ * retried ahead of the later actions, after a backoff doubling from api.datastore.write.behind.flush.interval.ms. While
+ * it is kept, a mutation is refused once api.datastore.write.behind.buffer.size actions are buffered behind it. The buffer holds
+ * at most one action per value, as a later action on a value is merged into the earlier action. The buffer is flushed
+ * with a single {@link DataStoreOperations#batch(List)} when it reaches api.datastore.write.behind.flush.size actions,
+ * every api.datastore.write.behind.flush.interval.ms, and on shutdown. A caller which fills the buffer to
+ * api.datastore.write.behind.buffer.size actions flushes it before returning.
+ * <p>
+ * {@link #get(String)} and {@link #getById(String)} answer from the buffered state until it is flushed, and
+ * {@link #merge(List, Predicate)} merges it into the listings read from the data store, so reads never wait on a flush.
+ * {@link #getChangeTag()} changes with every buffered action and flush, to tag the merged listings.
+ */
+@Service
+@ConditionalOnProperty(name = "api.datastore.write.behind.enabled", havingValue = "true")
+public class EntryWriteBehindService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryWriteBehindService.class);
+
+    protected static final String BUFFER_DEPTH_METRIC = "entries.write.behind.buffer.depth";
+    protected static final String FLUSH_TIMER_METRIC = "entries.write.behind.flush";
+    protected static final String FLUSH_SIZE_METRIC = "entries.write.behind.flush.size";
+    protected static final String FLUSH_FAILURES_METRIC = "entries.write.behind.flush.failures";
+    protected static final String FLUSH_RETRIES_METRIC = "entries.write.behind.flush.retries";
+
+    // The backoff of a failed batch doubles from the flush interval up to this many doublings.
+    protected static final int MAX_RETRY_BACKOFF_SHIFT = 5;
+    protected static final long STOP_TIMEOUT_MILLIS = 30_000;
+
+    @Autowired
+    protected DataStoreOperations<String, Entry> entryDataStoreOperationsService;
+
+    @Autowired
+    protected DemoApplicationConfig demoApplicationConfig;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    @Lazy
+    @Autowired
+    protected EntryActionService entryActionService;
+
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // The buffer is local to this instance, so its change tag is qualified by the instance.
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // The buffered actions keyed by the value each action leaves in place, in the order they are applied.
+    private Map<String, EntryActionInput> pendingActions = new LinkedHashMap<>();
+    // The buffered state of each value and the value of each id, where null is deleted.
+    private Map<String, Entry> pendingStates = new HashMap<>();
+    private Map<String, String> pendingIds = new HashMap<>();
+    // The state of the actions being flushed, read until the flush completes.
+    private Map<String, Entry> flushingStates = Collections.emptyMap();
+    private Map<String, String> flushingIds = Collections.emptyMap();
+    // The number of changes to the buffered state, by buffered actions and completed flushes.
+    private long changes;
+    // The batch which failed as a whole, whose state is kept in the flushing state until it is retried, and its backoff.
+    private List<EntryActionInput> retryActions = Collections.emptyList();
+    private int retryAttempts;
+    private long retryAt;
+
+    private ScheduledExecutorService flusher;
+
+    /**
+     * Registers the buffer depth metric and schedules the flusher.
+     */
+    @PostConstruct
+    public void start() {
+        meterRegistry.gauge(BUFFER_DEPTH_METRIC, this, EntryWriteBehindService::depth);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entry-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = demoApplicationConfig.getWriteBehindFlushIntervalMillis();
+        flusher.scheduleWithFixedDelay(() -> flushInBackground(true), interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the flusher and drains the buffer, retrying a failed batch with its backoff for up to 30 seconds before the
+     * buffered actions are given up.
+     *
+     * @throws InterruptedException Thrown if interrupted while waiting for a running flush or a retry.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MILLIS;
+        while (!flushInBackground(false)) {
+            long delay = Math.min(getRetryDelay(), deadline - System.currentTimeMillis());
+            if (delay <= 0) {
+                LOGGER.error("Error writing buffered Entry actions during the Stop Operation, {} actions are lost.", lostDepth());
+                return;
+            }
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * Buffers the add of an {@link Entry}.
+     *
+     * @param entry - The {@link Entry} to be added.
+     * @return If true, the add was buffered, else the value or id is buffered for another {@link Entry}.
+     */
+    public EntryOperationResponse add(Entry entry) {
+        return add(entry, null);
+    }
+
+    /**
+     * Buffers the add of an {@link Entry} which expires after a time to live. The time to live is counted from the flush
+     * which adds the {@link Entry} to the data store.
+     *
+     * @param entry      - The {@link Entry} to be added.
+     * @param ttlSeconds - The {@link Long} number of seconds after which the {@link Entry} expires, or null if it never expires.
+     * @return If true, the add was buffered, else the value or id is buffered for another {@link Entry}.
+     */
+    public EntryOperationResponse add(Entry entry, Long ttlSeconds) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (entry == null || entry.getValue() == null) {
+            LOGGER.error("Error saving Entry during the Add Operation.");
+            return entryActionResponse;
+        }
+
+        while (true) {
+            int depth;
+            synchronized (this) {
+                String value = entry.getValue();
+                if (isFull() || bufferedState(value) != null || (entry.getId() != null && bufferedValueOf(entry.getId()) != null)) {
+                    return entryActionResponse;
+                }
+                if (pendingActions.containsKey(value)) {
+                    // A delete of the value is buffered, which can't be merged with the add.
+                    depth = -1;
+                } else {
+                    buffer(value, AuditActionCodes.ADD, null, entry, ttlSeconds);
+                    pendingStates.put(value, copyEntry(entry));
+                    putId(entry.getId(), value);
+                    entryActionResponse.setSuccessfulOperation(true);
+                    changes++;
+                    depth = pendingActions.size();
+                }
+            }
+            if (afterBuffer(depth)) {
+                return entryActionResponse;
+            }
+        }
+    }
+
+    /**
+     * Buffers the update of an {@link Entry}, merging it with a buffered add or update of the current value.
+     *
+     * @param key   - The current {@link String} value of the {@link Entry}.
+     * @param entry - The {@link Entry} containing the id and the updated value.
+     * @return If true, the update was buffered, else the buffered state doesn't allow the update.
+     */
+    public EntryOperationResponse update(String key, Entry entry) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (key == null || entry == null || entry.getId() == null || entry.getValue() == null) {
+            LOGGER.error("Error saving Entry during the Update Operation.");
+            return entryActionResponse;
+        }
+
+        while (true) {
+            int depth;
+            synchronized (this) {
+                String value = entry.getValue();
+                if (isFull() || isBufferedDeleted(key) || !hasBufferedId(key, entry.getId())
+                        || (!key.equals(value) && bufferedState(value) != null)) {
+                    return entryActionResponse;
+                }
+
+                EntryActionInput pendingAction = pendingActions.get(key);
+                String sourceKey = pendingAction != null && isAction(pendingAction, AuditActionCodes.UPDATE) ? pendingAction.getKey() : key;
+                if ((!key.equals(value) && pendingActions.containsKey(value))
+                        || (!sourceKey.equals(key) && pendingActions.containsKey(sourceKey))) {
+                    // A delete of the updated value, or a later action on the source value, is buffered.
+                    depth = -1;
+                } else {
+                    pendingActions.remove(key);
+                    if (pendingAction != null && isAction(pendingAction, AuditActionCodes.ADD)) {
+                        buffer(value, AuditActionCodes.ADD, null, entry, pendingAction.getTtlSeconds());
+                    } else {
+                        buffer(value, AuditActionCodes.UPDATE, sourceKey, entry, null);
+                    }
+                    if (!key.equals(value)) {
+                        pendingStates.put(key, null);
+                    }
+                    pendingStates.put(value, copyEntry(entry));
+                    putId(entry.getId(), value);
+
+                    entryActionResponse.setEntry(copyEntry(entry));
+                    entryActionResponse.setSuccessfulOperation(true);
+                    changes++;
+                    depth = pendingActions.size();
+                }
+            }
+            if (afterBuffer(depth)) {
+                return entryActionResponse;
+            }
+        }
+    }
+
+    /**
+     * Buffers the delete of an {@link Entry}, cancelling a buffered add or merging it with a buffered update.
+     *
+     * @param entry - The {@link Entry} to be deleted.
+     * @return If true, the delete was buffered, else the buffered state doesn't allow the delete.
+     */
+    public EntryOperationResponse delete(Entry entry) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (entry == null || entry.getId() == null || entry.getValue() == null) {
+            LOGGER.error("Error deleting Entry during the Delete Operation.");
+            return entryActionResponse;
+        }
+
+        while (true) {
+            int depth;
+            synchronized (this) {
+                String value = entry.getValue();
+                if (isFull() || isBufferedDeleted(value) || !hasBufferedId(value, entry.getId())) {
+                    return entryActionResponse;
+                }
+
+                EntryActionInput pendingAction = pendingActions.get(value);
+                String sourceKey = pendingAction != null && isAction(pendingAction, AuditActionCodes.UPDATE) ? pendingAction.getKey() : value;
+                if (!sourceKey.equals(value) && pendingActions.containsKey(sourceKey)) {
+                    // A later action on the source value of the buffered update is buffered.
+                    depth = -1;
+                } else {
+                    Entry deletedEntry = Optional.ofNullable(bufferedState(value)).orElse(entry);
+                    pendingActions.remove(value);
+                    if (pendingAction == null || !isAction(pendingAction, AuditActionCodes.ADD)) {
+                        // Delete the value the data store holds, which is the source of a buffered update.
+                        Entry storedEntry = copyEntry(deletedEntry);
+                        storedEntry.setValue(sourceKey);
+                        buffer(sourceKey, AuditActionCodes.DELETE, null, storedEntry, null);
+                    }
+                    pendingStates.put(value, null);
+                    putId(entry.getId(), null);
+
+                    entryActionResponse.setEntry(copyEntry(deletedEntry));
+                    entryActionResponse.setSuccessfulOperation(true);
+                    changes++;
+                    depth = pendingActions.size();
+                }
+            }
+            if (afterBuffer(depth)) {
+                return entryActionResponse;
+            }
+        }
+    }
+
+    /**
+     * Gets the buffered state of a value.
+     *
+     * @param value - The {@link String} value.
+     * @return An {@link Optional} {@link EntryOperationResponse} of the buffered state, or empty if the value isn't buffered.
+     */
+    public synchronized Optional<EntryOperationResponse> get(String value) {
+        if (value == null || !(pendingStates.containsKey(value) || flushingStates.containsKey(value))) {
+            return Optional.empty();
+        }
+        return Optional.of(toResponse(bufferedState(value)));
+    }
+
+    /**
+     * Gets the buffered state of an id.
+     *
+     * @param id - The {@link String} id.
+     * @return An {@link Optional} {@link EntryOperationResponse} of the buffered state, or empty if the id isn't buffered.
+     */
+    public synchronized Optional<EntryOperationResponse> getById(String id) {
+        if (id == null || !(pendingIds.containsKey(id) || flushingIds.containsKey(id))) {
+            return Optional.empty();
+        }
+        String value = bufferedValueOf(id);
+        return Optional.of(toResponse(value == null ? null : bufferedState(value)));
+    }
+
+    /**
+     * Merges the buffered state into a listing read from the data store, without flushing it. A listed value which is
+     * buffered is replaced with its buffered {@link Entry}, or removed if it is buffered as deleted. The buffered values
+     * which weren't listed are returned if they are within the window of the listing, for the caller to place in the
+     * order of the listing.
+     *
+     * @param entries - The {@link List} of listed {@link Entry}, which is merged in place.
+     * @param window  - The {@link Predicate} accepting the {@link String} values which belong in the listing.
+     * @return A {@link List} of the buffered {@link Entry} within the window which weren't listed.
+     */
+    public synchronized List<Entry> merge(List<Entry> entries, Predicate<String> window) {
+        Set<String> listedValues = new HashSet<>();
+        ListIterator<Entry> iterator = entries.listIterator();
+        while (iterator.hasNext()) {
+            String value = iterator.next().getValue();
+            listedValues.add(value);
+            if (pendingStates.containsKey(value) || flushingStates.containsKey(value)) {
+                Entry bufferedEntry = bufferedState(value);
+                if (bufferedEntry == null) {
+                    iterator.remove();
+                } else {
+                    iterator.set(copyEntry(bufferedEntry));
+                }
+            }
+        }
+
+        Set<String> bufferedValues = new LinkedHashSet<>(flushingStates.keySet());
+        bufferedValues.addAll(pendingStates.keySet());
+        List<Entry> unlistedEntries = new ArrayList<>();
+        for (String value : bufferedValues) {
+            Entry bufferedEntry = bufferedState(value);
+            if (bufferedEntry != null && !listedValues.contains(value) && window.test(value)) {
+                unlistedEntries.add(copyEntry(bufferedEntry));
+            }
+        }
+        return unlistedEntries;
+    }
+
+    /**
+     * Gets the change tag of the buffered state, which changes with every buffered action and every completed flush.
+     *
+     * @return An {@link Optional} {@link String} change tag, or empty if nothing is buffered.
+     */
+    public synchronized Optional<String> getChangeTag() {
+        if (pendingStates.isEmpty() && flushingStates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(instanceId + "." + changes);
+    }
+
+    /**
+     * Gets the number of buffered actions.
+     *
+     * @return The number of buffered actions.
+     */
+    public synchronized int depth() {
+        return pendingActions.size();
+    }
+
+    /**
+     * Writes the buffered actions to the data store in a single batch, after retrying a batch which failed. The buffered
+     * state is read until the batch completes, then the values are evicted from the cache, as the data store may have
+     * rejected some actions. A batch which fails as a whole is kept, ahead of the actions buffered since, to be retried.
+     *
+     * @throws RuntimeException Thrown by the data store if a batch failed as a whole, which is kept to be retried.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<EntryActionInput> actionInputs;
+            synchronized (this) {
+                flushRequested.set(false);
+                actionInputs = retryActions;
+            }
+            if (!actionInputs.isEmpty()) {
+                long start = System.nanoTime();
+                writeBatch(actionInputs);
+                completeFlush(actionInputs, start);
+            }
+
+            synchronized (this) {
+                if (pendingStates.isEmpty()) {
+                    return;
+                }
+                actionInputs = new ArrayList<>(pendingActions.values());
+                flushingStates = pendingStates;
+                flushingIds = pendingIds;
+                pendingActions = new LinkedHashMap<>();
+                pendingStates = new HashMap<>();
+                pendingIds = new HashMap<>();
+            }
+
+            long start = System.nanoTime();
+            try {
+                writeBatch(actionInputs);
+            } catch (RuntimeException exception) {
+                synchronized (this) {
+                    retryActions = actionInputs;
+                }
+                throw exception;
+            }
+            completeFlush(actionInputs, start);
+        }
+    }
+
+    /**
+     * Flushes the buffer from the flusher or on shutdown, without throwing, as a failed batch is logged and kept.
+     *
+     * @param backoff - If true, a failed batch is only retried once its backoff has passed.
+     * @return If true, the buffer was written, else a failed batch is kept.
+     */
+    private boolean flushInBackground(boolean backoff) {
+        synchronized (this) {
+            if (backoff && !retryActions.isEmpty() && System.currentTimeMillis() < retryAt) {
+                return false;
+            }
+        }
+        try {
+            flush();
+            return true;
+        } catch (RuntimeException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes a batch of buffered actions to the data store. The actions the data store rejects are logged and counted. If
+     * the batch fails as a whole, the backoff of its retry is doubled. The actions of a batch which failed part way may be
+     * applied twice, and are then rejected and counted by the retry.
+     *
+     * @param actionInputs - The {@link List} of {@link EntryActionInput} to be written.
+     * @throws RuntimeException Thrown by the data store if the batch failed as a whole.
+     */
+    private void writeBatch(List<EntryActionInput> actionInputs) {
+        if (actionInputs.isEmpty()) {
+            return;
+        }
+
+        long failures;
+        try {
+            failures = entryDataStoreOperationsService.batch(actionInputs).stream()
+                    .filter(entryActionResponse -> !entryActionResponse.isSuccessfulOperation())
+                    .count();
+        } catch (RuntimeException exception) {
+            long delay;
+            synchronized (this) {
+                delay = getRetryDelay();
+                retryAttempts++;
+                retryAt = System.currentTimeMillis() + delay;
+            }
+            LOGGER.error("Error writing {} buffered Entry actions during the Flush Operation, retried in {} ms.", actionInputs.size(), delay, exception);
+            meterRegistry.counter(FLUSH_RETRIES_METRIC).increment();
+            throw exception;
+        }
+        if (failures > 0) {
+            LOGGER.error("Error applying {} of {} buffered Entry actions during the Flush Operation.", failures, actionInputs.size());
+            meterRegistry.counter(FLUSH_FAILURES_METRIC).increment(failures);
+        }
+    }
+
+    /**
+     * Completes a written batch, clearing the state being flushed and evicting its values from the cache.
+     *
+     * @param actionInputs - The {@link List} of {@link EntryActionInput} written.
+     * @param start        - The {@link System#nanoTime()} the batch started.
+     */
+    private void completeFlush(List<EntryActionInput> actionInputs, long start) {
+        List<String> flushedValues;
+        synchronized (this) {
+            flushedValues = new ArrayList<>(flushingStates.keySet());
+            flushingStates = Collections.emptyMap();
+            flushingIds = Collections.emptyMap();
+            retryActions = Collections.emptyList();
+            retryAttempts = 0;
+            changes++;
+        }
+        try {
+            entryActionService.evictAll(flushedValues);
+        } catch (RuntimeException exception) {
+            LOGGER.error("Error evicting flushed Entry values during the Flush Operation.", exception);
+        }
+        meterRegistry.summary(FLUSH_SIZE_METRIC).record(actionInputs.size());
+        meterRegistry.timer(FLUSH_TIMER_METRIC).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the delay before the next retry of a failed batch, the flush interval doubled for each failed attempt.
+     *
+     * @return The delay in milliseconds.
+     */
+    private synchronized long getRetryDelay() {
+        return demoApplicationConfig.getWriteBehindFlushIntervalMillis() << Math.min(retryAttempts, MAX_RETRY_BACKOFF_SHIFT);
+    }
+
+    /**
+     * Determines if the buffer is full behind a failed batch, so a mutation is refused rather than buffered.
+     *
+     * @return If true, a failed batch is kept and the buffer holds api.datastore.write.behind.buffer.size actions.
+     */
+    private boolean isFull() {
+        return !retryActions.isEmpty() && pendingActions.size() >= demoApplicationConfig.getWriteBehindBufferSize();
+    }
+
+    private synchronized int lostDepth() {
+        return retryActions.size() + pendingActions.size();
+    }
+
+    /**
+     * Triggers a flush once an action is buffered, or flushes if the action couldn't be buffered until the buffered
+     * actions are applied. An action which couldn't be buffered fails if the flush fails.
+     *
+     * @param depth - The number of buffered actions, or -1 if the action couldn't be buffered.
+     * @return If true, the response of the action is returned, else the action should be retried.
+     */
+    private boolean afterBuffer(int depth) {
+        if (depth < 0 || depth >= demoApplicationConfig.getWriteBehindBufferSize()) {
+            return !flushInBackground(false) || depth >= 0;
+        } else if (depth >= demoApplicationConfig.getWriteBehindFlushSize() && flushRequested.compareAndSet(false, true)) {
+            if (flusher.isShutdown()) {
+                flushInBackground(true);
+            } else {
+                flusher.execute(() -> flushInBackground(true));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Buffers an action after any buffered actions.
+     *
+     * @param value      - The {@link String} value the action leaves in place, or deletes.
+     * @param action     - The {@link AuditActionCodes} of the action.
+     * @param key        - The {@link String} current value of an update, otherwise null.
+     * @param entry      - The {@link Entry} of the action, which is copied.
+     * @param ttlSeconds - The {@link Long} time to live of an add, otherwise null.
+     */
+    private void buffer(String value, AuditActionCodes action, String key, Entry entry, Long ttlSeconds) {
+        pendingActions.put(value, new EntryActionInput.EntryActionInputBuilder()
+                .withAction(action.getCode())
+                .withKey(key)
+                .withEntry(copyEntry(entry))
+                .withTtlSeconds(ttlSeconds)
+                .build());
+    }
+
+    /**
+     * Gets the buffered state of a value, preferring the pending state to the state being flushed.
+     *
+     * @param value - The {@link String} value.
+     * @return The buffered {@link Entry}, or null if the value is deleted or isn't buffered.
+     */
+    private Entry bufferedState(String value) {
+        return pendingStates.containsKey(value) ? pendingStates.get(value) : flushingStates.get(value);
+    }
+
+    /**
+     * Gets the buffered value of an id, preferring the pending state to the state being flushed.
+     *
+     * @param id - The {@link String} id.
+     * @return The buffered {@link String} value, or null if the id is deleted or isn't buffered.
+     */
+    private String bufferedValueOf(String id) {
+        return pendingIds.containsKey(id) ? pendingIds.get(id) : flushingIds.get(id);
+    }
+
+    /**
+     * Determines if a value is buffered as deleted.
+     *
+     * @param value - The {@link String} value.
+     * @return If true, the value is buffered as deleted.
+     */
+    private boolean isBufferedDeleted(String value) {
+        return (pendingStates.containsKey(value) || flushingStates.containsKey(value)) && bufferedState(value) == null;
+    }
+
+    /**
+     * Determines if the buffered state of a value has an id. A value which isn't buffered is assumed to have the id.
+     *
+     * @param value - The {@link String} value.
+     * @param id    - The {@link String} id.
+     * @return If true, the value isn't buffered or its buffered {@link Entry} has the id.
+     */
+    private boolean hasBufferedId(String value, String id) {
+        Entry bufferedEntry = bufferedState(value);
+        return bufferedEntry == null || id.equals(bufferedEntry.getId());
+    }
+
+    private void putId(String id, String value) {
+        if (id != null) {
+            pendingIds.put(id, value);
+        }
+    }
+
+    private boolean isAction(EntryActionInput actionInput, AuditActionCodes action) {
+        return action.getCode().equals(actionInput.getAction());
+    }
+
+    private EntryOperationResponse toResponse(Entry bufferedEntry) {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        if (bufferedEntry != null) {
+            entryActionResponse.setEntry(copyEntry(bufferedEntry));
+            entryActionResponse.setSuccessfulOperation(true);
+        }
+        return entryActionResponse;
+    }
+
+    /**
+     * Copies an {@link Entry} and its {@link com.paulk.demo.model.Audits}, so buffered {@link Entry} objects are
+     * never shared with callers or with the batch being flushed.
+     *
+     * @param entry - The {@link Entry} to be copied.
+     * @return The copied {@link Entry}.
+     */
+    private Entry copyEntry(Entry entry) {
+        return EntryBinaryUtils.fromBytes(EntryBinaryUtils.toBytes(entry));
+    }
+}
@@ -0,0 +1,308 @@
+package com.paulk.demo.utils;
+
+import com.paulk.demo.constants.AuditActionCodes;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * A class of static methods for writing and reading an {@link Entry} as a compact binary record.
+ * <p>
+ * Strings are written as a length followed by their UTF-8 bytes, with a length of -1 for null. Each {@link Audit} is
+ * written as its id, action and UTC timestamp.
+ * <p>
+ * The compact methods write an {@link Audit} with varint lengths and ids, the {@link AuditActionCodes} as binary codes
+ * and the timestamp as zigzag encoded UTC epoch milliseconds, so any finer precision of the timestamp is truncated.
+ */
+public class EntryBinaryUtils {
+    private static final int NULL_LENGTH = -1;
+    private static final int CUSTOM_ACTION = 127;
+    private static final int TIMESTAMP_FLAG = 128;
+
+    /**
+     * Private Constructor for {@link EntryBinaryUtils}.
+     */
+    private EntryBinaryUtils() {
+        // Private Constructor
+    }
+
+    /**
+     * Writes an {@link Entry} as a binary record.
+     *
+     * @param output - The {@link DataOutput} to be written to.
+     * @param entry  - The {@link Entry} to be written.
+     * @throws IOException Thrown if the {@link DataOutput} cannot be written to.
+     */
+    public static void writeEntry(DataOutput output, Entry entry) throws IOException {
+        writeString(output, entry.getValue());
+        writeString(output, entry.getId());
+
+        Audits audits = entry.getAudits();
+        int auditCount = audits == null ? 0 : audits.getAuditList().size();
+        output.writeInt(auditCount);
+        for (int index = 0; index < auditCount; index++) {
+            Audit audit = audits.getAuditList().get(index);
+            output.writeBoolean(audit.getAuditId() != null);
+            if (audit.getAuditId() != null) {
+                output.writeInt(audit.getAuditId());
+            }
+            writeString(output, audit.getAction());
+            output.writeBoolean(audit.getTimestamp() != null);
+            if (audit.getTimestamp() != null) {
+                output.writeLong(audit.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+                output.writeInt(audit.getTimestamp().getNano());
+            }
+        }
+    }
+
+    /**
+     * Reads an {@link Entry} from a binary record.
+     *
+     * @param input - The {@link DataInput} to be read from.
+     * @return The {@link Entry} read.
+     * @throws IOException Thrown if the {@link DataInput} cannot be read from, or doesn't contain a complete record.
+     */
+    public static Entry readEntry(DataInput input) throws IOException {
+        Entry entry = new Entry(readString(input), readString(input));
+
+        int auditCount = input.readInt();
+        for (int index = 0; index < auditCount; index++) {
+            Audit audit = new Audit();
+            if (input.readBoolean()) {
+                audit.setAuditId(input.readInt());
+            }
+            audit.setAction(readString(input));
+            if (input.readBoolean()) {
+                long epochSecond = input.readLong();
+                audit.setTimestamp(LocalDateTime.ofEpochSecond(epochSecond, input.readInt(), ZoneOffset.UTC));
+            }
+            entry.getAudits().getAuditList().add(audit);
+        }
+        return entry;
+    }
+
+    /**
+     * Encodes an {@link Entry} as a binary record.
+     *
+     * @param entry - The {@link Entry} to be encoded.
+     * @return The byte array of the binary record.
+     */
+    public static byte[] toBytes(Entry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            writeEntry(new DataOutputStream(bytes), entry);
+        } catch (IOException exception) {
+            // Not thrown by a ByteArrayOutputStream.
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an {@link Entry} from a binary record.
+     *
+     * @param bytes - The byte array of the binary record.
+     * @return The {@link Entry} decoded.
+     * @throws IllegalArgumentException Thrown if the bytes don't contain a complete record.
+     */
+    public static Entry fromBytes(byte[] bytes) {
+        try {
+            return readEntry(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Entry record is not complete.", exception);
+        }
+    }
+
+    /**
+     * Writes a nullable {@link String} as its length followed by its UTF-8 bytes.
+     *
+     * @param output - The {@link DataOutput} to be written to.
+     * @param value  - The {@link String} to be written.
+     * @throws IOException Thrown if the {@link DataOutput} cannot be written to.
+     */
+    public static void writeString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a nullable {@link String} written by {@link #writeString(DataOutput, String)}.
+     *
+     * @param input - The {@link DataInput} to be read from.
+     * @return The {@link String} read.
+     * @throws IOException Thrown if the {@link DataInput} cannot be read from.
+     */
+    public static String readString(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes an {@link Audit} with the compact encoding.
+     *
+     * @param audit - The {@link Audit} to be encoded.
+     * @return The byte array of the encoded {@link Audit}.
+     */
+    public static byte[] toCompactBytes(Audit audit) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeCompactAudit(bytes, audit);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an {@link Audit} encoded by {@link #toCompactBytes(Audit)}.
+     *
+     * @param bytes - The byte array of the encoded {@link Audit}.
+     * @return The {@link Audit} decoded.
+     * @throws IllegalArgumentException Thrown if the bytes don't contain a complete {@link Audit}.
+     */
+    public static Audit fromCompactBytes(byte[] bytes) {
+        try {
+            return readCompactAudit(ByteBuffer.wrap(bytes));
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Audit record is not complete.", exception);
+        }
+    }
+
+    /**
+     * Writes an {@link Audit} as its audit id plus one, or 0 if it has no audit id, then a flags byte holding the binary
+     * code of the action, or 127 if a custom action follows, and the high bit if a timestamp follows.
+     *
+     * @param output - The {@link ByteArrayOutputStream} to be written to.
+     * @param audit  - The {@link Audit} to be written.
+     */
+    public static void writeCompactAudit(ByteArrayOutputStream output, Audit audit) {
+        writeVarint(output, audit.getAuditId() == null ? 0 : audit.getAuditId() + 1L);
+        int flags = audit.getTimestamp() == null ? 0 : TIMESTAMP_FLAG;
+        Optional<AuditActionCodes> auditActionCode = AuditActionCodes.fromCode(audit.getAction());
+        if (auditActionCode.isPresent()) {
+            output.write(flags | auditActionCode.get().getBinaryCode());
+        } else if (audit.getAction() != null) {
+            output.write(flags | CUSTOM_ACTION);
+            writeCompactString(output, audit.getAction());
+        } else {
+            output.write(flags);
+        }
+        if (audit.getTimestamp() != null) {
+            long epochMillis = audit.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+            writeVarint(output, (epochMillis << 1) ^ (epochMillis >> 63));
+        }
+    }
+
+    /**
+     * Reads an {@link Audit} written by {@link #writeCompactAudit(ByteArrayOutputStream, Audit)}.
+     *
+     * @param buffer - The {@link ByteBuffer} to be read from.
+     * @return The {@link Audit} read.
+     * @throws IllegalStateException Thrown if the action has an unknown binary code.
+     */
+    public static Audit readCompactAudit(ByteBuffer buffer) {
+        Audit audit = new Audit();
+        long auditId = readVarint(buffer);
+        audit.setAuditId(auditId == 0 ? null : (int) (auditId - 1));
+        int flags = buffer.get() & 0xFF;
+        int actionCode = flags & CUSTOM_ACTION;
+        if (actionCode == CUSTOM_ACTION) {
+            audit.setAction(readCompactString(buffer));
+        } else if (actionCode != 0) {
+            audit.setAction(AuditActionCodes.fromBinaryCode(actionCode)
+                    .map(AuditActionCodes::getCode)
+                    .orElseThrow(() -> new IllegalStateException("Unknown audit action code " + actionCode + ".")));
+        }
+        if ((flags & TIMESTAMP_FLAG) != 0) {
+            long zigzag = readVarint(buffer);
+            long epochMillis = (zigzag >>> 1) ^ -(zigzag & 1);
+            audit.setTimestamp(LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                    (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC));
+        }
+        return audit;
+    }
+
+    /**
+     * Writes a nullable {@link String} as its length plus one, or 0 if it is null, followed by its UTF-8 bytes.
+     *
+     * @param output - The {@link ByteArrayOutputStream} to be written to.
+     * @param value  - The {@link String} to be written.
+     */
+    public static void writeCompactString(ByteArrayOutputStream output, String value) {
+        if (value == null) {
+            writeVarint(output, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(output, bytes.length + 1L);
+        output.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads a nullable {@link String} written by {@link #writeCompactString(ByteArrayOutputStream, String)}.
+     *
+     * @param buffer - The {@link ByteBuffer} to be read from.
+     * @return The {@link String}, or null.
+     */
+    public static String readCompactString(ByteBuffer buffer) {
+        int length = (int) readVarint(buffer);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes an unsigned varint, seven bits per byte with the high bit set on every byte but the last.
+     *
+     * @param output - The {@link ByteArrayOutputStream} to be written to.
+     * @param number - The unsigned number to be written.
+     */
+    public static void writeVarint(ByteArrayOutputStream output, long number) {
+        while ((number & ~0x7FL) != 0) {
+            output.write((int) (number & 0x7F) | 0x80);
+            number >>>= 7;
+        }
+        output.write((int) number);
+    }
+
+    /**
+     * Reads an unsigned varint written by {@link #writeVarint(ByteArrayOutputStream, long)}.
+     *
+     * @param buffer - The {@link ByteBuffer} to be read from.
+     * @return The unsigned number.
+     */
+    public static long readVarint(ByteBuffer buffer) {
+        long number = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = buffer.get();
+            number |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return number;
+    }
+}
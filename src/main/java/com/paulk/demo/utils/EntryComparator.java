@@ -21,7 +21,7 @@ public class EntryComparator implements Comparator<Entry> {
     @Override
     public int compare(Entry firstEntry, Entry secondEntry) {
         // 1. Compare by Entry Value.
-        int valueCompare = firstEntry.getValue().compareTo(secondEntry.getValue());
+        int valueCompare = EntryRangeUtils.compare(firstEntry.getValue(), secondEntry.getValue());
         if (valueCompare != 0) {
             return valueCompare;
         }
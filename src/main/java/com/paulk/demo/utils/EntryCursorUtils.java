@@ -0,0 +1,43 @@
+package com.paulk.demo.utils;
+
+import com.paulk.demo.model.Entry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * A class of static methods for encoding and decoding the opaque cursors used to page through {@link Entry} objects.
+ */
+public class EntryCursorUtils {
+
+    /**
+     * Private Constructor for {@link EntryCursorUtils}.
+     */
+    private EntryCursorUtils() {
+        // Private Constructor
+    }
+
+    /**
+     * Encodes the value of the last {@link Entry} on a page as an opaque cursor.
+     *
+     * @param lastValue - The {@link String} value of the last {@link Entry} on the page.
+     * @return The URL safe {@link String} cursor.
+     */
+    public static String encode(String lastValue) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastValue.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor to the value of the last {@link Entry} on the previous page.
+     *
+     * @param cursor - The {@link String} cursor to be decoded. A null or empty cursor starts from the first {@link Entry}.
+     * @return The {@link String} value of the last {@link Entry} on the previous page, or null to start from the first {@link Entry}.
+     * @throws IllegalArgumentException Thrown if the cursor is not valid.
+     */
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package com.paulk.demo.utils;
+
+import com.paulk.demo.model.Entry;
+
+import java.util.Comparator;
+
+/**
+ * A class of static methods for the lexicographic ranges of values used to query {@link Entry} objects.
+ */
+public class EntryRangeUtils {
+
+    private static final int MIN_SURROGATE = 0xD800;
+    private static final int MAX_SURROGATE = 0xDFFF;
+    private static final int FIRST_AFTER_SURROGATES = MAX_SURROGATE + 1;
+
+    /**
+     * The order of values used by every data store, which is the code point order of Redis.
+     */
+    public static final Comparator<String> VALUE_ORDER = EntryRangeUtils::compare;
+
+    /**
+     * Private Constructor for {@link EntryRangeUtils}.
+     */
+    private EntryRangeUtils() {
+        // Private Constructor
+    }
+
+    /**
+     * Gets the exclusive upper bound of the values starting with a prefix, which is the first value after every value
+     * starting with the prefix. The last code point of the prefix is incremented, so the bound holds for the code point
+     * order of Redis, which compares the UTF-8 bytes of values.
+     *
+     * @param prefix - The {@link String} prefix.
+     * @return The exclusive {@link String} upper bound, or null if every value after the prefix starts with the prefix.
+     */
+    public static String prefixUpperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            int codePoint = prefix.codePointBefore(end);
+            int start = end - Character.charCount(codePoint);
+            if (codePoint < Character.MAX_CODE_POINT) {
+                int nextCodePoint = codePoint + 1 == MIN_SURROGATE ? MAX_SURROGATE + 1 : codePoint + 1;
+                return prefix.substring(0, start) + new String(Character.toChars(nextCodePoint));
+            }
+            end = start;
+        }
+        return null;
+    }
+
+    /**
+     * Determines if a value is in a range.
+     *
+     * @param value - The {@link String} value.
+     * @param from  - The inclusive {@link String} lower bound, or null for no lower bound.
+     * @param to    - The exclusive {@link String} upper bound, or null for no upper bound.
+     * @return If true, the value is in the range.
+     */
+    public static boolean isInRange(String value, String from, String to) {
+        return (from == null || compare(value, from) >= 0) && (to == null || compare(value, to) < 0);
+    }
+
+    /**
+     * Compares two values in code point order, which is the order of their UTF-8 bytes used by Redis. It differs from
+     * {@link String#compareTo(String)} only for the characters above the surrogates, which sort before a code point
+     * encoded as a surrogate pair.
+     *
+     * @param first  - The first {@link String} value.
+     * @param second - The second {@link String} value.
+     * @return A negative number, zero or a positive number if the first value is before, equal to or after the second.
+     */
+    public static int compare(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        for (int index = 0; index < length; index++) {
+            char firstChar = first.charAt(index);
+            char secondChar = second.charAt(index);
+            if (firstChar != secondChar) {
+                return toCodePointOrder(firstChar) - toCodePointOrder(secondChar);
+            }
+        }
+        return first.length() - second.length();
+    }
+
+    /**
+     * Maps a character to its position in code point order, moving the surrogates after every other character.
+     *
+     * @param character - The char.
+     * @return The position of the character.
+     */
+    private static int toCodePointOrder(char character) {
+        if (character >= FIRST_AFTER_SURROGATES) {
+            return character - (FIRST_AFTER_SURROGATES - MIN_SURROGATE);
+        }
+        return character >= MIN_SURROGATE ? character + (Character.MAX_VALUE + 1 - FIRST_AFTER_SURROGATES) : character;
+    }
+}
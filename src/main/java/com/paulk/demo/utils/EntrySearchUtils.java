@@ -0,0 +1,94 @@
+package com.paulk.demo.utils;
+
+import com.paulk.demo.model.Entry;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A class of static methods for the case-insensitive substring searches of {@link Entry} values.
+ * <p>
+ * A value is indexed by its trigrams, the substrings of three code points of the lower case value. Every value
+ * containing a query contains all the trigrams of the query, so the values with all the trigrams of the query are the
+ * candidates which are checked with {@link #matches(String, String)}.
+ */
+public class EntrySearchUtils {
+
+    public static final int TRIGRAM_LENGTH = 3;
+
+    /**
+     * Private Constructor for {@link EntrySearchUtils}.
+     */
+    private EntrySearchUtils() {
+        // Private Constructor
+    }
+
+    /**
+     * Normalizes a value or query for a case-insensitive search.
+     *
+     * @param value - The {@link String} value to be normalized.
+     * @return The lower case {@link String}.
+     */
+    public static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Determines if a query is long enough to be searched with the trigram index.
+     *
+     * @param query - The {@link String} query.
+     * @return If true, the query has at least one trigram.
+     */
+    public static boolean isSearchable(String query) {
+        return query != null && query.codePointCount(0, query.length()) >= TRIGRAM_LENGTH;
+    }
+
+    /**
+     * Gets the distinct trigrams of a value, in the order they first occur.
+     *
+     * @param value - The {@link String} value.
+     * @return A {@link Set} of {@link String} trigrams, empty if the value is shorter than a trigram.
+     */
+    public static Set<String> trigrams(String value) {
+        String normalized = normalize(value);
+        Set<String> trigrams = new LinkedHashSet<>();
+        int start = 0;
+        int end = offset(normalized, start, TRIGRAM_LENGTH);
+        while (end >= 0) {
+            trigrams.add(normalized.substring(start, end));
+            start = normalized.offsetByCodePoints(start, 1);
+            end = offset(normalized, end, 1);
+        }
+        return trigrams;
+    }
+
+    /**
+     * Determines if a value contains a query, ignoring case.
+     *
+     * @param value - The {@link String} value.
+     * @param query - The {@link String} query.
+     * @return If true, the value contains the query.
+     */
+    public static boolean matches(String value, String query) {
+        return normalize(value).contains(normalize(query));
+    }
+
+    /**
+     * Gets the index of a number of code points after an index, if the value is long enough.
+     *
+     * @param value      - The {@link String} value.
+     * @param index      - The index to start from.
+     * @param codePoints - The number of code points to move by.
+     * @return The index, or -1 if the value is too short.
+     */
+    private static int offset(String value, int index, int codePoints) {
+        for (int count = 0; count < codePoints; count++) {
+            if (index >= value.length()) {
+                return -1;
+            }
+            index += Character.charCount(value.codePointAt(index));
+        }
+        return index;
+    }
+}
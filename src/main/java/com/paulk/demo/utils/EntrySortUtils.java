@@ -0,0 +1,255 @@
+package com.paulk.demo.utils;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A class of static methods for sorting {@link Entry} objects.
+ * <p>
+ * The sort key of each {@link Entry}, its value with the timestamps of its first and latest {@link Audit}, is resolved
+ * at most once, so a comparison doesn't read the {@link Audits} of either {@link Entry}. Sorting by value only resolves
+ * the timestamps of the {@link Entry} with equal values. Lists with at least the parallel threshold of {@link Entry}
+ * objects have their timestamps resolved and are sorted in parallel. An {@link Entry} without a timestamp for the sort
+ * field is sorted after those with one, whatever the direction.
+ */
+public class EntrySortUtils {
+
+    public static final String SORT_VALUE = "value";
+    public static final String SORT_LAST_MODIFIED = "lastModified";
+    public static final String SORT_CREATED = "created";
+    public static final String DIRECTION_ASC = "asc";
+    public static final String DIRECTION_DESC = "desc";
+
+    // Marks a missing timestamp, as no audit is dated at the minimum epoch nanoseconds.
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * Private Constructor for {@link EntrySortUtils}.
+     */
+    private EntrySortUtils() {
+        // Private Constructor
+    }
+
+    /**
+     * Determines if a sort field and direction are supported. A null sort field or direction is the default.
+     *
+     * @param sort      - The {@link String} sort field, one of value, lastModified or created.
+     * @param direction - The {@link String} direction, one of asc or desc.
+     * @return If true, the sort field and direction are supported.
+     */
+    public static boolean isSortable(String sort, String direction) {
+        return (sort == null || SORT_VALUE.equals(sort) || SORT_LAST_MODIFIED.equals(sort) || SORT_CREATED.equals(sort))
+                && (direction == null || DIRECTION_ASC.equals(direction) || DIRECTION_DESC.equals(direction));
+    }
+
+    /**
+     * Gets the time an {@link Entry} was last modified, the timestamp of its {@link Audit} with the highest audit id.
+     *
+     * @param entry - The {@link Entry}.
+     * @return An {@link Optional} of the UTC {@link LocalDateTime}, empty if the {@link Entry} has no dated {@link Audit}.
+     */
+    public static Optional<LocalDateTime> getLastModified(Entry entry) {
+        return Optional.ofNullable(entry.getAudits()).map(Audits::getAuditList).orElse(Collections.emptyList()).stream()
+                .filter(audit -> audit.getAuditId() != null)
+                .max(Comparator.comparing(Audit::getAuditId))
+                .map(Audit::getTimestamp);
+    }
+
+    /**
+     * Sorts a {@link List} of {@link Entry} in place by value, then by the timestamp of the latest {@link Audit}, in
+     * ascending order.
+     *
+     * @param entries           - The {@link List} of {@link Entry} to be sorted.
+     * @param parallelThreshold - The number of {@link Entry} from which the sort is run in parallel.
+     */
+    public static void sort(List<Entry> entries, int parallelThreshold) {
+        sort(entries, SORT_VALUE, DIRECTION_ASC, parallelThreshold);
+    }
+
+    /**
+     * Sorts a {@link List} of {@link Entry} in place by a sort field and direction. Sorting by value orders equal values
+     * by the timestamp of the latest {@link Audit}, and sorting by a timestamp orders equal timestamps by value, both in
+     * the same direction.
+     *
+     * @param entries           - The {@link List} of {@link Entry} to be sorted.
+     * @param sort              - The {@link String} sort field, one of value, lastModified or created. Null sorts by value.
+     * @param direction         - The {@link String} direction, one of asc or desc. Null sorts in ascending order.
+     * @param parallelThreshold - The number of {@link Entry} from which the sort is run in parallel.
+     * @throws IllegalArgumentException Thrown if the sort field or direction is not supported.
+     */
+    public static void sort(List<Entry> entries, String sort, String direction, int parallelThreshold) {
+        sort(entries, sort, direction, parallelThreshold, Collections.emptyMap());
+    }
+
+    /**
+     * Sorts a {@link List} of {@link Entry} in place by a sort field and direction, with the created times of the
+     * {@link Entry} which don't hold their {@link Audit} objects, such as those listed from Redis. A created time given
+     * for a value is used in place of the timestamp of the first {@link Audit} of its {@link Entry}.
+     *
+     * @param entries           - The {@link List} of {@link Entry} to be sorted.
+     * @param sort              - The {@link String} sort field, one of value, lastModified or created. Null sorts by value.
+     * @param direction         - The {@link String} direction, one of asc or desc. Null sorts in ascending order.
+     * @param parallelThreshold - The number of {@link Entry} from which the sort is run in parallel.
+     * @param created           - The {@link Map} of the {@link String} values to their UTC created time.
+     * @throws IllegalArgumentException Thrown if the sort field or direction is not supported.
+     */
+    public static void sort(List<Entry> entries, String sort, String direction, int parallelThreshold, Map<String, LocalDateTime> created) {
+        if (!isSortable(sort, direction)) {
+            throw new IllegalArgumentException("Unsupported sort " + sort + " " + direction + ".");
+        }
+        if (entries.size() < 2) {
+            return;
+        }
+
+        boolean parallel = parallelThreshold > 0 && entries.size() >= parallelThreshold;
+        boolean descending = DIRECTION_DESC.equals(direction);
+        SortKey[] keys = entries.stream().map(entry -> new SortKey(entry, created.get(entry.getValue()))).toArray(SortKey[]::new);
+        if (sort == null || SORT_VALUE.equals(sort)) {
+            sortByValue(keys, descending, parallel);
+        } else {
+            boolean byCreated = SORT_CREATED.equals(sort);
+            (parallel ? Arrays.stream(keys).parallel() : Arrays.stream(keys)).forEach(SortKey::resolveTimestamps);
+            sort(keys, (first, second) -> {
+                int compare = byCreated
+                        ? compareTimestamps(first.created, second.created, descending)
+                        : compareTimestamps(first.lastModified, second.lastModified, descending);
+                return compare != 0 ? compare : compareValues(first, second, descending);
+            }, parallel);
+        }
+
+        ListIterator<Entry> iterator = entries.listIterator();
+        for (SortKey key : keys) {
+            iterator.next();
+            iterator.set(key.entry);
+        }
+    }
+
+    /**
+     * Sorts {@link SortKey} by value, then sorts each run of equal values by the timestamp of the latest {@link Audit}.
+     * Values are rarely equal, so only the {@link SortKey} in a run have their timestamps resolved.
+     *
+     * @param keys       - The array of {@link SortKey} to be sorted.
+     * @param descending - If true, the order is reversed.
+     * @param parallel   - If true, the sort by value is run in parallel.
+     */
+    private static void sortByValue(SortKey[] keys, boolean descending, boolean parallel) {
+        sort(keys, (first, second) -> compareValues(first, second, descending), parallel);
+        int start = 0;
+        while (start < keys.length) {
+            int end = start + 1;
+            while (end < keys.length && keys[end].value.equals(keys[start].value)) {
+                end++;
+            }
+            if (end - start > 1) {
+                for (int index = start; index < end; index++) {
+                    keys[index].resolveTimestamps();
+                }
+                Arrays.sort(keys, start, end, (first, second) -> compareTimestamps(first.lastModified, second.lastModified, descending));
+            }
+            start = end;
+        }
+    }
+
+    private static void sort(SortKey[] keys, Comparator<SortKey> comparator, boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSort(keys, comparator);
+        } else {
+            Arrays.sort(keys, comparator);
+        }
+    }
+
+    private static int compareValues(SortKey first, SortKey second, boolean descending) {
+        int compare = EntryRangeUtils.compare(first.value, second.value);
+        return descending ? -compare : compare;
+    }
+
+    /**
+     * Compares two timestamps in a direction, with a missing timestamp after any other.
+     *
+     * @param first      - The first timestamp in epoch nanoseconds, or {@link #NO_TIMESTAMP}.
+     * @param second     - The second timestamp in epoch nanoseconds, or {@link #NO_TIMESTAMP}.
+     * @param descending - If true, the order is reversed.
+     * @return An integer which indicates first &gt; second when positive, first &lt; second when negative, 0 when the same.
+     */
+    private static int compareTimestamps(long first, long second, boolean descending) {
+        if (first == NO_TIMESTAMP || second == NO_TIMESTAMP) {
+            return Boolean.compare(first == NO_TIMESTAMP, second == NO_TIMESTAMP);
+        }
+        return descending ? Long.compare(second, first) : Long.compare(first, second);
+    }
+
+    /**
+     * Converts the timestamp of an {@link Audit} to epoch nanoseconds.
+     *
+     * @param audit - The {@link Audit}, or null.
+     * @return The timestamp in epoch nanoseconds, or {@link #NO_TIMESTAMP} if there is no timestamp.
+     */
+    private static long toEpochNanos(Audit audit) {
+        return toEpochNanos(audit == null ? null : audit.getTimestamp());
+    }
+
+    /**
+     * Converts a UTC timestamp to epoch nanoseconds.
+     *
+     * @param timestamp - The UTC {@link LocalDateTime}, or null.
+     * @return The timestamp in epoch nanoseconds, or {@link #NO_TIMESTAMP} if there is no timestamp.
+     */
+    private static long toEpochNanos(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NO_TIMESTAMP;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+    }
+
+    /**
+     * The sort key of an {@link Entry}. The timestamps are resolved at most once, before the {@link SortKey} is compared
+     * by them, and are held in epoch nanoseconds so a comparison doesn't compare the fields of {@link LocalDateTime}.
+     */
+    private static class SortKey {
+        private final Entry entry;
+        private final String value;
+        private final LocalDateTime givenCreated;
+        private long created = NO_TIMESTAMP;
+        private long lastModified = NO_TIMESTAMP;
+
+        private SortKey(Entry entry, LocalDateTime givenCreated) {
+            this.entry = entry;
+            this.value = entry.getValue();
+            this.givenCreated = givenCreated;
+        }
+
+        /**
+         * Resolves the timestamps of the {@link Audit} objects with the lowest and highest audit id in a single pass,
+         * unless the created time was given.
+         */
+        private void resolveTimestamps() {
+            Audit first = null;
+            Audit last = null;
+            List<Audit> auditList = Optional.ofNullable(entry.getAudits()).map(Audits::getAuditList).orElse(Collections.emptyList());
+            for (Audit audit : auditList) {
+                if (audit.getAuditId() == null) {
+                    continue;
+                }
+                if (first == null || audit.getAuditId() < first.getAuditId()) {
+                    first = audit;
+                }
+                if (last == null || audit.getAuditId() > last.getAuditId()) {
+                    last = audit;
+                }
+            }
+            created = givenCreated != null ? toEpochNanos(givenCreated) : toEpochNanos(first);
+            lastModified = toEpochNanos(last);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- Atomically evicts cache keys and removes them from the index of the cache, so the index only counts the keys held.
+--
+-- KEYS[1]    - The index of the cache keys, scored by the time they were put.
+-- KEYS[2..n] - The cache keys.
+--
+-- Returns the number of values evicted.
+
+-- The number of keys deleted by a single DEL, well below the limit on the arguments Lua can unpack at once.
+local DELETE_CHUNK_SIZE = 1000
+
+local evicted = 0
+for chunkStart = 2, #KEYS, DELETE_CHUNK_SIZE do
+    local chunkEnd = math.min(chunkStart + DELETE_CHUNK_SIZE - 1, #KEYS)
+    evicted = evicted + redis.call('DEL', unpack(KEYS, chunkStart, chunkEnd))
+    redis.call('ZREM', KEYS[1], unpack(KEYS, chunkStart, chunkEnd))
+end
+return evicted
@@ -0,0 +1,37 @@
+-- Atomically puts a cache value and records its key in the index of the cache, evicting the oldest keys of the index
+-- once it holds more keys than the maximum size of the cache.
+--
+-- KEYS[1] - The index of the cache keys, scored by the time they were put.
+-- KEYS[2] - The cache key.
+-- ARGV[1] - The value.
+-- ARGV[2] - The time to live in milliseconds, or 0 for no expiry.
+-- ARGV[3] - The maximum size of the cache.
+-- ARGV[4] - The time the value was put in epoch milliseconds.
+--
+-- Returns the number of values evicted.
+
+-- The number of keys deleted by a single DEL, well below the limit on the arguments Lua can unpack at once.
+local DELETE_CHUNK_SIZE = 1000
+
+if tonumber(ARGV[2]) > 0 then
+    redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[2])
+else
+    redis.call('SET', KEYS[2], ARGV[1])
+end
+redis.call('ZADD', KEYS[1], ARGV[4], KEYS[2])
+
+local excess = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[3])
+if excess <= 0 then
+    return 0
+end
+
+-- The evicted keys are read and deleted before they are removed from the index, so no value is left unindexed. Keys
+-- which expired or were evicted outside this script are still indexed, so are removed without being counted.
+local evictedKeys = redis.call('ZRANGE', KEYS[1], 0, excess - 1)
+local evicted = 0
+for chunkStart = 1, #evictedKeys, DELETE_CHUNK_SIZE do
+    local chunkEnd = math.min(chunkStart + DELETE_CHUNK_SIZE - 1, #evictedKeys)
+    evicted = evicted + redis.call('DEL', unpack(evictedKeys, chunkStart, chunkEnd))
+end
+redis.call('ZREMRANGEBYRANK', KEYS[1], 0, excess - 1)
+return evicted
@@ -0,0 +1,63 @@
+-- Atomically inserts an Entry record if no Entry exists for the value or the id, assigns the audit id of the Add Audit
+-- from the audit sequence of the id and appends the Add Audit to the audit log of the id. The functions of the audit log
+-- and the record layout are prepended.
+--
+-- KEYS[1] - The Entry record key.
+-- KEYS[2] - The Entry keyspace index set.
+-- KEYS[3] - The lexicographically sorted Entry value index.
+-- KEYS[4] - The Entry id to value index.
+-- KEYS[5] - The Entry value to search document number index.
+-- KEYS[6] - The search document number to Entry value index.
+-- KEYS[7] - The search document number sequence.
+-- KEYS[8] - The audit sequence of the Entry id.
+-- KEYS[9] - The Entry value index scored by the last modified time.
+-- KEYS[10] - The Entry counters hash.
+-- KEYS[11] - The Entry value index scored by the expiry time.
+-- KEYS[12] - The audit log of the Entry id.
+-- KEYS[13..n] - The trigram posting sets of the Entry value.
+-- ARGV[1] - The Entry value (the id of the record within the keyspace).
+-- ARGV[2] - The Entry id, or an empty string if the Entry has no id.
+-- ARGV[3] - The last modified time of the Entry in epoch milliseconds.
+-- ARGV[4] - The expiry time of the Entry in epoch milliseconds, or an empty string if the Entry never expires.
+-- ARGV[5] - The Add Audit encoded for the audit log without its audit id.
+-- ARGV[6] - The number of newest Audits kept in the audit log, or 0 to keep every Audit.
+-- ARGV[7..n] - The Entry encoded in the record layout.
+--
+-- Returns the audit id of the Add Audit if the Entry was inserted, always 1 for an Entry without an id, otherwise 0 if
+-- the Entry already exists.
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+
+if ARGV[2] ~= '' and redis.call('HEXISTS', KEYS[4], ARGV[2]) == 1 then
+    return 0
+end
+
+writeEntry(KEYS[1], 7)
+redis.call('SADD', KEYS[2], ARGV[1])
+redis.call('ZADD', KEYS[3], 0, ARGV[1])
+redis.call('ZADD', KEYS[9], ARGV[3], ARGV[1])
+if ARGV[4] ~= '' then
+    redis.call('ZADD', KEYS[11], ARGV[4], ARGV[1])
+end
+redis.call('HINCRBY', KEYS[10], 'entries', 1)
+redis.call('HINCRBY', KEYS[10], 'adds', 1)
+local auditId = 1
+if ARGV[2] ~= '' then
+    redis.call('HSET', KEYS[4], ARGV[2], ARGV[1])
+    -- The sequence outlives a deleted Entry for the retention of its audit log, so a re-added id continues it.
+    auditId = redis.call('INCR', KEYS[8])
+    appendAudit(KEYS[12], auditId, ARGV[5], ARGV[6])
+    -- The audit log of a deleted id is kept again once the id is added again.
+    redis.call('PERSIST', KEYS[12])
+    redis.call('PERSIST', KEYS[8])
+end
+
+-- Integer document numbers keep posting sets of up to set-max-intset-entries in the compact intset encoding.
+local document = redis.call('INCR', KEYS[7])
+redis.call('HSET', KEYS[5], ARGV[1], document)
+redis.call('HSET', KEYS[6], document, ARGV[1])
+for index = 13, #KEYS do
+    redis.call('SADD', KEYS[index], document)
+end
+return auditId
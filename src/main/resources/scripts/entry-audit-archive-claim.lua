@@ -0,0 +1,19 @@
+-- Atomically claims, renews or releases the audit archive for a node, unless another node holds it. The audit archive is
+-- on the local disk of a node, so a single node may move the audits of the audit logs into it.
+--
+-- KEYS[1] - The owner of the audit archive.
+-- ARGV[1] - The owner id of the node.
+-- ARGV[2] - The time the claim is held for in milliseconds, or 0 to release it.
+--
+-- Returns 1 if the node holds, or has released, the audit archive, otherwise 0 if another node holds it.
+local owner = redis.call('GET', KEYS[1])
+if owner and owner ~= ARGV[1] then
+    return 0
+end
+
+if tonumber(ARGV[2]) > 0 then
+    redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+else
+    redis.call('DEL', KEYS[1])
+end
+return 1
@@ -0,0 +1,27 @@
+-- The functions appending the Audit of a mutation to the audit log of its Entry id, in the same script as the mutation
+-- which assigns its audit id, so an applied mutation is never missing its Audit. Prepended to the Entry scripts.
+--
+-- The Audits are encoded for the audit log as written by EntryBinaryUtils.toCompactBytes, which the callers send
+-- without an audit id, so the first byte is the empty audit id, 0, and is replaced with the assigned audit id.
+
+-- Encodes an unsigned integer as a varint.
+local function encodeVarint(number)
+    local bytes = {}
+    while number >= 128 do
+        bytes[#bytes + 1] = string.char(number % 128 + 128)
+        number = math.floor(number / 128)
+    end
+    bytes[#bytes + 1] = string.char(number)
+    return table.concat(bytes)
+end
+
+-- Appends an Audit encoded without its audit id to an audit log with the assigned audit id, then trims the audit log to
+-- its newest maxLength Audits, unless maxLength is 0.
+local function appendAudit(logKey, auditId, encodedAudit, maxLength)
+    redis.call('RPUSH', logKey, encodeVarint(auditId + 1) .. string.sub(encodedAudit, 2))
+    local length = tonumber(maxLength)
+    if length > 0 then
+        redis.call('LTRIM', logKey, -length, -1)
+    end
+end
+
@@ -0,0 +1,24 @@
+-- Atomically reads the archived count of an Entry id and the part of a page of its history held in the audit log. The
+-- archived Audits precede the audit log, so the page is split at the archived count read in the same step, and an
+-- archive run between the two reads can't shift the audit log under the page.
+--
+-- KEYS[1] - The audit log of the Entry id.
+-- KEYS[2] - The hash of the archived count of each Entry id.
+-- ARGV[1] - The Entry id.
+-- ARGV[2] - The number of Audits of the history to be skipped.
+-- ARGV[3] - The maximum number of Audits to be returned.
+--
+-- Returns the archived count, followed by the Audits of the page held in the audit log, encoded for the audit log.
+local archived = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+local offset = tonumber(ARGV[2])
+local count = tonumber(ARGV[3])
+local start = math.max(0, offset - archived)
+local logged = count - math.max(0, math.min(count, archived - offset))
+
+local result = { tostring(archived) }
+if logged > 0 then
+    for _, audit in ipairs(redis.call('LRANGE', KEYS[1], start, start + logged - 1)) do
+        result[#result + 1] = audit
+    end
+end
+return result
@@ -0,0 +1,20 @@
+-- Atomically removes the Audits moved to the audit archive from the head of an audit log, if the head is unchanged
+-- since it was read, and adds them to the archived count of the Entry id. Audits are only appended to the tail, so an
+-- unchanged last moved Audit means an unchanged head. The archived count is read by every node, so a node which can't
+-- read the archive knows which part of the history it is missing.
+--
+-- KEYS[1] - The audit log of the Entry id.
+-- KEYS[2] - The hash of the archived count of each Entry id.
+-- ARGV[1] - The number of Audits moved to the audit archive.
+-- ARGV[2] - The last Audit moved to the audit archive, encoded for the audit log.
+-- ARGV[3] - The Entry id.
+--
+-- Returns 1 if the Audits were removed, otherwise 0 if the head of the audit log changed.
+local count = tonumber(ARGV[1])
+if redis.call('LINDEX', KEYS[1], count - 1) ~= ARGV[2] then
+    return 0
+end
+
+redis.call('LTRIM', KEYS[1], count, -1)
+redis.call('HINCRBY', KEYS[2], ARGV[3], count)
+return 1
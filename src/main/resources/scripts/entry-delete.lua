@@ -0,0 +1,83 @@
+-- Atomically deletes an Entry record and removes it from the indexes, assigns the audit id of the Delete Audit from the
+-- audit sequence of the id and appends the Delete Audit to the audit log of the id. Given an expiry time, the Entry is
+-- only deleted if it expired by then, which is counted as an expiration rather than a delete. The functions of the audit
+-- log and the record layout are prepended.
+--
+-- KEYS[1] - The Entry record key.
+-- KEYS[2] - The Entry keyspace index set.
+-- KEYS[3] - The lexicographically sorted Entry value index.
+-- KEYS[4] - The Entry id to value index.
+-- KEYS[5] - The Entry value to search document number index.
+-- KEYS[6] - The search document number to Entry value index.
+-- KEYS[7] - The audit sequence of the Entry id.
+-- KEYS[8] - The Entry value index scored by the last modified time.
+-- KEYS[9] - The Entry counters hash.
+-- KEYS[10] - The Entry value index scored by the expiry time.
+-- KEYS[11] - The audit log of the Entry id.
+-- KEYS[12..n] - The trigram posting sets of the Entry value.
+-- ARGV[1] - The Entry id which must match the stored Entry.
+-- ARGV[2] - The Entry value.
+-- ARGV[3] - The time in epoch milliseconds by which the Entry must have expired, or an empty string for a delete.
+-- ARGV[4] - The version, the latest audit id, which the stored Entry must have, or an empty string to skip the check.
+-- ARGV[5] - The Delete or Expire Audit encoded for the audit log without its audit id.
+-- ARGV[6] - The number of newest Audits kept in the audit log, or 0 to keep every Audit.
+-- ARGV[7] - The seconds the audit log and the audit sequence of the deleted Entry are kept, or 0 to keep them.
+--
+-- Returns the audit id followed by the deleted Entry record, {0} if the version of the stored Entry doesn't match,
+-- otherwise an empty list if the Entry could not be deleted.
+local counter = 'deletes'
+if ARGV[3] ~= '' then
+    local expiry = redis.call('ZSCORE', KEYS[10], ARGV[2])
+    if not expiry or tonumber(expiry) > tonumber(ARGV[3]) then
+        return {}
+    end
+    if redis.call('EXISTS', KEYS[1]) == 0 then
+        -- The record was removed without the scripts, so only the expiry index is left to clean up.
+        redis.call('ZREM', KEYS[10], ARGV[2])
+        return {}
+    end
+    counter = 'expirations'
+end
+
+if readId(KEYS[1]) ~= ARGV[1] then
+    return {}
+end
+
+if ARGV[4] ~= '' then
+    local version = redis.call('GET', KEYS[7]) or readLastAuditId(KEYS[1])
+    if tonumber(version) ~= tonumber(ARGV[4]) then
+        return {0}
+    end
+end
+
+if redis.call('EXISTS', KEYS[7]) == 0 then
+    -- A record written before the audit log holds its Audits, so the sequence continues after them.
+    redis.call('SET', KEYS[7], readLastAuditId(KEYS[1]))
+end
+local auditId = redis.call('INCR', KEYS[7])
+appendAudit(KEYS[11], auditId, ARGV[5], ARGV[6])
+if tonumber(ARGV[7]) > 0 then
+    redis.call('EXPIRE', KEYS[11], ARGV[7])
+    redis.call('EXPIRE', KEYS[7], ARGV[7])
+end
+
+local record = readEntry(KEYS[1])
+redis.call('DEL', KEYS[1])
+redis.call('SREM', KEYS[2], ARGV[2])
+redis.call('ZREM', KEYS[3], ARGV[2])
+redis.call('HDEL', KEYS[4], ARGV[1])
+redis.call('ZREM', KEYS[8], ARGV[2])
+redis.call('HINCRBY', KEYS[9], 'entries', -1)
+redis.call('HINCRBY', KEYS[9], counter, 1)
+redis.call('ZREM', KEYS[10], ARGV[2])
+
+local document = redis.call('HGET', KEYS[5], ARGV[2])
+if document then
+    for index = 12, #KEYS do
+        redis.call('SREM', KEYS[index], document)
+    end
+    redis.call('HDEL', KEYS[5], ARGV[2])
+    redis.call('HDEL', KEYS[6], document)
+end
+table.insert(record, 1, auditId)
+return record
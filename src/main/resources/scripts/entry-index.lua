@@ -0,0 +1,35 @@
+-- Adds a batch of Entry values to an index rebuilt from the keyspace index. A value is only indexed if it is still in the
+-- keyspace index, so a value deleted since the batch was scanned is never added back, and an existing member is never
+-- changed, so an index written by the Entry scripts since the scan is kept. The id index is written from the id read
+-- from the record now, not from an earlier read. The functions of the record layout are prepended.
+--
+-- KEYS[1] - The Entry keyspace index set.
+-- KEYS[2] - The index to be written: the sorted value index, the id to value index or the last modified index.
+-- KEYS[3..n] - The Entry record keys of the values.
+-- ARGV[1] - The index type: 'value', 'id' or 'modified'.
+-- ARGV[2..n] - The Entry value of each record key, followed by its last modified score for the last modified index.
+--
+-- Returns the number of values indexed.
+local indexed = 0
+local stride = 1
+if ARGV[1] == 'modified' then
+    stride = 2
+end
+
+for index = 3, #KEYS do
+    local position = 2 + (index - 3) * stride
+    local value = ARGV[position]
+    if redis.call('SISMEMBER', KEYS[1], value) == 1 then
+        if ARGV[1] == 'value' then
+            indexed = indexed + redis.call('ZADD', KEYS[2], 'NX', 0, value)
+        elseif ARGV[1] == 'id' then
+            local id = readId(KEYS[index])
+            if id and id ~= '' then
+                indexed = indexed + redis.call('HSETNX', KEYS[2], id, value)
+            end
+        elseif ARGV[1] == 'modified' then
+            indexed = indexed + redis.call('ZADD', KEYS[2], 'NX', ARGV[position + 1], value)
+        end
+    end
+end
+return indexed
@@ -0,0 +1,102 @@
+-- The binary layout of an Entry record, a single string written by the BinaryEntryCodec. The value is not stored, as
+-- it is part of the key. Prepended to the Entry scripts, which only access records through these functions.
+--
+-- byte      The version of the layout, 1.
+-- varint    The length of the id plus one, or 0 if the Entry has no id, followed by the UTF-8 bytes of the id.
+-- Then each Audit to the end of the record, only in records written before the Audits moved to the audit log:
+-- varint    The audit id plus one, or 0 if the Audit has no audit id.
+-- byte      The action code in the low 7 bits, 127 if a custom action follows, and the high bit if a timestamp follows.
+-- varint    The length of a custom action plus one, followed by its UTF-8 bytes.
+-- varint    The zigzag encoded UTC epoch milliseconds of the timestamp.
+local BINARY_VERSION = 1
+local CUSTOM_ACTION = 127
+-- The most bytes of a varint, which encodes at most 64 bits.
+local MAX_VARINT_BYTES = 10
+
+-- Fails the script on a record which isn't in the binary layout, rather than reading past its end.
+local function malformed(position)
+    error('Malformed binary Entry record at byte ' .. position .. '.')
+end
+
+-- Reads an unsigned varint, returning the number and the position after it. A varint running past the end of the
+-- record, or beyond MAX_VARINT_BYTES, fails the script.
+local function readVarint(record, position)
+    local start = position
+    local number = 0
+    local multiplier = 1
+    for _ = 1, MAX_VARINT_BYTES do
+        if position > #record then
+            break
+        end
+        local byte = string.byte(record, position)
+        position = position + 1
+        number = number + (byte % 128) * multiplier
+        if byte < 128 then
+            return number, position
+        end
+        multiplier = multiplier * 128
+    end
+    malformed(start)
+end
+
+-- Returns the id of a record, or false if it has no id or an unknown version, and the position of the first Audit.
+local function readHeader(record)
+    if not record or string.byte(record, 1) ~= BINARY_VERSION then
+        return false, 0
+    end
+    local length, position = readVarint(record, 2)
+    if length == 0 then
+        return false, position
+    end
+    return string.sub(record, position, position + length - 2), position + length - 1
+end
+
+-- Returns the id of the Entry record, or false if the record or its id doesn't exist.
+local function readId(key)
+    local id = readHeader(redis.call('GET', key))
+    return id
+end
+
+-- Returns the Entry record as a single element list, or an empty list if the record doesn't exist.
+local function readEntry(key)
+    local record = redis.call('GET', key)
+    if not record then
+        return {}
+    end
+    return { record }
+end
+
+-- Writes the Entry record from the encoded record in ARGV at an index.
+local function writeEntry(key, from)
+    redis.call('SET', key, ARGV[from])
+end
+
+-- Sets the value of the Entry record. The value is part of the key, so it is not written.
+local function setValue(key, value)
+end
+
+-- Returns the highest audit id of the Audits held in the Entry record, written before the Audits moved to the audit log.
+local function readLastAuditId(key)
+    local record = redis.call('GET', key)
+    local _, position = readHeader(record)
+    local lastAuditId = 0
+    while position <= #record do
+        local auditId
+        auditId, position = readVarint(record, position)
+        lastAuditId = math.max(lastAuditId, auditId - 1)
+        if position > #record then
+            malformed(position)
+        end
+        local flags = string.byte(record, position)
+        position = position + 1
+        if flags % 128 == CUSTOM_ACTION then
+            local length
+            length, position = readVarint(record, position)
+            position = position + length - 1
+        end
+        if flags >= 128 then
+            _, position = readVarint(record, position)
+        end
+    end
+    return lastAuditId
+end
@@ -0,0 +1,39 @@
+-- The hash layout of an Entry record, as written by the RedisConverter with one field per property. Records written
+-- before the Audits moved to the audit log also hold the Audits flattened into indexed fields. Prepended to the Entry
+-- scripts, which only access records through these functions.
+
+-- Returns the id of the Entry record, or false if the record or its id doesn't exist.
+local function readId(key)
+    return redis.call('HGET', key, 'id')
+end
+
+-- Returns the Entry record as field/value pairs, or an empty list if the record doesn't exist.
+local function readEntry(key)
+    return redis.call('HGETALL', key)
+end
+
+-- Writes the Entry record from the encoded field/value pairs of ARGV, starting at an index.
+local function writeEntry(key, from)
+    for index = from, #ARGV, 2 do
+        redis.call('HSET', key, ARGV[index], ARGV[index + 1])
+    end
+end
+
+-- Sets the value of the Entry record.
+local function setValue(key, value)
+    redis.call('HSET', key, 'value', value)
+end
+
+-- Returns the highest audit id of the Audits held in the Entry record, written before the Audits moved to the audit log.
+local function readLastAuditId(key)
+    local auditIndex = 0
+    local lastAuditId = 0
+    while true do
+        local auditId = redis.call('HGET', key, 'audits.auditList.[' .. auditIndex .. '].auditId')
+        if not auditId then
+            return lastAuditId
+        end
+        lastAuditId = math.max(lastAuditId, tonumber(auditId))
+        auditIndex = auditIndex + 1
+    end
+end
@@ -0,0 +1,45 @@
+-- Atomically converts an Entry record to the record layout, and moves the Audits it holds to the audit log, if it is
+-- unchanged since it was read. A record is only rewritten by a delete and an add, which never leaves it holding
+-- Audits, so an unchanged length means an unchanged record. The functions of the record layout are prepended.
+--
+-- KEYS[1] - The Entry record key.
+-- KEYS[2] - The audit log of the Entry id.
+-- KEYS[3] - The audit sequence of the Entry id.
+-- ARGV[1] - The Redis type of the record when it was read.
+-- ARGV[2] - The length of the record when it was read, the number of fields of a hash or the bytes of a string.
+-- ARGV[3] - The number of Audits moved to the audit log.
+-- ARGV[4..m] - The Audits encoded for the audit log, oldest first.
+-- ARGV[m + 1] - The highest audit id of the Audits.
+-- ARGV[m + 2..n] - The Entry without the Audits, encoded in the record layout.
+--
+-- Returns 1 if the record was converted, otherwise 0 if the record changed or no longer exists.
+local recordType = redis.call('TYPE', KEYS[1]).ok
+if recordType ~= ARGV[1] then
+    return 0
+end
+
+local length
+if recordType == 'hash' then
+    length = redis.call('HLEN', KEYS[1])
+else
+    length = redis.call('STRLEN', KEYS[1])
+end
+if length ~= tonumber(ARGV[2]) then
+    return 0
+end
+
+local auditCount = tonumber(ARGV[3])
+if auditCount > 0 then
+    -- The Audits of the record precede any Audits appended to the log since the record was written.
+    for index = 3 + auditCount, 4, -1 do
+        redis.call('LPUSH', KEYS[2], ARGV[index])
+    end
+    local lastAuditId = tonumber(ARGV[4 + auditCount])
+    if tonumber(redis.call('GET', KEYS[3]) or 0) < lastAuditId then
+        redis.call('SET', KEYS[3], lastAuditId)
+    end
+end
+
+redis.call('DEL', KEYS[1])
+writeEntry(KEYS[1], 5 + auditCount)
+return 1
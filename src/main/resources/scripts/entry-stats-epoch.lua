@@ -0,0 +1,24 @@
+-- Atomically reads the mutation counters of the counters hash along with the epoch of the counters, which is regenerated
+-- whenever the counters hash was lost, so a change tag made of both can't recur after the counters are reset. The epoch
+-- is stamped into the counters hash as well, so a counters hash recreated by a mutation or a reconciliation since it was
+-- lost no longer holds the epoch, and the epoch is regenerated. The script runs atomically, so concurrent readers
+-- agree on a single new epoch.
+--
+-- KEYS[1] - The Entry counters hash.
+-- KEYS[2] - The epoch of the Entry counters.
+-- ARGV[1] - A new epoch, used if the epoch is missing or no longer stamped into the counters hash.
+--
+-- Returns the epoch followed by the adds, updates, deletes and expirations counters, with 0 for a missing counter.
+local epoch = redis.call('GET', KEYS[2])
+if not epoch or redis.call('HGET', KEYS[1], 'epoch') ~= epoch then
+    epoch = ARGV[1]
+    redis.call('SET', KEYS[2], epoch)
+    redis.call('HSET', KEYS[1], 'epoch', epoch)
+end
+
+local counters = redis.call('HMGET', KEYS[1], 'adds', 'updates', 'deletes', 'expirations')
+local result = {epoch}
+for index = 1, #counters do
+    result[index + 1] = tostring(tonumber(counters[index] or '0'))
+end
+return result
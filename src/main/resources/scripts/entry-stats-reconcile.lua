@@ -0,0 +1,13 @@
+-- Atomically corrects the Entry count of the counters hash to the size of the sorted value index, so a mutation applied
+-- while the drift is measured can't be lost.
+--
+-- KEYS[1] - The lexicographically sorted Entry value index.
+-- KEYS[2] - The Entry counters hash.
+--
+-- Returns the drift corrected, the number of indexed values less the counted Entry.
+local indexed = redis.call('ZCARD', KEYS[1])
+local counted = tonumber(redis.call('HGET', KEYS[2], 'entries') or '0')
+if indexed ~= counted then
+    redis.call('HSET', KEYS[2], 'entries', indexed)
+end
+return indexed - counted
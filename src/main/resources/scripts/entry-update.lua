@@ -0,0 +1,94 @@
+-- Atomically updates the value of an Entry, renaming its record, assigns the audit id of the Update Audit from the audit
+-- sequence of the id and appends the Update Audit to the audit log of the id. The functions of the audit log and the
+-- record layout are prepended.
+--
+-- KEYS[1] - The current Entry record key.
+-- KEYS[2] - The updated Entry record key.
+-- KEYS[3] - The Entry keyspace index set.
+-- KEYS[4] - The lexicographically sorted Entry value index.
+-- KEYS[5] - The Entry id to value index.
+-- KEYS[6] - The Entry value to search document number index.
+-- KEYS[7] - The search document number to Entry value index.
+-- KEYS[8] - The search document number sequence.
+-- KEYS[9] - The audit sequence of the Entry id.
+-- KEYS[10] - The Entry value index scored by the last modified time.
+-- KEYS[11] - The Entry counters hash.
+-- KEYS[12] - The Entry value index scored by the expiry time.
+-- KEYS[13] - The audit log of the Entry id.
+-- KEYS[14..n] - The trigram posting sets only of the current value, then only of the updated value, then of both.
+-- ARGV[1] - The Entry id which must match the stored Entry.
+-- ARGV[2] - The current Entry value.
+-- ARGV[3] - The updated Entry value.
+-- ARGV[4] - The number of trigram posting sets only of the current value.
+-- ARGV[5] - The number of trigram posting sets only of the updated value.
+-- ARGV[6] - The last modified time of the Entry in epoch milliseconds.
+-- ARGV[7] - The version, the latest audit id, which the stored Entry must have, or an empty string to skip the check.
+-- ARGV[8] - The Update Audit encoded for the audit log without its audit id.
+-- ARGV[9] - The number of newest Audits kept in the audit log, or 0 to keep every Audit.
+--
+-- Returns the audit id followed by the updated Entry record, {0} if the version of the stored Entry doesn't match,
+-- otherwise an empty list if the Entry could not be updated.
+if readId(KEYS[1]) ~= ARGV[1] then
+    return {}
+end
+
+if ARGV[7] ~= '' then
+    local version = redis.call('GET', KEYS[9]) or readLastAuditId(KEYS[1])
+    if tonumber(version) ~= tonumber(ARGV[7]) then
+        return {0}
+    end
+end
+
+if KEYS[1] ~= KEYS[2] and redis.call('EXISTS', KEYS[2]) == 1 then
+    return {}
+end
+
+if redis.call('EXISTS', KEYS[9]) == 0 then
+    -- A record written before the audit log holds its Audits, so the sequence continues after them.
+    redis.call('SET', KEYS[9], readLastAuditId(KEYS[1]))
+end
+local auditId = redis.call('INCR', KEYS[9])
+appendAudit(KEYS[13], auditId, ARGV[8], ARGV[9])
+setValue(KEYS[1], ARGV[3])
+redis.call('ZREM', KEYS[10], ARGV[2])
+redis.call('ZADD', KEYS[10], ARGV[6], ARGV[3])
+redis.call('HINCRBY', KEYS[11], 'updates', 1)
+
+if KEYS[1] ~= KEYS[2] then
+    redis.call('RENAME', KEYS[1], KEYS[2])
+    redis.call('SREM', KEYS[3], ARGV[2])
+    redis.call('SADD', KEYS[3], ARGV[3])
+    redis.call('ZREM', KEYS[4], ARGV[2])
+    redis.call('ZADD', KEYS[4], 0, ARGV[3])
+    redis.call('HSET', KEYS[5], ARGV[1], ARGV[3])
+
+    -- The expiry time moves with the Entry to the updated value.
+    local expiry = redis.call('ZSCORE', KEYS[12], ARGV[2])
+    if expiry then
+        redis.call('ZREM', KEYS[12], ARGV[2])
+        redis.call('ZADD', KEYS[12], expiry, ARGV[3])
+    end
+
+    -- The document number is kept, so only the trigrams which differ are changed.
+    local removedEnd = 13 + tonumber(ARGV[4])
+    local addedEnd = removedEnd + tonumber(ARGV[5])
+    local document = redis.call('HGET', KEYS[6], ARGV[2])
+    if document then
+        for index = 14, removedEnd do
+            redis.call('SREM', KEYS[index], document)
+        end
+        redis.call('HDEL', KEYS[6], ARGV[2])
+    else
+        -- The Entry was not indexed, so every trigram of the updated value is added.
+        document = redis.call('INCR', KEYS[8])
+        addedEnd = #KEYS
+    end
+    for index = removedEnd + 1, addedEnd do
+        redis.call('SADD', KEYS[index], document)
+    end
+    redis.call('HSET', KEYS[6], ARGV[3], document)
+    redis.call('HSET', KEYS[7], document, ARGV[3])
+end
+local record = readEntry(KEYS[2])
+table.insert(record, 1, auditId)
+return record
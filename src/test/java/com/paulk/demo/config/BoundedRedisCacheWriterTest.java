@@ -0,0 +1,98 @@
+package com.paulk.demo.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test the {@link BoundedRedisCacheWriter} class.
+ */
+public class BoundedRedisCacheWriterTest {
+
+    private RedisCacheWriter cacheWriter;
+    private RedisTemplate<String, Object> redisTemplate;
+    private BoundedRedisCacheWriter boundedRedisCacheWriter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        cacheWriter = Mockito.mock(RedisCacheWriter.class);
+        redisTemplate = Mockito.mock(RedisTemplate.class);
+        boundedRedisCacheWriter = new BoundedRedisCacheWriter(cacheWriter, redisTemplate, Collections.singletonMap("entries", 2L));
+    }
+
+    /**
+     * Validate the behaviour of {@link BoundedRedisCacheWriter#put(String, byte[], byte[], Duration)} passes the index and
+     * the cache key to the script as keys, and counts the evictions.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void putBounded() {
+        // 1. Setup test data.
+        byte[] key = "entries::A".getBytes(StandardCharsets.UTF_8);
+        byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), Mockito.anyList(), ArgumentMatchers.<Object[]>any())).thenReturn(1L);
+        // 2. Perform action
+        boundedRedisCacheWriter.put("entries", key, value, Duration.ofSeconds(5));
+        // 3. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object> argumentsCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), keysCaptor.capture(), argumentsCaptor.capture());
+        Assertions.assertEquals(Arrays.asList("entries~keys", "entries::A"), keysCaptor.getValue(), "Assert the index and cache keys are declared.");
+        Assertions.assertSame(value, argumentsCaptor.getAllValues().get(0), "Assert the value is the first argument.");
+        Assertions.assertEquals("5000", new String((byte[]) argumentsCaptor.getAllValues().get(1), StandardCharsets.UTF_8), "Assert the time to live is passed.");
+        Assertions.assertEquals("2", new String((byte[]) argumentsCaptor.getAllValues().get(2), StandardCharsets.UTF_8), "Assert the maximum size is passed.");
+        Assertions.assertEquals(1L, boundedRedisCacheWriter.getEvictions("entries"), "Assert the eviction was counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link BoundedRedisCacheWriter#removeAll(String, java.util.Collection)} removes the keys of
+     * a bounded cache from its index in the same script, and deletes the keys of an unbounded cache.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void removeAllSuccess() {
+        // 1. Perform action
+        boundedRedisCacheWriter.removeAll("entries", Arrays.asList("entries::A", "entries::B"));
+        boundedRedisCacheWriter.removeAll("other", Collections.singletonList("other::A"));
+        boundedRedisCacheWriter.removeAll("entries", Collections.emptyList());
+        // 2. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(), keysCaptor.capture());
+        Assertions.assertEquals(Arrays.asList("entries~keys", "entries::A", "entries::B"), keysCaptor.getValue(),
+                "Assert the index is passed with the evicted keys.");
+        Mockito.verify(redisTemplate, Mockito.times(1)).delete(Collections.singletonList("other::A"));
+        Mockito.verifyNoMoreInteractions(redisTemplate);
+    }
+
+    /**
+     * Validate the behaviour of {@link BoundedRedisCacheWriter#put(String, byte[], byte[], Duration)} writes a cache
+     * without a maximum size with the wrapped {@link RedisCacheWriter}.
+     */
+    @Test
+    public void putUnbounded() {
+        // 1. Setup test data.
+        byte[] key = "other::A".getBytes(StandardCharsets.UTF_8);
+        byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+        // 2. Perform action
+        boundedRedisCacheWriter.put("other", key, value, Duration.ZERO);
+        // 3. Assert results.
+        Mockito.verify(cacheWriter, Mockito.times(1)).put("other", key, value, Duration.ZERO);
+        Mockito.verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,81 @@
+package com.paulk.demo.config;
+
+import com.paulk.demo.constants.AuditActionCodes;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.Error;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Test the {@link EntryResponseRedisSerializer} class.
+ */
+public class EntryResponseRedisSerializerTest {
+
+    private final EntryResponseRedisSerializer serializer = new EntryResponseRedisSerializer();
+
+    /**
+     * Validate the behaviour of {@link EntryResponseRedisSerializer#deserialize(byte[])} reads back an
+     * {@link EntryOperationResponse} with an {@link Entry}, its version and audits, in fewer bytes than JDK serialization.
+     */
+    @Test
+    public void serializeEntrySuccess() {
+        // 1. Setup test data.
+        Entry entry = new Entry("A");
+        entry.setVersion(1L);
+        Audit audit = new Audit();
+        audit.setAuditId(1);
+        audit.setAction(AuditActionCodes.ADD.getCode());
+        audit.setTimestamp(LocalDateTime.of(2021, 3, 17, 11, 0, 0, 123_000_000));
+        entry.getAudits().getAuditList().add(audit);
+        EntryOperationResponse response = new EntryOperationResponse();
+        response.setEntry(entry);
+        response.setSuccessfulOperation(true);
+        // 2. Perform action
+        byte[] bytes = serializer.serialize(response);
+        EntryOperationResponse deserializedResponse = (EntryOperationResponse) serializer.deserialize(bytes);
+        // 3. Assert results.
+        Assertions.assertEquals(response, deserializedResponse, "Assert the EntryOperationResponse is read back.");
+        Assertions.assertEquals(1L, deserializedResponse.getEntry().getVersion(), "Assert the version is read back.");
+        Assertions.assertEquals(response.getEntry().getAudits(), deserializedResponse.getEntry().getAudits(), "Assert the audits are read back.");
+        Assertions.assertTrue(bytes.length * 10 < RedisSerializer.java().serialize(response).length,
+                "Assert the record is a tenth of the size of JDK serialization, was " + bytes.length + " bytes.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryResponseRedisSerializer#deserialize(byte[])} reads back an
+     * {@link EntryOperationResponse} with an {@link Error} and no {@link Entry}.
+     */
+    @Test
+    public void serializeErrorSuccess() {
+        // 1. Setup test data.
+        Error error = new Error();
+        error.setCode("E0001");
+        error.setDescription("Not found");
+        EntryOperationResponse response = new EntryOperationResponse();
+        response.setError(error);
+        response.setPreconditionFailed(true);
+        // 2. Perform action
+        EntryOperationResponse deserializedResponse = (EntryOperationResponse) serializer.deserialize(serializer.serialize(response));
+        // 3. Assert results.
+        Assertions.assertEquals(response, deserializedResponse, "Assert the EntryOperationResponse is read back.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryResponseRedisSerializer} rejects other values and records it can't read.
+     */
+    @Test
+    public void serializeUnsupported() {
+        // 1. Perform action & Assert results.
+        Assertions.assertThrows(SerializationException.class, () -> serializer.serialize("A"), "Assert another value is rejected.");
+        Assertions.assertThrows(SerializationException.class, () -> serializer.deserialize(RedisSerializer.java().serialize("A")),
+                "Assert a JDK serialized value is rejected.");
+        Assertions.assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{1, 4, 9}),
+                "Assert an incomplete record is rejected.");
+    }
+}
@@ -0,0 +1,116 @@
+package com.paulk.demo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test the {@link NearCache} class.
+ */
+public class NearCacheTest {
+
+    private Cache sharedCache;
+    private List<Collection<?>> publishedKeys;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        sharedCache = Mockito.spy(new ConcurrentMapCache("entries"));
+        publishedKeys = new ArrayList<>();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Validate the behaviour of {@link NearCache#get(Object)} serves a value read once from the shared {@link Cache} locally.
+     */
+    @Test
+    public void getServedLocally() {
+        // 1. Setup test data.
+        NearCache nearCache = new NearCache(sharedCache, 10, 60_000, publishedKeys::add, meterRegistry);
+        sharedCache.put("A", "1");
+        // 2. Perform action
+        Cache.ValueWrapper firstValue = nearCache.get("A");
+        Cache.ValueWrapper secondValue = nearCache.get("A");
+        // 3. Assert results.
+        Assertions.assertEquals("1", firstValue.get(), "Assert the value is read from the shared cache.");
+        Assertions.assertEquals("1", secondValue.get(), "Assert the value is read from the near cache.");
+        Mockito.verify(sharedCache, Mockito.times(1)).get("A");
+        Assertions.assertEquals(0.5, nearCache.getHitRatio(), "Assert the hit ratio is recorded.");
+        Assertions.assertEquals(1.0, meterRegistry.counter(NearCache.HITS_METRIC, NearCache.CACHE_TAG, "entries").count(),
+                "Assert the hit is recorded.");
+    }
+
+    /**
+     * Validate the behaviour of {@link NearCache#evict(Object)} evicts both caches and publishes the key.
+     */
+    @Test
+    public void evictPublishesKey() {
+        // 1. Setup test data.
+        NearCache nearCache = new NearCache(sharedCache, 10, 60_000, publishedKeys::add, meterRegistry);
+        nearCache.put("A", "1");
+        // 2. Perform action
+        nearCache.evict("A");
+        // 3. Assert results.
+        Assertions.assertEquals(0, nearCache.size(), "Assert the value is evicted from the near cache.");
+        Assertions.assertNull(sharedCache.get("A"), "Assert the value is evicted from the shared cache.");
+        Assertions.assertEquals(Collections.singletonList(Collections.singletonList("A")), publishedKeys, "Assert the key is published.");
+    }
+
+    /**
+     * Validate the behaviour of the near cache evicts the least recently used value beyond its maximum size, and a
+     * value whose time to live has passed.
+     */
+    @Test
+    public void getEvictsBySizeAndTtl() throws InterruptedException {
+        // 1. Setup test data.
+        NearCache sizedCache = new NearCache(sharedCache, 2, 60_000, publishedKeys::add, meterRegistry);
+        NearCache expiringCache = new NearCache(new ConcurrentMapCache("expiring"), 10, 1, publishedKeys::add, meterRegistry);
+        // 2. Perform action
+        sizedCache.put("A", "1");
+        sizedCache.put("B", "2");
+        sizedCache.get("A");
+        sizedCache.put("C", "3");
+        expiringCache.put("A", "1");
+        Thread.sleep(5);
+        expiringCache.get("A");
+        // 3. Assert results.
+        Assertions.assertEquals(2, sizedCache.size(), "Assert the near cache holds at most its maximum size.");
+        Mockito.clearInvocations(sharedCache);
+        sizedCache.get("A");
+        sizedCache.get("B");
+        Mockito.verify(sharedCache, Mockito.never()).get("A");
+        Mockito.verify(sharedCache, Mockito.times(1)).get("B");
+        Assertions.assertEquals(1, expiringCache.size(), "Assert the expired value is read again from the shared cache.");
+        Assertions.assertEquals(0.0, meterRegistry.counter(NearCache.HITS_METRIC, NearCache.CACHE_TAG, "expiring").count(),
+                "Assert the expired value isn't served from the near cache.");
+    }
+
+    /**
+     * Validate the behaviour of {@link NearCache#put(Object, Object)} doesn't keep a value loaded after a miss if a key
+     * was invalidated since, as the value may be stale.
+     */
+    @Test
+    public void putAfterInvalidationNotKept() {
+        // 1. Setup test data.
+        NearCache nearCache = new NearCache(sharedCache, 10, 60_000, publishedKeys::add, meterRegistry);
+        // 2. Perform action
+        nearCache.get("A");
+        nearCache.evictNear(Collections.singletonList("A"));
+        nearCache.put("A", "stale");
+        nearCache.get("B");
+        nearCache.put("B", "2");
+        // 3. Assert results.
+        Assertions.assertEquals(1, nearCache.size(), "Assert only the current value is kept in the near cache.");
+        Assertions.assertEquals("stale", sharedCache.get("A").get(), "Assert the value is still put in the shared cache.");
+        Assertions.assertTrue(publishedKeys.isEmpty(), "Assert an invalidation from another node isn't published again.");
+    }
+}
@@ -0,0 +1,126 @@
+package com.paulk.demo.config;
+
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryOperationResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Test the {@link SpecRedisCache} class.
+ */
+public class SpecRedisCacheTest {
+
+    private RedisCacheWriter cacheWriter;
+    private RedisCacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    public void setup() {
+        cacheWriter = Mockito.mock(RedisCacheWriter.class);
+        cacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(10))
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new EntryResponseRedisSerializer()));
+    }
+
+    /**
+     * Validate the behaviour of {@link SpecRedisCache#put(Object, Object)} caches a value for the time to live of the cache.
+     */
+    @Test
+    public void putSuccess() {
+        // 1. Setup test data.
+        SpecRedisCache cache = createCache(Duration.ZERO);
+        // 2. Perform action
+        cache.put("A", createResponse(true));
+        // 3. Assert results.
+        Mockito.verify(cacheWriter, Mockito.times(1)).put(Mockito.eq("entries"), Mockito.eq(toBytes("entries::A")),
+                Mockito.any(byte[].class), Mockito.eq(Duration.ofMinutes(10)));
+    }
+
+    /**
+     * Validate the behaviour of {@link SpecRedisCache#put(Object, Object)} doesn't cache a negative result when negative
+     * results aren't cached.
+     */
+    @Test
+    public void putNegativeNotCached() {
+        // 1. Setup test data.
+        SpecRedisCache cache = createCache(Duration.ZERO);
+        // 2. Perform action
+        cache.put("A", createResponse(false));
+        cache.put("B", null);
+        // 3. Assert results.
+        Mockito.verify(cacheWriter, Mockito.never()).put(Mockito.anyString(), Mockito.any(byte[].class), Mockito.any(byte[].class), Mockito.any());
+        Assertions.assertFalse(cache.isCacheable(createResponse(false)), "Assert a negative result isn't cacheable.");
+    }
+
+    /**
+     * Validate the behaviour of {@link SpecRedisCache#put(Object, Object)} caches a negative result for the negative result
+     * time to live.
+     */
+    @Test
+    public void putNegativeTtl() {
+        // 1. Setup test data.
+        SpecRedisCache cache = createCache(Duration.ofSeconds(5));
+        // 2. Perform action
+        cache.put("A", createResponse(false));
+        // 3. Assert results.
+        Mockito.verify(cacheWriter, Mockito.times(1)).put(Mockito.eq("entries"), Mockito.eq(toBytes("entries::A")),
+                Mockito.any(byte[].class), Mockito.eq(Duration.ofSeconds(5)));
+        Assertions.assertEquals(Duration.ofSeconds(5), cache.getTtl(createResponse(false)), "Assert the negative result time to live is correct.");
+    }
+
+    /**
+     * Validate the behaviour of {@link SpecRedisCache#get(Object)} records the load of a missing value when it is put, and
+     * treats a value which can't be deserialized as missing.
+     */
+    @Test
+    public void getLoadRecorded() {
+        // 1. Setup mocks.
+        SpecRedisCache cache = createCache(Duration.ZERO);
+        Mockito.when(cacheWriter.get("entries", toBytes("entries::A"))).thenReturn(new byte[]{(byte) 0xAC, (byte) 0xED});
+        // 2. Perform action
+        Object missingValue = cache.get("A");
+        cache.put("A", createResponse(true));
+        cache.put("B", createResponse(true));
+        // 3. Assert results.
+        Assertions.assertNull(missingValue, "Assert a value which can't be deserialized is missing.");
+        Assertions.assertEquals(1L, cache.getLoadCount(), "Assert only the put of the missing key is recorded as a load.");
+        Assertions.assertTrue(cache.getLoadTotalNanos() > 0, "Assert the load time is recorded.");
+    }
+
+    /**
+     * Creates a {@link SpecRedisCache} of the entries cache.
+     *
+     * @param negativeTtl - The {@link Duration} a negative result is cached for.
+     * @return The {@link SpecRedisCache}.
+     */
+    private SpecRedisCache createCache(Duration negativeTtl) {
+        return new SpecRedisCache("entries", cacheWriter, cacheConfiguration, negativeTtl, RedisCacheManagerConfig.NEGATIVE_VALUE);
+    }
+
+    /**
+     * Creates an {@link EntryOperationResponse} of an {@link Entry}.
+     *
+     * @param successfulOperation - If true, the operation was successful.
+     * @return The {@link EntryOperationResponse}.
+     */
+    private EntryOperationResponse createResponse(boolean successfulOperation) {
+        EntryOperationResponse response = new EntryOperationResponse();
+        response.setSuccessfulOperation(successfulOperation);
+        if (successfulOperation) {
+            response.setEntry(new Entry("A"));
+        }
+        return response;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
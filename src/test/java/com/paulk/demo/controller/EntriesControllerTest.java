@@ -1,11 +1,17 @@
 package com.paulk.demo.controller;
 
 import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.constants.ErrorCodes;
+import com.paulk.demo.dao.DataStoreOperations;
 import com.paulk.demo.model.EntryActionInput;
 import com.paulk.demo.model.EntriesResponse;
 import com.paulk.demo.model.Entry;
 import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.EntryStatsResponse;
 import com.paulk.demo.service.EntryActionService;
+import com.paulk.demo.service.EntryWriteBehindService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,17 +21,28 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -118,6 +135,26 @@ public class EntriesControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    /**
+     * Validates the {@link EntriesController} for the Add {@link Entry} endpoint rejects a ttlSeconds which isn't positive,
+     * or an {@link Entry} with a ttlSeconds but no id.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void addEntryInvalidTtl() throws Exception {
+        for (String content : Arrays.asList("{\"entry\":{\"value\":\"testValue\",\"id\":\"1234\"},\"ttlSeconds\":0}",
+                "{\"entry\":{\"value\":\"testValue\",\"id\":null},\"ttlSeconds\":60}")) {
+            this.mockMvc.perform(post("/entries/entry")
+                    .content(content)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest());
+        }
+        Mockito.verify(actionService, Mockito.never()).addEntry(any());
+    }
+
     /**
      * Validates the {@link EntriesController} for the Delete {@link Entry} endpoint.
      *
@@ -209,6 +246,46 @@ public class EntriesControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    /**
+     * Validates the {@link EntriesController} for the Update {@link Entry} endpoint passes the version of the If-Match
+     * header, and returns 412 when the version doesn't match.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void updateEntryPreconditionFailed() throws Exception {
+        EntryOperationResponse operationResponse = new EntryOperationResponse();
+        operationResponse.setPreconditionFailed(true);
+        Mockito.when(actionService.updateEntry(argThat(input -> Long.valueOf(2L).equals(input.getExpectedVersion())))).thenReturn(operationResponse);
+
+        this.mockMvc.perform(put("/entries/entry")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .content(entryActionInput.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error.code").value("4"));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Update {@link Entry} endpoint rejects an If-Match header which
+     * isn't a version.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void updateEntryInvalidIfMatch() throws Exception {
+        this.mockMvc.perform(put("/entries/entry")
+                .header(HttpHeaders.IF_MATCH, "\"abc\"")
+                .content(entryActionInput.toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(actionService);
+    }
+
     /**
      * Validates the {@link EntriesController} for the Get {@link Entry} endpoint.
      *
@@ -233,13 +310,34 @@ public class EntriesControllerTest {
         EntryOperationResponse entryActionResponse = new EntryOperationResponse();
         entryActionResponse.setSuccessfulOperation(true);
         entryActionResponse.setEntry(entry);
+        entry.setVersion(3L);
         Mockito.when(actionService.getEntry(any(EntryActionInput.class))).thenReturn(entryActionResponse);
 
         this.mockMvc.perform(get("/entries/entry/{value}/id/{id}", "test", "1234")
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON))
                 .andDo(print())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.entry.version").value(3));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get {@link Entry} endpoint when the version is unchanged.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getEntryNotModified() throws Exception {
+        Mockito.when(actionService.getEntryVersionById("1234", "test")).thenReturn(Optional.of(3L));
+
+        this.mockMvc.perform(get("/entries/entry/{value}/id/{id}", "test", "1234")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\", \"3\"")
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        Mockito.verify(actionService, Mockito.never()).getEntry(any(EntryActionInput.class));
     }
 
     /**
@@ -268,13 +366,81 @@ public class EntriesControllerTest {
     public void getAllEntrySuccess() throws Exception {
         EntriesResponse entriesResponse = new EntriesResponse();
         entriesResponse.getEntries().add(entry);
-        Mockito.when(actionService.getAllEntries()).thenReturn(entriesResponse);
+        Mockito.when(actionService.getAllEntries(any())).thenReturn(entriesResponse);
+        Mockito.when(actionService.getChangeTag()).thenReturn("42");
 
         this.mockMvc.perform(get("/entries")
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON))
                 .andDo(print())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42\""));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint when the change tag is unchanged.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryNotModified() throws Exception {
+        Mockito.when(actionService.getChangeTag()).thenReturn("42");
+
+        this.mockMvc.perform(get("/entries")
+                .param("pageNumber", "0")
+                .param("pageSize", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"42\"")
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42\""));
+        Mockito.verify(actionService, Mockito.never()).getAllEntries(any(), any(), any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint lists and tags a buffered
+     * write-behind action without flushing the buffer to the data store.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getAllEntryWriteBehindNotFlushed() throws Exception {
+        DataStoreOperations<String, Entry> dataStoreOperations = Mockito.mock(DataStoreOperations.class);
+        EntriesResponse storedResponse = new EntriesResponse();
+        storedResponse.getEntries().add(new Entry("A", "1"));
+        Mockito.when(dataStoreOperations.getAll(0, 10)).thenReturn(storedResponse);
+        Mockito.when(dataStoreOperations.getChangeTag()).thenReturn("42");
+        Mockito.when(demoApplicationConfig.getWriteBehindBufferSize()).thenReturn(100);
+        Mockito.when(demoApplicationConfig.getWriteBehindFlushSize()).thenReturn(100);
+        Mockito.when(demoApplicationConfig.getWriteBehindFlushIntervalMillis()).thenReturn(60_000L);
+        EntryWriteBehindService entryWriteBehindService = new EntryWriteBehindService();
+        ReflectionTestUtils.setField(entryWriteBehindService, "entryDataStoreOperationsService", dataStoreOperations);
+        ReflectionTestUtils.setField(entryWriteBehindService, "demoApplicationConfig", demoApplicationConfig);
+        ReflectionTestUtils.setField(entryWriteBehindService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(entryWriteBehindService, "entryActionService", Mockito.mock(EntryActionService.class));
+        entryWriteBehindService.start();
+        EntryActionService entryActionService = new EntryActionService();
+        ReflectionTestUtils.setField(entryActionService, "entryDataStoreOperationsService", dataStoreOperations);
+        ReflectionTestUtils.setField(entryActionService, "entryWriteBehindService", entryWriteBehindService);
+        ReflectionTestUtils.setField(entriesController, "entryActionService", entryActionService);
+
+        try {
+            entryWriteBehindService.add(new Entry("B", "2"));
+            this.mockMvc.perform(get("/entries")
+                    .param("pageNumber", "0")
+                    .param("pageSize", "10")
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.entries[0].value").value("A"))
+                    .andExpect(jsonPath("$.entries[1].value").value("B"))
+                    .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"42-")));
+            Mockito.verify(dataStoreOperations, Mockito.never()).batch(any());
+            Assertions.assertEquals(1, entryWriteBehindService.depth(), "Assert the buffered action wasn't flushed.");
+        } finally {
+            entryWriteBehindService.stop();
+        }
     }
 
     /**
@@ -285,7 +451,7 @@ public class EntriesControllerTest {
     @Test
     public void getAllEntryInvalid() throws Exception {
         EntriesResponse entriesResponse = new EntriesResponse();
-        Mockito.when(actionService.getAllEntries()).thenReturn(entriesResponse);
+        Mockito.when(actionService.getAllEntries(any())).thenReturn(entriesResponse);
 
         this.mockMvc.perform(get("/entries")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -293,4 +459,553 @@ public class EntriesControllerTest {
                 .andDo(print())
                 .andExpect(status().isNotFound());
     }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with a page size of 0, or a negative
+     * page size or page number.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryPagingInvalid() throws Exception {
+        String[][] pages = {{"0", "0"}, {"0", "-5"}, {"-1", "10"}};
+        for (String[] page : pages) {
+            this.mockMvc.perform(get("/entries")
+                    .param("pageNumber", page[0])
+                    .param("pageSize", page[1])
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.code").value(ErrorCodes.NOT_VALID_FORMAT));
+        }
+        this.mockMvc.perform(get("/entries")
+                .param("pageSize", "0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).getAllEntries(any(), any(), any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with a prefix and a page size of 0, or a
+     * negative page number.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryRangePagingInvalid() throws Exception {
+        this.mockMvc.perform(get("/entries")
+                .param("prefix", "test")
+                .param("pageNumber", "0")
+                .param("pageSize", "0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(get("/entries")
+                .param("from", "a")
+                .param("to", "b")
+                .param("pageNumber", "-1")
+                .param("pageSize", "10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).getEntriesInRange(any(), any(), anyBoolean(), any(), any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with a cursor.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryCursorSuccess() throws Exception {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        entriesResponse.getEntries().add(entry);
+        entriesResponse.setNextCursor("dGVzdFZhbHVl");
+        Mockito.when(actionService.getAllEntriesFromCursor("", 10)).thenReturn(entriesResponse);
+
+        this.mockMvc.perform(get("/entries")
+                .param("cursor", "")
+                .param("pageSize", "10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with an invalid cursor.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryCursorInvalid() throws Exception {
+        Mockito.when(actionService.getAllEntriesFromCursor(any(), any())).thenThrow(new IllegalArgumentException());
+
+        this.mockMvc.perform(get("/entries")
+                .param("cursor", "not a cursor!")
+                .param("pageSize", "10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with both a cursor and a page number.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryCursorWithPageNumberInvalid() throws Exception {
+        this.mockMvc.perform(get("/entries")
+                .param("cursor", "")
+                .param("pageNumber", "1")
+                .param("pageSize", "10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).getAllEntriesFromCursor(any(), any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with a prefix.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryPrefixSuccess() throws Exception {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        entriesResponse.getEntries().add(entry);
+        Mockito.when(actionService.getEntriesInRange("test", "tesu", false, 0, Integer.MAX_VALUE)).thenReturn(entriesResponse);
+
+        this.mockMvc.perform(get("/entries")
+                .param("prefix", "test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with both a prefix and a range.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryPrefixWithRangeInvalid() throws Exception {
+        this.mockMvc.perform(get("/entries")
+                .param("prefix", "test")
+                .param("from", "a")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).getEntriesInRange(any(), any(), anyBoolean(), any(), any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with a sort field and direction.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntrySortSuccess() throws Exception {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        entriesResponse.getEntries().add(entry);
+        entriesResponse.getEntries().add(new Entry("otherValue", "5678"));
+        Mockito.when(actionService.getAllEntries(any())).thenReturn(entriesResponse);
+
+        this.mockMvc.perform(get("/entries")
+                .param("sort", "value")
+                .param("direction", "desc")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].value").value("testValue"))
+                .andExpect(jsonPath("$.entries[1].value").value("otherValue"));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with an unknown sort field.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntrySortInvalid() throws Exception {
+        this.mockMvc.perform(get("/entries")
+                .param("sort", "id")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).getAllEntries(any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with the first page in descending
+     * order, which is read from the last value of every {@link Entry} rather than sorted after the page is read.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryDescendingPageSuccess() throws Exception {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        entriesResponse.getEntries().add(new Entry("zValue", "5678"));
+        entriesResponse.getEntries().add(entry);
+        entriesResponse.setTotalEntries(3);
+        entriesResponse.setTotalPages(2);
+        Mockito.when(actionService.getEntriesInRange(null, null, true, 0, 2)).thenReturn(entriesResponse);
+
+        this.mockMvc.perform(get("/entries")
+                .param("direction", "desc")
+                .param("pageNumber", "0")
+                .param("pageSize", "2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].value").value("zValue"))
+                .andExpect(jsonPath("$.entries[1].value").value("testValue"));
+        Mockito.verify(actionService, Mockito.never()).getAllEntries(any(), any(), any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint sorted by the created time with a
+     * page number, page size or cursor, as no order of the created time is held across pages.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryCreatedPagingInvalid() throws Exception {
+        this.mockMvc.perform(get("/entries")
+                .param("sort", "created")
+                .param("pageSize", "10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(get("/entries")
+                .param("sort", "created")
+                .param("direction", "desc")
+                .param("cursor", "")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).getAllEntries(any(), any(), any());
+        Mockito.verify(actionService, Mockito.never()).getEntriesInRangeFromCursor(any(), any(), anyBoolean(), any(), any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint sorted by the last modified time,
+     * which keeps the order of the last modified index.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryModifiedSuccess() throws Exception {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        entriesResponse.getEntries().add(new Entry("otherValue", "5678"));
+        entriesResponse.getEntries().add(entry);
+        Mockito.when(actionService.getEntriesModified(LocalDateTime.of(2021, 4, 1, 12, 0), true, 0, 2)).thenReturn(entriesResponse);
+
+        this.mockMvc.perform(get("/entries")
+                .param("sort", "lastModified")
+                .param("direction", "desc")
+                .param("modifiedSince", "2021-04-01T12:00:00")
+                .param("pageNumber", "0")
+                .param("pageSize", "2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries[0].value").value("otherValue"))
+                .andExpect(jsonPath("$.entries[1].value").value("testValue"));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get All {@link Entry} endpoint with an invalid modifiedSince time,
+     * or a modifiedSince time with a range.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getAllEntryModifiedInvalid() throws Exception {
+        this.mockMvc.perform(get("/entries")
+                .param("modifiedSince", "yesterday")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(get("/entries")
+                .param("modifiedSince", "2021-04-01T12:00:00")
+                .param("prefix", "test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).getEntriesModified(Mockito.any(), Mockito.anyBoolean(), Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get {@link Entry} by id endpoint.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getEntryByIdSuccess() throws Exception {
+        EntryOperationResponse operationResponse = new EntryOperationResponse();
+        operationResponse.setEntry(entry);
+        operationResponse.setSuccessfulOperation(true);
+        Mockito.when(actionService.getEntryById("1234")).thenReturn(operationResponse);
+
+        this.mockMvc.perform(get("/entries/id/1234")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get {@link Entry} by id endpoint when the {@link Entry} has changed
+     * since the version held by the client.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getEntryByIdModified() throws Exception {
+        EntryOperationResponse operationResponse = new EntryOperationResponse();
+        operationResponse.setEntry(entry);
+        operationResponse.setSuccessfulOperation(true);
+        entry.setVersion(4L);
+        Mockito.when(actionService.getEntryVersionById("1234", null)).thenReturn(Optional.of(4L));
+        Mockito.when(actionService.getEntryById("1234")).thenReturn(operationResponse);
+
+        this.mockMvc.perform(get("/entries/id/1234")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get {@link Entry} by id endpoint when no {@link Entry} exists.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getEntryByIdNotFound() throws Exception {
+        Mockito.when(actionService.getEntryById("1234")).thenReturn(new EntryOperationResponse());
+
+        this.mockMvc.perform(get("/entries/id/1234")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Batch {@link Entry} endpoint.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void batchEntriesSuccess() throws Exception {
+        EntryOperationResponse addResponse = new EntryOperationResponse();
+        addResponse.setEntry(entry);
+        addResponse.setSuccessfulOperation(true);
+        Mockito.when(actionService.batchEntries(any())).thenReturn(Arrays.asList(addResponse, new EntryOperationResponse()));
+
+        this.mockMvc.perform(post("/entries/batch")
+                .content("[{\"action\":\"Add\",\"entry\":{\"value\":\"testValue\"}},"
+                        + "{\"action\":\"Delete\",\"entry\":{\"value\":\"otherValue\",\"id\":\"1234\"}}]")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].successfulOperation").value(true))
+                .andExpect(jsonPath("$.results[1].error.code").value("2"));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Batch {@link Entry} endpoint with an unknown action.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void batchEntriesInvalid() throws Exception {
+        this.mockMvc.perform(post("/entries/batch")
+                .content("[{\"action\":\"Unknown\",\"entry\":{\"value\":\"testValue\"}}]")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).batchEntries(any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the {@link Entry} audit history endpoint.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getEntryAuditsSuccess() throws Exception {
+        EntryOperationResponse entryOperationResponse = new EntryOperationResponse();
+        entryOperationResponse.setEntry(entry);
+        entryOperationResponse.setSuccessfulOperation(true);
+        Mockito.when(actionService.getEntryAudits("testValue", 1, 5)).thenReturn(entryOperationResponse);
+
+        this.mockMvc.perform(get("/entries/entry/testValue/audits")
+                .param("pageNumber", "1")
+                .param("pageSize", "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entry.value").value("testValue"));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the {@link Entry} audit history endpoint with an invalid page.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getEntryAuditsInvalid() throws Exception {
+        this.mockMvc.perform(get("/entries/entry/testValue/audits")
+                .param("pageNumber", "-1")
+                .param("pageSize", "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).getEntryAudits(any(), any(), any());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the {@link Entry} audit history by id endpoint.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getEntryAuditsByIdSuccess() throws Exception {
+        EntryOperationResponse entryOperationResponse = new EntryOperationResponse();
+        entryOperationResponse.setEntry(new Entry(null, "1234"));
+        entryOperationResponse.setSuccessfulOperation(true);
+        Mockito.when(actionService.getEntryAuditsById("1234", 0, 5)).thenReturn(entryOperationResponse);
+
+        this.mockMvc.perform(get("/entries/id/1234/audits")
+                .param("pageNumber", "0")
+                .param("pageSize", "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entry.id").value("1234"));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the {@link Entry} audit history by id endpoint when no history exists.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getEntryAuditsByIdNotFound() throws Exception {
+        Mockito.when(actionService.getEntryAuditsById("1234", 0, 5)).thenReturn(new EntryOperationResponse());
+
+        this.mockMvc.perform(get("/entries/id/1234/audits")
+                .param("pageNumber", "0")
+                .param("pageSize", "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Get Stats endpoint.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void getStatsSuccess() throws Exception {
+        Mockito.when(actionService.getStats()).thenReturn(new EntryStatsResponse(2, 3, 1, 1, 0));
+
+        this.mockMvc.perform(get("/entries/stats")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEntries").value(2))
+                .andExpect(jsonPath("$.adds").value(3))
+                .andExpect(jsonPath("$.updates").value(1))
+                .andExpect(jsonPath("$.deletes").value(1));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Search {@link Entry} endpoint.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void searchEntriesSuccess() throws Exception {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        entriesResponse.getEntries().add(entry);
+        entriesResponse.setNextCursor("nextCursor");
+        Mockito.when(actionService.searchEntries("value", "cursor", 5)).thenReturn(entriesResponse);
+
+        this.mockMvc.perform(get("/entries/search")
+                .param("q", "value")
+                .param("cursor", "cursor")
+                .param("pageSize", "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Search {@link Entry} endpoint with a cursor which is not valid.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void searchEntriesInvalidCursor() throws Exception {
+        Mockito.when(actionService.searchEntries("value", "invalid", 5)).thenThrow(new IllegalArgumentException("Cursor is not valid."));
+
+        this.mockMvc.perform(get("/entries/search")
+                .param("q", "value")
+                .param("cursor", "invalid")
+                .param("pageSize", "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Validates the {@link EntriesController} for the Search {@link Entry} endpoint with a query shorter than a trigram.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void searchEntriesInvalid() throws Exception {
+        this.mockMvc.perform(get("/entries/search")
+                .param("q", "va")
+                .param("pageSize", "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        Mockito.verify(actionService, Mockito.never()).searchEntries(any(), any(), any());
+    }
 }
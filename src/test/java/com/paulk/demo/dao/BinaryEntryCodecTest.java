@@ -0,0 +1,94 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Test the {@link BinaryEntryCodec} class.
+ */
+public class BinaryEntryCodecTest {
+
+    private final BinaryEntryCodec binaryEntryCodec = new BinaryEntryCodec();
+
+    /**
+     * Validate an {@link Entry} with several {@link Audit} is decoded from its record, with millisecond timestamps.
+     */
+    @Test
+    public void roundTripSuccess() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234 €");
+        Audits audits = entry.getAudits();
+        audits.getAuditList().add(audits.createAudit(audits, "Add"));
+        audits.getAuditList().add(audits.createAudit(audits, "Update"));
+        audits.getAuditList().add(audits.createAudit(audits, "Custom"));
+        Audit emptyAudit = new Audit();
+        audits.getAuditList().add(emptyAudit);
+        Audit pastAudit = audits.createAudit(audits, "Delete");
+        pastAudit.setTimestamp(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000));
+        audits.getAuditList().add(pastAudit);
+        // 2. Perform action
+        List<byte[]> record = binaryEntryCodec.encode(entry);
+        Optional<Entry> actualEntry = binaryEntryCodec.decode("testValue", record);
+        // 3. Assert results.
+        Assertions.assertEquals(1, record.size(), "Assert the Entry is encoded as a single record.");
+        Assertions.assertEquals(Optional.of(entry), actualEntry, "Assert the Entry is decoded.");
+        Assertions.assertEquals(audits.getAuditList().size(), actualEntry.get().getAudits().getAuditList().size(), "Assert the Audits are decoded.");
+        for (int index = 0; index < audits.getAuditList().size(); index++) {
+            Audit expected = audits.getAuditList().get(index);
+            Audit actual = actualEntry.get().getAudits().getAuditList().get(index);
+            Assertions.assertEquals(expected.getAuditId(), actual.getAuditId(), "Assert the audit id is decoded.");
+            Assertions.assertEquals(expected.getAction(), actual.getAction(), "Assert the action is decoded.");
+            Assertions.assertEquals(Optional.ofNullable(expected.getTimestamp()).map(timestamp -> timestamp.truncatedTo(ChronoUnit.MILLIS)),
+                    Optional.ofNullable(actual.getTimestamp()), "Assert the timestamp is decoded to the millisecond.");
+        }
+    }
+
+    /**
+     * Validate an {@link Audit} held in a record written before the audit log, in the compact encoding, is decoded.
+     */
+    @Test
+    public void decodeCompactAudit() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", null);
+        Audit audit = new Audit();
+        audit.setAuditId(7);
+        audit.setAction("Update");
+        audit.setTimestamp(LocalDateTime.of(2021, 4, 1, 12, 30, 15, 123_000_000));
+        // 2. Perform action
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        record.write(binaryEntryCodec.encode(entry).get(0), 0, binaryEntryCodec.encode(entry).get(0).length);
+        EntryBinaryUtils.writeCompactAudit(record, audit);
+        Optional<Entry> actualEntry = binaryEntryCodec.decode("testValue", Collections.singletonList(record.toByteArray()));
+        // 3. Assert results.
+        Assertions.assertTrue(actualEntry.isPresent(), "Assert the Entry is decoded.");
+        Assertions.assertNull(actualEntry.get().getId(), "Assert a missing id is decoded.");
+        Audit actualAudit = actualEntry.get().getAudits().getAuditList().get(0);
+        Assertions.assertEquals(Integer.valueOf(7), actualAudit.getAuditId(), "Assert the audit id is decoded.");
+        Assertions.assertEquals("Update", actualAudit.getAction(), "Assert the action is decoded.");
+        Assertions.assertEquals(audit.getTimestamp(), actualAudit.getTimestamp(), "Assert the timestamp is decoded.");
+    }
+
+    /**
+     * Validate a record in another layout or an empty record is not decoded.
+     */
+    @Test
+    public void decodeOtherLayout() {
+        Assertions.assertFalse(binaryEntryCodec.decode("testValue", Collections.emptyMap()).isPresent(),
+                "Assert a hash record is not decoded.");
+        Assertions.assertFalse(binaryEntryCodec.decode("testValue", Collections.emptyList()).isPresent(),
+                "Assert an empty record is not decoded.");
+        Assertions.assertFalse(binaryEntryCodec.decode("testValue", new byte[]{2, 0}).isPresent(),
+                "Assert a record of an unknown version is not decoded.");
+    }
+}
@@ -0,0 +1,296 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Audit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Test the {@link EntryAuditArchiver} class, with a {@link MappedAuditArchive} in a temporary directory and an audit log
+ * held in a {@link List}.
+ */
+public class EntryAuditArchiverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private EntryRedisOperations entryRedisOperations;
+    private DemoApplicationConfig demoApplicationConfig;
+    private EntryAuditArchiver entryAuditArchiver;
+    private List<Audit> auditLog;
+    private AtomicLong archivedCount;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        auditLog = new ArrayList<>();
+        archivedCount = new AtomicLong();
+        entryRedisOperations = Mockito.mock(EntryRedisOperations.class);
+        Mockito.when(entryRedisOperations.isLayoutCurrent()).thenReturn(true);
+        Mockito.when(entryRedisOperations.claimAuditArchive(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenReturn(true);
+        Mockito.when(entryRedisOperations.scanAuditLogIds(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            ((Consumer<List<String>>) invocation.getArgument(0)).accept(Collections.singletonList("1234"));
+            return 1L;
+        });
+        Mockito.when(entryRedisOperations.getAuditLogLength("1234")).thenAnswer(invocation -> (long) auditLog.size());
+        Mockito.when(entryRedisOperations.getAudits(ArgumentMatchers.eq("1234"), ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt())).thenAnswer(invocation -> {
+            int from = (int) Math.min((long) invocation.getArgument(1), auditLog.size());
+            return new ArrayList<>(auditLog.subList(from, Math.min(auditLog.size(), from + (int) invocation.getArgument(2))));
+        });
+        Mockito.when(entryRedisOperations.trimAuditLog(ArgumentMatchers.eq("1234"), ArgumentMatchers.anyInt(), ArgumentMatchers.any())).thenAnswer(invocation -> {
+            auditLog.subList(0, (int) invocation.getArgument(1)).clear();
+            archivedCount.addAndGet((int) invocation.getArgument(1));
+            return true;
+        });
+        Mockito.when(entryRedisOperations.getAuditPage(ArgumentMatchers.eq("1234"), ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt())).thenAnswer(invocation -> {
+            long offset = invocation.getArgument(1);
+            int count = invocation.getArgument(2);
+            int missing = (int) Math.max(0, Math.min(count, archivedCount.get() - offset));
+            int from = (int) Math.min(Math.max(0, offset - archivedCount.get()), auditLog.size());
+            return new EntryAuditPage(new ArrayList<>(auditLog.subList(from, Math.min(auditLog.size(), from + count - missing))), archivedCount.get(), missing);
+        });
+        Mockito.when(entryRedisOperations.getArchivedAuditCounts(ArgumentMatchers.anyList())).thenAnswer(invocation ->
+                archivedCount.get() == 0 ? Collections.emptyMap() : Collections.singletonMap("1234", archivedCount.get()));
+        Mockito.when(entryRedisOperations.setArchivedAuditCountIfAbsent(ArgumentMatchers.eq("1234"), ArgumentMatchers.anyLong())).thenAnswer(invocation -> {
+            archivedCount.set(invocation.getArgument(1));
+            return true;
+        });
+
+        demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(demoApplicationConfig.getAuditArchivePath()).thenReturn(tempDir.toString());
+        Mockito.when(demoApplicationConfig.getAuditArchiveSegmentSizeMb()).thenReturn(0);
+        Mockito.when(demoApplicationConfig.getAuditArchiveAgeSeconds()).thenReturn(3600L);
+        Mockito.when(demoApplicationConfig.getAuditArchiveIntervalMillis()).thenReturn(60_000L);
+        Mockito.when(demoApplicationConfig.getAuditLogMaxLength()).thenReturn(0);
+        Mockito.when(demoApplicationConfig.getBulkWriteBatchSize()).thenReturn(2);
+        entryAuditArchiver = create();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException, IOException {
+        entryAuditArchiver.stop();
+    }
+
+    /**
+     * Validate the {@link Audit} objects older than the archive age are moved, and reads merge the archive and the audit log.
+     */
+    @Test
+    public void archiveOldAuditsSuccess() {
+        // 1. Setup test data.
+        auditLog.addAll(Arrays.asList(createAudit(1, 3), createAudit(2, 3), createAudit(3, 2), createAudit(4, 0), createAudit(5, 0)));
+        // 2. Perform action
+        long archived = entryAuditArchiver.archive();
+        // 3. Assert results.
+        Assertions.assertEquals(3, archived, "Assert the old Audits are archived.");
+        Assertions.assertEquals(Arrays.asList(4, 5), getAuditIds(auditLog), "Assert the archived Audits are removed from the audit log.");
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5), getAuditIds(entryAuditArchiver.getAudits("1234", 0, 10).getAudits()), "Assert the history is merged.");
+        Assertions.assertEquals(Arrays.asList(3, 4), getAuditIds(entryAuditArchiver.getAudits("1234", 2, 2).getAudits()), "Assert a page spans the archive and the audit log.");
+    }
+
+    /**
+     * Validate the {@link Audit} objects beyond the maximum length of the audit log are moved, whatever their age.
+     */
+    @Test
+    public void archiveBeyondMaxLengthSuccess() {
+        // 1. Setup test data.
+        Mockito.when(demoApplicationConfig.getAuditLogMaxLength()).thenReturn(2);
+        auditLog.addAll(Arrays.asList(createAudit(1, 0), createAudit(2, 0), createAudit(3, 0), createAudit(4, 0)));
+        // 2. Perform action
+        entryAuditArchiver.archive();
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList(3, 4), getAuditIds(auditLog), "Assert the audit log is kept to the maximum length.");
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4), getAuditIds(entryAuditArchiver.getAudits("1234", 0, 10).getAudits()), "Assert the history is merged.");
+    }
+
+    /**
+     * Validate the archive is read back when reopened, and {@link Audit} objects left in the audit log after being
+     * archived are not archived twice.
+     */
+    @Test
+    public void archiveReopenedSuccess() throws InterruptedException, IOException {
+        // 1. Setup test data.
+        auditLog.addAll(Arrays.asList(createAudit(1, 3), createAudit(2, 3)));
+        entryAuditArchiver.archive();
+        entryAuditArchiver.stop();
+        entryAuditArchiver = create();
+        auditLog.addAll(Arrays.asList(createAudit(2, 3), createAudit(3, 3), createAudit(4, 0)));
+        // 2. Perform action
+        entryAuditArchiver.archive();
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4), getAuditIds(entryAuditArchiver.getAudits("1234", 0, 10).getAudits()), "Assert no Audit is archived twice.");
+    }
+
+    /**
+     * Validate nothing is moved until the Audits held in records are moved to the audit logs.
+     */
+    @Test
+    public void archiveBeforeMigrationSkipped() {
+        // 1. Setup test data.
+        Mockito.when(entryRedisOperations.isLayoutCurrent()).thenReturn(false);
+        auditLog.add(createAudit(1, 3));
+        // 2. Perform action
+        long archived = entryAuditArchiver.archive();
+        // 3. Assert results.
+        Assertions.assertEquals(0, archived, "Assert nothing is archived before the migration.");
+        Mockito.verify(entryRedisOperations, Mockito.never()).trimAuditLog(ArgumentMatchers.any(), ArgumentMatchers.anyInt(), ArgumentMatchers.any());
+    }
+
+    /**
+     * Validate the archive isn't opened on a node while another node holds it, and is released when stopped.
+     */
+    @Test
+    public void startHeldByOtherNode() throws InterruptedException, IOException {
+        // 1. Setup test data.
+        entryAuditArchiver.stop();
+        Mockito.when(entryRedisOperations.claimAuditArchive(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenReturn(false);
+        // 2. Perform action
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, this::create, "Assert the archive can't be started.");
+        // 3. Assert results.
+        Assertions.assertTrue(exception.getMessage().contains(tempDir.toAbsolutePath().toString()), "Assert the node is named by its archive path.");
+        Mockito.verify(entryRedisOperations, Mockito.times(2)).claimAuditArchive(ArgumentMatchers.endsWith(":" + tempDir.toAbsolutePath()),
+                ArgumentMatchers.eq(600_000L));
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).releaseAuditArchive(ArgumentMatchers.endsWith(":" + tempDir.toAbsolutePath()));
+        Mockito.when(entryRedisOperations.claimAuditArchive(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenReturn(true);
+        entryAuditArchiver = create();
+    }
+
+    /**
+     * Validate nothing is moved once another node has taken over the archive.
+     */
+    @Test
+    public void archiveClaimLostSkipped() {
+        // 1. Setup test data.
+        Mockito.when(entryRedisOperations.claimAuditArchive(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenReturn(false);
+        auditLog.add(createAudit(1, 3));
+        // 2. Perform action
+        long archived = entryAuditArchiver.archive();
+        // 3. Assert results.
+        Assertions.assertEquals(0, archived, "Assert nothing is archived without the claim.");
+        Assertions.assertEquals(1d, entryAuditArchiver.meterRegistry.counter(EntryAuditArchiver.ARCHIVE_FAILURES_METRIC).count(), "Assert the failure was counted.");
+        Mockito.verify(entryRedisOperations, Mockito.never()).scanAuditLogIds(ArgumentMatchers.any());
+    }
+
+    /**
+     * Validate an archive written before the archived counts were kept is counted when opened for writing, without the
+     * {@link Audit} objects still in the audit log after being archived.
+     */
+    @Test
+    public void startCountsArchive() throws InterruptedException, IOException {
+        // 1. Setup test data.
+        auditLog.addAll(Arrays.asList(createAudit(1, 3), createAudit(2, 3), createAudit(3, 0)));
+        entryAuditArchiver.archive();
+        entryAuditArchiver.stop();
+        archivedCount.set(0);
+        auditLog.add(0, createAudit(2, 3));
+        // 2. Perform action
+        entryAuditArchiver = create();
+        // 3. Assert results.
+        Assertions.assertEquals(1, archivedCount.get(), "Assert the archived Audit still in the audit log isn't counted.");
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), getAuditIds(entryAuditArchiver.getAudits("1234", 0, 10).getAudits()),
+                "Assert the history is merged at the counted Audits.");
+    }
+
+    /**
+     * Validate a node without the claim on a shared archive opens it read-only, and reads the blocks archived by the node
+     * holding the claim since it was opened.
+     */
+    @Test
+    public void sharedArchiveReadSuccess() throws InterruptedException, IOException {
+        // 1. Setup test data.
+        Mockito.when(demoApplicationConfig.getAuditArchiveShared()).thenReturn(true);
+        Mockito.when(entryRedisOperations.claimAuditArchive(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenReturn(false);
+        EntryAuditArchiver reader = create();
+        Mockito.when(entryRedisOperations.claimAuditArchive(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenReturn(true);
+        auditLog.addAll(Arrays.asList(createAudit(1, 3), createAudit(2, 3), createAudit(3, 0)));
+        entryAuditArchiver.archive();
+        try {
+            // 2. Perform action
+            EntryAuditPage page = reader.getAudits("1234", 0, 10);
+            // 3. Assert results.
+            Assertions.assertEquals(Arrays.asList(1, 2, 3), getAuditIds(page.getAudits()), "Assert the read-only archive reads the new blocks.");
+            Assertions.assertTrue(page.isComplete(), "Assert the page is complete.");
+        } finally {
+            reader.stop();
+        }
+        Mockito.verify(entryRedisOperations, Mockito.never()).releaseAuditArchive(ArgumentMatchers.anyString());
+    }
+
+    /**
+     * Validate a node with a read-only shared archive takes over writing it once it holds the claim.
+     */
+    @Test
+    public void sharedArchiveTakeOverSuccess() throws InterruptedException, IOException {
+        // 1. Setup test data.
+        entryAuditArchiver.stop();
+        Mockito.when(demoApplicationConfig.getAuditArchiveShared()).thenReturn(true);
+        Mockito.when(entryRedisOperations.claimAuditArchive(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenReturn(false);
+        entryAuditArchiver = create();
+        auditLog.addAll(Arrays.asList(createAudit(1, 3), createAudit(2, 0)));
+        Assertions.assertEquals(0, entryAuditArchiver.archive(), "Assert nothing is archived while another node holds the claim.");
+        Mockito.when(entryRedisOperations.claimAuditArchive(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenReturn(true);
+        // 2. Perform action
+        long archived = entryAuditArchiver.archive();
+        // 3. Assert results.
+        Assertions.assertEquals(1, archived, "Assert the archive is written once the claim is held.");
+        Assertions.assertEquals(Arrays.asList(1, 2), getAuditIds(entryAuditArchiver.getAudits("1234", 0, 10).getAudits()), "Assert the history is merged.");
+        Assertions.assertEquals(0d, entryAuditArchiver.meterRegistry.counter(EntryAuditArchiver.ARCHIVE_FAILURES_METRIC).count(),
+                "Assert a read-only archive without the claim isn't a failure.");
+    }
+
+    /**
+     * Validate a page is marked incomplete rather than shortened when the archived {@link Audit} objects can't be read.
+     */
+    @Test
+    public void getAuditsIncomplete() {
+        // 1. Setup test data.
+        auditLog.addAll(Arrays.asList(createAudit(1, 3), createAudit(2, 3), createAudit(3, 0)));
+        entryAuditArchiver.archive();
+        archivedCount.addAndGet(1);
+        // 2. Perform action
+        EntryAuditPage page = entryAuditArchiver.getAudits("1234", 0, 10);
+        // 3. Assert results.
+        Assertions.assertFalse(page.isComplete(), "Assert the page is incomplete.");
+        Assertions.assertEquals(1, page.getMissingCount(), "Assert the archived Audit which couldn't be read is missing.");
+        Assertions.assertEquals(3, page.getArchivedCount(), "Assert the archived count is returned.");
+    }
+
+    private EntryAuditArchiver create() throws IOException {
+        EntryAuditArchiver archiver = new EntryAuditArchiver();
+        archiver.entryRedisOperations = entryRedisOperations;
+        archiver.demoApplicationConfig = demoApplicationConfig;
+        archiver.meterRegistry = new SimpleMeterRegistry();
+        archiver.start();
+        return archiver;
+    }
+
+    private Audit createAudit(int auditId, int ageHours) {
+        Audit audit = new Audit();
+        audit.setAuditId(auditId);
+        audit.setAction("Update");
+        audit.setTimestamp(LocalDateTime.now(ZoneId.of(ZoneOffset.UTC.toString())).minusHours(ageHours).withNano(0));
+        return audit;
+    }
+
+    private List<Integer> getAuditIds(List<Audit> audits) {
+        return audits.stream().map(Audit::getAuditId).collect(Collectors.toList());
+    }
+}
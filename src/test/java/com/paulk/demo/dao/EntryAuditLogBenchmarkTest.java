@@ -0,0 +1,252 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the latency of gets and updates of an {@link Entry} as its history grows, and checks the audit ids, the
+ * configured retention, the migration of {@link Audit} objects held in a record to the audit log, and the audit
+ * archive. The benchmark needs a local Redis instance on port 6379, which is flushed. The default retention is validated against an
+ * embedded Redis instance by {@link EntryAuditLogRedisTest}.
+ */
+@Disabled
+public class EntryAuditLogBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryAuditLogBenchmarkTest.class);
+    private static final int MAX_LENGTH = 1000;
+    private static final int OPERATIONS = 2000;
+    private static final int LEGACY_AUDITS = 5;
+    private static final int ARCHIVED_HISTORY = 100_000;
+
+    /**
+     * Grows the history of an {@link Entry}, measuring gets and updates at each history length, then deletes it.
+     */
+    @Test
+    public void historyLatency() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379));
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, Object> redisTemplate = createRedisTemplate(connectionFactory);
+        EntryRedisOperations entryRedisOperations = createEntryRedisOperations(redisTemplate);
+        EntryDataStoreOperationsService entryDataStoreOperationsService = new EntryDataStoreOperationsService();
+        entryDataStoreOperationsService.entryRedisOperations = entryRedisOperations;
+
+        try {
+            flush(redisTemplate);
+            Assertions.assertTrue(entryDataStoreOperationsService.add(new Entry("value-0", "1234")).isSuccessfulOperation(), "Assert the Entry is added.");
+            int updates = 0;
+            for (int history : Arrays.asList(10, 1000, 10_000, 50_000)) {
+                for (; updates < history; updates++) {
+                    entryDataStoreOperationsService.update("value-" + updates, new Entry("value-" + (updates + 1), "1234"));
+                }
+
+                long start = System.nanoTime();
+                for (int count = 0; count < OPERATIONS; count++) {
+                    entryDataStoreOperationsService.get(new Entry("value-" + updates));
+                }
+                long getLatency = (System.nanoTime() - start) / OPERATIONS;
+
+                start = System.nanoTime();
+                for (int count = 0; count < OPERATIONS; count++, updates++) {
+                    entryDataStoreOperationsService.update("value-" + updates, new Entry("value-" + (updates + 1), "1234"));
+                }
+                long updateLatency = (System.nanoTime() - start) / OPERATIONS;
+                LOGGER.info("Audit log benchmark: {} audits, get {} ns/op, update {} ns/op", updates + 1, getLatency, updateLatency);
+            }
+
+            List<Audit> audits = entryDataStoreOperationsService.getAudits("value-" + updates, 0, MAX_LENGTH).getEntry().getAudits().getAuditList();
+            Assertions.assertEquals(MAX_LENGTH, audits.size(), "Assert the audit log is trimmed to the retention.");
+            for (int index = 0; index < audits.size(); index++) {
+                Assertions.assertEquals(updates + 1 - MAX_LENGTH + 1 + index, audits.get(index).getAuditId(), "Assert the audit ids are monotonic.");
+            }
+
+            Assertions.assertTrue(entryDataStoreOperationsService.delete(new Entry("value-" + updates, "1234")).isSuccessfulOperation(), "Assert the Entry is deleted.");
+            Long ttl = redisTemplate.getExpire(EntryRedisOperations.getAuditLogKey("1234"));
+            LOGGER.info("Audit log benchmark: audit log expires in {} s after the delete", ttl);
+            Assertions.assertTrue(ttl != null && ttl > 0, "Assert the audit log of a deleted Entry expires.");
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    /**
+     * Writes a record holding {@link Audit} objects, updates it, and migrates the {@link Audit} objects to the audit log.
+     */
+    @Test
+    public void migrateLegacyAudits() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379));
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, Object> redisTemplate = createRedisTemplate(connectionFactory);
+        EntryRedisOperations entryRedisOperations = createEntryRedisOperations(redisTemplate);
+        EntryDataStoreOperationsService entryDataStoreOperationsService = new EntryDataStoreOperationsService();
+        entryDataStoreOperationsService.entryRedisOperations = entryRedisOperations;
+
+        try {
+            flush(redisTemplate);
+            entryRedisOperations.executeBatch(Arrays.asList(entryRedisOperations.insertIfAbsentCall(new Entry("legacy", "1234"), new Audit(), null)));
+            Entry legacyEntry = new Entry("legacy", "1234");
+            Audits legacyAudits = legacyEntry.getAudits();
+            for (int count = 0; count < LEGACY_AUDITS; count++) {
+                legacyAudits.getAuditList().add(legacyAudits.createAudit(legacyAudits, count == 0 ? "Add" : "Update"));
+            }
+            List<byte[]> fields = entryRedisOperations.entryCodecs.get(0).encode(legacyEntry);
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                byte[] key = EntryRedisOperations.getEntryKey("legacy").getBytes(StandardCharsets.UTF_8);
+                connection.keyCommands().del(key, EntryRedisOperations.getAuditSequenceKey("1234").getBytes(StandardCharsets.UTF_8),
+                        EntryRedisOperations.getAuditLogKey("1234").getBytes(StandardCharsets.UTF_8));
+                for (int index = 0; index < fields.size(); index += 2) {
+                    connection.hashCommands().hSet(key, fields.get(index), fields.get(index + 1));
+                }
+                return null;
+            });
+            redisTemplate.opsForValue().set(EntryRedisOperations.LAYOUT_KEY, HashEntryCodec.NAME);
+
+            entryDataStoreOperationsService.update("legacy", new Entry("migrated", "1234"));
+            long migrated = entryRedisOperations.migrateLayout();
+            List<Integer> auditIds = entryDataStoreOperationsService.getAudits("migrated", 0, 100).getEntry().getAudits().getAuditList()
+                    .stream().map(Audit::getAuditId).collect(Collectors.toList());
+            LOGGER.info("Audit log benchmark: migrated {} records, audit ids {}", migrated, auditIds);
+            Assertions.assertEquals(1, migrated, "Assert the legacy record is migrated.");
+            Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), auditIds, "Assert the legacy Audits precede the logged Audits.");
+            Assertions.assertTrue(entryDataStoreOperationsService.get(new Entry("migrated")).getEntry().getAudits().getAuditList().isEmpty(),
+                    "Assert the record no longer holds Audits.");
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    /**
+     * Grows the history of an {@link Entry}, archives all of it but the newest {@link #MAX_LENGTH} audits, and measures
+     * the archive, its size on disk, and reads of archived and logged pages.
+     */
+    @Test
+    public void archiveHistory(@TempDir Path tempDir) throws InterruptedException, IOException {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379));
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, Object> redisTemplate = createRedisTemplate(connectionFactory);
+        EntryRedisOperations entryRedisOperations = createEntryRedisOperations(redisTemplate);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditArchiveEnabled()).thenReturn(true);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditArchivePath()).thenReturn(tempDir.toString());
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditArchiveAgeSeconds()).thenReturn(30L * 24 * 3600);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditArchiveIntervalMillis()).thenReturn(3_600_000L);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditArchiveSegmentSizeMb()).thenReturn(1);
+        EntryDataStoreOperationsService entryDataStoreOperationsService = new EntryDataStoreOperationsService();
+        entryDataStoreOperationsService.entryRedisOperations = entryRedisOperations;
+        EntryAuditArchiver entryAuditArchiver = new EntryAuditArchiver();
+        entryAuditArchiver.entryRedisOperations = entryRedisOperations;
+        entryAuditArchiver.demoApplicationConfig = entryRedisOperations.demoApplicationConfig;
+        entryAuditArchiver.meterRegistry = entryRedisOperations.meterRegistry;
+        entryAuditArchiver.start();
+        entryDataStoreOperationsService.entryAuditArchiver = entryAuditArchiver;
+
+        try {
+            flush(redisTemplate);
+            entryRedisOperations.migrateLayout();
+            entryDataStoreOperationsService.add(new Entry("value-0", "1234"));
+            for (int updates = 0; updates < ARCHIVED_HISTORY; updates++) {
+                entryDataStoreOperationsService.update("value-" + updates, new Entry("value-" + (updates + 1), "1234"));
+            }
+            long logBytes = memoryUsage(redisTemplate);
+
+            long start = System.nanoTime();
+            long archived = entryAuditArchiver.archive();
+            long archiveMillis = (System.nanoTime() - start) / 1_000_000;
+            long archiveBytes = 0;
+            try (Stream<Path> files = Files.list(tempDir)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    archiveBytes += Files.size(file);
+                }
+            }
+            LOGGER.info("Audit log benchmark: archived {} audits in {} ms, audit log {} -> {} bytes in Redis, archive {} bytes on disk",
+                    archived, archiveMillis, logBytes, memoryUsage(redisTemplate), archiveBytes);
+
+            for (long offset : Arrays.asList(0L, ARCHIVED_HISTORY / 2L, (long) ARCHIVED_HISTORY + 1 - MAX_LENGTH / 2)) {
+                start = System.nanoTime();
+                List<Audit> page = null;
+                for (int count = 0; count < OPERATIONS; count++) {
+                    page = entryAuditArchiver.getAudits("1234", offset, 10).getAudits();
+                }
+                LOGGER.info("Audit log benchmark: page at {} read in {} ns/op", offset, (System.nanoTime() - start) / OPERATIONS);
+                Assertions.assertEquals(offset + 1, (long) page.get(0).getAuditId(), "Assert the page starts at the offset.");
+            }
+            Assertions.assertEquals(ARCHIVED_HISTORY + 1 - MAX_LENGTH, archived, "Assert all but the newest audits are archived.");
+        } finally {
+            entryAuditArchiver.stop();
+            connectionFactory.destroy();
+        }
+    }
+
+    private RedisTemplate<String, Object> createRedisTemplate(LettuceConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    private EntryRedisOperations createEntryRedisOperations(RedisTemplate<String, Object> redisTemplate) {
+        RedisKeyValueAdapter keyValueAdapter = new RedisKeyValueAdapter(redisTemplate, new RedisMappingContext());
+        keyValueAdapter.afterPropertiesSet();
+
+        EntryRedisOperations entryRedisOperations = new EntryRedisOperations();
+        entryRedisOperations.redisTemplate = redisTemplate;
+        HashEntryCodec hashEntryCodec = new HashEntryCodec();
+        hashEntryCodec.redisConverter = keyValueAdapter.getConverter();
+        entryRedisOperations.entryCodecs = Arrays.asList(hashEntryCodec, new BinaryEntryCodec());
+        entryRedisOperations.meterRegistry = new SimpleMeterRegistry();
+        entryRedisOperations.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getEntryCodec()).thenReturn(HashEntryCodec.NAME);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkReadBatchSize()).thenReturn(500);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkWriteBatchSize()).thenReturn(500);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditLogMaxLength()).thenReturn(MAX_LENGTH);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditLogDeletedTtlSeconds()).thenReturn(3600L);
+        return entryRedisOperations;
+    }
+
+    private long memoryUsage(RedisTemplate<String, Object> redisTemplate) {
+        RedisScript<Long> memoryUsage = RedisScript.of("return redis.call('MEMORY', 'USAGE', KEYS[1]) or 0", Long.class);
+        return Optional.ofNullable(redisTemplate.execute(memoryUsage, Collections.singletonList(EntryRedisOperations.getAuditLogKey("1234")))).orElse(0L);
+    }
+
+    /**
+     * Removes every key of the Redis instance.
+     *
+     * @param redisTemplate - The {@link RedisTemplate} of the Redis instance.
+     */
+    private void flush(RedisTemplate<String, Object> redisTemplate) {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.flushDb();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Validates the audit log of {@link EntryRedisOperations} against an embedded Redis instance, which runs its scripts.
+ */
+public class EntryAuditLogRedisTest {
+    private static final int UPDATES = 1001;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private EntryRedisOperations entryRedisOperations;
+    private EntryDataStoreOperationsService entryDataStoreOperationsService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+        redisServer = RedisServer.newRedisServer().bind("127.0.0.1").port(port).setting("save \"\"").setting("appendonly no").build();
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+        RedisKeyValueAdapter keyValueAdapter = new RedisKeyValueAdapter(redisTemplate, new RedisMappingContext());
+        keyValueAdapter.afterPropertiesSet();
+
+        entryRedisOperations = new EntryRedisOperations();
+        entryRedisOperations.redisTemplate = redisTemplate;
+        HashEntryCodec hashEntryCodec = new HashEntryCodec();
+        hashEntryCodec.redisConverter = keyValueAdapter.getConverter();
+        entryRedisOperations.entryCodecs = Arrays.asList(hashEntryCodec, new BinaryEntryCodec());
+        entryRedisOperations.meterRegistry = new SimpleMeterRegistry();
+        entryRedisOperations.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getEntryCodec()).thenReturn(HashEntryCodec.NAME);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkReadBatchSize()).thenReturn(500);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkWriteBatchSize()).thenReturn(500);
+        entryDataStoreOperationsService = new EntryDataStoreOperationsService();
+        entryDataStoreOperationsService.entryRedisOperations = entryRedisOperations;
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    /**
+     * Validate the whole history of an {@link Entry} updated more than 1000 times and deleted is kept with the retention
+     * of application.properties, and the audit log of the deleted {@link Entry} doesn't expire.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void historyKeptByDefault() throws IOException {
+        // 1. Setup test data.
+        Properties applicationProperties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditLogMaxLength())
+                .thenReturn(Integer.valueOf(applicationProperties.getProperty("api.datastore.audit.log.max.length")));
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getAuditLogDeletedTtlSeconds())
+                .thenReturn(Long.valueOf(applicationProperties.getProperty("api.datastore.audit.log.deleted.ttl.seconds")));
+        Assertions.assertTrue(entryDataStoreOperationsService.add(new Entry("value-0", "1234")).isSuccessfulOperation(), "Assert the Entry is added.");
+        // 2. Perform action
+        for (int update = 0; update < UPDATES; update++) {
+            Assertions.assertTrue(entryDataStoreOperationsService.update("value-" + update, new Entry("value-" + (update + 1), "1234")).isSuccessfulOperation(),
+                    "Assert the Entry is updated.");
+        }
+        Assertions.assertTrue(entryDataStoreOperationsService.delete(new Entry("value-" + UPDATES, "1234")).isSuccessfulOperation(), "Assert the Entry is deleted.");
+        // 3. Assert results.
+        List<Audit> audits = entryDataStoreOperationsService.getAuditsById("1234", 0, UPDATES + 2).getEntry().getAudits().getAuditList();
+        Assertions.assertEquals(UPDATES + 2, audits.size(), "Assert every Audit is kept by default.");
+        Assertions.assertEquals(1, audits.get(0).getAuditId(), "Assert the oldest Audit is kept by default.");
+        Assertions.assertEquals(UPDATES + 2, audits.get(UPDATES + 1).getAuditId(), "Assert the Audit of the delete is kept.");
+        Assertions.assertEquals(-1L, redisTemplate.getExpire(EntryRedisOperations.getAuditLogKey("1234")), "Assert the audit log of a deleted Entry doesn't expire by default.");
+    }
+}
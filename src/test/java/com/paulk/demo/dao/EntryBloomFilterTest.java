@@ -0,0 +1,106 @@
+package com.paulk.demo.dao;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the {@link EntryBloomFilter} class.
+ */
+public class EntryBloomFilterTest {
+
+    /**
+     * Validate the behaviour of {@link EntryBloomFilter#mightContain(String)} never misses an added value, and answers
+     * close to the false positive rate for values which weren't added.
+     */
+    @Test
+    public void mightContainFalsePositiveRate() {
+        // 1. Setup test data.
+        EntryBloomFilter bloomFilter = new EntryBloomFilter(10_000, 0.01);
+        for (int index = 0; index < 10_000; index++) {
+            bloomFilter.add("value" + index);
+        }
+        // 2. Perform action
+        int missed = 0;
+        for (int index = 0; index < 10_000; index++) {
+            missed += bloomFilter.mightContain("value" + index) ? 0 : 1;
+        }
+        int falsePositives = 0;
+        for (int index = 0; index < 100_000; index++) {
+            falsePositives += bloomFilter.mightContain("absent" + index) ? 1 : 0;
+        }
+        // 3. Assert results.
+        Assertions.assertEquals(0, missed, "Assert no added value is answered as absent.");
+        Assertions.assertTrue(falsePositives < 2_000, "Assert the false positive rate is close to 1%, was " + falsePositives + " in 100000.");
+        Assertions.assertEquals(0.01, bloomFilter.getExpectedFalsePositiveRate(), 0.002, "Assert the expected false positive rate is close to 1% at capacity.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryBloomFilter#remove(String)} removes a value without removing the others.
+     */
+    @Test
+    public void removeSuccess() {
+        // 1. Setup test data.
+        EntryBloomFilter bloomFilter = new EntryBloomFilter(1_000, 0.01);
+        for (int index = 0; index < 1_000; index++) {
+            bloomFilter.add("value" + index);
+        }
+        // 2. Perform action
+        for (int index = 0; index < 500; index++) {
+            bloomFilter.remove("value" + index);
+        }
+        // 3. Assert results.
+        int removedAnswered = 0;
+        for (int index = 0; index < 500; index++) {
+            removedAnswered += bloomFilter.mightContain("value" + index) ? 1 : 0;
+        }
+        for (int index = 500; index < 1_000; index++) {
+            Assertions.assertTrue(bloomFilter.mightContain("value" + index), "Assert a value which wasn't removed is kept.");
+        }
+        Assertions.assertTrue(removedAnswered < 50, "Assert the removed values are answered as absent, " + removedAnswered + " were not.");
+        Assertions.assertEquals(500, bloomFilter.size(), "Assert the removed values aren't counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryBloomFilter#remove(String)} ignores values which weren't added, so it doesn't
+     * decrement the counters they share with the added values.
+     */
+    @Test
+    public void removeNotAddedIgnored() {
+        // 1. Setup test data.
+        EntryBloomFilter bloomFilter = new EntryBloomFilter(1_000, 0.01);
+        for (int index = 0; index < 1_000; index++) {
+            bloomFilter.add("value" + index);
+        }
+        // 2. Perform action
+        for (int index = 0; index < 10_000; index++) {
+            if (!bloomFilter.mightContain("absent" + index)) {
+                bloomFilter.remove("absent" + index);
+            }
+        }
+        // 3. Assert results.
+        for (int index = 0; index < 1_000; index++) {
+            Assertions.assertTrue(bloomFilter.mightContain("value" + index), "Assert no added value is answered as absent.");
+        }
+        Assertions.assertEquals(1_000, bloomFilter.size(), "Assert the values which weren't added aren't counted as removed.");
+    }
+
+    /**
+     * Validate the behaviour of a saturated counter, which is never decremented so a removal can't cause a false negative.
+     */
+    @Test
+    public void removeSaturatedKept() {
+        // 1. Setup test data.
+        EntryBloomFilter bloomFilter = new EntryBloomFilter(100, 0.01);
+        for (int count = 0; count < 20; count++) {
+            bloomFilter.add("A");
+        }
+        // 2. Perform action
+        for (int count = 0; count < 19; count++) {
+            bloomFilter.remove("A");
+        }
+        bloomFilter.remove("B");
+        // 3. Assert results.
+        Assertions.assertTrue(bloomFilter.mightContain("A"), "Assert a value with saturated counters is kept.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new EntryBloomFilter(100, 0), "Assert a false positive rate of 0 is rejected.");
+    }
+}
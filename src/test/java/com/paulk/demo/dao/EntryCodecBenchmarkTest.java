@@ -0,0 +1,184 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Compares the memory and the latency of the hash and binary {@link EntryCodec} layouts over {@link #ENTRIES} values
+ * with {@link #AUDITS} audits each, then measures the migration of the hash layout to the binary layout. The benchmark
+ * needs a local Redis instance on port 6379, which is flushed.
+ */
+@Disabled
+public class EntryCodecBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryCodecBenchmarkTest.class);
+    private static final int ENTRIES = 200_000;
+    private static final int AUDITS = 4;
+    private static final int BATCH_SIZE = 1000;
+    private static final int GETS = 20_000;
+    private static final int UPDATES = 10_000;
+    private static final int SAMPLES = 1000;
+
+    /**
+     * Loads the values in each layout, then measures the memory of the records, single gets, bulk reads and updates.
+     */
+    @Test
+    public void codecLatency() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379));
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        RedisKeyValueAdapter keyValueAdapter = new RedisKeyValueAdapter(redisTemplate, new RedisMappingContext());
+        keyValueAdapter.afterPropertiesSet();
+
+        EntryRedisOperations entryRedisOperations = new EntryRedisOperations();
+        entryRedisOperations.redisTemplate = redisTemplate;
+        HashEntryCodec hashEntryCodec = new HashEntryCodec();
+        hashEntryCodec.redisConverter = keyValueAdapter.getConverter();
+        entryRedisOperations.entryCodecs = Arrays.asList(hashEntryCodec, new BinaryEntryCodec());
+        entryRedisOperations.meterRegistry = new SimpleMeterRegistry();
+        entryRedisOperations.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkReadBatchSize()).thenReturn(BATCH_SIZE);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkWriteBatchSize()).thenReturn(BATCH_SIZE);
+        EntryDataStoreOperationsService entryDataStoreOperationsService = new EntryDataStoreOperationsService();
+        entryDataStoreOperationsService.entryRedisOperations = entryRedisOperations;
+
+        try {
+            for (String codec : Arrays.asList(HashEntryCodec.NAME, BinaryEntryCodec.NAME)) {
+                Mockito.when(entryRedisOperations.demoApplicationConfig.getEntryCodec()).thenReturn(codec);
+                flush(redisTemplate);
+                long memoryBefore = usedMemory(redisTemplate);
+                long start = System.nanoTime();
+                load(entryRedisOperations);
+                LOGGER.info("{}: loaded {} entries in {} ms, {} bytes used by Redis, {} bytes per record", codec, ENTRIES,
+                        (System.nanoTime() - start) / 1_000_000, usedMemory(redisTemplate) - memoryBefore, recordMemory(redisTemplate));
+
+                Random random = new Random(42);
+                start = System.nanoTime();
+                for (int count = 0; count < GETS; count++) {
+                    entryDataStoreOperationsService.get(new Entry("value-" + random.nextInt(ENTRIES)));
+                }
+                LOGGER.info("{}: get {} ns/op", codec, (System.nanoTime() - start) / GETS);
+
+                start = System.nanoTime();
+                for (int count = 0; count < 3; count++) {
+                    entryDataStoreOperationsService.getAll();
+                }
+                LOGGER.info("{}: getAll {} ms/op", codec, (System.nanoTime() - start) / 3 / 1_000_000);
+
+                start = System.nanoTime();
+                for (int count = 0; count < UPDATES; count++) {
+                    entryDataStoreOperationsService.update("value-" + count, new Entry("updated-" + count, "id-" + count));
+                }
+                LOGGER.info("{}: update {} ns/op", codec, (System.nanoTime() - start) / UPDATES);
+            }
+
+            // Migrate the hash layout to the binary layout.
+            Mockito.when(entryRedisOperations.demoApplicationConfig.getEntryCodec()).thenReturn(HashEntryCodec.NAME);
+            flush(redisTemplate);
+            load(entryRedisOperations);
+            Mockito.when(entryRedisOperations.demoApplicationConfig.getEntryCodec()).thenReturn(BinaryEntryCodec.NAME);
+            long memoryBefore = usedMemory(redisTemplate);
+            long start = System.nanoTime();
+            long migrated = entryRedisOperations.migrateLayout();
+            LOGGER.info("Migrated {} entries to the binary layout in {} ms, {} bytes freed", migrated, (System.nanoTime() - start) / 1_000_000,
+                    memoryBefore - usedMemory(redisTemplate));
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    /**
+     * Loads the {@link Entry} objects, each with {@link #AUDITS} audits, in pipelined batches.
+     *
+     * @param entryRedisOperations - The {@link EntryRedisOperations} to be loaded.
+     */
+    protected void load(EntryRedisOperations entryRedisOperations) {
+        LocalDateTime timestamp = LocalDateTime.now(ZoneId.of(ZoneOffset.UTC.toString()));
+        for (int loaded = 0; loaded < ENTRIES; loaded += BATCH_SIZE) {
+            List<EntryScriptCall> calls = new ArrayList<>(BATCH_SIZE);
+            for (int count = loaded; count < loaded + BATCH_SIZE; count++) {
+                Entry entry = new Entry("value-" + count, "id-" + count);
+                Audits audits = entry.getAudits();
+                for (int auditCount = 0; auditCount < AUDITS; auditCount++) {
+                    Audit audit = audits.createAudit(audits, auditCount == 0 ? "Add" : "Update");
+                    audit.setTimestamp(timestamp.plusNanos(auditCount * 1_234_567L));
+                    audits.getAuditList().add(audit);
+                }
+                calls.add(entryRedisOperations.insertIfAbsentCall(entry, audits.getAuditList().get(AUDITS - 1), null));
+            }
+            entryRedisOperations.executeBatch(calls);
+        }
+    }
+
+    /**
+     * Gets the average memory of a sample of records, as reported by MEMORY USAGE.
+     *
+     * @param redisTemplate - The {@link RedisTemplate} of the Redis instance.
+     * @return The average number of bytes per record.
+     */
+    private long recordMemory(RedisTemplate<String, Object> redisTemplate) {
+        RedisScript<Long> memoryUsage = RedisScript.of("return redis.call('MEMORY', 'USAGE', KEYS[1])", Long.class);
+        long total = 0;
+        for (int count = 0; count < SAMPLES; count++) {
+            String key = EntryRedisOperations.getEntryKey("value-" + count * (ENTRIES / SAMPLES));
+            total += Optional.ofNullable(redisTemplate.execute(memoryUsage, Collections.singletonList(key))).orElse(0L);
+        }
+        return total / SAMPLES;
+    }
+
+    /**
+     * Removes every key of the Redis instance.
+     *
+     * @param redisTemplate - The {@link RedisTemplate} of the Redis instance.
+     */
+    private void flush(RedisTemplate<String, Object> redisTemplate) {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.flushDb();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the memory used by Redis.
+     *
+     * @param redisTemplate - The {@link RedisTemplate} of the Redis instance.
+     * @return The number of bytes used.
+     */
+    private long usedMemory(RedisTemplate<String, Object> redisTemplate) {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info("memory"));
+        return info == null ? 0 : Long.parseLong(info.getProperty("used_memory", "0"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.constants.AuditActionCodes;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the retained heap and the garbage collection of the Redis, in-memory and memory-mapped data stores.
+ * <p>
+ * Each run loads {@link #ENTRIES} in batches, logs the heap used after a full collection, then logs the collections
+ * during a run of gets. The Redis run needs a local Redis instance on port 6379.
+ */
+@Disabled
+public class EntryDataStoreHeapBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryDataStoreHeapBenchmarkTest.class);
+    private static final int ENTRIES = 200_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int GETS = 1_000_000;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Measures the {@link EntryDataStoreOperationsService}, which holds no {@link Entry} on the heap.
+     */
+    @Test
+    public void redisHeap() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379));
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.flushDb();
+            return null;
+        });
+
+        RedisMappingContext mappingContext = new RedisMappingContext();
+        RedisKeyValueAdapter keyValueAdapter = new RedisKeyValueAdapter(redisTemplate, mappingContext);
+        keyValueAdapter.afterPropertiesSet();
+
+        EntryRedisOperations entryRedisOperations = new EntryRedisOperations();
+        entryRedisOperations.redisTemplate = redisTemplate;
+        HashEntryCodec hashEntryCodec = new HashEntryCodec();
+        hashEntryCodec.redisConverter = keyValueAdapter.getConverter();
+        entryRedisOperations.entryCodecs = Arrays.asList(hashEntryCodec, new BinaryEntryCodec());
+        entryRedisOperations.meterRegistry = new SimpleMeterRegistry();
+        entryRedisOperations.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkWriteBatchSize()).thenReturn(BATCH_SIZE);
+        EntryDataStoreOperationsService entryDataStoreOperationsService = new EntryDataStoreOperationsService();
+        entryDataStoreOperationsService.entryRedisOperations = entryRedisOperations;
+
+        try {
+            // Fewer gets, as each is a round trip.
+            measure("redis", entryDataStoreOperationsService, GETS / 20);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    /**
+     * Measures the {@link InMemoryEntryDataStoreOperationsService}, which holds every {@link Entry} on the heap.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void memoryHeap() throws Exception {
+        InMemoryEntryDataStoreOperationsService inMemoryEntryDataStoreOperationsService = new InMemoryEntryDataStoreOperationsService();
+        inMemoryEntryDataStoreOperationsService.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(inMemoryEntryDataStoreOperationsService.demoApplicationConfig.getMemoryLockStripes()).thenReturn(1024);
+        Mockito.when(inMemoryEntryDataStoreOperationsService.demoApplicationConfig.getMemoryWalPath()).thenReturn("");
+        inMemoryEntryDataStoreOperationsService.open();
+        try {
+            measure("memory", inMemoryEntryDataStoreOperationsService, GETS);
+        } finally {
+            inMemoryEntryDataStoreOperationsService.close();
+        }
+    }
+
+    /**
+     * Measures the {@link MappedEntryDataStoreOperationsService}, which holds every {@link Entry} off the heap.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void mappedHeap() throws Exception {
+        MappedEntryDataStoreOperationsService mappedEntryDataStoreOperationsService = new MappedEntryDataStoreOperationsService();
+        mappedEntryDataStoreOperationsService.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(mappedEntryDataStoreOperationsService.demoApplicationConfig.getMappedPath()).thenReturn(tempDir.resolve("entries.dat").toString());
+        Mockito.when(mappedEntryDataStoreOperationsService.demoApplicationConfig.getMappedInitialSlots()).thenReturn(65536);
+        Mockito.when(mappedEntryDataStoreOperationsService.demoApplicationConfig.getMappedInitialSizeMb()).thenReturn(64);
+        mappedEntryDataStoreOperationsService.open();
+        try {
+            measure("mapped", mappedEntryDataStoreOperationsService, GETS);
+        } finally {
+            mappedEntryDataStoreOperationsService.close();
+        }
+    }
+
+    /**
+     * Loads the {@link Entry} objects, then logs the retained heap and the collections during the gets.
+     *
+     * @param name                - The {@link String} name of the data store.
+     * @param dataStoreOperations - The {@link DataStoreOperations} to be measured.
+     * @param gets                - The number of gets.
+     */
+    protected void measure(String name, DataStoreOperations<String, Entry> dataStoreOperations, int gets) {
+        long heapBefore = usedHeapAfterGc();
+        for (int batch = 0; batch < ENTRIES / BATCH_SIZE; batch++) {
+            List<EntryActionInput> actionInputs = new ArrayList<>(BATCH_SIZE);
+            for (int index = batch * BATCH_SIZE; index < (batch + 1) * BATCH_SIZE; index++) {
+                actionInputs.add(new EntryActionInput.EntryActionInputBuilder()
+                        .withAction(AuditActionCodes.ADD.getCode())
+                        .withEntry(new Entry("value-" + index, "id-" + index))
+                        .build());
+            }
+            dataStoreOperations.batch(actionInputs);
+        }
+        long retainedHeap = usedHeapAfterGc() - heapBefore;
+
+        long collectionsBefore = collectionCount();
+        long collectionTimeBefore = collectionTime();
+        long start = System.nanoTime();
+        for (int count = 0; count < gets; count++) {
+            dataStoreOperations.get(new Entry("value-" + ThreadLocalRandom.current().nextInt(ENTRIES)));
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        LOGGER.info("{}: {} entries, {} KB retained heap, {} bytes/entry; {} gets, {} ns/get, {} collections, {} ms collecting",
+                name, ENTRIES, retainedHeap / 1024, retainedHeap / ENTRIES, gets, elapsedNanos / gets,
+                collectionCount() - collectionsBefore, collectionTime() - collectionTimeBefore);
+    }
+
+    private long usedHeapAfterGc() {
+        for (int count = 0; count < 3; count++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private long collectionCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private long collectionTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
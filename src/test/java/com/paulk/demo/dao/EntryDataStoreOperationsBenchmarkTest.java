@@ -0,0 +1,234 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.constants.AuditActionCodes;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import com.paulk.demo.repository.EntryRepository;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisKeyValueTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.repository.support.RedisRepositoryFactory;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks the {@link EntryDataStoreOperationsService} against a local Redis instance on port 6379.
+ * <p>
+ * Round trips are counted from the commands completed by the Lettuce client, so commands executed inside a script are
+ * not counted.
+ */
+@Disabled
+public class EntryDataStoreOperationsBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryDataStoreOperationsBenchmarkTest.class);
+    private static final int OPERATIONS = 10_000;
+
+    private final AtomicLong commands = new AtomicLong();
+    private ClientResources clientResources;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private EntryRepository entryRepository;
+    private EntryRedisOperations entryRedisOperations;
+    private EntryDataStoreOperationsService entryDataStoreOperationsService;
+
+    @BeforeEach
+    public void setup() {
+        clientResources = DefaultClientResources.builder()
+                .commandLatencyRecorder((local, remote, commandType, firstResponseLatency, completionLatency) -> commands.incrementAndGet())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379),
+                LettuceClientConfiguration.builder().clientResources(clientResources).build());
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        RedisMappingContext mappingContext = new RedisMappingContext();
+        RedisKeyValueAdapter keyValueAdapter = new RedisKeyValueAdapter(redisTemplate, mappingContext);
+        keyValueAdapter.afterPropertiesSet();
+        entryRepository = new RedisRepositoryFactory(new RedisKeyValueTemplate(keyValueAdapter, mappingContext))
+                .getRepository(EntryRepository.class);
+
+        entryRedisOperations = new EntryRedisOperations();
+        entryRedisOperations.redisTemplate = redisTemplate;
+        HashEntryCodec hashEntryCodec = new HashEntryCodec();
+        hashEntryCodec.redisConverter = keyValueAdapter.getConverter();
+        entryRedisOperations.entryCodecs = Arrays.asList(hashEntryCodec, new BinaryEntryCodec());
+        entryRedisOperations.meterRegistry = new SimpleMeterRegistry();
+        entryRedisOperations.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkReadBatchSize()).thenReturn(500);
+
+        entryDataStoreOperationsService = new EntryDataStoreOperationsService();
+        entryDataStoreOperationsService.entryRedisOperations = entryRedisOperations;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        connectionFactory.destroy();
+        clientResources.shutdown();
+    }
+
+    /**
+     * Compares the previous find then save add against the atomic insert-if-absent add.
+     */
+    @Test
+    public void addRoundTrips() {
+        measure("add (findById + save)", () -> {
+            Entry entry = new Entry(UUID.randomUUID().toString());
+            if (!entryRepository.findById(entry.getValue()).isPresent()) {
+                entryRepository.save(entry);
+            }
+        });
+        measure("add (insert-if-absent script)", () ->
+                entryDataStoreOperationsService.add(new Entry(UUID.randomUUID().toString())));
+    }
+
+    /**
+     * Compares the previous find, delete then save update against the atomic rename and update.
+     */
+    @Test
+    public void updateRoundTrips() {
+        measure("update (findById + delete + save)", () -> {
+            Entry entry = new Entry(UUID.randomUUID().toString());
+            entryRepository.save(entry);
+            entryRepository.findById(entry.getValue()).ifPresent(retrievedEntry -> {
+                entryRepository.delete(retrievedEntry);
+                retrievedEntry.setValue(UUID.randomUUID().toString());
+                entryRepository.save(retrievedEntry);
+            });
+        });
+        measure("update (rename script)", () -> {
+            Entry entry = new Entry(UUID.randomUUID().toString());
+            entryRepository.save(entry);
+            entryDataStoreOperationsService.update(entry.getValue(), new Entry(UUID.randomUUID().toString(), entry.getId()));
+        });
+    }
+
+    /**
+     * Compares the repository find all, which reads each hash separately, against the pipelined bulk read.
+     */
+    @Test
+    public void getAllRoundTrips() {
+        for (int count = 0; count < OPERATIONS; count++) {
+            entryDataStoreOperationsService.add(new Entry(UUID.randomUUID().toString()));
+        }
+        LOGGER.info("getAll over {} entries", entryRepository.count());
+        measure("getAll (findAll)", 10, () -> entryRepository.findAll().forEach(entry -> {
+        }));
+        measure("getAll (pipelined bulk read)", 10, () -> entryDataStoreOperationsService.getAll());
+        LOGGER.info("getAll (pipelined bulk read): {} round trips/op",
+                entryRedisOperations.meterRegistry.summary(EntryRedisOperations.BULK_READ_ROUND_TRIPS_METRIC).mean());
+    }
+
+    /**
+     * Compares adding entries one at a time against a pipelined batch of adds.
+     */
+    @Test
+    public void batchRoundTrips() {
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkWriteBatchSize()).thenReturn(500);
+        measure("add (single)", () -> entryDataStoreOperationsService.add(new Entry(UUID.randomUUID().toString())));
+        measure("add (pipelined batch of 1000)", 10, () -> {
+            List<EntryActionInput> actionInputs = new ArrayList<>();
+            for (int count = 0; count < 1000; count++) {
+                actionInputs.add(new EntryActionInput.EntryActionInputBuilder()
+                        .withAction(AuditActionCodes.ADD.getCode())
+                        .withEntry(new Entry(UUID.randomUUID().toString()))
+                        .build());
+            }
+            entryDataStoreOperationsService.batch(actionInputs);
+        });
+    }
+
+    /**
+     * Compares reads of a miss heavy workload, nine in ten of the values absent, without and with the negative lookup
+     * {@link EntryValueFilter}.
+     */
+    @Test
+    public void getMissRoundTrips() throws InterruptedException {
+        List<String> values = new ArrayList<>();
+        for (int count = 0; count < OPERATIONS; count++) {
+            String value = UUID.randomUUID().toString();
+            entryDataStoreOperationsService.add(new Entry(value));
+            values.add(value);
+        }
+        AtomicLong reads = new AtomicLong();
+        Runnable read = () -> {
+            long count = reads.getAndIncrement();
+            entryDataStoreOperationsService.get(new Entry(count % 10 == 0 ? values.get((int) (count % OPERATIONS)) : UUID.randomUUID().toString()));
+        };
+        measure("get 90% misses (no filter)", read);
+
+        EntryValueFilter entryValueFilter = new EntryValueFilter();
+        entryValueFilter.entryRedisOperations = entryRedisOperations;
+        entryValueFilter.redisTemplate = redisTemplate;
+        entryValueFilter.redisMessageListenerContainer = Mockito.mock(RedisMessageListenerContainer.class);
+        entryValueFilter.demoApplicationConfig = entryRedisOperations.demoApplicationConfig;
+        entryValueFilter.meterRegistry = entryRedisOperations.meterRegistry;
+        Mockito.when(entryValueFilter.demoApplicationConfig.getFilterExpectedEntries()).thenReturn(100_000L);
+        Mockito.when(entryValueFilter.demoApplicationConfig.getFilterFalsePositiveRate()).thenReturn(0.01);
+        Mockito.when(entryValueFilter.demoApplicationConfig.getFilterPublishIntervalMillis()).thenReturn(20L);
+        Mockito.when(entryValueFilter.demoApplicationConfig.getFilterRemovalDelayMillis()).thenReturn(1000L);
+        Mockito.when(entryValueFilter.demoApplicationConfig.getFilterHeartbeatIntervalMillis()).thenReturn(3_600_000L);
+        entryValueFilter.start();
+        LOGGER.info("filter rebuilt with {} values", entryValueFilter.rebuild());
+        entryDataStoreOperationsService.entryValueFilter = entryValueFilter;
+        measure("get 90% misses (filter)", read);
+        LOGGER.info("filter false positive rate: {}", entryValueFilter.getFalsePositiveRate());
+        entryValueFilter.stop();
+    }
+
+    /**
+     * Runs the operation {@link #OPERATIONS} times and logs the latency and round trips per operation.
+     *
+     * @param name      - The {@link String} name of the operation.
+     * @param operation - The {@link Runnable} operation to be measured.
+     */
+    protected void measure(String name, Runnable operation) {
+        measure(name, OPERATIONS, operation);
+    }
+
+    /**
+     * Runs the operation and logs the latency and round trips per operation. Pipelined commands are counted individually.
+     *
+     * @param name       - The {@link String} name of the operation.
+     * @param operations - The number of times the operation is run.
+     * @param operation  - The {@link Runnable} operation to be measured.
+     */
+    protected void measure(String name, int operations, Runnable operation) {
+        long commandsBefore = commands.get();
+        long start = System.nanoTime();
+        for (int count = 0; count < operations; count++) {
+            operation.run();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long roundTrips = commands.get() - commandsBefore;
+
+        LOGGER.info("{}: {} ops, {} us/op, {} commands/op", name, operations,
+                elapsedNanos / 1000 / operations, (double) roundTrips / operations);
+    }
+}
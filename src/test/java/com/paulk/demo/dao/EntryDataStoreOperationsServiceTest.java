@@ -1,9 +1,13 @@
 package com.paulk.demo.dao;
 
+import com.paulk.demo.model.Audit;
 import com.paulk.demo.model.EntriesResponse;
 import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
 import com.paulk.demo.model.EntryOperationResponse;
-import com.paulk.demo.repository.EntryRepository;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryCursorUtils;
+import com.paulk.demo.utils.EntrySortUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,11 +17,18 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Test the {@link EntryDataStoreOperationsService} class.
@@ -27,7 +38,7 @@ import java.util.Optional;
 public class EntryDataStoreOperationsServiceTest {
 
     @Mock
-    EntryRepository entryRepository;
+    EntryRedisOperations entryRedisOperations;
 
     @InjectMocks
     EntryDataStoreOperationsService entryDataStoreOperationsService;
@@ -43,14 +54,16 @@ public class EntryDataStoreOperationsServiceTest {
     @Test
     public void addEntrySuccess() {
         // 1. Setup test data.
-        Entry entry = new Entry("testValue");
+        Entry entry = new Entry("testValue", "1234");
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findById(Mockito.any())).thenReturn(Optional.empty());
-        Mockito.when(entryRepository.save(Mockito.any())).thenReturn(entry);
+        Mockito.when(entryRedisOperations.insertIfAbsent(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
         // 3. Perform action
         EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.add(entry);
         // 4. Assert results.
         Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert add operation behavior is correct.");
+        Assertions.assertEquals(1, entry.getAudits().getAuditList().size(), "Assert add operation generated an Audit.");
+        Audit audit = entry.getAudits().getAuditList().get(0);
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).insertIfAbsent(entry, audit, null);
     }
 
     /**
@@ -61,8 +74,7 @@ public class EntryDataStoreOperationsServiceTest {
         // 1. Setup test data.
         Entry entry = new Entry("testValue");
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findById(Mockito.any())).thenReturn(Optional.empty());
-        Mockito.when(entryRepository.save(Mockito.any())).thenThrow(IllegalArgumentException.class);
+        Mockito.when(entryRedisOperations.insertIfAbsent(Mockito.any(), Mockito.any(), Mockito.any())).thenThrow(IllegalArgumentException.class);
         // 3. Perform action
         EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.add(entry);
         // 4. Assert results.
@@ -77,11 +89,12 @@ public class EntryDataStoreOperationsServiceTest {
         // 1. Setup test data.
         Entry entry = new Entry("testValue");
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findById(Mockito.any())).thenReturn(Optional.of(entry));
+        Mockito.when(entryRedisOperations.insertIfAbsent(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(false);
         // 3. Perform action
         EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.add(entry);
         // 4. Assert results.
         Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert add operation behavior is correct when a duplicate already exists.");
+        Assertions.assertTrue(entry.getAudits().getAuditList().isEmpty(), "Assert no Audit is kept when a duplicate already exists.");
     }
 
     /**
@@ -90,13 +103,18 @@ public class EntryDataStoreOperationsServiceTest {
     @Test
     public void deleteEntrySuccess() {
         // 1. Setup test data.
-        Entry entry = new Entry("testValue");
+        Entry entry = new Entry("testValue", "1234");
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findById(Mockito.any())).thenReturn(Optional.of(entry));
+        Mockito.when(entryRedisOperations.delete(Mockito.any(), Mockito.any(), Mockito.isNull())).thenAnswer(invocation -> {
+            entry.getAudits().getAuditList().add(invocation.getArgument(1));
+            return Optional.of(entry);
+        });
         // 3. Perform action
         EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.delete(entry);
         // 4. Assert results.
         Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert delete operation behavior is correct.");
+        Audit audit = entryActionResponse.getEntry().getAudits().getAuditList().get(0);
+        Assertions.assertEquals("Delete", audit.getAction(), "Assert delete operation generated an Audit.");
     }
 
     /**
@@ -107,7 +125,7 @@ public class EntryDataStoreOperationsServiceTest {
         // 1. Setup test data.
         Entry entry = new Entry("testValue");
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findById(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(entryRedisOperations.delete(Mockito.any(), Mockito.any(), Mockito.isNull())).thenReturn(Optional.empty());
         // 3. Perform action
         EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.delete(entry);
         // 4. Assert results.
@@ -123,12 +141,12 @@ public class EntryDataStoreOperationsServiceTest {
         Entry entry = new Entry("testValue","1234");
         Entry updatedEntry = new Entry("updatedValue", "1234");
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findById(Mockito.any())).thenReturn(Optional.of(entry));
-        Mockito.when(entryRepository.save(Mockito.any())).thenReturn(updatedEntry);
+        Mockito.when(entryRedisOperations.update(Mockito.eq(entry.getValue()), Mockito.eq(updatedEntry), Mockito.any(), Mockito.isNull())).thenReturn(Optional.of(updatedEntry));
         // 3. Perform action
         EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.update(entry.getValue(), updatedEntry);
         // 4. Assert results.
         Assertions.assertEquals(updatedEntry, entryActionResponse.getEntry() , "Assert update operation behavior is correct.");
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert update operation behavior is correct.");
     }
 
     /**
@@ -140,7 +158,7 @@ public class EntryDataStoreOperationsServiceTest {
         Entry entry = new Entry("testValue");
         Entry updatedEntry = new Entry("updatedValue");
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findById(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(entryRedisOperations.update(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.isNull())).thenReturn(Optional.empty());
         // 3. Perform action
         EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.update(entry.getValue(), updatedEntry);
         // 4. Assert results.
@@ -156,14 +174,36 @@ public class EntryDataStoreOperationsServiceTest {
         Entry entry = new Entry("testValue");
         Entry updatedEntry = new Entry("updatedValue");
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findById(Mockito.any())).thenReturn(Optional.of(entry));
-        Mockito.when(entryRepository.save(Mockito.any())).thenReturn(null);
+        Mockito.when(entryRedisOperations.update(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.isNull())).thenThrow(IllegalArgumentException.class);
         // 3. Perform action
         EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.update(entry.getValue(), updatedEntry);
         // 4. Assert results.
         Assertions.assertNull(entryActionResponse.getEntry() , "Assert update operation behavior is correct.");
     }
 
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#update(String, Entry, Long)} and
+     * {@link EntryDataStoreOperationsService#delete(Entry, Long)} when the version of the {@link Entry} doesn't match.
+     */
+    @Test
+    public void updateEntryVersionConflict() {
+        // 1. Setup test data.
+        Entry updatedEntry = new Entry("updatedValue", "1234");
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.update(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("conflict"));
+        Mockito.when(entryRedisOperations.delete(Mockito.any(), Mockito.any(), Mockito.eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("conflict"));
+        // 3. Perform action
+        EntryOperationResponse updateResponse = entryDataStoreOperationsService.update("testValue", updatedEntry, 2L);
+        EntryOperationResponse deleteResponse = entryDataStoreOperationsService.delete(updatedEntry, 2L);
+        // 4. Assert results.
+        Assertions.assertFalse(updateResponse.isSuccessfulOperation(), "Assert the update isn't applied.");
+        Assertions.assertTrue(updateResponse.isPreconditionFailed(), "Assert the update reports the version conflict.");
+        Assertions.assertFalse(deleteResponse.isSuccessfulOperation(), "Assert the delete isn't applied.");
+        Assertions.assertTrue(deleteResponse.isPreconditionFailed(), "Assert the delete reports the version conflict.");
+    }
+
     /**
      * Validate the behaviour of {@link EntryDataStoreOperationsService#update(String, Entry)} when {@link Entry} exists.
      */
@@ -179,10 +219,469 @@ public class EntryDataStoreOperationsServiceTest {
         expectedEntries.add(new Entry("c"));
 
         // 2. Setup mocks.
-        Mockito.when(entryRepository.findAll()).thenReturn(expectedEntries);
+        Mockito.doAnswer(invocation -> {
+            List<Entry> entries = invocation.getArgument(0);
+            entries.addAll(expectedEntries);
+            return null;
+        }).when(entryRedisOperations).getAll(Mockito.anyList());
         // 3. Perform action
         EntriesResponse actualEntriesResponse = entryDataStoreOperationsService.getAll();
         // 4. Assert results.
         Assertions.assertEquals(expectedEntries.size(), actualEntriesResponse.getEntries().size(), "Assert getAll operation behavior is correct.");
+        Assertions.assertEquals(expectedEntries.size(), actualEntriesResponse.getTotalEntries(), "Assert getAll operation behavior is correct.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#get(Entry)} reads the record of the value.
+     */
+    @Test
+    public void getEntrySuccess() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.get("testValue")).thenReturn(Optional.of(entry));
+        // 3. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.get(new Entry("testValue"));
+        // 4. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert get operation behavior is correct.");
+        Assertions.assertEquals(entry, entryActionResponse.getEntry(), "Assert get returned the Entry.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getById(String)} when the {@link Entry} exists.
+     */
+    @Test
+    public void getByIdSuccess() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.getById("1234")).thenReturn(Optional.of(entry));
+        // 3. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.getById("1234");
+        // 4. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert getById operation behavior is correct.");
+        Assertions.assertEquals(entry, entryActionResponse.getEntry(), "Assert getById returned the Entry.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getById(String)} when no {@link Entry} exists.
+     */
+    @Test
+    public void getByIdNoneExists() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.getById("1234")).thenReturn(Optional.empty());
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.getById("1234");
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert getById operation behavior is correct when no Entry exists.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getAllFromCursor(String, Integer)} when further pages exist.
+     */
+    @Test
+    public void getAllFromCursorNextPage() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.getValuesAfter("A", 3)).thenReturn(Arrays.asList("B", "C", "D"));
+        Mockito.doAnswer(invocation -> {
+            Collection<String> values = invocation.getArgument(0);
+            List<Entry> entries = invocation.getArgument(1);
+            values.forEach(value -> entries.add(new Entry(value)));
+            return null;
+        }).when(entryRedisOperations).getAll(Mockito.anyCollection(), Mockito.anyList());
+        // 2. Perform action
+        EntriesResponse actualEntriesResponse = entryDataStoreOperationsService.getAllFromCursor(EntryCursorUtils.encode("A"), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("B", "C"), actualEntriesResponse.getEntries().stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert getAllFromCursor operation behavior is correct.");
+        Assertions.assertEquals("C", EntryCursorUtils.decode(actualEntriesResponse.getNextCursor()), "Assert the next cursor is correct.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getAllFromCursor(String, Integer)} for the last page.
+     */
+    @Test
+    public void getAllFromCursorLastPage() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.getValuesAfter(null, 3)).thenReturn(Arrays.asList("A", "B"));
+        // 2. Perform action
+        EntriesResponse actualEntriesResponse = entryDataStoreOperationsService.getAllFromCursor(null, 2);
+        // 3. Assert results.
+        Assertions.assertNull(actualEntriesResponse.getNextCursor(), "Assert no next cursor is returned for the last page.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).getAll(Mockito.eq(Arrays.asList("A", "B")), Mockito.anyList());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getRange(String, String, boolean, Integer, Integer)} reads a page of the range.
+     */
+    @Test
+    public void getRangeSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.getValuesInRange("a", true, "b", false, 2L, 2)).thenReturn(Arrays.asList("ac", "ad"));
+        Mockito.when(entryRedisOperations.countValuesInRange("a", "b")).thenReturn(5L);
+        // 2. Perform action
+        EntriesResponse actualEntriesResponse = entryDataStoreOperationsService.getRange("a", "b", false, 1, 2);
+        // 3. Assert results.
+        Assertions.assertEquals(5, actualEntriesResponse.getTotalEntries(), "Assert the total entries of the range are correct.");
+        Assertions.assertEquals(3, actualEntriesResponse.getTotalPages(), "Assert the total pages of the range are correct.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).getAll(Mockito.eq(Arrays.asList("ac", "ad")), Mockito.anyList());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getRangeFromCursor(String, String, boolean, String, Integer)} starts after the cursor.
+     */
+    @Test
+    public void getRangeFromCursorNextPage() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.getValuesInRange("ab", false, "b", 0, 3)).thenReturn(Arrays.asList("ac", "ad", "ae"));
+        // 2. Perform action
+        EntriesResponse actualEntriesResponse = entryDataStoreOperationsService.getRangeFromCursor("a", "b", false, EntryCursorUtils.encode("ab"), 2);
+        // 3. Assert results.
+        Assertions.assertEquals("ad", EntryCursorUtils.decode(actualEntriesResponse.getNextCursor()), "Assert the next cursor is correct.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).getAll(Mockito.eq(Arrays.asList("ac", "ad")), Mockito.anyList());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#batch(List)} for a mixed batch of actions.
+     */
+    @Test
+    public void batchSuccess() {
+        // 1. Setup test data.
+        Entry addEntry = new Entry("A");
+        Entry updateEntry = new Entry("C", "1234");
+        Entry deleteEntry = new Entry("B", "5678");
+        List<EntryActionInput> actionInputs = Arrays.asList(
+                new EntryActionInput.EntryActionInputBuilder().withAction("Add").withEntry(addEntry).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Update").withKey("A").withEntry(updateEntry).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Delete").withEntry(deleteEntry).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Unknown").withEntry(new Entry("D")).build());
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.executeBatch(Mockito.anyList())).thenReturn(Arrays.asList(1L, "updated", "deleted"));
+        Mockito.when(entryRedisOperations.isInserted(1L)).thenReturn(true);
+        Mockito.when(entryRedisOperations.decodeResult(Mockito.eq("C"), Mockito.eq("updated"), Mockito.any())).thenReturn(Optional.of(updateEntry));
+        Mockito.when(entryRedisOperations.decodeResult(Mockito.eq("B"), Mockito.eq("deleted"), Mockito.any())).thenAnswer(invocation -> {
+            deleteEntry.getAudits().getAuditList().add(invocation.getArgument(2));
+            return Optional.of(deleteEntry);
+        });
+        // 3. Perform action
+        List<EntryOperationResponse> entryActionResponses = entryDataStoreOperationsService.batch(actionInputs);
+        // 4. Assert results.
+        Assertions.assertEquals(Arrays.asList(true, true, true, false),
+                entryActionResponses.stream().map(EntryOperationResponse::isSuccessfulOperation).collect(Collectors.toList()),
+                "Assert batch operation behavior is correct.");
+        Assertions.assertEquals("Add", addEntry.getAudits().getAuditList().get(0).getAction(), "Assert the add generated an Audit.");
+        Assertions.assertEquals("Delete", deleteEntry.getAudits().getAuditList().get(0).getAction(), "Assert the delete generated an Audit.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).executeBatch(Mockito.argThat(calls -> calls.size() == 3));
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).deleteCall(deleteEntry, deleteEntry.getAudits().getAuditList().get(0), null);
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#batch(List)} when an add fails.
+     */
+    @Test
+    public void batchAddAlreadyExists() {
+        // 1. Setup test data.
+        Entry addEntry = new Entry("A");
+        List<EntryActionInput> actionInputs = Arrays.asList(
+                new EntryActionInput.EntryActionInputBuilder().withAction("Add").withEntry(addEntry).build());
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.executeBatch(Mockito.anyList())).thenReturn(Arrays.asList(0L));
+        // 3. Perform action
+        List<EntryOperationResponse> entryActionResponses = entryDataStoreOperationsService.batch(actionInputs);
+        // 4. Assert results.
+        Assertions.assertFalse(entryActionResponses.get(0).isSuccessfulOperation(), "Assert batch operation behavior is correct when an Entry exists.");
+        Assertions.assertTrue(addEntry.getAudits().getAuditList().isEmpty(), "Assert the Audit of the failed add was removed.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getAudits(String, Integer, Integer)} reads a page of
+     * the audit log once the queued Audits are appended.
+     */
+    @Test
+    public void getAuditsSuccess() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        Audit audit = new Audit();
+        audit.setAuditId(3);
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.get("testValue")).thenReturn(Optional.of(entry));
+        Mockito.when(entryRedisOperations.getAuditPage("1234", 2L, 2)).thenReturn(new EntryAuditPage(Arrays.asList(audit), 0, 0));
+        // 3. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.getAudits("testValue", 1, 2);
+        // 4. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert getAudits operation behavior is correct.");
+        Assertions.assertEquals(Arrays.asList(audit), entryActionResponse.getEntry().getAudits().getAuditList(), "Assert the page of the audit log is returned.");
+        Assertions.assertNull(entryActionResponse.getAuditsIncomplete(), "Assert the complete page isn't marked incomplete.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).getAuditPage("1234", 2L, 2);
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getAudits(String, Integer, Integer)} marks a page
+     * incomplete on a node without the audit archive, when archived Audits are missing from the page.
+     */
+    @Test
+    public void getAuditsArchivedIncomplete() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        Audit audit = new Audit();
+        audit.setAuditId(4);
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.get("testValue")).thenReturn(Optional.of(entry));
+        Mockito.when(entryRedisOperations.getAuditPage("1234", 2L, 2)).thenReturn(new EntryAuditPage(Arrays.asList(audit), 3, 1));
+        // 3. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.getAudits("testValue", 1, 2);
+        // 4. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert getAudits operation behavior is correct.");
+        Assertions.assertEquals(Arrays.asList(audit), entryActionResponse.getEntry().getAudits().getAuditList(), "Assert the logged Audits are returned.");
+        Assertions.assertEquals(Boolean.TRUE, entryActionResponse.getAuditsIncomplete(), "Assert the page is marked incomplete.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getAudits(String, Integer, Integer)} when no {@link Entry} exists.
+     */
+    @Test
+    public void getAuditsNoneExists() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.get("testValue")).thenReturn(Optional.empty());
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.getAudits("testValue", 0, 2);
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert getAudits operation behavior is correct when no Entry exists.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getAuditsById(String, Integer, Integer)} reads the
+     * merged history of a deleted {@link Entry} from the {@link EntryAuditArchiver}.
+     */
+    @Test
+    public void getAuditsByIdDeletedSuccess() {
+        // 1. Setup test data.
+        Audit audit = new Audit();
+        audit.setAuditId(1);
+        EntryAuditArchiver entryAuditArchiver = Mockito.mock(EntryAuditArchiver.class);
+        entryDataStoreOperationsService.entryAuditArchiver = entryAuditArchiver;
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.getById("1234")).thenReturn(Optional.empty());
+        Mockito.when(entryAuditArchiver.getAudits("1234", 0L, 2)).thenReturn(new EntryAuditPage(Arrays.asList(audit), 1, 0));
+        // 3. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.getAuditsById("1234", 0, 2);
+        // 4. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert getAuditsById operation behavior is correct for a deleted Entry.");
+        Assertions.assertEquals("1234", entryActionResponse.getEntry().getId(), "Assert the id of the deleted Entry is returned.");
+        Assertions.assertEquals(Arrays.asList(audit), entryActionResponse.getEntry().getAudits().getAuditList(), "Assert the history is returned.");
+        Mockito.verify(entryRedisOperations, Mockito.never()).getAuditPage(Mockito.any(), Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getAuditsById(String, Integer, Integer)} when no
+     * {@link Entry} or history exists.
+     */
+    @Test
+    public void getAuditsByIdNoneExists() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.getById("1234")).thenReturn(Optional.empty());
+        Mockito.when(entryRedisOperations.getAuditPage("1234", 0L, 2)).thenReturn(new EntryAuditPage(new ArrayList<>(), 0, 0));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.getAuditsById("1234", 0, 2);
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert getAuditsById operation behavior is correct when no history exists.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#search(String, String, Integer)} reads a page of the matches after the cursor.
+     */
+    @Test
+    public void searchSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.searchValues("abc", "abc", 3)).thenReturn(Arrays.asList("abcd", "xabc", "zabc"));
+        // 2. Perform action
+        EntriesResponse actualEntriesResponse = entryDataStoreOperationsService.search("abc", EntryCursorUtils.encode("abc"), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(EntryCursorUtils.encode("xabc"), actualEntriesResponse.getNextCursor(), "Assert the next cursor of the search is correct.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).getAll(Mockito.eq(Arrays.asList("abcd", "xabc")), Mockito.anyList());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getModified(LocalDateTime, boolean, Integer, Integer)} reads a page of the last modified index.
+     */
+    @Test
+    public void getModifiedSuccess() {
+        // 1. Setup test data.
+        LocalDateTime modifiedSince = LocalDateTime.of(2021, 4, 1, 0, 0);
+        long since = EntryRedisOperations.toEpochMillis(modifiedSince);
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.getValuesModifiedSince(since, true, 2L, 2)).thenReturn(Arrays.asList("C", "B"));
+        Mockito.when(entryRedisOperations.countValuesModifiedSince(since)).thenReturn(5L);
+        // 3. Perform action
+        EntriesResponse actualEntriesResponse = entryDataStoreOperationsService.getModified(modifiedSince, true, 1, 2);
+        // 4. Assert results.
+        Assertions.assertEquals(5, actualEntriesResponse.getTotalEntries(), "Assert the total entries modified since the time are correct.");
+        Assertions.assertEquals(3, actualEntriesResponse.getTotalPages(), "Assert the total pages modified since the time are correct.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).getAll(Mockito.eq(Arrays.asList("C", "B")), Mockito.anyList());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getAll(Integer, Integer)} totals the page with the counted {@link Entry}.
+     */
+    @Test
+    public void getAllPageCountedSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.getValuesInRange(null, true, null, 2L, 2)).thenReturn(Arrays.asList("C", "D"));
+        Mockito.when(entryRedisOperations.countEntries()).thenReturn(5L);
+        // 2. Perform action
+        EntriesResponse actualEntriesResponse = entryDataStoreOperationsService.getAll(1, 2);
+        // 3. Assert results.
+        Assertions.assertEquals(5, actualEntriesResponse.getTotalEntries(), "Assert the total entries are the counted Entry.");
+        Assertions.assertEquals(3, actualEntriesResponse.getTotalPages(), "Assert the total pages are correct.");
+        Mockito.verify(entryRedisOperations, Mockito.never()).countValuesInRange(Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getStats()} reads the counters.
+     */
+    @Test
+    public void getStatsSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.getStats()).thenReturn(new EntryStatsResponse(2, 3, 1, 1, 0));
+        // 2. Perform action
+        EntryStatsResponse stats = entryDataStoreOperationsService.getStats();
+        // 3. Assert results.
+        Assertions.assertEquals(new EntryStatsResponse(2, 3, 1, 1, 0), stats, "Assert the counters are returned.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#expire(long, int)} removes the expired values of the expiry index.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void expireSuccess() {
+        // 1. Setup test data.
+        Entry expiredEntry = new Entry("A", "1234");
+        EntryScriptCall expireCall = Mockito.mock(EntryScriptCall.class);
+        EntryScriptCall missingRecordCall = Mockito.mock(EntryScriptCall.class);
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.getExpiredValues(5000L, 10)).thenReturn(Arrays.asList("A", "B"));
+        Mockito.doAnswer(invocation -> {
+            ((List<Entry>) invocation.getArgument(1)).add(new Entry("A", "1234"));
+            return null;
+        }).when(entryRedisOperations).getAll(Mockito.eq(Arrays.asList("A", "B")), Mockito.anyList());
+        Mockito.when(entryRedisOperations.expireCall(Mockito.eq(new Entry("A", "1234")), Mockito.any(), Mockito.eq(5000L))).thenReturn(expireCall);
+        Mockito.when(entryRedisOperations.expireCall(Mockito.eq(new Entry("B", null)), Mockito.any(), Mockito.eq(5000L))).thenReturn(missingRecordCall);
+        Mockito.when(entryRedisOperations.executeBatch(Arrays.asList(expireCall, missingRecordCall))).thenReturn(Arrays.asList("expired", null));
+        Mockito.when(entryRedisOperations.decodeResult(Mockito.eq("A"), Mockito.eq("expired"), Mockito.any())).thenAnswer(invocation -> {
+            expiredEntry.getAudits().getAuditList().add(invocation.getArgument(2));
+            return Optional.of(expiredEntry);
+        });
+        Mockito.when(entryRedisOperations.decodeResult(Mockito.eq("B"), Mockito.isNull(), Mockito.any())).thenReturn(Optional.empty());
+        // 3. Perform action
+        List<Entry> expiredEntries = entryDataStoreOperationsService.expire(5000L, 10);
+        // 4. Assert results.
+        Assertions.assertEquals(Arrays.asList(expiredEntry), expiredEntries, "Assert only the Entry removed by the script is returned.");
+        Assertions.assertEquals("Expire", expiredEntry.getAudits().getAuditList().get(0).getAction(), "Assert the expiry generated an Audit.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).expireCall(new Entry("A", "1234"), expiredEntry.getAudits().getAuditList().get(0), 5000L);
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#add(Entry, Long)} passes the expiry time of the time to live.
+     */
+    @Test
+    public void addEntryWithTtlSuccess() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        long before = System.currentTimeMillis();
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.insertIfAbsent(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
+        // 3. Perform action
+        EntryOperationResponse entryActionResponse = entryDataStoreOperationsService.add(entry, 60L);
+        // 4. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert add operation behavior is correct.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).insertIfAbsent(Mockito.eq(entry), Mockito.any(),
+                Mockito.longThat(expireAt -> expireAt >= before + 60_000 && expireAt <= System.currentTimeMillis() + 60_000));
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#get(Entry)} answers a value the {@link EntryValueFilter}
+     * knows is absent without reading the data store, and records a value it passed which wasn't found.
+     */
+    @Test
+    public void getEntryFilteredSuccess() {
+        // 1. Setup mocks.
+        entryDataStoreOperationsService.entryValueFilter = Mockito.mock(EntryValueFilter.class);
+        Mockito.when(entryDataStoreOperationsService.entryValueFilter.isAbsent("absentValue")).thenReturn(true);
+        Mockito.when(entryRedisOperations.get("missingValue")).thenReturn(Optional.empty());
+        // 2. Perform action
+        EntryOperationResponse absentResponse = entryDataStoreOperationsService.get(new Entry("absentValue"));
+        EntryOperationResponse missingResponse = entryDataStoreOperationsService.get(new Entry("missingValue"));
+        // 3. Assert results.
+        Assertions.assertFalse(absentResponse.isSuccessfulOperation(), "Assert the absent value isn't found.");
+        Assertions.assertFalse(missingResponse.isSuccessfulOperation(), "Assert the missing value isn't found.");
+        Mockito.verify(entryRedisOperations, Mockito.never()).get("absentValue");
+        Mockito.verify(entryDataStoreOperationsService.entryValueFilter, Mockito.times(1)).recordFalsePositive();
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#batch(List)} records the values added and removed
+     * by the successful actions with the {@link EntryValueFilter}.
+     */
+    @Test
+    public void batchRecordsFilterChanges() {
+        // 1. Setup test data.
+        Entry updateEntry = new Entry("C", "1234");
+        Entry deleteEntry = new Entry("B", "5678");
+        List<EntryActionInput> actionInputs = Arrays.asList(
+                new EntryActionInput.EntryActionInputBuilder().withAction("Add").withEntry(new Entry("A")).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Add").withEntry(new Entry("D")).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Update").withKey("E").withEntry(updateEntry).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Delete").withEntry(deleteEntry).build());
+        // 2. Setup mocks.
+        entryDataStoreOperationsService.entryValueFilter = Mockito.mock(EntryValueFilter.class);
+        Mockito.when(entryRedisOperations.executeBatch(Mockito.anyList())).thenReturn(Arrays.asList(1L, 0L, "updated", "deleted"));
+        Mockito.when(entryRedisOperations.isInserted(1L)).thenReturn(true);
+        Mockito.when(entryRedisOperations.decodeResult(Mockito.eq("C"), Mockito.eq("updated"), Mockito.any())).thenReturn(Optional.of(updateEntry));
+        Mockito.when(entryRedisOperations.decodeResult(Mockito.eq("B"), Mockito.eq("deleted"), Mockito.any())).thenReturn(Optional.of(deleteEntry));
+        // 3. Perform action
+        entryDataStoreOperationsService.batch(actionInputs);
+        // 4. Assert results.
+        Mockito.verify(entryDataStoreOperationsService.entryValueFilter, Mockito.times(1))
+                .recordChanges(Arrays.asList("A", "C"), Arrays.asList("E", "B"));
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryDataStoreOperationsService#getCreated(Collection)} reads the created time of
+     * the listed {@link Entry}, which hold no Audits, from the oldest Audit of each audit log, so a listing sorted by the
+     * created time isn't sorted by value.
+     */
+    @Test
+    public void getCreatedSortsByCreated() {
+        // 1. Setup test data.
+        List<Entry> entries = new ArrayList<>(Arrays.asList(new Entry("A", "1"), new Entry("B", "2"), new Entry("C", "3")));
+        LocalDateTime now = LocalDateTime.of(2021, 4, 1, 12, 0);
+        Map<String, Audit> firstAudits = new HashMap<>();
+        firstAudits.put("1", createAudit(now.minusDays(1)));
+        firstAudits.put("2", createAudit(now));
+        firstAudits.put("3", createAudit(now.minusDays(2)));
+        // 2. Setup mocks.
+        Mockito.when(entryRedisOperations.getFirstAudits(Arrays.asList("1", "2", "3"))).thenReturn(firstAudits);
+        // 3. Perform action
+        Map<String, LocalDateTime> created = entryDataStoreOperationsService.getCreated(entries);
+        EntrySortUtils.sort(entries, EntrySortUtils.SORT_CREATED, EntrySortUtils.DIRECTION_ASC, 0, created);
+        // 4. Assert results.
+        Assertions.assertEquals(now.minusDays(2), created.get("C"), "Assert the created time is read from the oldest Audit.");
+        Assertions.assertEquals(Arrays.asList("C", "A", "B"), entries.stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert the Entry are sorted by the created time rather than by value.");
+        Mockito.verify(entryRedisOperations, Mockito.times(1)).getFirstAudits(Mockito.anyCollection());
+    }
+
+    /**
+     * Creates an {@link Audit} with a timestamp.
+     *
+     * @param timestamp - The UTC {@link LocalDateTime} of the {@link Audit}.
+     * @return The {@link Audit}.
+     */
+    private Audit createAudit(LocalDateTime timestamp) {
+        Audit audit = new Audit();
+        audit.setAuditId(1);
+        audit.setTimestamp(timestamp);
+        return audit;
     }
 }
@@ -0,0 +1,96 @@
+package com.paulk.demo.dao;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test the {@link EntryExpiryWheel} class.
+ */
+public class EntryExpiryWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    /**
+     * Validate the behaviour of {@link EntryExpiryWheel#pollExpired(long, int)} never finds a value before it expires.
+     */
+    @Test
+    public void pollExpiredNotEarly() {
+        // 1. Setup test data.
+        EntryExpiryWheel expiryWheel = new EntryExpiryWheel(100, START);
+        expiryWheel.schedule("A", START + 150);
+        // 2. Perform action
+        List<String> beforeExpiry = expiryWheel.pollExpired(START + 149, 10);
+        List<String> atExpiry = expiryWheel.pollExpired(START + 150, 10);
+        List<String> afterTick = expiryWheel.pollExpired(START + 200, 10);
+        // 3. Assert results.
+        Assertions.assertTrue(beforeExpiry.isEmpty(), "Assert the value isn't found before it expires.");
+        Assertions.assertTrue(atExpiry.isEmpty(), "Assert the value isn't found before the tick of its expiry time has passed.");
+        Assertions.assertEquals(Collections.singletonList("A"), afterTick, "Assert the value is found once the tick has passed.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryExpiryWheel#pollExpired(long, int)} finds values held in the higher levels.
+     */
+    @Test
+    public void pollExpiredCascadesLevels() {
+        // 1. Setup test data.
+        EntryExpiryWheel expiryWheel = new EntryExpiryWheel(1, START);
+        List<Long> delays = Arrays.asList(1L, 63L, 64L, 65L, 4_095L, 4_096L, 300_000L, 20_000_000L);
+        for (Long delay : delays) {
+            expiryWheel.schedule(String.valueOf(delay), START + delay);
+        }
+        List<String> expectedValues = new ArrayList<>();
+        List<String> actualValues = new ArrayList<>();
+        // 2. Perform action
+        for (Long delay : delays) {
+            List<String> early = expiryWheel.pollExpired(START + delay - 1, 10);
+            actualValues.addAll(expiryWheel.pollExpired(START + delay, 10));
+            expectedValues.add(String.valueOf(delay));
+            // 3. Assert results.
+            Assertions.assertTrue(early.isEmpty(), "Assert no value is found before it expires for a delay of " + delay + ".");
+            Assertions.assertEquals(expectedValues, actualValues, "Assert the value is found once it expires for a delay of " + delay + ".");
+        }
+        Assertions.assertEquals(delays.size(), expiryWheel.size(), "Assert the values are kept until removed.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryExpiryWheel#pollExpired(long, int)} skips a value which was removed or moved,
+     * and keeps the values beyond the maximum for the next call.
+     */
+    @Test
+    public void pollExpiredLazyCancel() {
+        // 1. Setup test data.
+        EntryExpiryWheel expiryWheel = new EntryExpiryWheel(100, START);
+        expiryWheel.schedule("A", START + 1_000);
+        expiryWheel.schedule("B", START + 1_000);
+        expiryWheel.schedule("C", START + 1_000);
+        expiryWheel.schedule("D", START + 1_000);
+        expiryWheel.remove("A");
+        expiryWheel.move("B", "E");
+        expiryWheel.schedule("C", START + 60_000);
+        // 2. Perform action
+        List<String> firstValues = expiryWheel.pollExpired(START + 1_000, 1);
+        List<String> secondValues = expiryWheel.pollExpired(START + 1_000, 10);
+        List<String> laterValues = expiryWheel.pollExpired(START + 60_000, 10);
+        // 3. Assert results.
+        Assertions.assertEquals(Collections.singletonList("D"), firstValues, "Assert the removed and moved values are skipped.");
+        Assertions.assertEquals(Collections.singletonList("E"), secondValues, "Assert the value beyond the maximum is kept.");
+        Assertions.assertEquals(Collections.singletonList("C"), laterValues, "Assert the value scheduled again is found at its new expiry time.");
+        Assertions.assertNull(expiryWheel.getExpireAt("A"), "Assert the removed value never expires.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryExpiryWheel#toExpireAt(long, long)} saturates, and rejects a time to live which isn't positive.
+     */
+    @Test
+    public void toExpireAtSuccess() {
+        Assertions.assertEquals(START + 60_000, EntryExpiryWheel.toExpireAt(START, 60), "Assert the expiry time is correct.");
+        Assertions.assertEquals(Long.MAX_VALUE, EntryExpiryWheel.toExpireAt(START, Long.MAX_VALUE), "Assert the expiry time saturates.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EntryExpiryWheel.toExpireAt(START, 0), "Assert a time to live of 0 is rejected.");
+    }
+}
@@ -0,0 +1,937 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryBinaryUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Test the {@link EntryRedisOperations} class.
+ */
+public class EntryRedisOperationsTest {
+
+    @Mock
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    DemoApplicationConfig demoApplicationConfig;
+
+    @InjectMocks
+    EntryRedisOperations entryRedisOperations;
+
+    private HashEntryCodec hashEntryCodec;
+
+    private Entry entry;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        MappingRedisConverter redisConverter = new MappingRedisConverter(new RedisMappingContext());
+        redisConverter.afterPropertiesSet();
+        hashEntryCodec = new HashEntryCodec();
+        hashEntryCodec.redisConverter = redisConverter;
+        entryRedisOperations.entryCodecs = Arrays.asList(hashEntryCodec, new BinaryEntryCodec());
+        entryRedisOperations.meterRegistry = new SimpleMeterRegistry();
+        Mockito.when(demoApplicationConfig.getBulkReadBatchSize()).thenReturn(2);
+        Mockito.when(demoApplicationConfig.getBulkWriteBatchSize()).thenReturn(2);
+
+        entry = new Entry("testValue", "1234");
+        Audits audits = entry.getAudits();
+        audits.getAuditList().add(audits.createAudit(audits, "Add"));
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#insertIfAbsent(Entry, Audit, Long)} when the script inserts the {@link Entry}.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void insertIfAbsentSuccess() {
+        // 1. Setup test data.
+        Audit audit = entry.getAudits().getAuditList().get(0);
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(5L);
+        // 3. Perform action
+        boolean inserted = entryRedisOperations.insertIfAbsent(entry, audit, null);
+        // 4. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object> argumentsCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), keysCaptor.capture(), argumentsCaptor.capture());
+        Assertions.assertTrue(inserted, "Assert insert operation behavior is correct.");
+        Assertions.assertEquals(Integer.valueOf(5), audit.getAuditId(), "Assert the audit id assigned by the script is set.");
+        Assertions.assertEquals(Arrays.asList("Entry:testValue", "Entry", "EntryIndex:value", "EntryIndex:id",
+                "EntryIndex:document", "EntryIndex:documentValue", "EntryIndex:documentSequence", "EntryAuditSequence:1234",
+                "EntryIndex:modified", "EntryStats", "EntryIndex:expiry", "EntryAudit:1234", "EntryIndex:trigram:tes", "EntryIndex:trigram:est", "EntryIndex:trigram:stv", "EntryIndex:trigram:tva", "EntryIndex:trigram:val", "EntryIndex:trigram:alu", "EntryIndex:trigram:lue"), keysCaptor.getValue(), "Assert the hash, index, audit log and trigram keys are correct.");
+        Assertions.assertFalse(argumentsCaptor.getAllValues().stream()
+                        .anyMatch(argument -> String.valueOf(argument instanceof byte[] ? new String((byte[]) argument, StandardCharsets.UTF_8) : argument).startsWith("audits.")),
+                "Assert the Audits are not written to the record.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#insertIfAbsent(Entry, Audit, Long)} when an {@link Entry} already exists.
+     */
+    @Test
+    public void insertIfAbsentAlreadyExists() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(0L);
+        // 2. Perform action
+        boolean inserted = entryRedisOperations.insertIfAbsent(entry, new Audit(), null);
+        // 3. Assert results.
+        Assertions.assertFalse(inserted, "Assert insert operation behavior is correct when a duplicate exists.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#insertIfAbsent(Entry, Audit, Long)} when the value is missing.
+     */
+    @Test
+    public void insertIfAbsentNullValue() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> entryRedisOperations.insertIfAbsent(new Entry(), new Audit(), null),
+                "Assert insert operation rejects a missing value.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#update(String, Entry, Audit, Long)} when the script updates the {@link Entry}.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void updateSuccess() {
+        // 1. Setup test data.
+        Entry updatedEntry = new Entry("updatedValue", "1234");
+        List<Object> updatedFields = new ArrayList<>(hashEntryCodec.encode(updatedEntry));
+        updatedFields.add(0, 3L);
+        Audit audit = new Audit();
+        audit.setAction("Update");
+        audit.setTimestamp(LocalDateTime.now());
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(updatedFields);
+        // 3. Perform action
+        Optional<Entry> actualEntry = entryRedisOperations.update("testValue", updatedEntry, audit, null);
+        // 4. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), keysCaptor.capture(), ArgumentMatchers.<Object[]>any());
+        Assertions.assertEquals(Optional.of(updatedEntry), actualEntry, "Assert update operation behavior is correct.");
+        Assertions.assertEquals(Integer.valueOf(3), audit.getAuditId(), "Assert the audit id assigned by the script is set.");
+        Assertions.assertEquals(Long.valueOf(3L), actualEntry.get().getVersion(), "Assert the version is the audit id assigned by the script.");
+        Assertions.assertEquals(Arrays.asList(audit), actualEntry.get().getAudits().getAuditList(), "Assert the Audit is returned with the Entry.");
+        Assertions.assertEquals(Arrays.asList("Entry:testValue", "Entry:updatedValue", "Entry", "EntryIndex:value", "EntryIndex:id",
+                "EntryIndex:document", "EntryIndex:documentValue", "EntryIndex:documentSequence", "EntryAuditSequence:1234",
+                "EntryIndex:modified", "EntryStats", "EntryIndex:expiry", "EntryAudit:1234", "EntryIndex:trigram:tes", "EntryIndex:trigram:est", "EntryIndex:trigram:stv", "EntryIndex:trigram:tva",
+                "EntryIndex:trigram:upd", "EntryIndex:trigram:pda", "EntryIndex:trigram:dat", "EntryIndex:trigram:ate", "EntryIndex:trigram:ted", "EntryIndex:trigram:edv", "EntryIndex:trigram:dva",
+                "EntryIndex:trigram:val", "EntryIndex:trigram:alu", "EntryIndex:trigram:lue"), keysCaptor.getValue(),
+                "Assert only the changed trigram keys are removed and added before the kept trigram keys.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#update(String, Entry, Audit, Long)} when the {@link Entry} doesn't exist.
+     */
+    @Test
+    public void updateNoneExists() {
+        // 1. Setup test data.
+        Audit audit = new Audit();
+        audit.setAction("Update");
+        audit.setTimestamp(LocalDateTime.now());
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(new ArrayList<>());
+        // 3. Perform action
+        Optional<Entry> actualEntry = entryRedisOperations.update("testValue", new Entry("updatedValue", "1234"), audit, null);
+        // 4. Assert results.
+        Assertions.assertFalse(actualEntry.isPresent(), "Assert update operation behavior is correct when no Entry exists.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#update(String, Entry, Audit, Long)} when the version of the stored {@link Entry} doesn't match.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void updateVersionConflict() {
+        // 1. Setup test data.
+        Audit audit = new Audit();
+        audit.setAction("Update");
+        audit.setTimestamp(LocalDateTime.now());
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(new ArrayList<>(Collections.singletonList(0L)));
+        // 3. Perform action
+        Assertions.assertThrows(OptimisticLockingFailureException.class,
+                () -> entryRedisOperations.update("testValue", new Entry("updatedValue", "1234"), audit, 7L),
+                "Assert a version conflict is thrown.");
+        // 4. Assert results.
+        ArgumentCaptor<Object> argumentsCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.anyList(), argumentsCaptor.capture());
+        List<Object> arguments = argumentsCaptor.getAllValues();
+        Assertions.assertEquals("7", new String((byte[]) arguments.get(6), StandardCharsets.UTF_8),
+                "Assert the expected version is passed to the script.");
+        Assertions.assertNull(audit.getAuditId(), "Assert no audit id is assigned.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#isVersionConflict(Object)} only accepts the version conflict result.
+     */
+    @Test
+    public void isVersionConflictSuccess() {
+        Assertions.assertTrue(entryRedisOperations.isVersionConflict(Collections.singletonList(0L)), "Assert {0} is a version conflict.");
+        Assertions.assertFalse(entryRedisOperations.isVersionConflict(new ArrayList<>()), "Assert an empty result isn't a version conflict.");
+        Assertions.assertFalse(entryRedisOperations.isVersionConflict(Arrays.asList(2L, "id", "1234")), "Assert an applied result isn't a version conflict.");
+        Assertions.assertEquals("5", new String((byte[]) entryRedisOperations.deleteCall(entry, new Audit(), 5L).getArguments().get(3), StandardCharsets.UTF_8),
+                "Assert the expected version is passed to the delete script.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#delete(Entry, Audit, Long)} when the script deletes the {@link Entry}.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void deleteSuccess() {
+        // 1. Setup test data.
+        List<Object> deletedFields = new ArrayList<>(hashEntryCodec.encode(new Entry("testValue", "1234")));
+        deletedFields.add(0, 2L);
+        Audit audit = new Audit();
+        audit.setAction("Delete");
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(deletedFields);
+        // 3. Perform action
+        Optional<Entry> actualEntry = entryRedisOperations.delete(entry, audit, null);
+        // 4. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), keysCaptor.capture(), ArgumentMatchers.<Object[]>any());
+        Assertions.assertEquals(Optional.of(entry), actualEntry, "Assert delete operation behavior is correct.");
+        Assertions.assertEquals(Integer.valueOf(2), audit.getAuditId(), "Assert the audit id assigned by the script is set.");
+        Assertions.assertEquals(Arrays.asList("Entry:testValue", "Entry", "EntryIndex:value", "EntryIndex:id",
+                "EntryIndex:document", "EntryIndex:documentValue", "EntryAuditSequence:1234", "EntryIndex:modified", "EntryStats", "EntryIndex:expiry", "EntryAudit:1234", "EntryIndex:trigram:tes", "EntryIndex:trigram:est", "EntryIndex:trigram:stv", "EntryIndex:trigram:tva", "EntryIndex:trigram:val", "EntryIndex:trigram:alu", "EntryIndex:trigram:lue"), keysCaptor.getValue(),
+                "Assert the record, index, audit log and trigram keys are correct.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#delete(Entry, Audit, Long)} when the {@link Entry} doesn't exist.
+     */
+    @Test
+    public void deleteNoneExists() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(new ArrayList<>());
+        // 2. Perform action
+        Optional<Entry> actualEntry = entryRedisOperations.delete(entry, new Audit(), null);
+        // 3. Assert results.
+        Assertions.assertFalse(actualEntry.isPresent(), "Assert delete operation behavior is correct when no Entry exists.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#addToIdIndex(List)} indexes a batch with the index script, which reads the ids itself.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void addToIdIndexSuccess() {
+        // 1. Perform action
+        entryRedisOperations.addToIdIndex(Arrays.asList("A", "B"));
+        // 2. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object> argumentsCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.eq(hashEntryCodec.getIndexScript()), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), keysCaptor.capture(), argumentsCaptor.capture());
+        Mockito.verify(redisTemplate, Mockito.never()).execute(ArgumentMatchers.<RedisCallback<Object>>any());
+        Assertions.assertEquals(Arrays.asList("Entry", "EntryIndex:id", "Entry:A", "Entry:B"), keysCaptor.getValue(),
+                "Assert the keyspace index, the id index and the record keys are passed to the script.");
+        Assertions.assertEquals(Arrays.asList("id", "A", "B"), argumentsCaptor.getAllValues().stream()
+                        .map(argument -> new String((byte[]) argument, StandardCharsets.UTF_8)).collect(Collectors.toList()),
+                "Assert the index type and the values are passed to the script.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#addToModifiedIndex(List)} passes the values still read with their scores to the index script.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void addToModifiedIndexSkipsMissing() {
+        // 1. Setup test data.
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        List<byte[]> encoded = hashEntryCodec.encode(new Entry("A", "1"));
+        for (int index = 0; index < encoded.size(); index += 2) {
+            fields.put(encoded.get(index), encoded.get(index + 1));
+        }
+        Audit audit = new Audit();
+        audit.setAuditId(1);
+        audit.setAction("Add");
+        audit.setTimestamp(LocalDateTime.of(2020, 1, 1, 0, 0));
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList(fields, new LinkedHashMap<>()), Arrays.asList(EntryBinaryUtils.toCompactBytes(audit), null));
+        // 3. Perform action
+        entryRedisOperations.addToModifiedIndex(Arrays.asList("A", "B"));
+        // 4. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object> argumentsCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.eq(hashEntryCodec.getIndexScript()), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), keysCaptor.capture(), argumentsCaptor.capture());
+        Assertions.assertEquals(Arrays.asList("Entry", "EntryIndex:modified", "Entry:A"), keysCaptor.getValue(),
+                "Assert only the record read is passed to the script.");
+        Assertions.assertEquals(Arrays.asList("modified", "A", String.valueOf(LocalDateTime.of(2020, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli())),
+                argumentsCaptor.getAllValues().stream().map(argument -> new String((byte[]) argument, StandardCharsets.UTF_8)).collect(Collectors.toList()),
+                "Assert the value is passed with the time of its latest Audit.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getAll(List)} reads the {@link Entry} objects in pipelined batches.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getAllSuccess() {
+        // 1. Setup test data.
+        Set<byte[]> members = new LinkedHashSet<>();
+        List<Object> firstBatch = new ArrayList<>();
+        List<Object> secondBatch = new ArrayList<>();
+        for (String value : Arrays.asList("A", "B", "C")) {
+            members.add(value.getBytes(StandardCharsets.UTF_8));
+            Map<byte[], byte[]> fields = new LinkedHashMap<>();
+            List<byte[]> encoded = hashEntryCodec.encode(new Entry(value));
+            for (int index = 0; index < encoded.size(); index += 2) {
+                fields.put(encoded.get(index), encoded.get(index + 1));
+            }
+            (value.equals("C") ? secondBatch : firstBatch).add(fields);
+        }
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any())).thenReturn(members, firstBatch, secondBatch);
+        // 3. Perform action
+        List<Entry> entries = new ArrayList<>();
+        entryRedisOperations.getAll(entries);
+        // 4. Assert results.
+        Mockito.verify(redisTemplate, Mockito.times(3)).execute(ArgumentMatchers.<RedisCallback<Object>>any());
+        Assertions.assertEquals(Arrays.asList("A", "B", "C"), entries.stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert getAll operation behavior is correct.");
+        Assertions.assertEquals(3.0, entryRedisOperations.meterRegistry.summary(EntryRedisOperations.BULK_READ_ROUND_TRIPS_METRIC).totalAmount(),
+                "Assert the round trips are reported.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getAll(Collection, List)} skips values without an {@link Entry}.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getAllByValuesSkipsMissing() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList(new LinkedHashMap<>(), null));
+        // 2. Perform action
+        List<Entry> entries = new ArrayList<>();
+        entryRedisOperations.getAll(Arrays.asList("A", "B"), entries);
+        // 3. Assert results.
+        Assertions.assertTrue(entries.isEmpty(), "Assert getAll operation behavior is correct when no Entry exists.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getById(String)} resolves the value from the id index.
+     */
+    @Test
+    public void getByIdSuccess() {
+        // 1. Setup test data.
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        List<byte[]> encoded = hashEntryCodec.encode(entry);
+        for (int index = 0; index < encoded.size(); index += 2) {
+            fields.put(encoded.get(index), encoded.get(index + 1));
+        }
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList("testValue".getBytes(StandardCharsets.UTF_8), "3".getBytes(StandardCharsets.UTF_8)), fields);
+        // 3. Perform action
+        Optional<Entry> actualEntry = entryRedisOperations.getById("1234");
+        // 4. Assert results.
+        Assertions.assertEquals(Optional.of(entry), actualEntry, "Assert getById operation behavior is correct.");
+        Assertions.assertEquals(Long.valueOf(3L), actualEntry.get().getVersion(), "Assert the version is read from the audit sequence.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getById(String)} reads the record in the selected binary layout.
+     */
+    @Test
+    public void getByIdBinarySuccess() {
+        // 1. Setup mocks.
+        Mockito.when(demoApplicationConfig.getEntryCodec()).thenReturn(BinaryEntryCodec.NAME);
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList("testValue".getBytes(StandardCharsets.UTF_8), "3".getBytes(StandardCharsets.UTF_8)),
+                        new BinaryEntryCodec().encode(entry).get(0));
+        // 2. Perform action
+        Optional<Entry> actualEntry = entryRedisOperations.getById("1234");
+        // 3. Assert results.
+        Assertions.assertEquals(Optional.of(entry), actualEntry, "Assert getById operation behavior is correct for the binary layout.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getVersionById(String, String)} reads the version without the
+     * record, and only for the expected value.
+     */
+    @Test
+    public void getVersionByIdSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList("testValue".getBytes(StandardCharsets.UTF_8), "3".getBytes(StandardCharsets.UTF_8)));
+        // 2. Perform action
+        Optional<Long> version = entryRedisOperations.getVersionById("1234", "testValue");
+        Optional<Long> otherValueVersion = entryRedisOperations.getVersionById("1234", "otherValue");
+        // 3. Assert results.
+        Assertions.assertEquals(Optional.of(3L), version, "Assert the version is read from the audit sequence.");
+        Assertions.assertFalse(otherValueVersion.isPresent(), "Assert no version is read for another value.");
+        Mockito.verify(redisTemplate, Mockito.times(2)).execute(ArgumentMatchers.<RedisCallback<Object>>any());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getById(String)} when the id isn't indexed.
+     */
+    @Test
+    public void getByIdNoneExists() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any())).thenReturn(null);
+        // 2. Perform action
+        Optional<Entry> actualEntry = entryRedisOperations.getById("1234");
+        // 3. Assert results.
+        Assertions.assertFalse(actualEntry.isPresent(), "Assert getById operation behavior is correct when no Entry exists.");
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisCallback<Object>>any());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getById(String)} when the {@link Entry} was replaced after the index read.
+     */
+    @Test
+    public void getByIdMismatch() {
+        // 1. Setup test data.
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        List<byte[]> encoded = hashEntryCodec.encode(new Entry("testValue", "5678"));
+        for (int index = 0; index < encoded.size(); index += 2) {
+            fields.put(encoded.get(index), encoded.get(index + 1));
+        }
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList("testValue".getBytes(StandardCharsets.UTF_8), null), fields);
+        // 3. Perform action
+        Optional<Entry> actualEntry = entryRedisOperations.getById("1234");
+        // 4. Assert results.
+        Assertions.assertFalse(actualEntry.isPresent(), "Assert getById operation behavior is correct when the id doesn't match.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#migrateLayout()} when the records are already in the selected layout.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void migrateLayoutAlreadyConverted() {
+        // 1. Setup mocks.
+        ValueOperations<String, Object> valueOperations = Mockito.mock(ValueOperations.class);
+        Mockito.when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        Mockito.when(valueOperations.get(EntryRedisOperations.LAYOUT_KEY)).thenReturn(HashEntryCodec.NAME + ":2");
+        // 2. Perform action
+        long migrated = entryRedisOperations.migrateLayout();
+        // 3. Assert results.
+        Assertions.assertEquals(0, migrated, "Assert no record is converted.");
+        Mockito.verify(redisTemplate, Mockito.never()).opsForSet();
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getAudits(String, long, int)} decodes a page of the audit log.
+     */
+    @Test
+    public void getAuditsSuccess() {
+        // 1. Setup test data.
+        Audit audit = entry.getAudits().getAuditList().get(0);
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList(EntryBinaryUtils.toCompactBytes(audit)));
+        // 3. Perform action
+        List<Audit> audits = entryRedisOperations.getAudits("1234", 0, 10);
+        // 4. Assert results.
+        Assertions.assertEquals(1, audits.size(), "Assert the page of the audit log is returned.");
+        Assertions.assertEquals(audit.getAuditId(), audits.get(0).getAuditId(), "Assert the audit id is decoded.");
+        Assertions.assertEquals(audit.getAction(), audits.get(0).getAction(), "Assert the action is decoded.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getFirstAudits(Collection)} decodes the oldest Audit of each
+     * audit log, without the ids with no audit log.
+     */
+    @Test
+    public void getFirstAuditsSuccess() {
+        // 1. Setup test data.
+        Audit audit = entry.getAudits().getAuditList().get(0);
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList(EntryBinaryUtils.toCompactBytes(audit), null));
+        // 3. Perform action
+        Map<String, Audit> firstAudits = entryRedisOperations.getFirstAudits(Arrays.asList("1234", "5678", "1234"));
+        // 4. Assert results.
+        Assertions.assertEquals(Collections.singleton("1234"), firstAudits.keySet(), "Assert only the ids with an audit log are returned.");
+        Assertions.assertEquals(audit.getAuditId(), firstAudits.get("1234").getAuditId(), "Assert the audit id is decoded.");
+        Assertions.assertEquals(audit.getAction(), firstAudits.get("1234").getAction(), "Assert the action is decoded.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#deleteCall(Entry, Audit, Long)} passes the audit log, the
+     * {@link Audit} without its audit id and the retention of the audit log to the script, and keeps every {@link Audit}
+     * while the audit archive is enabled.
+     */
+    @Test
+    public void deleteCallAuditLog() {
+        // 1. Setup test data.
+        Audit deleteAudit = new Audit();
+        deleteAudit.setAuditId(2);
+        deleteAudit.setAction("Delete");
+        deleteAudit.setTimestamp(LocalDateTime.of(2021, 4, 1, 12, 0));
+        // 2. Setup mocks.
+        Mockito.when(demoApplicationConfig.getAuditLogMaxLength()).thenReturn(100);
+        Mockito.when(demoApplicationConfig.getAuditLogDeletedTtlSeconds()).thenReturn(60L);
+        // 3. Perform action
+        EntryScriptCall deleteCall = entryRedisOperations.deleteCall(entry, deleteAudit, null);
+        Mockito.when(demoApplicationConfig.getAuditArchiveEnabled()).thenReturn(true);
+        EntryScriptCall archivedCall = entryRedisOperations.deleteCall(entry, deleteAudit, null);
+        // 4. Assert results.
+        byte[] encodedAudit = (byte[]) deleteCall.getArguments().get(4);
+        Audit decodedAudit = EntryBinaryUtils.fromCompactBytes(encodedAudit);
+        Assertions.assertEquals("EntryAudit:1234", deleteCall.getKeys().get(10), "Assert the audit log key is passed to the script.");
+        Assertions.assertEquals(0, encodedAudit[0], "Assert the Audit is encoded without its audit id.");
+        Assertions.assertEquals("Delete", decodedAudit.getAction(), "Assert the action is encoded.");
+        Assertions.assertEquals(deleteAudit.getTimestamp(), decodedAudit.getTimestamp(), "Assert the timestamp is encoded.");
+        Assertions.assertEquals(Arrays.asList("100", "60"), toStrings(deleteCall.getArguments().subList(5, 7)),
+                "Assert the maximum length and the retention of a deleted audit log are passed to the script.");
+        Assertions.assertEquals(Arrays.asList("0", "0"), toStrings(archivedCall.getArguments().subList(5, 7)),
+                "Assert every Audit is kept while the audit archive is enabled.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#updateCall(String, Entry, Audit, Long)} and
+     * {@link EntryRedisOperations#deleteCall(Entry, Audit, Long)} keep the whole history of an {@link Entry} with more than 1000
+     * updates under the defaults, both of application.properties and of the {@link DemoApplicationConfig}.
+     */
+    @Test
+    public void defaultRetentionKeepsHistory() throws IOException {
+        // 1. Setup test data.
+        Properties applicationProperties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        for (Properties properties : Arrays.asList(applicationProperties, new Properties())) {
+            entryRedisOperations.demoApplicationConfig = createConfig(properties);
+            // 2. Perform action
+            Set<String> maxLengths = new LinkedHashSet<>();
+            for (int update = 0; update < 1001; update++) {
+                Audit updateAudit = new Audit();
+                updateAudit.setAuditId(update + 2);
+                updateAudit.setAction("Update");
+                EntryScriptCall updateCall = entryRedisOperations.updateCall("value-" + update, new Entry("value-" + (update + 1), "1234"), updateAudit, null);
+                maxLengths.add(new String((byte[]) updateCall.getArguments().get(8), StandardCharsets.UTF_8));
+            }
+            EntryScriptCall deleteCall = entryRedisOperations.deleteCall(new Entry("value-1001", "1234"), new Audit(), null);
+            // 3. Assert results.
+            Assertions.assertEquals(Collections.singleton("0"), maxLengths, "Assert no update trims the audit log by default.");
+            Assertions.assertEquals(Arrays.asList("0", "0"), toStrings(deleteCall.getArguments().subList(5, 7)),
+                    "Assert the audit log of a deleted Entry is neither trimmed nor expired by default.");
+        }
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#trimAuditLog(String, int, Audit)} checks the last archived
+     * {@link Audit} with the trim script.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void trimAuditLogSuccess() {
+        // 1. Setup test data.
+        Audit audit = entry.getAudits().getAuditList().get(0);
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(1L);
+        // 3. Perform action
+        boolean trimmed = entryRedisOperations.trimAuditLog("1234", 3, audit);
+        // 4. Assert results.
+        Assertions.assertTrue(trimmed, "Assert the audit log was trimmed.");
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), ArgumentMatchers.eq(Arrays.asList("EntryAudit:1234", "EntryIndex:auditArchived")),
+                ArgumentMatchers.eq("3".getBytes(StandardCharsets.UTF_8)), ArgumentMatchers.eq(EntryBinaryUtils.toCompactBytes(audit)),
+                ArgumentMatchers.eq("1234".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getAuditPage(String, long, int)} counts the archived
+     * {@link Audit} objects of the page as missing, ahead of the {@link Audit} objects of the audit log.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void getAuditPageSuccess() {
+        // 1. Setup test data.
+        Audit audit = entry.getAudits().getAuditList().get(0);
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.eq(Arrays.asList("EntryAudit:1234", "EntryIndex:auditArchived")),
+                ArgumentMatchers.<Object[]>any()))
+                .thenReturn(Arrays.asList("3".getBytes(StandardCharsets.UTF_8), EntryBinaryUtils.toCompactBytes(audit)));
+        // 3. Perform action
+        EntryAuditPage page = entryRedisOperations.getAuditPage("1234", 1, 3);
+        // 4. Assert results.
+        Assertions.assertEquals(3, page.getArchivedCount(), "Assert the archived count is read.");
+        Assertions.assertEquals(2, page.getMissingCount(), "Assert the archived Audits of the page are missing.");
+        Assertions.assertEquals(Collections.singletonList(audit.getAuditId()), page.getAudits().stream().map(Audit::getAuditId).collect(Collectors.toList()),
+                "Assert the logged Audits follow.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#claimAuditArchive(String, long)} and
+     * {@link EntryRedisOperations#releaseAuditArchive(String)} pass the owner of the audit archive to the claim script.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void claimAuditArchiveSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(0L);
+        // 2. Perform action
+        boolean claimed = entryRedisOperations.claimAuditArchive("host:/archive", 60_000);
+        entryRedisOperations.releaseAuditArchive("host:/archive");
+        // 3. Assert results.
+        Assertions.assertFalse(claimed, "Assert the archive held by another node isn't claimed.");
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), ArgumentMatchers.eq(Collections.singletonList("EntryIndex:auditArchiveOwner")),
+                ArgumentMatchers.eq("host:/archive".getBytes(StandardCharsets.UTF_8)), ArgumentMatchers.eq("60000".getBytes(StandardCharsets.UTF_8)));
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), ArgumentMatchers.eq(Collections.singletonList("EntryIndex:auditArchiveOwner")),
+                ArgumentMatchers.eq("host:/archive".getBytes(StandardCharsets.UTF_8)), ArgumentMatchers.eq("0".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getEntryCodec()} when no codec has the selected name.
+     */
+    @Test
+    public void getEntryCodecUnknown() {
+        // 1. Setup mocks.
+        Mockito.when(demoApplicationConfig.getEntryCodec()).thenReturn("unknown");
+        // 2. Perform action and assert results.
+        Assertions.assertThrows(IllegalStateException.class, () -> entryRedisOperations.insertIfAbsent(entry, new Audit(), null),
+                "Assert an unknown codec is rejected.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#executeBatch(List)} returns the script results in pipelined batches.
+     */
+    @Test
+    public void executeBatchSuccess() {
+        // 1. Setup test data.
+        List<EntryScriptCall> calls = Arrays.asList(entryRedisOperations.insertIfAbsentCall(new Entry("A"), new Audit(), null),
+                entryRedisOperations.insertIfAbsentCall(new Entry("B"), new Audit(), null), entryRedisOperations.insertIfAbsentCall(new Entry("C"), new Audit(), null));
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList("sha", 1L, 0L), Arrays.asList("sha", new RuntimeException()));
+        // 3. Perform action
+        List<Object> results = entryRedisOperations.executeBatch(calls);
+        // 4. Assert results.
+        Mockito.verify(redisTemplate, Mockito.times(2)).execute(ArgumentMatchers.<RedisCallback<Object>>any());
+        Assertions.assertEquals(Arrays.asList(1L, 0L, null), results, "Assert executeBatch operation behavior is correct.");
+        Assertions.assertTrue(entryRedisOperations.isInserted(results.get(0)), "Assert the first Entry was inserted.");
+        Assertions.assertFalse(entryRedisOperations.isInserted(results.get(2)), "Assert a failed call was not inserted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#searchValues(String, String, int)} checks the candidates of the
+     * trigram index when they are few, keeping only the first values after the last value.
+     */
+    @Test
+    public void searchValuesSuccess() {
+        // 1. Setup test data.
+        Set<byte[]> documents = new LinkedHashSet<>(Arrays.asList("1".getBytes(StandardCharsets.UTF_8),
+                "2".getBytes(StandardCharsets.UTF_8), "3".getBytes(StandardCharsets.UTF_8)));
+        // 2. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList(5L, 3L), "100".getBytes(StandardCharsets.UTF_8), documents,
+                        Arrays.asList("xTESTx".getBytes(StandardCharsets.UTF_8), "tsetset".getBytes(StandardCharsets.UTF_8)),
+                        Arrays.asList("aTest".getBytes(StandardCharsets.UTF_8)));
+        // 3. Perform action
+        List<String> values = entryRedisOperations.searchValues("test", "a", 1);
+        // 4. Assert results.
+        Mockito.verify(redisTemplate, Mockito.times(5)).execute(ArgumentMatchers.<RedisCallback<Object>>any());
+        Assertions.assertEquals(Collections.singletonList("aTest"), values,
+                "Assert only the first candidate containing the query after the last value is returned.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#searchValues(String, String, int)} walks the sorted value index
+     * when the candidates are dense, stopping once the values are found.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void searchValuesScansValueIndex() {
+        // 1. Setup mocks.
+        ZSetOperations<String, Object> zSetOperations = Mockito.mock(ZSetOperations.class);
+        Mockito.when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Collections.singletonList(3L), "4".getBytes(StandardCharsets.UTF_8));
+        Mockito.when(zSetOperations.rangeByLex(ArgumentMatchers.eq("EntryIndex:value"), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("aTest", "b")), new LinkedHashSet<>(Arrays.asList("xTESTx", "yTest")));
+        // 2. Perform action
+        List<String> values = entryRedisOperations.searchValues("test", null, 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("aTest", "xTESTx"), values, "Assert the values containing the query are returned in order.");
+        Mockito.verify(zSetOperations, Mockito.times(2)).rangeByLex(ArgumentMatchers.eq("EntryIndex:value"), ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.verify(redisTemplate, Mockito.times(2)).execute(ArgumentMatchers.<RedisCallback<Object>>any());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#searchValues(String, String, int)} when the query is shorter than a trigram.
+     */
+    @Test
+    public void searchValuesTooShort() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> entryRedisOperations.searchValues("ab", null, 1),
+                "Assert search operation rejects a query without a trigram.");
+        Mockito.verifyNoInteractions(redisTemplate);
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getValuesModifiedSince(Long, boolean, long, int)} reads a page of the last modified index.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getValuesModifiedSinceSuccess() {
+        // 1. Setup mocks.
+        ZSetOperations<String, Object> zSetOperations = Mockito.mock(ZSetOperations.class);
+        Mockito.when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        Mockito.when(zSetOperations.reverseRangeByScore("EntryIndex:modified", 1000, Double.POSITIVE_INFINITY, 2, 2))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("c", "b")));
+        Mockito.when(zSetOperations.count("EntryIndex:modified", Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY)).thenReturn(5L);
+        // 2. Perform action
+        List<String> values = entryRedisOperations.getValuesModifiedSince(1000L, true, 2, 2);
+        long count = entryRedisOperations.countValuesModifiedSince(null);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("c", "b"), values, "Assert the values are returned in the order of the index.");
+        Assertions.assertEquals(5L, count, "Assert the values without a lower bound are counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getValuesInRange(String, boolean, String, boolean, long, int)} reads a descending page with ZREVRANGEBYLEX.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getValuesInRangeDescending() {
+        // 1. Setup mocks.
+        ZSetOperations<String, Object> zSetOperations = Mockito.mock(ZSetOperations.class);
+        Mockito.when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        Mockito.when(zSetOperations.reverseRangeByLex(Mockito.eq("EntryIndex:value"), Mockito.any(), Mockito.any()))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("c", "b")));
+        // 2. Perform action
+        List<String> values = entryRedisOperations.getValuesInRange("a", true, "d", true, 2, 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("c", "b"), values, "Assert the values are returned in descending order.");
+        Mockito.verify(zSetOperations, Mockito.never()).rangeByLex(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#insertIfAbsentCall(Entry, Audit, Long)} scores the last modified index by the {@link Audit} timestamp.
+     */
+    @Test
+    public void insertIfAbsentCallModifiedScore() {
+        // 1. Setup test data.
+        Audit audit = entry.getAudits().getAuditList().get(0);
+        audit.setTimestamp(LocalDateTime.of(2021, 4, 1, 12, 30, 0, 5_000_000));
+        // 2. Perform action
+        EntryScriptCall call = entryRedisOperations.insertIfAbsentCall(entry, audit, null);
+        // 3. Assert results.
+        long expected = audit.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+        Assertions.assertEquals(String.valueOf(expected), new String((byte[]) call.getArguments().get(2), StandardCharsets.UTF_8),
+                "Assert the score is the Audit timestamp in epoch milliseconds.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getStats()} reads every counter, with 0 for a missing counter.
+     */
+    @Test
+    public void getStatsSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Object>>any()))
+                .thenReturn(Arrays.asList("5".getBytes(StandardCharsets.UTF_8), "7".getBytes(StandardCharsets.UTF_8), null, "2".getBytes(StandardCharsets.UTF_8),
+                        "1".getBytes(StandardCharsets.UTF_8)));
+        // 2. Perform action
+        EntryStatsResponse stats = entryRedisOperations.getStats();
+        // 3. Assert results.
+        Assertions.assertEquals(new EntryStatsResponse(5, 7, 0, 2, 1), stats, "Assert the counters are read.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#reconcileStats()} reconciles the count with the value index.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void reconcileStatsSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(2L);
+        // 2. Perform action
+        long drift = entryRedisOperations.reconcileStats();
+        // 3. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(redisTemplate, Mockito.times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<Long>>any(), keysCaptor.capture(), ArgumentMatchers.<Object[]>any());
+        Assertions.assertEquals(2L, drift, "Assert the drift corrected is returned.");
+        Assertions.assertEquals(Arrays.asList("EntryIndex:value", "EntryStats"), keysCaptor.getValue(), "Assert the value index and counters keys are correct.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getChangeTag()} prefixes the total of the mutation counters with
+     * their epoch, so the same total after the counters are reset gives another change tag.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void getChangeTagSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(Arrays.asList("a".getBytes(StandardCharsets.UTF_8), "3".getBytes(StandardCharsets.UTF_8), "2".getBytes(StandardCharsets.UTF_8),
+                        "1".getBytes(StandardCharsets.UTF_8), "0".getBytes(StandardCharsets.UTF_8)))
+                .thenReturn(Arrays.asList("b".getBytes(StandardCharsets.UTF_8), "6".getBytes(StandardCharsets.UTF_8), "0".getBytes(StandardCharsets.UTF_8),
+                        "0".getBytes(StandardCharsets.UTF_8), "0".getBytes(StandardCharsets.UTF_8)));
+        // 2. Perform action
+        String changeTag = entryRedisOperations.getChangeTag();
+        String resetChangeTag = entryRedisOperations.getChangeTag();
+        // 3. Assert results.
+        ArgumentCaptor<List<String>> keysCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(redisTemplate, Mockito.times(2)).execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), keysCaptor.capture(), ArgumentMatchers.<Object[]>any());
+        Assertions.assertEquals("a-6", changeTag, "Assert the change tag is the epoch followed by the total of the mutations.");
+        Assertions.assertEquals("b-6", resetChangeTag, "Assert the same total in a new epoch gives another change tag.");
+        Assertions.assertEquals(Arrays.asList("EntryStats", "EntryStatsEpoch"), keysCaptor.getValue(), "Assert the counters and epoch keys are correct.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#insertIfAbsentCall(Entry, Audit, Long)} passes the expiry time, and rejects an expiring {@link Entry} without an id.
+     */
+    @Test
+    public void insertIfAbsentCallExpiry() {
+        // 1. Setup test data.
+        Audit audit = entry.getAudits().getAuditList().get(0);
+        // 2. Perform action
+        EntryScriptCall expiringCall = entryRedisOperations.insertIfAbsentCall(entry, audit, 5000L);
+        EntryScriptCall call = entryRedisOperations.insertIfAbsentCall(entry, audit, null);
+        // 3. Assert results.
+        Assertions.assertEquals("5000", new String((byte[]) expiringCall.getArguments().get(3), StandardCharsets.UTF_8),
+                "Assert the expiry time is passed to the script.");
+        Assertions.assertEquals("", new String((byte[]) call.getArguments().get(3), StandardCharsets.UTF_8),
+                "Assert an Entry which never expires passes an empty expiry time.");
+        Assertions.assertEquals("EntryIndex:expiry", expiringCall.getKeys().get(10), "Assert the expiry index key is passed to the script.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> entryRedisOperations.insertIfAbsentCall(new Entry("A", null), new Audit(), 5000L),
+                "Assert an expiring Entry without an id is rejected.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#expireCall(Entry, Audit, long)} passes the time the {@link Entry} must have expired by.
+     */
+    @Test
+    public void expireCallSuccess() {
+        // 1. Perform action
+        EntryScriptCall expireCall = entryRedisOperations.expireCall(entry, new Audit(), 5000L);
+        EntryScriptCall missingRecordCall = entryRedisOperations.expireCall(new Entry("testValue", null), new Audit(), 5000L);
+        EntryScriptCall deleteCall = entryRedisOperations.deleteCall(entry, new Audit(), null);
+        // 2. Assert results.
+        Assertions.assertEquals(Arrays.asList("1234", "testValue", "5000", ""), toStrings(expireCall.getArguments().subList(0, 4)),
+                "Assert the id, value and expiry time are passed to the script.");
+        Assertions.assertEquals(Arrays.asList("", "testValue", "5000", ""), toStrings(missingRecordCall.getArguments().subList(0, 4)),
+                "Assert a value without a record passes an empty id.");
+        Assertions.assertEquals(Arrays.asList("1234", "testValue", "", ""), toStrings(deleteCall.getArguments().subList(0, 4)),
+                "Assert a delete passes an empty expiry time.");
+        Assertions.assertEquals(deleteCall.getKeys(), expireCall.getKeys(), "Assert the expiry removes the same keys as a delete.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryRedisOperations#getExpiredValues(long, int)} reads the expired values of the expiry index.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getExpiredValuesSuccess() {
+        // 1. Setup mocks.
+        ZSetOperations<String, Object> zSetOperations = Mockito.mock(ZSetOperations.class);
+        Mockito.when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        Mockito.when(zSetOperations.rangeByScore("EntryIndex:expiry", Double.NEGATIVE_INFINITY, 5000, 0, 2))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("a", "b")));
+        // 2. Perform action
+        List<String> values = entryRedisOperations.getExpiredValues(5000L, 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("a", "b"), values, "Assert the expired values are returned in the order of the index.");
+    }
+
+    /**
+     * Creates a {@link DemoApplicationConfig} with its {@link Value} fields resolved from properties, falling back to the
+     * defaults of the fields as Spring does.
+     *
+     * @param properties - The {@link Properties} to be resolved.
+     * @return The {@link DemoApplicationConfig}.
+     */
+    private DemoApplicationConfig createConfig(Properties properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new PropertiesPropertySource("test", properties));
+        DemoApplicationConfig config = new DemoApplicationConfig();
+        for (Field field : DemoApplicationConfig.class.getDeclaredFields()) {
+            Value value = field.getAnnotation(Value.class);
+            if (value != null) {
+                String resolved = environment.resolvePlaceholders(value.value());
+                ReflectionTestUtils.setField(config, field.getName(), DefaultConversionService.getSharedInstance().convert(resolved, field.getType()));
+            }
+        }
+        return config;
+    }
+
+    private List<String> toStrings(List<Object> arguments) {
+        List<String> strings = new ArrayList<>();
+        arguments.forEach(argument -> strings.add(new String((byte[]) argument, StandardCharsets.UTF_8)));
+        return strings;
+    }
+}
@@ -0,0 +1,144 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.constants.AuditActionCodes;
+import com.paulk.demo.model.EntriesResponse;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import com.paulk.demo.utils.EntrySearchUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares a substring search with the trigram index against a {@link EntryDataStoreOperationsService#getAll()} filtered
+ * on the client, over {@link #ENTRIES} values. The benchmark needs a local Redis instance on port 6379, which is flushed.
+ */
+@Disabled
+public class EntrySearchBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntrySearchBenchmarkTest.class);
+    private static final int ENTRIES = 1_000_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int SEARCHES = 20;
+    private static final List<String> WORDS = Arrays.asList("alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+            "hotel", "india", "juliet", "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo", "sierra",
+            "tango", "uniform", "victor", "whiskey", "xray", "yankee", "zulu");
+
+    /**
+     * Loads the values, then measures the search, the filtered bulk read and a forced rebuild of the search index.
+     */
+    @Test
+    public void searchLatency() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379));
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.flushDb();
+            return null;
+        });
+
+        RedisMappingContext mappingContext = new RedisMappingContext();
+        RedisKeyValueAdapter keyValueAdapter = new RedisKeyValueAdapter(redisTemplate, mappingContext);
+        keyValueAdapter.afterPropertiesSet();
+
+        EntryRedisOperations entryRedisOperations = new EntryRedisOperations();
+        entryRedisOperations.redisTemplate = redisTemplate;
+        HashEntryCodec hashEntryCodec = new HashEntryCodec();
+        hashEntryCodec.redisConverter = keyValueAdapter.getConverter();
+        entryRedisOperations.entryCodecs = Arrays.asList(hashEntryCodec, new BinaryEntryCodec());
+        entryRedisOperations.meterRegistry = new SimpleMeterRegistry();
+        entryRedisOperations.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkReadBatchSize()).thenReturn(BATCH_SIZE);
+        Mockito.when(entryRedisOperations.demoApplicationConfig.getBulkWriteBatchSize()).thenReturn(BATCH_SIZE);
+        EntryDataStoreOperationsService entryDataStoreOperationsService = new EntryDataStoreOperationsService();
+        entryDataStoreOperationsService.entryRedisOperations = entryRedisOperations;
+
+        try {
+            long memoryBefore = usedMemory(redisTemplate);
+            long start = System.nanoTime();
+            Random random = new Random(42);
+            for (int loaded = 0; loaded < ENTRIES; loaded += BATCH_SIZE) {
+                List<EntryActionInput> actionInputs = new ArrayList<>(BATCH_SIZE);
+                for (int count = loaded; count < loaded + BATCH_SIZE; count++) {
+                    String value = WORDS.get(random.nextInt(WORDS.size())) + "-" + WORDS.get(random.nextInt(WORDS.size())) + "-" + count;
+                    actionInputs.add(new EntryActionInput.EntryActionInputBuilder()
+                            .withAction(AuditActionCodes.ADD.getCode())
+                            .withEntry(new Entry(value, String.valueOf(count)))
+                            .build());
+                }
+                entryDataStoreOperationsService.batch(actionInputs);
+            }
+            LOGGER.info("Loaded {} entries in {} ms, {} bytes used by Redis", ENTRIES, (System.nanoTime() - start) / 1_000_000,
+                    usedMemory(redisTemplate) - memoryBefore);
+
+            // A selective query, a query matching a few percent of the values, and a query matching no value.
+            for (String query : Arrays.asList("-123456", "tango-xray", "zzzz")) {
+                measure("search (trigram index) '" + query + "'", SEARCHES,
+                        () -> entryDataStoreOperationsService.search(query, null, 20));
+                measure("search (getAll + filter) '" + query + "'", 2, () -> {
+                    EntriesResponse entriesResponse = entryDataStoreOperationsService.getAll();
+                    entriesResponse.getEntries().removeIf(entry -> !EntrySearchUtils.matches(entry.getValue(), query));
+                    entriesResponse.setTotalEntries(entriesResponse.getEntries().size());
+                    return entriesResponse;
+                });
+            }
+
+            start = System.nanoTime();
+            long indexed = entryRedisOperations.rebuildSearchIndex(true);
+            LOGGER.info("Rebuilt the search index with {} entries in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    /**
+     * Runs the search and logs the latency per search and the number of matches.
+     *
+     * @param name     - The {@link String} name of the search.
+     * @param searches - The number of times the search is run.
+     * @param search   - The {@link Supplier} of the {@link EntriesResponse} of the search.
+     */
+    protected void measure(String name, int searches, Supplier<EntriesResponse> search) {
+        long matches = 0;
+        long start = System.nanoTime();
+        for (int count = 0; count < searches; count++) {
+            EntriesResponse entriesResponse = search.get();
+            matches = entriesResponse.getTotalEntries();
+        }
+        LOGGER.info("{}: {} matches, {} us/search", name, matches, (System.nanoTime() - start) / 1000 / searches);
+    }
+
+    /**
+     * Gets the memory used by Redis.
+     *
+     * @param redisTemplate - The {@link RedisTemplate} of the Redis instance.
+     * @return The number of bytes used.
+     */
+    private long usedMemory(RedisTemplate<String, Object> redisTemplate) {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info("memory"));
+        return info == null ? 0 : Long.parseLong(info.getProperty("used_memory", "0"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Test the {@link EntryStatsReconciler} class.
+ */
+public class EntryStatsReconcilerTest {
+
+    private EntryRedisOperations entryRedisOperations;
+    private EntryStatsReconciler entryStatsReconciler;
+
+    @BeforeEach
+    public void setup() {
+        entryRedisOperations = Mockito.mock(EntryRedisOperations.class);
+        entryStatsReconciler = new EntryStatsReconciler();
+        entryStatsReconciler.entryRedisOperations = entryRedisOperations;
+        entryStatsReconciler.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        entryStatsReconciler.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Validate a drift of the {@link com.paulk.demo.model.Entry} count is corrected and recorded.
+     */
+    @Test
+    public void reconcileSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.reconcileStats()).thenReturn(-3L);
+        // 2. Perform action
+        long drift = entryStatsReconciler.reconcile();
+        // 3. Assert results.
+        Assertions.assertEquals(-3L, drift, "Assert the drift corrected is returned.");
+        Assertions.assertEquals(3.0, entryStatsReconciler.meterRegistry.counter(EntryStatsReconciler.DRIFT_METRIC).count(),
+                "Assert the size of the drift is recorded.");
+    }
+
+    /**
+     * Validate a failure to reach Redis is recorded rather than thrown.
+     */
+    @Test
+    public void reconcileFailure() {
+        // 1. Setup mocks.
+        Mockito.when(entryRedisOperations.reconcileStats()).thenThrow(new QueryTimeoutException("timeout"));
+        // 2. Perform action
+        long drift = entryStatsReconciler.reconcile();
+        // 3. Assert results.
+        Assertions.assertEquals(0L, drift, "Assert no drift is corrected on failure.");
+        Assertions.assertEquals(1.0, entryStatsReconciler.meterRegistry.counter(EntryStatsReconciler.RECONCILE_FAILURES_METRIC).count(),
+                "Assert the failure is recorded.");
+    }
+}
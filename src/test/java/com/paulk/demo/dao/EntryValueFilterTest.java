@@ -0,0 +1,300 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test the {@link EntryValueFilter} class.
+ */
+public class EntryValueFilterTest {
+
+    private EntryValueFilter entryValueFilter;
+
+    @BeforeEach
+    public void setup() {
+        entryValueFilter = createEntryValueFilter();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        entryValueFilter.stop();
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#rebuild()} builds the filter from every page of the value index,
+     * and nothing is answered as absent before.
+     */
+    @Test
+    public void rebuildSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter(null, 2)).thenReturn(Arrays.asList("A", "B"));
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter("B", 2)).thenReturn(Collections.singletonList("C"));
+        // 2. Perform action
+        boolean absentBeforeRebuild = entryValueFilter.isAbsent("Z");
+        long values = entryValueFilter.rebuild();
+        // 3. Assert results.
+        Assertions.assertFalse(absentBeforeRebuild, "Assert nothing is answered as absent before the filter is built.");
+        Assertions.assertEquals(3L, values, "Assert every value of the value index is added.");
+        Assertions.assertFalse(entryValueFilter.isAbsent("A") || entryValueFilter.isAbsent("B") || entryValueFilter.isAbsent("C"),
+                "Assert no added value is answered as absent.");
+        Assertions.assertTrue(entryValueFilter.isAbsent("Z"), "Assert a value which wasn't added is answered as absent.");
+        Assertions.assertEquals(1.0, entryValueFilter.meterRegistry.counter(EntryValueFilter.NEGATIVES_METRIC).count(),
+                "Assert the absent answer is recorded.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#recordChanges(java.util.Collection, java.util.Collection)} adds a
+     * value at once, removes a value once the removal delay has passed, and publishes both.
+     */
+    @Test
+    public void recordChangesSuccess() {
+        // 1. Setup test data.
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter(null, 2)).thenReturn(Collections.singletonList("A"));
+        entryValueFilter.rebuild();
+        long now = System.currentTimeMillis();
+        // 2. Perform action
+        entryValueFilter.recordChanges(Collections.singletonList("B"), Collections.singletonList("A"));
+        boolean removedBeforeDelay = entryValueFilter.isAbsent("A");
+        entryValueFilter.removeDue(now + 60_000);
+        entryValueFilter.publish();
+        // 3. Assert results.
+        Assertions.assertFalse(entryValueFilter.isAbsent("B"), "Assert the added value is added at once.");
+        Assertions.assertFalse(removedBeforeDelay, "Assert the removed value is kept until the removal delay has passed.");
+        Assertions.assertTrue(entryValueFilter.isAbsent("A"), "Assert the removed value is removed once the removal delay has passed.");
+        Mockito.verify(entryValueFilter.redisTemplate, Mockito.times(1)).convertAndSend(Mockito.eq(EntryValueFilter.CHANGES_CHANNEL),
+                Mockito.argThat(message -> message.toString().contains("\"added\":[\"B\"]") && message.toString().contains("\"removed\":[\"A\"]")));
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#onMessage(org.springframework.data.redis.connection.Message, byte[])}
+     * applies the changes of another node and ignores its own.
+     */
+    @Test
+    public void onMessageOtherNodeSuccess() throws InterruptedException {
+        // 1. Setup test data.
+        EntryValueFilter otherEntryValueFilter = createEntryValueFilter();
+        entryValueFilter.rebuild();
+        otherEntryValueFilter.rebuild();
+        otherEntryValueFilter.recordChanges(Collections.singletonList("B"), Collections.emptyList());
+        otherEntryValueFilter.publish();
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(otherEntryValueFilter.redisTemplate).convertAndSend(Mockito.eq(EntryValueFilter.CHANGES_CHANNEL), message.capture());
+        byte[] body = message.getValue().toString().getBytes(StandardCharsets.UTF_8);
+        // 2. Perform action
+        entryValueFilter.onMessage(new DefaultMessage(EntryValueFilter.CHANGES_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        otherEntryValueFilter.onMessage(new DefaultMessage(EntryValueFilter.CHANGES_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        // 3. Assert results.
+        Assertions.assertFalse(entryValueFilter.isAbsent("B"), "Assert the value added on another node is added.");
+        Assertions.assertEquals(1.0, otherEntryValueFilter.meterRegistry.get(EntryValueFilter.SIZE_METRIC).gauge().value(),
+                "Assert a node doesn't apply its own changes again.");
+        otherEntryValueFilter.stop();
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#rebuild()} keeps a value added while the value index is read, and
+     * a removal made while the value index is read only takes back what it added to the rebuilt filter.
+     */
+    @Test
+    public void rebuildConcurrentChanges() {
+        // 1. Setup test data.
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter(null, 2)).thenReturn(Collections.singletonList("A"));
+        entryValueFilter.rebuild();
+        // 2. Setup mocks.
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter(null, 2)).thenAnswer(invocation -> {
+            entryValueFilter.recordChanges(Collections.singletonList("N"), Collections.singletonList("A"));
+            return Collections.singletonList("A");
+        });
+        // 3. Perform action
+        entryValueFilter.rebuild();
+        entryValueFilter.removeDue(System.currentTimeMillis() + 60_000);
+        // 4. Assert results.
+        Assertions.assertFalse(entryValueFilter.isAbsent("N"), "Assert the value added during the rebuild is kept.");
+        Assertions.assertFalse(entryValueFilter.isAbsent("A"), "Assert the removal is only applied to the filter current when it was made.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#rebuild()} applies a removal made while the value index is read to
+     * the rebuilt filter once it is due, after the rebuilt filter replaced the current filter.
+     */
+    @Test
+    public void rebuildRemovalSurvivesReplace() {
+        // 1. Setup test data.
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter(null, 2)).thenReturn(Collections.singletonList("A"));
+        entryValueFilter.rebuild();
+        // 2. Setup mocks.
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter(null, 2)).thenAnswer(invocation -> {
+            entryValueFilter.recordChanges(Collections.emptyList(), Collections.singletonList("A"));
+            return Collections.singletonList("B");
+        });
+        // 3. Perform action
+        entryValueFilter.rebuild();
+        boolean removedBeforeDelay = entryValueFilter.isAbsent("A");
+        entryValueFilter.removeDue(System.currentTimeMillis() + 60_000);
+        // 4. Assert results.
+        Assertions.assertFalse(removedBeforeDelay, "Assert the removed value is kept until the removal delay has passed.");
+        Assertions.assertTrue(entryValueFilter.isAbsent("A"), "Assert the removal is applied to the rebuilt filter.");
+        Assertions.assertFalse(entryValueFilter.isAbsent("B"), "Assert the values read by the rebuild are kept.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#onMessage(org.springframework.data.redis.connection.Message, byte[])}
+     * doesn't apply a removal of another node received within the removal delay of a rebuild, as the rebuild may not have
+     * read the value.
+     */
+    @Test
+    public void onMessageRemovalAfterRebuild() {
+        // 1. Setup test data.
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter(null, 2)).thenReturn(Collections.singletonList("A"));
+        entryValueFilter.rebuild();
+        byte[] body = "{\"node\":\"other\",\"added\":[],\"removed\":[\"A\"]}".getBytes(StandardCharsets.UTF_8);
+        // 2. Perform action
+        entryValueFilter.onMessage(new DefaultMessage(EntryValueFilter.CHANGES_CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+        entryValueFilter.removeDue(System.currentTimeMillis() + 60_000);
+        // 3. Assert results.
+        Assertions.assertFalse(entryValueFilter.isAbsent("A"), "Assert the removal received just after the rebuild isn't applied.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#checkDelivery(long)} detects a change of another node which is
+     * still missing a heartbeat interval after a later change arrived, answers nothing as absent, and rebuilds the filter
+     * at once.
+     */
+    @Test
+    public void checkDeliveryLostChange() throws InterruptedException {
+        // 1. Setup test data.
+        entryValueFilter.rebuild();
+        CountDownLatch rebuildLatch = new CountDownLatch(1);
+        Mockito.when(entryValueFilter.entryRedisOperations.getValuesAfter(null, 2)).thenAnswer(invocation -> {
+            rebuildLatch.await(5, TimeUnit.SECONDS);
+            return Collections.singletonList("B");
+        });
+        long now = System.currentTimeMillis();
+        // 2. Perform action
+        entryValueFilter.onMessage(toMessage("{\"node\":\"other\",\"sequence\":1,\"added\":[\"A\"],\"removed\":[]}"), null);
+        entryValueFilter.onMessage(toMessage("{\"node\":\"other\",\"sequence\":3,\"added\":[\"C\"],\"removed\":[]}"), null);
+        entryValueFilter.checkDelivery(now);
+        boolean absentBeforeLoss = entryValueFilter.isAbsent("Z");
+        entryValueFilter.checkDelivery(now + 120_000);
+        boolean absentAfterLoss = entryValueFilter.isAbsent("Z");
+        rebuildLatch.countDown();
+        entryValueFilter.stop();
+        // 3. Assert results.
+        Assertions.assertTrue(absentBeforeLoss, "Assert a missing change isn't lost within a heartbeat interval.");
+        Assertions.assertFalse(absentAfterLoss, "Assert nothing is answered as absent once a change is lost.");
+        Assertions.assertEquals(1.0, entryValueFilter.meterRegistry.counter(EntryValueFilter.LOST_CHANGES_METRIC).count(),
+                "Assert the lost change is counted.");
+        Assertions.assertFalse(entryValueFilter.isAbsent("B"), "Assert the filter was rebuilt at once.");
+        Assertions.assertTrue(entryValueFilter.isAbsent("Z"), "Assert the rebuilt filter is trusted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#checkDelivery(long)} detects a lost subscription when no own
+     * heartbeat arrives, answers nothing as absent even after a rebuild while it is lost, and rebuilds the filter once an
+     * own heartbeat shows it was resubscribed.
+     */
+    @Test
+    public void checkDeliverySubscriptionLost() throws InterruptedException {
+        // 1. Setup test data.
+        entryValueFilter.rebuild();
+        entryValueFilter.publishHeartbeat();
+        ArgumentCaptor<Object> heartbeat = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(entryValueFilter.redisTemplate).convertAndSend(Mockito.eq(EntryValueFilter.CHANGES_CHANNEL), heartbeat.capture());
+        // 2. Perform action
+        entryValueFilter.checkDelivery(System.currentTimeMillis() + 240_000);
+        entryValueFilter.rebuild();
+        boolean absentWhileLost = entryValueFilter.isAbsent("Z");
+        entryValueFilter.onMessage(toMessage(heartbeat.getValue().toString()), null);
+        entryValueFilter.stop();
+        // 3. Assert results.
+        Assertions.assertFalse(absentWhileLost, "Assert nothing is answered as absent while the subscription is lost.");
+        Assertions.assertTrue(entryValueFilter.isAbsent("Z"), "Assert the filter was rebuilt once resubscribed.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#publish()} numbers each message of changes after the last, and
+     * {@link EntryValueFilter#publishHeartbeat()} carries the number of the last.
+     */
+    @Test
+    public void publishSequenceSuccess() {
+        // 1. Setup test data.
+        entryValueFilter.recordChanges(Collections.singletonList("A"), Collections.emptyList());
+        entryValueFilter.publish();
+        entryValueFilter.recordChanges(Collections.singletonList("B"), Collections.emptyList());
+        // 2. Perform action
+        entryValueFilter.publish();
+        entryValueFilter.publishHeartbeat();
+        // 3. Assert results.
+        ArgumentCaptor<Object> messages = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(entryValueFilter.redisTemplate, Mockito.times(3)).convertAndSend(Mockito.eq(EntryValueFilter.CHANGES_CHANNEL), messages.capture());
+        Assertions.assertTrue(messages.getAllValues().get(0).toString().contains("\"sequence\":1"), "Assert the first changes are numbered 1.");
+        Assertions.assertTrue(messages.getAllValues().get(1).toString().contains("\"sequence\":2"), "Assert the next changes are numbered 2.");
+        Assertions.assertTrue(messages.getAllValues().get(2).toString().contains("\"sequence\":2,\"heartbeat\":true"),
+                "Assert the heartbeat carries the number of the last changes.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryValueFilter#getFalsePositiveRate()} is the share of the reads of absent values
+     * which weren't answered.
+     */
+    @Test
+    public void getFalsePositiveRateSuccess() {
+        // 1. Setup test data.
+        entryValueFilter.rebuild();
+        // 2. Perform action
+        entryValueFilter.isAbsent("A");
+        entryValueFilter.isAbsent("B");
+        entryValueFilter.isAbsent("C");
+        entryValueFilter.recordFalsePositive();
+        // 3. Assert results.
+        Assertions.assertEquals(0.25, entryValueFilter.getFalsePositiveRate(), "Assert the false positive rate is correct.");
+    }
+
+    /**
+     * Creates a {@link DefaultMessage} of the filter changes channel.
+     *
+     * @param body - The {@link String} body of the message.
+     * @return The {@link DefaultMessage}.
+     */
+    private static DefaultMessage toMessage(String body) {
+        return new DefaultMessage(EntryValueFilter.CHANGES_CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates an {@link EntryValueFilter} of an empty value index, read two values at a time.
+     *
+     * @return The started {@link EntryValueFilter}.
+     */
+    private EntryValueFilter createEntryValueFilter() {
+        EntryValueFilter filter = new EntryValueFilter();
+        filter.entryRedisOperations = Mockito.mock(EntryRedisOperations.class);
+        filter.redisTemplate = Mockito.mock(RedisTemplate.class);
+        filter.redisMessageListenerContainer = Mockito.mock(RedisMessageListenerContainer.class);
+        filter.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        filter.meterRegistry = new SimpleMeterRegistry();
+        Mockito.when(filter.demoApplicationConfig.getFilterExpectedEntries()).thenReturn(1_000L);
+        Mockito.when(filter.demoApplicationConfig.getFilterFalsePositiveRate()).thenReturn(0.01);
+        Mockito.when(filter.demoApplicationConfig.getFilterPublishIntervalMillis()).thenReturn(60_000L);
+        Mockito.when(filter.demoApplicationConfig.getFilterRemovalDelayMillis()).thenReturn(1_000L);
+        Mockito.when(filter.demoApplicationConfig.getFilterHeartbeatIntervalMillis()).thenReturn(60_000L);
+        Mockito.when(filter.demoApplicationConfig.getFilterRebuildIntervalMillis()).thenReturn(0L);
+        Mockito.when(filter.demoApplicationConfig.getBulkReadBatchSize()).thenReturn(2);
+        Mockito.when(filter.entryRedisOperations.getValuesAfter(Mockito.any(), Mockito.anyInt())).thenReturn(Collections.emptyList());
+        filter.start();
+        return filter;
+    }
+}
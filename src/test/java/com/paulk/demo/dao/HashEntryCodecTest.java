@@ -0,0 +1,77 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Test the {@link HashEntryCodec} class.
+ */
+public class HashEntryCodecTest {
+
+    private HashEntryCodec hashEntryCodec;
+
+    private Entry entry;
+
+    @BeforeEach
+    public void setup() {
+        MappingRedisConverter redisConverter = new MappingRedisConverter(new RedisMappingContext());
+        redisConverter.afterPropertiesSet();
+        hashEntryCodec = new HashEntryCodec();
+        hashEntryCodec.redisConverter = redisConverter;
+
+        entry = new Entry("testValue", "1234");
+        Audits audits = entry.getAudits();
+        audits.getAuditList().add(audits.createAudit(audits, "Add"));
+    }
+
+    /**
+     * Validate the {@link Entry} is encoded in the same hash layout as the repositories.
+     */
+    @Test
+    public void encodeSuccess() {
+        // 1. Perform action
+        List<byte[]> fields = hashEntryCodec.encode(entry);
+        // 2. Assert results.
+        List<String> fieldNames = new ArrayList<>();
+        for (int index = 0; index < fields.size(); index += 2) {
+            fieldNames.add(new String(fields.get(index), StandardCharsets.UTF_8));
+        }
+        Assertions.assertTrue(fieldNames.containsAll(Arrays.asList("id", "value", "audits.auditList.[0].auditId",
+                "audits.auditList.[0].action", "audits.auditList.[0].timestamp")), "Assert encoded fields are correct.");
+    }
+
+    /**
+     * Validate the {@link Entry} is decoded from the field/value pairs returned by the scripts.
+     */
+    @Test
+    public void decodeSuccess() {
+        // 1. Perform action
+        Optional<Entry> actualEntry = hashEntryCodec.decode("testValue", new ArrayList<Object>(hashEntryCodec.encode(entry)));
+        // 2. Assert results.
+        Assertions.assertEquals(Optional.of(entry), actualEntry, "Assert the Entry is decoded.");
+        Assertions.assertEquals(entry.getAudits().getAuditList(), actualEntry.get().getAudits().getAuditList(),
+                "Assert the Audits are decoded.");
+    }
+
+    /**
+     * Validate a record in another layout or an empty record is not decoded.
+     */
+    @Test
+    public void decodeOtherLayout() {
+        Assertions.assertFalse(hashEntryCodec.decode("testValue", new byte[]{1, 0}).isPresent(),
+                "Assert a binary record is not decoded.");
+        Assertions.assertFalse(hashEntryCodec.decode("testValue", new ArrayList<>()).isPresent(),
+                "Assert an empty record is not decoded.");
+    }
+}
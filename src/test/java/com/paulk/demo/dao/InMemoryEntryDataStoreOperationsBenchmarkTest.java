@@ -0,0 +1,181 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Entry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmarks the throughput of the {@link InMemoryEntryDataStoreOperationsService} with a thread per available processor.
+ * <p>
+ * The workload is 80% get, 10% get by id and 10% update over a pre-loaded key space, plus a separate add-only run. Each
+ * is run without and with the write-ahead log.
+ */
+@Disabled
+public class InMemoryEntryDataStoreOperationsBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryEntryDataStoreOperationsBenchmarkTest.class);
+    private static final int ENTRIES = 100_000;
+    private static final int OPERATIONS_PER_THREAD = 2_000_000;
+
+    @TempDir
+    Path tempDir;
+
+    private final int threads = Runtime.getRuntime().availableProcessors();
+    private InMemoryEntryDataStoreOperationsService inMemoryEntryDataStoreOperationsService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        inMemoryEntryDataStoreOperationsService = new InMemoryEntryDataStoreOperationsService();
+        inMemoryEntryDataStoreOperationsService.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(inMemoryEntryDataStoreOperationsService.demoApplicationConfig.getMemoryLockStripes()).thenReturn(1024);
+        Mockito.when(inMemoryEntryDataStoreOperationsService.demoApplicationConfig.getMemoryWalPath()).thenReturn("");
+        inMemoryEntryDataStoreOperationsService.open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        inMemoryEntryDataStoreOperationsService.close();
+    }
+
+    /**
+     * Measures the throughput of a read-mostly workload with updates.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void mixedThroughput() throws Exception {
+        mixed("mixed (80% get, 10% getById, 10% update)");
+    }
+
+    /**
+     * Measures the throughput of a read-mostly workload with updates, with the write-ahead log.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void mixedThroughputWithWal() throws Exception {
+        openWithWal();
+        mixed("mixed with WAL (80% get, 10% getById, 10% update)");
+    }
+
+    /**
+     * Measures the throughput of adds of distinct values.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void addThroughput() throws Exception {
+        add("add");
+    }
+
+    /**
+     * Measures the throughput of adds of distinct values, with the write-ahead log.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void addThroughputWithWal() throws Exception {
+        openWithWal();
+        add("add with WAL");
+    }
+
+    /**
+     * Reopens the store with a write-ahead log.
+     *
+     * @throws IOException default exception handling.
+     */
+    protected void openWithWal() throws IOException {
+        inMemoryEntryDataStoreOperationsService.close();
+        DemoApplicationConfig demoApplicationConfig = inMemoryEntryDataStoreOperationsService.demoApplicationConfig;
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(tempDir.resolve("entries.wal").toString());
+        inMemoryEntryDataStoreOperationsService = new InMemoryEntryDataStoreOperationsService();
+        inMemoryEntryDataStoreOperationsService.demoApplicationConfig = demoApplicationConfig;
+        inMemoryEntryDataStoreOperationsService.open();
+    }
+
+    /**
+     * Pre-loads the key space and measures the read-mostly workload.
+     *
+     * @param name - The {@link String} name of the workload.
+     * @throws Exception default exception handling.
+     */
+    protected void mixed(String name) throws Exception {
+        for (int index = 0; index < ENTRIES; index++) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry("value-" + index, "id-" + index));
+        }
+
+        measure(name, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int count = 0; count < OPERATIONS_PER_THREAD; count++) {
+                int index = random.nextInt(ENTRIES);
+                int operation = random.nextInt(10);
+                if (operation == 0) {
+                    // Update in place, so the key space stays the same.
+                    inMemoryEntryDataStoreOperationsService.update("value-" + index, new Entry("value-" + index, "id-" + index));
+                } else if (operation == 1) {
+                    inMemoryEntryDataStoreOperationsService.getById("id-" + index);
+                } else {
+                    inMemoryEntryDataStoreOperationsService.get(new Entry("value-" + index, null));
+                }
+            }
+        });
+    }
+
+    /**
+     * Measures the adds of distinct values.
+     *
+     * @param name - The {@link String} name of the workload.
+     * @throws Exception default exception handling.
+     */
+    protected void add(String name) throws Exception {
+        measure(name, () -> {
+            String prefix = Thread.currentThread().getName() + "-";
+            for (int count = 0; count < OPERATIONS_PER_THREAD / 4; count++) {
+                inMemoryEntryDataStoreOperationsService.add(new Entry(prefix + count, null));
+            }
+        });
+    }
+
+    /**
+     * Runs the workload on each thread and logs the combined operations per second.
+     *
+     * @param name     - The {@link String} name of the workload.
+     * @param workload - The {@link Runnable} workload run by each thread.
+     * @throws Exception default exception handling.
+     */
+    protected void measure(String name, Runnable workload) throws Exception {
+        // Warm up.
+        workload.run();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            futures.add(executorService.submit(workload));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executorService.shutdown();
+
+        boolean addWorkload = name.startsWith("add");
+        long operations = (long) threads * (addWorkload ? OPERATIONS_PER_THREAD / 4 : OPERATIONS_PER_THREAD);
+        LOGGER.info("{}: {} threads, {} ops, {} ops/sec", name, threads, operations, operations * 1_000_000_000L / elapsedNanos);
+    }
+}
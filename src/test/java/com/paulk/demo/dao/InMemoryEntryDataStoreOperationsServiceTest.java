@@ -0,0 +1,753 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.EntriesResponse;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryCursorUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Test the {@link InMemoryEntryDataStoreOperationsService} class.
+ */
+public class InMemoryEntryDataStoreOperationsServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DemoApplicationConfig demoApplicationConfig;
+    private InMemoryEntryDataStoreOperationsService inMemoryEntryDataStoreOperationsService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(demoApplicationConfig.getMemoryLockStripes()).thenReturn(16);
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn("");
+        inMemoryEntryDataStoreOperationsService = create();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        inMemoryEntryDataStoreOperationsService.close();
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#add(Entry)} when no {@link Entry} exists.
+     */
+    @Test
+    public void addEntrySuccess() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.add(entry);
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert add operation behavior is correct.");
+        Assertions.assertEquals("Add", entry.getAudits().getAuditList().get(0).getAction(), "Assert add operation generated an Audit.");
+        Assertions.assertEquals(entry, inMemoryEntryDataStoreOperationsService.get(new Entry("testValue")).getEntry(), "Assert the Entry was stored.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#add(Entry)} when the value or id already exists.
+     */
+    @Test
+    public void addEntryAlreadyExists() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        Entry duplicateValue = new Entry("testValue", "5678");
+        Entry duplicateId = new Entry("otherValue", "1234");
+        // 2. Perform action
+        EntryOperationResponse duplicateValueResponse = inMemoryEntryDataStoreOperationsService.add(duplicateValue);
+        EntryOperationResponse duplicateIdResponse = inMemoryEntryDataStoreOperationsService.add(duplicateId);
+        // 3. Assert results.
+        Assertions.assertFalse(duplicateValueResponse.isSuccessfulOperation(), "Assert add operation behavior is correct when the value exists.");
+        Assertions.assertFalse(duplicateIdResponse.isSuccessfulOperation(), "Assert add operation behavior is correct when the id exists.");
+        Assertions.assertTrue(duplicateValue.getAudits().getAuditList().isEmpty(), "Assert the Audit of the failed add was removed.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#getAudits(String, Integer, Integer)} pages the Audits of the {@link Entry}.
+     */
+    @Test
+    public void getAuditsSuccess() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        inMemoryEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.getAudits("updatedValue", 1, 1);
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert getAudits operation behavior is correct.");
+        Assertions.assertEquals(1, entryActionResponse.getEntry().getAudits().getAuditList().size(), "Assert a single page of Audits is returned.");
+        Assertions.assertEquals("Update", entryActionResponse.getEntry().getAudits().getAuditList().get(0).getAction(), "Assert the second Audit is returned.");
+        Assertions.assertEquals(2, inMemoryEntryDataStoreOperationsService.get(new Entry("updatedValue")).getEntry().getAudits().getAuditList().size(), "Assert the stored Audits are unchanged.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#getAuditsById(String, Integer, Integer)} pages the Audits of the {@link Entry}.
+     */
+    @Test
+    public void getAuditsByIdSuccess() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        inMemoryEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.getAuditsById("1234", 0, 1);
+        // 3. Assert results.
+        Assertions.assertEquals("Add", entryActionResponse.getEntry().getAudits().getAuditList().get(0).getAction(), "Assert the first Audit is returned.");
+        Assertions.assertEquals(1, entryActionResponse.getEntry().getAudits().getAuditList().size(), "Assert a single page of Audits is returned.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.getAuditsById("5678", 0, 1).isSuccessfulOperation(), "Assert an unknown id is not found.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#update(String, Entry)} renames the {@link Entry}.
+     */
+    @Test
+    public void updateEntrySuccess() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"));
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert update operation behavior is correct.");
+        Assertions.assertEquals(2, entryActionResponse.getEntry().getAudits().getAuditList().get(1).getAuditId(), "Assert update operation appended an Audit.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.get(new Entry("testValue")).isSuccessfulOperation(), "Assert the current value was removed.");
+        Assertions.assertEquals("updatedValue", inMemoryEntryDataStoreOperationsService.getById("1234").getEntry().getValue(), "Assert the id index was updated.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#update(String, Entry)} when the id doesn't match.
+     */
+    @Test
+    public void updateEntryIdMismatch() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "5678"));
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert update operation behavior is correct when the id doesn't match.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#update(String, Entry, Long)} and
+     * {@link InMemoryEntryDataStoreOperationsService#delete(Entry, Long)} only change an {@link Entry} with the expected version.
+     */
+    @Test
+    public void updateEntryVersionConflict() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        inMemoryEntryDataStoreOperationsService.add(entry);
+        Long addedVersion = inMemoryEntryDataStoreOperationsService.get(new Entry("testValue", null)).getEntry().getVersion();
+        // 2. Perform action
+        EntryOperationResponse updateResponse = inMemoryEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"), addedVersion);
+        EntryOperationResponse staleUpdateResponse = inMemoryEntryDataStoreOperationsService.update("updatedValue", new Entry("staleValue", "1234"), addedVersion);
+        EntryOperationResponse staleDeleteResponse = inMemoryEntryDataStoreOperationsService.delete(new Entry("updatedValue", "1234"), addedVersion);
+        EntryOperationResponse deleteResponse = inMemoryEntryDataStoreOperationsService.delete(new Entry("updatedValue", "1234"), updateResponse.getEntry().getVersion());
+        // 3. Assert results.
+        Assertions.assertEquals(Long.valueOf(1L), entry.getVersion(), "Assert the added Entry has the version of its Add Audit.");
+        Assertions.assertEquals(Long.valueOf(1L), addedVersion, "Assert the stored Entry is read with its version.");
+        Assertions.assertTrue(updateResponse.isSuccessfulOperation(), "Assert the update with the current version is applied.");
+        Assertions.assertEquals(Long.valueOf(2L), updateResponse.getEntry().getVersion(), "Assert the update increases the version.");
+        Assertions.assertFalse(staleUpdateResponse.isSuccessfulOperation(), "Assert the update with a stale version isn't applied.");
+        Assertions.assertTrue(staleUpdateResponse.isPreconditionFailed(), "Assert the stale update reports the version conflict.");
+        Assertions.assertTrue(staleDeleteResponse.isPreconditionFailed(), "Assert the stale delete reports the version conflict.");
+        Assertions.assertTrue(deleteResponse.isSuccessfulOperation(), "Assert the delete with the current version is applied.");
+        Assertions.assertEquals(Long.valueOf(3L), deleteResponse.getEntry().getVersion(), "Assert the delete increases the version.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#getVersionById(String, String)} and
+     * {@link InMemoryEntryDataStoreOperationsService#getChangeTag()} change with each mutation.
+     */
+    @Test
+    public void getVersionByIdSuccess() {
+        // 1. Setup test data.
+        String initialChangeTag = inMemoryEntryDataStoreOperationsService.getChangeTag();
+        inMemoryEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        String addedChangeTag = inMemoryEntryDataStoreOperationsService.getChangeTag();
+        // 2. Perform action
+        inMemoryEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"));
+        // 3. Assert results.
+        Assertions.assertEquals(Optional.of(2L), inMemoryEntryDataStoreOperationsService.getVersionById("1234", null), "Assert the version is the latest audit id.");
+        Assertions.assertEquals(Optional.of(2L), inMemoryEntryDataStoreOperationsService.getVersionById("1234", "updatedValue"), "Assert the version is found with the value.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.getVersionById("1234", "testValue").isPresent(), "Assert no version is found for a previous value.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.getVersionById("5678", null).isPresent(), "Assert no version is found for an unknown id.");
+        Assertions.assertNotEquals(initialChangeTag, addedChangeTag, "Assert an add changes the change tag.");
+        Assertions.assertNotEquals(addedChangeTag, inMemoryEntryDataStoreOperationsService.getChangeTag(), "Assert an update changes the change tag.");
+        Assertions.assertEquals(inMemoryEntryDataStoreOperationsService.getChangeTag(), inMemoryEntryDataStoreOperationsService.getChangeTag(), "Assert the change tag is unchanged without a mutation.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#delete(Entry)} removes the {@link Entry} and its indexes.
+     */
+    @Test
+    public void deleteEntrySuccess() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.delete(new Entry("testValue", "1234"));
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert delete operation behavior is correct.");
+        Assertions.assertEquals("Delete", entryActionResponse.getEntry().getAudits().getAuditList().get(1).getAction(), "Assert delete operation generated an Audit.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.getById("1234").isSuccessfulOperation(), "Assert the id index was removed.");
+        Assertions.assertTrue(inMemoryEntryDataStoreOperationsService.getAll().getEntries().isEmpty(), "Assert the sorted view was removed.");
+    }
+
+    /**
+     * Validate the stored {@link Entry} can't be changed through a returned {@link Entry}.
+     */
+    @Test
+    public void getEntryReturnsCopy() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        // 2. Perform action
+        inMemoryEntryDataStoreOperationsService.get(new Entry("testValue")).getEntry().setValue("changedValue");
+        // 3. Assert results.
+        Assertions.assertEquals("testValue", inMemoryEntryDataStoreOperationsService.get(new Entry("testValue")).getEntry().getValue(),
+                "Assert the stored Entry is not shared.");
+    }
+
+    /**
+     * Validate the behaviour of the paging operations over the sorted view.
+     */
+    @Test
+    public void getAllPagingSuccess() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("e", "b", "a", "d", "c")) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse page = inMemoryEntryDataStoreOperationsService.getAll(1, 2);
+        EntriesResponse firstCursorPage = inMemoryEntryDataStoreOperationsService.getAllFromCursor(null, 2);
+        EntriesResponse lastCursorPage = inMemoryEntryDataStoreOperationsService.getAllFromCursor(
+                inMemoryEntryDataStoreOperationsService.getAllFromCursor(firstCursorPage.getNextCursor(), 2).getNextCursor(), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("c", "d"), values(page), "Assert the page is correct.");
+        Assertions.assertEquals(3, page.getTotalPages(), "Assert the total pages are correct.");
+        Assertions.assertEquals(Arrays.asList("a", "b"), values(firstCursorPage), "Assert the first cursor page is correct.");
+        Assertions.assertEquals(Arrays.asList("e"), values(lastCursorPage), "Assert the last cursor page is correct.");
+        Assertions.assertNull(lastCursorPage.getNextCursor(), "Assert the last cursor page has no next cursor.");
+    }
+
+    /**
+     * Validate the behaviour of the range operations over the sorted view.
+     */
+    @Test
+    public void getRangeSuccess() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("b", "abc", "abd", "ab", "a")) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse page = inMemoryEntryDataStoreOperationsService.getRange("ab", "abd", false, 0, 10);
+        EntriesResponse firstCursorPage = inMemoryEntryDataStoreOperationsService.getRangeFromCursor("ab", "b", false, null, 2);
+        EntriesResponse lastCursorPage = inMemoryEntryDataStoreOperationsService.getRangeFromCursor("ab", "b", false, firstCursorPage.getNextCursor(), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("ab", "abc"), values(page), "Assert the range is correct.");
+        Assertions.assertEquals(Arrays.asList("ab", "abc"), values(firstCursorPage), "Assert the first cursor page is correct.");
+        Assertions.assertEquals(Arrays.asList("abd"), values(lastCursorPage), "Assert the last cursor page is correct.");
+        Assertions.assertTrue(inMemoryEntryDataStoreOperationsService.getRange("b", "a", false, 0, 10).getEntries().isEmpty(), "Assert an empty range is correct.");
+    }
+
+    /**
+     * Validate the behaviour of the sorted view orders values in code point order, as Redis orders them by UTF-8 bytes.
+     */
+    @Test
+    public void getRangeCodePointOrder() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("\uD83D\uDE00", "\uFFFD", "a")) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse page = inMemoryEntryDataStoreOperationsService.getRange(null, null, false, 0, 10);
+        EntriesResponse range = inMemoryEntryDataStoreOperationsService.getRange("\uFFFD", null, false, 0, 10);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("a", "\uFFFD", "\uD83D\uDE00"), values(page), "Assert the supplementary code point is last.");
+        Assertions.assertEquals(Arrays.asList("\uFFFD", "\uD83D\uDE00"), values(range), "Assert the range is in code point order.");
+    }
+
+    /**
+     * Validate the behaviour of the range operations in descending order, which are read from the last value of the range.
+     */
+    @Test
+    public void getRangeDescendingSuccess() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("b", "abc", "abd", "ab", "a")) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse firstPage = inMemoryEntryDataStoreOperationsService.getRange(null, null, true, 0, 2);
+        EntriesResponse rangePage = inMemoryEntryDataStoreOperationsService.getRange("ab", "b", true, 1, 2);
+        EntriesResponse firstCursorPage = inMemoryEntryDataStoreOperationsService.getRangeFromCursor("ab", "b", true, null, 2);
+        EntriesResponse lastCursorPage = inMemoryEntryDataStoreOperationsService.getRangeFromCursor("ab", "b", true, firstCursorPage.getNextCursor(), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("b", "abd"), values(firstPage), "Assert the first page holds the last values.");
+        Assertions.assertEquals(Arrays.asList("ab"), values(rangePage), "Assert the last page of the range holds its first value.");
+        Assertions.assertEquals(Arrays.asList("abd", "abc"), values(firstCursorPage), "Assert the first cursor page is correct.");
+        Assertions.assertEquals(Arrays.asList("ab"), values(lastCursorPage), "Assert the last cursor page is correct.");
+        Assertions.assertNull(lastCursorPage.getNextCursor(), "Assert the last cursor page has no next cursor.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#batch(List)} applies the actions in order.
+     */
+    @Test
+    public void batchSuccess() {
+        // 1. Setup test data.
+        List<EntryActionInput> actionInputs = Arrays.asList(
+                new EntryActionInput.EntryActionInputBuilder().withAction("Add").withEntry(new Entry("A", "1234")).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Update").withKey("A").withEntry(new Entry("B", "1234")).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Delete").withEntry(new Entry("A", "1234")).build());
+        // 2. Perform action
+        List<EntryOperationResponse> entryActionResponses = inMemoryEntryDataStoreOperationsService.batch(actionInputs);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList(true, true, false),
+                entryActionResponses.stream().map(EntryOperationResponse::isSuccessfulOperation).collect(Collectors.toList()),
+                "Assert batch operation behavior is correct.");
+    }
+
+    /**
+     * Validate concurrent adds of the same value succeed exactly once.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void addEntryConcurrently() throws Exception {
+        // 1. Setup test data.
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        // 2. Perform action
+        for (int count = 0; count < 64; count++) {
+            results.add(executorService.submit(() -> inMemoryEntryDataStoreOperationsService.add(new Entry("testValue")).isSuccessfulOperation()));
+        }
+        int successes = 0;
+        for (Future<Boolean> result : results) {
+            successes += result.get() ? 1 : 0;
+        }
+        executorService.shutdown();
+        // 3. Assert results.
+        Assertions.assertEquals(1, successes, "Assert only one concurrent add succeeded.");
+    }
+
+    /**
+     * Validate the write-ahead log restores the {@link Entry} objects on restart.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void writeAheadLogReplaySuccess() throws IOException {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        inMemoryEntryDataStoreOperationsService = create();
+        inMemoryEntryDataStoreOperationsService.add(new Entry("A", "1"));
+        inMemoryEntryDataStoreOperationsService.add(new Entry("B", "2"));
+        inMemoryEntryDataStoreOperationsService.update("A", new Entry("C", "1"));
+        inMemoryEntryDataStoreOperationsService.delete(new Entry("B", "2"));
+        inMemoryEntryDataStoreOperationsService.close();
+        // Simulate a crash during a write.
+        Files.write(walPath, new byte[]{'P', 0, 0}, StandardOpenOption.APPEND);
+        // 2. Perform action
+        inMemoryEntryDataStoreOperationsService = create();
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("C"), values(inMemoryEntryDataStoreOperationsService.getAll()), "Assert the Entry objects were replayed.");
+        Assertions.assertEquals(2, inMemoryEntryDataStoreOperationsService.getById("1").getEntry().getAudits().getAuditList().size(),
+                "Assert the Audits were replayed.");
+    }
+
+    /**
+     * Validate the write-ahead log keeps the order of the changes of each value made concurrently, which are flushed in groups.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void writeAheadLogConcurrentReplaySuccess() throws Exception {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        inMemoryEntryDataStoreOperationsService = create();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            String prefix = "value-" + thread + "-";
+            results.add(executorService.submit(() -> {
+                boolean successful = true;
+                for (int count = 0; count < 100; count++) {
+                    successful &= inMemoryEntryDataStoreOperationsService.add(new Entry(prefix + count, prefix + count)).isSuccessfulOperation();
+                    successful &= inMemoryEntryDataStoreOperationsService.update(prefix + count, new Entry(prefix + count + "-updated", prefix + count))
+                            .isSuccessfulOperation();
+                    if (count % 2 == 0) {
+                        successful &= inMemoryEntryDataStoreOperationsService.delete(new Entry(prefix + count + "-updated", prefix + count))
+                                .isSuccessfulOperation();
+                    }
+                }
+                return successful;
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            Assertions.assertTrue(result.get(), "Assert each concurrent change was flushed.");
+        }
+        executorService.shutdown();
+        List<String> expectedValues = values(inMemoryEntryDataStoreOperationsService.getAll());
+        inMemoryEntryDataStoreOperationsService.close();
+        // 2. Perform action
+        inMemoryEntryDataStoreOperationsService = create();
+        // 3. Assert results.
+        Assertions.assertEquals(400, expectedValues.size(), "Assert the odd values were kept.");
+        Assertions.assertEquals(expectedValues, values(inMemoryEntryDataStoreOperationsService.getAll()), "Assert the concurrent changes were replayed.");
+    }
+
+    /**
+     * Validate the write-ahead log is compacted in the background once it is past the ratio times its compacted size.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void writeAheadLogBackgroundCompactionSuccess() throws IOException {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        inMemoryEntryDataStoreOperationsService = create();
+        for (int count = 0; count < 100; count++) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry("A", String.valueOf(count)));
+            inMemoryEntryDataStoreOperationsService.delete(new Entry("A", String.valueOf(count)));
+        }
+        inMemoryEntryDataStoreOperationsService.close();
+        long uncompactedSize = Files.size(walPath);
+        Files.delete(walPath);
+        Mockito.when(demoApplicationConfig.getMemoryWalCompactMinBytes()).thenReturn(1L);
+        Mockito.when(demoApplicationConfig.getMemoryWalCompactRatio()).thenReturn(1);
+        inMemoryEntryDataStoreOperationsService = create();
+        // 2. Perform action
+        for (int count = 0; count < 100; count++) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry("A", String.valueOf(count)));
+            inMemoryEntryDataStoreOperationsService.delete(new Entry("A", String.valueOf(count)));
+        }
+        inMemoryEntryDataStoreOperationsService.add(new Entry("B", "1"));
+        inMemoryEntryDataStoreOperationsService.close();
+        // 3. Assert results.
+        Assertions.assertTrue(Files.size(walPath) < uncompactedSize / 2, "Assert the write-ahead log was compacted while running.");
+        Assertions.assertFalse(Files.exists(tempDir.resolve("entries.wal.compact")), "Assert the compacted log replaced the log.");
+        inMemoryEntryDataStoreOperationsService = create();
+        Assertions.assertEquals(Arrays.asList("B"), values(inMemoryEntryDataStoreOperationsService.getAll()), "Assert the compacted log was replayed.");
+    }
+
+    /**
+     * Validate the changes made concurrently with a background compaction of the write-ahead log are replayed.
+     *
+     * @throws Exception default exception handling.
+     */
+    @Test
+    public void writeAheadLogConcurrentCompactionReplaySuccess() throws Exception {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        Mockito.when(demoApplicationConfig.getMemoryWalCompactMinBytes()).thenReturn(1L);
+        Mockito.when(demoApplicationConfig.getMemoryWalCompactRatio()).thenReturn(1);
+        inMemoryEntryDataStoreOperationsService = create();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            String prefix = "value-" + thread + "-";
+            results.add(executorService.submit(() -> {
+                boolean successful = true;
+                for (int count = 0; count < 100; count++) {
+                    successful &= inMemoryEntryDataStoreOperationsService.add(new Entry(prefix + count, prefix + count)).isSuccessfulOperation();
+                    successful &= inMemoryEntryDataStoreOperationsService.update(prefix + count, new Entry(prefix + count + "-updated", prefix + count))
+                            .isSuccessfulOperation();
+                    if (count % 2 == 0) {
+                        successful &= inMemoryEntryDataStoreOperationsService.delete(new Entry(prefix + count + "-updated", prefix + count))
+                                .isSuccessfulOperation();
+                    }
+                }
+                return successful;
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            Assertions.assertTrue(result.get(), "Assert each concurrent change was flushed.");
+        }
+        executorService.shutdown();
+        List<String> expectedValues = values(inMemoryEntryDataStoreOperationsService.getAll());
+        inMemoryEntryDataStoreOperationsService.close();
+        // 2. Perform action
+        inMemoryEntryDataStoreOperationsService = create();
+        // 3. Assert results.
+        Assertions.assertEquals(400, expectedValues.size(), "Assert the odd values were kept.");
+        Assertions.assertEquals(expectedValues, values(inMemoryEntryDataStoreOperationsService.getAll()),
+                "Assert the changes made during the compactions were replayed.");
+    }
+
+    /**
+     * Validate a change is refused once the write-ahead log is closed.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void writeAheadLogClosedFailure() throws IOException {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        inMemoryEntryDataStoreOperationsService = create();
+        inMemoryEntryDataStoreOperationsService.add(new Entry("A", "1"));
+        inMemoryEntryDataStoreOperationsService.close();
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.add(new Entry("B", "2"));
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert the add was refused.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.get(new Entry("B")).isSuccessfulOperation(), "Assert the Entry wasn't stored.");
+    }
+
+    /**
+     * Validate an update whose flush to the write-ahead log fails is rolled back, in memory and after a restart.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void writeAheadLogFlushFailureUpdateRolledBack() throws IOException {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        inMemoryEntryDataStoreOperationsService = create();
+        inMemoryEntryDataStoreOperationsService.add(new Entry("A", "1"));
+        Entry storedEntry = inMemoryEntryDataStoreOperationsService.get(new Entry("A")).getEntry();
+        EntryStatsResponse stats = inMemoryEntryDataStoreOperationsService.getStats();
+        String changeTag = inMemoryEntryDataStoreOperationsService.getChangeTag();
+        failWal();
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.update("A", new Entry("B", "1"));
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert the update failed.");
+        Assertions.assertEquals(storedEntry, inMemoryEntryDataStoreOperationsService.get(new Entry("A")).getEntry(), "Assert the Entry was restored.");
+        Assertions.assertEquals(storedEntry.getVersion(), inMemoryEntryDataStoreOperationsService.getById("1").getEntry().getVersion(),
+                "Assert the id maps to the restored Entry.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.get(new Entry("B")).isSuccessfulOperation(), "Assert the updated value wasn't kept.");
+        Assertions.assertEquals(Arrays.asList("A"), values(inMemoryEntryDataStoreOperationsService.getAll()), "Assert the sorted values were restored.");
+        Assertions.assertEquals(stats.getUpdates(), inMemoryEntryDataStoreOperationsService.getStats().getUpdates(), "Assert the update isn't counted.");
+        Assertions.assertNotEquals(changeTag, inMemoryEntryDataStoreOperationsService.getChangeTag(), "Assert the rollback moved the change tag on.");
+        inMemoryEntryDataStoreOperationsService.close();
+        inMemoryEntryDataStoreOperationsService = create();
+        Assertions.assertEquals(Arrays.asList("A"), values(inMemoryEntryDataStoreOperationsService.getAll()), "Assert the update wasn't replayed.");
+    }
+
+    /**
+     * Validate an add whose flush to the write-ahead log fails is rolled back.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void writeAheadLogFlushFailureAddRolledBack() throws IOException {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        inMemoryEntryDataStoreOperationsService = create();
+        failWal();
+        Entry entry = new Entry("A", "1");
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.add(entry, 3600L);
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert the add failed.");
+        Assertions.assertTrue(entry.getAudits().getAuditList().isEmpty(), "Assert the Audit of the failed add was removed.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.get(new Entry("A")).isSuccessfulOperation(), "Assert the Entry was removed.");
+        Assertions.assertFalse(inMemoryEntryDataStoreOperationsService.getById("1").isSuccessfulOperation(), "Assert the id was released.");
+        Assertions.assertNull(inMemoryEntryDataStoreOperationsService.expiryWheel.getExpireAt("A"), "Assert the expiry time was removed.");
+        Assertions.assertEquals(new EntryStatsResponse(0, 0, 0, 0, 0), inMemoryEntryDataStoreOperationsService.getStats(), "Assert the add isn't counted.");
+        Assertions.assertEquals(0, Files.size(walPath), "Assert nothing of the failed group was kept in the log.");
+    }
+
+    /**
+     * Validate a delete whose flush to the write-ahead log fails is rolled back with the expiry time of the {@link Entry}.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void writeAheadLogFlushFailureDeleteRolledBack() throws IOException {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        inMemoryEntryDataStoreOperationsService = create();
+        inMemoryEntryDataStoreOperationsService.add(new Entry("A", "1"), 3600L);
+        Long expireAt = inMemoryEntryDataStoreOperationsService.expiryWheel.getExpireAt("A");
+        EntryStatsResponse stats = inMemoryEntryDataStoreOperationsService.getStats();
+        failWal();
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = inMemoryEntryDataStoreOperationsService.delete(new Entry("A", "1"));
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert the delete failed.");
+        Assertions.assertNull(entryActionResponse.getEntry(), "Assert no deleted Entry is returned.");
+        Assertions.assertTrue(inMemoryEntryDataStoreOperationsService.getById("1").isSuccessfulOperation(), "Assert the Entry was restored.");
+        Assertions.assertEquals(expireAt, inMemoryEntryDataStoreOperationsService.expiryWheel.getExpireAt("A"), "Assert the expiry time was restored.");
+        Assertions.assertEquals(stats, inMemoryEntryDataStoreOperationsService.getStats(), "Assert the delete isn't counted.");
+    }
+
+    /**
+     * Replaces the output of the write-ahead log with one which fails, so the next flush fails.
+     */
+    private void failWal() {
+        ReflectionTestUtils.setField(inMemoryEntryDataStoreOperationsService, "walOutput", new DataOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Simulated write failure.");
+            }
+        }));
+    }
+
+    private InMemoryEntryDataStoreOperationsService create() throws IOException {
+        InMemoryEntryDataStoreOperationsService service = new InMemoryEntryDataStoreOperationsService();
+        service.demoApplicationConfig = demoApplicationConfig;
+        service.open();
+        return service;
+    }
+
+    private List<String> values(EntriesResponse entriesResponse) {
+        return entriesResponse.getEntries().stream().map(Entry::getValue).collect(Collectors.toList());
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#search(String, String, Integer)} ignores case, orders by value and pages after the cursor.
+     */
+    @Test
+    public void searchSuccess() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("xABCx", "abd", "abc", "zabc")) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse page = inMemoryEntryDataStoreOperationsService.search("Abc", null, 2);
+        EntriesResponse lastPage = inMemoryEntryDataStoreOperationsService.search("Abc", page.getNextCursor(), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("abc", "xABCx"), values(page), "Assert the first page of the search is correct.");
+        Assertions.assertEquals(EntryCursorUtils.encode("xABCx"), page.getNextCursor(), "Assert the cursor of the next page is correct.");
+        Assertions.assertEquals(Arrays.asList("zabc"), values(lastPage), "Assert the last page of the search is correct.");
+        Assertions.assertNull(lastPage.getNextCursor(), "Assert the last page has no next cursor.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> inMemoryEntryDataStoreOperationsService.search("ab", null, 2),
+                "Assert a query without a trigram is rejected.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#getModified(LocalDateTime, boolean, Integer, Integer)} orders by the last modified time.
+     *
+     * @throws InterruptedException default exception handling.
+     */
+    @Test
+    public void getModifiedSuccess() throws InterruptedException {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("c", "a", "b")) {
+            inMemoryEntryDataStoreOperationsService.add(new Entry(value, value + "-id"));
+        }
+        Thread.sleep(5);
+        inMemoryEntryDataStoreOperationsService.update("a", new Entry("d", "a-id"));
+        LocalDateTime modifiedSince = inMemoryEntryDataStoreOperationsService.getById("a-id").getEntry().getAudits().getAuditList().get(1).getTimestamp();
+        // 2. Perform action
+        EntriesResponse descendingPage = inMemoryEntryDataStoreOperationsService.getModified(null, true, 0, 2);
+        EntriesResponse sincePage = inMemoryEntryDataStoreOperationsService.getModified(modifiedSince, false, 0, 10);
+        // 3. Assert results.
+        Assertions.assertEquals("d", values(descendingPage).get(0), "Assert the most recently modified Entry is first.");
+        Assertions.assertEquals(2, descendingPage.getTotalPages(), "Assert the total pages are correct.");
+        Assertions.assertEquals(Arrays.asList("d"), values(sincePage), "Assert only the Entry modified since the time are returned.");
+        Assertions.assertEquals(1, sincePage.getTotalEntries(), "Assert the total entries modified since the time are correct.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#getStats()} counts each successful mutation.
+     */
+    @Test
+    public void getStatsSuccess() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("A", "1234"));
+        inMemoryEntryDataStoreOperationsService.add(new Entry("A", "5678"));
+        inMemoryEntryDataStoreOperationsService.add(new Entry("B", "5678"));
+        inMemoryEntryDataStoreOperationsService.update("A", new Entry("C", "1234"));
+        inMemoryEntryDataStoreOperationsService.delete(new Entry("B", "5678"));
+        // 2. Perform action
+        EntryStatsResponse stats = inMemoryEntryDataStoreOperationsService.getStats();
+        // 3. Assert results.
+        Assertions.assertEquals(new EntryStatsResponse(1, 2, 1, 1, 0), stats, "Assert only the successful mutations are counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#expire(long, int)} removes the {@link Entry} whose time to live has passed.
+     */
+    @Test
+    public void expireSuccess() {
+        // 1. Setup test data.
+        inMemoryEntryDataStoreOperationsService.add(new Entry("A", "1"), 1L);
+        inMemoryEntryDataStoreOperationsService.add(new Entry("B", "2"));
+        inMemoryEntryDataStoreOperationsService.add(new Entry("C", "3"), 3600L);
+        inMemoryEntryDataStoreOperationsService.update("C", new Entry("D", "3"));
+        inMemoryEntryDataStoreOperationsService.add(new Entry("E", "4"), 3600L);
+        inMemoryEntryDataStoreOperationsService.delete(new Entry("E", "4"));
+        // 2. Perform action
+        List<Entry> notExpiredEntries = inMemoryEntryDataStoreOperationsService.expire(System.currentTimeMillis(), 10);
+        List<Entry> expiredEntries = inMemoryEntryDataStoreOperationsService.expire(System.currentTimeMillis() + 7_200_000L, 10);
+        // 3. Assert results.
+        Assertions.assertTrue(notExpiredEntries.isEmpty(), "Assert no Entry is removed before it expires.");
+        Assertions.assertEquals(Arrays.asList("A", "D"), expiredEntries.stream().map(Entry::getValue).sorted().collect(Collectors.toList()),
+                "Assert the expired Entry objects, including the updated Entry, are removed.");
+        Assertions.assertTrue(expiredEntries.stream().allMatch(entry -> "Expire".equals(
+                        entry.getAudits().getAuditList().get(entry.getAudits().getAuditList().size() - 1).getAction())),
+                "Assert an Expire Audit is appended to each expired Entry.");
+        Assertions.assertEquals(Arrays.asList("B"), values(inMemoryEntryDataStoreOperationsService.getAll()), "Assert the Entry without a time to live is kept.");
+        Assertions.assertEquals(new EntryStatsResponse(1, 4, 1, 1, 2), inMemoryEntryDataStoreOperationsService.getStats(), "Assert the expirations are counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link InMemoryEntryDataStoreOperationsService#add(Entry, Long)} rejects a time to live which isn't positive, or an {@link Entry} without an id.
+     */
+    @Test
+    public void addEntryInvalidTtl() {
+        // 1. Perform action
+        EntryOperationResponse zeroTtlResponse = inMemoryEntryDataStoreOperationsService.add(new Entry("A", "1"), 0L);
+        EntryOperationResponse noIdResponse = inMemoryEntryDataStoreOperationsService.add(new Entry("B", null), 60L);
+        // 2. Assert results.
+        Assertions.assertFalse(zeroTtlResponse.isSuccessfulOperation(), "Assert a time to live of 0 is rejected.");
+        Assertions.assertFalse(noIdResponse.isSuccessfulOperation(), "Assert a time to live without an id is rejected.");
+        Assertions.assertTrue(values(inMemoryEntryDataStoreOperationsService.getAll()).isEmpty(), "Assert no Entry is added.");
+    }
+
+    /**
+     * Validate the write-ahead log restores the expiry times of the {@link Entry} objects on restart.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void writeAheadLogReplayExpirySuccess() throws IOException {
+        // 1. Setup test data.
+        Path walPath = tempDir.resolve("entries.wal");
+        Mockito.when(demoApplicationConfig.getMemoryWalPath()).thenReturn(walPath.toString());
+        inMemoryEntryDataStoreOperationsService = create();
+        inMemoryEntryDataStoreOperationsService.add(new Entry("A", "1"), 3600L);
+        inMemoryEntryDataStoreOperationsService.add(new Entry("B", "2"), 3600L);
+        inMemoryEntryDataStoreOperationsService.update("B", new Entry("C", "2"));
+        inMemoryEntryDataStoreOperationsService.add(new Entry("D", "3"));
+        inMemoryEntryDataStoreOperationsService.close();
+        // 2. Perform action
+        inMemoryEntryDataStoreOperationsService = create();
+        List<Entry> expiredEntries = inMemoryEntryDataStoreOperationsService.expire(System.currentTimeMillis() + 7_200_000L, 10);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("A", "C"), expiredEntries.stream().map(Entry::getValue).sorted().collect(Collectors.toList()),
+                "Assert the expiry times were restored.");
+        Assertions.assertEquals(Arrays.asList("D"), values(inMemoryEntryDataStoreOperationsService.getAll()), "Assert the Entry without a time to live is kept.");
+    }
+}
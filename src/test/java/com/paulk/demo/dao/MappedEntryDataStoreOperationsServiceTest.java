@@ -0,0 +1,451 @@
+package com.paulk.demo.dao;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.EntriesResponse;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.model.EntryStatsResponse;
+import com.paulk.demo.utils.EntryCursorUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Test the {@link MappedEntryDataStoreOperationsService} class.
+ */
+public class MappedEntryDataStoreOperationsServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DemoApplicationConfig demoApplicationConfig;
+    private MappedEntryDataStoreOperationsService mappedEntryDataStoreOperationsService;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(demoApplicationConfig.getMappedPath()).thenReturn(tempDir.resolve("entries.dat").toString());
+        Mockito.when(demoApplicationConfig.getMappedInitialSlots()).thenReturn(16);
+        Mockito.when(demoApplicationConfig.getMappedInitialSizeMb()).thenReturn(0);
+        mappedEntryDataStoreOperationsService = create();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mappedEntryDataStoreOperationsService.close();
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#add(Entry)} when no {@link Entry} exists.
+     */
+    @Test
+    public void addEntrySuccess() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = mappedEntryDataStoreOperationsService.add(entry);
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert add operation behavior is correct.");
+        Assertions.assertEquals("Add", entry.getAudits().getAuditList().get(0).getAction(), "Assert add operation generated an Audit.");
+        Assertions.assertEquals(entry, mappedEntryDataStoreOperationsService.get(new Entry("testValue")).getEntry(), "Assert the Entry was stored.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#add(Entry)} when the value or id already exists.
+     */
+    @Test
+    public void addEntryAlreadyExists() {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        Entry duplicateValue = new Entry("testValue", "5678");
+        Entry duplicateId = new Entry("otherValue", "1234");
+        // 2. Perform action
+        EntryOperationResponse duplicateValueResponse = mappedEntryDataStoreOperationsService.add(duplicateValue);
+        EntryOperationResponse duplicateIdResponse = mappedEntryDataStoreOperationsService.add(duplicateId);
+        // 3. Assert results.
+        Assertions.assertFalse(duplicateValueResponse.isSuccessfulOperation(), "Assert add operation behavior is correct when the value exists.");
+        Assertions.assertFalse(duplicateIdResponse.isSuccessfulOperation(), "Assert add operation behavior is correct when the id exists.");
+        Assertions.assertTrue(duplicateValue.getAudits().getAuditList().isEmpty(), "Assert the Audit of the failed add was removed.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#getAudits(String, Integer, Integer)} pages the Audits of the {@link Entry}.
+     */
+    @Test
+    public void getAuditsSuccess() {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        mappedEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = mappedEntryDataStoreOperationsService.getAudits("updatedValue", 1, 1);
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert getAudits operation behavior is correct.");
+        Assertions.assertEquals(1, entryActionResponse.getEntry().getAudits().getAuditList().size(), "Assert a single page of Audits is returned.");
+        Assertions.assertEquals("Update", entryActionResponse.getEntry().getAudits().getAuditList().get(0).getAction(), "Assert the second Audit is returned.");
+        Assertions.assertEquals(2, mappedEntryDataStoreOperationsService.get(new Entry("updatedValue")).getEntry().getAudits().getAuditList().size(), "Assert the stored Audits are unchanged.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#update(String, Entry)} renames the {@link Entry}.
+     */
+    @Test
+    public void updateEntrySuccess() {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = mappedEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"));
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert update operation behavior is correct.");
+        Assertions.assertEquals(2, entryActionResponse.getEntry().getAudits().getAuditList().get(1).getAuditId(), "Assert update operation appended an Audit.");
+        Assertions.assertFalse(mappedEntryDataStoreOperationsService.get(new Entry("testValue")).isSuccessfulOperation(), "Assert the current value was removed.");
+        Assertions.assertEquals("updatedValue", mappedEntryDataStoreOperationsService.getById("1234").getEntry().getValue(), "Assert the id slot was updated.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#update(String, Entry)} when the id doesn't match.
+     */
+    @Test
+    public void updateEntryIdMismatch() {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = mappedEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "5678"));
+        // 3. Assert results.
+        Assertions.assertFalse(entryActionResponse.isSuccessfulOperation(), "Assert update operation behavior is correct when the id doesn't match.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#update(String, Entry, Long)} and
+     * {@link MappedEntryDataStoreOperationsService#delete(Entry, Long)} only change an {@link Entry} with the expected version.
+     */
+    @Test
+    public void updateEntryVersionConflict() {
+        // 1. Setup test data.
+        Entry entry = new Entry("testValue", "1234");
+        mappedEntryDataStoreOperationsService.add(entry);
+        Long addedVersion = mappedEntryDataStoreOperationsService.get(new Entry("testValue", null)).getEntry().getVersion();
+        // 2. Perform action
+        EntryOperationResponse updateResponse = mappedEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"), addedVersion);
+        EntryOperationResponse staleUpdateResponse = mappedEntryDataStoreOperationsService.update("updatedValue", new Entry("staleValue", "1234"), addedVersion);
+        EntryOperationResponse staleDeleteResponse = mappedEntryDataStoreOperationsService.delete(new Entry("updatedValue", "1234"), addedVersion);
+        EntryOperationResponse deleteResponse = mappedEntryDataStoreOperationsService.delete(new Entry("updatedValue", "1234"), updateResponse.getEntry().getVersion());
+        // 3. Assert results.
+        Assertions.assertEquals(Long.valueOf(1L), entry.getVersion(), "Assert the added Entry has the version of its Add Audit.");
+        Assertions.assertEquals(Long.valueOf(1L), addedVersion, "Assert the stored Entry is read with its version.");
+        Assertions.assertTrue(updateResponse.isSuccessfulOperation(), "Assert the update with the current version is applied.");
+        Assertions.assertEquals(Long.valueOf(2L), updateResponse.getEntry().getVersion(), "Assert the update increases the version.");
+        Assertions.assertFalse(staleUpdateResponse.isSuccessfulOperation(), "Assert the update with a stale version isn't applied.");
+        Assertions.assertTrue(staleUpdateResponse.isPreconditionFailed(), "Assert the stale update reports the version conflict.");
+        Assertions.assertTrue(staleDeleteResponse.isPreconditionFailed(), "Assert the stale delete reports the version conflict.");
+        Assertions.assertTrue(deleteResponse.isSuccessfulOperation(), "Assert the delete with the current version is applied.");
+        Assertions.assertEquals(Long.valueOf(3L), deleteResponse.getEntry().getVersion(), "Assert the delete increases the version.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#getVersionById(String, String)} and
+     * {@link MappedEntryDataStoreOperationsService#getChangeTag()} change with each mutation.
+     */
+    @Test
+    public void getVersionByIdSuccess() {
+        // 1. Setup test data.
+        String initialChangeTag = mappedEntryDataStoreOperationsService.getChangeTag();
+        mappedEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        String addedChangeTag = mappedEntryDataStoreOperationsService.getChangeTag();
+        // 2. Perform action
+        mappedEntryDataStoreOperationsService.update("testValue", new Entry("updatedValue", "1234"));
+        // 3. Assert results.
+        Assertions.assertEquals(Optional.of(2L), mappedEntryDataStoreOperationsService.getVersionById("1234", null), "Assert the version is the latest audit id.");
+        Assertions.assertEquals(Optional.of(2L), mappedEntryDataStoreOperationsService.getVersionById("1234", "updatedValue"), "Assert the version is found with the value.");
+        Assertions.assertFalse(mappedEntryDataStoreOperationsService.getVersionById("1234", "testValue").isPresent(), "Assert no version is found for a previous value.");
+        Assertions.assertFalse(mappedEntryDataStoreOperationsService.getVersionById("5678", null).isPresent(), "Assert no version is found for an unknown id.");
+        Assertions.assertNotEquals(initialChangeTag, addedChangeTag, "Assert an add changes the change tag.");
+        Assertions.assertNotEquals(addedChangeTag, mappedEntryDataStoreOperationsService.getChangeTag(), "Assert an update changes the change tag.");
+        Assertions.assertEquals(mappedEntryDataStoreOperationsService.getChangeTag(), mappedEntryDataStoreOperationsService.getChangeTag(), "Assert the change tag is unchanged without a mutation.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#delete(Entry)} removes the {@link Entry} and its id slot.
+     */
+    @Test
+    public void deleteEntrySuccess() {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("testValue", "1234"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = mappedEntryDataStoreOperationsService.delete(new Entry("testValue", "1234"));
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert delete operation behavior is correct.");
+        Assertions.assertEquals("Delete", entryActionResponse.getEntry().getAudits().getAuditList().get(1).getAction(), "Assert delete operation generated an Audit.");
+        Assertions.assertFalse(mappedEntryDataStoreOperationsService.getById("1234").isSuccessfulOperation(), "Assert the id slot was removed.");
+        Assertions.assertTrue(mappedEntryDataStoreOperationsService.getAll().getEntries().isEmpty(), "Assert the value slot was removed.");
+    }
+
+    /**
+     * Validate the paging operations return every {@link Entry} exactly once.
+     */
+    @Test
+    public void getAllPagingSuccess() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("e", "b", "a", "d", "c")) {
+            mappedEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse page = mappedEntryDataStoreOperationsService.getAll(2, 2);
+        List<String> cursorValues = new ArrayList<>();
+        String cursor = null;
+        do {
+            EntriesResponse cursorPage = mappedEntryDataStoreOperationsService.getAllFromCursor(cursor, 2);
+            cursorValues.addAll(values(cursorPage));
+            cursor = cursorPage.getNextCursor();
+        } while (cursor != null);
+        Collections.sort(cursorValues);
+        // 3. Assert results.
+        Assertions.assertEquals(1, page.getEntries().size(), "Assert the last page is correct.");
+        Assertions.assertEquals(3, page.getTotalPages(), "Assert the total pages are correct.");
+        Assertions.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), cursorValues, "Assert the cursor pages are correct.");
+    }
+
+    /**
+     * Validate the behaviour of the range operations, which are ordered by value.
+     */
+    @Test
+    public void getRangeSuccess() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("b", "abc", "abd", "ab", "a")) {
+            mappedEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse page = mappedEntryDataStoreOperationsService.getRange("ab", "b", false, 1, 2);
+        EntriesResponse firstCursorPage = mappedEntryDataStoreOperationsService.getRangeFromCursor("ab", "b", false, null, 2);
+        EntriesResponse lastCursorPage = mappedEntryDataStoreOperationsService.getRangeFromCursor("ab", "b", false, firstCursorPage.getNextCursor(), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("abd"), values(page), "Assert the page of the range is correct.");
+        Assertions.assertEquals(2, page.getTotalPages(), "Assert the total pages of the range are correct.");
+        Assertions.assertEquals(Arrays.asList("ab", "abc"), values(firstCursorPage), "Assert the first cursor page is correct.");
+        Assertions.assertEquals(Arrays.asList("abd"), values(lastCursorPage), "Assert the last cursor page is correct.");
+        Assertions.assertNull(lastCursorPage.getNextCursor(), "Assert the last cursor page has no next cursor.");
+    }
+
+    /**
+     * Validate the behaviour of the range operations in descending order, which start from the last value of the range.
+     */
+    @Test
+    public void getRangeDescendingSuccess() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("b", "abc", "abd", "ab", "a")) {
+            mappedEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse page = mappedEntryDataStoreOperationsService.getRange(null, null, true, 0, 2);
+        EntriesResponse firstCursorPage = mappedEntryDataStoreOperationsService.getRangeFromCursor("ab", "b", true, null, 2);
+        EntriesResponse lastCursorPage = mappedEntryDataStoreOperationsService.getRangeFromCursor("ab", "b", true, firstCursorPage.getNextCursor(), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("b", "abd"), values(page), "Assert the first page holds the last values.");
+        Assertions.assertEquals(Arrays.asList("abd", "abc"), values(firstCursorPage), "Assert the first cursor page is correct.");
+        Assertions.assertEquals(Arrays.asList("ab"), values(lastCursorPage), "Assert the last cursor page is correct.");
+        Assertions.assertNull(lastCursorPage.getNextCursor(), "Assert the last cursor page has no next cursor.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#batch(List)} applies the actions in order.
+     */
+    @Test
+    public void batchSuccess() {
+        // 1. Setup test data.
+        List<EntryActionInput> actionInputs = Arrays.asList(
+                new EntryActionInput.EntryActionInputBuilder().withAction("Add").withEntry(new Entry("A", "1234")).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Update").withKey("A").withEntry(new Entry("B", "1234")).build(),
+                new EntryActionInput.EntryActionInputBuilder().withAction("Delete").withEntry(new Entry("A", "1234")).build());
+        // 2. Perform action
+        List<EntryOperationResponse> entryActionResponses = mappedEntryDataStoreOperationsService.batch(actionInputs);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList(true, true, false),
+                entryActionResponses.stream().map(EntryOperationResponse::isSuccessfulOperation).collect(Collectors.toList()),
+                "Assert batch operation behavior is correct.");
+    }
+
+    /**
+     * Validate the table is rebuilt as it grows past its initial slots and size, keeping every {@link Entry}.
+     */
+    @Test
+    public void addEntryGrowsTable() {
+        // 1. Setup test data.
+        int count = 2000;
+        // 2. Perform action
+        for (int index = 0; index < count; index++) {
+            mappedEntryDataStoreOperationsService.add(new Entry("value" + index, "id" + index));
+            if (index % 2 == 0) {
+                mappedEntryDataStoreOperationsService.update("value" + index, new Entry("updated" + index, "id" + index));
+            }
+        }
+        // 3. Assert results.
+        Assertions.assertEquals(count, mappedEntryDataStoreOperationsService.getAll().getTotalEntries(), "Assert every Entry was kept.");
+        Assertions.assertEquals("updated1998", mappedEntryDataStoreOperationsService.getById("id1998").getEntry().getValue(), "Assert the id slots were rebuilt.");
+        Assertions.assertTrue(mappedEntryDataStoreOperationsService.get(new Entry("value1999")).isSuccessfulOperation(), "Assert the value slots were rebuilt.");
+    }
+
+    /**
+     * Validate the {@link Entry} objects are restored by re-mapping the file on restart.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void reopenSuccess() throws IOException {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("A", "1"));
+        mappedEntryDataStoreOperationsService.add(new Entry("B", "2"));
+        mappedEntryDataStoreOperationsService.update("A", new Entry("C", "1"));
+        mappedEntryDataStoreOperationsService.delete(new Entry("B", "2"));
+        mappedEntryDataStoreOperationsService.close();
+        // 2. Perform action
+        mappedEntryDataStoreOperationsService = create();
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("C"), values(mappedEntryDataStoreOperationsService.getAll()), "Assert the Entry objects were re-mapped.");
+        Assertions.assertEquals(2, mappedEntryDataStoreOperationsService.getById("1").getEntry().getAudits().getAuditList().size(),
+                "Assert the Audits were re-mapped.");
+    }
+
+    private MappedEntryDataStoreOperationsService create() throws IOException {
+        MappedEntryDataStoreOperationsService service = new MappedEntryDataStoreOperationsService();
+        service.demoApplicationConfig = demoApplicationConfig;
+        service.open();
+        return service;
+    }
+
+    private List<String> values(EntriesResponse entriesResponse) {
+        return entriesResponse.getEntries().stream().map(Entry::getValue).collect(Collectors.toList());
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#search(String, String, Integer)} ignores case, orders by value and pages after the cursor.
+     */
+    @Test
+    public void searchSuccess() {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("xABCx", "abd", "abc", "zabc")) {
+            mappedEntryDataStoreOperationsService.add(new Entry(value));
+        }
+        // 2. Perform action
+        EntriesResponse page = mappedEntryDataStoreOperationsService.search("Abc", null, 2);
+        EntriesResponse lastPage = mappedEntryDataStoreOperationsService.search("Abc", page.getNextCursor(), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("abc", "xABCx"), values(page), "Assert the first page of the search is correct.");
+        Assertions.assertEquals(EntryCursorUtils.encode("xABCx"), page.getNextCursor(), "Assert the cursor of the next page is correct.");
+        Assertions.assertEquals(Arrays.asList("zabc"), values(lastPage), "Assert the last page of the search is correct.");
+        Assertions.assertNull(lastPage.getNextCursor(), "Assert the last page has no next cursor.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#getModified(LocalDateTime, boolean, Integer, Integer)} orders by the last modified time.
+     *
+     * @throws InterruptedException default exception handling.
+     */
+    @Test
+    public void getModifiedSuccess() throws InterruptedException {
+        // 1. Setup test data.
+        for (String value : Arrays.asList("c", "a", "b")) {
+            mappedEntryDataStoreOperationsService.add(new Entry(value, value + "-id"));
+        }
+        Thread.sleep(5);
+        mappedEntryDataStoreOperationsService.update("a", new Entry("d", "a-id"));
+        LocalDateTime modifiedSince = mappedEntryDataStoreOperationsService.getById("a-id").getEntry().getAudits().getAuditList().get(1).getTimestamp();
+        // 2. Perform action
+        EntriesResponse descendingPage = mappedEntryDataStoreOperationsService.getModified(null, true, 0, 2);
+        EntriesResponse sincePage = mappedEntryDataStoreOperationsService.getModified(modifiedSince, false, 0, 10);
+        // 3. Assert results.
+        Assertions.assertEquals("d", values(descendingPage).get(0), "Assert the most recently modified Entry is first.");
+        Assertions.assertEquals(Arrays.asList("d"), values(sincePage), "Assert only the Entry modified since the time are returned.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#getStats()} counts each successful mutation.
+     */
+    @Test
+    public void getStatsSuccess() {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("A", "1234"));
+        mappedEntryDataStoreOperationsService.add(new Entry("A", "5678"));
+        mappedEntryDataStoreOperationsService.add(new Entry("B", "5678"));
+        mappedEntryDataStoreOperationsService.update("A", new Entry("C", "1234"));
+        mappedEntryDataStoreOperationsService.delete(new Entry("B", "5678"));
+        // 2. Perform action
+        EntryStatsResponse stats = mappedEntryDataStoreOperationsService.getStats();
+        // 3. Assert results.
+        Assertions.assertEquals(new EntryStatsResponse(1, 2, 1, 1, 0), stats, "Assert only the successful mutations are counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#expire(long, int)} removes the {@link Entry} whose time to live has passed.
+     */
+    @Test
+    public void expireSuccess() {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("A", "1"), 1L);
+        mappedEntryDataStoreOperationsService.add(new Entry("B", "2"));
+        mappedEntryDataStoreOperationsService.add(new Entry("C", "3"), 3600L);
+        mappedEntryDataStoreOperationsService.update("C", new Entry("D", "3"));
+        mappedEntryDataStoreOperationsService.add(new Entry("E", "4"), 3600L);
+        mappedEntryDataStoreOperationsService.delete(new Entry("E", "4"));
+        // 2. Perform action
+        List<Entry> notExpiredEntries = mappedEntryDataStoreOperationsService.expire(System.currentTimeMillis(), 10);
+        List<Entry> expiredEntries = mappedEntryDataStoreOperationsService.expire(System.currentTimeMillis() + 7_200_000L, 10);
+        // 3. Assert results.
+        Assertions.assertTrue(notExpiredEntries.isEmpty(), "Assert no Entry is removed before it expires.");
+        Assertions.assertEquals(Arrays.asList("A", "D"), expiredEntries.stream().map(Entry::getValue).sorted().collect(Collectors.toList()),
+                "Assert the expired Entry objects, including the updated Entry, are removed.");
+        Assertions.assertTrue(expiredEntries.stream().allMatch(entry -> "Expire".equals(
+                        entry.getAudits().getAuditList().get(entry.getAudits().getAuditList().size() - 1).getAction())),
+                "Assert an Expire Audit is appended to each expired Entry.");
+        Assertions.assertEquals(Arrays.asList("B"), values(mappedEntryDataStoreOperationsService.getAll()), "Assert the Entry without a time to live is kept.");
+        Assertions.assertEquals(new EntryStatsResponse(1, 4, 1, 1, 2), mappedEntryDataStoreOperationsService.getStats(), "Assert the expirations are counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link MappedEntryDataStoreOperationsService#add(Entry, Long)} rejects a time to live which isn't positive, or an {@link Entry} without an id.
+     */
+    @Test
+    public void addEntryInvalidTtl() {
+        // 1. Perform action
+        EntryOperationResponse zeroTtlResponse = mappedEntryDataStoreOperationsService.add(new Entry("A", "1"), 0L);
+        EntryOperationResponse noIdResponse = mappedEntryDataStoreOperationsService.add(new Entry("B", null), 60L);
+        // 2. Assert results.
+        Assertions.assertFalse(zeroTtlResponse.isSuccessfulOperation(), "Assert a time to live of 0 is rejected.");
+        Assertions.assertFalse(noIdResponse.isSuccessfulOperation(), "Assert a time to live without an id is rejected.");
+        Assertions.assertTrue(values(mappedEntryDataStoreOperationsService.getAll()).isEmpty(), "Assert no Entry is added.");
+    }
+
+    /**
+     * Validate the expiry log restores the expiry times of the {@link Entry} objects on restart.
+     *
+     * @throws IOException default exception handling.
+     */
+    @Test
+    public void reopenExpirySuccess() throws IOException {
+        // 1. Setup test data.
+        mappedEntryDataStoreOperationsService.add(new Entry("A", "1"), 3600L);
+        mappedEntryDataStoreOperationsService.add(new Entry("B", "2"), 3600L);
+        mappedEntryDataStoreOperationsService.update("B", new Entry("C", "2"));
+        mappedEntryDataStoreOperationsService.add(new Entry("D", "3"));
+        mappedEntryDataStoreOperationsService.close();
+        // 2. Perform action
+        mappedEntryDataStoreOperationsService = create();
+        List<Entry> expiredEntries = mappedEntryDataStoreOperationsService.expire(System.currentTimeMillis() + 7_200_000L, 10);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("A", "C"), expiredEntries.stream().map(Entry::getValue).sorted().collect(Collectors.toList()),
+                "Assert the expiry times were restored.");
+        Assertions.assertEquals(Arrays.asList("D"), values(mappedEntryDataStoreOperationsService.getAll()), "Assert the Entry without a time to live is kept.");
+    }
+}
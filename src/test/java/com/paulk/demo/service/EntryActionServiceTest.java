@@ -1,10 +1,15 @@
 package com.paulk.demo.service;
 
+import com.paulk.demo.config.BoundedRedisCacheWriter;
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.config.NearCache;
 import com.paulk.demo.dao.EntryDataStoreOperationsService;
 import com.paulk.demo.model.EntryActionInput;
 import com.paulk.demo.model.EntriesResponse;
 import com.paulk.demo.model.Entry;
 import com.paulk.demo.model.EntryOperationResponse;
+import com.paulk.demo.utils.EntryCursorUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,10 +19,21 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Test the {@link EntryActionService} class.
@@ -29,6 +45,9 @@ public class EntryActionServiceTest {
     @Mock
     EntryDataStoreOperationsService entryDataStoreOperationsService;
 
+    @Mock
+    CacheManager cacheManager;
+
     @InjectMocks
     EntryActionService entryActionService;
 
@@ -54,7 +73,7 @@ public class EntryActionServiceTest {
         // 1. Setup mocks.
         EntryOperationResponse entryActionResponse = new EntryOperationResponse();
         entryActionResponse.setSuccessfulOperation(true);
-        Mockito.when(entryDataStoreOperationsService.add(Mockito.any())).thenReturn(entryActionResponse);
+        Mockito.when(entryDataStoreOperationsService.add(Mockito.any(), Mockito.any())).thenReturn(entryActionResponse);
         // 2. Perform action
         EntryOperationResponse actualEntryActionResponse = entryActionService.addEntry(entryActionInput);
         // 3. Assert results.
@@ -68,7 +87,7 @@ public class EntryActionServiceTest {
     public void addEntryFailure() {
         // 1. Setup mocks.
         EntryOperationResponse entryActionResponse = new EntryOperationResponse();
-        Mockito.when(entryDataStoreOperationsService.add(Mockito.any())).thenReturn(entryActionResponse);
+        Mockito.when(entryDataStoreOperationsService.add(Mockito.any(), Mockito.any())).thenReturn(entryActionResponse);
         // 2. Perform action
         EntryOperationResponse actualEntryActionResponse = entryActionService.addEntry(entryActionInput);
         // 3. Assert results.
@@ -120,6 +139,30 @@ public class EntryActionServiceTest {
         Assertions.assertEquals(entry, actualEntryActionResponse.getEntry(), "Assert update operation behavior is correct.");
     }
 
+    /**
+     * Validate the behaviour of {@link EntryActionService#updateEntry(EntryActionInput)} with an expected version, which
+     * flushes the write-behind buffer and is applied directly to the data store.
+     */
+    @Test
+    public void updateEntryExpectedVersionSuccess() {
+        // 1. Setup mocks.
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        entryActionResponse.setPreconditionFailed(true);
+        entryActionService.entryWriteBehindService = Mockito.mock(EntryWriteBehindService.class);
+        Mockito.when(entryDataStoreOperationsService.update("test", entry, 2L)).thenReturn(entryActionResponse);
+        EntryActionInput versionedActionInput = new EntryActionInput.EntryActionInputBuilder()
+                .withKey("test")
+                .withEntry(entry)
+                .withExpectedVersion(2L)
+                .build();
+        // 2. Perform action
+        EntryOperationResponse actualEntryActionResponse = entryActionService.updateEntry(versionedActionInput);
+        // 3. Assert results.
+        Assertions.assertTrue(actualEntryActionResponse.isPreconditionFailed(), "Assert the version conflict of the data store is returned.");
+        Mockito.verify(entryActionService.entryWriteBehindService, Mockito.times(1)).flush();
+        Mockito.verify(entryActionService.entryWriteBehindService, Mockito.never()).update(Mockito.any(), Mockito.any());
+    }
+
     /**
      * Validate the behaviour of {@link EntryActionService#updateEntry(EntryActionInput)} when key for{@link Entry} does not exists.
      */
@@ -165,7 +208,62 @@ public class EntryActionServiceTest {
     }
 
     /**
-     * Validate the behaviour of {@link EntryActionService#getAllEntries()}when multiple {@link Entry} exists.
+     * Validate the behaviour of {@link EntryActionService#getEntry(EntryActionInput)} reads a cached {@link Entry}
+     * without reading the data store, and shares the load of a missed {@link Entry} through the {@link EntryLoadCoalescer}.
+     */
+    @Test
+    public void getEntryCachedSuccess() {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        entryActionResponse.setEntry(entry);
+        entryActionResponse.setSuccessfulOperation(true);
+        ConcurrentMapCache cache = new ConcurrentMapCache("entries");
+        entryActionService.entryLoadCoalescer = Mockito.spy(new EntryLoadCoalescer());
+        entryActionService.entryLoadCoalescer.meterRegistry = new SimpleMeterRegistry();
+        entryActionService.entryLoadCoalescer.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryActionService.entryLoadCoalescer.demoApplicationConfig.getEarlyRefreshBeta()).thenReturn(1d);
+        entryActionService.entryLoadCoalescer.start();
+        // 1. Setup mocks.
+        Mockito.when(cacheManager.getCache("entries")).thenReturn(cache);
+        Mockito.when(entryDataStoreOperationsService.get(Mockito.any())).thenReturn(entryActionResponse);
+        // 2. Perform action
+        EntryOperationResponse loadedOperationResponse = entryActionService.getEntry(entryActionInput);
+        EntryOperationResponse cachedOperationResponse = entryActionService.getEntry(entryActionInput);
+        // 3. Assert results.
+        Assertions.assertEquals(entry, loadedOperationResponse.getEntry(), "Assert get operation behavior is correct.");
+        Assertions.assertSame(loadedOperationResponse, cachedOperationResponse, "Assert the cached Entry is read.");
+        Mockito.verify(entryDataStoreOperationsService, Mockito.times(1)).get(Mockito.any());
+        Mockito.verify(entryActionService.entryLoadCoalescer, Mockito.times(1)).load(Mockito.eq("testValue"), Mockito.any());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#getEntry(EntryActionInput)} doesn't put an {@link Entry} in the
+     * cache when it is changed while it is loaded.
+     */
+    @Test
+    public void getEntryChangedWhileLoading() {
+        EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+        entryActionResponse.setEntry(entry);
+        entryActionResponse.setSuccessfulOperation(true);
+        ConcurrentMapCache cache = new ConcurrentMapCache("entries");
+        entryActionService.entryLoadCoalescer = new EntryLoadCoalescer();
+        entryActionService.entryLoadCoalescer.meterRegistry = new SimpleMeterRegistry();
+        entryActionService.entryLoadCoalescer.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        entryActionService.entryLoadCoalescer.start();
+        // 1. Setup mocks.
+        Mockito.when(cacheManager.getCache("entries")).thenReturn(cache);
+        Mockito.when(entryDataStoreOperationsService.get(Mockito.any())).thenAnswer(invocation -> {
+            entryActionService.entryLoadCoalescer.forget(Collections.singletonList("testValue"));
+            return entryActionResponse;
+        });
+        // 2. Perform action
+        EntryOperationResponse actualOperationResponse = entryActionService.getEntry(entryActionInput);
+        // 3. Assert results.
+        Assertions.assertSame(entryActionResponse, actualOperationResponse, "Assert the loaded Entry is returned.");
+        Assertions.assertNull(cache.get("testValue"), "Assert the Entry changed while loading isn't cached.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#getAllEntries(String)} when multiple {@link Entry} exists.
      */
     @Test
     public void getAllSuccess() {
@@ -188,4 +286,201 @@ public class EntryActionServiceTest {
         // 4. Assert results.
         Assertions.assertEquals(expectedEntries.size(), actualEntriesResponse.getEntries().size(), "Assert getAll operation behavior is correct.");
     }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#getAllEntries(String, Integer, Integer)} reads a page again
+     * only once the change tag changes, through the {@link EntryPageCache}.
+     */
+    @Test
+    public void getAllEntriesCachedSuccess() {
+        // 1. Setup test data.
+        EntriesResponse entriesResponse = new EntriesResponse();
+        entriesResponse.getEntries().add(entry);
+        entryActionService.entryPageCache = new EntryPageCache();
+        entryActionService.entryPageCache.meterRegistry = new SimpleMeterRegistry();
+        entryActionService.entryPageCache.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryActionService.entryPageCache.demoApplicationConfig.getPageCacheMaxSize()).thenReturn(10);
+        entryActionService.entryPageCache.start();
+        // 2. Setup mocks.
+        Mockito.when(entryDataStoreOperationsService.getAll(0, 10)).thenReturn(entriesResponse);
+        // 3. Perform action
+        entryActionService.getAllEntries("1", 0, 10);
+        EntriesResponse cachedEntriesResponse = entryActionService.getAllEntries("1", 0, 10);
+        entryActionService.getAllEntries("2", 0, 10);
+        // 4. Assert results.
+        Assertions.assertEquals(entriesResponse.getEntries(), cachedEntriesResponse.getEntries(), "Assert the cached page is read.");
+        Mockito.verify(entryDataStoreOperationsService, Mockito.times(2)).getAll(0, 10);
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#batchEntries(List)} evicts every affected value.
+     */
+    @Test
+    public void batchEntriesEvictsValues() {
+        // 1. Setup test data.
+        ConcurrentMapCache cache = new ConcurrentMapCache("entries");
+        cache.put("A", new EntryOperationResponse());
+        cache.put("B", new EntryOperationResponse());
+        cache.put("C", new EntryOperationResponse());
+        List<EntryActionInput> actionInputs = Arrays.asList(
+                new EntryActionInput.EntryActionInputBuilder().withAction("Update").withKey("A").withEntry(new Entry("B")).build());
+        // 2. Setup mocks.
+        Mockito.when(cacheManager.getCache("entries")).thenReturn(cache);
+        Mockito.when(entryDataStoreOperationsService.batch(actionInputs)).thenReturn(Arrays.asList(new EntryOperationResponse()));
+        // 3. Perform action
+        List<EntryOperationResponse> entryOperationResponses = entryActionService.batchEntries(actionInputs);
+        // 4. Assert results.
+        Assertions.assertEquals(1, entryOperationResponses.size(), "Assert batch operation behavior is correct.");
+        Assertions.assertNull(cache.get("A"), "Assert the current value was evicted.");
+        Assertions.assertNull(cache.get("B"), "Assert the updated value was evicted.");
+        Assertions.assertNotNull(cache.get("C"), "Assert unrelated values were not evicted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#evictAll(java.util.Collection)} evicts the shared cache behind a
+     * {@link NearCache} and publishes the keys to the other nodes.
+     */
+    @Test
+    public void evictAllNearCache() {
+        // 1. Setup test data.
+        ConcurrentMapCache sharedCache = new ConcurrentMapCache("entries");
+        List<Collection<?>> publishedKeys = new ArrayList<>();
+        NearCache nearCache = new NearCache(sharedCache, 10, 60_000, publishedKeys::add, new SimpleMeterRegistry());
+        nearCache.put("A", new EntryOperationResponse());
+        nearCache.put("B", new EntryOperationResponse());
+        // 2. Setup mocks.
+        Mockito.when(cacheManager.getCache("entries")).thenReturn(nearCache);
+        // 3. Perform action
+        entryActionService.evictAll(Collections.singletonList("A"));
+        // 4. Assert results.
+        Assertions.assertNull(sharedCache.get("A"), "Assert the value was evicted from the shared cache.");
+        Assertions.assertNull(nearCache.get("A"), "Assert the value was evicted from the near cache.");
+        Assertions.assertNotNull(nearCache.get("B"), "Assert unrelated values were not evicted.");
+        Assertions.assertEquals(Collections.singletonList(Collections.singletonList("A")), publishedKeys, "Assert the evicted key was published.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#evictAll(java.util.Collection)} evicts a bounded {@link RedisCache}
+     * through its {@link BoundedRedisCacheWriter}, so the keys are removed from the index of the cache too.
+     */
+    @Test
+    public void evictAllBoundedRedisCache() {
+        // 1. Setup test data.
+        BoundedRedisCacheWriter cacheWriter = Mockito.mock(BoundedRedisCacheWriter.class);
+        RedisCache redisCache = Mockito.mock(RedisCache.class);
+        // 2. Setup mocks.
+        Mockito.when(redisCache.getName()).thenReturn("entries");
+        Mockito.when(redisCache.getNativeCache()).thenReturn(cacheWriter);
+        Mockito.when(redisCache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig());
+        Mockito.when(cacheManager.getCache("entries")).thenReturn(redisCache);
+        // 3. Perform action
+        entryActionService.evictAll(Arrays.asList("A", "B"));
+        // 4. Assert results.
+        Mockito.verify(cacheWriter, Mockito.times(1)).removeAll("entries", Arrays.asList("entries::A", "entries::B"));
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#getEntry(EntryActionInput)} reads a buffered mutation when write-behind is enabled.
+     */
+    @Test
+    public void getEntryWriteBehindSuccess() {
+        // 1. Setup mocks.
+        EntryOperationResponse bufferedResponse = new EntryOperationResponse();
+        bufferedResponse.setEntry(entry);
+        bufferedResponse.setSuccessfulOperation(true);
+        entryActionService.entryWriteBehindService = Mockito.mock(EntryWriteBehindService.class);
+        Mockito.when(entryActionService.entryWriteBehindService.get("testValue")).thenReturn(Optional.of(bufferedResponse));
+        // 2. Perform action
+        EntryOperationResponse actualEntryActionResponse = entryActionService.getEntry(entryActionInput);
+        // 3. Assert results.
+        Assertions.assertEquals(bufferedResponse, actualEntryActionResponse, "Assert get operation reads the buffered mutation.");
+        Mockito.verify(entryDataStoreOperationsService, Mockito.never()).get(Mockito.any());
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#getEntriesInRange(String, String, boolean, Integer, Integer)} merges the
+     * buffered values within the window of each page in order while the page has room, without flushing the write-behind
+     * buffer.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getEntriesInRangeWriteBehindSuccess() {
+        // 1. Setup mocks.
+        entryActionService.entryWriteBehindService = Mockito.mock(EntryWriteBehindService.class);
+        Mockito.when(entryActionService.entryWriteBehindService.merge(Mockito.anyList(), Mockito.any())).thenAnswer(invocation -> {
+            Predicate<String> window = invocation.getArgument(1);
+            return Stream.of("A", "C", "E", "H").filter(window).map(Entry::new).collect(Collectors.toList());
+        });
+        Mockito.when(entryDataStoreOperationsService.getRange("A", "H", false, 0, 3)).thenReturn(createEntriesResponse(4, 2, "B", "D", "F"));
+        Mockito.when(entryDataStoreOperationsService.getRange("A", "H", false, 1, 3)).thenReturn(createEntriesResponse(4, 2, "G"));
+        // 2. Perform action
+        EntriesResponse firstPage = entryActionService.getEntriesInRange("A", "H", false, 0, 3);
+        EntriesResponse secondPage = entryActionService.getEntriesInRange("A", "H", false, 1, 3);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("B", "D", "F"), firstPage.getEntries().stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert a full page keeps its listed values.");
+        Assertions.assertEquals(Arrays.asList("G"), secondPage.getEntries().stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert the buffered values outside the page and the range aren't merged.");
+        Mockito.verify(entryActionService.entryWriteBehindService, Mockito.never()).flush();
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#getEntriesInRange(String, String, boolean, Integer, Integer)} trims the
+     * buffered values merged into a page to the page size and moves the totals by the values added.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getEntriesInRangeWriteBehindTrimmed() {
+        // 1. Setup mocks.
+        entryActionService.entryWriteBehindService = Mockito.mock(EntryWriteBehindService.class);
+        Mockito.when(entryActionService.entryWriteBehindService.merge(Mockito.anyList(), Mockito.any())).thenAnswer(invocation -> {
+            Predicate<String> window = invocation.getArgument(1);
+            return Stream.of("E", "C", "A").filter(window).map(Entry::new).collect(Collectors.toList());
+        });
+        Mockito.when(entryDataStoreOperationsService.getRange("A", "H", false, 0, 3)).thenReturn(createEntriesResponse(2, 1, "B", "D"));
+        // 2. Perform action
+        EntriesResponse entriesResponse = entryActionService.getEntriesInRange("A", "H", false, 0, 3);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("A", "B", "D"), entriesResponse.getEntries().stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert the first buffered value is merged in order into the room left on the page.");
+        Assertions.assertEquals(3, entriesResponse.getTotalEntries(), "Assert the merged value is counted.");
+        Assertions.assertEquals(1, entriesResponse.getTotalPages(), "Assert the total pages are counted from the merged total.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryActionService#getEntriesInRangeFromCursor(String, String, boolean, String, Integer)}
+     * trims a merged page to the page size and carries the trimmed values to the next page through the cursor.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getEntriesInRangeFromCursorWriteBehindTrimmed() {
+        // 1. Setup mocks.
+        entryActionService.entryWriteBehindService = Mockito.mock(EntryWriteBehindService.class);
+        Mockito.when(entryActionService.entryWriteBehindService.merge(Mockito.anyList(), Mockito.any())).thenAnswer(invocation -> {
+            Predicate<String> window = invocation.getArgument(1);
+            return Stream.of("A", "C", "E").filter(window).map(Entry::new).collect(Collectors.toList());
+        });
+        String cursor = EntryCursorUtils.encode("B");
+        Mockito.when(entryDataStoreOperationsService.getRangeFromCursor("A", null, false, null, 2)).thenReturn(createEntriesResponse(0, 0, "B", "D"));
+        Mockito.when(entryDataStoreOperationsService.getRangeFromCursor("A", null, false, cursor, 2)).thenReturn(createEntriesResponse(0, 0, "D", "F"));
+        // 2. Perform action
+        EntriesResponse firstPage = entryActionService.getEntriesInRangeFromCursor("A", null, false, null, 2);
+        EntriesResponse secondPage = entryActionService.getEntriesInRangeFromCursor("A", null, false, firstPage.getNextCursor(), 2);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("A", "B"), firstPage.getEntries().stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert the merged page is trimmed to the page size.");
+        Assertions.assertEquals(cursor, firstPage.getNextCursor(), "Assert the cursor is moved to the last value kept.");
+        Assertions.assertEquals(Arrays.asList("C", "D"), secondPage.getEntries().stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert the trimmed values are listed on the next page.");
+        Assertions.assertEquals(EntryCursorUtils.encode("D"), secondPage.getNextCursor(),
+                "Assert the cursor is moved to the last value kept on each page.");
+    }
+
+    private EntriesResponse createEntriesResponse(long totalEntries, int totalPages, String... values) {
+        EntriesResponse entriesResponse = new EntriesResponse();
+        Arrays.stream(values).map(Entry::new).forEach(entriesResponse.getEntries()::add);
+        entriesResponse.setTotalEntries(totalEntries);
+        entriesResponse.setTotalPages(totalPages);
+        return entriesResponse;
+    }
 }
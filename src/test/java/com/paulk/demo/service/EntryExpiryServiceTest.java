@@ -0,0 +1,70 @@
+package com.paulk.demo.service;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.dao.DataStoreOperations;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test the {@link EntryExpiryService} class.
+ */
+public class EntryExpiryServiceTest {
+
+    private DataStoreOperations<String, Entry> entryDataStoreOperationsService;
+    private EntryExpiryService entryExpiryService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        entryDataStoreOperationsService = Mockito.mock(DataStoreOperations.class);
+        entryExpiryService = new EntryExpiryService();
+        entryExpiryService.entryDataStoreOperationsService = entryDataStoreOperationsService;
+        entryExpiryService.entryActionService = Mockito.mock(EntryActionService.class);
+        entryExpiryService.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        entryExpiryService.meterRegistry = new SimpleMeterRegistry();
+        Mockito.when(entryExpiryService.demoApplicationConfig.getExpiryBatchSize()).thenReturn(2);
+    }
+
+    /**
+     * Validate the expired {@link Entry} objects are removed a batch at a time until a batch isn't full, and evicted from the cache.
+     */
+    @Test
+    public void expireSuccess() {
+        // 1. Setup mocks.
+        Mockito.when(entryDataStoreOperationsService.expire(Mockito.anyLong(), Mockito.eq(2)))
+                .thenReturn(Arrays.asList(new Entry("A", "1"), new Entry("B", "2")))
+                .thenReturn(Collections.singletonList(new Entry("C", "3")));
+        // 2. Perform action
+        long expired = entryExpiryService.expire();
+        // 3. Assert results.
+        Assertions.assertEquals(3L, expired, "Assert every expired Entry is removed.");
+        Mockito.verify(entryDataStoreOperationsService, Mockito.times(2)).expire(Mockito.anyLong(), Mockito.eq(2));
+        Mockito.verify(entryExpiryService.entryActionService, Mockito.times(1)).evictAll(Arrays.asList("A", "B"));
+        Mockito.verify(entryExpiryService.entryActionService, Mockito.times(1)).evictAll(Collections.singletonList("C"));
+        Assertions.assertEquals(3.0, entryExpiryService.meterRegistry.counter(EntryExpiryService.EXPIRED_METRIC).count(),
+                "Assert the expired Entry objects are recorded.");
+    }
+
+    /**
+     * Validate a failure to reach the data store is recorded rather than thrown.
+     */
+    @Test
+    public void expireFailure() {
+        // 1. Setup mocks.
+        Mockito.when(entryDataStoreOperationsService.expire(Mockito.anyLong(), Mockito.anyInt())).thenThrow(new QueryTimeoutException("timeout"));
+        // 2. Perform action
+        long expired = entryExpiryService.expire();
+        // 3. Assert results.
+        Assertions.assertEquals(0L, expired, "Assert no Entry is removed on failure.");
+        Assertions.assertEquals(1.0, entryExpiryService.meterRegistry.counter(EntryExpiryService.EXPIRE_FAILURES_METRIC).count(),
+                "Assert the failure is recorded.");
+    }
+}
@@ -0,0 +1,212 @@
+package com.paulk.demo.service;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryOperationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Test the {@link EntryLoadCoalescer} class.
+ */
+public class EntryLoadCoalescerTest {
+
+    private static final String THREAD_NAME = "entry-load-coalescer-test";
+
+    private EntryLoadCoalescer entryLoadCoalescer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        entryLoadCoalescer = new EntryLoadCoalescer();
+        entryLoadCoalescer.meterRegistry = meterRegistry;
+        entryLoadCoalescer.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryLoadCoalescer.demoApplicationConfig.getCoalescingWaitMillis()).thenReturn(5_000L);
+        Mockito.when(entryLoadCoalescer.demoApplicationConfig.getEarlyRefreshBeta()).thenReturn(1d);
+        entryLoadCoalescer.start();
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryLoadCoalescer#load(String, Supplier)} shares a single load between the
+     * concurrent loads of a value.
+     */
+    @Test
+    public void loadCoalesced() throws Exception {
+        // 1. Setup test data.
+        EntryOperationResponse response = createResponse();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        AtomicInteger loadCount = new AtomicInteger();
+        Supplier<EntryOperationResponse> loader = () -> {
+            loadCount.incrementAndGet();
+            loadStarted.countDown();
+            awaitQuietly(loadReleased);
+            return response;
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(8, runnable -> new Thread(runnable, THREAD_NAME));
+        try {
+            // 2. Perform action
+            List<Future<EntryOperationResponse>> loads = new ArrayList<>();
+            loads.add(executorService.submit(() -> entryLoadCoalescer.load("A", loader)));
+            Assertions.assertTrue(loadStarted.await(5, TimeUnit.SECONDS), "Assert the first load began.");
+            for (int i = 0; i < 7; i++) {
+                loads.add(executorService.submit(() -> entryLoadCoalescer.load("A", loader)));
+            }
+            awaitWaiting(8);
+            loadReleased.countDown();
+            // 3. Assert results.
+            for (Future<EntryOperationResponse> load : loads) {
+                Assertions.assertSame(response, load.get(5, TimeUnit.SECONDS), "Assert every load returns the shared response.");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(1, loadCount.get(), "Assert the value was loaded once.");
+        Assertions.assertEquals(7d, meterRegistry.counter(EntryLoadCoalescer.COALESCED_METRIC).count(), "Assert the coalesced loads were counted.");
+        Assertions.assertEquals(1d, meterRegistry.counter(EntryLoadCoalescer.LOADS_METRIC).count(), "Assert the load was counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryLoadCoalescer#load(String, Supplier)} loads a value itself once the load in
+     * flight takes longer than the wait.
+     */
+    @Test
+    public void loadTimeout() throws Exception {
+        // 1. Setup test data.
+        Mockito.when(entryLoadCoalescer.demoApplicationConfig.getCoalescingWaitMillis()).thenReturn(10L);
+        EntryOperationResponse response = createResponse();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<EntryOperationResponse> slowLoad = executorService.submit(() -> entryLoadCoalescer.load("A", () -> {
+                loadStarted.countDown();
+                awaitQuietly(loadReleased);
+                return response;
+            }));
+            Assertions.assertTrue(loadStarted.await(5, TimeUnit.SECONDS), "Assert the first load began.");
+            // 2. Perform action
+            EntryOperationResponse ownResponse = entryLoadCoalescer.load("A", this::createResponse);
+            loadReleased.countDown();
+            // 3. Assert results.
+            Assertions.assertNotSame(response, ownResponse, "Assert the value was loaded again.");
+            Assertions.assertSame(response, slowLoad.get(5, TimeUnit.SECONDS), "Assert the first load completes.");
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(1d, meterRegistry.counter(EntryLoadCoalescer.TIMEOUTS_METRIC).count(), "Assert the timeout was counted.");
+        Assertions.assertEquals(2d, meterRegistry.counter(EntryLoadCoalescer.LOADS_METRIC).count(), "Assert both loads were counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryLoadCoalescer#isEarlyRefresh(String, Duration)} reloads a value only once it
+     * was loaded on this node and nears its expiry, and of {@link EntryLoadCoalescer#refresh(String, Supplier)} once per
+     * value, forgetting it when it is changed.
+     */
+    @Test
+    public void earlyRefresh() {
+        // 1. Setup test data.
+        entryLoadCoalescer.load("A", () -> {
+            sleepQuietly(20);
+            return createResponse();
+        });
+        sleepQuietly(5);
+        // 2. Perform action
+        boolean unknownRefresh = entryLoadCoalescer.isEarlyRefresh("B", Duration.ofMillis(1));
+        boolean longTtlRefresh = entryLoadCoalescer.isEarlyRefresh("A", Duration.ofDays(1));
+        boolean expiredRefresh = entryLoadCoalescer.isEarlyRefresh("A", Duration.ofMillis(1));
+        List<Optional<EntryOperationResponse>> nestedRefresh = new ArrayList<>();
+        Optional<EntryOperationResponse> refreshedResponse = entryLoadCoalescer.refresh("A", () -> {
+            nestedRefresh.add(entryLoadCoalescer.refresh("A", this::createResponse));
+            return createResponse();
+        });
+        entryLoadCoalescer.forget(Collections.singletonList("A"));
+        // 3. Assert results.
+        Assertions.assertFalse(unknownRefresh, "Assert a value not loaded on this node isn't reloaded.");
+        Assertions.assertFalse(longTtlRefresh, "Assert a value far from expiry isn't reloaded.");
+        Assertions.assertTrue(expiredRefresh, "Assert a value past its expiry is reloaded.");
+        Assertions.assertTrue(refreshedResponse.isPresent(), "Assert the value was reloaded.");
+        Assertions.assertEquals(Collections.singletonList(Optional.empty()), nestedRefresh, "Assert a value is reloaded once at a time.");
+        Assertions.assertFalse(entryLoadCoalescer.isEarlyRefresh("A", Duration.ofMillis(1)), "Assert a changed value isn't reloaded.");
+        Assertions.assertEquals(1d, meterRegistry.counter(EntryLoadCoalescer.EARLY_REFRESHES_METRIC).count(), "Assert the reload was counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryLoadCoalescer#isCurrent(String, long)} is false for a load of a value which was
+     * forgotten after the load read the generation, and true for a load which began after.
+     */
+    @Test
+    public void forgetStaleLoad() {
+        // 1. Setup test data.
+        long generation = entryLoadCoalescer.getGeneration("A");
+        boolean currentBeforeChange = entryLoadCoalescer.isCurrent("A", generation);
+        // 2. Perform action
+        entryLoadCoalescer.forget(Collections.singletonList("A"));
+        // 3. Assert results.
+        Assertions.assertTrue(currentBeforeChange, "Assert a load of an unchanged value is current.");
+        Assertions.assertFalse(entryLoadCoalescer.isCurrent("A", generation), "Assert a load which began before the change is stale.");
+        Assertions.assertTrue(entryLoadCoalescer.isCurrent("A", entryLoadCoalescer.getGeneration("A")), "Assert a load which began after the change is current.");
+        Assertions.assertEquals(1d, meterRegistry.counter(EntryLoadCoalescer.STALE_LOADS_METRIC).count(), "Assert the stale load was counted.");
+    }
+
+    /**
+     * Waits until a number of the test threads wait, on the load in flight or for it to be released.
+     *
+     * @param waiting - The number of waiting threads.
+     * @throws InterruptedException Thrown if interrupted while waiting.
+     */
+    private void awaitWaiting(int waiting) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline && Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(THREAD_NAME))
+                .filter(thread -> thread.getState() == Thread.State.TIMED_WAITING)
+                .count() < waiting) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a successful {@link EntryOperationResponse} of an {@link Entry}.
+     *
+     * @return The {@link EntryOperationResponse}.
+     */
+    private EntryOperationResponse createResponse() {
+        EntryOperationResponse response = new EntryOperationResponse();
+        response.setEntry(new Entry("A"));
+        response.setSuccessfulOperation(true);
+        return response;
+    }
+}
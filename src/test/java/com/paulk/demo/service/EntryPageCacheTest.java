@@ -0,0 +1,139 @@
+package com.paulk.demo.service;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.dao.EntryRedisOperations;
+import com.paulk.demo.model.EntriesResponse;
+import com.paulk.demo.model.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Test the {@link EntryPageCache} class.
+ */
+public class EntryPageCacheTest {
+
+    private EntryPageCache entryPageCache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loadCount;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        entryPageCache = new EntryPageCache();
+        entryPageCache.meterRegistry = meterRegistry;
+        entryPageCache.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryPageCache.demoApplicationConfig.getPageCacheMaxSize()).thenReturn(2);
+        entryPageCache.start();
+        loadCount = new AtomicInteger();
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryPageCache#get(String, String, Supplier)} loads a page once while the change tag
+     * is unchanged, and returns a copy a caller can sort without changing the cached page.
+     */
+    @Test
+    public void getCached() {
+        // 1. Setup test data.
+        EntriesResponse loadedResponse = entryPageCache.get("1", "0:10", this::loadPage);
+        Collections.reverse(loadedResponse.getEntries());
+        // 2. Perform action
+        EntriesResponse cachedResponse = entryPageCache.get("1", "0:10", this::loadPage);
+        Collections.reverse(cachedResponse.getEntries());
+        EntriesResponse copiedResponse = entryPageCache.get("1", "0:10", this::loadPage);
+        // 3. Assert results.
+        Assertions.assertEquals(1, loadCount.get(), "Assert the page was loaded once.");
+        Assertions.assertEquals("A", copiedResponse.getEntries().get(0).getValue(), "Assert the cached page wasn't reordered by a caller.");
+        Assertions.assertEquals(5, copiedResponse.getTotalEntries(), "Assert the totals are cached.");
+        Assertions.assertEquals(2d, meterRegistry.counter(EntryPageCache.HITS_METRIC).count(), "Assert the hits were counted.");
+        Assertions.assertEquals(1d, meterRegistry.counter(EntryPageCache.MISSES_METRIC).count(), "Assert the miss was counted.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryPageCache#get(String, String, Supplier)} drops every page when the change tag
+     * changes, holds no more than the maximum number of pages, and doesn't cache without a change tag.
+     */
+    @Test
+    public void getChangeTagChanged() {
+        // 1. Setup test data.
+        entryPageCache.get("1", "0:10", this::loadPage);
+        entryPageCache.get("1", "1:10", this::loadPage);
+        entryPageCache.get("1", "2:10", this::loadPage);
+        int fullSize = entryPageCache.size();
+        // 2. Perform action
+        entryPageCache.get("2", "0:10", this::loadPage);
+        int changedSize = entryPageCache.size();
+        entryPageCache.get(null, "0:10", this::loadPage);
+        entryPageCache.get(null, "0:10", this::loadPage);
+        // 3. Assert results.
+        Assertions.assertEquals(2, fullSize, "Assert no more than the maximum number of pages are held.");
+        Assertions.assertEquals(1, changedSize, "Assert the pages of the previous change tag were dropped.");
+        Assertions.assertEquals(6, loadCount.get(), "Assert every page was loaded after a change, and without a change tag.");
+    }
+
+    /**
+     * Validate the behaviour of {@link EntryPageCache#get(String, String, Supplier)} misses when the Redis counters are
+     * reset and count back to the total of a cached page, as the change tag of the reset counters has a new epoch.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void getCountersReset() {
+        // 1. Setup mocks.
+        RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+        EntryRedisOperations entryRedisOperations = new EntryRedisOperations();
+        ReflectionTestUtils.setField(entryRedisOperations, "redisTemplate", redisTemplate);
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List>>any(), ArgumentMatchers.<RedisSerializer<?>>any(),
+                ArgumentMatchers.<RedisSerializer<List>>any(), ArgumentMatchers.anyList(), ArgumentMatchers.<Object[]>any()))
+                .thenReturn(toCounters("a", "3"), toCounters("a", "3"), toCounters("b", "3"));
+        // 2. Setup test data.
+        entryPageCache.get(entryRedisOperations.getChangeTag(), "0:10", this::loadPage);
+        entryPageCache.get(entryRedisOperations.getChangeTag(), "0:10", this::loadPage);
+        // 3. Perform action
+        entryPageCache.get(entryRedisOperations.getChangeTag(), "0:10", this::loadPage);
+        // 4. Assert results.
+        Assertions.assertEquals(2, loadCount.get(), "Assert the page was loaded again after the counters were reset.");
+        Assertions.assertEquals(1d, meterRegistry.counter(EntryPageCache.HITS_METRIC).count(), "Assert the page was only hit before the reset.");
+        Assertions.assertEquals(2d, meterRegistry.counter(EntryPageCache.MISSES_METRIC).count(), "Assert the reset counters missed.");
+    }
+
+    /**
+     * Encodes the results of the change tag script, an epoch followed by the adds and no other mutation.
+     *
+     * @param epoch - The {@link String} epoch of the counters.
+     * @param adds  - The {@link String} number of adds.
+     * @return A {@link List} of the encoded results.
+     */
+    private static List<byte[]> toCounters(String epoch, String adds) {
+        return Arrays.asList(epoch.getBytes(StandardCharsets.UTF_8), adds.getBytes(StandardCharsets.UTF_8), "0".getBytes(StandardCharsets.UTF_8),
+                "0".getBytes(StandardCharsets.UTF_8), "0".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Loads a page of {@link Entry}, counting the loads.
+     *
+     * @return The {@link EntriesResponse} of the page.
+     */
+    private EntriesResponse loadPage() {
+        loadCount.incrementAndGet();
+        EntriesResponse entriesResponse = new EntriesResponse();
+        entriesResponse.getEntries().add(new Entry("A"));
+        entriesResponse.getEntries().add(new Entry("B"));
+        entriesResponse.setTotalEntries(5);
+        entriesResponse.setTotalPages(3);
+        return entriesResponse;
+    }
+}
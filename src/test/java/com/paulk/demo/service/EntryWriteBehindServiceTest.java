@@ -0,0 +1,288 @@
+package com.paulk.demo.service;
+
+import com.paulk.demo.config.DemoApplicationConfig;
+import com.paulk.demo.dao.DataStoreOperations;
+import com.paulk.demo.model.Entry;
+import com.paulk.demo.model.EntryActionInput;
+import com.paulk.demo.model.EntryOperationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Test the {@link EntryWriteBehindService} class.
+ */
+public class EntryWriteBehindServiceTest {
+
+    private DataStoreOperations<String, Entry> entryDataStoreOperationsService;
+    private EntryWriteBehindService entryWriteBehindService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        entryDataStoreOperationsService = Mockito.mock(DataStoreOperations.class);
+        Mockito.when(entryDataStoreOperationsService.batch(ArgumentMatchers.anyList())).thenAnswer(this::applyBatch);
+
+        entryWriteBehindService = new EntryWriteBehindService();
+        entryWriteBehindService.entryDataStoreOperationsService = entryDataStoreOperationsService;
+        entryWriteBehindService.entryActionService = Mockito.mock(EntryActionService.class);
+        entryWriteBehindService.meterRegistry = new SimpleMeterRegistry();
+        entryWriteBehindService.demoApplicationConfig = Mockito.mock(DemoApplicationConfig.class);
+        Mockito.when(entryWriteBehindService.demoApplicationConfig.getWriteBehindBufferSize()).thenReturn(100);
+        Mockito.when(entryWriteBehindService.demoApplicationConfig.getWriteBehindFlushSize()).thenReturn(100);
+        Mockito.when(entryWriteBehindService.demoApplicationConfig.getWriteBehindFlushIntervalMillis()).thenReturn(60_000L);
+        entryWriteBehindService.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        entryWriteBehindService.stop();
+    }
+
+    /**
+     * Validate buffered mutations are read before they are flushed, without writing to the data store.
+     */
+    @Test
+    public void readYourWritesSuccess() {
+        // 1. Setup test data.
+        entryWriteBehindService.add(new Entry("A", "1"));
+        entryWriteBehindService.add(new Entry("B", "2"));
+        // 2. Perform action
+        EntryOperationResponse updateResponse = entryWriteBehindService.update("A", new Entry("C", "1"));
+        EntryOperationResponse deleteResponse = entryWriteBehindService.delete(new Entry("B", "2"));
+        // 3. Assert results.
+        Assertions.assertTrue(updateResponse.isSuccessfulOperation(), "Assert update operation behavior is correct.");
+        Assertions.assertTrue(deleteResponse.isSuccessfulOperation(), "Assert delete operation behavior is correct.");
+        Assertions.assertFalse(entryWriteBehindService.get("A").get().isSuccessfulOperation(), "Assert the renamed value reads as deleted.");
+        Assertions.assertEquals("C", entryWriteBehindService.getById("1").get().getEntry().getValue(), "Assert the id reads the updated value.");
+        Assertions.assertFalse(entryWriteBehindService.getById("2").get().isSuccessfulOperation(), "Assert the deleted id reads as deleted.");
+        Assertions.assertFalse(entryWriteBehindService.get("D").isPresent(), "Assert an unbuffered value is read from the data store.");
+        Mockito.verify(entryDataStoreOperationsService, Mockito.never()).batch(ArgumentMatchers.anyList());
+    }
+
+    /**
+     * Validate the buffered state is merged into a listing read from the data store without flushing it, adding only the
+     * buffered values within the window of the listing.
+     */
+    @Test
+    public void mergeSuccess() {
+        // 1. Setup test data.
+        entryWriteBehindService.add(new Entry("B", "2"));
+        entryWriteBehindService.update("A", new Entry("E", "1"));
+        entryWriteBehindService.delete(new Entry("C", "3"));
+        List<Entry> entries = new ArrayList<>(Arrays.asList(new Entry("A", "1"), new Entry("C", "3"), new Entry("D", "4")));
+        List<Entry> windowEntries = new ArrayList<>(Collections.singletonList(new Entry("D", "4")));
+        // 2. Perform action
+        List<Entry> unlistedEntries = entryWriteBehindService.merge(entries, value -> true);
+        List<Entry> unlistedWindowEntries = entryWriteBehindService.merge(windowEntries, value -> value.compareTo("D") < 0);
+        // 3. Assert results.
+        Assertions.assertEquals(Collections.singletonList("D"), entries.stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert the renamed and deleted values are removed from the listing.");
+        Assertions.assertEquals(Arrays.asList("B", "E"), unlistedEntries.stream().map(Entry::getValue).sorted().collect(Collectors.toList()),
+                "Assert the buffered values are returned.");
+        Assertions.assertEquals(Collections.singletonList("B"), unlistedWindowEntries.stream().map(Entry::getValue).collect(Collectors.toList()),
+                "Assert only the buffered values within the window are returned.");
+        Mockito.verify(entryDataStoreOperationsService, Mockito.never()).batch(ArgumentMatchers.anyList());
+    }
+
+    /**
+     * Validate the change tag of the buffered state changes with every buffered action and flush, and is empty when
+     * nothing is buffered.
+     */
+    @Test
+    public void changeTagSuccess() {
+        // 1. Setup test data.
+        Optional<String> emptyChangeTag = entryWriteBehindService.getChangeTag();
+        entryWriteBehindService.add(new Entry("A", "1"));
+        // 2. Perform action
+        Optional<String> addChangeTag = entryWriteBehindService.getChangeTag();
+        entryWriteBehindService.update("A", new Entry("B", "1"));
+        Optional<String> updateChangeTag = entryWriteBehindService.getChangeTag();
+        entryWriteBehindService.flush();
+        // 3. Assert results.
+        Assertions.assertFalse(emptyChangeTag.isPresent(), "Assert an empty buffer has no change tag.");
+        Assertions.assertTrue(addChangeTag.isPresent(), "Assert a buffered action has a change tag.");
+        Assertions.assertNotEquals(addChangeTag, updateChangeTag, "Assert the change tag changes with a buffered action.");
+        Assertions.assertFalse(entryWriteBehindService.getChangeTag().isPresent(), "Assert a flushed buffer has no change tag.");
+    }
+
+    /**
+     * Validate the time to live of a buffered add is kept when the add is merged with an update, and flushed with the add.
+     */
+    @Test
+    public void flushKeepsTtlSeconds() {
+        // 1. Setup test data.
+        entryWriteBehindService.add(new Entry("A", "1"), 60L);
+        entryWriteBehindService.update("A", new Entry("B", "1"));
+        entryWriteBehindService.update("X", new Entry("Y", "2"));
+        // 2. Perform action
+        entryWriteBehindService.flush();
+        // 3. Assert results.
+        List<EntryActionInput> actionInputs = captureBatch().get(0);
+        Assertions.assertEquals(Arrays.asList(60L, null), actionInputs.stream().map(EntryActionInput::getTtlSeconds).collect(Collectors.toList()),
+                "Assert only the add is flushed with the time to live.");
+    }
+
+    /**
+     * Validate the buffered state rejects conflicting mutations.
+     */
+    @Test
+    public void bufferedConflictFailure() {
+        // 1. Setup test data.
+        entryWriteBehindService.add(new Entry("A", "1"));
+        // 2. Perform action
+        EntryOperationResponse duplicateValueResponse = entryWriteBehindService.add(new Entry("A", "2"));
+        EntryOperationResponse duplicateIdResponse = entryWriteBehindService.add(new Entry("B", "1"));
+        EntryOperationResponse idMismatchResponse = entryWriteBehindService.update("A", new Entry("C", "2"));
+        // 3. Assert results.
+        Assertions.assertFalse(duplicateValueResponse.isSuccessfulOperation(), "Assert add operation behavior is correct when the value is buffered.");
+        Assertions.assertFalse(duplicateIdResponse.isSuccessfulOperation(), "Assert add operation behavior is correct when the id is buffered.");
+        Assertions.assertFalse(idMismatchResponse.isSuccessfulOperation(), "Assert update operation behavior is correct when the id doesn't match.");
+    }
+
+    /**
+     * Validate later mutations of a value are merged into a single action, and the flush writes a single batch.
+     */
+    @Test
+    public void flushCoalescesActions() {
+        // 1. Setup test data.
+        entryWriteBehindService.add(new Entry("A", "1"));
+        entryWriteBehindService.update("A", new Entry("B", "1"));
+        entryWriteBehindService.update("B", new Entry("C", "1"));
+        entryWriteBehindService.update("X", new Entry("Y", "2"));
+        entryWriteBehindService.update("Y", new Entry("Z", "2"));
+        entryWriteBehindService.add(new Entry("D", "3"));
+        entryWriteBehindService.delete(new Entry("D", "3"));
+        // 2. Perform action
+        entryWriteBehindService.flush();
+        // 3. Assert results.
+        List<EntryActionInput> actionInputs = captureBatch().get(0);
+        Assertions.assertEquals(Arrays.asList("Add:null:C", "Update:X:Z"), describe(actionInputs), "Assert the actions were merged.");
+        Assertions.assertEquals(0, entryWriteBehindService.depth(), "Assert the buffer was drained.");
+        Assertions.assertFalse(entryWriteBehindService.get("C").isPresent(), "Assert the flushed state is read from the data store.");
+        Mockito.verify(entryWriteBehindService.entryActionService).evictAll(ArgumentMatchers.anyCollection());
+        Assertions.assertEquals(1, entryWriteBehindService.meterRegistry.timer(EntryWriteBehindService.FLUSH_TIMER_METRIC).count(),
+                "Assert the flush latency was recorded.");
+    }
+
+    /**
+     * Validate a mutation which can't be merged flushes the buffered actions first, so the actions keep their order.
+     */
+    @Test
+    public void unmergeableActionFlushesFirst() {
+        // 1. Setup test data.
+        entryWriteBehindService.delete(new Entry("A", "1"));
+        // 2. Perform action
+        EntryOperationResponse entryActionResponse = entryWriteBehindService.add(new Entry("A", "2"));
+        entryWriteBehindService.flush();
+        // 3. Assert results.
+        Assertions.assertTrue(entryActionResponse.isSuccessfulOperation(), "Assert add operation behavior is correct.");
+        List<List<EntryActionInput>> batches = captureBatch();
+        Assertions.assertEquals(Arrays.asList("Delete:null:A"), describe(batches.get(0)), "Assert the delete was flushed first.");
+        Assertions.assertEquals(Arrays.asList("Add:null:A"), describe(batches.get(1)), "Assert the add was flushed after.");
+    }
+
+    /**
+     * Validate reaching the flush size triggers a background flush.
+     *
+     * @throws InterruptedException default exception handling.
+     */
+    @Test
+    public void flushSizeTriggersFlush() throws InterruptedException {
+        // 1. Setup mocks.
+        Mockito.when(entryWriteBehindService.demoApplicationConfig.getWriteBehindFlushSize()).thenReturn(2);
+        // 2. Perform action
+        entryWriteBehindService.add(new Entry("A"));
+        entryWriteBehindService.add(new Entry("B"));
+        // 3. Assert results.
+        Mockito.verify(entryDataStoreOperationsService, Mockito.timeout(5000)).batch(ArgumentMatchers.anyList());
+    }
+
+    /**
+     * Validate a batch which fails as a whole is kept, read as buffered, and retried ahead of the later actions.
+     */
+    @Test
+    public void flushRetriesFailedBatch() {
+        // 1. Setup test data.
+        entryWriteBehindService.add(new Entry("A", "1"));
+        entryWriteBehindService.delete(new Entry("B", "2"));
+        // 2. Setup mocks.
+        Mockito.when(entryDataStoreOperationsService.batch(ArgumentMatchers.anyList()))
+                .thenThrow(new IllegalStateException("Data store is unreachable."))
+                .thenAnswer(this::applyBatch);
+        // 3. Perform action
+        Assertions.assertThrows(IllegalStateException.class, () -> entryWriteBehindService.flush(), "Assert the failure of the batch is thrown.");
+        Optional<EntryOperationResponse> failedResponse = entryWriteBehindService.get("A");
+        entryWriteBehindService.add(new Entry("C", "3"));
+        entryWriteBehindService.flush();
+        // 4. Assert results.
+        Assertions.assertTrue(failedResponse.isPresent() && failedResponse.get().isSuccessfulOperation(), "Assert the failed batch is still read as buffered.");
+        List<List<EntryActionInput>> batches = captureBatch();
+        Assertions.assertEquals(3, batches.size(), "Assert the failed batch was retried before the later actions.");
+        Assertions.assertEquals(Arrays.asList("Add:null:A", "Delete:null:B"), describe(batches.get(1)), "Assert the failed batch was retried.");
+        Assertions.assertEquals(Arrays.asList("Add:null:C"), describe(batches.get(2)), "Assert the later actions were flushed after.");
+        Assertions.assertFalse(entryWriteBehindService.get("A").isPresent(), "Assert the retried state is read from the data store.");
+        Assertions.assertEquals(0, entryWriteBehindService.meterRegistry.counter(EntryWriteBehindService.FLUSH_FAILURES_METRIC).count(),
+                "Assert the failed batch isn't counted as rejected actions.");
+        Assertions.assertEquals(1, entryWriteBehindService.meterRegistry.counter(EntryWriteBehindService.FLUSH_RETRIES_METRIC).count(),
+                "Assert the failed batch was counted as a retry.");
+    }
+
+    /**
+     * Validate a mutation is refused once the buffer behind a failed batch is full.
+     */
+    @Test
+    public void fullBufferBehindFailedBatchFailure() {
+        // 1. Setup mocks.
+        Mockito.when(entryWriteBehindService.demoApplicationConfig.getWriteBehindBufferSize()).thenReturn(1);
+        Mockito.when(entryDataStoreOperationsService.batch(ArgumentMatchers.anyList())).thenThrow(new IllegalStateException("Data store is unreachable."));
+        // 2. Perform action
+        EntryOperationResponse failedBatchResponse = entryWriteBehindService.add(new Entry("A", "1"));
+        EntryOperationResponse bufferedResponse = entryWriteBehindService.add(new Entry("B", "2"));
+        EntryOperationResponse fullResponse = entryWriteBehindService.add(new Entry("C", "3"));
+        // 3. Assert results.
+        Assertions.assertTrue(failedBatchResponse.isSuccessfulOperation(), "Assert the add of the failed batch was buffered.");
+        Assertions.assertTrue(bufferedResponse.isSuccessfulOperation(), "Assert the add behind the failed batch was buffered.");
+        Assertions.assertFalse(fullResponse.isSuccessfulOperation(), "Assert the add was refused once the buffer was full.");
+        Assertions.assertFalse(entryWriteBehindService.get("C").isPresent(), "Assert the refused add wasn't buffered.");
+        Assertions.assertTrue(entryWriteBehindService.get("A").isPresent(), "Assert the failed batch is still read as buffered.");
+        // The data store recovers, so the buffer is drained on stop.
+        Mockito.doAnswer(this::applyBatch).when(entryDataStoreOperationsService).batch(ArgumentMatchers.anyList());
+    }
+
+    private List<EntryOperationResponse> applyBatch(InvocationOnMock invocation) {
+        List<EntryOperationResponse> entryActionResponses = new ArrayList<>();
+        for (Object ignored : (List<?>) invocation.getArgument(0)) {
+            EntryOperationResponse entryActionResponse = new EntryOperationResponse();
+            entryActionResponse.setSuccessfulOperation(true);
+            entryActionResponses.add(entryActionResponse);
+        }
+        return entryActionResponses;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<EntryActionInput>> captureBatch() {
+        ArgumentCaptor<List<EntryActionInput>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(entryDataStoreOperationsService, Mockito.atLeastOnce()).batch(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private List<String> describe(List<EntryActionInput> actionInputs) {
+        return actionInputs.stream()
+                .map(actionInput -> actionInput.getAction() + ":" + actionInput.getKey() + ":" + actionInput.getEntry().getValue())
+                .collect(Collectors.toList());
+    }
+}
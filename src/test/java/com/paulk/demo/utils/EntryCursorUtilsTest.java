@@ -0,0 +1,29 @@
+package com.paulk.demo.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the {@link EntryCursorUtils} class.
+ */
+public class EntryCursorUtilsTest {
+
+    @Test
+    public void encodeDecodeSuccess() {
+        String cursor = EntryCursorUtils.encode("John Lennon/€");
+        Assertions.assertEquals("John Lennon/€", EntryCursorUtils.decode(cursor), "Assert the cursor decodes to the value.");
+        Assertions.assertTrue(cursor.matches("[A-Za-z0-9_-]+"), "Assert the cursor is URL safe.");
+    }
+
+    @Test
+    public void decodeEmptySuccess() {
+        Assertions.assertNull(EntryCursorUtils.decode(null), "Assert a null cursor starts from the first value.");
+        Assertions.assertNull(EntryCursorUtils.decode(""), "Assert an empty cursor starts from the first value.");
+    }
+
+    @Test
+    public void decodeInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EntryCursorUtils.decode("not a cursor!"),
+                "Assert an invalid cursor is rejected.");
+    }
+}
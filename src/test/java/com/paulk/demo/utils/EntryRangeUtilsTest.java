@@ -0,0 +1,35 @@
+package com.paulk.demo.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the {@link EntryRangeUtils} class.
+ */
+public class EntryRangeUtilsTest {
+
+    @Test
+    public void prefixUpperBoundSuccess() {
+        Assertions.assertEquals("abd", EntryRangeUtils.prefixUpperBound("abc"), "Assert the last character is incremented.");
+        Assertions.assertEquals("b", EntryRangeUtils.prefixUpperBound("a\uDBFF\uDFFF"), "Assert the maximum code point is dropped.");
+        Assertions.assertEquals("a\uE000", EntryRangeUtils.prefixUpperBound("a\uD7FF"), "Assert the surrogates are skipped.");
+        Assertions.assertNull(EntryRangeUtils.prefixUpperBound(""), "Assert an empty prefix has no upper bound.");
+    }
+
+    @Test
+    public void isInRangeSuccess() {
+        Assertions.assertTrue(EntryRangeUtils.isInRange("abc", "abc", "abd"), "Assert the lower bound is inclusive.");
+        Assertions.assertFalse(EntryRangeUtils.isInRange("abd", "abc", "abd"), "Assert the upper bound is exclusive.");
+        Assertions.assertTrue(EntryRangeUtils.isInRange("z", "m", null), "Assert a null upper bound is unbounded.");
+    }
+
+    @Test
+    public void compareSuccess() {
+        Assertions.assertTrue(EntryRangeUtils.compare("abc", "abd") < 0, "Assert the values are compared by character.");
+        Assertions.assertTrue(EntryRangeUtils.compare("ab", "abc") < 0, "Assert a prefix is before the longer value.");
+        Assertions.assertEquals(0, EntryRangeUtils.compare("abc", "abc"), "Assert equal values are equal.");
+        Assertions.assertTrue(EntryRangeUtils.compare("\uFFFD", "\uD83D\uDE00") < 0, "Assert a supplementary code point is after the characters above the surrogates.");
+        Assertions.assertTrue(EntryRangeUtils.compare("\uD7FF", "\uD83D\uDE00") < 0, "Assert a supplementary code point is after the characters below the surrogates.");
+        Assertions.assertTrue(EntryRangeUtils.isInRange("\uD83D\uDE00", "\uFFFD", null), "Assert the range is in code point order.");
+    }
+}
@@ -0,0 +1,37 @@
+package com.paulk.demo.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test the {@link EntrySearchUtils} class.
+ */
+public class EntrySearchUtilsTest {
+
+    @Test
+    public void trigramsSuccess() {
+        Assertions.assertEquals(Arrays.asList("aba", "bab"), new ArrayList<>(EntrySearchUtils.trigrams("ABABA")),
+                "Assert the trigrams are lower case and distinct.");
+        Assertions.assertEquals(Arrays.asList("a😀b"), new ArrayList<>(EntrySearchUtils.trigrams("a😀b")),
+                "Assert a trigram is three code points.");
+        Assertions.assertEquals(Collections.emptyList(), new ArrayList<>(EntrySearchUtils.trigrams("ab")),
+                "Assert a value shorter than a trigram has no trigrams.");
+    }
+
+    @Test
+    public void isSearchableSuccess() {
+        Assertions.assertTrue(EntrySearchUtils.isSearchable("abc"), "Assert a query with a trigram is searchable.");
+        Assertions.assertFalse(EntrySearchUtils.isSearchable("a😀"), "Assert a query of two code points is not searchable.");
+        Assertions.assertFalse(EntrySearchUtils.isSearchable(null), "Assert a missing query is not searchable.");
+    }
+
+    @Test
+    public void matchesSuccess() {
+        Assertions.assertTrue(EntrySearchUtils.matches("HelloWorld", "LOWOR"), "Assert the match ignores case.");
+        Assertions.assertFalse(EntrySearchUtils.matches("world hello", "lowor"), "Assert the trigrams must be in order.");
+    }
+}
@@ -0,0 +1,89 @@
+package com.paulk.demo.utils;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares sorting {@link #ENTRIES} {@link Entry} objects with {@link #AUDITS} audits each with the
+ * {@link EntryComparator} and with {@link EntrySortUtils}, sequentially and in parallel, over unique values and over
+ * values repeated {@link #DUPLICATES} times, whose ties are compared by their audits.
+ */
+@Disabled
+public class EntrySortBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntrySortBenchmarkTest.class);
+    private static final int ENTRIES = 200_000;
+    private static final int AUDITS = 20;
+    private static final int DUPLICATES = 100;
+    private static final int WARMUPS = 3;
+    private static final int RUNS = 5;
+
+    /**
+     * Measures the mean time of each sort over {@link #RUNS} runs after {@link #WARMUPS} warm up runs.
+     */
+    @Test
+    public void sortLatency() {
+        sortLatency("unique", createEntries(ENTRIES));
+        sortLatency("duplicated", createEntries(ENTRIES / DUPLICATES));
+    }
+
+    private void sortLatency(String name, List<Entry> entries) {
+        List<Entry> comparatorSorted = new ArrayList<>(entries);
+        comparatorSorted.sort(new EntryComparator());
+        List<Entry> engineSorted = new ArrayList<>(entries);
+        EntrySortUtils.sort(engineSorted, ENTRIES);
+        Assertions.assertEquals(comparatorSorted, engineSorted, "Assert both sorts produce the same order.");
+
+        measure(name + " EntryComparator", entries, list -> list.sort(new EntryComparator()));
+        measure(name + " EntrySortUtils sequential", entries, list -> EntrySortUtils.sort(list, 0));
+        measure(name + " EntrySortUtils parallel", entries, list -> EntrySortUtils.sort(list, 1));
+        measure(name + " EntrySortUtils lastModified parallel", entries, list -> EntrySortUtils.sort(list, EntrySortUtils.SORT_LAST_MODIFIED, EntrySortUtils.DIRECTION_DESC, 1));
+    }
+
+    private void measure(String name, List<Entry> entries, Consumer<List<Entry>> sort) {
+        long total = 0;
+        for (int run = 0; run < WARMUPS + RUNS; run++) {
+            List<Entry> shuffled = new ArrayList<>(entries);
+            Collections.shuffle(shuffled, new Random(run));
+            long start = System.nanoTime();
+            sort.accept(shuffled);
+            if (run >= WARMUPS) {
+                total += System.nanoTime() - start;
+            }
+        }
+        LOGGER.info("{}: {} ms mean over {} Entry.", name, String.format("%.1f", total / (RUNS * 1_000_000.0)), entries.size());
+    }
+
+    private List<Entry> createEntries(int values) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2021, 4, 1, 0, 0);
+        List<Entry> entries = new ArrayList<>(ENTRIES);
+        for (int index = 0; index < ENTRIES; index++) {
+            Entry entry = new Entry("value-" + (index % values));
+            Audits audits = new Audits();
+            int offset = random.nextInt(1_000_000);
+            for (int auditId = 1; auditId <= AUDITS; auditId++) {
+                Audit audit = new Audit();
+                audit.setAuditId(auditId);
+                audit.setAction("Update");
+                audit.setTimestamp(start.plusSeconds(offset + auditId));
+                audits.getAuditList().add(audit);
+            }
+            entry.setAudits(audits);
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,110 @@
+package com.paulk.demo.utils;
+
+import com.paulk.demo.model.Audit;
+import com.paulk.demo.model.Audits;
+import com.paulk.demo.model.Entry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test the {@link EntrySortUtils} class.
+ */
+public class EntrySortUtilsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2021, 4, 1, 0, 0);
+
+    @Test
+    public void isSortableSuccess() {
+        Assertions.assertTrue(EntrySortUtils.isSortable(null, null), "Assert the default sort is supported.");
+        Assertions.assertTrue(EntrySortUtils.isSortable("created", "desc"), "Assert a sort field and direction are supported.");
+        Assertions.assertFalse(EntrySortUtils.isSortable("id", null), "Assert an unknown sort field is not supported.");
+        Assertions.assertFalse(EntrySortUtils.isSortable(null, "up"), "Assert an unknown direction is not supported.");
+    }
+
+    @Test
+    public void sortSuccess() {
+        // 1. Setup test data.
+        List<Entry> entries = createEntries();
+        // 2. Perform action
+        EntrySortUtils.sort(entries, 0);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("a", "b", "c", "d"), getValues(entries), "Assert the Entry are sorted by value.");
+    }
+
+    @Test
+    public void sortByTimestampSuccess() {
+        // 1. Setup test data.
+        List<Entry> entries = createEntries();
+        // 2. Perform action
+        EntrySortUtils.sort(entries, EntrySortUtils.SORT_LAST_MODIFIED, EntrySortUtils.DIRECTION_DESC, 0);
+        List<String> lastModified = getValues(entries);
+        EntrySortUtils.sort(entries, EntrySortUtils.SORT_CREATED, EntrySortUtils.DIRECTION_ASC, 0);
+        List<String> created = getValues(entries);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("c", "a", "b", "d"), lastModified, "Assert the Entry are sorted by the latest Audit, descending, without Audits last.");
+        Assertions.assertEquals(Arrays.asList("b", "a", "c", "d"), created, "Assert the Entry are sorted by the first Audit, without Audits last.");
+    }
+
+    @Test
+    public void sortByEqualTimestampSuccess() {
+        // 1. Setup test data.
+        List<Entry> entries = new ArrayList<>(Arrays.asList(createEntry("b", 1, 1), createEntry("c", 1, 1), createEntry("a", 1, 1), createEntry("d", 0, 0)));
+        // 2. Perform action
+        EntrySortUtils.sort(entries, EntrySortUtils.SORT_LAST_MODIFIED, EntrySortUtils.DIRECTION_ASC, 0);
+        List<String> ascending = getValues(entries);
+        EntrySortUtils.sort(entries, EntrySortUtils.SORT_LAST_MODIFIED, EntrySortUtils.DIRECTION_DESC, 0);
+        List<String> descending = getValues(entries);
+        // 3. Assert results.
+        Assertions.assertEquals(Arrays.asList("d", "a", "b", "c"), ascending, "Assert equal timestamps are ordered by value, ascending.");
+        Assertions.assertEquals(Arrays.asList("c", "b", "a", "d"), descending, "Assert equal timestamps are ordered by value in reverse, descending.");
+    }
+
+    @Test
+    public void sortParallelSuccess() {
+        // 1. Setup test data.
+        List<Entry> entries = new ArrayList<>();
+        for (int index = 0; index < 10_000; index++) {
+            entries.add(createEntry(String.format("%05d", (index * 7919) % 10_000), index % 100, index % 50));
+        }
+        // 2. Perform action
+        EntrySortUtils.sort(entries, EntrySortUtils.SORT_VALUE, EntrySortUtils.DIRECTION_DESC, 1000);
+        // 3. Assert results.
+        List<String> expected = getValues(entries).stream().sorted((first, second) -> second.compareTo(first)).collect(Collectors.toList());
+        Assertions.assertEquals(expected, getValues(entries), "Assert a parallel sort matches a sequential sort.");
+    }
+
+    @Test
+    public void sortInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EntrySortUtils.sort(createEntries(), "id", null, 0), "Assert an unknown sort field is rejected.");
+    }
+
+    private List<Entry> createEntries() {
+        return new ArrayList<>(Arrays.asList(createEntry("c", 2, 3), new Entry("d"), createEntry("a", 1, 2), createEntry("b", 0, 1)));
+    }
+
+    private Entry createEntry(String value, int createdHours, int lastModifiedHours) {
+        Entry entry = new Entry(value);
+        Audits audits = new Audits();
+        audits.getAuditList().add(createAudit(2, lastModifiedHours));
+        audits.getAuditList().add(createAudit(1, createdHours));
+        entry.setAudits(audits);
+        return entry;
+    }
+
+    private Audit createAudit(int auditId, int hours) {
+        Audit audit = new Audit();
+        audit.setAuditId(auditId);
+        audit.setTimestamp(START.plusHours(hours));
+        return audit;
+    }
+
+    private List<String> getValues(List<Entry> entries) {
+        return entries.stream().map(Entry::getValue).collect(Collectors.toList());
+    }
+}